@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.analysis.differentiation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Benchmark comparing unrolled {@link DSCompiler} kernels with the generic implementation.
+ * <p>
+ * Multiplication and composition are evaluated on the same arguments using the public
+ * methods, which select the unrolled kernels from {@link DSKernels} for the benchmarked
+ * shapes, and using the generic methods based on indirection arrays. The benchmark
+ * lives in the {@code org.hipparchus.analysis.differentiation} package in order to
+ * reach the package private generic methods. Results are reported as average time
+ * per operation.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class DSCompilerBenchmark {
+
+    /** Number of free parameters (public as it is set by JMH generated code). */
+    @Param({ "1", "3", "6" })
+    public int parameters;
+
+    /** Derivation order (public as it is set by JMH generated code). */
+    @Param({ "1", "2" })
+    public int order;
+
+    /** Compiler for the benchmarked shape. */
+    private DSCompiler compiler;
+
+    /** Left hand side operand. */
+    private double[] lhs;
+
+    /** Right hand side operand. */
+    private double[] rhs;
+
+    /** Value and derivatives of the composed function. */
+    private double[] f;
+
+    /** Result array. */
+    private double[] result;
+
+    /** Set up arguments.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x61c4e8b2f30a9d57L);
+        compiler = DSCompiler.getCompiler(parameters, order);
+        lhs      = new double[compiler.getSize()];
+        rhs      = new double[compiler.getSize()];
+        f        = new double[order + 1];
+        result   = new double[compiler.getSize()];
+        for (int i = 0; i < lhs.length; ++i) {
+            lhs[i] = 2 * random.nextDouble() - 1;
+            rhs[i] = 2 * random.nextDouble() - 1;
+        }
+        for (int i = 0; i < f.length; ++i) {
+            f[i] = 2 * random.nextDouble() - 1;
+        }
+    }
+
+    /** Multiplication with the unrolled kernel.
+     * @return result
+     */
+    @Benchmark
+    public double[] multiplyUnrolled() {
+        compiler.multiply(lhs, 0, rhs, 0, result, 0);
+        return result;
+    }
+
+    /** Multiplication with the generic implementation.
+     * @return result
+     */
+    @Benchmark
+    public double[] multiplyGeneric() {
+        compiler.multiplyGeneric(lhs, 0, rhs, 0, result, 0);
+        return result;
+    }
+
+    /** Composition with the unrolled kernel.
+     * @return result
+     */
+    @Benchmark
+    public double[] composeUnrolled() {
+        compiler.compose(lhs, 0, f, result, 0);
+        return result;
+    }
+
+    /** Composition with the generic implementation.
+     * @return result
+     */
+    @Benchmark
+    public double[] composeGeneric() {
+        compiler.composeGeneric(lhs, 0, f, result, 0);
+        return result;
+    }
+
+    /** Run the benchmark.
+     * @param args command line arguments, an optional regular expression selecting benchmarks
+     * @exception RunnerException if benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final String include = DSCompilerBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : "");
+        new Runner(new OptionsBuilder().include(include).build()).run();
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** Benchmark comparing {@link FastMath} transcendental functions with {@link Math}.
+ * <p>
+ * Each function is evaluated on the same array of arguments using a loop over the
+ * {@link FastMath} method and a loop over the {@link Math} method, and the exponential
+ * also using the {@link FastMath#exp(double[], double[], int, int) array method}.
+ * Results are reported as average time per array.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class FastMathBenchmark {
+
+    /** Number of elements in arrays (public as it is set by JMH generated code). */
+    @Param({ "1000", "1000000" })
+    public int size;
+
+    /** Arguments for exp, sin, cos and atan2. */
+    private double[] signed;
+
+    /** Positive arguments for log and pow. */
+    private double[] positive;
+
+    /** Output array. */
+    private double[] out;
+
+    /** Set up arguments.
+     */
+    @Setup
+    public void setUp() {
+        final RandomGenerator random = new Well19937a(0x4d8e1f2a93c7b605L);
+        signed   = new double[size];
+        positive = new double[size];
+        out      = new double[size];
+        for (int i = 0; i < size; ++i) {
+            signed[i]   = 20 * random.nextDouble() - 10;
+            positive[i] = 100 * random.nextDouble() + 0.001;
+        }
+    }
+
+    /** FastMath array exponential.
+     * @return results
+     */
+    @Benchmark
+    public double[] expArray() {
+        FastMath.exp(signed, out, 0, size);
+        return out;
+    }
+
+    /** FastMath exponential loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] expFastMath() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = FastMath.exp(signed[i]);
+        }
+        return out;
+    }
+
+    /** JDK exponential loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] expJdk() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = Math.exp(signed[i]);
+        }
+        return out;
+    }
+
+    /** FastMath logarithm loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] logFastMath() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = FastMath.log(positive[i]);
+        }
+        return out;
+    }
+
+    /** JDK logarithm loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] logJdk() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = Math.log(positive[i]);
+        }
+        return out;
+    }
+
+    /** FastMath sine loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] sinFastMath() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = FastMath.sin(signed[i]);
+        }
+        return out;
+    }
+
+    /** JDK sine loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] sinJdk() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = Math.sin(signed[i]);
+        }
+        return out;
+    }
+
+    /** FastMath cosine loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] cosFastMath() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = FastMath.cos(signed[i]);
+        }
+        return out;
+    }
+
+    /** JDK cosine loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] cosJdk() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = Math.cos(signed[i]);
+        }
+        return out;
+    }
+
+    /** FastMath two arguments arc tangent loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] atan2FastMath() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = FastMath.atan2(signed[i], positive[i]);
+        }
+        return out;
+    }
+
+    /** JDK two arguments arc tangent loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] atan2Jdk() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = Math.atan2(signed[i], positive[i]);
+        }
+        return out;
+    }
+
+    /** FastMath power loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] powFastMath() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = FastMath.pow(positive[i], 2.5);
+        }
+        return out;
+    }
+
+    /** JDK power loop.
+     * @return results
+     */
+    @Benchmark
+    public double[] powJdk() {
+        for (int i = 0; i < size; ++i) {
+            out[i] = Math.pow(positive[i], 2.5);
+        }
+        return out;
+    }
+
+    /** Run the benchmark.
+     * @param args command line arguments, an optional regular expression selecting benchmarks
+     * @exception RunnerException if benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final String include = FastMathBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : "");
+        new Runner(new OptionsBuilder().include(include).build()).run();
+    }
+
+}
@@ -165,6 +165,11 @@ public class DSCompiler {
     /** Indirection arrays for multivariate function rebasing. */
     private final List<MultivariateCompositionMapper[][]> rebaseIndirection;
 
+    /** Unrolled kernel for multiplication and composition (null if generic implementation is used).
+     * @since 4.1
+     */
+    private final DSKernels.Kernel kernel;
+
     /** Private constructor, reserved for the factory method {@link #getCompiler(int, int)}.
      * @param parameters number of free parameters
      * @param order derivation order
@@ -192,6 +197,7 @@ public class DSCompiler {
                                                                   sizes, derivativesOrders);
 
         this.rebaseIndirection = new ArrayList<>();
+        this.kernel            = DSKernels.getKernel(parameters, order);
     }
 
     /** Get the compiler for number of free parameters and order.
@@ -1191,6 +1197,28 @@ public class DSCompiler {
     public void multiply(final double[] lhs, final int lhsOffset,
                          final double[] rhs, final int rhsOffset,
                          final double[] result, final int resultOffset) {
+        if (kernel == null) {
+            multiplyGeneric(lhs, lhsOffset, rhs, rhsOffset, result, resultOffset);
+        } else {
+            kernel.multiply(lhs, lhsOffset, rhs, rhsOffset, result, resultOffset);
+        }
+    }
+
+    /** Perform multiplication of two derivative structures, using indirection arrays.
+     * <p>
+     * This is the generic implementation, used when no unrolled kernel is available.
+     * </p>
+     * @param lhs array holding left hand side of multiplication
+     * @param lhsOffset offset of the left hand side in its array
+     * @param rhs array right hand side of multiplication
+     * @param rhsOffset offset of the right hand side in its array
+     * @param result array where result must be stored
+     * @param resultOffset offset of the result in its array
+     * @since 4.1
+     */
+    void multiplyGeneric(final double[] lhs, final int lhsOffset,
+                         final double[] rhs, final int rhsOffset,
+                         final double[] result, final int resultOffset) {
         for (int i = 0; i < multIndirection.length; ++i) {
             double r = 0;
             for (final MultiplicationMapper mapping : multIndirection[i]) {
@@ -3539,6 +3567,27 @@ public class DSCompiler {
      */
     public void compose(final double[] operand, final int operandOffset, final double[] f,
                         final double[] result, final int resultOffset) {
+        if (kernel == null) {
+            composeGeneric(operand, operandOffset, f, result, resultOffset);
+        } else {
+            kernel.compose(operand, operandOffset, f, result, resultOffset);
+        }
+    }
+
+    /** Compute composition of a derivative structure by a function, using indirection arrays.
+     * <p>
+     * This is the generic implementation, used when no unrolled kernel is available.
+     * </p>
+     * @param operand array holding the operand
+     * @param operandOffset offset of the operand in its array
+     * @param f array of value and derivatives of the function at
+     * the current point (i.e. at {@code operand[operandOffset]}).
+     * @param result array where result must be stored
+     * @param resultOffset offset of the result in its array
+     * @since 4.1
+     */
+    void composeGeneric(final double[] operand, final int operandOffset, final double[] f,
+                        final double[] result, final int resultOffset) {
         for (int i = 0; i < compIndirection.length; ++i) {
             final UnivariateCompositionMapper[] mappingI = compIndirection[i];
             double r = 0;
@@ -0,0 +1,892 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.analysis.differentiation;
+
+/** Unrolled kernels for {@link DSCompiler}, for small numbers of parameters and orders.
+ * <p>
+ * This class is generated from the indirection arrays of {@link DSCompiler}, do not edit it.
+ * Each kernel performs exactly the same operations in the same order as the generic
+ * implementation, so results are identical. The leading {@code 0.0} in the sums
+ * reproduces the generic accumulation, which starts from +0.0.
+ * </p>
+ * @since 4.1
+ */
+final class DSKernels {
+
+    /** Maximum number of parameters for unrolled kernels. */
+    static final int MAX_PARAMETERS = 6;
+
+    /** Maximum derivation order for unrolled kernels. */
+    static final int MAX_ORDER = 2;
+
+    /** Private constructor for a utility class. */
+    private DSKernels() {
+        // nothing to do
+    }
+
+    /** Interface for kernels dedicated to one number of parameters and one order. */
+    interface Kernel {
+
+        /** Perform multiplication of two derivative structures.
+         * @param lhs array holding left hand side of multiplication
+         * @param lhsOffset offset of the left hand side in its array
+         * @param rhs array right hand side of multiplication
+         * @param rhsOffset offset of the right hand side in its array
+         * @param result array where result must be stored
+         * @param resultOffset offset of the result in its array
+         */
+        void multiply(double[] lhs, int lhsOffset, double[] rhs, int rhsOffset,
+                      double[] result, int resultOffset);
+
+        /** Compute composition of a derivative structure by a function.
+         * @param operand array holding the operand
+         * @param operandOffset offset of the operand in its array
+         * @param f array of value and derivatives of the function at the current point
+         * @param result array where result must be stored
+         * @param resultOffset offset of the result in its array
+         */
+        void compose(double[] operand, int operandOffset, double[] f,
+                     double[] result, int resultOffset);
+
+    }
+
+    /** Get the kernel for a number of parameters and an order.
+     * @param parameters number of free parameters
+     * @param order derivation order
+     * @return dedicated kernel, or null if there are none for this shape
+     */
+    static Kernel getKernel(final int parameters, final int order) {
+        if (parameters < 1 || parameters > MAX_PARAMETERS || order < 1 || order > MAX_ORDER) {
+            return null;
+        }
+        switch ((parameters - 1) * MAX_ORDER + order - 1) {
+            case 0 :
+                return new Kernel1x1();
+            case 1 :
+                return new Kernel1x2();
+            case 2 :
+                return new Kernel2x1();
+            case 3 :
+                return new Kernel2x2();
+            case 4 :
+                return new Kernel3x1();
+            case 5 :
+                return new Kernel3x2();
+            case 6 :
+                return new Kernel4x1();
+            case 7 :
+                return new Kernel4x2();
+            case 8 :
+                return new Kernel5x1();
+            case 9 :
+                return new Kernel5x2();
+            case 10 :
+                return new Kernel6x1();
+            case 11 :
+                return new Kernel6x2();
+            default :
+                // this should never happen
+                return null;
+        }
+    }
+
+    /** Kernel for 1 parameter and order 1. */
+    private static class Kernel1x1 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double o1 = operand[operandOffset + 1];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+        }
+
+    }
+
+    /** Kernel for 1 parameter and order 2. */
+    private static class Kernel1x2 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + 2 * l1 * r1 + l2 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double f2 = f[2];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f2 * o1 * o1 + f1 * o2;
+        }
+
+    }
+
+    /** Kernel for 2 parameters and order 1. */
+    private static class Kernel2x1 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + l2 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f1 * o2;
+        }
+
+    }
+
+    /** Kernel for 2 parameters and order 2. */
+    private static class Kernel2x2 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double l5 = lhs[lhsOffset + 5];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            final double r5 = rhs[rhsOffset + 5];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + 2 * l1 * r1 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l3 * r1 + l1 * r3 + l4 * r0;
+            result[resultOffset + 5] = 0.0 + l0 * r5 + 2 * l3 * r3 + l5 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double f2 = f[2];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            final double o5 = operand[operandOffset + 5];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f2 * o1 * o1 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f2 * o1 * o3 + f1 * o4;
+            result[resultOffset + 5] = 0.0 + f2 * o3 * o3 + f1 * o5;
+        }
+
+    }
+
+    /** Kernel for 3 parameters and order 1. */
+    private static class Kernel3x1 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+        }
+
+    }
+
+    /** Kernel for 3 parameters and order 2. */
+    private static class Kernel3x2 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double l5 = lhs[lhsOffset + 5];
+            final double l6 = lhs[lhsOffset + 6];
+            final double l7 = lhs[lhsOffset + 7];
+            final double l8 = lhs[lhsOffset + 8];
+            final double l9 = lhs[lhsOffset + 9];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            final double r5 = rhs[rhsOffset + 5];
+            final double r6 = rhs[rhsOffset + 6];
+            final double r7 = rhs[rhsOffset + 7];
+            final double r8 = rhs[rhsOffset + 8];
+            final double r9 = rhs[rhsOffset + 9];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + 2 * l1 * r1 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l3 * r1 + l1 * r3 + l4 * r0;
+            result[resultOffset + 5] = 0.0 + l0 * r5 + 2 * l3 * r3 + l5 * r0;
+            result[resultOffset + 6] = 0.0 + l0 * r6 + l6 * r0;
+            result[resultOffset + 7] = 0.0 + l0 * r7 + l6 * r1 + l1 * r6 + l7 * r0;
+            result[resultOffset + 8] = 0.0 + l0 * r8 + l6 * r3 + l3 * r6 + l8 * r0;
+            result[resultOffset + 9] = 0.0 + l0 * r9 + 2 * l6 * r6 + l9 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double f2 = f[2];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            final double o5 = operand[operandOffset + 5];
+            final double o6 = operand[operandOffset + 6];
+            final double o7 = operand[operandOffset + 7];
+            final double o8 = operand[operandOffset + 8];
+            final double o9 = operand[operandOffset + 9];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f2 * o1 * o1 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f2 * o1 * o3 + f1 * o4;
+            result[resultOffset + 5] = 0.0 + f2 * o3 * o3 + f1 * o5;
+            result[resultOffset + 6] = 0.0 + f1 * o6;
+            result[resultOffset + 7] = 0.0 + f2 * o1 * o6 + f1 * o7;
+            result[resultOffset + 8] = 0.0 + f2 * o3 * o6 + f1 * o8;
+            result[resultOffset + 9] = 0.0 + f2 * o6 * o6 + f1 * o9;
+        }
+
+    }
+
+    /** Kernel for 4 parameters and order 1. */
+    private static class Kernel4x1 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l4 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f1 * o4;
+        }
+
+    }
+
+    /** Kernel for 4 parameters and order 2. */
+    private static class Kernel4x2 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double l5 = lhs[lhsOffset + 5];
+            final double l6 = lhs[lhsOffset + 6];
+            final double l7 = lhs[lhsOffset + 7];
+            final double l8 = lhs[lhsOffset + 8];
+            final double l9 = lhs[lhsOffset + 9];
+            final double l10 = lhs[lhsOffset + 10];
+            final double l11 = lhs[lhsOffset + 11];
+            final double l12 = lhs[lhsOffset + 12];
+            final double l13 = lhs[lhsOffset + 13];
+            final double l14 = lhs[lhsOffset + 14];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            final double r5 = rhs[rhsOffset + 5];
+            final double r6 = rhs[rhsOffset + 6];
+            final double r7 = rhs[rhsOffset + 7];
+            final double r8 = rhs[rhsOffset + 8];
+            final double r9 = rhs[rhsOffset + 9];
+            final double r10 = rhs[rhsOffset + 10];
+            final double r11 = rhs[rhsOffset + 11];
+            final double r12 = rhs[rhsOffset + 12];
+            final double r13 = rhs[rhsOffset + 13];
+            final double r14 = rhs[rhsOffset + 14];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + 2 * l1 * r1 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l3 * r1 + l1 * r3 + l4 * r0;
+            result[resultOffset + 5] = 0.0 + l0 * r5 + 2 * l3 * r3 + l5 * r0;
+            result[resultOffset + 6] = 0.0 + l0 * r6 + l6 * r0;
+            result[resultOffset + 7] = 0.0 + l0 * r7 + l6 * r1 + l1 * r6 + l7 * r0;
+            result[resultOffset + 8] = 0.0 + l0 * r8 + l6 * r3 + l3 * r6 + l8 * r0;
+            result[resultOffset + 9] = 0.0 + l0 * r9 + 2 * l6 * r6 + l9 * r0;
+            result[resultOffset + 10] = 0.0 + l0 * r10 + l10 * r0;
+            result[resultOffset + 11] = 0.0 + l0 * r11 + l10 * r1 + l1 * r10 + l11 * r0;
+            result[resultOffset + 12] = 0.0 + l0 * r12 + l10 * r3 + l3 * r10 + l12 * r0;
+            result[resultOffset + 13] = 0.0 + l0 * r13 + l10 * r6 + l6 * r10 + l13 * r0;
+            result[resultOffset + 14] = 0.0 + l0 * r14 + 2 * l10 * r10 + l14 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double f2 = f[2];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            final double o5 = operand[operandOffset + 5];
+            final double o6 = operand[operandOffset + 6];
+            final double o7 = operand[operandOffset + 7];
+            final double o8 = operand[operandOffset + 8];
+            final double o9 = operand[operandOffset + 9];
+            final double o10 = operand[operandOffset + 10];
+            final double o11 = operand[operandOffset + 11];
+            final double o12 = operand[operandOffset + 12];
+            final double o13 = operand[operandOffset + 13];
+            final double o14 = operand[operandOffset + 14];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f2 * o1 * o1 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f2 * o1 * o3 + f1 * o4;
+            result[resultOffset + 5] = 0.0 + f2 * o3 * o3 + f1 * o5;
+            result[resultOffset + 6] = 0.0 + f1 * o6;
+            result[resultOffset + 7] = 0.0 + f2 * o1 * o6 + f1 * o7;
+            result[resultOffset + 8] = 0.0 + f2 * o3 * o6 + f1 * o8;
+            result[resultOffset + 9] = 0.0 + f2 * o6 * o6 + f1 * o9;
+            result[resultOffset + 10] = 0.0 + f1 * o10;
+            result[resultOffset + 11] = 0.0 + f2 * o1 * o10 + f1 * o11;
+            result[resultOffset + 12] = 0.0 + f2 * o3 * o10 + f1 * o12;
+            result[resultOffset + 13] = 0.0 + f2 * o6 * o10 + f1 * o13;
+            result[resultOffset + 14] = 0.0 + f2 * o10 * o10 + f1 * o14;
+        }
+
+    }
+
+    /** Kernel for 5 parameters and order 1. */
+    private static class Kernel5x1 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double l5 = lhs[lhsOffset + 5];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            final double r5 = rhs[rhsOffset + 5];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l4 * r0;
+            result[resultOffset + 5] = 0.0 + l0 * r5 + l5 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            final double o5 = operand[operandOffset + 5];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f1 * o4;
+            result[resultOffset + 5] = 0.0 + f1 * o5;
+        }
+
+    }
+
+    /** Kernel for 5 parameters and order 2. */
+    private static class Kernel5x2 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double l5 = lhs[lhsOffset + 5];
+            final double l6 = lhs[lhsOffset + 6];
+            final double l7 = lhs[lhsOffset + 7];
+            final double l8 = lhs[lhsOffset + 8];
+            final double l9 = lhs[lhsOffset + 9];
+            final double l10 = lhs[lhsOffset + 10];
+            final double l11 = lhs[lhsOffset + 11];
+            final double l12 = lhs[lhsOffset + 12];
+            final double l13 = lhs[lhsOffset + 13];
+            final double l14 = lhs[lhsOffset + 14];
+            final double l15 = lhs[lhsOffset + 15];
+            final double l16 = lhs[lhsOffset + 16];
+            final double l17 = lhs[lhsOffset + 17];
+            final double l18 = lhs[lhsOffset + 18];
+            final double l19 = lhs[lhsOffset + 19];
+            final double l20 = lhs[lhsOffset + 20];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            final double r5 = rhs[rhsOffset + 5];
+            final double r6 = rhs[rhsOffset + 6];
+            final double r7 = rhs[rhsOffset + 7];
+            final double r8 = rhs[rhsOffset + 8];
+            final double r9 = rhs[rhsOffset + 9];
+            final double r10 = rhs[rhsOffset + 10];
+            final double r11 = rhs[rhsOffset + 11];
+            final double r12 = rhs[rhsOffset + 12];
+            final double r13 = rhs[rhsOffset + 13];
+            final double r14 = rhs[rhsOffset + 14];
+            final double r15 = rhs[rhsOffset + 15];
+            final double r16 = rhs[rhsOffset + 16];
+            final double r17 = rhs[rhsOffset + 17];
+            final double r18 = rhs[rhsOffset + 18];
+            final double r19 = rhs[rhsOffset + 19];
+            final double r20 = rhs[rhsOffset + 20];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + 2 * l1 * r1 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l3 * r1 + l1 * r3 + l4 * r0;
+            result[resultOffset + 5] = 0.0 + l0 * r5 + 2 * l3 * r3 + l5 * r0;
+            result[resultOffset + 6] = 0.0 + l0 * r6 + l6 * r0;
+            result[resultOffset + 7] = 0.0 + l0 * r7 + l6 * r1 + l1 * r6 + l7 * r0;
+            result[resultOffset + 8] = 0.0 + l0 * r8 + l6 * r3 + l3 * r6 + l8 * r0;
+            result[resultOffset + 9] = 0.0 + l0 * r9 + 2 * l6 * r6 + l9 * r0;
+            result[resultOffset + 10] = 0.0 + l0 * r10 + l10 * r0;
+            result[resultOffset + 11] = 0.0 + l0 * r11 + l10 * r1 + l1 * r10 + l11 * r0;
+            result[resultOffset + 12] = 0.0 + l0 * r12 + l10 * r3 + l3 * r10 + l12 * r0;
+            result[resultOffset + 13] = 0.0 + l0 * r13 + l10 * r6 + l6 * r10 + l13 * r0;
+            result[resultOffset + 14] = 0.0 + l0 * r14 + 2 * l10 * r10 + l14 * r0;
+            result[resultOffset + 15] = 0.0 + l0 * r15 + l15 * r0;
+            result[resultOffset + 16] = 0.0 + l0 * r16 + l15 * r1 + l1 * r15 + l16 * r0;
+            result[resultOffset + 17] = 0.0 + l0 * r17 + l15 * r3 + l3 * r15 + l17 * r0;
+            result[resultOffset + 18] = 0.0 + l0 * r18 + l15 * r6 + l6 * r15 + l18 * r0;
+            result[resultOffset + 19] = 0.0 + l0 * r19 + l15 * r10 + l10 * r15 + l19 * r0;
+            result[resultOffset + 20] = 0.0 + l0 * r20 + 2 * l15 * r15 + l20 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double f2 = f[2];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            final double o5 = operand[operandOffset + 5];
+            final double o6 = operand[operandOffset + 6];
+            final double o7 = operand[operandOffset + 7];
+            final double o8 = operand[operandOffset + 8];
+            final double o9 = operand[operandOffset + 9];
+            final double o10 = operand[operandOffset + 10];
+            final double o11 = operand[operandOffset + 11];
+            final double o12 = operand[operandOffset + 12];
+            final double o13 = operand[operandOffset + 13];
+            final double o14 = operand[operandOffset + 14];
+            final double o15 = operand[operandOffset + 15];
+            final double o16 = operand[operandOffset + 16];
+            final double o17 = operand[operandOffset + 17];
+            final double o18 = operand[operandOffset + 18];
+            final double o19 = operand[operandOffset + 19];
+            final double o20 = operand[operandOffset + 20];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f2 * o1 * o1 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f2 * o1 * o3 + f1 * o4;
+            result[resultOffset + 5] = 0.0 + f2 * o3 * o3 + f1 * o5;
+            result[resultOffset + 6] = 0.0 + f1 * o6;
+            result[resultOffset + 7] = 0.0 + f2 * o1 * o6 + f1 * o7;
+            result[resultOffset + 8] = 0.0 + f2 * o3 * o6 + f1 * o8;
+            result[resultOffset + 9] = 0.0 + f2 * o6 * o6 + f1 * o9;
+            result[resultOffset + 10] = 0.0 + f1 * o10;
+            result[resultOffset + 11] = 0.0 + f2 * o1 * o10 + f1 * o11;
+            result[resultOffset + 12] = 0.0 + f2 * o3 * o10 + f1 * o12;
+            result[resultOffset + 13] = 0.0 + f2 * o6 * o10 + f1 * o13;
+            result[resultOffset + 14] = 0.0 + f2 * o10 * o10 + f1 * o14;
+            result[resultOffset + 15] = 0.0 + f1 * o15;
+            result[resultOffset + 16] = 0.0 + f2 * o1 * o15 + f1 * o16;
+            result[resultOffset + 17] = 0.0 + f2 * o3 * o15 + f1 * o17;
+            result[resultOffset + 18] = 0.0 + f2 * o6 * o15 + f1 * o18;
+            result[resultOffset + 19] = 0.0 + f2 * o10 * o15 + f1 * o19;
+            result[resultOffset + 20] = 0.0 + f2 * o15 * o15 + f1 * o20;
+        }
+
+    }
+
+    /** Kernel for 6 parameters and order 1. */
+    private static class Kernel6x1 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double l5 = lhs[lhsOffset + 5];
+            final double l6 = lhs[lhsOffset + 6];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            final double r5 = rhs[rhsOffset + 5];
+            final double r6 = rhs[rhsOffset + 6];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l4 * r0;
+            result[resultOffset + 5] = 0.0 + l0 * r5 + l5 * r0;
+            result[resultOffset + 6] = 0.0 + l0 * r6 + l6 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            final double o5 = operand[operandOffset + 5];
+            final double o6 = operand[operandOffset + 6];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f1 * o4;
+            result[resultOffset + 5] = 0.0 + f1 * o5;
+            result[resultOffset + 6] = 0.0 + f1 * o6;
+        }
+
+    }
+
+    /** Kernel for 6 parameters and order 2. */
+    private static class Kernel6x2 implements Kernel {
+
+        /** {@inheritDoc} */
+        @Override
+        public void multiply(final double[] lhs, final int lhsOffset,
+                             final double[] rhs, final int rhsOffset,
+                             final double[] result, final int resultOffset) {
+            final double l0 = lhs[lhsOffset];
+            final double l1 = lhs[lhsOffset + 1];
+            final double l2 = lhs[lhsOffset + 2];
+            final double l3 = lhs[lhsOffset + 3];
+            final double l4 = lhs[lhsOffset + 4];
+            final double l5 = lhs[lhsOffset + 5];
+            final double l6 = lhs[lhsOffset + 6];
+            final double l7 = lhs[lhsOffset + 7];
+            final double l8 = lhs[lhsOffset + 8];
+            final double l9 = lhs[lhsOffset + 9];
+            final double l10 = lhs[lhsOffset + 10];
+            final double l11 = lhs[lhsOffset + 11];
+            final double l12 = lhs[lhsOffset + 12];
+            final double l13 = lhs[lhsOffset + 13];
+            final double l14 = lhs[lhsOffset + 14];
+            final double l15 = lhs[lhsOffset + 15];
+            final double l16 = lhs[lhsOffset + 16];
+            final double l17 = lhs[lhsOffset + 17];
+            final double l18 = lhs[lhsOffset + 18];
+            final double l19 = lhs[lhsOffset + 19];
+            final double l20 = lhs[lhsOffset + 20];
+            final double l21 = lhs[lhsOffset + 21];
+            final double l22 = lhs[lhsOffset + 22];
+            final double l23 = lhs[lhsOffset + 23];
+            final double l24 = lhs[lhsOffset + 24];
+            final double l25 = lhs[lhsOffset + 25];
+            final double l26 = lhs[lhsOffset + 26];
+            final double l27 = lhs[lhsOffset + 27];
+            final double r0 = rhs[rhsOffset];
+            final double r1 = rhs[rhsOffset + 1];
+            final double r2 = rhs[rhsOffset + 2];
+            final double r3 = rhs[rhsOffset + 3];
+            final double r4 = rhs[rhsOffset + 4];
+            final double r5 = rhs[rhsOffset + 5];
+            final double r6 = rhs[rhsOffset + 6];
+            final double r7 = rhs[rhsOffset + 7];
+            final double r8 = rhs[rhsOffset + 8];
+            final double r9 = rhs[rhsOffset + 9];
+            final double r10 = rhs[rhsOffset + 10];
+            final double r11 = rhs[rhsOffset + 11];
+            final double r12 = rhs[rhsOffset + 12];
+            final double r13 = rhs[rhsOffset + 13];
+            final double r14 = rhs[rhsOffset + 14];
+            final double r15 = rhs[rhsOffset + 15];
+            final double r16 = rhs[rhsOffset + 16];
+            final double r17 = rhs[rhsOffset + 17];
+            final double r18 = rhs[rhsOffset + 18];
+            final double r19 = rhs[rhsOffset + 19];
+            final double r20 = rhs[rhsOffset + 20];
+            final double r21 = rhs[rhsOffset + 21];
+            final double r22 = rhs[rhsOffset + 22];
+            final double r23 = rhs[rhsOffset + 23];
+            final double r24 = rhs[rhsOffset + 24];
+            final double r25 = rhs[rhsOffset + 25];
+            final double r26 = rhs[rhsOffset + 26];
+            final double r27 = rhs[rhsOffset + 27];
+            result[resultOffset] = 0.0 + l0 * r0;
+            result[resultOffset + 1] = 0.0 + l0 * r1 + l1 * r0;
+            result[resultOffset + 2] = 0.0 + l0 * r2 + 2 * l1 * r1 + l2 * r0;
+            result[resultOffset + 3] = 0.0 + l0 * r3 + l3 * r0;
+            result[resultOffset + 4] = 0.0 + l0 * r4 + l3 * r1 + l1 * r3 + l4 * r0;
+            result[resultOffset + 5] = 0.0 + l0 * r5 + 2 * l3 * r3 + l5 * r0;
+            result[resultOffset + 6] = 0.0 + l0 * r6 + l6 * r0;
+            result[resultOffset + 7] = 0.0 + l0 * r7 + l6 * r1 + l1 * r6 + l7 * r0;
+            result[resultOffset + 8] = 0.0 + l0 * r8 + l6 * r3 + l3 * r6 + l8 * r0;
+            result[resultOffset + 9] = 0.0 + l0 * r9 + 2 * l6 * r6 + l9 * r0;
+            result[resultOffset + 10] = 0.0 + l0 * r10 + l10 * r0;
+            result[resultOffset + 11] = 0.0 + l0 * r11 + l10 * r1 + l1 * r10 + l11 * r0;
+            result[resultOffset + 12] = 0.0 + l0 * r12 + l10 * r3 + l3 * r10 + l12 * r0;
+            result[resultOffset + 13] = 0.0 + l0 * r13 + l10 * r6 + l6 * r10 + l13 * r0;
+            result[resultOffset + 14] = 0.0 + l0 * r14 + 2 * l10 * r10 + l14 * r0;
+            result[resultOffset + 15] = 0.0 + l0 * r15 + l15 * r0;
+            result[resultOffset + 16] = 0.0 + l0 * r16 + l15 * r1 + l1 * r15 + l16 * r0;
+            result[resultOffset + 17] = 0.0 + l0 * r17 + l15 * r3 + l3 * r15 + l17 * r0;
+            result[resultOffset + 18] = 0.0 + l0 * r18 + l15 * r6 + l6 * r15 + l18 * r0;
+            result[resultOffset + 19] = 0.0 + l0 * r19 + l15 * r10 + l10 * r15 + l19 * r0;
+            result[resultOffset + 20] = 0.0 + l0 * r20 + 2 * l15 * r15 + l20 * r0;
+            result[resultOffset + 21] = 0.0 + l0 * r21 + l21 * r0;
+            result[resultOffset + 22] = 0.0 + l0 * r22 + l21 * r1 + l1 * r21 + l22 * r0;
+            result[resultOffset + 23] = 0.0 + l0 * r23 + l21 * r3 + l3 * r21 + l23 * r0;
+            result[resultOffset + 24] = 0.0 + l0 * r24 + l21 * r6 + l6 * r21 + l24 * r0;
+            result[resultOffset + 25] = 0.0 + l0 * r25 + l21 * r10 + l10 * r21 + l25 * r0;
+            result[resultOffset + 26] = 0.0 + l0 * r26 + l21 * r15 + l15 * r21 + l26 * r0;
+            result[resultOffset + 27] = 0.0 + l0 * r27 + 2 * l21 * r21 + l27 * r0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void compose(final double[] operand, final int operandOffset, final double[] f,
+                            final double[] result, final int resultOffset) {
+            final double f0 = f[0];
+            final double f1 = f[1];
+            final double f2 = f[2];
+            final double o1 = operand[operandOffset + 1];
+            final double o2 = operand[operandOffset + 2];
+            final double o3 = operand[operandOffset + 3];
+            final double o4 = operand[operandOffset + 4];
+            final double o5 = operand[operandOffset + 5];
+            final double o6 = operand[operandOffset + 6];
+            final double o7 = operand[operandOffset + 7];
+            final double o8 = operand[operandOffset + 8];
+            final double o9 = operand[operandOffset + 9];
+            final double o10 = operand[operandOffset + 10];
+            final double o11 = operand[operandOffset + 11];
+            final double o12 = operand[operandOffset + 12];
+            final double o13 = operand[operandOffset + 13];
+            final double o14 = operand[operandOffset + 14];
+            final double o15 = operand[operandOffset + 15];
+            final double o16 = operand[operandOffset + 16];
+            final double o17 = operand[operandOffset + 17];
+            final double o18 = operand[operandOffset + 18];
+            final double o19 = operand[operandOffset + 19];
+            final double o20 = operand[operandOffset + 20];
+            final double o21 = operand[operandOffset + 21];
+            final double o22 = operand[operandOffset + 22];
+            final double o23 = operand[operandOffset + 23];
+            final double o24 = operand[operandOffset + 24];
+            final double o25 = operand[operandOffset + 25];
+            final double o26 = operand[operandOffset + 26];
+            final double o27 = operand[operandOffset + 27];
+            result[resultOffset] = 0.0 + f0;
+            result[resultOffset + 1] = 0.0 + f1 * o1;
+            result[resultOffset + 2] = 0.0 + f2 * o1 * o1 + f1 * o2;
+            result[resultOffset + 3] = 0.0 + f1 * o3;
+            result[resultOffset + 4] = 0.0 + f2 * o1 * o3 + f1 * o4;
+            result[resultOffset + 5] = 0.0 + f2 * o3 * o3 + f1 * o5;
+            result[resultOffset + 6] = 0.0 + f1 * o6;
+            result[resultOffset + 7] = 0.0 + f2 * o1 * o6 + f1 * o7;
+            result[resultOffset + 8] = 0.0 + f2 * o3 * o6 + f1 * o8;
+            result[resultOffset + 9] = 0.0 + f2 * o6 * o6 + f1 * o9;
+            result[resultOffset + 10] = 0.0 + f1 * o10;
+            result[resultOffset + 11] = 0.0 + f2 * o1 * o10 + f1 * o11;
+            result[resultOffset + 12] = 0.0 + f2 * o3 * o10 + f1 * o12;
+            result[resultOffset + 13] = 0.0 + f2 * o6 * o10 + f1 * o13;
+            result[resultOffset + 14] = 0.0 + f2 * o10 * o10 + f1 * o14;
+            result[resultOffset + 15] = 0.0 + f1 * o15;
+            result[resultOffset + 16] = 0.0 + f2 * o1 * o15 + f1 * o16;
+            result[resultOffset + 17] = 0.0 + f2 * o3 * o15 + f1 * o17;
+            result[resultOffset + 18] = 0.0 + f2 * o6 * o15 + f1 * o18;
+            result[resultOffset + 19] = 0.0 + f2 * o10 * o15 + f1 * o19;
+            result[resultOffset + 20] = 0.0 + f2 * o15 * o15 + f1 * o20;
+            result[resultOffset + 21] = 0.0 + f1 * o21;
+            result[resultOffset + 22] = 0.0 + f2 * o1 * o21 + f1 * o22;
+            result[resultOffset + 23] = 0.0 + f2 * o3 * o21 + f1 * o23;
+            result[resultOffset + 24] = 0.0 + f2 * o6 * o21 + f1 * o24;
+            result[resultOffset + 25] = 0.0 + f2 * o10 * o21 + f1 * o25;
+            result[resultOffset + 26] = 0.0 + f2 * o15 * o21 + f1 * o26;
+            result[resultOffset + 27] = 0.0 + f2 * o21 * o21 + f1 * o27;
+        }
+
+    }
+
+}
@@ -0,0 +1,691 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.analysis.differentiation;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.SinCos;
+
+/** Batch of first order differentials evaluated at many points.
+ * <p>
+ * This class holds the same information as an array of {@link Gradient} instances
+ * sharing the same number of free parameters, but in structure-of-arrays layout:
+ * the values at all points are stored in one contiguous array, and each partial
+ * derivative is stored in another contiguous array spanning all points. Each
+ * elementary operation is applied to the whole batch at once in tight loops over
+ * these arrays, so evaluating a model at many points allocates a few arrays per
+ * operation instead of one {@link Gradient} per point and per operation, and the
+ * loops are amenable to vectorization by the JIT compiler.
+ * </p>
+ * <p>
+ * For each point, the results are exactly the same as the ones computed by the
+ * corresponding {@link Gradient} operation.
+ * </p>
+ * <p>
+ * Functions not provided by this class can be applied using {@link #compose(double[], double[])}
+ * with the values and first derivatives of the function at all points.
+ * </p>
+ * <p>Instances of this class are guaranteed to be immutable.</p>
+ * @see Gradient
+ * @since 4.1
+ */
+public class GradientBatch implements Serializable {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Values of the function at all points. */
+    private final double[] values;
+
+    /** Partial derivatives of the function, one array spanning all points per free parameter. */
+    private final double[][] derivatives;
+
+    /** Build an instance with values and uninitialized derivatives arrays.
+     * @param values values of the function at all points (not copied)
+     * @param freeParameters number of free parameters
+     */
+    private GradientBatch(final double[] values, final int freeParameters) {
+        this(new double[freeParameters][values.length], values);
+    }
+
+    /** Build an instance with values and derivatives arrays, used for performance internally (no copy).
+     * @param derivatives partial derivatives of the function
+     * @param values values of the function at all points
+     */
+    private GradientBatch(final double[][] derivatives, final double[] values) {
+        this.values      = values;
+        this.derivatives = derivatives;
+    }
+
+    /** Build an instance from values and partial derivatives.
+     * @param values values of the function at all points
+     * @param derivatives partial derivatives of the function, one array per free parameter,
+     * each one having the same length as {@code values}
+     * @exception MathIllegalArgumentException if some derivatives array does not have
+     * the same length as {@code values}
+     */
+    public GradientBatch(final double[] values, final double[]... derivatives)
+        throws MathIllegalArgumentException {
+        this(values.clone(), derivatives.length);
+        for (int j = 0; j < derivatives.length; ++j) {
+            MathUtils.checkDimension(derivatives[j].length, values.length);
+            System.arraycopy(derivatives[j], 0, this.derivatives[j], 0, values.length);
+        }
+    }
+
+    /** Build an instance by packing gradients.
+     * @param gradients gradients at all points
+     * @exception MathIllegalArgumentException if gradients do not all have the same
+     * number of free parameters, or if no gradients are provided
+     */
+    public GradientBatch(final Gradient... gradients) throws MathIllegalArgumentException {
+        this(new double[gradients.length], checkNotEmpty(gradients).getFreeParameters());
+        for (int k = 0; k < gradients.length; ++k) {
+            MathUtils.checkDimension(gradients[k].getFreeParameters(), derivatives.length);
+            values[k] = gradients[k].getValue();
+            for (int j = 0; j < derivatives.length; ++j) {
+                derivatives[j][k] = gradients[k].getPartialDerivative(j);
+            }
+        }
+    }
+
+    /** Check an array of gradients is not empty.
+     * @param gradients gradients to check
+     * @return first gradient
+     * @exception MathIllegalArgumentException if array is empty
+     */
+    private static Gradient checkNotEmpty(final Gradient[] gradients)
+        throws MathIllegalArgumentException {
+        if (gradients.length == 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NO_DATA);
+        }
+        return gradients[0];
+    }
+
+    /** Build a batch corresponding to constant values.
+     * @param freeParameters number of free parameters (i.e. dimension of the gradients)
+     * @param values constant values of the function at all points
+     * @return a batch with constant values and all derivatives set to 0.0
+     */
+    public static GradientBatch constant(final int freeParameters, final double... values) {
+        return new GradientBatch(values.clone(), freeParameters);
+    }
+
+    /** Build a batch representing a variable.
+     * <p>Batches built using this method are considered
+     * to be the free variables with respect to which differentials
+     * are computed. As such, their differential with respect to
+     * themselves is +1 at all points.</p>
+     * @param freeParameters number of free parameters (i.e. dimension of the gradients)
+     * @param index index of the variable (from 0 to {@link #getFreeParameters() getFreeParameters()} - 1)
+     * @param values values of the variable at all points
+     * @return a batch with all derivatives set to 0.0 except the
+     * one at {@code index} which will be set to 1.0 at all points
+     */
+    public static GradientBatch variable(final int freeParameters, final int index, final double... values) {
+        final GradientBatch batch = new GradientBatch(values.clone(), freeParameters);
+        Arrays.fill(batch.derivatives[index], 1.0);
+        return batch;
+    }
+
+    /** Get the number of points in the batch.
+     * @return number of points in the batch
+     */
+    public int getSize() {
+        return values.length;
+    }
+
+    /** Get the number of free parameters.
+     * @return number of free parameters
+     */
+    public int getFreeParameters() {
+        return derivatives.length;
+    }
+
+    /** Get the value of the function at one point.
+     * @param k index of the point
+     * @return value of the function at point k
+     */
+    public double getValue(final int k) {
+        return values[k];
+    }
+
+    /** Get the values of the function at all points.
+     * @return values of the function at all points (a copy is returned)
+     */
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /** Get a partial derivative at one point.
+     * @param k index of the point
+     * @param n index of the free parameter (from 0 to {@link #getFreeParameters() getFreeParameters()} - 1)
+     * @return partial derivative with respect to free parameter n at point k
+     */
+    public double getPartialDerivative(final int k, final int n) {
+        return derivatives[n][k];
+    }
+
+    /** Get a partial derivative at all points.
+     * @param n index of the free parameter (from 0 to {@link #getFreeParameters() getFreeParameters()} - 1)
+     * @return partial derivative with respect to free parameter n at all points (a copy is returned)
+     */
+    public double[] getPartialDerivatives(final int n) {
+        return derivatives[n].clone();
+    }
+
+    /** Get the gradient at one point.
+     * @param k index of the point
+     * @return gradient at point k
+     */
+    public Gradient getGradient(final int k) {
+        final double[] gradient = new double[derivatives.length];
+        for (int j = 0; j < gradient.length; ++j) {
+            gradient[j] = derivatives[j][k];
+        }
+        return new Gradient(values[k], gradient);
+    }
+
+    /** Get the Jacobian of the batch.
+     * <p>
+     * The batch is considered as a vector function of the free parameters,
+     * with one component per point, so row k of the Jacobian is the gradient
+     * at point k.
+     * </p>
+     * @return Jacobian matrix, with {@link #getSize()} rows and
+     * {@link #getFreeParameters()} columns
+     */
+    public double[][] getJacobian() {
+        final double[][] jacobian = new double[values.length][derivatives.length];
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj = derivatives[j];
+            for (int k = 0; k < dj.length; ++k) {
+                jacobian[k][j] = dj[k];
+            }
+        }
+        return jacobian;
+    }
+
+    /** Check another batch is compatible with the instance.
+     * @param a other batch
+     * @exception MathIllegalArgumentException if number of points or number
+     * of free parameters is inconsistent
+     */
+    private void checkCompatibility(final GradientBatch a) throws MathIllegalArgumentException {
+        MathUtils.checkDimension(a.values.length, values.length);
+        MathUtils.checkDimension(a.derivatives.length, derivatives.length);
+    }
+
+    /** Compute this + a.
+     * @param a right hand side batch
+     * @return a new batch which is this + a
+     * @exception MathIllegalArgumentException if batches are not compatible
+     */
+    public GradientBatch add(final GradientBatch a) throws MathIllegalArgumentException {
+        checkCompatibility(a);
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        for (int k = 0; k < values.length; ++k) {
+            result.values[k] = values[k] + a.values[k];
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] adj = a.derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = dj[k] + adj[k];
+            }
+        }
+        return result;
+    }
+
+    /** Compute this + a.
+     * @param a right hand side constant
+     * @return a new batch which is this + a
+     */
+    public GradientBatch add(final double a) {
+        final double[] result = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            result[k] = values[k] + a;
+        }
+        return withValues(result);
+    }
+
+    /** Compute this - a.
+     * @param a right hand side batch
+     * @return a new batch which is this - a
+     * @exception MathIllegalArgumentException if batches are not compatible
+     */
+    public GradientBatch subtract(final GradientBatch a) throws MathIllegalArgumentException {
+        checkCompatibility(a);
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        for (int k = 0; k < values.length; ++k) {
+            result.values[k] = values[k] - a.values[k];
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] adj = a.derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = dj[k] - adj[k];
+            }
+        }
+        return result;
+    }
+
+    /** Compute this - a.
+     * @param a right hand side constant
+     * @return a new batch which is this - a
+     */
+    public GradientBatch subtract(final double a) {
+        final double[] result = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            result[k] = values[k] - a;
+        }
+        return withValues(result);
+    }
+
+    /** Compute this &times; a.
+     * @param a right hand side batch
+     * @return a new batch which is this &times; a
+     * @exception MathIllegalArgumentException if batches are not compatible
+     */
+    public GradientBatch multiply(final GradientBatch a) throws MathIllegalArgumentException {
+        checkCompatibility(a);
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        for (int k = 0; k < values.length; ++k) {
+            result.values[k] = values[k] * a.values[k];
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] adj = a.derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = dj[k] * a.values[k] + values[k] * adj[k];
+            }
+        }
+        return result;
+    }
+
+    /** Compute this &times; a.
+     * @param a right hand side constant
+     * @return a new batch which is this &times; a
+     */
+    public GradientBatch multiply(final double a) {
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        for (int k = 0; k < values.length; ++k) {
+            result.values[k] = values[k] * a;
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = dj[k] * a;
+            }
+        }
+        return result;
+    }
+
+    /** Compute this &divide; a.
+     * @param a right hand side batch
+     * @return a new batch which is this &divide; a
+     * @exception MathIllegalArgumentException if batches are not compatible
+     */
+    public GradientBatch divide(final GradientBatch a) throws MathIllegalArgumentException {
+        checkCompatibility(a);
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        final double[] inv2 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double inv1 = 1.0 / a.values[k];
+            inv2[k]          = inv1 * inv1;
+            result.values[k] = values[k] * inv1;
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] adj = a.derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = (dj[k] * a.values[k] - values[k] * adj[k]) * inv2[k];
+            }
+        }
+        return result;
+    }
+
+    /** Compute this &divide; a.
+     * @param a right hand side constant
+     * @return a new batch which is this &divide; a
+     */
+    public GradientBatch divide(final double a) {
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        for (int k = 0; k < values.length; ++k) {
+            result.values[k] = values[k] / a;
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = dj[k] / a;
+            }
+        }
+        return result;
+    }
+
+    /** Compute -this.
+     * @return a new batch which is -this
+     */
+    public GradientBatch negate() {
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        for (int k = 0; k < values.length; ++k) {
+            result.values[k] = -values[k];
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = -dj[k];
+            }
+        }
+        return result;
+    }
+
+    /** Compute composition of the instance by univariate functions.
+     * <p>
+     * At each point k, the result is f<sub>k</sub>(this), where f<sub>k</sub>
+     * is a univariate function whose value and first derivative at the
+     * instance value are f0[k] and f1[k].
+     * </p>
+     * @param f0 values of the functions at all points
+     * @param f1 first derivatives of the functions at all points
+     * @return f(this)
+     * @exception MathIllegalArgumentException if arrays lengths do not match
+     * the number of points
+     */
+    public GradientBatch compose(final double[] f0, final double[] f1)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(f0.length, values.length);
+        MathUtils.checkDimension(f1.length, values.length);
+        return composeNoCopy(f0.clone(), f1);
+    }
+
+    /** Compute composition of the instance by univariate functions, without copying values.
+     * @param f0 values of the functions at all points (will be used directly in the result)
+     * @param f1 first derivatives of the functions at all points
+     * @return f(this)
+     */
+    private GradientBatch composeNoCopy(final double[] f0, final double[] f1) {
+        final GradientBatch result = new GradientBatch(f0, derivatives.length);
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = f1[k] * dj[k];
+            }
+        }
+        return result;
+    }
+
+    /** Create a batch sharing the derivatives of the instance, with different values.
+     * <p>
+     * Sharing the derivatives arrays is safe as instances are immutable.
+     * </p>
+     * @param newValues values of the new batch (will be used directly in the result)
+     * @return new batch
+     */
+    private GradientBatch withValues(final double[] newValues) {
+        return new GradientBatch(derivatives, newValues);
+    }
+
+    /** Square.
+     * @return a new batch which is this<sup>2</sup>
+     */
+    public GradientBatch square() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double v = values[k];
+            f0[k] = v * v;
+            f1[k] = 2 * v;
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Reciprocal.
+     * @return a new batch which is 1 / this
+     */
+    public GradientBatch reciprocal() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double inv1 = 1.0 / values[k];
+            f0[k] = inv1;
+            f1[k] = -inv1 * inv1;
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Square root.
+     * @return a new batch which is the square root of the instance
+     */
+    public GradientBatch sqrt() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double s = FastMath.sqrt(values[k]);
+            f0[k] = s;
+            f1[k] = 1 / (2 * s);
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Power operation.
+     * @param p power to apply
+     * @return a new batch which is this<sup>p</sup>
+     */
+    public GradientBatch pow(final double p) {
+        if (p == 0) {
+            final double[] ones = new double[values.length];
+            Arrays.fill(ones, 1.0);
+            return new GradientBatch(ones, derivatives.length);
+        }
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double valuePm1 = FastMath.pow(values[k], p - 1);
+            f0[k] = valuePm1 * values[k];
+            f1[k] = p * valuePm1;
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Exponential.
+     * @return exponential of the instance
+     */
+    public GradientBatch exp() {
+        final double[] f0 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            f0[k] = FastMath.exp(values[k]);
+        }
+        return composeNoCopy(f0, f0);
+    }
+
+    /** Natural logarithm.
+     * @return logarithm of the instance
+     */
+    public GradientBatch log() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            f0[k] = FastMath.log(values[k]);
+            f1[k] = 1 / values[k];
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Sine operation.
+     * @return sin(this)
+     */
+    public GradientBatch sin() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final SinCos sinCos = FastMath.sinCos(values[k]);
+            f0[k] = sinCos.sin();
+            f1[k] = sinCos.cos();
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Cosine operation.
+     * @return cos(this)
+     */
+    public GradientBatch cos() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final SinCos sinCos = FastMath.sinCos(values[k]);
+            f0[k] = sinCos.cos();
+            f1[k] = -sinCos.sin();
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Tangent operation.
+     * @return tan(this)
+     */
+    public GradientBatch tan() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double tan = FastMath.tan(values[k]);
+            f0[k] = tan;
+            f1[k] = 1 + tan * tan;
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Arc cosine operation.
+     * @return acos(this)
+     */
+    public GradientBatch acos() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double v = values[k];
+            f0[k] = FastMath.acos(v);
+            f1[k] = -1 / FastMath.sqrt(1 - v * v);
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Arc sine operation.
+     * @return asin(this)
+     */
+    public GradientBatch asin() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double v = values[k];
+            f0[k] = FastMath.asin(v);
+            f1[k] = 1 / FastMath.sqrt(1 - v * v);
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Arc tangent operation.
+     * @return atan(this)
+     */
+    public GradientBatch atan() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double v = values[k];
+            f0[k] = FastMath.atan(v);
+            f1[k] = 1 / (1 + v * v);
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Two arguments arc tangent operation.
+     * @param x second argument of the arc tangent
+     * @return atan2(this, x)
+     * @exception MathIllegalArgumentException if batches are not compatible
+     */
+    public GradientBatch atan2(final GradientBatch x) throws MathIllegalArgumentException {
+        checkCompatibility(x);
+        final GradientBatch result = new GradientBatch(new double[values.length], derivatives.length);
+        final double[] inv = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            inv[k]           = 1.0 / (values[k] * values[k] + x.values[k] * x.values[k]);
+            result.values[k] = FastMath.atan2(values[k], x.values[k]);
+        }
+        for (int j = 0; j < derivatives.length; ++j) {
+            final double[] dj  = derivatives[j];
+            final double[] xdj = x.derivatives[j];
+            final double[] rdj = result.derivatives[j];
+            for (int k = 0; k < rdj.length; ++k) {
+                rdj[k] = (x.values[k] * dj[k] - xdj[k] * values[k]) * inv[k];
+            }
+        }
+        return result;
+    }
+
+    /** Hyperbolic cosine operation.
+     * @return cosh(this)
+     */
+    public GradientBatch cosh() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            f0[k] = FastMath.cosh(values[k]);
+            f1[k] = FastMath.sinh(values[k]);
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Hyperbolic sine operation.
+     * @return sinh(this)
+     */
+    public GradientBatch sinh() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            f0[k] = FastMath.sinh(values[k]);
+            f1[k] = FastMath.cosh(values[k]);
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+    /** Hyperbolic tangent operation.
+     * @return tanh(this)
+     */
+    public GradientBatch tanh() {
+        final double[] f0 = new double[values.length];
+        final double[] f1 = new double[values.length];
+        for (int k = 0; k < values.length; ++k) {
+            final double tanh = FastMath.tanh(values[k]);
+            f0[k] = tanh;
+            f1[k] = 1 - tanh * tanh;
+        }
+        return composeNoCopy(f0, f1);
+    }
+
+}
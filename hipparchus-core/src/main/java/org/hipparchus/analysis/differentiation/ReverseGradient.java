@@ -0,0 +1,518 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.analysis.differentiation;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.FieldSinCos;
+import org.hipparchus.util.FieldSinhCosh;
+import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.SinCos;
+import org.hipparchus.util.SinhCosh;
+
+/** Class representing both the value and the first order differentials of a function,
+ * computed in reverse mode.
+ * <p>
+ * Contrary to {@link Gradient}, which propagates all partial derivatives forward along
+ * with the value, this class only holds a value and an index in a {@link ReverseGradientTape}
+ * that records the local partial derivatives of each operation. The gradient of a scalar
+ * output with respect to all independent variables is then computed by a single backward
+ * sweep over the tape (see {@link #getGradient()}). The cost of computing this gradient is
+ * a small multiple of the cost of computing the value, independently of the number of
+ * variables, which makes this class suitable for scalar functions of many parameters.
+ * </p>
+ * <p>
+ * All instances involved in a computation must come from the same tape. Instances are
+ * immutable, but they become invalid if the tape is {@link ReverseGradientTape#reset() reset}.
+ * </p>
+ * @see ReverseGradientTape
+ * @see Gradient
+ * @since 4.1
+ */
+public class ReverseGradient implements Derivative1<ReverseGradient> {
+
+    /** Tape recording the operations. */
+    private final ReverseGradientTape tape;
+
+    /** Index of the node in the tape ({@link ReverseGradientTape#CONSTANT} for constants). */
+    private final int index;
+
+    /** Value of the function. */
+    private final double value;
+
+    /** Build an instance.
+     * @param tape tape recording the operations
+     * @param index index of the node in the tape
+     * @param value value of the function
+     */
+    ReverseGradient(final ReverseGradientTape tape, final int index, final double value) {
+        this.tape  = tape;
+        this.index = index;
+        this.value = value;
+    }
+
+    /** Get the tape recording the operations.
+     * @return tape recording the operations
+     */
+    public ReverseGradientTape getTape() {
+        return tape;
+    }
+
+    /** Get the index of the node in the tape.
+     * @return index of the node in the tape ({@link ReverseGradientTape#CONSTANT} for constants)
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /** Check if the instance is a constant.
+     * @return true if the instance is a constant, which is not recorded in the tape
+     */
+    public boolean isConstant() {
+        return index == ReverseGradientTape.CONSTANT;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient newInstance(final double c) {
+        return tape.constant(c);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient withValue(final double v) {
+        return new ReverseGradient(tape, index, v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient getAddendum() {
+        return withValue(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getValue() {
+        return value;
+    }
+
+    /** Get the gradient with respect to all independent variables of the tape.
+     * <p>
+     * Each call performs one backward sweep over the tape.
+     * </p>
+     * @return gradient with respect to independent variables, in creation order
+     */
+    public double[] getGradient() {
+        return tape.gradient(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getFreeParameters() {
+        return tape.getVariables();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getPartialDerivative(final int ... orders)
+        throws MathIllegalArgumentException {
+
+        // check the number of components
+        if (orders.length != getFreeParameters()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   orders.length, getFreeParameters());
+        }
+
+        // check that either all derivation orders are set to 0,
+        // or that only one is set to 1 and all other ones are set to 0
+        int selected = -1;
+        for (int i = 0; i < orders.length; ++i) {
+            if (orders[i] != 0) {
+                if (selected >= 0 || orders[i] != 1) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.DERIVATION_ORDER_NOT_ALLOWED,
+                                                           orders[i]);
+                }
+                // found the component set to derivation order 1
+                selected = i;
+            }
+        }
+
+        return (selected < 0) ? value : getGradient()[selected];
+
+    }
+
+    /** Get the partial derivative with respect to one parameter.
+     * <p>
+     * Each call performs one backward sweep over the tape, so {@link #getGradient()}
+     * should be preferred when several partial derivatives are needed.
+     * </p>
+     * @param n index of the parameter (counting from 0)
+     * @return partial derivative with respect to the n<sup>th</sup> parameter
+     * @exception MathIllegalArgumentException if n is either negative or larger
+     * or equal to {@link #getFreeParameters()}
+     */
+    public double getPartialDerivative(final int n) throws MathIllegalArgumentException {
+        if (n < 0 || n >= getFreeParameters()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   n, 0, getFreeParameters() - 1);
+        }
+        return getGradient()[n];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient add(final ReverseGradient a) {
+        return new ReverseGradient(tape, tape.record(index, 1.0, a.index, 1.0), value + a.value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient subtract(final ReverseGradient a) {
+        return new ReverseGradient(tape, tape.record(index, 1.0, a.index, -1.0), value - a.value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient multiply(final int n) {
+        return new ReverseGradient(tape, tape.record(index, n), value * n);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient multiply(final double a) {
+        return new ReverseGradient(tape, tape.record(index, a), value * a);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient multiply(final ReverseGradient a) {
+        return new ReverseGradient(tape, tape.record(index, a.value, a.index, value), value * a.value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient divide(final double a) {
+        final double inv = 1.0 / a;
+        return new ReverseGradient(tape, tape.record(index, inv), value * inv);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient divide(final ReverseGradient a) {
+        final double inv1 = 1.0 / a.value;
+        final double q    = value * inv1;
+        return new ReverseGradient(tape, tape.record(index, inv1, a.index, -q * inv1), q);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient remainder(final ReverseGradient a) {
+
+        // compute k such that lhs % rhs = lhs - k rhs
+        final double rem = FastMath.IEEEremainder(value, a.value);
+        final double k   = FastMath.rint((value - rem) / a.value);
+
+        return new ReverseGradient(tape, tape.record(index, 1.0, a.index, -k), rem);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient negate() {
+        return new ReverseGradient(tape, tape.record(index, -1.0), -value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient abs() {
+        if (Double.doubleToLongBits(value) < 0) {
+            // we use the bits representation to also handle -0.0
+            return negate();
+        } else {
+            return this;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient copySign(final ReverseGradient sign) {
+        return copySign(sign.value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient copySign(final double sign) {
+        long m = Double.doubleToLongBits(value);
+        long s = Double.doubleToLongBits(sign);
+        if ((m >= 0 && s >= 0) || (m < 0 && s < 0)) { // Sign is currently OK
+            return this;
+        }
+        return negate(); // flip sign
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient scalb(final int n) {
+        return new ReverseGradient(tape, tape.record(index, FastMath.scalb(1.0, n)), FastMath.scalb(value, n));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient hypot(final ReverseGradient y) {
+
+        if (Double.isInfinite(value) || Double.isInfinite(y.value)) {
+            return newInstance(Double.POSITIVE_INFINITY);
+        } else if (Double.isNaN(value) || Double.isNaN(y.value)) {
+            return newInstance(Double.NaN);
+        } else {
+
+            final int expX = getExponent();
+            final int expY = y.getExponent();
+            if (expX > expY + 27) {
+                // y is negligible with respect to x
+                return abs();
+            } else if (expY > expX + 27) {
+                // x is negligible with respect to y
+                return y.abs();
+            } else {
+
+                // compute hypotenuse with scaling to avoid both overflow and underflow
+                final int    middleExp = (expX + expY) / 2;
+                final double scaledX   = FastMath.scalb(value,   -middleExp);
+                final double scaledY   = FastMath.scalb(y.value, -middleExp);
+                final double scaledH   = FastMath.sqrt(scaledX * scaledX + scaledY * scaledY);
+
+                // the partial derivatives are x / h and y / h
+                return new ReverseGradient(tape,
+                                           tape.record(index, scaledX / scaledH, y.index, scaledY / scaledH),
+                                           FastMath.scalb(scaledH, middleExp));
+
+            }
+
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient compose(final double... f) {
+        MathUtils.checkDimension(f.length, getOrder() + 1);
+        return compose(f[0], f[1]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient compose(final double f0, final double f1) {
+        return new ReverseGradient(tape, tape.record(index, f1), f0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradientField getField() {
+        return tape.getField();
+    }
+
+    /** Compute a<sup>x</sup> where a is a double and x a {@link ReverseGradient}
+     * @param a number to exponentiate
+     * @param x power to apply
+     * @return a<sup>x</sup>
+     */
+    public static ReverseGradient pow(final double a, final ReverseGradient x) {
+        if (a == 0) {
+            return x.getField().getZero();
+        } else {
+            final double aX = FastMath.pow(a, x.value);
+            return x.compose(aX, aX * FastMath.log(a));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient pow(final double p) {
+        if (p == 0) {
+            return getField().getOne();
+        } else {
+            final double valuePm1 = FastMath.pow(value, p - 1);
+            return compose(valuePm1 * value, p * valuePm1);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient pow(final int n) {
+        if (n == 0) {
+            return getField().getOne();
+        } else {
+            final double valueNm1 = FastMath.pow(value, n - 1);
+            return compose(valueNm1 * value, n * valueNm1);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldSinCos<ReverseGradient> sinCos() {
+        final SinCos sinCos = FastMath.sinCos(value);
+        return new FieldSinCos<>(compose(sinCos.sin(), sinCos.cos()),
+                                 compose(sinCos.cos(), -sinCos.sin()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient atan2(final ReverseGradient x) {
+        final double inv = 1.0 / (value * value + x.value * x.value);
+        return new ReverseGradient(tape,
+                                   tape.record(index, x.value * inv, x.index, -value * inv),
+                                   FastMath.atan2(value, x.value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldSinhCosh<ReverseGradient> sinhCosh() {
+        final SinhCosh sinhCosh = FastMath.sinhCosh(value);
+        return new FieldSinhCosh<>(compose(sinhCosh.sinh(), sinhCosh.cosh()),
+                                   compose(sinhCosh.cosh(), sinhCosh.sinh()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient toDegrees() {
+        return compose(FastMath.toDegrees(value), FastMath.toDegrees(1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient toRadians() {
+        return compose(FastMath.toRadians(value), FastMath.toRadians(1.0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final ReverseGradient[] a, final ReverseGradient[] b) {
+        final int      n        = a.length;
+        final double[] a0       = new double[n];
+        final double[] b0       = new double[n];
+        final int[]    indices  = new int[2 * n];
+        final double[] partials = new double[2 * n];
+        for (int i = 0; i < n; ++i) {
+            a0[i]               = a[i].value;
+            b0[i]               = b[i].value;
+            indices[2 * i]      = a[i].index;
+            partials[2 * i]     = b[i].value;
+            indices[2 * i + 1]  = b[i].index;
+            partials[2 * i + 1] = a[i].value;
+        }
+        return new ReverseGradient(tape, tape.record(indices, partials), MathArrays.linearCombination(a0, b0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final double[] a, final ReverseGradient[] b) {
+        final int      n       = b.length;
+        final double[] b0      = new double[n];
+        final int[]    indices = new int[n];
+        for (int i = 0; i < n; ++i) {
+            b0[i]      = b[i].value;
+            indices[i] = b[i].index;
+        }
+        return new ReverseGradient(tape, tape.record(indices, a.clone()), MathArrays.linearCombination(a, b0));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final ReverseGradient a1, final ReverseGradient b1,
+                                             final ReverseGradient a2, final ReverseGradient b2) {
+        return linearCombination(new ReverseGradient[] { a1, a2 }, new ReverseGradient[] { b1, b2 });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final double a1, final ReverseGradient b1,
+                                             final double a2, final ReverseGradient b2) {
+        return new ReverseGradient(tape, tape.record(b1.index, a1, b2.index, a2),
+                                   MathArrays.linearCombination(a1, b1.value, a2, b2.value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final ReverseGradient a1, final ReverseGradient b1,
+                                             final ReverseGradient a2, final ReverseGradient b2,
+                                             final ReverseGradient a3, final ReverseGradient b3) {
+        return linearCombination(new ReverseGradient[] { a1, a2, a3 }, new ReverseGradient[] { b1, b2, b3 });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final double a1, final ReverseGradient b1,
+                                             final double a2, final ReverseGradient b2,
+                                             final double a3, final ReverseGradient b3) {
+        return linearCombination(new double[] { a1, a2, a3 }, new ReverseGradient[] { b1, b2, b3 });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final ReverseGradient a1, final ReverseGradient b1,
+                                             final ReverseGradient a2, final ReverseGradient b2,
+                                             final ReverseGradient a3, final ReverseGradient b3,
+                                             final ReverseGradient a4, final ReverseGradient b4) {
+        return linearCombination(new ReverseGradient[] { a1, a2, a3, a4 },
+                                 new ReverseGradient[] { b1, b2, b3, b4 });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient linearCombination(final double a1, final ReverseGradient b1,
+                                             final double a2, final ReverseGradient b2,
+                                             final double a3, final ReverseGradient b3,
+                                             final double a4, final ReverseGradient b4) {
+        return linearCombination(new double[] { a1, a2, a3, a4 }, new ReverseGradient[] { b1, b2, b3, b4 });
+    }
+
+    /** Test for the equality of two reverse gradients.
+     * <p>
+     * Reverse gradients are considered equal if they share the same tape,
+     * the same node in the tape and the same value.
+     * </p>
+     * @param other Object to test for equality to this
+     * @return true if two reverse gradients are equal
+     */
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        if (other instanceof ReverseGradient) {
+            final ReverseGradient rhs = (ReverseGradient) other;
+            return tape == rhs.tape && index == rhs.index && value == rhs.value;
+        }
+
+        return false;
+
+    }
+
+    /** Get a hashCode for the reverse gradient.
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return 317 + 7 * Double.hashCode(value) - 15 * index;
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.analysis.differentiation;
+
+import org.hipparchus.Field;
+
+/** Field for {@link ReverseGradient} instances.
+ * <p>
+ * There is one field for each {@link ReverseGradientTape tape}.
+ * </p>
+ * @since 4.1
+ */
+public class ReverseGradientField implements Field<ReverseGradient> {
+
+    /** Zero constant. */
+    private final ReverseGradient zero;
+
+    /** One constant. */
+    private final ReverseGradient one;
+
+    /** Simple constructor.
+     * @param tape tape associated with the field
+     */
+    ReverseGradientField(final ReverseGradientTape tape) {
+        zero = tape.constant(0.0);
+        one  = tape.constant(1.0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient getOne() {
+        return one;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReverseGradient getZero() {
+        return zero;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Class<ReverseGradient> getRuntimeClass() {
+        return ReverseGradient.class;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+}
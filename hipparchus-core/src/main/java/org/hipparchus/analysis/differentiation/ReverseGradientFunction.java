@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.analysis.differentiation;
+
+import java.util.Arrays;
+
+import org.hipparchus.analysis.CalculusFieldMultivariateFunction;
+import org.hipparchus.analysis.MultivariateFunction;
+import org.hipparchus.analysis.MultivariateVectorFunction;
+
+/** Class representing the gradient of a multivariate function, computed in reverse mode.
+ * <p>
+ * The vectorial components of the function represent the derivatives with respect
+ * to each function parameters. They are computed by a single backward sweep over
+ * a {@link ReverseGradientTape tape} that is reused from one evaluation to the next.
+ * </p>
+ * <p>
+ * As optimizers generally need both the value and the gradient at the same point,
+ * the last evaluation is cached, so an {@link #getObjectiveFunction() objective function}
+ * evaluation following a gradient evaluation at the same point (or conversely) costs
+ * nothing. A typical use with gradient-based optimizers is:
+ * </p>
+ * <pre>
+ *   ReverseGradientFunction g = new ReverseGradientFunction(f);
+ *   optimizer.optimize(new ObjectiveFunction(g.getObjectiveFunction()),
+ *                      new ObjectiveFunctionGradient(g),
+ *                      ...);
+ * </pre>
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe.
+ * </p>
+ * @see GradientFunction
+ * @since 4.1
+ */
+public class ReverseGradientFunction implements MultivariateVectorFunction {
+
+    /** Underlying real-valued function. */
+    private final CalculusFieldMultivariateFunction<ReverseGradient> f;
+
+    /** Reusable tape. */
+    private final ReverseGradientTape tape;
+
+    /** Last evaluation point. */
+    private double[] lastPoint;
+
+    /** Value at last evaluation point. */
+    private double lastValue;
+
+    /** Gradient at last evaluation point. */
+    private double[] lastGradient;
+
+    /** Simple constructor.
+     * @param f underlying real-valued function
+     */
+    public ReverseGradientFunction(final CalculusFieldMultivariateFunction<ReverseGradient> f) {
+        this.f    = f;
+        this.tape = new ReverseGradientTape();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] value(final double[] point) {
+        evaluate(point);
+        return lastGradient.clone();
+    }
+
+    /** Get the underlying function value.
+     * @param point point at which the function should be evaluated
+     * @return function value at point
+     */
+    public double objectiveValue(final double[] point) {
+        evaluate(point);
+        return lastValue;
+    }
+
+    /** Get a view of the underlying function as a real-valued function.
+     * @return real-valued function sharing the evaluation cache with the gradient
+     */
+    public MultivariateFunction getObjectiveFunction() {
+        return this::objectiveValue;
+    }
+
+    /** Evaluate value and gradient at a point, if not already done.
+     * @param point evaluation point
+     */
+    private void evaluate(final double[] point) {
+
+        if (lastPoint != null && Arrays.equals(point, lastPoint)) {
+            // we already know the result
+            return;
+        }
+
+        // set up parameters
+        tape.reset();
+        final ReverseGradient[] x = new ReverseGradient[point.length];
+        for (int i = 0; i < point.length; ++i) {
+            x[i] = tape.variable(point[i]);
+        }
+
+        // compute the function and back-propagate
+        final ReverseGradient y = f.value(x);
+        lastValue    = y.getValue();
+        lastGradient = tape.gradient(y);
+        lastPoint    = point.clone();
+
+    }
+
+}
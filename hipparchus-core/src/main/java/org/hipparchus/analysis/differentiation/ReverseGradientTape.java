@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.analysis.differentiation;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/** Tape recording operations on {@link ReverseGradient} instances for reverse mode differentiation.
+ * <p>
+ * Each non-constant {@link ReverseGradient} corresponds to one node in the tape. A node stores
+ * the indices of the nodes it depends on and the local partial derivatives with respect to them,
+ * all in primitive arrays that grow as needed and are reused when the tape is {@link #reset() reset}.
+ * Constants are not recorded at all. Once a scalar output has been computed, its gradient with
+ * respect to all {@link #variable(double) variables} is obtained by a single backward sweep,
+ * whatever the number of variables, which is the main advantage of reverse mode over forward
+ * mode classes like {@link Gradient} when there are many variables.
+ * </p>
+ * <p>
+ * In order to bound memory, parts of a computation can be {@link #collapse(int, ReverseGradient)
+ * collapsed}: all the nodes recorded since a {@link #checkpoint() checkpoint} are replaced by a
+ * single node holding the partial derivatives of the result with respect to the older nodes.
+ * For example an objective function that is a sum of many terms can collapse each term as soon
+ * as it has been computed, so the tape never holds more than one term in expanded form.
+ * </p>
+ * <p>
+ * Instances of this class are <em>not</em> thread-safe.
+ * </p>
+ * @see ReverseGradient
+ * @since 4.1
+ */
+public class ReverseGradientTape {
+
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** Index used for constants, which are not recorded. */
+    static final int CONSTANT = -1;
+
+    /** Field associated with the tape. */
+    private final ReverseGradientField field;
+
+    /** Index of the first edge of each node (with one extra element for the end of the last node). */
+    private int[] nodeStart;
+
+    /** Number of nodes. */
+    private int nodes;
+
+    /** Target node of each edge. */
+    private int[] edgeTarget;
+
+    /** Partial derivative associated with each edge. */
+    private double[] edgePartial;
+
+    /** Number of edges. */
+    private int edges;
+
+    /** Node indices of the independent variables. */
+    private int[] variables;
+
+    /** Number of independent variables. */
+    private int nbVariables;
+
+    /** Adjoints buffer (always reset to zero between sweeps). */
+    private double[] adjoints;
+
+    /** Marks buffer used when collapsing (always reset to false between sweeps). */
+    private boolean[] marks;
+
+    /** Simple constructor with default initial capacity.
+     */
+    public ReverseGradientTape() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Simple constructor.
+     * @param initialCapacity initial number of nodes that can be recorded before the arrays are grown
+     */
+    public ReverseGradientTape(final int initialCapacity) {
+        final int capacity = FastMath.max(initialCapacity, 1);
+        this.field       = new ReverseGradientField(this);
+        this.nodeStart   = new int[capacity + 1];
+        this.edgeTarget  = new int[2 * capacity];
+        this.edgePartial = new double[2 * capacity];
+        this.variables   = new int[16];
+        this.adjoints    = new double[0];
+        this.marks       = new boolean[0];
+        reset();
+    }
+
+    /** Reset the tape.
+     * <p>
+     * All nodes and variables are discarded, but the arrays are kept for reuse.
+     * All {@link ReverseGradient} instances created before the reset become invalid,
+     * except constants.
+     * </p>
+     */
+    public void reset() {
+        nodes        = 0;
+        edges        = 0;
+        nbVariables  = 0;
+        nodeStart[0] = 0;
+    }
+
+    /** Get the field associated with the tape.
+     * @return field associated with the tape
+     */
+    public ReverseGradientField getField() {
+        return field;
+    }
+
+    /** Create a new independent variable.
+     * @param value value of the variable
+     * @return new independent variable
+     */
+    public ReverseGradient variable(final double value) {
+        if (nbVariables == variables.length) {
+            variables = Arrays.copyOf(variables, 2 * variables.length);
+        }
+        final int index = startNode(0);
+        variables[nbVariables++] = index;
+        return new ReverseGradient(this, index, value);
+    }
+
+    /** Create a constant.
+     * @param value value of the constant
+     * @return new constant, which is not recorded in the tape
+     */
+    public ReverseGradient constant(final double value) {
+        return new ReverseGradient(this, CONSTANT, value);
+    }
+
+    /** Get the number of independent variables.
+     * @return number of independent variables
+     */
+    public int getVariables() {
+        return nbVariables;
+    }
+
+    /** Get the number of recorded nodes (including independent variables).
+     * @return number of recorded nodes
+     */
+    public int getSize() {
+        return nodes;
+    }
+
+    /** Get the gradient of an output with respect to all independent variables.
+     * <p>
+     * This method performs one backward sweep over the tape, up to the node of the output.
+     * </p>
+     * @param output output to differentiate (must have been computed from this tape)
+     * @return gradient with respect to independent variables, in creation order
+     */
+    public double[] gradient(final ReverseGradient output) {
+
+        final double[] gradient = new double[nbVariables];
+        final int last = output.getIndex();
+        if (last == CONSTANT) {
+            return gradient;
+        }
+
+        // backward sweep
+        ensureBuffers();
+        adjoints[last] = 1.0;
+        for (int node = last; node >= 0; --node) {
+            final double adjoint = adjoints[node];
+            if (adjoint != 0.0) {
+                for (int e = nodeStart[node]; e < nodeStart[node + 1]; ++e) {
+                    adjoints[edgeTarget[e]] += adjoint * edgePartial[e];
+                }
+            }
+        }
+
+        // extract the gradient
+        for (int i = 0; i < nbVariables; ++i) {
+            gradient[i] = adjoints[variables[i]];
+        }
+
+        Arrays.fill(adjoints, 0, last + 1, 0.0);
+        return gradient;
+
+    }
+
+    /** Get a checkpoint marking the current end of the tape.
+     * @return checkpoint to use with {@link #collapse(int, ReverseGradient)} or {@link #rewind(int)}
+     */
+    public int checkpoint() {
+        return nodes;
+    }
+
+    /** Discard all nodes recorded after a checkpoint.
+     * <p>
+     * All {@link ReverseGradient} instances computed after the checkpoint become invalid.
+     * </p>
+     * @param checkpoint checkpoint returned by {@link #checkpoint()}
+     * @exception MathIllegalArgumentException if the checkpoint is not in the tape or if
+     * independent variables have been created after it
+     */
+    public void rewind(final int checkpoint) throws MathIllegalArgumentException {
+        checkCheckpoint(checkpoint);
+        nodes = checkpoint;
+        edges = nodeStart[checkpoint];
+    }
+
+    /** Replace all the nodes recorded after a checkpoint by a single node.
+     * <p>
+     * The partial derivatives of the result with respect to the nodes recorded before the
+     * checkpoint are computed by a backward sweep over the collapsed part, then this part is
+     * discarded and replaced by one node depending directly on these older nodes. The gradient
+     * of any output depending on the returned instance is the same as if the original result
+     * had been used, but the tape is shorter. All {@link ReverseGradient} instances computed
+     * after the checkpoint, except the returned one, become invalid.
+     * </p>
+     * @param checkpoint checkpoint returned by {@link #checkpoint()}
+     * @param result result computed after the checkpoint
+     * @return instance equivalent to {@code result}, recorded as a single node
+     * @exception MathIllegalArgumentException if the checkpoint is not in the tape or if
+     * independent variables have been created after it
+     */
+    public ReverseGradient collapse(final int checkpoint, final ReverseGradient result)
+        throws MathIllegalArgumentException {
+
+        checkCheckpoint(checkpoint);
+        final int last = result.getIndex();
+        if (last < checkpoint) {
+            // the result does not depend on the collapsed part
+            rewind(checkpoint);
+            return result;
+        }
+
+        // backward sweep over the collapsed part, collecting the older nodes reached
+        ensureBuffers();
+        int[]    targets  = new int[16];
+        int      nTargets = 0;
+        adjoints[last] = 1.0;
+        for (int node = last; node >= checkpoint; --node) {
+            final double adjoint = adjoints[node];
+            if (adjoint != 0.0) {
+                for (int e = nodeStart[node]; e < nodeStart[node + 1]; ++e) {
+                    final int target = edgeTarget[e];
+                    if (target < checkpoint && !marks[target]) {
+                        marks[target] = true;
+                        if (nTargets == targets.length) {
+                            targets = Arrays.copyOf(targets, 2 * targets.length);
+                        }
+                        targets[nTargets++] = target;
+                    }
+                    adjoints[target] += adjoint * edgePartial[e];
+                }
+            }
+        }
+        Arrays.fill(adjoints, checkpoint, last + 1, 0.0);
+
+        // replace the collapsed part by a single node
+        nodes = checkpoint;
+        edges = nodeStart[checkpoint];
+        final int index = startNode(nTargets);
+        for (int i = 0; i < nTargets; ++i) {
+            final int target = targets[i];
+            addEdge(target, adjoints[target]);
+            adjoints[target] = 0.0;
+            marks[target]    = false;
+        }
+
+        return new ReverseGradient(this, index, result.getValue());
+
+    }
+
+    /** Record a node depending on one other node.
+     * @param a index of the node
+     * @param da partial derivative with respect to node a
+     * @return index of the new node ({@link #CONSTANT} if a is a constant)
+     */
+    int record(final int a, final double da) {
+        if (a == CONSTANT) {
+            return CONSTANT;
+        }
+        final int index = startNode(1);
+        addEdge(a, da);
+        return index;
+    }
+
+    /** Record a node depending on two other nodes.
+     * @param a index of the first node
+     * @param da partial derivative with respect to node a
+     * @param b index of the second node
+     * @param db partial derivative with respect to node b
+     * @return index of the new node ({@link #CONSTANT} if both a and b are constants)
+     */
+    int record(final int a, final double da, final int b, final double db) {
+        if (a == CONSTANT) {
+            return record(b, db);
+        } else if (b == CONSTANT) {
+            return record(a, da);
+        }
+        final int index = startNode(2);
+        addEdge(a, da);
+        addEdge(b, db);
+        return index;
+    }
+
+    /** Record a node depending on several other nodes.
+     * @param indices indices of the nodes
+     * @param partials partial derivatives with respect to the nodes
+     * @return index of the new node ({@link #CONSTANT} if all nodes are constants)
+     */
+    int record(final int[] indices, final double[] partials) {
+        int n = 0;
+        for (final int index : indices) {
+            if (index != CONSTANT) {
+                ++n;
+            }
+        }
+        if (n == 0) {
+            return CONSTANT;
+        }
+        final int index = startNode(n);
+        for (int i = 0; i < indices.length; ++i) {
+            if (indices[i] != CONSTANT) {
+                addEdge(indices[i], partials[i]);
+            }
+        }
+        return index;
+    }
+
+    /** Start a new node.
+     * @param nbEdges number of edges of the node
+     * @return index of the new node
+     */
+    private int startNode(final int nbEdges) {
+        if (nodes + 1 == nodeStart.length) {
+            nodeStart = Arrays.copyOf(nodeStart, 2 * nodeStart.length);
+        }
+        if (edges + nbEdges > edgeTarget.length) {
+            final int capacity = FastMath.max(2 * edgeTarget.length, edges + nbEdges);
+            edgeTarget  = Arrays.copyOf(edgeTarget,  capacity);
+            edgePartial = Arrays.copyOf(edgePartial, capacity);
+        }
+        nodeStart[nodes + 1] = edges + nbEdges;
+        return nodes++;
+    }
+
+    /** Add an edge to the last node.
+     * @param target target node
+     * @param partial partial derivative with respect to target node
+     */
+    private void addEdge(final int target, final double partial) {
+        edgeTarget[edges]  = target;
+        edgePartial[edges] = partial;
+        ++edges;
+    }
+
+    /** Ensure the sweep buffers are large enough for all nodes.
+     */
+    private void ensureBuffers() {
+        if (adjoints.length < nodes) {
+            adjoints = new double[nodeStart.length];
+            marks    = new boolean[nodeStart.length];
+        }
+    }
+
+    /** Check a checkpoint.
+     * @param checkpoint checkpoint to check
+     * @exception MathIllegalArgumentException if the checkpoint is not in the tape or if
+     * independent variables have been created after it
+     */
+    private void checkCheckpoint(final int checkpoint) throws MathIllegalArgumentException {
+        if (checkpoint < 0 || checkpoint > nodes) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                   checkpoint, 0, nodes);
+        }
+        final int minCheckpoint = nbVariables == 0 ? 0 : variables[nbVariables - 1] + 1;
+        if (checkpoint < minCheckpoint) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   checkpoint, minCheckpoint);
+        }
+    }
+
+}
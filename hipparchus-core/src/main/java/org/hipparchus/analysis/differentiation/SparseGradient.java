@@ -22,9 +22,7 @@
 package org.hipparchus.analysis.differentiation;
 
 import java.io.Serializable;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import org.hipparchus.Field;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -42,55 +40,176 @@ import org.hipparchus.util.Precision;
  * is desired. When these conditions are met, this class should be much faster than
  * {@link DerivativeStructure} and use less memory.
  * </p>
+ * <p>
+ * The derivatives are stored as sorted arrays of variables indices and partial
+ * derivatives, so binary operations are linear merges of these arrays, without
+ * boxing or hashing. The in-place operations {@link #addInPlace(SparseGradient)}
+ * and {@link #multiplyInPlace(SparseGradient)} reuse the arrays of the instance
+ * whenever the variables of the argument are already present.
+ * </p>
  *
  */
 public class SparseGradient implements Derivative1<SparseGradient>, Serializable {
 
     /** Serializable UID. */
-    private static final long serialVersionUID = 20131025L;
+    private static final long serialVersionUID = 20251017L;
+
+    /** Empty indices array for constants. */
+    private static final int[] NO_INDICES = new int[0];
+
+    /** Empty derivatives array for constants. */
+    private static final double[] NO_DERIVATIVES = new double[0];
 
     /** Value of the calculation. */
     private double value;
 
-    /** Stored derivative, each key representing a different independent variable. */
-    private final Map<Integer, Double> derivatives;
+    /** Indices of the independent variables, sorted in increasing order (only the first {@link #size} are used). */
+    private int[] indices;
+
+    /** Partial derivatives with respect to the independent variables (only the first {@link #size} are used). */
+    private double[] derivatives;
+
+    /** Number of independent variables. */
+    private int size;
 
     /** Internal constructor.
+     * <p>
+     * The arrays are used directly, not copied.
+     * </p>
      * @param value value of the function
-     * @param derivatives derivatives map, a deep copy will be performed,
-     * so the map given here will remain safe from changes in the new instance,
-     * may be null to create an empty derivatives map, i.e. a constant value
+     * @param indices indices of the independent variables, sorted in increasing order
+     * @param derivatives partial derivatives with respect to the independent variables
+     * @param size number of independent variables
      */
-    private SparseGradient(final double value, final Map<Integer, Double> derivatives) {
-        this.value = value;
-        this.derivatives = new HashMap<>();
-        if (derivatives != null) {
-            this.derivatives.putAll(derivatives);
-        }
+    private SparseGradient(final double value, final int[] indices, final double[] derivatives, final int size) {
+        this.value       = value;
+        this.indices     = indices;
+        this.derivatives = derivatives;
+        this.size        = size;
     }
 
     /** Internal constructor.
      * @param value value of the function
      * @param scale scaling factor to apply to all derivatives
-     * @param derivatives derivatives map, a deep copy will be performed,
-     * so the map given here will remain safe from changes in the new instance,
-     * may be null to create an empty derivatives map, i.e. a constant value
+     * @param source instance from which derivatives are copied, with scaling
+     */
+    private SparseGradient(final double value, final double scale, final SparseGradient source) {
+        this.value       = value;
+        this.indices     = Arrays.copyOf(source.indices, source.size);
+        this.derivatives = new double[source.size];
+        this.size        = source.size;
+        for (int i = 0; i < size; ++i) {
+            derivatives[i] = scale * source.derivatives[i];
+        }
+    }
+
+    /** Internal constructor.
+     * @param value value of the function
+     * @param source instance from which derivatives are copied
      */
-    private SparseGradient(final double value, final double scale,
-                             final Map<Integer, Double> derivatives) {
-        this.value = value;
-        this.derivatives = new HashMap<>();
-        if (derivatives != null) {
-            for (final Map.Entry<Integer, Double> entry : derivatives.entrySet()) {
-                this.derivatives.put(entry.getKey(), scale * entry.getValue());
+    private SparseGradient(final double value, final SparseGradient source) {
+        this(value, Arrays.copyOf(source.indices, source.size),
+             Arrays.copyOf(source.derivatives, source.size), source.size);
+    }
+
+    /** Merge the derivatives of two instances.
+     * <p>
+     * The derivatives of the result are ca &times; da + cb &times; db for variables present
+     * in both instances, ca &times; da or cb &times; db for variables present in only one of them.
+     * </p>
+     * @param value value of the result
+     * @param a first instance
+     * @param ca scaling factor for the derivatives of the first instance
+     * @param b second instance
+     * @param cb scaling factor for the derivatives of the second instance
+     * @return merged instance
+     */
+    private static SparseGradient merge(final double value,
+                                        final SparseGradient a, final double ca,
+                                        final SparseGradient b, final double cb) {
+        final int[]    mergedIndices     = new int[a.size + b.size];
+        final double[] mergedDerivatives = new double[a.size + b.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.indices[i] < b.indices[j])) {
+                mergedIndices[k]     = a.indices[i];
+                mergedDerivatives[k] = ca * a.derivatives[i++];
+            } else if (i == a.size || b.indices[j] < a.indices[i]) {
+                mergedIndices[k]     = b.indices[j];
+                mergedDerivatives[k] = cb * b.derivatives[j++];
+            } else {
+                mergedIndices[k]     = a.indices[i];
+                mergedDerivatives[k] = ca * a.derivatives[i++] + cb * b.derivatives[j++];
             }
+            ++k;
         }
+        return new SparseGradient(value, mergedIndices, mergedDerivatives, k);
+    }
+
+    /** Accumulate scaled derivatives of another instance into the instance.
+     * <p>
+     * The arrays of the instance are updated in place if all variables of {@code a}
+     * are already present, otherwise they are replaced by larger ones.
+     * </p>
+     * @param scale scaling factor for the derivatives of {@code a}
+     * @param a instance to accumulate (must not be the instance itself)
+     */
+    private void accumulate(final double scale, final SparseGradient a) {
+
+        // count the variables that are not already present
+        int missing = 0;
+        for (int i = 0, j = 0; j < a.size; ) {
+            if (i == size || a.indices[j] < indices[i]) {
+                ++missing;
+                ++j;
+            } else if (indices[i] < a.indices[j]) {
+                ++i;
+            } else {
+                ++i;
+                ++j;
+            }
+        }
+
+        if (missing == 0) {
+            // all variables are already present, update derivatives in place
+            for (int i = 0, j = 0; j < a.size; ++i) {
+                if (indices[i] == a.indices[j]) {
+                    derivatives[i] += scale * a.derivatives[j++];
+                }
+            }
+        } else if (size + missing <= indices.length) {
+            // merge backward within the current arrays
+            int i = size - 1;
+            int j = a.size - 1;
+            for (int k = size + missing - 1; j >= 0; --k) {
+                if (i >= 0 && indices[i] > a.indices[j]) {
+                    indices[k]     = indices[i];
+                    derivatives[k] = derivatives[i--];
+                } else if (i >= 0 && indices[i] == a.indices[j]) {
+                    indices[k]     = indices[i];
+                    derivatives[k] = derivatives[i--] + scale * a.derivatives[j--];
+                } else {
+                    indices[k]     = a.indices[j];
+                    derivatives[k] = scale * a.derivatives[j--];
+                }
+            }
+            size += missing;
+        } else {
+            // merge into larger arrays
+            final SparseGradient merged = merge(value, this, 1.0, a, scale);
+            indices     = merged.indices;
+            derivatives = merged.derivatives;
+            size        = merged.size;
+        }
+
     }
 
     /** {@inheritDoc} */
     @Override
     public int getFreeParameters() {
-        return derivatives.size();
+        return size;
     }
 
     /** {@inheritDoc} */
@@ -108,7 +227,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     /** {@inheritDoc} */
     @Override
     public SparseGradient withValue(final double v) {
-        return new SparseGradient(v, derivatives);
+        return new SparseGradient(v, this);
     }
 
     /** Factory method creating a constant.
@@ -116,7 +235,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
      * @return a new instance
      */
     public static SparseGradient createConstant(final double value) {
-        return new SparseGradient(value, Collections.emptyMap());
+        return new SparseGradient(value, NO_INDICES, NO_DERIVATIVES, 0);
     }
 
     /** Factory method creating an independent variable.
@@ -125,7 +244,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
      * @return a new instance
      */
     public static SparseGradient createVariable(final int idx, final double value) {
-        return new SparseGradient(value, Collections.singletonMap(idx, 1.0));
+        return new SparseGradient(value, new int[] { idx }, new double[] { 1.0 }, 1);
     }
 
     /**
@@ -135,14 +254,14 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
      * @return derivative with respect to a particular index variable
      */
     public double getDerivative(final int index) {
-        final Double out = derivatives.get(index);
-        return (out == null) ? 0.0 : out;
+        final int i = Arrays.binarySearch(indices, 0, size, index);
+        return (i < 0) ? 0.0 : derivatives[i];
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient getAddendum() {
-        return new SparseGradient(0, derivatives);
+        return new SparseGradient(0, this);
     }
 
     /**
@@ -157,13 +276,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     /** {@inheritDoc} */
     @Override
     public SparseGradient add(final SparseGradient a) {
-        final SparseGradient out = new SparseGradient(value + a.value, derivatives);
-        for (Map.Entry<Integer, Double> entry : a.derivatives.entrySet()) {
-            final int id = entry.getKey();
-            out.derivatives.merge(id, entry.getValue(), Double::sum);
-        }
-
-        return out;
+        return merge(value + a.value, this, 1.0, a, 1.0);
     }
 
     /**
@@ -179,44 +292,21 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
      * @param a instance to add
      */
     public void addInPlace(final SparseGradient a) {
-        value += a.value;
-        for (final Map.Entry<Integer, Double> entry : a.derivatives.entrySet()) {
-            final int id = entry.getKey();
-            derivatives.merge(id, entry.getValue(), Double::sum);
-        }
+        final SparseGradient added = (a == this) ? new SparseGradient(a.value, a) : a;
+        value += added.value;
+        accumulate(1.0, added);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient subtract(final SparseGradient a) {
-        final SparseGradient out = new SparseGradient(value - a.value, derivatives);
-        for (Map.Entry<Integer, Double> entry : a.derivatives.entrySet()) {
-            final int id = entry.getKey();
-            final Double old = out.derivatives.get(id);
-            if (old == null) {
-                out.derivatives.put(id, -entry.getValue());
-            } else {
-                out.derivatives.put(id, old - entry.getValue());
-            }
-        }
-        return out;
+        return merge(value - a.value, this, 1.0, a, -1.0);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient multiply(final SparseGradient a) {
-        final SparseGradient out =
-            new SparseGradient(value * a.value, Collections.emptyMap());
-
-        // Derivatives.
-        for (Map.Entry<Integer, Double> entry : derivatives.entrySet()) {
-            out.derivatives.put(entry.getKey(), a.value * entry.getValue());
-        }
-        for (Map.Entry<Integer, Double> entry : a.derivatives.entrySet()) {
-            final int id = entry.getKey();
-            out.derivatives.merge(id, value * entry.getValue(), Double::sum);
-        }
-        return out;
+        return merge(value * a.value, this, a.value, a, value);
     }
 
     /**
@@ -232,58 +322,63 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
      * @param a instance to multiply
      */
     public void multiplyInPlace(final SparseGradient a) {
+        final SparseGradient multiplier = (a == this) ? new SparseGradient(a.value, a) : a;
         // Derivatives.
-        derivatives.replaceAll((k, v) -> a.value * v);
-        for (Map.Entry<Integer, Double> entry : a.derivatives.entrySet()) {
-            final int id = entry.getKey();
-            derivatives.merge(id, value * entry.getValue(), Double::sum);
+        for (int i = 0; i < size; ++i) {
+            derivatives[i] *= multiplier.value;
         }
-        value *= a.value;
+        accumulate(value, multiplier);
+        value *= multiplier.value;
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient multiply(final double c) {
-        return new SparseGradient(value * c, c, derivatives);
+        return new SparseGradient(value * c, c, this);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient multiply(final int n) {
-        return new SparseGradient(value * n, n, derivatives);
+        return new SparseGradient(value * n, n, this);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient divide(final SparseGradient a) {
-        final SparseGradient out = new SparseGradient(value / a.value, Collections.emptyMap());
-
-        // Derivatives.
-        for (Map.Entry<Integer, Double> entry : derivatives.entrySet()) {
-            out.derivatives.put(entry.getKey(), entry.getValue() / a.value);
-        }
-        for (Map.Entry<Integer, Double> entry : a.derivatives.entrySet()) {
-            final int id = entry.getKey();
-            final Double old = out.derivatives.get(id);
-            if (old == null) {
-                out.derivatives.put(id, -out.value / a.value * entry.getValue());
+        final double   q                 = value / a.value;
+        final double   qOverA            = q / a.value;
+        final int[]    mergedIndices     = new int[size + a.size];
+        final double[] mergedDerivatives = new double[size + a.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size || j < a.size) {
+            if (j == a.size || (i < size && indices[i] < a.indices[j])) {
+                mergedIndices[k]     = indices[i];
+                mergedDerivatives[k] = derivatives[i++] / a.value;
+            } else if (i == size || a.indices[j] < indices[i]) {
+                mergedIndices[k]     = a.indices[j];
+                mergedDerivatives[k] = -q / a.value * a.derivatives[j++];
             } else {
-                out.derivatives.put(id, old - out.value / a.value * entry.getValue());
+                mergedIndices[k]     = indices[i];
+                mergedDerivatives[k] = derivatives[i++] / a.value - qOverA * a.derivatives[j++];
             }
+            ++k;
         }
-        return out;
+        return new SparseGradient(q, mergedIndices, mergedDerivatives, k);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient divide(final double c) {
-        return new SparseGradient(value / c, 1.0 / c, derivatives);
+        return new SparseGradient(value / c, 1.0 / c, this);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient negate() {
-        return new SparseGradient(-value, -1.0, derivatives);
+        return new SparseGradient(-value, -1.0, this);
     }
 
     /** {@inheritDoc} */
@@ -360,7 +455,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     /** {@inheritDoc} */
     @Override
     public SparseGradient remainder(final double a) {
-        return new SparseGradient(FastMath.IEEEremainder(value, a), derivatives);
+        return new SparseGradient(FastMath.IEEEremainder(value, a), this);
     }
 
     /** {@inheritDoc} */
@@ -411,11 +506,11 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     /** {@inheritDoc} */
     @Override
     public SparseGradient scalb(final int n) {
-        final SparseGradient out = new SparseGradient(FastMath.scalb(value, n), Collections.emptyMap());
-        for (Map.Entry<Integer, Double> entry : derivatives.entrySet()) {
-            out.derivatives.put(entry.getKey(), FastMath.scalb(entry.getValue(), n));
+        final double[] scaled = new double[size];
+        for (int i = 0; i < size; ++i) {
+            scaled[i] = FastMath.scalb(derivatives[i], n);
         }
-        return out;
+        return new SparseGradient(FastMath.scalb(value, n), Arrays.copyOf(indices, size), scaled, size);
     }
 
     /** {@inheritDoc} */
@@ -478,13 +573,13 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     @Override
     public SparseGradient sqrt() {
         final double sqrt = FastMath.sqrt(value);
-        return new SparseGradient(sqrt, 0.5 / sqrt, derivatives);
+        return new SparseGradient(sqrt, 0.5 / sqrt, this);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient pow(final double p) {
-        return new SparseGradient(FastMath.pow(value,  p), p * FastMath.pow(value,  p - 1), derivatives);
+        return new SparseGradient(FastMath.pow(value,  p), p * FastMath.pow(value,  p - 1), this);
     }
 
     /** {@inheritDoc} */
@@ -494,7 +589,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
             return getField().getOne();
         } else {
             final double valueNm1 = FastMath.pow(value,  n - 1);
-            return new SparseGradient(value * valueNm1, n * valueNm1, derivatives);
+            return new SparseGradient(value * valueNm1, n * valueNm1, this);
         }
     }
 
@@ -514,7 +609,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
             }
         } else {
             final double ax = FastMath.pow(a, x.value);
-            return new SparseGradient(ax, ax * FastMath.log(a), x.derivatives);
+            return new SparseGradient(ax, ax * FastMath.log(a), x);
         }
     }
 
@@ -558,13 +653,13 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     /** {@inheritDoc} */
     @Override
     public SparseGradient toDegrees() {
-        return new SparseGradient(FastMath.toDegrees(value), FastMath.toDegrees(1.0), derivatives);
+        return new SparseGradient(FastMath.toDegrees(value), FastMath.toDegrees(1.0), this);
     }
 
     /** {@inheritDoc} */
     @Override
     public SparseGradient toRadians() {
-        return new SparseGradient(FastMath.toRadians(value), FastMath.toRadians(1.0), derivatives);
+        return new SparseGradient(FastMath.toRadians(value), FastMath.toRadians(1.0), this);
     }
 
     /** Evaluate Taylor expansion of a sparse gradient.
@@ -573,8 +668,10 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
      */
     public double taylor(final double ... delta) {
         double y = value;
-        for (int i = 0; i < delta.length; ++i) {
-            y += delta[i] * getDerivative(i);
+        for (int i = 0; i < size && indices[i] < delta.length; ++i) {
+            if (indices[i] >= 0) {
+                y += delta[indices[i]] * derivatives[i];
+            }
         }
         return y;
     }
@@ -596,7 +693,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     /** {@inheritDoc} */
     @Override
     public SparseGradient compose(final double f0, final double f1) {
-        return new SparseGradient(f0, f1, derivatives);
+        return new SparseGradient(f0, f1, this);
     }
 
     /** {@inheritDoc} */
@@ -756,7 +853,7 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
     /** {@inheritDoc} */
     @Override
     public SparseGradient getPi() {
-        return new SparseGradient(FastMath.PI, null);
+        return createConstant(FastMath.PI);
     }
 
     /**
@@ -780,14 +877,14 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
             if (!Precision.equals(value, rhs.value, 1)) {
                 return false;
             }
-            if (derivatives.size() != rhs.derivatives.size()) {
+            if (size != rhs.size) {
                 return false;
             }
-            for (final Map.Entry<Integer, Double> entry : derivatives.entrySet()) {
-                if (!rhs.derivatives.containsKey(entry.getKey())) {
+            for (int i = 0; i < size; ++i) {
+                if (indices[i] != rhs.indices[i]) {
                     return false;
                 }
-                if (!Precision.equals(entry.getValue(), rhs.derivatives.get(entry.getKey()), 1)) {
+                if (!Precision.equals(derivatives[i], rhs.derivatives[i], 1)) {
                     return false;
                 }
             }
@@ -804,7 +901,12 @@ public class SparseGradient implements Derivative1<SparseGradient>, Serializable
      */
     @Override
     public int hashCode() {
-        return 743 + 809 * MathUtils.hash(value) + 167 * derivatives.hashCode();
+        // same hash code as a map from indices to derivatives
+        int derivativesHash = 0;
+        for (int i = 0; i < size; ++i) {
+            derivativesHash += Integer.hashCode(indices[i]) ^ Double.hashCode(derivatives[i]);
+        }
+        return 743 + 809 * MathUtils.hash(value) + 167 * derivativesHash;
     }
 
 }
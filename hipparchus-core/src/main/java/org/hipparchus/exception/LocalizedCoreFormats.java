@@ -589,7 +589,22 @@ public enum LocalizedCoreFormats implements Localizable {
     RIGHT_EDGE_GREATER_THAN_LEFT_EDGE("left edge {0} should be smaller than right edge {1}"),
 
     /** INPUT_EXPECTED_BETWEEN_ZERO_AND_ONE_INCLUDED. */
-    INPUT_EXPECTED_BETWEEN_ZERO_AND_ONE_INCLUDED("input {0} is expected to be between [0:1]");
+    INPUT_EXPECTED_BETWEEN_ZERO_AND_ONE_INCLUDED("input {0} is expected to be between [0:1]"),
+
+    /** DESTINATION_ALIASES_OPERAND. */
+    DESTINATION_ALIASES_OPERAND("destination cannot share storage with an operand"),
+
+    /** SPARSITY_PATTERN_MISMATCH. */
+    SPARSITY_PATTERN_MISMATCH("sparsity pattern of the matrix does not match the analyzed pattern"),
+
+    /** DUPLICATED_PERMUTATION_INDEX. */
+    DUPLICATED_PERMUTATION_INDEX("index {0} appears several times in permutation"),
+
+    /** ITERATIVE_SOLVER_BREAKDOWN. */
+    ITERATIVE_SOLVER_BREAKDOWN("breakdown of iterative solver at iteration {0}"),
+
+    /** NON_HERMITIAN_MATRIX. */
+    NON_HERMITIAN_MATRIX("non Hermitian matrix: the difference between entry at ({0},{1}) and conjugate of entry at ({1},{0}) is larger than {2}");
 
     /** Source English format. */
     private final String sourceFormat;
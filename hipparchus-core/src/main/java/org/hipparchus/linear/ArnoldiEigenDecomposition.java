@@ -0,0 +1,509 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * Calculates a few eigenpairs of a large general linear operator.
+ * <p>
+ * This class uses the implicitly restarted Arnoldi method, as in ARPACK
+ * non-symmetric driver. The operator is only accessed through {@link
+ * RealLinearOperator#operate(RealVector)}, and memory is O(n m) where m is the
+ * dimension of the Krylov subspace, typically a small multiple of the number of
+ * requested eigenpairs. Complex conjugate shifts are applied in pairs, so all
+ * computations are performed in real arithmetic.
+ * </p>
+ * <p>
+ * Eigenvalues close to a shift &sigma; converge slowly when requested directly.
+ * The shift-invert mode iterates on (A - &sigma; I)<sup>-1</sup> instead, whose
+ * largest eigenvalues &theta; correspond to the eigenvalues
+ * &lambda; = &sigma; + 1 / &theta; of A closest to &sigma;. It needs a solver
+ * for A - &sigma; I, for example a {@link LUDecomposition} or a {@link GMRES}
+ * iterative solver wrapped in a {@link RealLinearOperator}.
+ * </p>
+ * <p>
+ * Convergence is declared when the Ritz estimate of the residual norm
+ * ||Op x - &theta; x|| of all requested eigenpairs is below
+ * tolerance &times; max(&epsilon;<sup>2/3</sup>, |&theta;|), Op being the operator
+ * iterated upon (i.e. (A - &sigma; I)<sup>-1</sup> in shift-invert mode).
+ * The eigenvectors y of the Hessenberg matrix H are computed by inverse iteration
+ * and the Ritz values are refined by Rayleigh quotients, so the estimate
+ * (||H y - &theta; y||<sup>2</sup> + (&beta; |y<sub>m</sub>|)<sup>2</sup>)<sup>1/2</sup>
+ * accounts for Ritz pairs that are not accurate eigenpairs of H, as may happen when
+ * H is close to deflation after restarts.
+ * </p>
+ * @see LanczosEigenDecomposition
+ * @see EigenDecompositionNonSymmetric
+ * @since 4.1
+ */
+public class ArnoldiEigenDecomposition {
+
+    /** Default relative tolerance. */
+    public static final double DEFAULT_TOLERANCE = 1.0e-10;
+
+    /** Default maximum number of restarts. */
+    public static final int DEFAULT_MAX_RESTARTS = 300;
+
+    /** Eigenvalues. */
+    private final Complex[] eigenvalues;
+
+    /** Eigenvectors. */
+    private final List<FieldVector<Complex>> eigenvectors;
+
+    /** Residual estimates. */
+    private final double[] residuals;
+
+    /** Number of restarts performed. */
+    private final int restarts;
+
+    /** Number of operator applications. */
+    private final int operations;
+
+    /**
+     * Calculates eigenpairs of an operator, with default settings.
+     * <p>
+     * The Krylov subspace dimension is set to min(n, max(2 k + 1, 20)), the
+     * tolerance to {@link #DEFAULT_TOLERANCE} and the maximum number of
+     * restarts to {@link #DEFAULT_MAX_RESTARTS}.
+     * </p>
+     * @param operator operator to decompose
+     * @param nev number k of eigenpairs to compute
+     * @param selection part of the spectrum to compute
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the operator is not square
+     * or nev is not between 1 and n - 2
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public ArnoldiEigenDecomposition(final RealLinearOperator operator, final int nev,
+                                     final EigenvalueSelection selection, final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(operator, nev, selection, LanczosEigenDecomposition.defaultSubspace(operator, nev),
+             DEFAULT_TOLERANCE, DEFAULT_MAX_RESTARTS, random);
+    }
+
+    /**
+     * Calculates eigenpairs of an operator.
+     * @param operator operator to decompose
+     * @param nev number k of eigenpairs to compute
+     * @param selection part of the spectrum to compute
+     * @param subspace dimension m of the Krylov subspace (between k + 2 and n)
+     * @param tolerance relative tolerance on residuals
+     * @param maxRestarts maximum number of restarts
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the operator is not square,
+     * nev is not between 1 and n - 2 or subspace is not between nev + 2 and n
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public ArnoldiEigenDecomposition(final RealLinearOperator operator, final int nev,
+                                     final EigenvalueSelection selection, final int subspace,
+                                     final double tolerance, final int maxRestarts,
+                                     final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(new ArnoldiProcess(operator, checkSubspace(operator, nev, subspace), false, random),
+             nev, selection, tolerance, maxRestarts, Double.NaN);
+    }
+
+    /**
+     * Calculates eigenpairs of an operator closest to a shift, with default settings.
+     * <p>
+     * The Krylov subspace dimension is set to min(n, max(2 k + 1, 20)), the
+     * tolerance to {@link #DEFAULT_TOLERANCE} and the maximum number of
+     * restarts to {@link #DEFAULT_MAX_RESTARTS}.
+     * </p>
+     * @param shiftedSolver solver for A - &sigma; I
+     * @param sigma shift &sigma;
+     * @param nev number k of eigenpairs to compute
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the solver is not square
+     * or nev is not between 1 and n - 2
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public ArnoldiEigenDecomposition(final DecompositionSolver shiftedSolver, final double sigma,
+                                     final int nev, final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(new LanczosEigenDecomposition.SolverOperator(shiftedSolver), sigma, nev,
+             LanczosEigenDecomposition.defaultSubspace(new LanczosEigenDecomposition.SolverOperator(shiftedSolver), nev),
+             DEFAULT_TOLERANCE, DEFAULT_MAX_RESTARTS, random);
+    }
+
+    /**
+     * Calculates eigenpairs of an operator closest to a shift.
+     * @param shiftedInverse operator applying (A - &sigma; I)<sup>-1</sup>,
+     * typically backed by a direct or iterative solver
+     * @param sigma shift &sigma;
+     * @param nev number k of eigenpairs to compute
+     * @param subspace dimension m of the Krylov subspace (between k + 2 and n)
+     * @param tolerance relative tolerance on residuals
+     * @param maxRestarts maximum number of restarts
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the operator is not square,
+     * nev is not between 1 and n - 2 or subspace is not between nev + 2 and n
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public ArnoldiEigenDecomposition(final RealLinearOperator shiftedInverse, final double sigma,
+                                     final int nev, final int subspace,
+                                     final double tolerance, final int maxRestarts,
+                                     final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(new ArnoldiProcess(shiftedInverse, checkSubspace(shiftedInverse, nev, subspace), false, random),
+             nev, EigenvalueSelection.LARGEST_MAGNITUDE, tolerance, maxRestarts, sigma);
+    }
+
+    /**
+     * Calculates eigenpairs.
+     * @param process Arnoldi process
+     * @param nev number k of eigenpairs to compute
+     * @param selection part of the spectrum to compute
+     * @param tolerance relative tolerance on residuals
+     * @param maxRestarts maximum number of restarts
+     * @param sigma shift (NaN if not in shift-invert mode)
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    private ArnoldiEigenDecomposition(final ArnoldiProcess process, final int nev,
+                                      final EigenvalueSelection selection,
+                                      final double tolerance, final int maxRestarts,
+                                      final double sigma)
+        throws MathIllegalStateException {
+
+        final int    m     = process.getHessenbergRef().length;
+        final double eps23 = FastMath.pow(Precision.EPSILON, 2.0 / 3.0);
+        process.extend(0);
+
+        int count = 0;
+        while (true) {
+
+            // Ritz values from the Hessenberg matrix
+            final EigenDecompositionNonSymmetric ed =
+                new EigenDecompositionNonSymmetric(new Array2DRowRealMatrix(process.getHessenbergRef()));
+            final Complex[] theta = ed.getEigenvalues();
+            final Integer[] order = new Integer[m];
+            for (int i = 0; i < m; ++i) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (i, j) -> {
+                final int c = selection.compare(theta[i].getReal(), theta[i].getImaginary(),
+                                                theta[j].getReal(), theta[j].getImaginary());
+                if (c != 0) {
+                    return c;
+                }
+                // keep complex conjugate pairs together, positive imaginary part first
+                final int d = Double.compare(FastMath.abs(theta[j].getImaginary()),
+                                             FastMath.abs(theta[i].getImaginary()));
+                return (d != 0) ? d : Double.compare(theta[j].getImaginary(), theta[i].getImaginary());
+            });
+
+            // check convergence
+            final double[][] h    = process.getHessenbergRef();
+            final double     beta = process.getResidualNorm();
+            final List<RitzPair> pairs = new ArrayList<>(nev);
+            int converged = 0;
+            for (int i = 0; i < nev; ++i) {
+                final RitzPair pair = new RitzPair(h, theta[order[i]], beta);
+                pairs.add(pair);
+                if (pair.estimate <= tolerance * FastMath.max(eps23, pair.theta.norm())) {
+                    ++converged;
+                }
+            }
+
+            if (converged == nev) {
+                eigenvalues  = new Complex[nev];
+                eigenvectors = new ArrayList<>(nev);
+                residuals    = new double[nev];
+                for (int i = 0; i < nev; ++i) {
+                    final RitzPair pair = pairs.get(i);
+                    eigenvalues[i]  = Double.isNaN(sigma) ? pair.theta : pair.theta.reciprocal().add(sigma);
+                    eigenvectors.add(ritzVector(process, pair.y));
+                    residuals[i]    = pair.estimate;
+                }
+                restarts   = count;
+                operations = process.getOperations();
+                return;
+            }
+
+            if (count++ >= maxRestarts) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, maxRestarts);
+            }
+
+            // keep some converged vectors in addition to the wanted ones to avoid stagnation,
+            // without splitting complex conjugate pairs between wanted and unwanted sets
+            int k = nev + FastMath.min(converged, (m - nev) / 2);
+            if (isConjugatePair(theta[order[k - 1]], theta[order[k]])) {
+                k = (k + 1 < m) ? k + 1 : k - 1;
+            }
+
+            // apply unwanted Ritz values as exact shifts, then compress
+            final double[][] q = MatrixUtils.createRealIdentityMatrix(m).getData();
+            for (int i = k; i < m; ++i) {
+                final Complex mu = theta[order[i]];
+                if (mu.getImaginary() == 0) {
+                    process.applyShift(mu.getReal(), q);
+                } else if (mu.getImaginary() > 0) {
+                    // the conjugate shift is applied simultaneously
+                    process.applyShifts(mu.getReal(), mu.getImaginary(), q);
+                }
+            }
+            process.compress(q, k);
+            process.extend(k);
+
+        }
+
+    }
+
+    /** Check if two complex numbers form a conjugate pair.
+     * @param z1 first complex number
+     * @param z2 second complex number
+     * @return true if z1 and z2 are complex conjugate with non-zero imaginary parts
+     */
+    private static boolean isConjugatePair(final Complex z1, final Complex z2) {
+        return z1.getImaginary() != 0 &&
+               z1.getReal() == z2.getReal() && z1.getImaginary() == -z2.getImaginary();
+    }
+
+    /** Build a Ritz vector.
+     * @param process Arnoldi process
+     * @param y eigenvector of the Hessenberg matrix
+     * @return Ritz vector
+     */
+    private static FieldVector<Complex> ritzVector(final ArnoldiProcess process, final Complex[] y) {
+        final int m = y.length;
+        final double[] re = new double[m];
+        final double[] im = new double[m];
+        for (int l = 0; l < m; ++l) {
+            re[l] = y[l].getReal();
+            im[l] = y[l].getImaginary();
+        }
+        final double[] xRe = process.combine(re);
+        final double[] xIm = process.combine(im);
+        final Complex[] x = new Complex[xRe.length];
+        for (int l = 0; l < x.length; ++l) {
+            x[l] = new Complex(xRe[l], xIm[l]);
+        }
+        return new ArrayFieldVector<>(x, false);
+    }
+
+    /** Ritz pair of the Hessenberg matrix. */
+    private static class RitzPair {
+
+        /** Number of inverse iteration steps. */
+        private static final int INVERSE_ITERATIONS = 3;
+
+        /** Ritz value, refined by a Rayleigh quotient. */
+        private final Complex theta;
+
+        /** Normalized eigenvector of the Hessenberg matrix. */
+        private final Complex[] y;
+
+        /** Estimate of the residual norm of the Ritz pair. */
+        private final double estimate;
+
+        /** Compute a Ritz pair by inverse iteration on the Hessenberg matrix.
+         * <p>
+         * H - &theta; I is factored by Gaussian elimination with partial pivoting
+         * between adjacent rows, which preserves the Hessenberg structure, tiny
+         * pivots being replaced by &epsilon; ||H|| so the singular system can be solved.
+         * </p>
+         * @param h Hessenberg matrix
+         * @param approximate approximate eigenvalue of h
+         * @param beta norm of the Arnoldi residual vector
+         */
+        RitzPair(final double[][] h, final Complex approximate, final double beta) {
+
+            final int m = h.length;
+            double hNorm = 0;
+            for (final double[] hI : h) {
+                double sum = 0;
+                for (final double hIJ : hI) {
+                    sum += FastMath.abs(hIJ);
+                }
+                hNorm = FastMath.max(hNorm, sum);
+            }
+            final double small = Precision.EPSILON * FastMath.max(hNorm, Precision.SAFE_MIN);
+
+            // factor H - theta I = P L U
+            final Complex[][] u = new Complex[m][m];
+            for (int i = 0; i < m; ++i) {
+                for (int j = 0; j < m; ++j) {
+                    u[i][j] = (j >= i - 1) ? new Complex(h[i][j]) : Complex.ZERO;
+                }
+                u[i][i] = u[i][i].subtract(approximate);
+            }
+            final boolean[] swap = new boolean[m];
+            final Complex[] l    = new Complex[m];
+            for (int k = 0; k < m - 1; ++k) {
+                if (u[k + 1][k].norm() > u[k][k].norm()) {
+                    final Complex[] tmp = u[k];
+                    u[k]     = u[k + 1];
+                    u[k + 1] = tmp;
+                    swap[k]  = true;
+                }
+                if (u[k][k].norm() < small) {
+                    u[k][k] = new Complex(small);
+                }
+                l[k] = u[k + 1][k].divide(u[k][k]);
+                for (int j = k + 1; j < m; ++j) {
+                    u[k + 1][j] = u[k + 1][j].subtract(l[k].multiply(u[k][j]));
+                }
+            }
+            if (u[m - 1][m - 1].norm() < small) {
+                u[m - 1][m - 1] = new Complex(small);
+            }
+
+            // inverse iteration
+            Complex[] x = new Complex[m];
+            Arrays.fill(x, Complex.ONE);
+            for (int iteration = 0; iteration < INVERSE_ITERATIONS; ++iteration) {
+                for (int k = 0; k < m - 1; ++k) {
+                    if (swap[k]) {
+                        final Complex tmp = x[k];
+                        x[k]     = x[k + 1];
+                        x[k + 1] = tmp;
+                    }
+                    x[k + 1] = x[k + 1].subtract(l[k].multiply(x[k]));
+                }
+                for (int i = m - 1; i >= 0; --i) {
+                    Complex sum = x[i];
+                    for (int j = i + 1; j < m; ++j) {
+                        sum = sum.subtract(u[i][j].multiply(x[j]));
+                    }
+                    x[i] = sum.divide(u[i][i]);
+                }
+                x = normalize(x);
+            }
+            y = x;
+
+            // Rayleigh quotient and residual within the Krylov subspace
+            final Complex[] hy = new Complex[m];
+            Complex rq = Complex.ZERO;
+            for (int i = 0; i < m; ++i) {
+                Complex sum = Complex.ZERO;
+                for (int j = FastMath.max(0, i - 1); j < m; ++j) {
+                    sum = sum.add(y[j].multiply(h[i][j]));
+                }
+                hy[i] = sum;
+                rq    = rq.add(y[i].conjugate().multiply(sum));
+            }
+            theta = rq;
+            double r2 = 0;
+            for (int i = 0; i < m; ++i) {
+                final double n = hy[i].subtract(theta.multiply(y[i])).norm();
+                r2 += n * n;
+            }
+            estimate = FastMath.hypot(FastMath.sqrt(r2), beta * y[m - 1].norm());
+
+        }
+
+        /** Normalize a complex vector.
+         * @param x vector to normalize
+         * @return normalized vector
+         */
+        private static Complex[] normalize(final Complex[] x) {
+            double scale = 0;
+            for (final Complex xI : x) {
+                scale = FastMath.max(scale, xI.norm());
+            }
+            double norm2 = 0;
+            for (int i = 0; i < x.length; ++i) {
+                x[i] = x[i].divide(scale);
+                norm2 += x[i].getReal() * x[i].getReal() + x[i].getImaginary() * x[i].getImaginary();
+            }
+            final double inv = 1.0 / FastMath.sqrt(norm2);
+            for (int i = 0; i < x.length; ++i) {
+                x[i] = x[i].multiply(inv);
+            }
+            return x;
+        }
+
+    }
+
+    /** Check Krylov subspace dimension.
+     * @param operator operator
+     * @param nev number of requested eigenpairs
+     * @param subspace Krylov subspace dimension
+     * @return subspace
+     * @exception MathIllegalArgumentException if nev is not between 1 and n - 2
+     * or subspace is not between nev + 2 and n
+     */
+    private static int checkSubspace(final RealLinearOperator operator, final int nev, final int subspace)
+        throws MathIllegalArgumentException {
+        final int n = operator.getColumnDimension();
+        if (nev < 1 || nev >= n - 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, nev, 1, n - 2);
+        }
+        if (subspace <= nev + 1 || subspace > n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, subspace, nev + 2, n);
+        }
+        return subspace;
+    }
+
+    /** Get the eigenvalues.
+     * @return eigenvalues, in the order of the requested selection
+     */
+    public Complex[] getEigenvalues() {
+        return eigenvalues.clone();
+    }
+
+    /** Get an eigenvalue.
+     * @param i index of the eigenvalue (counting from 0)
+     * @return eigenvalue i
+     */
+    public Complex getEigenvalue(final int i) {
+        return eigenvalues[i];
+    }
+
+    /** Get an eigenvector.
+     * @param i index of the eigenvector (counting from 0)
+     * @return normalized eigenvector i
+     */
+    public FieldVector<Complex> getEigenvector(final int i) {
+        return eigenvectors.get(i).copy();
+    }
+
+    /** Get the residual estimate of an eigenpair.
+     * @param i index of the eigenpair (counting from 0)
+     * @return Ritz estimate of ||Op x - &theta; x|| for eigenpair i
+     */
+    public double getResidualEstimate(final int i) {
+        return residuals[i];
+    }
+
+    /** Get the number of restarts performed.
+     * @return number of restarts performed
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /** Get the number of operator applications.
+     * @return number of operator applications
+     */
+    public int getOperations() {
+        return operations;
+    }
+
+}
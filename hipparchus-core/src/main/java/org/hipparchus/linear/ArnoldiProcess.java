@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * Implicitly restarted Arnoldi process.
+ * <p>
+ * This class maintains an Arnoldi factorization A V<sub>m</sub> = V<sub>m</sub> H<sub>m</sub>
+ * + f e<sub>m</sub><sup>T</sup> of a linear operator, with V<sub>m</sub> a n &times; m matrix
+ * with orthonormal columns, H<sub>m</sub> a m &times; m upper Hessenberg matrix and f a
+ * residual vector orthogonal to V<sub>m</sub>, as described by <a href="#SORE1992">Sorensen
+ * (1992)</a>. The factorization can be compressed to a smaller dimension k after
+ * applying implicit shifts, and then extended again to dimension m, so only
+ * O(n m) memory is needed. New basis vectors are orthogonalized twice with classical
+ * Gram-Schmidt, which is sufficient to keep V<sub>m</sub> orthonormal to working accuracy.
+ * </p>
+ * <p>
+ * When the operator is symmetric, H<sub>m</sub> is forced to symmetric tridiagonal
+ * shape, so the process reduces to a fully reorthogonalized Lanczos process.
+ * </p>
+ * <p>
+ * This class is intended for internal use by the library and is not public.
+ * </p>
+ * <p><strong>References</strong></p>
+ * <dl>
+ * <dt><a id="SORE1992">Sorensen (1992)</a></dt>
+ * <dd>D. C. Sorensen, <em>Implicit Application of Polynomial Filters in a k-Step
+ * Arnoldi Method</em>, SIAM Journal on Matrix Analysis and Applications 13(1):
+ * 357-385, 1992</dd>
+ * </dl>
+ * @since 4.1
+ */
+class ArnoldiProcess {
+
+    /** Operator. */
+    private final RealLinearOperator operator;
+
+    /** Dimension of the operator. */
+    private final int n;
+
+    /** Dimension of the full factorization. */
+    private final int m;
+
+    /** Indicator for symmetric operators. */
+    private final boolean symmetric;
+
+    /** Generator for start and restart vectors. */
+    private final RandomGenerator random;
+
+    /** Basis vectors (one per row). */
+    private final double[][] v;
+
+    /** Hessenberg matrix. */
+    private double[][] h;
+
+    /** Normalized residual. */
+    private double[] f;
+
+    /** Norm of the residual. */
+    private double beta;
+
+    /** Number of operator applications. */
+    private int operations;
+
+    /** Simple constructor.
+     * @param operator operator (must be square)
+     * @param m dimension of the full factorization
+     * @param symmetric if true, the operator is assumed to be symmetric
+     * @param random generator for start and restart vectors
+     * @exception MathIllegalArgumentException if the operator is not square
+     */
+    ArnoldiProcess(final RealLinearOperator operator, final int m,
+                   final boolean symmetric, final RandomGenerator random)
+        throws MathIllegalArgumentException {
+        if (operator.getRowDimension() != operator.getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_OPERATOR,
+                                                   operator.getRowDimension(), operator.getColumnDimension());
+        }
+        this.operator  = operator;
+        this.n         = operator.getColumnDimension();
+        this.m         = m;
+        this.symmetric = symmetric;
+        this.random    = random;
+        this.v         = new double[m][];
+        this.h         = new double[m][m];
+        this.operations = 0;
+        setResidual(new double[n], 0, 0.0);
+        this.v[0] = f;
+    }
+
+    /** Extend the factorization up to dimension m.
+     * @param from current dimension of the factorization (between 1 and m)
+     */
+    void extend(final int from) {
+        for (int j = from; j < m; ++j) {
+
+            if (j > 0) {
+                v[j]        = f;
+                h[j][j - 1] = beta;
+            }
+
+            final double[] w = operator.operate(new ArrayRealVector(v[j], false)).toArray();
+            ++operations;
+            final double reference = norm(w);
+
+            // two passes of classical Gram-Schmidt
+            for (int pass = 0; pass < 2; ++pass) {
+                for (int i = 0; i <= j; ++i) {
+                    final double[] vI = v[i];
+                    double dot = 0;
+                    for (int l = 0; l < n; ++l) {
+                        dot += vI[l] * w[l];
+                    }
+                    for (int l = 0; l < n; ++l) {
+                        w[l] -= dot * vI[l];
+                    }
+                    h[i][j] += dot;
+                }
+            }
+
+            if (symmetric) {
+                // enforce symmetric tridiagonal shape
+                for (int i = 0; i < j - 1; ++i) {
+                    h[i][j] = 0;
+                }
+                if (j > 0) {
+                    h[j - 1][j] = h[j][j - 1];
+                }
+            }
+
+            setResidual(w, j + 1, reference);
+
+        }
+    }
+
+    /** Apply one real shift to the factorization.
+     * @param mu shift
+     * @param q accumulated orthogonal transform, updated on return
+     */
+    void applyShift(final double mu, final double[][] q) {
+        final double[][] shifted = new double[m][];
+        for (int i = 0; i < m; ++i) {
+            shifted[i] = h[i].clone();
+            shifted[i][i] -= mu;
+        }
+        applyTransform(new QRDecomposition(new Array2DRowRealMatrix(shifted, false)).getQ().getData(), q);
+    }
+
+    /** Apply a pair of complex conjugate shifts to the factorization, in real arithmetic.
+     * @param re real part of the shifts
+     * @param im imaginary part of the shifts
+     * @param q accumulated orthogonal transform, updated on return
+     */
+    void applyShifts(final double re, final double im, final double[][] q) {
+        // (H - mu I) (H - conj(mu) I) = H^2 - 2 Re(mu) H + |mu|^2 I is real
+        final double[][] product = new double[m][m];
+        for (int i = 0; i < m; ++i) {
+            for (int k = FastMath.max(0, i - 1); k < m; ++k) {
+                final double hIK = h[i][k];
+                for (int j = 0; j < m; ++j) {
+                    product[i][j] += hIK * h[k][j];
+                }
+            }
+            for (int j = 0; j < m; ++j) {
+                product[i][j] -= 2 * re * h[i][j];
+            }
+            product[i][i] += re * re + im * im;
+        }
+        applyTransform(new QRDecomposition(new Array2DRowRealMatrix(product, false)).getQ().getData(), q);
+    }
+
+    /** Apply an orthogonal similarity transform to the Hessenberg matrix.
+     * @param qs orthogonal transform
+     * @param q accumulated orthogonal transform, updated on return
+     */
+    private void applyTransform(final double[][] qs, final double[][] q) {
+
+        final RealMatrix qsM = new Array2DRowRealMatrix(qs, false);
+        h = qsM.transposeMultiply(new Array2DRowRealMatrix(h, false)).multiply(qsM).getData();
+
+        // remove rounding errors outside of the expected shape
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j < i - 1; ++j) {
+                h[i][j] = 0;
+            }
+            if (symmetric) {
+                for (int j = i + 2; j < m; ++j) {
+                    h[i][j] = 0;
+                }
+                if (i > 0) {
+                    final double mean = 0.5 * (h[i][i - 1] + h[i - 1][i]);
+                    h[i][i - 1] = mean;
+                    h[i - 1][i] = mean;
+                }
+            }
+        }
+
+        final double[][] updated = new Array2DRowRealMatrix(q, false).multiply(qsM).getData();
+        for (int i = 0; i < m; ++i) {
+            System.arraycopy(updated[i], 0, q[i], 0, m);
+        }
+
+    }
+
+    /** Compress the factorization to dimension k after shifts application.
+     * @param q accumulated orthogonal transform
+     * @param k new dimension of the factorization (between 1 and m - 1)
+     */
+    void compress(final double[][] q, final int k) {
+
+        // new basis is V Q(:, 0:k-1), and V Q(:, k) is needed for the new residual
+        final double[][] compressed = new double[k + 1][n];
+        for (int j = 0; j < m; ++j) {
+            final double[] vJ = v[j];
+            for (int i = 0; i <= k; ++i) {
+                final double qJI = q[j][i];
+                if (qJI != 0) {
+                    final double[] cI = compressed[i];
+                    for (int l = 0; l < n; ++l) {
+                        cI[l] += qJI * vJ[l];
+                    }
+                }
+            }
+        }
+
+        // new residual
+        final double[] residual = compressed[k];
+        final double   a        = h[k][k - 1];
+        final double   b        = beta * q[m - 1][k - 1];
+        for (int l = 0; l < n; ++l) {
+            residual[l] = a * residual[l] + b * f[l];
+        }
+
+        for (int i = 0; i < m; ++i) {
+            v[i] = (i < k) ? compressed[i] : null;
+            for (int j = 0; j < m; ++j) {
+                if (i >= k || j >= k) {
+                    h[i][j] = 0;
+                }
+            }
+        }
+        setResidual(residual, k, FastMath.abs(a) + FastMath.abs(b));
+
+    }
+
+    /** Normalize a residual vector, replacing it with a random vector in case of invariant subspace.
+     * @param w residual vector, orthogonal to the first basis vectors (will be overwritten)
+     * @param count number of basis vectors
+     * @param reference reference norm used to detect cancellation
+     */
+    private void setResidual(final double[] w, final int count, final double reference) {
+        beta = norm(w);
+        if (beta > Precision.EPSILON * reference) {
+            f = w;
+        } else {
+            // invariant subspace found, restart with a random orthogonal direction
+            beta = 0;
+            f = new double[n];
+            for (int attempt = 0; attempt < 3; ++attempt) {
+                for (int l = 0; l < n; ++l) {
+                    f[l] = random.nextGaussian();
+                }
+                for (int pass = 0; pass < 2; ++pass) {
+                    for (int i = 0; i < count; ++i) {
+                        final double[] vI = v[i];
+                        double dot = 0;
+                        for (int l = 0; l < n; ++l) {
+                            dot += vI[l] * f[l];
+                        }
+                        for (int l = 0; l < n; ++l) {
+                            f[l] -= dot * vI[l];
+                        }
+                    }
+                }
+                final double fNorm = norm(f);
+                if (fNorm > 0) {
+                    for (int l = 0; l < n; ++l) {
+                        f[l] /= fNorm;
+                    }
+                    return;
+                }
+            }
+            return;
+        }
+        for (int l = 0; l < n; ++l) {
+            f[l] /= beta;
+        }
+    }
+
+    /** Compute the Euclidean norm of an array.
+     * @param x array
+     * @return Euclidean norm of x
+     */
+    private static double norm(final double[] x) {
+        double sum = 0;
+        for (final double xI : x) {
+            sum += xI * xI;
+        }
+        return FastMath.sqrt(sum);
+    }
+
+    /** Compute a linear combination of the basis vectors.
+     * @param y coefficients
+     * @return V y
+     */
+    double[] combine(final double[] y) {
+        final double[] x = new double[n];
+        for (int j = 0; j < m; ++j) {
+            final double   yJ = y[j];
+            final double[] vJ = v[j];
+            for (int l = 0; l < n; ++l) {
+                x[l] += yJ * vJ[l];
+            }
+        }
+        return x;
+    }
+
+    /** Get the dimension of the operator.
+     * @return dimension of the operator
+     */
+    int getOperatorDimension() {
+        return n;
+    }
+
+    /** Get the Hessenberg matrix.
+     * @return Hessenberg matrix (reference, not copy)
+     */
+    double[][] getHessenbergRef() {
+        return h;
+    }
+
+    /** Get the norm of the residual.
+     * @return norm of the residual
+     */
+    double getResidualNorm() {
+        return beta;
+    }
+
+    /** Get the number of operator applications.
+     * @return number of operator applications
+     */
+    int getOperations() {
+        return operations;
+    }
+
+}
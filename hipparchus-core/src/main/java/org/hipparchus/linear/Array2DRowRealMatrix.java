@@ -23,6 +23,9 @@
 package org.hipparchus.linear;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
@@ -182,6 +185,38 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return new Array2DRowRealMatrix(outData, false);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, getRowDimension(), getColumnDimension());
+
+        final int rowCount    = getRowDimension();
+        final int columnCount = getColumnDimension();
+        if (m instanceof Array2DRowRealMatrix && out instanceof Array2DRowRealMatrix) {
+            final double[][] mData   = ((Array2DRowRealMatrix) m).data;
+            final double[][] outData = ((Array2DRowRealMatrix) out).data;
+            for (int row = 0; row < rowCount; row++) {
+                final double[] dataRow    = data[row];
+                final double[] mRow       = mData[row];
+                final double[] outDataRow = outData[row];
+                for (int col = 0; col < columnCount; col++) {
+                    outDataRow[col] = dataRow[col] + mRow[col];
+                }
+            }
+        } else {
+            for (int row = 0; row < rowCount; row++) {
+                final double[] dataRow = data[row];
+                for (int col = 0; col < columnCount; col++) {
+                    out.setEntry(row, col, dataRow[col] + m.getEntry(row, col));
+                }
+            }
+        }
+
+        return out;
+    }
+
     /**
      * Returns {@code this} minus {@code m}.
      *
@@ -209,6 +244,38 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return new Array2DRowRealMatrix(outData, false);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, getRowDimension(), getColumnDimension());
+
+        final int rowCount    = getRowDimension();
+        final int columnCount = getColumnDimension();
+        if (m instanceof Array2DRowRealMatrix && out instanceof Array2DRowRealMatrix) {
+            final double[][] mData   = ((Array2DRowRealMatrix) m).data;
+            final double[][] outData = ((Array2DRowRealMatrix) out).data;
+            for (int row = 0; row < rowCount; row++) {
+                final double[] dataRow    = data[row];
+                final double[] mRow       = mData[row];
+                final double[] outDataRow = outData[row];
+                for (int col = 0; col < columnCount; col++) {
+                    outDataRow[col] = dataRow[col] - mRow[col];
+                }
+            }
+        } else {
+            for (int row = 0; row < rowCount; row++) {
+                final double[] dataRow = data[row];
+                for (int col = 0; col < columnCount; col++) {
+                    out.setEntry(row, col, dataRow[col] - m.getEntry(row, col));
+                }
+            }
+        }
+
+        return out;
+    }
+
     /**
      * Returns the result of postmultiplying {@code this} by {@code m}.
      *
@@ -251,6 +318,55 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return new Array2DRowRealMatrix(outData, false);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, getRowDimension(), m.getColumnDimension());
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, m);
+
+        final int nRows = this.getRowDimension();
+        final int nCols = m.getColumnDimension();
+        final int nSum  = this.getColumnDimension();
+
+        if (m instanceof Array2DRowRealMatrix && out instanceof Array2DRowRealMatrix) {
+            final double[][] mData   = ((Array2DRowRealMatrix) m).data;
+            final double[][] outData = ((Array2DRowRealMatrix) out).data;
+            MatrixUtils.checkNotAliased(outData, data);
+            MatrixUtils.checkNotAliased(outData, mData);
+
+            // accumulate rows of m, so all accesses are contiguous and no temporary is needed
+            // (the terms of each sum are added in the same order as in the other products)
+            for (int row = 0; row < nRows; row++) {
+                final double[] dataRow    = data[row];
+                final double[] outDataRow = outData[row];
+                Arrays.fill(outDataRow, 0.0);
+                for (int i = 0; i < nSum; i++) {
+                    final double   a    = dataRow[i];
+                    final double[] mRow = mData[i];
+                    for (int col = 0; col < nCols; col++) {
+                        outDataRow[col] += a * mRow[col];
+                    }
+                }
+            }
+        } else {
+            for (int row = 0; row < nRows; row++) {
+                final double[] dataRow = data[row];
+                for (int col = 0; col < nCols; col++) {
+                    double sum = 0;
+                    for (int i = 0; i < nSum; i++) {
+                        sum += dataRow[i] * m.getEntry(i, col);
+                    }
+                    out.setEntry(row, col, sum);
+                }
+            }
+        }
+
+        return out;
+    }
+
     /**
      * Returns the result of postmultiplying {@code this} by {@code m^T}.
      * @param m matrix to first transpose and second postmultiply by
@@ -508,6 +624,78 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return out;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        final int nRows = this.getRowDimension();
+        final int nCols = this.getColumnDimension();
+        if (v.getDimension() != nCols) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.getDimension(), nCols);
+        }
+        if (out.getDimension() != nRows) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   out.getDimension(), nRows);
+        }
+        MatrixUtils.checkNotAliased(out, v);
+
+        if (v instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            final double[] vData   = ((ArrayRealVector) v).getDataRef();
+            final double[] outData = ((ArrayRealVector) out).getDataRef();
+            MatrixUtils.checkNotAliased(outData, vData);
+            for (int row = 0; row < nRows; row++) {
+                final double[] dataRow = data[row];
+                double sum = 0;
+                for (int i = 0; i < nCols; i++) {
+                    sum += dataRow[i] * vData[i];
+                }
+                outData[row] = sum;
+            }
+        } else {
+            for (int row = 0; row < nRows; row++) {
+                final double[] dataRow = data[row];
+                double sum = 0;
+                for (int i = 0; i < nCols; i++) {
+                    sum += dataRow[i] * v.getEntry(i);
+                }
+                out.setEntry(row, sum);
+            }
+        }
+
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix transpose(final RealMatrix out)
+        throws MathIllegalArgumentException {
+        final int nRows = this.getRowDimension();
+        final int nCols = this.getColumnDimension();
+        MatrixUtils.checkDestinationDimensions(out, nCols, nRows);
+        MatrixUtils.checkNotAliased(out, this);
+
+        if (out instanceof Array2DRowRealMatrix) {
+            final double[][] outData = ((Array2DRowRealMatrix) out).data;
+            MatrixUtils.checkNotAliased(outData, data);
+            for (int row = 0; row < nRows; row++) {
+                final double[] dataRow = data[row];
+                for (int col = 0; col < nCols; col++) {
+                    outData[col][row] = dataRow[col];
+                }
+            }
+        } else {
+            for (int row = 0; row < nRows; row++) {
+                final double[] dataRow = data[row];
+                for (int col = 0; col < nCols; col++) {
+                    out.setEntry(col, row, dataRow[col]);
+                }
+            }
+        }
+
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public double[] preMultiply(final double[] v)
@@ -680,6 +868,51 @@ public class Array2DRowRealMatrix extends AbstractRealMatrix implements Serializ
         return visitor.end();
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The matrix is split in bands of rows that are walked concurrently.
+     * </p>
+     */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor, final ForkJoinPool pool) {
+        if (pool == null) {
+            return walkInOptimizedOrder(visitor);
+        }
+        final int rows    = getRowDimension();
+        final int columns = getColumnDimension();
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        ParallelMatrixWalk.walk(pool, rows, columns, visitor, (i, v) -> {
+            final double[] rowI = data[i];
+            for (int j = 0; j < columns; ++j) {
+                rowI[j] = v.visit(i, j, rowI[j]);
+            }
+        });
+        return visitor.end();
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The matrix is split in bands of rows that are walked concurrently.
+     * </p>
+     */
+    @Override
+    public <T extends SplittableRealMatrixPreservingVisitor<T>> double walkInOptimizedOrder(final T visitor,
+                                                                                         final ForkJoinPool pool) {
+        if (pool == null) {
+            return walkInOptimizedOrder(visitor);
+        }
+        final int rows    = getRowDimension();
+        final int columns = getColumnDimension();
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        visitor.merge(ParallelMatrixWalk.walk(pool, rows, columns, visitor, (i, v) -> {
+            final double[] rowI = data[i];
+            for (int j = 0; j < columns; ++j) {
+                v.visit(i, j, rowI[j]);
+            }
+        }));
+        return visitor.end();
+    }
+
     /**
      * Get a fresh copy of the underlying data array.
      *
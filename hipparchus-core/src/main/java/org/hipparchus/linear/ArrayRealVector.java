@@ -29,6 +29,7 @@ import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.ArrayKernels;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
 
@@ -316,6 +317,28 @@ public class ArrayRealVector extends RealVector implements Serializable {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector add(RealVector v, RealVector out)
+        throws MathIllegalArgumentException {
+        if (v instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            final double[] vData   = ((ArrayRealVector) v).data;
+            final double[] outData = ((ArrayRealVector) out).data;
+            checkVectorDimensions(vData.length);
+            checkVectorDimensions(outData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] + vData[i];
+            }
+        } else {
+            checkVectorDimensions(v);
+            checkVectorDimensions(out);
+            for (int i = 0; i < data.length; i++) {
+                out.setEntry(i, data[i] + v.getEntry(i));
+            }
+        }
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ArrayRealVector subtract(RealVector v)
@@ -342,6 +365,28 @@ public class ArrayRealVector extends RealVector implements Serializable {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector subtract(RealVector v, RealVector out)
+        throws MathIllegalArgumentException {
+        if (v instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            final double[] vData   = ((ArrayRealVector) v).data;
+            final double[] outData = ((ArrayRealVector) out).data;
+            checkVectorDimensions(vData.length);
+            checkVectorDimensions(outData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] - vData[i];
+            }
+        } else {
+            checkVectorDimensions(v);
+            checkVectorDimensions(out);
+            for (int i = 0; i < data.length; i++) {
+                out.setEntry(i, data[i] - v.getEntry(i));
+            }
+        }
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ArrayRealVector map(UnivariateFunction function) {
@@ -384,6 +429,24 @@ public class ArrayRealVector extends RealVector implements Serializable {
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector mapMultiply(double d, RealVector out)
+        throws MathIllegalArgumentException {
+        checkVectorDimensions(out);
+        if (out instanceof ArrayRealVector) {
+            final double[] outData = ((ArrayRealVector) out).data;
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = data[i] * d;
+            }
+        } else {
+            for (int i = 0; i < data.length; i++) {
+                out.setEntry(i, data[i] * d);
+            }
+        }
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public RealVector mapDivideToSelf(double d) {
@@ -457,11 +520,7 @@ public class ArrayRealVector extends RealVector implements Serializable {
         if (v instanceof ArrayRealVector) {
             final double[] vData = ((ArrayRealVector) v).data;
             checkVectorDimensions(vData.length);
-            double dot = 0;
-            for (int i = 0; i < data.length; i++) {
-                dot += data[i] * vData[i];
-            }
-            return dot;
+            return ArrayKernels.dotProduct(data, 0, vData, 0, data.length);
         }
         return super.dotProduct(v);
     }
@@ -844,6 +903,28 @@ public class ArrayRealVector extends RealVector implements Serializable {
         return copy().combineToSelf(a, b, y);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealVector combine(double a, double b, RealVector y, RealVector out)
+        throws MathIllegalArgumentException {
+        if (y instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            final double[] yData   = ((ArrayRealVector) y).data;
+            final double[] outData = ((ArrayRealVector) out).data;
+            checkVectorDimensions(yData.length);
+            checkVectorDimensions(outData.length);
+            for (int i = 0; i < data.length; i++) {
+                outData[i] = a * data[i] + b * yData[i];
+            }
+        } else {
+            checkVectorDimensions(y);
+            checkVectorDimensions(out);
+            for (int i = 0; i < data.length; i++) {
+                out.setEntry(i, a * data[i] + b * y.getEntry(i));
+            }
+        }
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ArrayRealVector combineToSelf(double a, double b, RealVector y)
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Calculates the Cholesky decomposition of a banded matrix.
+ * <p>
+ * The Cholesky decomposition of a real symmetric positive-definite matrix A with
+ * bandwidth k consists of a lower triangular matrix L with lower bandwidth k such
+ * that: A = LL<sup>T</sup>. As no fill-in occurs outside of the band, the decomposition
+ * costs O(n k<sup>2</sup>) operations and O(n k) memory, and each solve costs O(n k).
+ * </p>
+ * <p>
+ * The bandwidth k is the largest of the lower and upper bandwidths of the
+ * decomposed matrix. Only the upper part of the band is used for the
+ * decomposition, the lower part is only used to check symmetry.
+ * </p>
+ * @see CholeskyDecomposition
+ * @see BandedRealMatrix
+ * @since 4.1
+ */
+public class BandedCholeskyDecomposition {
+
+    /** Dimension of the matrix. */
+    private final int dimension;
+
+    /** Bandwidth. */
+    private final int bandwidth;
+
+    /** Entries of L<sup>T</sup>, row by row, starting at the diagonal. */
+    private final double[] lT;
+
+    /** Cached value of L. */
+    private BandedRealMatrix cachedL;
+
+    /** Cached value of LT. */
+    private BandedRealMatrix cachedLT;
+
+    /**
+     * Calculates the Cholesky decomposition of the given banded matrix.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #BandedCholeskyDecomposition(BandedRealMatrix, double, double)} with the
+     * thresholds set to the default values {@link
+     * CholeskyDecomposition#DEFAULT_RELATIVE_SYMMETRY_THRESHOLD} and {@link
+     * CholeskyDecomposition#DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD}
+     * </p>
+     * @param matrix the matrix to decompose
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     * @throws MathIllegalArgumentException if the matrix is not
+     * strictly positive definite.
+     * @see #BandedCholeskyDecomposition(BandedRealMatrix, double, double)
+     */
+    public BandedCholeskyDecomposition(final BandedRealMatrix matrix) {
+        this(matrix, CholeskyDecomposition.DEFAULT_RELATIVE_SYMMETRY_THRESHOLD,
+             CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
+    }
+
+    /**
+     * Calculates the Cholesky decomposition of the given banded matrix.
+     * @param matrix the matrix to decompose
+     * @param relativeSymmetryThreshold threshold above which off-diagonal
+     * elements are considered too different and matrix not symmetric
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements are considered null and matrix not positive definite
+     * @throws MathIllegalArgumentException if the matrix is not symmetric.
+     * @throws MathIllegalArgumentException if the matrix is not
+     * strictly positive definite.
+     * @see #BandedCholeskyDecomposition(BandedRealMatrix)
+     */
+    public BandedCholeskyDecomposition(final BandedRealMatrix matrix,
+                                       final double relativeSymmetryThreshold,
+                                       final double absolutePositivityThreshold) {
+
+        dimension = matrix.getRowDimension();
+        bandwidth = FastMath.min(dimension - 1,
+                                 FastMath.max(matrix.getLowerBandwidth(), matrix.getUpperBandwidth()));
+        lT        = new double[dimension * (bandwidth + 1)];
+        cachedL   = null;
+        cachedLT  = null;
+
+        // copy upper part of the band, checking symmetry
+        for (int i = 0; i < dimension; ++i) {
+            final int jEnd = FastMath.min(dimension - 1, i + bandwidth);
+            lT[index(i, i)] = matrix.getEntry(i, i);
+            for (int j = i + 1; j <= jEnd; ++j) {
+                final double lIJ = matrix.getEntry(i, j);
+                final double lJI = matrix.getEntry(j, i);
+                final double maxDelta =
+                    relativeSymmetryThreshold * FastMath.max(FastMath.abs(lIJ), FastMath.abs(lJI));
+                if (FastMath.abs(lIJ - lJI) > maxDelta) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SYMMETRIC_MATRIX,
+                                                           i, j, relativeSymmetryThreshold);
+                }
+                lT[index(i, j)] = lIJ;
+            }
+        }
+
+        // transform the matrix
+        for (int i = 0; i < dimension; ++i) {
+
+            // check diagonal element
+            final int iStart = index(i, i);
+            if (lT[iStart] <= absolutePositivityThreshold) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+
+            lT[iStart] = FastMath.sqrt(lT[iStart]);
+            final double inverse = 1.0 / lT[iStart];
+
+            final int qEnd = FastMath.min(dimension - 1, i + bandwidth);
+            for (int q = i + 1; q <= qEnd; ++q) {
+                lT[iStart + q - i] *= inverse;
+            }
+            for (int q = i + 1; q <= qEnd; ++q) {
+                final double ltIQ   = lT[iStart + q - i];
+                final int    qStart = index(q, q);
+                for (int p = q; p <= qEnd; ++p) {
+                    lT[qStart + p - q] -= ltIQ * lT[iStart + p - i];
+                }
+            }
+        }
+
+    }
+
+    /** Get the index of an entry in the band storage of L<sup>T</sup>.
+     * @param row row index
+     * @param column column index, must be within the upper band
+     * @return index of entry (row, column) in the band storage
+     */
+    private int index(final int row, final int column) {
+        return row * (bandwidth + 1) + column - row;
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is a lower-triangular banded matrix</p>
+     * @return the L matrix
+     */
+    public BandedRealMatrix getL() {
+        if (cachedL == null) {
+            cachedL = getLT().transpose();
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the transpose of the matrix L of the decomposition.
+     * <p>L<sup>T</sup> is an upper-triangular banded matrix</p>
+     * @return the transpose of the matrix L of the decomposition
+     */
+    public BandedRealMatrix getLT() {
+        if (cachedLT == null) {
+            cachedLT = new BandedRealMatrix(dimension, 0, bandwidth, lT, true);
+        }
+        return cachedLT;
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        double determinant = 1.0;
+        for (int i = 0; i < dimension; ++i) {
+            final double lTii = lT[index(i, i)];
+            determinant *= lTii * lTii;
+        }
+        return determinant;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            // if we get this far, the matrix was positive definite, hence non-singular
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            if (b.getDimension() != dimension) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getDimension(), dimension);
+            }
+
+            final double[] x = b.toArray();
+
+            // Solve LY = b
+            for (int j = 0; j < dimension; j++) {
+                final int jStart = index(j, j);
+                x[j] /= lT[jStart];
+                final double xJ   = x[j];
+                final int    iEnd = FastMath.min(dimension - 1, j + bandwidth);
+                for (int i = j + 1; i <= iEnd; i++) {
+                    x[i] -= xJ * lT[jStart + i - j];
+                }
+            }
+
+            // Solve LTX = Y
+            for (int j = dimension - 1; j >= 0; j--) {
+                final int jStart = index(j, j);
+                final int iEnd   = FastMath.min(dimension - 1, j + bandwidth);
+                double sum = x[j];
+                for (int i = j + 1; i <= iEnd; i++) {
+                    sum -= lT[jStart + i - j] * x[i];
+                }
+                x[j] = sum / lT[jStart];
+            }
+
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            if (b.getRowDimension() != dimension) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getRowDimension(), dimension);
+            }
+
+            final int nColB = b.getColumnDimension();
+            final double[][] x = b.getData();
+
+            // Solve LY = b
+            for (int j = 0; j < dimension; j++) {
+                final int      jStart = index(j, j);
+                final double   lJJ    = lT[jStart];
+                final double[] xJ     = x[j];
+                for (int k = 0; k < nColB; ++k) {
+                    xJ[k] /= lJJ;
+                }
+                final int iEnd = FastMath.min(dimension - 1, j + bandwidth);
+                for (int i = j + 1; i <= iEnd; i++) {
+                    final double[] xI  = x[i];
+                    final double   lJI = lT[jStart + i - j];
+                    for (int k = 0; k < nColB; ++k) {
+                        xI[k] -= xJ[k] * lJI;
+                    }
+                }
+            }
+
+            // Solve LTX = Y
+            for (int j = dimension - 1; j >= 0; j--) {
+                final int      jStart = index(j, j);
+                final double[] xJ     = x[j];
+                final int      iEnd   = FastMath.min(dimension - 1, j + bandwidth);
+                for (int i = j + 1; i <= iEnd; i++) {
+                    final double[] xI  = x[i];
+                    final double   lJI = lT[jStart + i - j];
+                    for (int k = 0; k < nColB; ++k) {
+                        xJ[k] -= xI[k] * lJI;
+                    }
+                }
+                final double lJJ = lT[jStart];
+                for (int k = 0; k < nColB; ++k) {
+                    xJ[k] /= lJJ;
+                }
+            }
+
+            return new Array2DRowRealMatrix(x, false);
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(dimension));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return dimension;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return dimension;
+        }
+
+    }
+
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Calculates the LUP-decomposition of a banded matrix.
+ * <p>
+ * The decomposition uses Gaussian elimination with partial (row) pivoting,
+ * restricted to the band. With lower bandwidth k<sub>l</sub> and upper bandwidth
+ * k<sub>u</sub>, row interchanges increase the upper bandwidth of U to
+ * k<sub>l</sub> + k<sub>u</sub>, and L only has k<sub>l</sub> entries below
+ * the diagonal in each column. The decomposition therefore costs
+ * O(n k<sub>l</sub> (k<sub>l</sub> + k<sub>u</sub>)) operations and O(n (2k<sub>l</sub>
+ * + k<sub>u</sub> + 1)) memory, and each solve costs O(n (2k<sub>l</sub> + k<sub>u</sub>)).
+ * For a {@link TriDiagonalRealMatrix tridiagonal matrix}, both are O(n).
+ * </p>
+ * <p>
+ * As in LAPACK {@code dgbtrf}, the row interchanges are interleaved with the
+ * elimination steps, so L is not a banded matrix once the rows are permuted;
+ * only U is available as a matrix.
+ * </p>
+ * @see LUDecomposition
+ * @see BandedRealMatrix
+ * @since 4.1
+ */
+public class BandedLUDecomposition {
+
+    /** Default bound to determine effective singularity in LU decomposition. */
+    private static final double DEFAULT_TOO_SMALL = 1e-11;
+
+    /** Dimension of the matrix. */
+    private final int dimension;
+
+    /** Lower bandwidth. */
+    private final int lowerBandwidth;
+
+    /** Upper bandwidth of U. */
+    private final int upperBandwidth;
+
+    /** Number of stored entries per row. */
+    private final int width;
+
+    /** Entries of L (below diagonal) and U (on and above diagonal), row by row. */
+    private final double[] lu;
+
+    /** Row interchanged with each row during elimination. */
+    private final int[] interchanges;
+
+    /** Parity of the permutation associated with the LU decomposition. */
+    private boolean even;
+
+    /** Singularity indicator. */
+    private boolean singular;
+
+    /** Cached value of U. */
+    private BandedRealMatrix cachedU;
+
+    /**
+     * Calculates the LU-decomposition of the given banded matrix.
+     * <p>
+     * This constructor uses 1e-11 as default value for the singularity
+     * threshold.
+     * </p>
+     *
+     * @param matrix The matrix to decompose.
+     */
+    public BandedLUDecomposition(final BandedRealMatrix matrix) {
+        this(matrix, DEFAULT_TOO_SMALL);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given banded matrix.
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold under which a pivot is considered singular
+     */
+    public BandedLUDecomposition(final BandedRealMatrix matrix, final double singularityThreshold) {
+
+        dimension      = matrix.getRowDimension();
+        lowerBandwidth = FastMath.min(matrix.getLowerBandwidth(), dimension - 1);
+        upperBandwidth = FastMath.min(lowerBandwidth + matrix.getUpperBandwidth(), dimension - 1);
+        width          = lowerBandwidth + upperBandwidth + 1;
+        lu             = new double[dimension * width];
+        interchanges   = new int[dimension];
+        even           = true;
+        singular       = false;
+        cachedU        = null;
+
+        // copy the band, leaving room for fill-in due to row interchanges
+        final double[] band = matrix.getDataRef();
+        final int kl        = matrix.getLowerBandwidth();
+        final int ku        = FastMath.min(matrix.getUpperBandwidth(), dimension - 1);
+        final int w         = kl + matrix.getUpperBandwidth() + 1;
+        for (int i = 0; i < dimension; ++i) {
+            final int jStart = FastMath.max(0, i - lowerBandwidth);
+            final int jEnd   = FastMath.min(dimension - 1, i + ku);
+            for (int j = jStart; j <= jEnd; ++j) {
+                lu[index(i, j)] = band[i * w + j - i + kl];
+            }
+        }
+
+        // elimination
+        for (int k = 0; k < dimension; ++k) {
+
+            // search for pivot within the band
+            final int iEnd = FastMath.min(dimension - 1, k + lowerBandwidth);
+            int    max     = k;
+            double largest = FastMath.abs(lu[index(k, k)]);
+            for (int i = k + 1; i <= iEnd; ++i) {
+                final double abs = FastMath.abs(lu[index(i, k)]);
+                if (abs > largest) {
+                    largest = abs;
+                    max     = i;
+                }
+            }
+
+            // singularity check
+            if (largest < singularityThreshold) {
+                singular = true;
+                return;
+            }
+
+            // pivot if necessary
+            final int jEnd = FastMath.min(dimension - 1, k + upperBandwidth);
+            interchanges[k] = max;
+            if (max != k) {
+                int kMax = index(max, k);
+                int kK   = index(k, k);
+                for (int j = k; j <= jEnd; ++j) {
+                    final double tmp = lu[kMax];
+                    lu[kMax++] = lu[kK];
+                    lu[kK++]   = tmp;
+                }
+                even = !even;
+            }
+
+            // eliminate entries below the pivot
+            final int    kStart = index(k, k);
+            final double inv    = 1.0 / lu[kStart];
+            for (int i = k + 1; i <= iEnd; ++i) {
+                final int    iStart = index(i, k);
+                final double lIK    = lu[iStart] * inv;
+                lu[iStart] = lIK;
+                for (int j = 1; j <= jEnd - k; ++j) {
+                    lu[iStart + j] -= lIK * lu[kStart + j];
+                }
+            }
+
+        }
+
+    }
+
+    /** Get the index of an entry in the band storage.
+     * @param row row index
+     * @param column column index, must be within the band
+     * @return index of entry (row, column) in the band storage
+     */
+    private int index(final int row, final int column) {
+        return row * width + column - row + lowerBandwidth;
+    }
+
+    /**
+     * Returns the matrix U of the decomposition.
+     * <p>U is an upper-triangular banded matrix, with upper bandwidth
+     * up to the sum of the lower and upper bandwidths of the decomposed matrix.</p>
+     * @return the U matrix (or null if decomposed matrix is singular)
+     */
+    public BandedRealMatrix getU() {
+        if ((cachedU == null) && !singular) {
+            cachedU = new BandedRealMatrix(dimension, 0, upperBandwidth);
+            final double[] u = cachedU.getDataRef();
+            for (int i = 0; i < dimension; ++i) {
+                final int jEnd = FastMath.min(dimension - 1, i + upperBandwidth);
+                System.arraycopy(lu, index(i, i), u, i * (upperBandwidth + 1), jEnd - i + 1);
+            }
+        }
+        return cachedU;
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        if (singular) {
+            return 0;
+        } else {
+            double determinant = even ? 1 : -1;
+            for (int i = 0; i < dimension; i++) {
+                determinant *= lu[index(i, i)];
+            }
+            return determinant;
+        }
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in exact linear
+     * sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            return !singular;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            if (b.getDimension() != dimension) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getDimension(), dimension);
+            }
+            if (singular) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            final double[] x = b.toArray();
+
+            // Solve LY = b, applying row interchanges as they occurred during elimination
+            for (int k = 0; k < dimension; ++k) {
+                final int p = interchanges[k];
+                if (p != k) {
+                    final double tmp = x[p];
+                    x[p] = x[k];
+                    x[k] = tmp;
+                }
+                final double xK   = x[k];
+                final int    iEnd = FastMath.min(dimension - 1, k + lowerBandwidth);
+                for (int i = k + 1; i <= iEnd; ++i) {
+                    x[i] -= lu[index(i, k)] * xK;
+                }
+            }
+
+            // Solve UX = Y
+            for (int k = dimension - 1; k >= 0; --k) {
+                final int kStart = index(k, k);
+                final int jEnd   = FastMath.min(dimension - 1, k + upperBandwidth);
+                double sum = x[k];
+                for (int j = 1; j <= jEnd - k; ++j) {
+                    sum -= lu[kStart + j] * x[k + j];
+                }
+                x[k] = sum / lu[kStart];
+            }
+
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            if (b.getRowDimension() != dimension) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getRowDimension(), dimension);
+            }
+            if (singular) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            final int nColB = b.getColumnDimension();
+            final double[][] x = b.getData();
+
+            // Solve LY = b, applying row interchanges as they occurred during elimination
+            for (int k = 0; k < dimension; ++k) {
+                final int p = interchanges[k];
+                if (p != k) {
+                    final double[] tmp = x[p];
+                    x[p] = x[k];
+                    x[k] = tmp;
+                }
+                final double[] xK   = x[k];
+                final int      iEnd = FastMath.min(dimension - 1, k + lowerBandwidth);
+                for (int i = k + 1; i <= iEnd; ++i) {
+                    final double[] xI  = x[i];
+                    final double   lIK = lu[index(i, k)];
+                    for (int j = 0; j < nColB; ++j) {
+                        xI[j] -= lIK * xK[j];
+                    }
+                }
+            }
+
+            // Solve UX = Y
+            for (int k = dimension - 1; k >= 0; --k) {
+                final int      kStart = index(k, k);
+                final int      lEnd   = FastMath.min(dimension - 1, k + upperBandwidth);
+                final double[] xK     = x[k];
+                for (int l = k + 1; l <= lEnd; ++l) {
+                    final double[] xL  = x[l];
+                    final double   uKL = lu[kStart + l - k];
+                    for (int j = 0; j < nColB; ++j) {
+                        xK[j] -= uKL * xL[j];
+                    }
+                }
+                final double inv = 1.0 / lu[kStart];
+                for (int j = 0; j < nColB; ++j) {
+                    xK[j] *= inv;
+                }
+            }
+
+            return new Array2DRowRealMatrix(x, false);
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         * @throws MathIllegalArgumentException if the decomposed matrix is singular.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(dimension));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return dimension;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return dimension;
+        }
+
+    }
+
+}
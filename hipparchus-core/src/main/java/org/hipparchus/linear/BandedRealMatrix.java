@@ -0,0 +1,538 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.Precision;
+
+/**
+ * Implementation of a square banded matrix.
+ * <p>
+ * A banded matrix with lower bandwidth k<sub>l</sub> and upper bandwidth k<sub>u</sub>
+ * only has non-zero entries (i, j) for -k<sub>l</sub> &le; j - i &le; k<sub>u</sub>. Only
+ * these entries are stored, row by row: row i holds entries (i, i - k<sub>l</sub>) to
+ * (i, i + k<sub>u</sub>), the slots falling outside of the matrix in the first and last
+ * rows being unused. Memory is therefore n (k<sub>l</sub> + k<sub>u</sub> + 1) instead of
+ * n<sup>2</sup>, and products with vectors cost O(n (k<sub>l</sub> + k<sub>u</sub>)).
+ * </p>
+ * <p>
+ * Linear systems with banded matrices should be solved using {@link BandedLUDecomposition}
+ * or {@link BandedCholeskyDecomposition}, which preserve the band structure.
+ * </p>
+ * @see TriDiagonalRealMatrix
+ * @see BandedLUDecomposition
+ * @see BandedCholeskyDecomposition
+ * @since 4.1
+ */
+public class BandedRealMatrix extends AbstractRealMatrix
+    implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Dimension of the matrix. */
+    private final int dimension;
+
+    /** Lower bandwidth. */
+    private final int lowerBandwidth;
+
+    /** Upper bandwidth. */
+    private final int upperBandwidth;
+
+    /** Number of stored entries per row. */
+    private final int width;
+
+    /** Entries of the band, row by row. */
+    private final double[] data;
+
+    /**
+     * Creates a matrix with the supplied dimension and bandwidths.
+     * <p>All entries are initialized to zero.</p>
+     *
+     * @param dimension Number of rows and columns in the new matrix.
+     * @param lowerBandwidth number of sub-diagonals (0 for upper triangular matrices)
+     * @param upperBandwidth number of super-diagonals (0 for lower triangular matrices)
+     * @throws MathIllegalArgumentException if the dimension is not positive
+     * or if the bandwidths are negative
+     */
+    public BandedRealMatrix(final int dimension, final int lowerBandwidth, final int upperBandwidth)
+        throws MathIllegalArgumentException {
+        this(dimension, lowerBandwidth, upperBandwidth, null);
+    }
+
+    /**
+     * Creates a matrix from the band of a square matrix.
+     * <p>Entries outside of the band are not accessed at all.</p>
+     *
+     * @param matrix Square matrix whose band should be copied.
+     * @param lowerBandwidth number of sub-diagonals (0 for upper triangular matrices)
+     * @param upperBandwidth number of super-diagonals (0 for lower triangular matrices)
+     * @throws MathIllegalArgumentException if the matrix is not square
+     * or if the bandwidths are negative
+     */
+    public BandedRealMatrix(final RealMatrix matrix, final int lowerBandwidth, final int upperBandwidth)
+        throws MathIllegalArgumentException {
+        this(checkSquare(matrix).getRowDimension(), lowerBandwidth, upperBandwidth);
+        for (int i = 0; i < dimension; ++i) {
+            final int jEnd = FastMath.min(dimension - 1, i + upperBandwidth);
+            for (int j = FastMath.max(0, i - lowerBandwidth); j <= jEnd; ++j) {
+                data[index(i, j)] = matrix.getEntry(i, j);
+            }
+        }
+    }
+
+    /**
+     * Creates a matrix using the input array as the underlying band storage.
+     * <br>
+     * If an array is created specially in order to be embedded in a
+     * this instance and not used directly, the {@code copyArray} may be
+     * set to {@code false}.
+     * This will prevent the copying and improve performance as no new
+     * array will be built and no data will be copied.
+     *
+     * @param dimension Number of rows and columns in the new matrix.
+     * @param lowerBandwidth number of sub-diagonals (0 for upper triangular matrices)
+     * @param upperBandwidth number of super-diagonals (0 for lower triangular matrices)
+     * @param band entries of the band, row by row, with lowerBandwidth + upperBandwidth + 1
+     * entries per row, entry (i, j) being at index i (lowerBandwidth + upperBandwidth + 1) +
+     * j - i + lowerBandwidth
+     * @param copyArray if {@code true}, the input array will be copied,
+     * otherwise it will be referenced.
+     * @throws MathIllegalArgumentException if the dimension is not positive,
+     * if the bandwidths are negative or if the array
+     * length does not match the dimension and bandwidths
+     * @throws NullArgumentException if band is null
+     */
+    public BandedRealMatrix(final int dimension, final int lowerBandwidth, final int upperBandwidth,
+                            final double[] band, final boolean copyArray)
+        throws MathIllegalArgumentException, NullArgumentException {
+        this(dimension, lowerBandwidth, upperBandwidth, checkBand(band, copyArray));
+    }
+
+    /**
+     * Creates a matrix with the supplied dimension and bandwidths.
+     *
+     * @param dimension Number of rows and columns in the new matrix.
+     * @param lowerBandwidth number of sub-diagonals
+     * @param upperBandwidth number of super-diagonals
+     * @param band entries of the band (referenced, not copied), null to allocate a new array
+     * @throws MathIllegalArgumentException if the dimension is not positive,
+     * if the bandwidths are negative or if the array
+     * length does not match the dimension and bandwidths
+     */
+    private BandedRealMatrix(final int dimension, final int lowerBandwidth, final int upperBandwidth,
+                             final double[] band)
+        throws MathIllegalArgumentException {
+        super(dimension, dimension);
+        checkBandwidth(lowerBandwidth);
+        checkBandwidth(upperBandwidth);
+        this.dimension      = dimension;
+        this.lowerBandwidth = lowerBandwidth;
+        this.upperBandwidth = upperBandwidth;
+        this.width          = lowerBandwidth + upperBandwidth + 1;
+        if (band == null) {
+            this.data = new double[dimension * width];
+        } else {
+            MathUtils.checkDimension(band.length, dimension * width);
+            this.data = band;
+        }
+    }
+
+    /** Check a bandwidth.
+     * @param bandwidth bandwidth to check
+     * @throws MathIllegalArgumentException if bandwidth is negative
+     */
+    private static void checkBandwidth(final int bandwidth)
+        throws MathIllegalArgumentException {
+        if (bandwidth < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                   bandwidth, 0);
+        }
+    }
+
+    /** Check band storage array.
+     * @param band band storage array
+     * @param copyArray if {@code true}, the input array will be copied
+     * @return array to use
+     * @throws NullArgumentException if band is null
+     */
+    private static double[] checkBand(final double[] band, final boolean copyArray)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(band);
+        return copyArray ? band.clone() : band;
+    }
+
+    /** Check a matrix is square.
+     * @param matrix matrix to check
+     * @return the matrix
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     */
+    private static RealMatrix checkSquare(final RealMatrix matrix)
+        throws MathIllegalArgumentException {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        return matrix;
+    }
+
+    /** Get the index of an entry in the band storage.
+     * @param row row index
+     * @param column column index, must be within the band
+     * @return index of entry (row, column) in the band storage
+     */
+    private int index(final int row, final int column) {
+        return row * width + column - row + lowerBandwidth;
+    }
+
+    /** Check if an entry is within the band.
+     * @param row row index
+     * @param column column index
+     * @return true if entry (row, column) is within the band
+     */
+    private boolean inBand(final int row, final int column) {
+        final int offset = column - row;
+        return offset >= -lowerBandwidth && offset <= upperBandwidth;
+    }
+
+    /** Get the lower bandwidth.
+     * @return lower bandwidth, i.e. number of sub-diagonals
+     */
+    public int getLowerBandwidth() {
+        return lowerBandwidth;
+    }
+
+    /** Get the upper bandwidth.
+     * @return upper bandwidth, i.e. number of super-diagonals
+     */
+    public int getUpperBandwidth() {
+        return upperBandwidth;
+    }
+
+    /**
+     * Gets a reference to the underlying band storage array.
+     * <p>
+     * The array holds lowerBandwidth + upperBandwidth + 1 entries per row,
+     * entry (i, j) being at index i (lowerBandwidth + upperBandwidth + 1) +
+     * j - i + lowerBandwidth.
+     * </p>
+     *
+     * @return 1-dimensional array of band entries.
+     */
+    public double[] getDataRef() {
+        return data; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>As the matrices created by this method are used to hold arbitrary
+     * results, they are general dense matrices, not banded matrices.</p>
+     */
+    @Override
+    public RealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return MatrixUtils.createRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BandedRealMatrix copy() {
+        return new BandedRealMatrix(dimension, lowerBandwidth, upperBandwidth, data.clone());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return dimension;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return dimension;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return inBand(row, column) ? data[index(row, column)] : 0.0;
+    }
+
+    /** {@inheritDoc}
+     * @throws MathIllegalArgumentException if entry is outside of the band and value is non-zero.
+     */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        if (inBand(row, column)) {
+            data[index(row, column)] = value;
+        } else {
+            ensureZero(value);
+        }
+    }
+
+    /** {@inheritDoc}
+     * @throws MathIllegalArgumentException if entry is outside of the band and increment is non-zero.
+     */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        if (inBand(row, column)) {
+            data[index(row, column)] += increment;
+        } else {
+            ensureZero(increment);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        // we don't care about entries outside of the band for multiplication
+        if (inBand(row, column)) {
+            data[index(row, column)] *= factor;
+        }
+    }
+
+    /** Ensure a value is zero.
+     * @param value value to check
+     * @exception MathIllegalArgumentException if value is not zero
+     */
+    private void ensureZero(final double value) throws MathIllegalArgumentException {
+        if (!Precision.equals(0.0, value, 1)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE,
+                                                   FastMath.abs(value), 0);
+        }
+    }
+
+    /**
+     * Compute the sum of {@code this} and {@code m}.
+     * <p>The bandwidths of the sum are the largest bandwidths of the operands.</p>
+     *
+     * @param m Matrix to be added.
+     * @return {@code this + m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public BandedRealMatrix add(final BandedRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        final BandedRealMatrix out = new BandedRealMatrix(dimension,
+                                                          FastMath.max(lowerBandwidth, m.lowerBandwidth),
+                                                          FastMath.max(upperBandwidth, m.upperBandwidth));
+        accumulate(out, 1.0);
+        m.accumulate(out, 1.0);
+        return out;
+    }
+
+    /**
+     * Returns {@code this} minus {@code m}.
+     * <p>The bandwidths of the difference are the largest bandwidths of the operands.</p>
+     *
+     * @param m Matrix to be subtracted.
+     * @return {@code this - m}
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public BandedRealMatrix subtract(final BandedRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        final BandedRealMatrix out = new BandedRealMatrix(dimension,
+                                                          FastMath.max(lowerBandwidth, m.lowerBandwidth),
+                                                          FastMath.max(upperBandwidth, m.upperBandwidth));
+        accumulate(out, 1.0);
+        m.accumulate(out, -1.0);
+        return out;
+    }
+
+    /** Add the scaled band of this matrix to a matrix with larger or equal bandwidths.
+     * @param out matrix to update
+     * @param scale scaling factor
+     */
+    private void accumulate(final BandedRealMatrix out, final double scale) {
+        for (int i = 0; i < dimension; ++i) {
+            final int jStart = FastMath.max(0, i - lowerBandwidth);
+            final int jEnd   = FastMath.min(dimension - 1, i + upperBandwidth);
+            int k    = index(i, jStart);
+            int kOut = out.index(i, jStart);
+            for (int j = jStart; j <= jEnd; ++j) {
+                out.data[kOut++] += scale * data[k++];
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof BandedRealMatrix) {
+            return add((BandedRealMatrix) m);
+        } else {
+            return super.add(m);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof BandedRealMatrix) {
+            return subtract((BandedRealMatrix) m);
+        } else {
+            return super.subtract(m);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BandedRealMatrix scalarMultiply(final double d) {
+        final double[] outData = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            outData[k] = data[k] * d;
+        }
+        return new BandedRealMatrix(dimension, lowerBandwidth, upperBandwidth, outData);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m}.
+     * <p>The bandwidths of the product are the sums of the bandwidths
+     * of the operands (limited to dimension - 1).</p>
+     *
+     * @param m matrix to postmultiply by
+     * @return {@code this * m}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != rowDimension(m)}
+     */
+    public BandedRealMatrix multiply(final BandedRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        final BandedRealMatrix out =
+            new BandedRealMatrix(dimension,
+                                 FastMath.min(dimension - 1, lowerBandwidth + m.lowerBandwidth),
+                                 FastMath.min(dimension - 1, upperBandwidth + m.upperBandwidth));
+        for (int i = 0; i < dimension; ++i) {
+            final int kStart = FastMath.max(0, i - lowerBandwidth);
+            final int kEnd   = FastMath.min(dimension - 1, i + upperBandwidth);
+            for (int k = kStart; k <= kEnd; ++k) {
+                final double aIK = data[index(i, k)];
+                final int jStart = FastMath.max(0, k - m.lowerBandwidth);
+                final int jEnd   = FastMath.min(dimension - 1, k + m.upperBandwidth);
+                int kM   = m.index(k, jStart);
+                int kOut = out.index(i, jStart);
+                for (int j = jStart; j <= jEnd; ++j) {
+                    out.data[kOut++] += aIK * m.data[kM++];
+                }
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof BandedRealMatrix) {
+            return multiply((BandedRealMatrix) m);
+        } else {
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+            final int nCols = m.getColumnDimension();
+            final double[][] mData = m.getData();
+            final double[][] out   = new double[dimension][nCols];
+            for (int i = 0; i < dimension; ++i) {
+                final double[] outI = out[i];
+                final int kEnd = FastMath.min(dimension - 1, i + upperBandwidth);
+                for (int k = FastMath.max(0, i - lowerBandwidth); k <= kEnd; ++k) {
+                    final double   aIK = data[index(i, k)];
+                    final double[] mK  = mData[k];
+                    for (int j = 0; j < nCols; ++j) {
+                        outI[j] += aIK * mK[j];
+                    }
+                }
+            }
+            return new Array2DRowRealMatrix(out, false);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BandedRealMatrix transpose() {
+        final BandedRealMatrix out = new BandedRealMatrix(dimension, upperBandwidth, lowerBandwidth);
+        for (int i = 0; i < dimension; ++i) {
+            final int jEnd = FastMath.min(dimension - 1, i + upperBandwidth);
+            for (int j = FastMath.max(0, i - lowerBandwidth); j <= jEnd; ++j) {
+                out.data[out.index(j, i)] = data[index(i, j)];
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != dimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, dimension);
+        }
+        final double[] out = new double[dimension];
+        for (int i = 0; i < dimension; ++i) {
+            final int jStart = FastMath.max(0, i - lowerBandwidth);
+            final int jEnd   = FastMath.min(dimension - 1, i + upperBandwidth);
+            int k = index(i, jStart);
+            double sum = 0;
+            for (int j = jStart; j <= jEnd; ++j) {
+                sum += data[k++] * v[j];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != dimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, dimension);
+        }
+        final double[] out = new double[dimension];
+        for (int i = 0; i < dimension; ++i) {
+            final int jStart = FastMath.max(0, i - lowerBandwidth);
+            final int jEnd   = FastMath.min(dimension - 1, i + upperBandwidth);
+            final double vI  = v[i];
+            int k = index(i, jStart);
+            for (int j = jStart; j <= jEnd; ++j) {
+                out[j] += data[k++] * vI;
+            }
+        }
+        return out;
+    }
+
+}
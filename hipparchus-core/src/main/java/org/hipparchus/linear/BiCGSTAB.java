@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.IterationManager;
+
+/**
+ * <p>
+ * This is an implementation of the BiConjugate Gradient STABilized method
+ * for non-symmetric {@link RealLinearOperator}. It follows closely the template by
+ * <a href="#BARR1994">Barrett et al. (1994)</a> (figure 2.10). The linear system at
+ * hand is A &middot; x = b, and the residual is r = b - A &middot; x.
+ * </p>
+ * <p>
+ * Contrary to {@link GMRES}, the memory requirements do not grow with the number
+ * of iterations, but convergence is not monotonic and the method may break down.
+ * </p>
+ * <p><strong>Default stopping criterion</strong></p>
+ * <p>
+ * The iterations stop when || r || &le; &delta; || b ||, where b is the
+ * right-hand side vector, r the current estimate of the residual, and &delta; a
+ * user-specified tolerance. As with {@link ConjugateGradient}, r is the
+ * <em>updated</em> residual.
+ * </p>
+ * <p><strong>Iteration count</strong></p>
+ * <p>
+ * Each iteration involves two evaluations of the matrix-vector product
+ * A &middot; x and two applications of the preconditioner. The initialization
+ * phase counts as one iteration.
+ * </p>
+ * <p><strong>Exceptions</strong></p>
+ * <p>
+ * A {@link MathIllegalStateException} is thrown if the method breaks down,
+ * i.e. if one of the scalars &rho; or &omega; vanishes before convergence.
+ * </p>
+ * <p><strong>References</strong></p>
+ * <dl>
+ * <dt><a id="BARR1994">Barret et al. (1994)</a></dt>
+ * <dd>R. Barrett, M. Berry, T. F. Chan, J. Demmel, J. M. Donato, J. Dongarra,
+ * V. Eijkhout, R. Pozo, C. Romine and H. Van der Vorst,
+ * <a href="http://www.netlib.org/linalg/html_templates/Templates.html"><em>
+ * Templates for the Solution of Linear Systems: Building Blocks for Iterative
+ * Methods</em></a>, SIAM</dd>
+ * </dl>
+ * @since 4.1
+ */
+public class BiCGSTAB extends PreconditionedIterativeLinearSolver {
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /**
+     * Creates a new instance of this class, with default stopping criterion.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param delta the &delta; parameter for the default stopping criterion
+     */
+    public BiCGSTAB(final int maxIterations, final double delta) {
+        super(maxIterations);
+        this.delta = delta;
+    }
+
+    /**
+     * Creates a new instance of this class, with default stopping criterion
+     * and custom iteration manager.
+     *
+     * @param manager the custom iteration manager
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     */
+    public BiCGSTAB(final IterationManager manager, final double delta)
+        throws NullArgumentException {
+        super(manager);
+        this.delta = delta;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector solveInPlace(final RealLinearOperator a,
+                                   final RealLinearOperator m,
+                                   final RealVector b,
+                                   final RealVector x0)
+        throws MathIllegalArgumentException, NullArgumentException,
+        MathIllegalStateException {
+        checkParameters(a, m, b, x0);
+        final IterationManager manager = getIterationManager();
+        // Initialization of default stopping criterion
+        manager.resetIterationCount();
+        final double rmax = delta * b.getNorm();
+        final RealVector bro = RealVector.unmodifiableRealVector(b);
+
+        // Initialization phase counts as one iteration.
+        manager.incrementIterationCount();
+        final RealVector x = x0;
+        final RealVector xro = RealVector.unmodifiableRealVector(x);
+        final RealVector r = b.combine(1, -1, a.operate(x));
+        final RealVector rro = RealVector.unmodifiableRealVector(r);
+        final RealVector rTilde = r.copy();
+        double rnorm = r.getNorm();
+        IterativeLinearSolverEvent evt;
+        evt = new DefaultIterativeLinearSolverEvent(this,
+            manager.getIterations(), xro, bro, rro, rnorm);
+        manager.fireInitializationEvent(evt);
+        if (rnorm <= rmax) {
+            manager.fireTerminationEvent(evt);
+            return x;
+        }
+
+        RealVector p = null;
+        RealVector v = null;
+        double rhoPrev = 0;
+        double alpha   = 0;
+        double omega   = 0;
+        while (true) {
+            manager.incrementIterationCount();
+            evt = new DefaultIterativeLinearSolverEvent(this,
+                manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationStartedEvent(evt);
+
+            final double rho = rTilde.dotProduct(r);
+            if (rho == 0) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.ITERATIVE_SOLVER_BREAKDOWN,
+                                                    manager.getIterations());
+            }
+            if (p == null) {
+                p = r.copy();
+            } else {
+                final double beta = (rho / rhoPrev) * (alpha / omega);
+                p.combineToSelf(1, -omega, v);
+                p.combineToSelf(beta, 1, r);
+            }
+            final RealVector pHat = (m == null) ? p : m.operate(p);
+            v = a.operate(pHat);
+            alpha = rho / rTilde.dotProduct(v);
+
+            // s is stored in r
+            r.combineToSelf(1, -alpha, v);
+            x.combineToSelf(1, alpha, pHat);
+            rnorm = r.getNorm();
+            if (rnorm > rmax) {
+                final RealVector sHat = (m == null) ? r.copy() : m.operate(r);
+                final RealVector t = a.operate(sHat);
+                final double tt = t.dotProduct(t);
+                omega = (tt == 0) ? 0 : t.dotProduct(r) / tt;
+                if (omega == 0) {
+                    throw new MathIllegalStateException(LocalizedCoreFormats.ITERATIVE_SOLVER_BREAKDOWN,
+                                                        manager.getIterations());
+                }
+                x.combineToSelf(1, omega, sHat);
+                r.combineToSelf(1, -omega, t);
+                rnorm = r.getNorm();
+            }
+            rhoPrev = rho;
+
+            evt = new DefaultIterativeLinearSolverEvent(this,
+                manager.getIterations(), xro, bro, rro, rnorm);
+            manager.fireIterationPerformedEvent(evt);
+            if (rnorm <= rmax) {
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+        }
+    }
+
+}
@@ -24,10 +24,13 @@ package org.hipparchus.linear;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.ArrayKernels;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
 
@@ -73,6 +76,8 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
     public static final int BLOCK_SIZE = 52;
     /** Serializable version identifier */
     private static final long serialVersionUID = 4991895511313664478L;
+    /** Default pool for parallel multiplications (null for sequential multiplications). */
+    private static volatile ForkJoinPool defaultPool;
     /** Blocks of matrix entries. */
     private final double[][] blocks;
     /** Number of rows of the matrix. */
@@ -366,6 +371,36 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         return out;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, rows, columns);
+
+        if (m instanceof BlockRealMatrix && out instanceof BlockRealMatrix) {
+            // operands and destination share the same block layout
+            final double[][] mBlocks   = ((BlockRealMatrix) m).blocks;
+            final double[][] outBlocks = ((BlockRealMatrix) out).blocks;
+            for (int blockIndex = 0; blockIndex < blocks.length; ++blockIndex) {
+                final double[] outBlock = outBlocks[blockIndex];
+                final double[] tBlock   = blocks[blockIndex];
+                final double[] mBlock   = mBlocks[blockIndex];
+                for (int k = 0; k < outBlock.length; ++k) {
+                    outBlock[k] = tBlock[k] + mBlock[k];
+                }
+            }
+        } else {
+            for (int row = 0; row < rows; ++row) {
+                for (int col = 0; col < columns; ++col) {
+                    out.setEntry(row, col, getEntry(row, col) + m.getEntry(row, col));
+                }
+            }
+        }
+
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BlockRealMatrix subtract(final RealMatrix m)
@@ -434,6 +469,36 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         return out;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, rows, columns);
+
+        if (m instanceof BlockRealMatrix && out instanceof BlockRealMatrix) {
+            // operands and destination share the same block layout
+            final double[][] mBlocks   = ((BlockRealMatrix) m).blocks;
+            final double[][] outBlocks = ((BlockRealMatrix) out).blocks;
+            for (int blockIndex = 0; blockIndex < blocks.length; ++blockIndex) {
+                final double[] outBlock = outBlocks[blockIndex];
+                final double[] tBlock   = blocks[blockIndex];
+                final double[] mBlock   = mBlocks[blockIndex];
+                for (int k = 0; k < outBlock.length; ++k) {
+                    outBlock[k] = tBlock[k] - mBlock[k];
+                }
+            }
+        } else {
+            for (int row = 0; row < rows; ++row) {
+                for (int col = 0; col < columns; ++col) {
+                    out.setEntry(row, col, getEntry(row, col) - m.getEntry(row, col));
+                }
+            }
+        }
+
+        return out;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BlockRealMatrix scalarAdd(final double d) {
@@ -531,66 +596,122 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @throws MathIllegalArgumentException if the matrices are not compatible.
      */
     public BlockRealMatrix multiply(BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiply(m, defaultPool);
+    }
+
+    /**
+     * Returns the result of postmultiplying this by {@code m}, possibly in parallel.
+     * <p>
+     * If {@code pool} is not null, the blocks of the result matrix are computed
+     * concurrently by the pool. Each block is computed exactly as in the sequential
+     * case, so the result is identical bit for bit whatever the pool used.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible.
+     * @since 4.1
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final ForkJoinPool pool)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkMultiplicationCompatible(this, m);
 
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.columns);
+        out.computeBlocks(pool, (iBlock, jBlock) -> multiplyBlock(m, out, iBlock, jBlock));
 
-        // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
-
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
-
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
-
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        return out;
+    }
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l] * mBlock[n] +
-                                       tBlock[l + 1] * mBlock[n + jWidth] +
-                                       tBlock[l + 2] * mBlock[n + jWidth2] +
-                                       tBlock[l + 3] * mBlock[n + jWidth3];
-                                l += 4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n];
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        if (m instanceof BlockRealMatrix && out instanceof BlockRealMatrix) {
+            return multiply((BlockRealMatrix) m, (BlockRealMatrix) out, defaultPool);
+        } else {
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+            MatrixUtils.checkDestinationDimensions(out, rows, m.getColumnDimension());
+            MatrixUtils.checkNotAliased(out, this);
+            MatrixUtils.checkNotAliased(out, m);
+            for (int row = 0; row < rows; ++row) {
+                for (int col = 0; col < m.getColumnDimension(); ++col) {
+                    double sum = 0;
+                    for (int i = 0; i < columns; ++i) {
+                        sum += getEntry(row, i) * m.getEntry(i, col);
                     }
+                    out.setEntry(row, col, sum);
                 }
-                // go to next block
-                ++blockIndex;
             }
+            return out;
         }
+    }
+
+    /**
+     * Computes the result of postmultiplying this by {@code m} into a destination matrix,
+     * possibly in parallel.
+     * <p>
+     * No new matrix is allocated. Each block is computed exactly as in
+     * {@link #multiply(BlockRealMatrix, ForkJoinPool)}, so the result is identical
+     * bit for bit. As entries of both operands are needed until the end of the
+     * computation, the destination can be neither {@code this} nor {@code m}.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param out destination matrix
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return {@code out}, which now contains {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible,
+     * if {@code out} does not have the expected size or if {@code out} shares
+     * its blocks with one of the operands
+     * @since 4.1
+     */
+    public BlockRealMatrix multiply(final BlockRealMatrix m, final BlockRealMatrix out, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        // safety checks
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, rows, m.columns);
+        MatrixUtils.checkNotAliased(out.blocks, blocks);
+        MatrixUtils.checkNotAliased(out.blocks, m.blocks);
+
+        out.computeBlocks(pool, (iBlock, jBlock) -> {
+            Arrays.fill(out.blocks[iBlock * out.blockColumns + jBlock], 0.0);
+            multiplyBlock(m, out, iBlock, jBlock);
+        });
 
         return out;
     }
 
+    /**
+     * Compute one block of the product {@code this * m}.
+     * @param m matrix to postmultiply by
+     * @param out product matrix
+     * @param iBlock row index (in block sense) of the block to compute
+     * @param jBlock column index (in block sense) of the block to compute
+     */
+    private void multiplyBlock(final BlockRealMatrix m, final BlockRealMatrix out,
+                               final int iBlock, final int jBlock) {
+
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth = out.blockWidth(jBlock);
+
+        // select current block
+        final double[] outBlock = out.blocks[iBlock * out.blockColumns + jBlock];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[kBlock * m.blockColumns + jBlock];
+            ArrayKernels.multiplyAdd(tBlock, mBlock, outBlock, pEnd - pStart, kWidth, jWidth);
+        }
+
+    }
+
     /**
      * Returns the result of postmultiplying {@code this} by {@code m^T}.
      * @param m matrix to first transpose and second postmultiply by
@@ -600,60 +721,83 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @since 1.3
      */
     public BlockRealMatrix multiplyTransposed(BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiplyTransposed(m, defaultPool);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this} by {@code m^T}, possibly in parallel.
+     * <p>
+     * If {@code pool} is not null, the blocks of the result matrix are computed
+     * concurrently by the pool. Each block is computed exactly as in the sequential
+     * case, so the result is identical bit for bit whatever the pool used.
+     * </p>
+     * @param m matrix to first transpose and second postmultiply by
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return {@code this * m^T}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != columnDimension(m)}
+     * @since 4.1
+     */
+    public BlockRealMatrix multiplyTransposed(final BlockRealMatrix m, final ForkJoinPool pool)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkSameColumnDimension(this, m);
 
         final BlockRealMatrix out = new BlockRealMatrix(rows, m.rows);
+        out.computeBlocks(pool, (iBlock, jBlock) -> multiplyTransposedBlock(m, out, iBlock, jBlock));
 
-        // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+        return out;
+    }
 
-            final int pStart = iBlock * BLOCK_SIZE;
-            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+    /**
+     * Compute one block of the product {@code this * m^T}.
+     * @param m matrix to first transpose and second postmultiply by
+     * @param out product matrix
+     * @param iBlock row index (in block sense) of the block to compute
+     * @param jBlock column index (in block sense) of the block to compute
+     */
+    private void multiplyTransposedBlock(final BlockRealMatrix m, final BlockRealMatrix out,
+                                         final int iBlock, final int jBlock) {
 
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth = out.blockWidth(jBlock);
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
 
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        final int jWidth = out.blockWidth(jBlock);
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
-                    final int kWidth = blockWidth(kBlock);
-                    final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
-                    final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = (p - pStart) * kWidth;
-                        final int lEnd   = lStart + kWidth;
-                        for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - 3) {
-                                sum += tBlock[l]     * mBlock[n]     +
-                                       tBlock[l + 1] * mBlock[n + 1] +
-                                       tBlock[l + 2] * mBlock[n + 2] +
-                                       tBlock[l + 3] * mBlock[n + 3];
-                                l += 4;
-                                n += 4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l++] * mBlock[n++];
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+        // select current block
+        final double[] outBlock = out.blocks[iBlock * out.blockColumns + jBlock];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            final double[] tBlock = blocks[iBlock * blockColumns + kBlock];
+            final double[] mBlock = m.blocks[jBlock * m.blockColumns + kBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth * kWidth; nStart += kWidth) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l]     * mBlock[n]     +
+                               tBlock[l + 1] * mBlock[n + 1] +
+                               tBlock[l + 2] * mBlock[n + 2] +
+                               tBlock[l + 3] * mBlock[n + 3];
+                        l += 4;
+                        n += 4;
                     }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n++];
+                    }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -719,69 +863,92 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
      * @since 1.3
      */
     public BlockRealMatrix transposeMultiply(final BlockRealMatrix m)
+        throws MathIllegalArgumentException {
+        return transposeMultiply(m, defaultPool);
+    }
+
+    /**
+     * Returns the result of postmultiplying {@code this^T} by {@code m}, possibly in parallel.
+     * <p>
+     * If {@code pool} is not null, the blocks of the result matrix are computed
+     * concurrently by the pool. Each block is computed exactly as in the sequential
+     * case, so the result is identical bit for bit whatever the pool used.
+     * </p>
+     * @param m matrix to postmultiply by
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return {@code this^T * m}
+     * @throws MathIllegalArgumentException if
+     * {@code rowDimension(this) != rowDimension(m)}
+     * @since 4.1
+     */
+    public BlockRealMatrix transposeMultiply(final BlockRealMatrix m, final ForkJoinPool pool)
         throws MathIllegalArgumentException {
         // safety check
         MatrixUtils.checkSameRowDimension(this, m);
 
         final BlockRealMatrix out = new BlockRealMatrix(columns, m.columns);
+        out.computeBlocks(pool, (iBlock, jBlock) -> transposeMultiplyBlock(m, out, iBlock, jBlock));
 
-        // perform multiplication block-wise, to ensure good cache behavior
-        int blockIndex = 0;
-        for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
-
-            final int iHeight  = out.blockHeight(iBlock);
-            final int iHeight2 = iHeight  + iHeight;
-            final int iHeight3 = iHeight2 + iHeight;
-            final int iHeight4 = iHeight3 + iHeight;
-            final int pStart   = iBlock * BLOCK_SIZE;
-            final int pEnd     = FastMath.min(pStart + BLOCK_SIZE, columns);
-
-            for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
-                final int jWidth  = out.blockWidth(jBlock);
-                final int jWidth2 = jWidth  + jWidth;
-                final int jWidth3 = jWidth2 + jWidth;
-                final int jWidth4 = jWidth3 + jWidth;
-
-                // select current block
-                final double[] outBlock = out.blocks[blockIndex];
+        return out;
+    }
 
-                // perform multiplication on current block
-                for (int kBlock = 0; kBlock < blockRows; ++kBlock) {
-                    final int      kHeight = blockHeight(kBlock);
-                    final double[] tBlock  = blocks[kBlock * blockColumns + iBlock];
-                    final double[] mBlock  = m.blocks[kBlock * m.blockColumns + jBlock];
-                    int k = 0;
-                    for (int p = pStart; p < pEnd; ++p) {
-                        final int lStart = p - pStart;
-                        final int lEnd   = lStart + iHeight * kHeight;
-                        for (int nStart = 0; nStart < jWidth; ++nStart) {
-                            double sum = 0;
-                            int l = lStart;
-                            int n = nStart;
-                            while (l < lEnd - iHeight3) {
-                                sum += tBlock[l]            * mBlock[n] +
-                                       tBlock[l + iHeight]  * mBlock[n + jWidth] +
-                                       tBlock[l + iHeight2] * mBlock[n + jWidth2] +
-                                       tBlock[l + iHeight3] * mBlock[n + jWidth3];
-                                l += iHeight4;
-                                n += jWidth4;
-                            }
-                            while (l < lEnd) {
-                                sum += tBlock[l] * mBlock[n];
-                                l += iHeight;
-                                n += jWidth;
-                            }
-                            outBlock[k] += sum;
-                            ++k;
-                        }
+    /**
+     * Compute one block of the product {@code this^T * m}.
+     * @param m matrix to postmultiply by
+     * @param out product matrix
+     * @param iBlock row index (in block sense) of the block to compute
+     * @param jBlock column index (in block sense) of the block to compute
+     */
+    private void transposeMultiplyBlock(final BlockRealMatrix m, final BlockRealMatrix out,
+                                        final int iBlock, final int jBlock) {
+
+        final int iHeight  = out.blockHeight(iBlock);
+        final int iHeight2 = iHeight  + iHeight;
+        final int iHeight3 = iHeight2 + iHeight;
+        final int iHeight4 = iHeight3 + iHeight;
+        final int pStart   = iBlock * BLOCK_SIZE;
+        final int pEnd     = FastMath.min(pStart + BLOCK_SIZE, columns);
+
+        final int jWidth  = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        // select current block
+        final double[] outBlock = out.blocks[iBlock * out.blockColumns + jBlock];
+
+        // perform multiplication on current block
+        for (int kBlock = 0; kBlock < blockRows; ++kBlock) {
+            final int      kHeight = blockHeight(kBlock);
+            final double[] tBlock  = blocks[kBlock * blockColumns + iBlock];
+            final double[] mBlock  = m.blocks[kBlock * m.blockColumns + jBlock];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = p - pStart;
+                final int lEnd   = lStart + iHeight * kHeight;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - iHeight3) {
+                        sum += tBlock[l]            * mBlock[n] +
+                               tBlock[l + iHeight]  * mBlock[n + jWidth] +
+                               tBlock[l + iHeight2] * mBlock[n + jWidth2] +
+                               tBlock[l + iHeight3] * mBlock[n + jWidth3];
+                        l += iHeight4;
+                        n += jWidth4;
                     }
+                    while (l < lEnd) {
+                        sum += tBlock[l] * mBlock[n];
+                        l += iHeight;
+                        n += jWidth;
+                    }
+                    outBlock[k] += sum;
+                    ++k;
                 }
-                // go to next block
-                ++blockIndex;
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -1494,6 +1661,34 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         final int nRows = getRowDimension();
         final int nCols = getColumnDimension();
         final BlockRealMatrix out = new BlockRealMatrix(nCols, nRows);
+        transposeInto(out);
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix transpose(final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkDestinationDimensions(out, columns, rows);
+        MatrixUtils.checkNotAliased(out, this);
+        if (out instanceof BlockRealMatrix) {
+            MatrixUtils.checkNotAliased(((BlockRealMatrix) out).blocks, blocks);
+            transposeInto((BlockRealMatrix) out);
+        } else {
+            for (int row = 0; row < rows; ++row) {
+                for (int col = 0; col < columns; ++col) {
+                    out.setEntry(col, row, getEntry(row, col));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Transpose this matrix into a destination matrix with the expected dimensions.
+     * @param out destination matrix, which must not share its blocks with this matrix
+     */
+    private void transposeInto(final BlockRealMatrix out) {
 
         // perform transpose block-wise, to ensure good cache behavior
         int blockIndex = 0;
@@ -1521,7 +1716,6 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -1545,6 +1739,47 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
                                                    v.length, columns);
         }
         final double[] out = new double[rows];
+        operateInto(v, out);
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        if (v.getDimension() != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.getDimension(), columns);
+        }
+        if (out.getDimension() != rows) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   out.getDimension(), rows);
+        }
+        MatrixUtils.checkNotAliased(out, v);
+        if (v instanceof ArrayRealVector && out instanceof ArrayRealVector) {
+            final double[] vData   = ((ArrayRealVector) v).getDataRef();
+            final double[] outData = ((ArrayRealVector) out).getDataRef();
+            MatrixUtils.checkNotAliased(outData, vData);
+            Arrays.fill(outData, 0.0);
+            operateInto(vData, outData);
+        } else {
+            for (int row = 0; row < rows; ++row) {
+                double sum = 0;
+                for (int i = 0; i < columns; ++i) {
+                    sum += getEntry(row, i) * v.getEntry(i);
+                }
+                out.setEntry(row, sum);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Accumulate the product of this matrix by a vector.
+     * @param v vector to operate on, with the expected dimension
+     * @param out array where the product is accumulated, which must not be {@code v}
+     */
+    private void operateInto(final double[] v, final double[] out) {
 
         // perform multiplication block-wise, to ensure good cache behavior
         for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
@@ -1574,7 +1809,6 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
             }
         }
 
-        return out;
     }
 
     /** {@inheritDoc} */
@@ -1843,6 +2077,114 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         return visitor.end();
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The blocks of the matrix are walked concurrently.
+     * </p>
+     */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor, final ForkJoinPool pool) {
+        if (pool == null) {
+            return walkInOptimizedOrder(visitor);
+        }
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        ParallelMatrixWalk.walk(pool, blocks.length, BLOCK_SIZE * BLOCK_SIZE, visitor, (blockIndex, v) -> {
+            final int pStart = (blockIndex / blockColumns) * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            final int qStart = (blockIndex % blockColumns) * BLOCK_SIZE;
+            final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+            final double[] block = blocks[blockIndex];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                for (int q = qStart; q < qEnd; ++q) {
+                    block[k] = v.visit(p, q, block[k]);
+                    ++k;
+                }
+            }
+        });
+        return visitor.end();
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The blocks of the matrix are walked concurrently.
+     * </p>
+     */
+    @Override
+    public <T extends SplittableRealMatrixPreservingVisitor<T>> double walkInOptimizedOrder(final T visitor,
+                                                                                         final ForkJoinPool pool) {
+        if (pool == null) {
+            return walkInOptimizedOrder(visitor);
+        }
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        visitor.merge(ParallelMatrixWalk.walk(pool, blocks.length, BLOCK_SIZE * BLOCK_SIZE, visitor, (blockIndex, v) -> {
+            final int pStart = (blockIndex / blockColumns) * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            final int qStart = (blockIndex % blockColumns) * BLOCK_SIZE;
+            final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+            final double[] block = blocks[blockIndex];
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                for (int q = qStart; q < qEnd; ++q) {
+                    v.visit(p, q, block[k]);
+                    ++k;
+                }
+            }
+        }));
+        return visitor.end();
+    }
+
+    /**
+     * Copy a segment of a row into an array.
+     * <p>
+     * This method is used by {@link RealMatrixView views} to read rows without
+     * going through {@link #getEntry(int, int)} for each entry. No index checks are
+     * performed.
+     * </p>
+     * @param row row index
+     * @param startColumn index of the first column of the segment
+     * @param dest destination array, filled from index 0
+     * @param length number of entries to copy
+     */
+    void copyRowSegment(final int row, final int startColumn, final double[] dest, final int length) {
+        final int iBlock = row / BLOCK_SIZE;
+        final int iRow   = row - iBlock * BLOCK_SIZE;
+        int column    = startColumn;
+        int destIndex = 0;
+        while (destIndex < length) {
+            final int jBlock  = column / BLOCK_SIZE;
+            final int jColumn = column - jBlock * BLOCK_SIZE;
+            final int jWidth  = blockWidth(jBlock);
+            final int n       = FastMath.min(jWidth - jColumn, length - destIndex);
+            System.arraycopy(blocks[iBlock * blockColumns + jBlock], iRow * jWidth + jColumn, dest, destIndex, n);
+            column    += n;
+            destIndex += n;
+        }
+    }
+
+    /**
+     * Copy a segment of a column into an array.
+     * <p>
+     * This method is used by {@link RealMatrixView views} to read columns without
+     * going through {@link #getEntry(int, int)} for each entry. No index checks are
+     * performed.
+     * </p>
+     * @param column column index
+     * @param startRow index of the first row of the segment
+     * @param dest destination array, filled from index 0
+     * @param length number of entries to copy
+     */
+    void copyColumnSegment(final int column, final int startRow, final double[] dest, final int length) {
+        final int jBlock  = column / BLOCK_SIZE;
+        final int jColumn = column - jBlock * BLOCK_SIZE;
+        final int jWidth  = blockWidth(jBlock);
+        for (int k = 0; k < length; ++k) {
+            final int row    = startRow + k;
+            final int iBlock = row / BLOCK_SIZE;
+            dest[k] = blocks[iBlock * blockColumns + jBlock][(row - iBlock * BLOCK_SIZE) * jWidth + jColumn];
+        }
+    }
+
     /**
      * Get the height of a block.
      * @param blockRow row index (in block sense) of the block
@@ -1861,4 +2203,103 @@ public class BlockRealMatrix extends AbstractRealMatrix implements Serializable
         return (blockColumn == blockColumns - 1) ? columns - blockColumn * BLOCK_SIZE : BLOCK_SIZE;
     }
 
+    /**
+     * Compute all blocks of the instance, either sequentially or in parallel.
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @param kernel kernel computing one block
+     */
+    private void computeBlocks(final ForkJoinPool pool, final BlockKernel kernel) {
+        if (pool == null || blocks.length < 2) {
+            for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+                for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                    kernel.computeBlock(iBlock, jBlock);
+                }
+            }
+        } else {
+            pool.invoke(new BlocksTask(kernel, blockColumns, 0, blocks.length));
+        }
+    }
+
+    /**
+     * Set the default pool used for parallel multiplications.
+     * <p>
+     * The default pool is used by {@link #multiply(BlockRealMatrix)},
+     * {@link #multiplyTransposed(BlockRealMatrix)} and {@link #transposeMultiply(BlockRealMatrix)},
+     * hence also by the general {@link RealMatrix} methods when both operands are
+     * block matrices. It is null by default, which means multiplications are sequential.
+     * </p>
+     * @param pool default pool to use for parallel multiplications
+     * (null for sequential multiplications)
+     * @since 4.1
+     */
+    public static void setDefaultPool(final ForkJoinPool pool) {
+        defaultPool = pool;
+    }
+
+    /**
+     * Get the default pool used for parallel multiplications.
+     * @return default pool used for parallel multiplications
+     * (null for sequential multiplications)
+     * @see #setDefaultPool(ForkJoinPool)
+     * @since 4.1
+     */
+    public static ForkJoinPool getDefaultPool() {
+        return defaultPool;
+    }
+
+    /** Kernel computing one block of a matrix. */
+    @FunctionalInterface
+    private interface BlockKernel {
+        /** Compute one block.
+         * @param iBlock row index (in block sense) of the block
+         * @param jBlock column index (in block sense) of the block
+         */
+        void computeBlock(int iBlock, int jBlock);
+    }
+
+    /** Task computing a range of blocks by recursive splitting. */
+    private static class BlocksTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Kernel computing one block. */
+        private final transient BlockKernel kernel;
+
+        /** Number of block columns of the matrix. */
+        private final int blockColumns;
+
+        /** Index of the first block to compute (included). */
+        private final int start;
+
+        /** Index of the last block to compute (excluded). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param kernel kernel computing one block
+         * @param blockColumns number of block columns of the matrix
+         * @param start index of the first block to compute (included)
+         * @param end index of the last block to compute (excluded)
+         */
+        BlocksTask(final BlockKernel kernel, final int blockColumns, final int start, final int end) {
+            this.kernel       = kernel;
+            this.blockColumns = blockColumns;
+            this.start        = start;
+            this.end          = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                kernel.computeBlock(start / blockColumns, start % blockColumns);
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new BlocksTask(kernel, blockColumns, start, middle),
+                          new BlocksTask(kernel, blockColumns, middle, end));
+            }
+        }
+
+    }
+
 }
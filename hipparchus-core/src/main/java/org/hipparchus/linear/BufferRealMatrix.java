@@ -0,0 +1,731 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Implementation of RealMatrix storing its entries outside of the Java heap.
+ * <p>
+ * Entries are stored in {@link DoubleBuffer} segments, which are either allocated
+ * {@link ByteBuffer#allocateDirect(int) off-heap} or {@link FileChannel#map(FileChannel.MapMode,
+ * long, long) memory-mapped} from a file. This allows handling matrices that are too large
+ * for the heap, or even for physical memory: the operating system page cache then streams
+ * the parts of the matrix that are needed from the file. As entries are not on heap, they
+ * do not add to garbage collection work.
+ * </p>
+ * <p>
+ * The layout of entries is the same as in {@link BlockRealMatrix}: the matrix is tiled in
+ * {@link BlockRealMatrix#BLOCK_SIZE} &times; {@link BlockRealMatrix#BLOCK_SIZE} blocks
+ * (blocks at right hand side and bottom side may be smaller), blocks are organized in
+ * row major order and entries inside each block are also stored in row major order. All
+ * blocks are stored contiguously, so a mapped file is exactly the concatenation of the
+ * flattened blocks of a {@link BlockRealMatrix}, stored as little endian IEEE 754 doubles.
+ * As a single buffer cannot hold more than 2<sup>31</sup> bytes, the storage is split
+ * into segments, each one holding an integral number of block rows.
+ * </p>
+ * <p>
+ * Walks in {@link #walkInOptimizedOrder(RealMatrixChangingVisitor) optimized order}
+ * and products process the matrix one block at a time, copying each block into a small
+ * on-heap array. This keeps memory accesses sequential and cache-friendly, and products
+ * may be computed in parallel as their blocks are independent. Products may also be
+ * streamed into a memory-mapped destination using {@link #multiply(BufferRealMatrix,
+ * BufferRealMatrix, ForkJoinPool)}, so neither operands nor result need to fit in memory.
+ * </p>
+ * <p>
+ * Off-heap memory is released only when the matrix is garbage collected, and changes to
+ * a matrix mapped in {@link FileChannel.MapMode#READ_WRITE read-write} mode are written
+ * back to the file by the operating system at unspecified times, or when {@link #force()}
+ * is called.
+ * </p>
+ * @see BlockRealMatrix
+ * @since 4.1
+ */
+public class BufferRealMatrix extends AbstractRealMatrix {
+
+    /** Block size. */
+    private static final int BLOCK_SIZE = BlockRealMatrix.BLOCK_SIZE;
+
+    /** Number of bytes in a double. */
+    private static final int DOUBLE_BYTES = Double.SIZE / Byte.SIZE;
+
+    /** Maximum number of entries in one segment. */
+    private static final int MAX_SEGMENT_SIZE = Integer.MAX_VALUE / DOUBLE_BYTES;
+
+    /** Number of rows of the matrix. */
+    private final int rows;
+
+    /** Number of columns of the matrix. */
+    private final int columns;
+
+    /** Number of block rows of the matrix. */
+    private final int blockRows;
+
+    /** Number of block columns of the matrix. */
+    private final int blockColumns;
+
+    /** Number of block rows in each segment. */
+    private final int segmentBlockRows;
+
+    /** Raw storage of segments. */
+    private final ByteBuffer[] raw;
+
+    /** Segments holding the entries. */
+    private final DoubleBuffer[] segments;
+
+    /**
+     * Create a new matrix with the supplied row and column dimensions,
+     * allocated off-heap.
+     * <p>All entries are initialized to zero.</p>
+     *
+     * @param rows Number of rows in the new matrix.
+     * @param columns Number of columns in the new matrix.
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     * or if a block row is too large to fit in one segment.
+     */
+    public BufferRealMatrix(final int rows, final int columns)
+        throws MathIllegalArgumentException {
+        this(rows, columns, MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Create a new matrix allocated off-heap, with a specified segment size.
+     * @param rows Number of rows in the new matrix.
+     * @param columns Number of columns in the new matrix.
+     * @param maxSegmentSize maximum number of entries in one segment
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     * or if a block row is too large to fit in one segment.
+     */
+    BufferRealMatrix(final int rows, final int columns, final int maxSegmentSize)
+        throws MathIllegalArgumentException {
+        super(rows, columns);
+        this.rows             = rows;
+        this.columns          = columns;
+        this.blockRows        = (rows    + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blockColumns     = (columns + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.segmentBlockRows = computeSegmentBlockRows(columns, maxSegmentSize);
+        final int nbSegments  = (blockRows + segmentBlockRows - 1) / segmentBlockRows;
+        this.raw              = new ByteBuffer[nbSegments];
+        this.segments         = new DoubleBuffer[nbSegments];
+        for (int s = 0; s < nbSegments; ++s) {
+            setSegment(s, ByteBuffer.allocateDirect(segmentSize(s) * DOUBLE_BYTES));
+        }
+    }
+
+    /**
+     * Create a new matrix with the supplied row and column dimensions,
+     * memory-mapped from a file.
+     * <p>
+     * The file region starting at {@code position} must hold rows &times; columns
+     * little endian doubles laid out as described in the class documentation. In
+     * {@link FileChannel.MapMode#READ_WRITE read-write} mode, the file is extended
+     * if needed, and new entries are initialized to zero. In {@link
+     * FileChannel.MapMode#READ_ONLY read-only} mode, any attempt to change an
+     * entry triggers a {@link java.nio.ReadOnlyBufferException}.
+     * </p>
+     * <p>
+     * The mapping remains valid after the channel has been closed.
+     * </p>
+     *
+     * @param channel channel to the file to map
+     * @param mode mapping mode
+     * @param position position in the file at which the mapped region starts (in bytes)
+     * @param rows Number of rows in the new matrix.
+     * @param columns Number of columns in the new matrix.
+     * @throws IOException if the file cannot be mapped
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     * or if a block row is too large to fit in one segment.
+     */
+    public BufferRealMatrix(final FileChannel channel, final FileChannel.MapMode mode, final long position,
+                            final int rows, final int columns)
+        throws IOException, MathIllegalArgumentException {
+        this(channel, mode, position, rows, columns, MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Create a new matrix memory-mapped from a file, with a specified segment size.
+     * @param channel channel to the file to map
+     * @param mode mapping mode
+     * @param position position in the file at which the mapped region starts (in bytes)
+     * @param rows Number of rows in the new matrix.
+     * @param columns Number of columns in the new matrix.
+     * @param maxSegmentSize maximum number of entries in one segment
+     * @throws IOException if the file cannot be mapped
+     * @throws MathIllegalArgumentException if row or column dimension is not positive
+     * or if a block row is too large to fit in one segment.
+     */
+    BufferRealMatrix(final FileChannel channel, final FileChannel.MapMode mode, final long position,
+                     final int rows, final int columns, final int maxSegmentSize)
+        throws IOException, MathIllegalArgumentException {
+        super(rows, columns);
+        this.rows             = rows;
+        this.columns          = columns;
+        this.blockRows        = (rows    + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blockColumns     = (columns + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.segmentBlockRows = computeSegmentBlockRows(columns, maxSegmentSize);
+        final int nbSegments  = (blockRows + segmentBlockRows - 1) / segmentBlockRows;
+        this.raw              = new ByteBuffer[nbSegments];
+        this.segments         = new DoubleBuffer[nbSegments];
+        long offset = position;
+        for (int s = 0; s < nbSegments; ++s) {
+            final long size = ((long) segmentSize(s)) * DOUBLE_BYTES;
+            setSegment(s, channel.map(mode, offset, size));
+            offset += size;
+        }
+    }
+
+    /**
+     * Compute the number of block rows that fit in one segment.
+     * @param columns number of columns of the matrix
+     * @param maxSegmentSize maximum number of entries in one segment
+     * @return number of block rows in each segment
+     * @throws MathIllegalArgumentException if one block row does not fit in a segment
+     */
+    private static int computeSegmentBlockRows(final int columns, final int maxSegmentSize)
+        throws MathIllegalArgumentException {
+        final long blockRowSize = ((long) BLOCK_SIZE) * columns;
+        if (blockRowSize > maxSegmentSize) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE,
+                                                   columns, maxSegmentSize / BLOCK_SIZE);
+        }
+        return (int) (maxSegmentSize / blockRowSize);
+    }
+
+    /**
+     * Get the number of entries in a segment.
+     * @param s index of the segment
+     * @return number of entries in the segment
+     */
+    private int segmentSize(final int s) {
+        final int firstRow = s * segmentBlockRows * BLOCK_SIZE;
+        final int lastRow  = FastMath.min(firstRow + segmentBlockRows * BLOCK_SIZE, rows);
+        return (lastRow - firstRow) * columns;
+    }
+
+    /**
+     * Set the storage of a segment.
+     * @param s index of the segment
+     * @param buffer raw storage for the segment
+     */
+    private void setSegment(final int s, final ByteBuffer buffer) {
+        raw[s]      = buffer;
+        segments[s] = buffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BufferRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new BufferRealMatrix(rowDimension, columnDimension);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The copy is allocated off-heap, even if this matrix is memory-mapped.</p>
+     */
+    @Override
+    public BufferRealMatrix copy() {
+        final BufferRealMatrix copied = new BufferRealMatrix(rows, columns);
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                getBlock(iBlock, jBlock, block);
+                copied.setBlock(iBlock, jBlock, block);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Ensure changes to a memory-mapped matrix are written to the storage device.
+     * <p>This method does nothing for matrices allocated off-heap.</p>
+     * @see MappedByteBuffer#force()
+     */
+    public void force() {
+        for (final ByteBuffer buffer : raw) {
+            if (buffer instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) buffer).force();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int iBlock = row / BLOCK_SIZE;
+        final int jBlock = column / BLOCK_SIZE;
+        return segments[iBlock / segmentBlockRows].get(index(iBlock, jBlock, row, column));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int iBlock = row / BLOCK_SIZE;
+        final int jBlock = column / BLOCK_SIZE;
+        segments[iBlock / segmentBlockRows].put(index(iBlock, jBlock, row, column), value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int iBlock = row / BLOCK_SIZE;
+        final int jBlock = column / BLOCK_SIZE;
+        final DoubleBuffer segment = segments[iBlock / segmentBlockRows];
+        final int index = index(iBlock, jBlock, row, column);
+        segment.put(index, segment.get(index) + increment);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int iBlock = row / BLOCK_SIZE;
+        final int jBlock = column / BLOCK_SIZE;
+        final DoubleBuffer segment = segments[iBlock / segmentBlockRows];
+        final int index = index(iBlock, jBlock, row, column);
+        segment.put(index, segment.get(index) * factor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof BufferRealMatrix) {
+            return multiply((BufferRealMatrix) m, (ForkJoinPool) null);
+        } else {
+            return super.multiply(m);
+        }
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If both {@code m} and {@code out} are {@link BufferRealMatrix} instances, the
+     * product is streamed one block at a time into {@code out}, which may be memory-mapped.
+     * </p>
+     */
+    @Override
+    public RealMatrix multiply(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        if (m instanceof BufferRealMatrix && out instanceof BufferRealMatrix) {
+            return multiply((BufferRealMatrix) m, (BufferRealMatrix) out, (ForkJoinPool) null);
+        } else {
+            return super.multiply(m, out);
+        }
+    }
+
+    /**
+     * Returns the result of postmultiplying this by {@code m}, possibly in parallel.
+     * <p>
+     * The product is allocated off-heap, so its size is limited by the direct memory
+     * available to the JVM. Products too large for direct memory should be computed with
+     * {@link #multiply(BufferRealMatrix, BufferRealMatrix, ForkJoinPool)} into a memory-mapped
+     * destination. The product is computed one block at a time, and each block is computed
+     * exactly as in {@link BlockRealMatrix#multiply(BlockRealMatrix)}, so the result is
+     * identical bit for bit. If {@code pool} is not null, the blocks of the product are
+     * computed concurrently by the pool.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible.
+     */
+    public BufferRealMatrix multiply(final BufferRealMatrix m, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        return multiply(m, new BufferRealMatrix(rows, m.columns), pool);
+    }
+
+    /**
+     * Computes the result of postmultiplying this by {@code m} into a destination matrix,
+     * possibly in parallel.
+     * <p>
+     * No new matrix is allocated: each block of the product is computed in a small on-heap
+     * array and written to {@code out} as soon as it is complete. If {@code out} is
+     * memory-mapped, the product is therefore streamed to its file and only needs a few
+     * blocks of memory. Each block is computed exactly as in {@link
+     * BlockRealMatrix#multiply(BlockRealMatrix)}, so the result is identical bit for bit.
+     * If {@code pool} is not null, the blocks of the product are computed concurrently
+     * by the pool.
+     * </p>
+     * <p>
+     * As entries of both operands are needed until the end of the computation, the
+     * destination can be neither {@code this} nor {@code m}, and it must not be mapped
+     * on a file region overlapping one of the operands.
+     * </p>
+     *
+     * @param m Matrix to postmultiply by.
+     * @param out destination matrix
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return {@code out}, which now contains {@code this} * m.
+     * @throws MathIllegalArgumentException if the matrices are not compatible,
+     * if {@code out} does not have the expected size or if {@code out} is one
+     * of the operands
+     */
+    public BufferRealMatrix multiply(final BufferRealMatrix m, final BufferRealMatrix out,
+                                     final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, rows, m.columns);
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, m);
+        final int nbBlocks = out.blockRows * out.blockColumns;
+        if (pool == null || nbBlocks < 2) {
+            final double[][] scratch = new double[3][BLOCK_SIZE * BLOCK_SIZE];
+            for (int iBlock = 0; iBlock < out.blockRows; ++iBlock) {
+                for (int jBlock = 0; jBlock < out.blockColumns; ++jBlock) {
+                    multiplyBlock(m, out, iBlock, jBlock, scratch);
+                }
+            }
+        } else {
+            pool.invoke(new ProductTask(this, m, out, 0, nbBlocks));
+        }
+        return out;
+    }
+
+    /**
+     * Compute one block of the product {@code this * m}.
+     * @param m matrix to postmultiply by
+     * @param out product matrix
+     * @param iBlock row index (in block sense) of the block to compute
+     * @param jBlock column index (in block sense) of the block to compute
+     * @param scratch three arrays large enough to hold one block each
+     */
+    private void multiplyBlock(final BufferRealMatrix m, final BufferRealMatrix out,
+                               final int iBlock, final int jBlock, final double[][] scratch) {
+
+        final double[] tBlock   = scratch[0];
+        final double[] mBlock   = scratch[1];
+        final double[] outBlock = scratch[2];
+
+        final int pStart = iBlock * BLOCK_SIZE;
+        final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+
+        final int jWidth  = out.blockWidth(jBlock);
+        final int jWidth2 = jWidth  + jWidth;
+        final int jWidth3 = jWidth2 + jWidth;
+        final int jWidth4 = jWidth3 + jWidth;
+
+        Arrays.fill(outBlock, 0, (pEnd - pStart) * jWidth, 0.0);
+
+        // same computation as in BlockRealMatrix, one pair of blocks at a time
+        for (int kBlock = 0; kBlock < blockColumns; ++kBlock) {
+            final int kWidth = blockWidth(kBlock);
+            getBlock(iBlock, kBlock, tBlock);
+            m.getBlock(kBlock, jBlock, mBlock);
+            int k = 0;
+            for (int p = pStart; p < pEnd; ++p) {
+                final int lStart = (p - pStart) * kWidth;
+                final int lEnd   = lStart + kWidth;
+                for (int nStart = 0; nStart < jWidth; ++nStart) {
+                    double sum = 0;
+                    int l = lStart;
+                    int n = nStart;
+                    while (l < lEnd - 3) {
+                        sum += tBlock[l] * mBlock[n] +
+                               tBlock[l + 1] * mBlock[n + jWidth] +
+                               tBlock[l + 2] * mBlock[n + jWidth2] +
+                               tBlock[l + 3] * mBlock[n + jWidth3];
+                        l += 4;
+                        n += jWidth4;
+                    }
+                    while (l < lEnd) {
+                        sum += tBlock[l++] * mBlock[n];
+                        n += jWidth;
+                    }
+                    outBlock[k] += sum;
+                    ++k;
+                }
+            }
+        }
+
+        out.setBlock(iBlock, jBlock, outBlock);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, columns);
+        }
+        final double[] out   = new double[rows];
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+
+        // perform multiplication block-wise, streaming through storage
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                getBlock(iBlock, jBlock, block);
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                int k = 0;
+                for (int p = pStart; p < pEnd; ++p) {
+                    double sum = 0;
+                    for (int q = qStart; q < qEnd; ++q) {
+                        sum += block[k++] * v[q];
+                    }
+                    out[p] += sum;
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInRowOrder(final RealMatrixChangingVisitor visitor) {
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        for (int row = 0; row < rows; ++row) {
+            final int iBlock = row / BLOCK_SIZE;
+            final DoubleBuffer segment = segments[iBlock / segmentBlockRows];
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                int index = index(iBlock, jBlock, row, qStart);
+                for (int q = qStart; q < qEnd; ++q) {
+                    segment.put(index, visitor.visit(row, q, segment.get(index)));
+                    ++index;
+                }
+            }
+        }
+        return visitor.end();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInRowOrder(final RealMatrixPreservingVisitor visitor) {
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        for (int row = 0; row < rows; ++row) {
+            final int iBlock = row / BLOCK_SIZE;
+            final DoubleBuffer segment = segments[iBlock / segmentBlockRows];
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                int index = index(iBlock, jBlock, row, qStart);
+                for (int q = qStart; q < qEnd; ++q) {
+                    visitor.visit(row, q, segment.get(index++));
+                }
+            }
+        }
+        return visitor.end();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor) {
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                getBlock(iBlock, jBlock, block);
+                int k = 0;
+                for (int p = pStart; p < pEnd; ++p) {
+                    for (int q = qStart; q < qEnd; ++q) {
+                        block[k] = visitor.visit(p, q, block[k]);
+                        ++k;
+                    }
+                }
+                setBlock(iBlock, jBlock, block);
+            }
+        }
+        return visitor.end();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixPreservingVisitor visitor) {
+        visitor.start(rows, columns, 0, rows - 1, 0, columns - 1);
+        final double[] block = new double[BLOCK_SIZE * BLOCK_SIZE];
+        for (int iBlock = 0; iBlock < blockRows; ++iBlock) {
+            final int pStart = iBlock * BLOCK_SIZE;
+            final int pEnd   = FastMath.min(pStart + BLOCK_SIZE, rows);
+            for (int jBlock = 0; jBlock < blockColumns; ++jBlock) {
+                final int qStart = jBlock * BLOCK_SIZE;
+                final int qEnd   = FastMath.min(qStart + BLOCK_SIZE, columns);
+                getBlock(iBlock, jBlock, block);
+                int k = 0;
+                for (int p = pStart; p < pEnd; ++p) {
+                    for (int q = qStart; q < qEnd; ++q) {
+                        visitor.visit(p, q, block[k++]);
+                    }
+                }
+            }
+        }
+        return visitor.end();
+    }
+
+    /**
+     * Get the height of a block.
+     * @param blockRow row index (in block sense) of the block
+     * @return height (number of rows) of the block
+     */
+    private int blockHeight(final int blockRow) {
+        return (blockRow == blockRows - 1) ? rows - blockRow * BLOCK_SIZE : BLOCK_SIZE;
+    }
+
+    /**
+     * Get the width of a block.
+     * @param blockColumn column index (in block sense) of the block
+     * @return width (number of columns) of the block
+     */
+    private int blockWidth(final int blockColumn) {
+        return (blockColumn == blockColumns - 1) ? columns - blockColumn * BLOCK_SIZE : BLOCK_SIZE;
+    }
+
+    /**
+     * Get the index of the first entry of a block within its segment.
+     * @param iBlock row index (in block sense) of the block
+     * @param jBlock column index (in block sense) of the block
+     * @return index of the first entry of the block within its segment
+     */
+    private int blockStart(final int iBlock, final int jBlock) {
+        return (iBlock % segmentBlockRows) * BLOCK_SIZE * columns + jBlock * BLOCK_SIZE * blockHeight(iBlock);
+    }
+
+    /**
+     * Get the index of an entry within its segment.
+     * @param iBlock row index (in block sense) of the block containing the entry
+     * @param jBlock column index (in block sense) of the block containing the entry
+     * @param row row index of the entry
+     * @param column column index of the entry
+     * @return index of the entry within its segment
+     */
+    private int index(final int iBlock, final int jBlock, final int row, final int column) {
+        return blockStart(iBlock, jBlock) +
+               (row - iBlock * BLOCK_SIZE) * blockWidth(jBlock) + (column - jBlock * BLOCK_SIZE);
+    }
+
+    /**
+     * Copy one block from storage.
+     * <p>This method is thread-safe.</p>
+     * @param iBlock row index (in block sense) of the block
+     * @param jBlock column index (in block sense) of the block
+     * @param block array where to copy the block (must be large enough)
+     */
+    private void getBlock(final int iBlock, final int jBlock, final double[] block) {
+        final DoubleBuffer view = segments[iBlock / segmentBlockRows].duplicate();
+        view.position(blockStart(iBlock, jBlock));
+        view.get(block, 0, blockHeight(iBlock) * blockWidth(jBlock));
+    }
+
+    /**
+     * Copy one block to storage.
+     * <p>This method is thread-safe as long as distinct threads write distinct blocks.</p>
+     * @param iBlock row index (in block sense) of the block
+     * @param jBlock column index (in block sense) of the block
+     * @param block array containing the block
+     */
+    private void setBlock(final int iBlock, final int jBlock, final double[] block) {
+        final DoubleBuffer view = segments[iBlock / segmentBlockRows].duplicate();
+        view.position(blockStart(iBlock, jBlock));
+        view.put(block, 0, blockHeight(iBlock) * blockWidth(jBlock));
+    }
+
+    /** Task computing a range of blocks of a product by recursive splitting. */
+    private static class ProductTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Left matrix. */
+        private final transient BufferRealMatrix left;
+
+        /** Right matrix. */
+        private final transient BufferRealMatrix right;
+
+        /** Product matrix. */
+        private final transient BufferRealMatrix out;
+
+        /** Index of the first block to compute (included). */
+        private final int start;
+
+        /** Index of the last block to compute (excluded). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param left left matrix
+         * @param right right matrix
+         * @param out product matrix
+         * @param start index of the first block to compute (included)
+         * @param end index of the last block to compute (excluded)
+         */
+        ProductTask(final BufferRealMatrix left, final BufferRealMatrix right, final BufferRealMatrix out,
+                    final int start, final int end) {
+            this.left  = left;
+            this.right = right;
+            this.out   = out;
+            this.start = start;
+            this.end   = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                final double[][] scratch = new double[3][BLOCK_SIZE * BLOCK_SIZE];
+                left.multiplyBlock(right, out, start / out.blockColumns, start % out.blockColumns, scratch);
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new ProductTask(left, right, out, start, middle),
+                          new ProductTask(left, right, out, middle, end));
+            }
+        }
+
+    }
+
+}
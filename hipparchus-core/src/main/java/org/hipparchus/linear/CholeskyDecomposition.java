@@ -160,6 +160,135 @@ public class CholeskyDecomposition {
         }
     }
 
+    /**
+     * Update the decomposition after a rank-one modification A + x x<sup>T</sup>.
+     * <p>
+     * The factor is updated in place in O(n<sup>2</sup>) operations, using
+     * Givens rotations, instead of the O(n<sup>3</sup>) operations of a new
+     * decomposition. Solvers already retrieved from {@link #getSolver()} use
+     * the updated factor.
+     * </p>
+     * @param x vector defining the rank-one modification
+     * @throws MathIllegalArgumentException if the dimension of x does not match
+     * @since 4.1
+     */
+    public void update(final double[] x) {
+        final int order = checkDimension(x);
+        cachedL  = null;
+        cachedLT = null;
+
+        final double[] c = new double[order];
+        final double[] s = new double[order];
+        for (int j = 0; j < order; ++j) {
+
+            // apply the previous rotations to column j
+            double xJ = x[j];
+            for (int i = 0; i < j; ++i) {
+                final double[] ltI = lTData[i];
+                final double   t   = c[i] * ltI[j] + s[i] * xJ;
+                xJ     = c[i] * xJ - s[i] * ltI[j];
+                ltI[j] = t;
+            }
+
+            // compute the rotation that eliminates the remaining component
+            final double[] ltJ = lTData[j];
+            final double   r   = FastMath.hypot(ltJ[j], xJ);
+            c[j]   = ltJ[j] / r;
+            s[j]   = xJ / r;
+            ltJ[j] = r;
+
+        }
+    }
+
+    /**
+     * Update the decomposition after a rank-one modification A - x x<sup>T</sup>.
+     * <p>
+     * The factor is updated in place in O(n<sup>2</sup>) operations, using the
+     * orthogonal rotations of the LINPACK {@code dchdd} algorithm, instead of
+     * the O(n<sup>3</sup>) operations of a new decomposition. Solvers already retrieved
+     * from {@link #getSolver()} use the updated factor. If the modified matrix is not
+     * positive definite, an exception is thrown and the decomposition is left unchanged.
+     * </p>
+     * @param x vector defining the rank-one modification
+     * @throws MathIllegalArgumentException if the dimension of x does not match
+     * @throws MathIllegalArgumentException if the modified matrix is not
+     * strictly positive definite
+     * @since 4.1
+     */
+    public void downdate(final double[] x) {
+        final int order = checkDimension(x);
+
+        // solve L a = x
+        final double[] a = x.clone();
+        double norm2 = 0;
+        for (int j = 0; j < order; ++j) {
+            final double[] ltJ = lTData[j];
+            a[j] /= ltJ[j];
+            final double aJ = a[j];
+            for (int i = j + 1; i < order; ++i) {
+                a[i] -= aJ * ltJ[i];
+            }
+            norm2 += aJ * aJ;
+        }
+        if (norm2 >= 1.0) {
+            // the decomposition is left unchanged
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+        }
+        cachedL  = null;
+        cachedLT = null;
+
+        // compute the rotations
+        final double[] c = new double[order];
+        final double[] s = new double[order];
+        double alpha = FastMath.sqrt(1.0 - norm2);
+        for (int i = order - 1; i >= 0; --i) {
+            final double scale = alpha + FastMath.abs(a[i]);
+            final double aI    = a[i] / scale;
+            final double b     = alpha / scale;
+            final double norm  = FastMath.sqrt(aI * aI + b * b);
+            c[i]  = b / norm;
+            s[i]  = aI / norm;
+            alpha = scale * norm;
+        }
+
+        // apply the rotations to the columns of L^T
+        for (int j = 0; j < order; ++j) {
+            double xx = 0;
+            for (int i = j; i >= 0; --i) {
+                final double[] ltI = lTData[i];
+                final double   t   = c[i] * xx + s[i] * ltI[j];
+                ltI[j] = c[i] * ltI[j] - s[i] * xx;
+                xx     = t;
+            }
+        }
+
+        // keep a positive diagonal
+        for (int i = 0; i < order; ++i) {
+            final double[] ltI = lTData[i];
+            if (ltI[i] < 0) {
+                for (int j = i; j < order; ++j) {
+                    ltI[j] = -ltI[j];
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Check the dimension of a rank-one modification vector.
+     * @param x vector defining the rank-one modification
+     * @return order of the decomposed matrix
+     * @throws MathIllegalArgumentException if the dimension of x does not match
+     */
+    private int checkDimension(final double[] x) {
+        final int order = lTData.length;
+        if (x.length != order) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x.length, order);
+        }
+        return order;
+    }
+
     /**
      * Returns the matrix L of the decomposition.
      * <p>L is an lower-triangular matrix</p>
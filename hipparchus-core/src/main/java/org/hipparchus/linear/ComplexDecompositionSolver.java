@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Solver for complex linear systems working on interleaved primitive storage.
+ * <p>
+ * In addition to the generic {@link FieldDecompositionSolver} methods, which
+ * convert their arguments, this interface provides methods that work directly
+ * on {@link ComplexVector} and {@link ComplexMatrix} instances without creating
+ * any {@link Complex} objects.
+ * </p>
+ * @see ComplexLUDecomposition
+ * @see ComplexQRDecomposition
+ * @since 4.1
+ */
+public interface ComplexDecompositionSolver extends FieldDecompositionSolver<Complex> {
+
+    /** Solve the linear equation A &times; X = B for matrices A.
+     * <p>The A matrix is implicit, it is provided by the underlying
+     * decomposition algorithm.</p>
+     * @param b right-hand side of the equation A &times; X = B
+     * @return a vector X that minimizes the two norm of A &times; X - B
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     * or the decomposed matrix is singular
+     */
+    ComplexVector solve(ComplexVector b) throws MathIllegalArgumentException;
+
+    /** Solve the linear equation A &times; X = B for matrices A.
+     * <p>The A matrix is implicit, it is provided by the underlying
+     * decomposition algorithm.</p>
+     * @param b right-hand side of the equation A &times; X = B
+     * @return a matrix X that minimizes the two norm of A &times; X - B
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     * or the decomposed matrix is singular
+     */
+    ComplexMatrix solve(ComplexMatrix b) throws MathIllegalArgumentException;
+
+    /** {@inheritDoc} */
+    @Override
+    default FieldVector<Complex> solve(final FieldVector<Complex> b) throws MathIllegalArgumentException {
+        return solve(new ComplexVector(b)).toFieldVector();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    default FieldMatrix<Complex> solve(final FieldMatrix<Complex> b) throws MathIllegalArgumentException {
+        return solve(b instanceof ComplexMatrix ? (ComplexMatrix) b : new ComplexMatrix(b));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    ComplexMatrix getInverse() throws MathIllegalArgumentException;
+
+}
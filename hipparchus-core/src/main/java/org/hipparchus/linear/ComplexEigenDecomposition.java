@@ -156,13 +156,13 @@ public class ComplexEigenDecomposition {
 
         // V
         final int m = eigenvectors.length;
-        V = MatrixUtils.createFieldMatrix(ComplexField.getInstance(), m, m);
+        V = new ComplexMatrix(m, m);
         for (int k = 0; k < m; ++k) {
             V.setColumnVector(k, eigenvectors[k]);
         }
 
         // D
-        D = MatrixUtils.createFieldDiagonalMatrix(eigenvalues);
+        D = new ComplexMatrix(MatrixUtils.createFieldDiagonalMatrix(eigenvalues));
 
         checkDefinition(matrix);
     }
@@ -260,6 +260,36 @@ public class ComplexEigenDecomposition {
         return V.transpose();
     }
 
+    /**
+     * Getter V, as a complex matrix with interleaved primitive storage.
+     *
+     * @return a copy of V.
+     * @since 4.1
+     */
+    public ComplexMatrix getComplexV() {
+        return new ComplexMatrix(V);
+    }
+
+    /**
+     * Getter D, as a complex matrix with interleaved primitive storage.
+     *
+     * @return a copy of D.
+     * @since 4.1
+     */
+    public ComplexMatrix getComplexD() {
+        return new ComplexMatrix(D);
+    }
+
+    /**
+     * Getter VT, as a complex matrix with interleaved primitive storage.
+     *
+     * @return VT.
+     * @since 4.1
+     */
+    public ComplexMatrix getComplexVT() {
+        return getComplexV().transpose();
+    }
+
     /**
      * Compute eigen values using the Schur transform.
      *
@@ -301,18 +331,24 @@ public class ComplexEigenDecomposition {
         // eigen vectors
         eigenvectors = (FieldVector<Complex>[]) Array.newInstance(FieldVector.class, n);
 
+        // primitive storage avoids boxing entries during the decompositions
+        final ComplexMatrix complexMatrix = matrix instanceof ComplexMatrix ?
+                                            (ComplexMatrix) matrix : new ComplexMatrix(matrix);
+
         // computing eigen vector based on eigen values and inverse iteration
         for (int i = 0; i < eigenvalues.length; i++) {
 
             // shifted non-singular matrix matrix A-(λ+ε)I that is close to the singular matrix A-λI
             Complex mu = eigenvalues[i].add(epsilon);
-            final FieldMatrix<Complex> shifted = matrix.copy();
-            for (int k = 0; k < matrix.getColumnDimension(); ++k) {
-                shifted.setEntry(k, k, shifted.getEntry(k, k).subtract(mu));
+            final ComplexMatrix shifted = complexMatrix.copy();
+            final double[] shiftedData = shifted.getDataRef();
+            for (int k = 0; k < n; ++k) {
+                shiftedData[2 * (k * n + k)]     -= mu.getReal();
+                shiftedData[2 * (k * n + k) + 1] -= mu.getImaginary();
             }
 
             // solver for linear system (A - (λ+ε)I) Bₖ₊₁ = Bₖ
-            FieldDecompositionSolver<Complex> solver = new FieldQRDecomposition<>(shifted).getSolver();
+            FieldDecompositionSolver<Complex> solver = new ComplexQRDecomposition(shifted).getSolver();
 
             // loop over possible start vectors
             for (int p = 0; eigenvectors[i] == null && p < matrix.getColumnDimension(); ++p) {
@@ -493,14 +529,6 @@ public class ComplexEigenDecomposition {
      * @return complex matrix.
      */
     private FieldMatrix<Complex> convertToFieldComplex(RealMatrix matrix) {
-        final FieldMatrix<Complex> toRet =
-                        MatrixUtils.createFieldIdentityMatrix(ComplexField.getInstance(),
-                                                              matrix.getRowDimension());
-        for (int i = 0; i < toRet.getRowDimension(); i++) {
-            for (int j = 0; j < toRet.getColumnDimension(); j++) {
-                toRet.setEntry(i, j, new Complex(matrix.getEntry(i, j)));
-            }
-        }
-        return toRet;
+        return new ComplexMatrix(matrix);
     }
 }
@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * LU decomposition of dense complex matrices stored in interleaved primitive arrays.
+ * <p>
+ * The LU-decomposition of a square matrix A is a pair of matrices L and U
+ * such that P&times;A = L&times;U, where L is unit lower triangular, U is upper
+ * triangular and P is a rows permutation matrix. Pivots are selected by
+ * largest modulus (partial pivoting).
+ * </p>
+ * <p>
+ * This class is the complex counterpart of {@link LUDecomposition}. It
+ * works directly on the interleaved storage of {@link ComplexMatrix}, so
+ * no {@link Complex} instance is created during decomposition or solving,
+ * contrary to {@link FieldLUDecomposition FieldLUDecomposition&lt;Complex&gt;}.
+ * </p>
+ * @see ComplexQRDecomposition
+ * @since 4.1
+ */
+public class ComplexLUDecomposition {
+
+    /** Default bound to determine effective singularity in LU decomposition. */
+    private static final double DEFAULT_TOO_SMALL = 1e-11;
+
+    /** Entries of LU decomposition, one interleaved array per row. */
+    private final double[][] lu;
+
+    /** Pivot permutation associated with LU decomposition. */
+    private final int[] pivot;
+
+    /** Parity of the permutation associated with the LU decomposition. */
+    private boolean even;
+
+    /** Singularity indicator. */
+    private boolean singular;
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     * This constructor uses 1e-11 as default value for the singularity
+     * threshold.
+     *
+     * @param matrix Matrix to decompose.
+     * @throws MathIllegalArgumentException if matrix is not square.
+     */
+    public ComplexLUDecomposition(final ComplexMatrix matrix) {
+        this(matrix, DEFAULT_TOO_SMALL);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix.
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold on pivots modulus
+     * under which a matrix is considered singular
+     * @throws MathIllegalArgumentException if matrix is not square
+     */
+    public ComplexLUDecomposition(final ComplexMatrix matrix, final double singularityThreshold) {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+
+        final int      m    = matrix.getColumnDimension();
+        final double[] data = matrix.getDataRef();
+        lu    = new double[m][];
+        pivot = new int[m];
+        for (int i = 0; i < m; ++i) {
+            lu[i]    = new double[2 * m];
+            System.arraycopy(data, 2 * i * m, lu[i], 0, 2 * m);
+            pivot[i] = i;
+        }
+        even     = true;
+        singular = false;
+
+        // right-looking elimination, row by row updates are contiguous in memory
+        final double threshold2 = singularityThreshold * singularityThreshold;
+        for (int col = 0; col < m; ++col) {
+
+            // search the largest modulus pivot in the column
+            int    best     = col;
+            double largest2 = Double.NEGATIVE_INFINITY;
+            for (int row = col; row < m; ++row) {
+                final double re = lu[row][2 * col];
+                final double im = lu[row][2 * col + 1];
+                final double modulus2 = re * re + im * im;
+                if (modulus2 > largest2) {
+                    largest2 = modulus2;
+                    best     = row;
+                }
+            }
+
+            // singularity check
+            if (largest2 < threshold2) {
+                singular = true;
+                return;
+            }
+
+            // pivot if necessary
+            if (best != col) {
+                final double[] tmp = lu[best];
+                lu[best] = lu[col];
+                lu[col]  = tmp;
+                final int t = pivot[best];
+                pivot[best] = pivot[col];
+                pivot[col]  = t;
+                even = !even;
+            }
+
+            // inverse of the pivot
+            final double[] luCol = lu[col];
+            final double   pRe   = luCol[2 * col];
+            final double   pIm   = luCol[2 * col + 1];
+            final double   invRe =  pRe / largest2;
+            final double   invIm = -pIm / largest2;
+
+            // update the trailing matrix
+            for (int row = col + 1; row < m; ++row) {
+                final double[] luRow = lu[row];
+                final double   aRe   = luRow[2 * col];
+                final double   aIm   = luRow[2 * col + 1];
+                final double   lRe   = aRe * invRe - aIm * invIm;
+                final double   lIm   = aRe * invIm + aIm * invRe;
+                luRow[2 * col]     = lRe;
+                luRow[2 * col + 1] = lIm;
+                for (int k = 2 * (col + 1); k < 2 * m; k += 2) {
+                    final double uRe = luCol[k];
+                    final double uIm = luCol[k + 1];
+                    luRow[k]     -= lRe * uRe - lIm * uIm;
+                    luRow[k + 1] -= lRe * uIm + lIm * uRe;
+                }
+            }
+
+        }
+    }
+
+    /**
+     * Returns the matrix L of the decomposition.
+     * <p>L is a unit lower-triangular matrix</p>
+     * @return the L matrix (or null if decomposed matrix is singular)
+     */
+    public ComplexMatrix getL() {
+        if (singular) {
+            return null;
+        }
+        final int m = pivot.length;
+        final ComplexMatrix l = ComplexMatrix.createIdentity(m);
+        final double[] d = l.getDataRef();
+        for (int i = 0; i < m; ++i) {
+            System.arraycopy(lu[i], 0, d, 2 * i * m, 2 * i);
+        }
+        return l;
+    }
+
+    /**
+     * Returns the matrix U of the decomposition.
+     * <p>U is an upper-triangular matrix</p>
+     * @return the U matrix (or null if decomposed matrix is singular)
+     */
+    public ComplexMatrix getU() {
+        if (singular) {
+            return null;
+        }
+        final int m = pivot.length;
+        final ComplexMatrix u = new ComplexMatrix(m, m);
+        final double[] d = u.getDataRef();
+        for (int i = 0; i < m; ++i) {
+            System.arraycopy(lu[i], 2 * i, d, 2 * (i * m + i), 2 * (m - i));
+        }
+        return u;
+    }
+
+    /**
+     * Returns the P rows permutation matrix.
+     * <p>P is a sparse matrix with exactly one element set to 1.0 in
+     * each row and each column, all other elements being set to 0.0.</p>
+     * <p>The positions of the 1 elements are given by the {@link #getPivot()
+     * pivot permutation vector}.</p>
+     * @return the P rows permutation matrix (or null if decomposed matrix is singular)
+     * @see #getPivot()
+     */
+    public RealMatrix getP() {
+        if (singular) {
+            return null;
+        }
+        final int m = pivot.length;
+        final RealMatrix p = MatrixUtils.createRealMatrix(m, m);
+        for (int i = 0; i < m; ++i) {
+            p.setEntry(i, pivot[i], 1.0);
+        }
+        return p;
+    }
+
+    /**
+     * Returns the pivot permutation vector.
+     * @return the pivot permutation vector
+     * @see #getP()
+     */
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+
+    /**
+     * Return the determinant of the matrix
+     * @return determinant of the matrix
+     */
+    public Complex getDeterminant() {
+        if (singular) {
+            return Complex.ZERO;
+        }
+        double re = even ? 1 : -1;
+        double im = 0;
+        for (int i = 0; i < pivot.length; i++) {
+            final double dRe = lu[i][2 * i];
+            final double dIm = lu[i][2 * i + 1];
+            final double t   = re * dRe - im * dIm;
+            im = re * dIm + im * dRe;
+            re = t;
+        }
+        return new Complex(re, im);
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in exact linear
+     * sense.
+     * @return a solver
+     */
+    public ComplexDecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements ComplexDecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            return !singular;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ComplexVector solve(final ComplexVector b) {
+            final int m = pivot.length;
+            checkSolvable(b.getDimension());
+            final double[] bData = b.getDataRef();
+
+            // apply permutations to b
+            final double[] bp = new double[2 * m];
+            for (int row = 0; row < m; row++) {
+                bp[2 * row]     = bData[2 * pivot[row]];
+                bp[2 * row + 1] = bData[2 * pivot[row] + 1];
+            }
+
+            // solve LY = b
+            for (int col = 0; col < m; col++) {
+                final double yRe = bp[2 * col];
+                final double yIm = bp[2 * col + 1];
+                for (int i = col + 1; i < m; i++) {
+                    final double lRe = lu[i][2 * col];
+                    final double lIm = lu[i][2 * col + 1];
+                    bp[2 * i]     -= lRe * yRe - lIm * yIm;
+                    bp[2 * i + 1] -= lRe * yIm + lIm * yRe;
+                }
+            }
+
+            // solve UX = Y
+            for (int col = m - 1; col >= 0; col--) {
+                divide(bp, 2 * col, lu[col][2 * col], lu[col][2 * col + 1]);
+                final double xRe = bp[2 * col];
+                final double xIm = bp[2 * col + 1];
+                for (int i = 0; i < col; i++) {
+                    final double uRe = lu[i][2 * col];
+                    final double uIm = lu[i][2 * col + 1];
+                    bp[2 * i]     -= uRe * xRe - uIm * xIm;
+                    bp[2 * i + 1] -= uRe * xIm + uIm * xRe;
+                }
+            }
+
+            return new ComplexVector(bp, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ComplexMatrix solve(final ComplexMatrix b) {
+
+            final int m = pivot.length;
+            checkSolvable(b.getRowDimension());
+            final int      nColB = b.getColumnDimension();
+            final double[] bData = b.getDataRef();
+
+            // apply permutations to b
+            final double[][] bp = new double[m][2 * nColB];
+            for (int row = 0; row < m; row++) {
+                System.arraycopy(bData, 2 * pivot[row] * nColB, bp[row], 0, 2 * nColB);
+            }
+
+            // solve LY = b
+            for (int col = 0; col < m; col++) {
+                final double[] bpCol = bp[col];
+                for (int i = col + 1; i < m; i++) {
+                    subtractScaled(bp[i], lu[i][2 * col], lu[i][2 * col + 1], bpCol);
+                }
+            }
+
+            // solve UX = Y
+            for (int col = m - 1; col >= 0; col--) {
+                final double[] bpCol = bp[col];
+                final double   dRe   = lu[col][2 * col];
+                final double   dIm   = lu[col][2 * col + 1];
+                for (int j = 0; j < 2 * nColB; j += 2) {
+                    divide(bpCol, j, dRe, dIm);
+                }
+                for (int i = 0; i < col; i++) {
+                    subtractScaled(bp[i], lu[i][2 * col], lu[i][2 * col + 1], bpCol);
+                }
+            }
+
+            final double[] x = new double[2 * m * nColB];
+            for (int row = 0; row < m; row++) {
+                System.arraycopy(bp[row], 0, x, 2 * row * nColB, 2 * nColB);
+            }
+            return new ComplexMatrix(m, nColB, x, false);
+
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         * @throws MathIllegalArgumentException if the decomposed matrix is singular.
+         */
+        @Override
+        public ComplexMatrix getInverse() {
+            return solve(ComplexMatrix.createIdentity(pivot.length));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return lu.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return lu.length;
+        }
+
+        /** Check a system can be solved.
+         * @param dimension dimension of the right-hand side
+         * @throws MathIllegalArgumentException if dimension does not match or matrix is singular
+         */
+        private void checkSolvable(final int dimension) throws MathIllegalArgumentException {
+            if (dimension != pivot.length) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       dimension, pivot.length);
+            }
+            if (singular) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+        }
+
+    }
+
+    /** Subtract a scaled interleaved row from another one.
+     * @param target row to update
+     * @param aRe real part of the scaling factor
+     * @param aIm imaginary part of the scaling factor
+     * @param source row to scale
+     */
+    static void subtractScaled(final double[] target, final double aRe, final double aIm,
+                               final double[] source) {
+        for (int j = 0; j < source.length; j += 2) {
+            final double sRe = source[j];
+            final double sIm = source[j + 1];
+            target[j]     -= aRe * sRe - aIm * sIm;
+            target[j + 1] -= aRe * sIm + aIm * sRe;
+        }
+    }
+
+    /** Divide in place an interleaved entry by a complex number.
+     * @param array interleaved array
+     * @param k index of the real part of the entry
+     * @param dRe real part of the divisor
+     * @param dIm imaginary part of the divisor
+     */
+    static void divide(final double[] array, final int k, final double dRe, final double dIm) {
+        final double re = array[k];
+        final double im = array[k + 1];
+        if (FastMath.abs(dRe) >= FastMath.abs(dIm)) {
+            // Smith's algorithm to avoid overflow
+            final double r = dIm / dRe;
+            final double s = dRe + dIm * r;
+            array[k]     = (re + im * r) / s;
+            array[k + 1] = (im - re * r) / s;
+        } else {
+            final double r = dRe / dIm;
+            final double s = dIm + dRe * r;
+            array[k]     = (re * r + im) / s;
+            array[k + 1] = (im * r - re) / s;
+        }
+    }
+
+}
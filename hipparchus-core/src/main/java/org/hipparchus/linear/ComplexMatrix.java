@@ -0,0 +1,544 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.complex.ComplexField;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Dense complex matrix backed by an interleaved primitive array.
+ * <p>
+ * Entries are stored row by row in a single {@code double} array, with
+ * the real and imaginary parts of entry (i, j) at indices 2(i&times;n + j)
+ * and 2(i&times;n + j) + 1, n being the column dimension. Arithmetic between
+ * instances of this class, {@link #multiply(ComplexMatrix) products} included,
+ * works directly on the primitive arrays and creates no {@link Complex}
+ * instances. This is orders of magnitude faster and lighter than
+ * {@link Array2DRowFieldMatrix Array2DRowFieldMatrix&lt;Complex&gt;} which
+ * stores one object per entry.
+ * </p>
+ * <p>
+ * This class implements {@link FieldMatrix FieldMatrix&lt;Complex&gt;}, so
+ * it can be used anywhere a generic complex matrix is expected. Methods
+ * inherited from the generic API that retrieve entries one at a time as
+ * {@link Complex} instances work but do not benefit from the primitive storage.
+ * Systems can be solved using {@link ComplexLUDecomposition} or {@link
+ * ComplexQRDecomposition}, and Hermitian matrices can be diagonalized using
+ * {@link HermitianEigenDecomposition}.
+ * </p>
+ * @see ComplexVector
+ * @since 4.1
+ */
+public class ComplexMatrix extends AbstractFieldMatrix<Complex> implements Serializable {
+
+    /** Block size for cache-friendly products (in complex entries). */
+    static final int BLOCK_SIZE = 48;
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Number of columns. */
+    private final int columns;
+
+    /** Interleaved entries, row by row. */
+    private final double[] data;
+
+    /** Build a matrix with all entries set to zero.
+     * @param rowDimension number of rows
+     * @param columnDimension number of columns
+     * @throws MathIllegalArgumentException if a dimension is not positive
+     */
+    public ComplexMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        super(ComplexField.getInstance(), rowDimension, columnDimension);
+        this.rows    = rowDimension;
+        this.columns = columnDimension;
+        this.data    = new double[2 * rowDimension * columnDimension];
+    }
+
+    /** Build a matrix from an interleaved array.
+     * @param rowDimension number of rows
+     * @param columnDimension number of columns
+     * @param interleaved interleaved entries, row by row
+     * @param copyArray if true, the array is copied, otherwise it is referenced
+     * @throws MathIllegalArgumentException if the array size does not match dimensions
+     */
+    public ComplexMatrix(final int rowDimension, final int columnDimension,
+                         final double[] interleaved, final boolean copyArray)
+        throws MathIllegalArgumentException {
+        super(ComplexField.getInstance(), rowDimension, columnDimension);
+        if (interleaved.length != 2 * rowDimension * columnDimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   interleaved.length, 2 * rowDimension * columnDimension);
+        }
+        this.rows    = rowDimension;
+        this.columns = columnDimension;
+        this.data    = copyArray ? interleaved.clone() : interleaved;
+    }
+
+    /** Build a matrix from complex entries.
+     * @param d entries, as an array of rows
+     * @throws MathIllegalArgumentException if the array is empty or not rectangular
+     */
+    public ComplexMatrix(final Complex[][] d) throws MathIllegalArgumentException {
+        this(d.length, d.length == 0 ? 0 : d[0].length);
+        for (int i = 0; i < rows; ++i) {
+            checkRowLength(d[i].length);
+            for (int j = 0; j < columns; ++j) {
+                final int k = index(i, j);
+                data[k]     = d[i][j].getReal();
+                data[k + 1] = d[i][j].getImaginary();
+            }
+        }
+    }
+
+    /** Build a matrix from real and imaginary parts.
+     * @param real real parts of the entries
+     * @param imaginary imaginary parts of the entries
+     * @throws MathIllegalArgumentException if the parts dimensions do not match
+     */
+    public ComplexMatrix(final RealMatrix real, final RealMatrix imaginary)
+        throws MathIllegalArgumentException {
+        this(real.getRowDimension(), real.getColumnDimension());
+        MatrixUtils.checkAdditionCompatible(real, imaginary);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                final int k = index(i, j);
+                data[k]     = real.getEntry(i, j);
+                data[k + 1] = imaginary.getEntry(i, j);
+            }
+        }
+    }
+
+    /** Build a matrix from a real matrix.
+     * @param real real matrix to convert, imaginary parts are set to zero
+     */
+    public ComplexMatrix(final RealMatrix real) {
+        this(real.getRowDimension(), real.getColumnDimension());
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                data[index(i, j)] = real.getEntry(i, j);
+            }
+        }
+    }
+
+    /** Build a matrix from a field matrix.
+     * @param m field matrix to convert
+     */
+    public ComplexMatrix(final FieldMatrix<Complex> m) {
+        this(m.getRowDimension(), m.getColumnDimension());
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                final Complex c = m.getEntry(i, j);
+                final int     k = index(i, j);
+                data[k]     = c.getReal();
+                data[k + 1] = c.getImaginary();
+            }
+        }
+    }
+
+    /** Build an identity matrix.
+     * @param dimension dimension of the matrix
+     * @return a new identity matrix
+     */
+    public static ComplexMatrix createIdentity(final int dimension) {
+        final ComplexMatrix identity = new ComplexMatrix(dimension, dimension);
+        for (int i = 0; i < dimension; ++i) {
+            identity.data[identity.index(i, i)] = 1.0;
+        }
+        return identity;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ComplexMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new ComplexMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ComplexMatrix copy() {
+        return new ComplexMatrix(rows, columns, data, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** Get a reference to the underlying interleaved storage.
+     * <p>
+     * The real and imaginary parts of entry (i, j) are at indices
+     * 2(i&times;n + j) and 2(i&times;n + j) + 1, n being the column dimension.
+     * </p>
+     * @return reference to the underlying storage
+     */
+    public double[] getDataRef() {
+        return data; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Complex getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int k = index(row, column);
+        return new Complex(data[k], data[k + 1]);
+    }
+
+    /** Get the real part of an entry.
+     * @param row row index
+     * @param column column index
+     * @return real part of the entry
+     * @throws MathIllegalArgumentException if an index is not valid
+     */
+    public double getReal(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return data[index(row, column)];
+    }
+
+    /** Get the imaginary part of an entry.
+     * @param row row index
+     * @param column column index
+     * @return imaginary part of the entry
+     * @throws MathIllegalArgumentException if an index is not valid
+     */
+    public double getImaginary(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return data[index(row, column) + 1];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final Complex value)
+        throws MathIllegalArgumentException {
+        setEntry(row, column, value.getReal(), value.getImaginary());
+    }
+
+    /** Set an entry.
+     * @param row row index
+     * @param column column index
+     * @param real real part of the new value
+     * @param imaginary imaginary part of the new value
+     * @throws MathIllegalArgumentException if an index is not valid
+     */
+    public void setEntry(final int row, final int column, final double real, final double imaginary)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int k = index(row, column);
+        data[k]     = real;
+        data[k + 1] = imaginary;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final Complex increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int k = index(row, column);
+        data[k]     += increment.getReal();
+        data[k + 1] += increment.getImaginary();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final Complex factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        final int    k  = index(row, column);
+        final double re = data[k];
+        final double im = data[k + 1];
+        data[k]     = re * factor.getReal() - im * factor.getImaginary();
+        data[k + 1] = re * factor.getImaginary() + im * factor.getReal();
+    }
+
+    /** Get the real part of the matrix.
+     * @return a new real matrix containing the real parts of the entries
+     */
+    public RealMatrix getRealPart() {
+        return extractPart(0);
+    }
+
+    /** Get the imaginary part of the matrix.
+     * @return a new real matrix containing the imaginary parts of the entries
+     */
+    public RealMatrix getImaginaryPart() {
+        return extractPart(1);
+    }
+
+    /** Compute the sum of the instance and another matrix.
+     * @param m matrix to add
+     * @return a new matrix containing {@code this} + m
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public ComplexMatrix add(final ComplexMatrix m) throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        final double[] out = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            out[k] = data[k] + m.data[k];
+        }
+        return new ComplexMatrix(rows, columns, out, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldMatrix<Complex> add(final FieldMatrix<Complex> m) throws MathIllegalArgumentException {
+        if (m instanceof ComplexMatrix) {
+            return add((ComplexMatrix) m);
+        }
+        return super.add(m);
+    }
+
+    /** Compute the difference of the instance and another matrix.
+     * @param m matrix to subtract
+     * @return a new matrix containing {@code this} - m
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public ComplexMatrix subtract(final ComplexMatrix m) throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        final double[] out = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            out[k] = data[k] - m.data[k];
+        }
+        return new ComplexMatrix(rows, columns, out, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldMatrix<Complex> subtract(final FieldMatrix<Complex> m) throws MathIllegalArgumentException {
+        if (m instanceof ComplexMatrix) {
+            return subtract((ComplexMatrix) m);
+        }
+        return super.subtract(m);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ComplexMatrix scalarMultiply(final Complex d) {
+        final double dRe = d.getReal();
+        final double dIm = d.getImaginary();
+        final double[] out = new double[data.length];
+        for (int k = 0; k < data.length; k += 2) {
+            final double re = data[k];
+            final double im = data[k + 1];
+            out[k]     = dRe * re - dIm * im;
+            out[k + 1] = dRe * im + dIm * re;
+        }
+        return new ComplexMatrix(rows, columns, out, false);
+    }
+
+    /** Compute the product of the instance by another matrix.
+     * @param m right operand
+     * @return a new matrix containing {@code this} &times; m
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public ComplexMatrix multiply(final ComplexMatrix m) throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        final ComplexMatrix out = new ComplexMatrix(rows, m.columns);
+        multiplyInto(m, out.data);
+        return out;
+    }
+
+    /** Compute the product of the instance by another matrix.
+     * @param m right operand
+     * @param out destination matrix, must be different from both {@code this} and {@code m}
+     * @return {@code out}, containing {@code this} &times; m
+     * @throws MathIllegalArgumentException if dimensions do not match
+     * or if {@code out} is one of the operands
+     */
+    public ComplexMatrix multiply(final ComplexMatrix m, final ComplexMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, rows, m.columns);
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, m);
+        Arrays.fill(out.data, 0.0);
+        multiplyInto(m, out.data);
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldMatrix<Complex> multiply(final FieldMatrix<Complex> m) throws MathIllegalArgumentException {
+        if (m instanceof ComplexMatrix) {
+            return multiply((ComplexMatrix) m);
+        }
+        return super.multiply(m);
+    }
+
+    /** Compute the conjugate transpose (Hermitian adjoint) of the instance.
+     * @return a new matrix containing {@code this}<sup>H</sup>
+     */
+    public ComplexMatrix conjugateTranspose() {
+        return transpose(true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ComplexMatrix transpose() {
+        return transpose(false);
+    }
+
+    /** Compute the product of the instance by a vector.
+     * @param v vector to multiply
+     * @return a new vector containing {@code this} &times; v
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public ComplexVector operate(final ComplexVector v) throws MathIllegalArgumentException {
+        if (v.getDimension() != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.getDimension(), columns);
+        }
+        final double[] x   = v.getDataRef();
+        final double[] out = new double[2 * rows];
+        for (int i = 0; i < rows; ++i) {
+            double re = 0;
+            double im = 0;
+            for (int j = 0, k = 2 * i * columns; j < 2 * columns; j += 2, k += 2) {
+                final double aRe = data[k];
+                final double aIm = data[k + 1];
+                re += aRe * x[j] - aIm * x[j + 1];
+                im += aRe * x[j + 1] + aIm * x[j];
+            }
+            out[2 * i]     = re;
+            out[2 * i + 1] = im;
+        }
+        return new ComplexVector(out, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FieldVector<Complex> operate(final FieldVector<Complex> v) throws MathIllegalArgumentException {
+        return operate(new ComplexVector(v)).toFieldVector();
+    }
+
+    /** Get the Frobenius norm of the matrix.
+     * @return square root of the sum of the squared moduli of all entries
+     */
+    public double getFrobeniusNorm() {
+        double sum = 0;
+        for (final double x : data) {
+            sum += x * x;
+        }
+        return FastMath.sqrt(sum);
+    }
+
+    /** Compute the index of the real part of an entry in the interleaved storage.
+     * @param row row index
+     * @param column column index
+     * @return index of the real part (the imaginary part is at the next index)
+     */
+    private int index(final int row, final int column) {
+        return 2 * (row * columns + column);
+    }
+
+    /** Check the length of a row.
+     * @param length row length
+     * @throws MathIllegalArgumentException if the row length does not match the column dimension
+     */
+    private void checkRowLength(final int length) throws MathIllegalArgumentException {
+        if (length != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   columns, length);
+        }
+    }
+
+    /** Extract one part of the matrix.
+     * @param offset 0 for real part, 1 for imaginary part
+     * @return extracted part
+     */
+    private RealMatrix extractPart(final int offset) {
+        final double[][] part = new double[rows][columns];
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                part[i][j] = data[index(i, j) + offset];
+            }
+        }
+        return MatrixUtils.createRealMatrix(part);
+    }
+
+    /** Compute a (possibly conjugate) transpose.
+     * @param conjugate if true, entries are conjugated
+     * @return transposed matrix
+     */
+    private ComplexMatrix transpose(final boolean conjugate) {
+        final double   sign = conjugate ? -1.0 : 1.0;
+        final double[] out  = new double[data.length];
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                final int k = index(i, j);
+                final int t = 2 * (j * rows + i);
+                out[t]     = data[k];
+                out[t + 1] = sign * data[k + 1];
+            }
+        }
+        return new ComplexMatrix(columns, rows, out, false);
+    }
+
+    /** Accumulate the product of the instance by another matrix.
+     * <p>
+     * The loops are blocked on both the summation index and the result
+     * columns, so the block of the right operand being streamed stays in cache
+     * while all rows of the instance are processed.
+     * </p>
+     * @param m right operand
+     * @param out interleaved storage of the result, must be initialized to zero
+     */
+    private void multiplyInto(final ComplexMatrix m, final double[] out) {
+        final int      n = m.columns;
+        final double[] b = m.data;
+        for (int jStart = 0; jStart < n; jStart += BLOCK_SIZE) {
+            final int jEnd = FastMath.min(jStart + BLOCK_SIZE, n);
+            for (int lStart = 0; lStart < columns; lStart += BLOCK_SIZE) {
+                final int lEnd = FastMath.min(lStart + BLOCK_SIZE, columns);
+                for (int i = 0; i < rows; ++i) {
+                    final int rowA   = 2 * i * columns;
+                    final int rowOut = 2 * i * n;
+                    for (int l = lStart; l < lEnd; ++l) {
+                        final double aRe = data[rowA + 2 * l];
+                        final double aIm = data[rowA + 2 * l + 1];
+                        final int    rowB = 2 * l * n;
+                        for (int j = 2 * jStart; j < 2 * jEnd; j += 2) {
+                            final double bRe = b[rowB + j];
+                            final double bIm = b[rowB + j + 1];
+                            out[rowOut + j]     += aRe * bRe - aIm * bIm;
+                            out[rowOut + j + 1] += aRe * bIm + aIm * bRe;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * QR decomposition of dense complex matrices stored in interleaved primitive arrays.
+ * <p>
+ * The QR-decomposition of an m&times;n matrix A consists of a unitary m&times;m
+ * matrix Q and an upper triangular m&times;n matrix R such that A = Q&times;R.
+ * It is computed using complex Householder reflections
+ * H = I - &tau; v v<sup>H</sup>, the phase of each reflection being chosen
+ * to avoid cancellation.
+ * </p>
+ * <p>
+ * This class is the complex counterpart of {@link QRDecomposition}. It
+ * works directly on the interleaved storage of {@link ComplexMatrix}, so
+ * no {@link Complex} instance is created during decomposition or solving,
+ * contrary to {@link FieldQRDecomposition FieldQRDecomposition&lt;Complex&gt;}.
+ * The solver computes least squares solutions for matrices with at least as
+ * many rows as columns.
+ * </p>
+ * @see ComplexLUDecomposition
+ * @since 4.1
+ */
+public class ComplexQRDecomposition {
+
+    /** Number of rows. */
+    private final int m;
+
+    /** Householder vectors and upper part of R, one interleaved array per column of A. */
+    private final double[][] qrt;
+
+    /** Interleaved diagonal of R. */
+    private final double[] rDiag;
+
+    /** Scaling factors of the Householder reflections. */
+    private final double[] tau;
+
+    /** Singularity threshold. */
+    private final double threshold;
+
+    /**
+     * Calculates the QR-decomposition of the given matrix.
+     * The singularity threshold defaults to zero.
+     *
+     * @param matrix The matrix to decompose.
+     */
+    public ComplexQRDecomposition(final ComplexMatrix matrix) {
+        this(matrix, 0.0);
+    }
+
+    /**
+     * Calculates the QR-decomposition of the given matrix.
+     *
+     * @param matrix The matrix to decompose.
+     * @param threshold Singularity threshold on the modulus of R diagonal entries.
+     */
+    public ComplexQRDecomposition(final ComplexMatrix matrix, final double threshold) {
+
+        this.m         = matrix.getRowDimension();
+        this.threshold = threshold;
+        final int      n    = matrix.getColumnDimension();
+        final double[] data = matrix.getDataRef();
+
+        // store columns of A as rows, so reflections work on contiguous arrays
+        qrt = new double[n][2 * m];
+        for (int i = 0; i < m; ++i) {
+            for (int j = 0; j < n; ++j) {
+                qrt[j][2 * i]     = data[2 * (i * n + j)];
+                qrt[j][2 * i + 1] = data[2 * (i * n + j) + 1];
+            }
+        }
+        rDiag = new double[2 * FastMath.min(m, n)];
+        tau   = new double[FastMath.min(m, n)];
+
+        for (int minor = 0; minor < tau.length; ++minor) {
+
+            final double[] v = qrt[minor];
+            double norm2 = 0;
+            for (int k = 2 * minor; k < 2 * m; ++k) {
+                norm2 += v[k] * v[k];
+            }
+            final double xNorm = FastMath.sqrt(norm2);
+            if (xNorm == 0) {
+                // nothing to eliminate, H is identity
+                continue;
+            }
+
+            // alpha = -e^{i arg(x0)} ||x||, v0 = x0 - alpha
+            final double x0Re  = v[2 * minor];
+            final double x0Im  = v[2 * minor + 1];
+            final double x0Mod = FastMath.hypot(x0Re, x0Im);
+            final double phRe  = x0Mod == 0 ? 1.0 : x0Re / x0Mod;
+            final double phIm  = x0Mod == 0 ? 0.0 : x0Im / x0Mod;
+            rDiag[2 * minor]     = -phRe * xNorm;
+            rDiag[2 * minor + 1] = -phIm * xNorm;
+            v[2 * minor]         = phRe * (x0Mod + xNorm);
+            v[2 * minor + 1]     = phIm * (x0Mod + xNorm);
+            tau[minor]           = 1.0 / (xNorm * (xNorm + x0Mod));
+
+            // apply the reflection to the remaining columns
+            for (int col = minor + 1; col < n; ++col) {
+                reflect(minor, qrt[col]);
+            }
+
+        }
+    }
+
+    /**
+     * Returns the matrix R of the decomposition.
+     * <p>R is an upper-triangular matrix</p>
+     * @return the R matrix
+     */
+    public ComplexMatrix getR() {
+        final int n = qrt.length;
+        final ComplexMatrix r = new ComplexMatrix(m, n);
+        final double[] d = r.getDataRef();
+        for (int i = 0; i < tau.length; ++i) {
+            d[2 * (i * n + i)]     = rDiag[2 * i];
+            d[2 * (i * n + i) + 1] = rDiag[2 * i + 1];
+            for (int j = i + 1; j < n; ++j) {
+                d[2 * (i * n + j)]     = qrt[j][2 * i];
+                d[2 * (i * n + j) + 1] = qrt[j][2 * i + 1];
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the matrix Q of the decomposition.
+     * <p>Q is a unitary matrix</p>
+     * @return the Q matrix
+     */
+    public ComplexMatrix getQ() {
+        final ComplexMatrix q = new ComplexMatrix(m, m);
+        final double[] d = q.getDataRef();
+        final double[] column = new double[2 * m];
+        for (int j = 0; j < m; ++j) {
+            Arrays.fill(column, 0.0);
+            column[2 * j] = 1.0;
+            for (int minor = tau.length - 1; minor >= 0; --minor) {
+                reflect(minor, column);
+            }
+            for (int i = 0; i < m; ++i) {
+                d[2 * (i * m + j)]     = column[2 * i];
+                d[2 * (i * m + j) + 1] = column[2 * i + 1];
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * <p>
+     * Least Square sense means a solver can be computed for an overdetermined system,
+     * (i.e. a system with more equations than unknowns, which corresponds to a tall A
+     * matrix with more rows than columns). In any case, if the matrix is singular
+     * within the tolerance set at {@link #ComplexQRDecomposition(ComplexMatrix,
+     * double) construction}, an error will be triggered when
+     * the {@link ComplexDecompositionSolver#solve(ComplexVector) solve} method will be called.
+     * </p>
+     * @return a solver
+     */
+    public ComplexDecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Apply a Householder reflection to an interleaved vector, in place.
+     * @param minor index of the reflection
+     * @param x vector to reflect
+     */
+    private void reflect(final int minor, final double[] x) {
+        final double t = tau[minor];
+        if (t == 0) {
+            return;
+        }
+        final double[] v = qrt[minor];
+
+        // s = tau v^H x
+        double sRe = 0;
+        double sIm = 0;
+        for (int k = 2 * minor; k < 2 * m; k += 2) {
+            sRe += v[k] * x[k]     + v[k + 1] * x[k + 1];
+            sIm += v[k] * x[k + 1] - v[k + 1] * x[k];
+        }
+        sRe *= t;
+        sIm *= t;
+
+        // x = x - s v
+        for (int k = 2 * minor; k < 2 * m; k += 2) {
+            x[k]     -= sRe * v[k]     - sIm * v[k + 1];
+            x[k + 1] -= sRe * v[k + 1] + sIm * v[k];
+        }
+    }
+
+    /** Specialized solver. */
+    private class Solver implements ComplexDecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            if (m < qrt.length) {
+                return false;
+            }
+            for (int k = 0; k < rDiag.length; k += 2) {
+                if (FastMath.hypot(rDiag[k], rDiag[k + 1]) <= threshold) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ComplexVector solve(final ComplexVector b) {
+            checkSolvable(b.getDimension());
+            final double[] y = b.getDataRef().clone();
+            return new ComplexVector(solveInPlace(y), false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ComplexMatrix solve(final ComplexMatrix b) {
+            checkSolvable(b.getRowDimension());
+            final int      n     = qrt.length;
+            final int      nColB = b.getColumnDimension();
+            final double[] bData = b.getDataRef();
+            final double[] x     = new double[2 * n * nColB];
+            final double[] y     = new double[2 * m];
+            for (int j = 0; j < nColB; ++j) {
+                for (int i = 0; i < m; ++i) {
+                    y[2 * i]     = bData[2 * (i * nColB + j)];
+                    y[2 * i + 1] = bData[2 * (i * nColB + j) + 1];
+                }
+                solveInPlace(y);
+                for (int i = 0; i < n; ++i) {
+                    x[2 * (i * nColB + j)]     = y[2 * i];
+                    x[2 * (i * nColB + j) + 1] = y[2 * i + 1];
+                }
+            }
+            return new ComplexMatrix(n, nColB, x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ComplexMatrix getInverse() {
+            return solve(ComplexMatrix.createIdentity(m));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return m;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return qrt.length;
+        }
+
+        /** Solve the least squares problem for one right-hand side.
+         * @param y interleaved right-hand side, overwritten with the solution
+         * in its first n entries
+         * @return the solution, as a new array with n entries
+         */
+        private double[] solveInPlace(final double[] y) {
+
+            // apply Q^H
+            for (int minor = 0; minor < tau.length; ++minor) {
+                reflect(minor, y);
+            }
+
+            // solve R x = y
+            final int n = qrt.length;
+            for (int row = n - 1; row >= 0; --row) {
+                ComplexLUDecomposition.divide(y, 2 * row, rDiag[2 * row], rDiag[2 * row + 1]);
+                final double[] column = qrt[row];
+                final double   xRe    = y[2 * row];
+                final double   xIm    = y[2 * row + 1];
+                for (int i = 0; i < row; ++i) {
+                    final double rRe = column[2 * i];
+                    final double rIm = column[2 * i + 1];
+                    y[2 * i]     -= rRe * xRe - rIm * xIm;
+                    y[2 * i + 1] -= rRe * xIm + rIm * xRe;
+                }
+            }
+
+            final double[] x = new double[2 * n];
+            System.arraycopy(y, 0, x, 0, 2 * n);
+            return x;
+
+        }
+
+        /** Check a system can be solved.
+         * @param dimension dimension of the right-hand side
+         * @throws MathIllegalArgumentException if dimension does not match or matrix is singular
+         */
+        private void checkSolvable(final int dimension) throws MathIllegalArgumentException {
+            if (dimension != m) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       dimension, m);
+            }
+            if (!isNonSingular()) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.complex.ComplexField;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Dense complex vector backed by an interleaved primitive array.
+ * <p>
+ * The real and imaginary parts of entry i are stored at indices 2i and 2i+1
+ * of a single {@code double} array, so no {@link Complex} instances are
+ * created by arithmetic operations. {@link Complex} instances are only built
+ * when entries are retrieved with {@link #getEntry(int)}.
+ * </p>
+ * <p>
+ * Conversions from and to {@link FieldVector FieldVector&lt;Complex&gt;} are
+ * provided for interoperability with the generic field linear algebra.
+ * </p>
+ * @see ComplexMatrix
+ * @since 4.1
+ */
+public class ComplexVector implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Interleaved entries (real part, imaginary part). */
+    private final double[] data;
+
+    /** Build a vector with all entries set to zero.
+     * @param dimension dimension of the vector
+     */
+    public ComplexVector(final int dimension) {
+        data = new double[2 * dimension];
+    }
+
+    /** Build a vector from complex entries.
+     * @param entries vector entries
+     */
+    public ComplexVector(final Complex[] entries) {
+        data = new double[2 * entries.length];
+        for (int i = 0; i < entries.length; ++i) {
+            data[2 * i]     = entries[i].getReal();
+            data[2 * i + 1] = entries[i].getImaginary();
+        }
+    }
+
+    /** Build a vector from real and imaginary parts.
+     * @param real real parts of the entries
+     * @param imaginary imaginary parts of the entries
+     * @throws MathIllegalArgumentException if arrays dimensions do not match
+     */
+    public ComplexVector(final double[] real, final double[] imaginary)
+        throws MathIllegalArgumentException {
+        if (real.length != imaginary.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   real.length, imaginary.length);
+        }
+        data = new double[2 * real.length];
+        for (int i = 0; i < real.length; ++i) {
+            data[2 * i]     = real[i];
+            data[2 * i + 1] = imaginary[i];
+        }
+    }
+
+    /** Build a vector from an interleaved array.
+     * @param interleaved interleaved entries, real part of entry i at index 2i
+     * and imaginary part at index 2i+1
+     * @param copyArray if true, the array is copied, otherwise it is referenced
+     * @throws MathIllegalArgumentException if the array length is odd
+     */
+    public ComplexVector(final double[] interleaved, final boolean copyArray)
+        throws MathIllegalArgumentException {
+        if ((interleaved.length & 0x1) != 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   interleaved.length, interleaved.length + 1);
+        }
+        data = copyArray ? interleaved.clone() : interleaved;
+    }
+
+    /** Build a vector from a field vector.
+     * @param v field vector to convert
+     */
+    public ComplexVector(final FieldVector<Complex> v) {
+        data = new double[2 * v.getDimension()];
+        for (int i = 0; i < v.getDimension(); ++i) {
+            final Complex c = v.getEntry(i);
+            data[2 * i]     = c.getReal();
+            data[2 * i + 1] = c.getImaginary();
+        }
+    }
+
+    /** Build a vector from a real vector.
+     * @param v real vector to convert, imaginary parts are set to zero
+     */
+    public ComplexVector(final RealVector v) {
+        data = new double[2 * v.getDimension()];
+        for (int i = 0; i < v.getDimension(); ++i) {
+            data[2 * i] = v.getEntry(i);
+        }
+    }
+
+    /** Get a copy of the instance.
+     * @return a copy of the instance
+     */
+    public ComplexVector copy() {
+        return new ComplexVector(data, true);
+    }
+
+    /** Get the dimension of the vector.
+     * @return dimension of the vector
+     */
+    public int getDimension() {
+        return data.length / 2;
+    }
+
+    /** Get a reference to the underlying interleaved storage.
+     * @return reference to the underlying storage
+     */
+    public double[] getDataRef() {
+        return data; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /** Get an entry.
+     * @param index index of the entry
+     * @return a new complex number containing the entry
+     * @throws MathIllegalArgumentException if the index is not valid
+     */
+    public Complex getEntry(final int index) throws MathIllegalArgumentException {
+        checkIndex(index);
+        return new Complex(data[2 * index], data[2 * index + 1]);
+    }
+
+    /** Get the real part of an entry.
+     * @param index index of the entry
+     * @return real part of the entry
+     * @throws MathIllegalArgumentException if the index is not valid
+     */
+    public double getReal(final int index) throws MathIllegalArgumentException {
+        checkIndex(index);
+        return data[2 * index];
+    }
+
+    /** Get the imaginary part of an entry.
+     * @param index index of the entry
+     * @return imaginary part of the entry
+     * @throws MathIllegalArgumentException if the index is not valid
+     */
+    public double getImaginary(final int index) throws MathIllegalArgumentException {
+        checkIndex(index);
+        return data[2 * index + 1];
+    }
+
+    /** Set an entry.
+     * @param index index of the entry
+     * @param value new value for the entry
+     * @throws MathIllegalArgumentException if the index is not valid
+     */
+    public void setEntry(final int index, final Complex value) throws MathIllegalArgumentException {
+        setEntry(index, value.getReal(), value.getImaginary());
+    }
+
+    /** Set an entry.
+     * @param index index of the entry
+     * @param real real part of the new value
+     * @param imaginary imaginary part of the new value
+     * @throws MathIllegalArgumentException if the index is not valid
+     */
+    public void setEntry(final int index, final double real, final double imaginary)
+        throws MathIllegalArgumentException {
+        checkIndex(index);
+        data[2 * index]     = real;
+        data[2 * index + 1] = imaginary;
+    }
+
+    /** Compute the sum of the instance and another vector.
+     * @param v vector to add
+     * @return a new vector containing {@code this} + v
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public ComplexVector add(final ComplexVector v) throws MathIllegalArgumentException {
+        checkDimension(v);
+        final double[] out = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            out[k] = data[k] + v.data[k];
+        }
+        return new ComplexVector(out, false);
+    }
+
+    /** Compute the difference of the instance and another vector.
+     * @param v vector to subtract
+     * @return a new vector containing {@code this} - v
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public ComplexVector subtract(final ComplexVector v) throws MathIllegalArgumentException {
+        checkDimension(v);
+        final double[] out = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            out[k] = data[k] - v.data[k];
+        }
+        return new ComplexVector(out, false);
+    }
+
+    /** Multiply the instance by a complex scalar.
+     * @param a scalar factor
+     * @return a new vector containing a &times; {@code this}
+     */
+    public ComplexVector mapMultiply(final Complex a) {
+        final double aRe = a.getReal();
+        final double aIm = a.getImaginary();
+        final double[] out = new double[data.length];
+        for (int k = 0; k < data.length; k += 2) {
+            final double re = data[k];
+            final double im = data[k + 1];
+            out[k]     = aRe * re - aIm * im;
+            out[k + 1] = aRe * im + aIm * re;
+        }
+        return new ComplexVector(out, false);
+    }
+
+    /** Compute the conjugate of the instance.
+     * @return a new vector containing the conjugates of the entries
+     */
+    public ComplexVector conjugate() {
+        final double[] out = data.clone();
+        for (int k = 1; k < out.length; k += 2) {
+            out[k] = -out[k];
+        }
+        return new ComplexVector(out, false);
+    }
+
+    /** Compute the Hermitian inner product of the instance and another vector.
+     * <p>
+     * The instance entries are conjugated, i.e. this method computes
+     * &sum; conj(this<sub>i</sub>) v<sub>i</sub>, so {@code v.dotProduct(v)}
+     * is the squared Euclidean norm of v.
+     * </p>
+     * @param v other vector
+     * @return Hermitian inner product
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    public Complex dotProduct(final ComplexVector v) throws MathIllegalArgumentException {
+        checkDimension(v);
+        double re = 0;
+        double im = 0;
+        for (int k = 0; k < data.length; k += 2) {
+            final double aRe = data[k];
+            final double aIm = data[k + 1];
+            final double bRe = v.data[k];
+            final double bIm = v.data[k + 1];
+            re += aRe * bRe + aIm * bIm;
+            im += aRe * bIm - aIm * bRe;
+        }
+        return new Complex(re, im);
+    }
+
+    /** Get the Euclidean norm of the vector.
+     * @return Euclidean norm of the vector
+     */
+    public double getNorm() {
+        double sum = 0;
+        for (final double x : data) {
+            sum += x * x;
+        }
+        return FastMath.sqrt(sum);
+    }
+
+    /** Get the entries as complex numbers.
+     * @return a new array containing the entries
+     */
+    public Complex[] toArray() {
+        final Complex[] array = new Complex[getDimension()];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = new Complex(data[2 * i], data[2 * i + 1]);
+        }
+        return array;
+    }
+
+    /** Convert the instance to a field vector.
+     * @return a new field vector with the same entries
+     */
+    public FieldVector<Complex> toFieldVector() {
+        return new ArrayFieldVector<>(ComplexField.getInstance(), toArray(), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof ComplexVector) {
+            return Arrays.equals(data, ((ComplexVector) other).data);
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 0x5e17c3a9 ^ Arrays.hashCode(data);
+    }
+
+    /** Check an index.
+     * @param index index to check
+     * @throws MathIllegalArgumentException if the index is not valid
+     */
+    private void checkIndex(final int index) throws MathIllegalArgumentException {
+        if (index < 0 || index >= getDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INDEX, index, 0, getDimension() - 1);
+        }
+    }
+
+    /** Check another vector has the same dimension.
+     * @param v vector to check
+     * @throws MathIllegalArgumentException if dimensions do not match
+     */
+    private void checkDimension(final ComplexVector v) throws MathIllegalArgumentException {
+        if (v.data.length != data.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.getDimension(), getDimension());
+        }
+    }
+
+}
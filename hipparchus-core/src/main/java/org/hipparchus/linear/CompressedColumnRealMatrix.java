@@ -0,0 +1,476 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Sparse matrix implementation using compressed sparse column (CSC) storage.
+ * <p>
+ * Non-zero entries are stored column by column in primitive arrays: the entries of
+ * column {@code j} are found at indices {@code k} such that
+ * {@code columnPointers[j] <= k < columnPointers[j + 1]}, with row index
+ * {@code rowIndices[k]} and value {@code values[k]}. Row indices within
+ * one column are sorted in strictly increasing order.
+ * </p>
+ * <p>
+ * This layout is well suited to transposed matrix-vector products and to direct
+ * factorizations working column by column: {@link #preMultiply(double[])}
+ * walks all arrays sequentially without any hashing. The sparsity pattern
+ * is however expensive to change: setting an entry that is not stored yet to a
+ * non-zero value costs O(nnz). Matrices should therefore be assembled using
+ * {@link SparseRealMatrixBuilder} rather than by repeated calls to
+ * {@link #setEntry(int, int, double)}.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ * @see CompressedColumnRealMatrix
+ * @see SparseRealMatrixBuilder
+ * @since 4.1
+ */
+public class CompressedColumnRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Storage for non-zero entries (major dimension is columns). */
+    private final CompressedSparseStorage storage;
+
+    /**
+     * Build an empty sparse matrix with the supplied row and column dimensions.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public CompressedColumnRealMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = new CompressedSparseStorage(columnDimension, rowDimension);
+    }
+
+    /**
+     * Build a sparse matrix from compressed sparse column arrays.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @param columnPointers start of each column in {@code rowIndices} and {@code values}
+     * (size {@code columnDimension + 1}, with {@code columnPointers[0] = 0} and
+     * {@code columnPointers[columnDimension] = values.length})
+     * @param rowIndices row indices of the stored entries, strictly
+     * increasing within each column
+     * @param values values of the stored entries
+     * @param copyArray if {@code true}, the input arrays will be copied,
+     * otherwise they will be referenced.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive or if the arrays are not consistent with each other.
+     */
+    public CompressedColumnRealMatrix(final int rowDimension, final int columnDimension,
+                                      final int[] columnPointers, final int[] rowIndices,
+                                      final double[] values, final boolean copyArray)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = new CompressedSparseStorage(columnDimension, rowDimension,
+                                                   copyArray ? columnPointers.clone() : columnPointers,
+                                                   copyArray ? rowIndices.clone()     : rowIndices,
+                                                   copyArray ? values.clone()         : values,
+                                                   true);
+    }
+
+    /**
+     * Build a sparse matrix by copying the non-zero entries of another matrix.
+     *
+     * @param matrix matrix to copy
+     */
+    public CompressedColumnRealMatrix(final RealMatrix matrix) {
+        this(convert(matrix));
+    }
+
+    /**
+     * Build a sparse matrix from its storage.
+     *
+     * @param storage storage for non-zero entries (major dimension is columns)
+     */
+    CompressedColumnRealMatrix(final CompressedSparseStorage storage) {
+        this.storage = storage;
+    }
+
+    /** Convert any matrix to compressed sparse column storage.
+     * @param matrix matrix to convert
+     * @return compressed sparse column storage
+     */
+    private static CompressedSparseStorage convert(final RealMatrix matrix) {
+        if (matrix instanceof CompressedColumnRealMatrix) {
+            return new CompressedSparseStorage(((CompressedColumnRealMatrix) matrix).storage);
+        } else if (matrix instanceof CompressedRowRealMatrix) {
+            return ((CompressedRowRealMatrix) matrix).getStorage().swapDimensions();
+        } else if (matrix instanceof OpenMapRealMatrix) {
+            return ((OpenMapRealMatrix) matrix).toCompressedStorage(false);
+        } else {
+            final SparseRealMatrixBuilder builder =
+                            new SparseRealMatrixBuilder(matrix.getRowDimension(), matrix.getColumnDimension());
+            matrix.walkInColumnOrder(new DefaultRealMatrixPreservingVisitor() {
+                /** {@inheritDoc} */
+                @Override
+                public void visit(final int row, final int column, final double value) {
+                    if (value != 0.0) {
+                        builder.addEntry(row, column, value);
+                    }
+                }
+            });
+            return builder.buildStorage(false);
+        }
+    }
+
+    /** Get the storage.
+     * @return storage (major dimension is columns)
+     */
+    CompressedSparseStorage getStorage() {
+        return storage;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedColumnRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new CompressedColumnRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedColumnRealMatrix copy() {
+        return new CompressedColumnRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return storage.getMinorDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return storage.getMajorDimension();
+    }
+
+    /** Get the number of stored entries.
+     * <p>
+     * Stored entries are usually non-zero, but may be zero if they were
+     * explicitly provided or set to zero after construction.
+     * </p>
+     * @return number of stored entries
+     */
+    public int getStoredEntries() {
+        return storage.getStoredEntries();
+    }
+
+    /** Get a reference to the column pointers array.
+     * <p>
+     * The reference is valid only as long as the sparsity pattern does not change.
+     * </p>
+     * @return reference to the column pointers array (size {@code columnDimension + 1})
+     */
+    public int[] getColumnPointersRef() {
+        return storage.getPointers();
+    }
+
+    /** Get a reference to the row indices array.
+     * <p>
+     * The reference is valid only as long as the sparsity pattern does not change.
+     * </p>
+     * @return reference to the row indices array
+     */
+    public int[] getRowIndicesRef() {
+        return storage.getIndices();
+    }
+
+    /** Get a reference to the values array.
+     * <p>
+     * The reference is valid only as long as the sparsity pattern does not change.
+     * </p>
+     * @return reference to the values array
+     */
+    public double[] getValuesRef() {
+        return storage.getValues();
+    }
+
+    /** Convert the instance to compressed sparse row format.
+     * @return a compressed sparse row matrix with the same entries
+     */
+    public CompressedRowRealMatrix toCompressedRow() {
+        return new CompressedRowRealMatrix(storage.swapDimensions());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return storage.get(column, row);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.set(column, row, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.add(column, row, increment);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.multiply(column, row, factor);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If {@code m} is also a sparse compressed matrix, the result is a
+     * {@link CompressedColumnRealMatrix}, otherwise it is a dense
+     * {@link Array2DRowRealMatrix}.
+     * </p>
+     */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedColumnRealMatrix) {
+            return add((CompressedColumnRealMatrix) m);
+        } else if (m instanceof CompressedRowRealMatrix) {
+            return add(((CompressedRowRealMatrix) m).toCompressedColumn());
+        } else {
+            return combineDense(m, 1.0);
+        }
+    }
+
+    /**
+     * Compute the sum of this matrix and {@code m}.
+     *
+     * @param m Matrix to be added.
+     * @return {@code this} + {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedColumnRealMatrix add(final CompressedColumnRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedColumnRealMatrix(storage.combine(m.storage, 1.0));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If {@code m} is also a sparse compressed matrix, the result is a
+     * {@link CompressedColumnRealMatrix}, otherwise it is a dense
+     * {@link Array2DRowRealMatrix}.
+     * </p>
+     */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedColumnRealMatrix) {
+            return subtract((CompressedColumnRealMatrix) m);
+        } else if (m instanceof CompressedRowRealMatrix) {
+            return subtract(((CompressedRowRealMatrix) m).toCompressedColumn());
+        } else {
+            return combineDense(m, -1.0);
+        }
+    }
+
+    /**
+     * Subtract {@code m} from this matrix.
+     *
+     * @param m Matrix to be subtracted.
+     * @return {@code this} - {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedColumnRealMatrix subtract(final CompressedColumnRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedColumnRealMatrix(storage.combine(m.storage, -1.0));
+    }
+
+    /** Compute a linear combination {@code this + factor * m} with a dense result.
+     * @param m other matrix
+     * @param factor factor to apply to the other matrix
+     * @return {@code this + factor * m}
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    private Array2DRowRealMatrix combineDense(final RealMatrix m, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        final double[][] out = new double[getRowDimension()][getColumnDimension()];
+        for (int i = 0; i < out.length; ++i) {
+            for (int j = 0; j < out[i].length; ++j) {
+                out[i][j] = factor * m.getEntry(i, j);
+            }
+        }
+        final int[]    ptr    = storage.getPointers();
+        final int[]    idx    = storage.getIndices();
+        final double[] values = storage.getValues();
+        for (int j = 0; j < storage.getMajorDimension(); ++j) {
+            for (int k = ptr[j]; k < ptr[j + 1]; ++k) {
+                out[idx[k]][j] += values[k];
+            }
+        }
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedColumnRealMatrix scalarMultiply(final double d) {
+        return new CompressedColumnRealMatrix(storage.scale(d));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If {@code m} is also a sparse compressed matrix, the result is a
+     * {@link CompressedColumnRealMatrix}, otherwise it is a dense
+     * {@link Array2DRowRealMatrix}.
+     * </p>
+     */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedColumnRealMatrix) {
+            return multiply((CompressedColumnRealMatrix) m);
+        } else if (m instanceof CompressedRowRealMatrix) {
+            return multiply(((CompressedRowRealMatrix) m).toCompressedColumn());
+        } else {
+
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+
+            final int[]      ptr     = storage.getPointers();
+            final int[]      idx     = storage.getIndices();
+            final double[]   values  = storage.getValues();
+            final int        outCols = m.getColumnDimension();
+            final double[][] out     = new double[getRowDimension()][outCols];
+            final double[][] mData   = (m instanceof Array2DRowRealMatrix) ?
+                                       ((Array2DRowRealMatrix) m).getDataRef() : null;
+
+            final double[]   mRow    = new double[outCols];
+            for (int l = 0; l < getColumnDimension(); ++l) {
+                if (mData == null) {
+                    for (int j = 0; j < outCols; ++j) {
+                        mRow[j] = m.getEntry(l, j);
+                    }
+                } else {
+                    System.arraycopy(mData[l], 0, mRow, 0, outCols);
+                }
+                for (int k = ptr[l]; k < ptr[l + 1]; ++k) {
+                    final double   ail    = values[k];
+                    final double[] outRow = out[idx[k]];
+                    for (int j = 0; j < outCols; ++j) {
+                        outRow[j] += ail * mRow[j];
+                    }
+                }
+            }
+
+            return new Array2DRowRealMatrix(out, false);
+
+        }
+    }
+
+    /**
+     * Postmultiply this matrix by {@code m}.
+     *
+     * @param m Matrix to postmultiply by.
+     * @return {@code this} * {@code m}.
+     * @throws MathIllegalArgumentException if the number of rows of {@code m}
+     * differ from the number of columns of {@code this} matrix.
+     */
+    public CompressedColumnRealMatrix multiply(final CompressedColumnRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        return new CompressedColumnRealMatrix(m.storage.multiply(storage));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The transposed matrix is a {@link CompressedRowRealMatrix} built in O(nnz)
+     * by copying the arrays of the instance.
+     * </p>
+     */
+    @Override
+    public CompressedRowRealMatrix transpose() {
+        return new CompressedRowRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(v.length, getColumnDimension());
+        return storage.scatter(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(operate(CompressedRowRealMatrix.toArray(v)), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(v.length, getRowDimension());
+        return storage.gather(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(preMultiply(CompressedRowRealMatrix.toArray(v)), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector v)
+        throws MathIllegalArgumentException {
+        return preMultiply(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+}
@@ -0,0 +1,484 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Sparse matrix implementation using compressed sparse row (CSR) storage.
+ * <p>
+ * Non-zero entries are stored row by row in primitive arrays: the entries of
+ * row {@code i} are found at indices {@code k} such that
+ * {@code rowPointers[i] <= k < rowPointers[i + 1]}, with column index
+ * {@code columnIndices[k]} and value {@code values[k]}. Column indices within
+ * one row are sorted in strictly increasing order.
+ * </p>
+ * <p>
+ * This layout is well suited to matrix-vector products and to iterative solvers
+ * like {@link ConjugateGradient} or {@link SymmLQ}: {@link #operate(double[])}
+ * walks all arrays sequentially without any hashing. The sparsity pattern
+ * is however expensive to change: setting an entry that is not stored yet to a
+ * non-zero value costs O(nnz). Matrices should therefore be assembled using
+ * {@link SparseRealMatrixBuilder} rather than by repeated calls to
+ * {@link #setEntry(int, int, double)}.
+ * </p>
+ * <p>
+ *  Caveat: This implementation assumes that, for any {@code x},
+ *  the equality {@code x * 0d == 0d} holds. But it is is not true for
+ *  {@code NaN}. Moreover, zero entries will lose their sign.
+ *  Some operations (that involve {@code NaN} and/or infinities) may
+ *  thus give incorrect results.
+ * </p>
+ * @see CompressedColumnRealMatrix
+ * @see SparseRealMatrixBuilder
+ * @since 4.1
+ */
+public class CompressedRowRealMatrix extends AbstractRealMatrix
+    implements SparseRealMatrix, Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Storage for non-zero entries (major dimension is rows). */
+    private final CompressedSparseStorage storage;
+
+    /**
+     * Build an empty sparse matrix with the supplied row and column dimensions.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public CompressedRowRealMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = new CompressedSparseStorage(rowDimension, columnDimension);
+    }
+
+    /**
+     * Build a sparse matrix from compressed sparse row arrays.
+     *
+     * @param rowDimension Number of rows of the matrix.
+     * @param columnDimension Number of columns of the matrix.
+     * @param rowPointers start of each row in {@code columnIndices} and {@code values}
+     * (size {@code rowDimension + 1}, with {@code rowPointers[0] = 0} and
+     * {@code rowPointers[rowDimension] = values.length})
+     * @param columnIndices column indices of the stored entries, strictly
+     * increasing within each row
+     * @param values values of the stored entries
+     * @param copyArray if {@code true}, the input arrays will be copied,
+     * otherwise they will be referenced.
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive or if the arrays are not consistent with each other.
+     */
+    public CompressedRowRealMatrix(final int rowDimension, final int columnDimension,
+                                   final int[] rowPointers, final int[] columnIndices,
+                                   final double[] values, final boolean copyArray)
+        throws MathIllegalArgumentException {
+        super(rowDimension, columnDimension);
+        this.storage = new CompressedSparseStorage(rowDimension, columnDimension,
+                                                   copyArray ? rowPointers.clone()   : rowPointers,
+                                                   copyArray ? columnIndices.clone() : columnIndices,
+                                                   copyArray ? values.clone()        : values,
+                                                   true);
+    }
+
+    /**
+     * Build a sparse matrix by copying the non-zero entries of another matrix.
+     *
+     * @param matrix matrix to copy
+     */
+    public CompressedRowRealMatrix(final RealMatrix matrix) {
+        this(convert(matrix));
+    }
+
+    /**
+     * Build a sparse matrix from its storage.
+     *
+     * @param storage storage for non-zero entries (major dimension is rows)
+     */
+    CompressedRowRealMatrix(final CompressedSparseStorage storage) {
+        this.storage = storage;
+    }
+
+    /** Convert any matrix to compressed sparse row storage.
+     * @param matrix matrix to convert
+     * @return compressed sparse row storage
+     */
+    private static CompressedSparseStorage convert(final RealMatrix matrix) {
+        if (matrix instanceof CompressedRowRealMatrix) {
+            return new CompressedSparseStorage(((CompressedRowRealMatrix) matrix).storage);
+        } else if (matrix instanceof CompressedColumnRealMatrix) {
+            return ((CompressedColumnRealMatrix) matrix).getStorage().swapDimensions();
+        } else if (matrix instanceof OpenMapRealMatrix) {
+            return ((OpenMapRealMatrix) matrix).toCompressedStorage(true);
+        } else {
+            final SparseRealMatrixBuilder builder =
+                            new SparseRealMatrixBuilder(matrix.getRowDimension(), matrix.getColumnDimension());
+            matrix.walkInRowOrder(new DefaultRealMatrixPreservingVisitor() {
+                /** {@inheritDoc} */
+                @Override
+                public void visit(final int row, final int column, final double value) {
+                    if (value != 0.0) {
+                        builder.addEntry(row, column, value);
+                    }
+                }
+            });
+            return builder.buildStorage(true);
+        }
+    }
+
+    /** Get the storage.
+     * @return storage (major dimension is rows)
+     */
+    CompressedSparseStorage getStorage() {
+        return storage;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedRowRealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return new CompressedRowRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedRowRealMatrix copy() {
+        return new CompressedRowRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return storage.getMajorDimension();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return storage.getMinorDimension();
+    }
+
+    /** Get the number of stored entries.
+     * <p>
+     * Stored entries are usually non-zero, but may be zero if they were
+     * explicitly provided or set to zero after construction.
+     * </p>
+     * @return number of stored entries
+     */
+    public int getStoredEntries() {
+        return storage.getStoredEntries();
+    }
+
+    /** Get a reference to the row pointers array.
+     * <p>
+     * The reference is valid only as long as the sparsity pattern does not change.
+     * </p>
+     * @return reference to the row pointers array (size {@code rowDimension + 1})
+     */
+    public int[] getRowPointersRef() {
+        return storage.getPointers();
+    }
+
+    /** Get a reference to the column indices array.
+     * <p>
+     * The reference is valid only as long as the sparsity pattern does not change.
+     * </p>
+     * @return reference to the column indices array
+     */
+    public int[] getColumnIndicesRef() {
+        return storage.getIndices();
+    }
+
+    /** Get a reference to the values array.
+     * <p>
+     * The reference is valid only as long as the sparsity pattern does not change.
+     * </p>
+     * @return reference to the values array
+     */
+    public double[] getValuesRef() {
+        return storage.getValues();
+    }
+
+    /** Convert the instance to compressed sparse column format.
+     * @return a compressed sparse column matrix with the same entries
+     */
+    public CompressedColumnRealMatrix toCompressedColumn() {
+        return new CompressedColumnRealMatrix(storage.swapDimensions());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return storage.get(row, column);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.set(row, column, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.add(row, column, increment);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        storage.multiply(row, column, factor);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If {@code m} is also a sparse compressed matrix, the result is a
+     * {@link CompressedRowRealMatrix}, otherwise it is a dense
+     * {@link Array2DRowRealMatrix}.
+     * </p>
+     */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedRowRealMatrix) {
+            return add((CompressedRowRealMatrix) m);
+        } else if (m instanceof CompressedColumnRealMatrix) {
+            return add(((CompressedColumnRealMatrix) m).toCompressedRow());
+        } else {
+            return combineDense(m, 1.0);
+        }
+    }
+
+    /**
+     * Compute the sum of this matrix and {@code m}.
+     *
+     * @param m Matrix to be added.
+     * @return {@code this} + {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedRowRealMatrix add(final CompressedRowRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedRowRealMatrix(storage.combine(m.storage, 1.0));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If {@code m} is also a sparse compressed matrix, the result is a
+     * {@link CompressedRowRealMatrix}, otherwise it is a dense
+     * {@link Array2DRowRealMatrix}.
+     * </p>
+     */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedRowRealMatrix) {
+            return subtract((CompressedRowRealMatrix) m);
+        } else if (m instanceof CompressedColumnRealMatrix) {
+            return subtract(((CompressedColumnRealMatrix) m).toCompressedRow());
+        } else {
+            return combineDense(m, -1.0);
+        }
+    }
+
+    /**
+     * Subtract {@code m} from this matrix.
+     *
+     * @param m Matrix to be subtracted.
+     * @return {@code this} - {@code m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public CompressedRowRealMatrix subtract(final CompressedRowRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        return new CompressedRowRealMatrix(storage.combine(m.storage, -1.0));
+    }
+
+    /** Compute a linear combination {@code this + factor * m} with a dense result.
+     * @param m other matrix
+     * @param factor factor to apply to the other matrix
+     * @return {@code this + factor * m}
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    private Array2DRowRealMatrix combineDense(final RealMatrix m, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        final double[][] out = new double[getRowDimension()][getColumnDimension()];
+        for (int i = 0; i < out.length; ++i) {
+            for (int j = 0; j < out[i].length; ++j) {
+                out[i][j] = factor * m.getEntry(i, j);
+            }
+        }
+        final int[]    ptr    = storage.getPointers();
+        final int[]    idx    = storage.getIndices();
+        final double[] values = storage.getValues();
+        for (int i = 0; i < storage.getMajorDimension(); ++i) {
+            for (int k = ptr[i]; k < ptr[i + 1]; ++k) {
+                out[i][idx[k]] += values[k];
+            }
+        }
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompressedRowRealMatrix scalarMultiply(final double d) {
+        return new CompressedRowRealMatrix(storage.scale(d));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If {@code m} is also a sparse compressed matrix, the result is a
+     * {@link CompressedRowRealMatrix}, otherwise it is a dense
+     * {@link Array2DRowRealMatrix}.
+     * </p>
+     */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof CompressedRowRealMatrix) {
+            return multiply((CompressedRowRealMatrix) m);
+        } else if (m instanceof CompressedColumnRealMatrix) {
+            return multiply(((CompressedColumnRealMatrix) m).toCompressedRow());
+        } else {
+
+            MatrixUtils.checkMultiplicationCompatible(this, m);
+
+            final int[]      ptr     = storage.getPointers();
+            final int[]      idx     = storage.getIndices();
+            final double[]   values  = storage.getValues();
+            final int        outCols = m.getColumnDimension();
+            final double[][] out     = new double[getRowDimension()][outCols];
+            final double[][] mData   = (m instanceof Array2DRowRealMatrix) ?
+                                       ((Array2DRowRealMatrix) m).getDataRef() : null;
+
+            for (int i = 0; i < out.length; ++i) {
+                final double[] outRow = out[i];
+                for (int k = ptr[i]; k < ptr[i + 1]; ++k) {
+                    final double aik = values[k];
+                    if (mData == null) {
+                        final int l = idx[k];
+                        for (int j = 0; j < outCols; ++j) {
+                            outRow[j] += aik * m.getEntry(l, j);
+                        }
+                    } else {
+                        final double[] mRow = mData[idx[k]];
+                        for (int j = 0; j < outCols; ++j) {
+                            outRow[j] += aik * mRow[j];
+                        }
+                    }
+                }
+            }
+
+            return new Array2DRowRealMatrix(out, false);
+
+        }
+    }
+
+    /**
+     * Postmultiply this matrix by {@code m}.
+     *
+     * @param m Matrix to postmultiply by.
+     * @return {@code this} * {@code m}.
+     * @throws MathIllegalArgumentException if the number of rows of {@code m}
+     * differ from the number of columns of {@code this} matrix.
+     */
+    public CompressedRowRealMatrix multiply(final CompressedRowRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        return new CompressedRowRealMatrix(storage.multiply(m.storage));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The transposed matrix is a {@link CompressedColumnRealMatrix} built in O(nnz)
+     * by copying the arrays of the instance.
+     * </p>
+     */
+    @Override
+    public CompressedColumnRealMatrix transpose() {
+        return new CompressedColumnRealMatrix(new CompressedSparseStorage(storage));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(v.length, getColumnDimension());
+        return storage.gather(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operate(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(operate(toArray(v)), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(v.length, getRowDimension());
+        return storage.scatter(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector preMultiply(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(preMultiply(toArray(v)), false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector v)
+        throws MathIllegalArgumentException {
+        return preMultiply(v);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+    /** Get the entries of a vector as an array.
+     * @param v vector
+     * @return vector entries (may be a reference to internal data)
+     */
+    static double[] toArray(final RealVector v) {
+        return (v instanceof ArrayRealVector) ? ((ArrayRealVector) v).getDataRef() : v.toArray();
+    }
+
+}
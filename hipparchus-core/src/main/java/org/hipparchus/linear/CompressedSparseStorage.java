@@ -0,0 +1,454 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Compressed storage shared by {@link CompressedRowRealMatrix} and {@link CompressedColumnRealMatrix}.
+ * <p>
+ * The storage is organized along a <em>major</em> dimension (rows for compressed
+ * sparse row, columns for compressed sparse column) and a <em>minor</em> dimension
+ * (columns for compressed sparse row, rows for compressed sparse column). The
+ * non-zero entries of major index {@code i} are stored at indices {@code k} in the
+ * range {@code pointers[i] <= k < pointers[i + 1]}, with minor index {@code indices[k]}
+ * and value {@code values[k]}. Within one major index, minor indices are sorted in
+ * strictly increasing order.
+ * </p>
+ * @since 4.1
+ */
+class CompressedSparseStorage implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Major dimension. */
+    private final int majorDimension;
+
+    /** Minor dimension. */
+    private final int minorDimension;
+
+    /** Start of each major index in {@link #indices} and {@link #values} (size majorDimension + 1). */
+    private int[] pointers;
+
+    /** Minor indices of non-zero entries. */
+    private int[] indices;
+
+    /** Values of non-zero entries. */
+    private double[] values;
+
+    /** Build an empty storage.
+     * @param majorDimension major dimension
+     * @param minorDimension minor dimension
+     */
+    CompressedSparseStorage(final int majorDimension, final int minorDimension) {
+        this.majorDimension = majorDimension;
+        this.minorDimension = minorDimension;
+        this.pointers       = new int[majorDimension + 1];
+        this.indices        = new int[0];
+        this.values         = new double[0];
+    }
+
+    /** Build a storage from its arrays.
+     * @param majorDimension major dimension
+     * @param minorDimension minor dimension
+     * @param pointers start of each major index in {@code indices} and {@code values}
+     * @param indices minor indices of non-zero entries
+     * @param values values of non-zero entries
+     * @param check if true, arrays consistency is checked
+     * @exception MathIllegalArgumentException if arrays are inconsistent
+     */
+    CompressedSparseStorage(final int majorDimension, final int minorDimension,
+                            final int[] pointers, final int[] indices, final double[] values,
+                            final boolean check)
+        throws MathIllegalArgumentException {
+        this.majorDimension = majorDimension;
+        this.minorDimension = minorDimension;
+        this.pointers       = pointers;
+        this.indices        = indices;
+        this.values         = values;
+        if (check) {
+            checkConsistency();
+        }
+    }
+
+    /** Copy constructor.
+     * @param storage storage to copy
+     */
+    CompressedSparseStorage(final CompressedSparseStorage storage) {
+        this.majorDimension = storage.majorDimension;
+        this.minorDimension = storage.minorDimension;
+        this.pointers       = storage.pointers.clone();
+        this.indices        = storage.indices.clone();
+        this.values         = storage.values.clone();
+    }
+
+    /** Check arrays consistency.
+     * @exception MathIllegalArgumentException if arrays are inconsistent
+     */
+    private void checkConsistency() throws MathIllegalArgumentException {
+        if (pointers.length != majorDimension + 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   pointers.length, majorDimension + 1);
+        }
+        if (pointers[0] != 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INDEX, pointers[0]);
+        }
+        if (values.length != indices.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   values.length, indices.length);
+        }
+        if (pointers[majorDimension] != indices.length) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   pointers[majorDimension], indices.length);
+        }
+        for (int i = 0; i < majorDimension; ++i) {
+            if (pointers[i + 1] < pointers[i]) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_INCREASING_SEQUENCE,
+                                                       pointers[i + 1], pointers[i], i + 1, i);
+            }
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                if (indices[k] < 0 || indices[k] >= minorDimension) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                           indices[k], 0, minorDimension - 1);
+                }
+                if (k > pointers[i] && indices[k] <= indices[k - 1]) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE,
+                                                           indices[k], indices[k - 1], k, k - 1);
+                }
+            }
+        }
+    }
+
+    /** Get the major dimension.
+     * @return major dimension
+     */
+    int getMajorDimension() {
+        return majorDimension;
+    }
+
+    /** Get the minor dimension.
+     * @return minor dimension
+     */
+    int getMinorDimension() {
+        return minorDimension;
+    }
+
+    /** Get a reference to the pointers array.
+     * @return reference to the pointers array
+     */
+    int[] getPointers() {
+        return pointers;
+    }
+
+    /** Get a reference to the minor indices array.
+     * @return reference to the minor indices array
+     */
+    int[] getIndices() {
+        return indices;
+    }
+
+    /** Get a reference to the values array.
+     * @return reference to the values array
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /** Get the number of stored entries.
+     * @return number of stored entries
+     */
+    int getStoredEntries() {
+        return pointers[majorDimension];
+    }
+
+    /** Find the storage index of an entry.
+     * @param major major index
+     * @param minor minor index
+     * @return storage index of the entry if it is stored, {@code (-(insertion point) - 1)} otherwise
+     */
+    private int find(final int major, final int minor) {
+        return Arrays.binarySearch(indices, pointers[major], pointers[major + 1], minor);
+    }
+
+    /** Get an entry.
+     * @param major major index
+     * @param minor minor index
+     * @return entry value
+     */
+    double get(final int major, final int minor) {
+        final int k = find(major, minor);
+        return k < 0 ? 0.0 : values[k];
+    }
+
+    /** Set an entry.
+     * <p>
+     * Setting an entry that is not stored yet to a non-zero value requires
+     * shifting all subsequent entries, so it costs O(nnz).
+     * </p>
+     * @param major major index
+     * @param minor minor index
+     * @param value new value
+     */
+    void set(final int major, final int minor, final double value) {
+        final int k = find(major, minor);
+        if (k >= 0) {
+            values[k] = value;
+        } else if (value != 0.0) {
+            insert(major, minor, -(k + 1), value);
+        }
+    }
+
+    /** Add an increment to an entry.
+     * @param major major index
+     * @param minor minor index
+     * @param increment value to add
+     */
+    void add(final int major, final int minor, final double increment) {
+        final int k = find(major, minor);
+        if (k >= 0) {
+            values[k] += increment;
+        } else if (increment != 0.0) {
+            insert(major, minor, -(k + 1), increment);
+        }
+    }
+
+    /** Multiply an entry by a factor.
+     * @param major major index
+     * @param minor minor index
+     * @param factor multiplication factor
+     */
+    void multiply(final int major, final int minor, final double factor) {
+        final int k = find(major, minor);
+        if (k >= 0) {
+            values[k] *= factor;
+        }
+    }
+
+    /** Insert a new entry.
+     * @param major major index
+     * @param minor minor index
+     * @param k insertion point
+     * @param value value of the new entry
+     */
+    private void insert(final int major, final int minor, final int k, final double value) {
+        final int      n         = indices.length;
+        final int[]    newIndices = new int[n + 1];
+        final double[] newValues  = new double[n + 1];
+        System.arraycopy(indices, 0, newIndices, 0, k);
+        System.arraycopy(values,  0, newValues,  0, k);
+        newIndices[k] = minor;
+        newValues[k]  = value;
+        System.arraycopy(indices, k, newIndices, k + 1, n - k);
+        System.arraycopy(values,  k, newValues,  k + 1, n - k);
+        for (int i = major + 1; i <= majorDimension; ++i) {
+            ++pointers[i];
+        }
+        indices = newIndices;
+        values  = newValues;
+    }
+
+    /** Compute y[i] = &sum;<sub>j</sub> a<sub>i,j</sub> x[j], i being the major index.
+     * @param x input vector (size minorDimension)
+     * @return output vector (size majorDimension)
+     */
+    double[] gather(final double[] x) {
+        final double[] y = new double[majorDimension];
+        for (int i = 0; i < majorDimension; ++i) {
+            double sum = 0;
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                sum += values[k] * x[indices[k]];
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+
+    /** Compute y[j] = &sum;<sub>i</sub> a<sub>i,j</sub> x[i], i being the major index.
+     * @param x input vector (size majorDimension)
+     * @return output vector (size minorDimension)
+     */
+    double[] scatter(final double[] x) {
+        final double[] y = new double[minorDimension];
+        for (int i = 0; i < majorDimension; ++i) {
+            final double xi = x[i];
+            if (xi != 0.0) {
+                for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                    y[indices[k]] += values[k] * xi;
+                }
+            }
+        }
+        return y;
+    }
+
+    /** Build the storage of the same matrix with major and minor dimensions exchanged.
+     * <p>
+     * This corresponds to both changing format between compressed row and compressed
+     * column without changing the matrix, or transposing the matrix without changing format.
+     * </p>
+     * @return storage with major and minor dimensions exchanged
+     */
+    CompressedSparseStorage swapDimensions() {
+        final int      nnz           = getStoredEntries();
+        final int[]    swappedPtr    = new int[minorDimension + 1];
+        final int[]    swappedIdx    = new int[nnz];
+        final double[] swappedValues = new double[nnz];
+
+        // count entries per minor index
+        for (int k = 0; k < nnz; ++k) {
+            ++swappedPtr[indices[k] + 1];
+        }
+        for (int j = 0; j < minorDimension; ++j) {
+            swappedPtr[j + 1] += swappedPtr[j];
+        }
+
+        // distribute entries, major indices being visited in increasing order
+        final int[] next = Arrays.copyOf(swappedPtr, minorDimension);
+        for (int i = 0; i < majorDimension; ++i) {
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                final int dest = next[indices[k]]++;
+                swappedIdx[dest]    = i;
+                swappedValues[dest] = values[k];
+            }
+        }
+
+        return new CompressedSparseStorage(minorDimension, majorDimension,
+                                           swappedPtr, swappedIdx, swappedValues, false);
+
+    }
+
+    /** Compute the product of two storages sharing the same orientation.
+     * <p>
+     * If both storages are compressed rows, this computes {@code this * s};
+     * if both storages are compressed columns, this computes {@code s * this}.
+     * The algorithm is Gustavson's row-by-row product using a dense accumulator.
+     * </p>
+     * @param s other storage (its major dimension must be equal to the
+     * minor dimension of the instance)
+     * @return product storage
+     */
+    CompressedSparseStorage multiply(final CompressedSparseStorage s) {
+
+        final int      outMinor = s.minorDimension;
+        final double[] acc      = new double[outMinor];
+        final int[]    marker   = new int[outMinor];
+        Arrays.fill(marker, -1);
+        final int[]    pattern  = new int[outMinor];
+
+        final int[] outPtr    = new int[majorDimension + 1];
+        int[]       outIdx    = new int[FastMath.max(getStoredEntries(), s.getStoredEntries())];
+        double[]    outValues = new double[outIdx.length];
+        int         nnz       = 0;
+
+        for (int i = 0; i < majorDimension; ++i) {
+
+            // accumulate the sparse combination of rows of s
+            int count = 0;
+            for (int k = pointers[i]; k < pointers[i + 1]; ++k) {
+                final int    l   = indices[k];
+                final double aik = values[k];
+                for (int m = s.pointers[l]; m < s.pointers[l + 1]; ++m) {
+                    final int j = s.indices[m];
+                    if (marker[j] != i) {
+                        marker[j]        = i;
+                        acc[j]           = 0.0;
+                        pattern[count++] = j;
+                    }
+                    acc[j] += aik * s.values[m];
+                }
+            }
+
+            // store the row, with sorted minor indices
+            Arrays.sort(pattern, 0, count);
+            if (nnz + count > outIdx.length) {
+                final int newLength = FastMath.max(2 * outIdx.length, nnz + count);
+                outIdx    = Arrays.copyOf(outIdx, newLength);
+                outValues = Arrays.copyOf(outValues, newLength);
+            }
+            for (int c = 0; c < count; ++c) {
+                outIdx[nnz]    = pattern[c];
+                outValues[nnz] = acc[pattern[c]];
+                ++nnz;
+            }
+            outPtr[i + 1] = nnz;
+
+        }
+
+        return new CompressedSparseStorage(majorDimension, outMinor, outPtr,
+                                           Arrays.copyOf(outIdx, nnz), Arrays.copyOf(outValues, nnz),
+                                           false);
+
+    }
+
+    /** Compute a linear combination {@code this + factor * s} of two storages sharing the same orientation.
+     * @param s other storage (must have the same dimensions as the instance)
+     * @param factor factor to apply to the other storage
+     * @return linear combination storage
+     */
+    CompressedSparseStorage combine(final CompressedSparseStorage s, final double factor) {
+
+        final int[]    outPtr    = new int[majorDimension + 1];
+        final int[]    outIdx    = new int[getStoredEntries() + s.getStoredEntries()];
+        final double[] outValues = new double[outIdx.length];
+        int            nnz       = 0;
+
+        for (int i = 0; i < majorDimension; ++i) {
+            // merge the two sorted sets of minor indices
+            int k1 = pointers[i];
+            int k2 = s.pointers[i];
+            while (k1 < pointers[i + 1] || k2 < s.pointers[i + 1]) {
+                final int j1 = k1 < pointers[i + 1]   ? indices[k1]   : Integer.MAX_VALUE;
+                final int j2 = k2 < s.pointers[i + 1] ? s.indices[k2] : Integer.MAX_VALUE;
+                if (j1 < j2) {
+                    outIdx[nnz]    = j1;
+                    outValues[nnz] = values[k1++];
+                } else if (j2 < j1) {
+                    outIdx[nnz]    = j2;
+                    outValues[nnz] = factor * s.values[k2++];
+                } else {
+                    outIdx[nnz]    = j1;
+                    outValues[nnz] = values[k1++] + factor * s.values[k2++];
+                }
+                ++nnz;
+            }
+            outPtr[i + 1] = nnz;
+        }
+
+        return new CompressedSparseStorage(majorDimension, minorDimension, outPtr,
+                                           Arrays.copyOf(outIdx, nnz), Arrays.copyOf(outValues, nnz),
+                                           false);
+
+    }
+
+    /** Multiply all entries by a scalar.
+     * @param d scalar
+     * @return scaled storage
+     */
+    CompressedSparseStorage scale(final double d) {
+        final CompressedSparseStorage scaled = new CompressedSparseStorage(this);
+        for (int k = 0; k < scaled.values.length; ++k) {
+            scaled.values[k] *= d;
+        }
+        return scaled;
+    }
+
+}
@@ -22,11 +22,15 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
 import org.hipparchus.util.Precision;
 
 /**
@@ -83,9 +87,12 @@ public class EigenDecompositionSymmetric {
     /** Eigenvalues. */
     private double[] eigenvalues;
 
-    /** Eigenvectors. */
+    /** Eigenvectors (null if they were not computed). */
     private ArrayRealVector[] eigenvectors;
 
+    /** Dimension of the decomposed matrix. */
+    private int dimension;
+
     /** Cached value of V. */
     private RealMatrix cachedV;
 
@@ -179,6 +186,106 @@ public class EigenDecompositionSymmetric {
         findEigenVectors(main.clone(), secondary.clone(), z, decreasing);
     }
 
+    /**
+     * Calculates the eigen decomposition of the given symmetric real matrix,
+     * using a divide-and-conquer algorithm.
+     * <p>
+     * After reduction to tridiagonal form, the tridiagonal matrix is split in two
+     * halves coupled by a rank-one correction, the halves are diagonalized recursively
+     * and their eigenpairs are merged by solving a secular equation (Cuppen's method).
+     * Sub-problems are solved concurrently and the eigenvectors merges are split among
+     * threads if {@code pool} is not null. This is much faster than the implicit QL
+     * iterations used by the other constructors for large matrices, even on a single
+     * thread, as most of the work is done in matrix products.
+     * </p>
+     * @param matrix Matrix to decompose.
+     * @param epsilon Epsilon used for internal tests (e.g. is singular, eigenvalue ratio, etc.)
+     * @param decreasing if true, eigenvalues will be sorted in decreasing order
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @throws MathIllegalStateException if the algorithm fails to converge.
+     * @throws MathIllegalArgumentException if the matrix is not symmetric
+     * @since 4.1
+     */
+    public EigenDecompositionSymmetric(final RealMatrix matrix, final double epsilon,
+                                       final boolean decreasing, final ForkJoinPool pool) {
+        this(matrix, epsilon, decreasing, 0, matrix.getRowDimension() - 1, true, pool);
+    }
+
+    /**
+     * Calculates a partial eigen decomposition of the given symmetric real matrix.
+     * <p>
+     * Only eigenvalues with indices between {@code first} and {@code last} (inclusive,
+     * counting from 0 in the order specified by {@code decreasing}) are computed,
+     * together with the associated eigenvectors if {@code eigenvectorsNeeded} is true.
+     * The methods of this class then refer to the selected eigenpairs only: {@link
+     * #getEigenvalue(int) getEigenvalue(0)} returns eigenvalue {@code first}, {@link #getD()}
+     * has {@code last - first + 1} rows and columns and {@link #getV()} has as many
+     * columns. The determinant, the square root and the solver are available only
+     * for complete decompositions.
+     * </p>
+     * <p>
+     * If all eigenpairs are selected, the divide-and-conquer algorithm described in
+     * {@link #EigenDecompositionSymmetric(RealMatrix, double, boolean, ForkJoinPool)} is
+     * used. Otherwise, selected eigenvalues are computed independently by bisection and
+     * eigenvectors, if needed, by inverse iteration, and the matrix of the transformation
+     * to tridiagonal form is never built. The cost of this last step is proportional to
+     * the number of selected eigenpairs, which is well suited to extract the few dominant
+     * components of a large covariance matrix, or to get only the eigenvalues.
+     * </p>
+     * @param matrix Matrix to decompose.
+     * @param epsilon Epsilon used for internal tests (e.g. is singular, eigenvalue ratio, etc.)
+     * @param decreasing if true, eigenvalues will be sorted in decreasing order
+     * @param first index of the first eigenvalue to compute
+     * @param last index of the last eigenvalue to compute (inclusive)
+     * @param eigenvectorsNeeded if true, eigenvectors are computed in addition to eigenvalues
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @throws MathIllegalStateException if the algorithm fails to converge.
+     * @throws MathIllegalArgumentException if the matrix is not symmetric
+     * or if the indices are out of range
+     * @since 4.1
+     */
+    public EigenDecompositionSymmetric(final RealMatrix matrix, final double epsilon,
+                                       final boolean decreasing, final int first, final int last,
+                                       final boolean eigenvectorsNeeded, final ForkJoinPool pool) {
+        this.epsilon = epsilon;
+        MatrixUtils.checkSymmetric(matrix, epsilon);
+
+        // transform the matrix to tridiagonal
+        final TriDiagonalTransformer transformer = new TriDiagonalTransformer(matrix);
+
+        decompose(transformer.getMainDiagonalRef(), transformer.getSecondaryDiagonalRef(),
+                  eigenvectorsNeeded ? transformer : null,
+                  decreasing, first, last, eigenvectorsNeeded, pool);
+
+    }
+
+    /**
+     * Calculates a partial eigen decomposition of the symmetric tridiagonal matrix.
+     * <p>
+     * The Householder matrix is assumed to be the identity matrix. The selection of
+     * eigenpairs and the algorithms used are described in {@link
+     * #EigenDecompositionSymmetric(RealMatrix, double, boolean, int, int, boolean, ForkJoinPool)}.
+     * </p>
+     * @param main Main diagonal of the symmetric tridiagonal form.
+     * @param secondary Secondary of the tridiagonal form.
+     * @param epsilon Epsilon used for internal tests (e.g. is singular, eigenvalue ratio, etc.)
+     * @param decreasing if true, eigenvalues will be sorted in decreasing order
+     * @param first index of the first eigenvalue to compute
+     * @param last index of the last eigenvalue to compute (inclusive)
+     * @param eigenvectorsNeeded if true, eigenvectors are computed in addition to eigenvalues
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @throws MathIllegalStateException if the algorithm fails to converge.
+     * @throws MathIllegalArgumentException if the indices are out of range
+     * @since 4.1
+     */
+    public EigenDecompositionSymmetric(final double[] main, final double[] secondary,
+                                       final double epsilon, final boolean decreasing,
+                                       final int first, final int last,
+                                       final boolean eigenvectorsNeeded, final ForkJoinPool pool) {
+        this.epsilon = epsilon;
+        decompose(main, secondary, null, decreasing, first, last, eigenvectorsNeeded, pool);
+    }
+
     /**
      * Gets the matrix V of the decomposition.
      * V is an orthogonal matrix, i.e. its transpose is also its inverse.
@@ -192,8 +299,9 @@ public class EigenDecompositionSymmetric {
     public RealMatrix getV() {
 
         if (cachedV == null) {
+            checkEigenvectors();
             final int m = eigenvectors.length;
-            cachedV = MatrixUtils.createRealMatrix(m, m);
+            cachedV = MatrixUtils.createRealMatrix(dimension, m);
             for (int k = 0; k < m; ++k) {
                 cachedV.setColumnVector(k, eigenvectors[k]);
             }
@@ -240,8 +348,9 @@ public class EigenDecompositionSymmetric {
     public RealMatrix getVT() {
 
         if (cachedVt == null) {
+            checkEigenvectors();
             final int m = eigenvectors.length;
-            cachedVt = MatrixUtils.createRealMatrix(m, m);
+            cachedVt = MatrixUtils.createRealMatrix(m, dimension);
             for (int k = 0; k < m; ++k) {
                 cachedVt.setRowVector(k, eigenvectors[k]);
             }
@@ -288,6 +397,7 @@ public class EigenDecompositionSymmetric {
      * @see #getD()
      */
     public RealVector getEigenvector(final int i) {
+        checkEigenvectors();
         return eigenvectors[i].copy();
     }
 
@@ -297,6 +407,7 @@ public class EigenDecompositionSymmetric {
      * @return the determinant of the matrix.
      */
     public double getDeterminant() {
+        checkComplete();
         double determinant = 1;
         for (double eigenvalue : eigenvalues) {
             determinant *= eigenvalue;
@@ -314,6 +425,9 @@ public class EigenDecompositionSymmetric {
      */
     public RealMatrix getSquareRoot() {
 
+        checkComplete();
+        checkEigenvectors();
+
         final double[] sqrtEigenValues = new double[eigenvalues.length];
         for (int i = 0; i < eigenvalues.length; i++) {
             final double eigen = eigenvalues[i];
@@ -334,9 +448,29 @@ public class EigenDecompositionSymmetric {
      * @return a solver
      */
     public DecompositionSolver getSolver() {
+        checkComplete();
+        checkEigenvectors();
         return new Solver();
     }
 
+    /** Check the eigenvectors have been computed.
+     * @throws MathRuntimeException if eigenvectors have not been computed
+     */
+    private void checkEigenvectors() {
+        if (eigenvectors == null) {
+            throw new MathRuntimeException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+    }
+
+    /** Check all eigenvalues have been computed.
+     * @throws MathRuntimeException if only a range of eigenvalues has been computed
+     */
+    private void checkComplete() {
+        if (eigenvalues.length < dimension) {
+            throw new MathRuntimeException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+    }
+
     /** Specialized solver. */
     private class Solver implements DecompositionSolver {
 
@@ -500,6 +634,7 @@ public class EigenDecompositionSymmetric {
                                   final double[][] householderMatrix, final boolean decreasing) {
         final double[][]z = householderMatrix.clone();
         final int n = main.length;
+        dimension = n;
         eigenvalues = new double[n];
         final double[] e = new double[n];
         for (int i = 0; i < n - 1; i++) {
@@ -509,11 +644,131 @@ public class EigenDecompositionSymmetric {
         eigenvalues[n - 1] = main[n - 1];
         e[n - 1] = 0;
 
+        cleanTridiagonal(eigenvalues, e);
+        implicitQL(eigenvalues, e, z);
+
+        // Sort the eigen values (and vectors) in desired order
+        for (int i = 0; i < n; i++) {
+            int k = i;
+            double p = eigenvalues[i];
+            for (int j = i + 1; j < n; j++) {
+                if (eigenvalues[j] > p == decreasing) {
+                    k = j;
+                    p = eigenvalues[j];
+                }
+            }
+            if (k != i) {
+                eigenvalues[k] = eigenvalues[i];
+                eigenvalues[i] = p;
+                for (int j = 0; j < n; j++) {
+                    p = z[j][i];
+                    z[j][i] = z[j][k];
+                    z[j][k] = p;
+                }
+            }
+        }
+
+        cleanEigenvalues(eigenvalues);
+
+        eigenvectors = new ArrayRealVector[n];
+        for (int i = 0; i < n; i++) {
+            eigenvectors[i] = new ArrayRealVector(n);
+            for (int j = 0; j < n; j++) {
+                eigenvectors[i].setEntry(j, z[j][i]);
+            }
+        }
+    }
+
+    /**
+     * Find selected eigenvalues and eigenvectors of a tridiagonal matrix.
+     * @param main main diagonal of the tridiagonal matrix
+     * @param secondary secondary diagonal of the tridiagonal matrix
+     * @param transformer transformation to tridiagonal form (null if the
+     * Householder matrix is the identity or if eigenvectors are not needed)
+     * @param decreasing if true, eigenvalues will be sorted in decreasing order
+     * @param first index of the first eigenvalue to compute
+     * @param last index of the last eigenvalue to compute (inclusive)
+     * @param eigenvectorsNeeded if true, eigenvectors are computed in addition to eigenvalues
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     */
+    private void decompose(final double[] main, final double[] secondary,
+                           final TriDiagonalTransformer transformer, final boolean decreasing,
+                           final int first, final int last, final boolean eigenvectorsNeeded,
+                           final ForkJoinPool pool) {
+
+        final int n = main.length;
+        MathUtils.checkRangeInclusive(first, 0, n - 1);
+        MathUtils.checkRangeInclusive(last, first, n - 1);
+        dimension = n;
+
+        final double[] d = main.clone();
+        final double[] e = new double[n];
+        System.arraycopy(secondary, 0, e, 0, n - 1);
+        cleanTridiagonal(d, e);
+
+        // indices of the selected eigenvalues, in increasing order
+        final int low  = decreasing ? n - 1 - last  : first;
+        final int high = decreasing ? n - 1 - first : last;
+
+        // eigenpairs of the tridiagonal matrix, in increasing order
+        final double[]   lambda;
+        final double[][] vectors;
+        if (eigenvectorsNeeded && high - low + 1 == n) {
+            final TriDiagonalDivideAndConquer dc = new TriDiagonalDivideAndConquer(d, e, pool);
+            lambda  = dc.getEigenvaluesRef();
+            vectors = MatrixUtils.createRealMatrix(dc.getEigenvectorsRef()).transpose().getData();
+        } else {
+            final TriDiagonalBisection bisection =
+                            new TriDiagonalBisection(d, e, low, high, eigenvectorsNeeded, pool);
+            lambda  = bisection.getEigenvaluesRef();
+            vectors = bisection.getEigenvectorsRef();
+        }
+
+        final int k = lambda.length;
+        eigenvalues = new double[k];
+        for (int i = 0; i < k; ++i) {
+            eigenvalues[i] = lambda[decreasing ? k - 1 - i : i];
+        }
+        if (k == n) {
+            cleanEigenvalues(eigenvalues);
+        }
+
+        if (vectors != null) {
+
+            // go back from the tridiagonal form to the original matrix
+            if (transformer != null) {
+                if (pool == null) {
+                    for (int i = 0; i < k; i += BackTransformTask.SEQUENTIAL_VECTORS) {
+                        transformer.applyQ(vectors, i, FastMath.min(i + BackTransformTask.SEQUENTIAL_VECTORS, k));
+                    }
+                } else {
+                    pool.invoke(new BackTransformTask(transformer, vectors, 0, k));
+                }
+            }
+
+            eigenvectors = new ArrayRealVector[k];
+            for (int i = 0; i < k; ++i) {
+                eigenvectors[i] = new ArrayRealVector(vectors[decreasing ? k - 1 - i : i], false);
+            }
+
+        }
+
+    }
+
+    /**
+     * Make null main and secondary values too small to be significant.
+     * @param d main diagonal of the tridiagonal matrix (modified in place)
+     * @param e secondary diagonal of the tridiagonal matrix, padded with a
+     * trailing zero (modified in place)
+     */
+    private static void cleanTridiagonal(final double[] d, final double[] e) {
+        final int n = d.length;
+
         // Determine the largest main and secondary value in absolute term.
         double maxAbsoluteValue = 0;
         for (int i = 0; i < n; i++) {
-            if (FastMath.abs(eigenvalues[i]) > maxAbsoluteValue) {
-                maxAbsoluteValue = FastMath.abs(eigenvalues[i]);
+            if (FastMath.abs(d[i]) > maxAbsoluteValue) {
+                maxAbsoluteValue = FastMath.abs(d[i]);
             }
             if (FastMath.abs(e[i]) > maxAbsoluteValue) {
                 maxAbsoluteValue = FastMath.abs(e[i]);
@@ -522,22 +777,63 @@ public class EigenDecompositionSymmetric {
         // Make null any main and secondary value too small to be significant
         if (maxAbsoluteValue != 0) {
             for (int i=0; i < n; i++) {
-                if (FastMath.abs(eigenvalues[i]) <= Precision.EPSILON * maxAbsoluteValue) {
-                    eigenvalues[i] = 0;
+                if (FastMath.abs(d[i]) <= Precision.EPSILON * maxAbsoluteValue) {
+                    d[i] = 0;
                 }
                 if (FastMath.abs(e[i]) <= Precision.EPSILON * maxAbsoluteValue) {
                     e[i]=0;
                 }
             }
         }
+    }
 
+    /**
+     * Make null eigenvalues too small to be significant.
+     * @param lambda eigenvalues (modified in place)
+     */
+    private static void cleanEigenvalues(final double[] lambda) {
+        final int n = lambda.length;
+
+        // Determine the largest eigen value in absolute term.
+        double maxAbsoluteValue = 0;
+        for (int i = 0; i < n; i++) {
+            if (FastMath.abs(lambda[i]) > maxAbsoluteValue) {
+                maxAbsoluteValue = FastMath.abs(lambda[i]);
+            }
+        }
+        // Make null any eigen value too small to be significant
+        if (maxAbsoluteValue != 0.0) {
+            for (int i=0; i < n; i++) {
+                if (FastMath.abs(lambda[i]) < Precision.EPSILON * maxAbsoluteValue) {
+                    lambda[i] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Diagonalize a symmetric tridiagonal matrix by implicit QL iterations (Dubrulle et al., 1971).
+     * <p>
+     * Eigenvalues are not sorted.
+     * </p>
+     * @param d main diagonal of the tridiagonal matrix, replaced by the eigenvalues on return
+     * @param e secondary diagonal of the tridiagonal matrix, padded with a trailing zero
+     * (destroyed on return)
+     * @param z matrix to which rotations are applied on the right (on input, identity to get
+     * the eigenvectors of the tridiagonal matrix or Householder matrix of a transformation to
+     * tridiagonal form to get eigenvectors of the original matrix), may be null if eigenvectors
+     * are not needed
+     * @exception MathIllegalStateException if the algorithm fails to converge
+     */
+    static void implicitQL(final double[] d, final double[] e, final double[][] z) {
+        final int n = d.length;
         for (int j = 0; j < n; j++) {
             int its = 0;
             int m;
             do {
                 for (m = j; m < n - 1; m++) {
-                    double delta = FastMath.abs(eigenvalues[m]) +
-                        FastMath.abs(eigenvalues[m + 1]);
+                    double delta = FastMath.abs(d[m]) +
+                        FastMath.abs(d[m + 1]);
                     if (FastMath.abs(e[m]) + delta == delta) {
                         break;
                     }
@@ -548,12 +844,12 @@ public class EigenDecompositionSymmetric {
                                                             MAX_ITER);
                     }
                     its++;
-                    double q = (eigenvalues[j + 1] - eigenvalues[j]) / (2 * e[j]);
+                    double q = (d[j + 1] - d[j]) / (2 * e[j]);
                     double t = FastMath.sqrt(1 + q * q);
                     if (q < 0.0) {
-                        q = eigenvalues[m] - eigenvalues[j] + e[j] / (q - t);
+                        q = d[m] - d[j] + e[j] / (q - t);
                     } else {
-                        q = eigenvalues[m] - eigenvalues[j] + e[j] / (q + t);
+                        q = d[m] - d[j] + e[j] / (q + t);
                     }
                     double u = 0.0;
                     double s = 1.0;
@@ -576,74 +872,82 @@ public class EigenDecompositionSymmetric {
                             s *= c;
                         }
                         if (e[i + 1] == 0.0) {
-                            eigenvalues[i + 1] -= u;
+                            d[i + 1] -= u;
                             e[m] = 0.0;
                             break;
                         }
-                        q = eigenvalues[i + 1] - u;
-                        t = (eigenvalues[i] - q) * s + 2.0 * c * h;
+                        q = d[i + 1] - u;
+                        t = (d[i] - q) * s + 2.0 * c * h;
                         u = s * t;
-                        eigenvalues[i + 1] = q + u;
+                        d[i + 1] = q + u;
                         q = c * t - h;
-                        for (int ia = 0; ia < n; ia++) {
-                            p = z[ia][i + 1];
-                            z[ia][i + 1] = s * z[ia][i] + c * p;
-                            z[ia][i] = c * z[ia][i] - s * p;
+                        if (z != null) {
+                            for (int ia = 0; ia < z.length; ia++) {
+                                p = z[ia][i + 1];
+                                z[ia][i + 1] = s * z[ia][i] + c * p;
+                                z[ia][i] = c * z[ia][i] - s * p;
+                            }
                         }
                     }
                     if (t == 0.0 && i >= j) {
                         continue;
                     }
-                    eigenvalues[j] -= u;
+                    d[j] -= u;
                     e[j] = q;
                     e[m] = 0.0;
                 }
             } while (m != j);
         }
+    }
 
-        // Sort the eigen values (and vectors) in desired order
-        for (int i = 0; i < n; i++) {
-            int k = i;
-            double p = eigenvalues[i];
-            for (int j = i + 1; j < n; j++) {
-                if (eigenvalues[j] > p == decreasing) {
-                    k = j;
-                    p = eigenvalues[j];
-                }
-            }
-            if (k != i) {
-                eigenvalues[k] = eigenvalues[i];
-                eigenvalues[i] = p;
-                for (int j = 0; j < n; j++) {
-                    p = z[j][i];
-                    z[j][i] = z[j][k];
-                    z[j][k] = p;
-                }
-            }
-        }
 
-        // Determine the largest eigen value in absolute term.
-        maxAbsoluteValue = 0;
-        for (int i = 0; i < n; i++) {
-            if (FastMath.abs(eigenvalues[i]) > maxAbsoluteValue) {
-                maxAbsoluteValue = FastMath.abs(eigenvalues[i]);
-            }
-        }
-        // Make null any eigen value too small to be significant
-        if (maxAbsoluteValue != 0.0) {
-            for (int i=0; i < n; i++) {
-                if (FastMath.abs(eigenvalues[i]) < Precision.EPSILON * maxAbsoluteValue) {
-                    eigenvalues[i] = 0;
-                }
-            }
+    /** Task for going back from the tridiagonal form to the original matrix. */
+    private static class BackTransformTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Number of vectors transformed together, sharing the Householder vectors in cache. */
+        private static final int SEQUENTIAL_VECTORS = 32;
+
+        /** Transformation to tridiagonal form. */
+        private final TriDiagonalTransformer transformer;
+
+        /** Vectors to transform. */
+        private final double[][] vectors;
+
+        /** Index of the first vector to transform (inclusive). */
+        private final int start;
+
+        /** Index of the last vector to transform (exclusive). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param transformer transformation to tridiagonal form
+         * @param vectors vectors to transform
+         * @param start index of the first vector to transform (inclusive)
+         * @param end index of the last vector to transform (exclusive)
+         */
+        BackTransformTask(final TriDiagonalTransformer transformer, final double[][] vectors,
+                          final int start, final int end) {
+            this.transformer = transformer;
+            this.vectors     = vectors;
+            this.start       = start;
+            this.end         = end;
         }
-        eigenvectors = new ArrayRealVector[n];
-        for (int i = 0; i < n; i++) {
-            eigenvectors[i] = new ArrayRealVector(n);
-            for (int j = 0; j < n; j++) {
-                eigenvectors[i].setEntry(j, z[j][i]);
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_VECTORS) {
+                transformer.applyQ(vectors, start, end);
+            } else {
+                final int middle = (start + end) / 2;
+                invokeAll(new BackTransformTask(transformer, vectors, start, middle),
+                          new BackTransformTask(transformer, vectors, middle, end));
             }
         }
+
     }
 
 }
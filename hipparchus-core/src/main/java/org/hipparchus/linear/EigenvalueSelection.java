@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.util.FastMath;
+
+/** Selection of the part of the spectrum computed by partial eigensolvers.
+ * @see LanczosEigenDecomposition
+ * @see ArnoldiEigenDecomposition
+ * @since 4.1
+ */
+public enum EigenvalueSelection {
+
+    /** Eigenvalues with largest magnitude. */
+    LARGEST_MAGNITUDE {
+        /** {@inheritDoc} */
+        @Override
+        int compare(final double re1, final double im1, final double re2, final double im2) {
+            return Double.compare(FastMath.hypot(re2, im2), FastMath.hypot(re1, im1));
+        }
+    },
+
+    /** Eigenvalues with smallest magnitude.
+     * <p>
+     * Convergence towards the smallest eigenvalues is usually slow, shift-invert
+     * mode with a zero shift should be preferred when a solver is available.
+     * </p>
+     */
+    SMALLEST_MAGNITUDE {
+        /** {@inheritDoc} */
+        @Override
+        int compare(final double re1, final double im1, final double re2, final double im2) {
+            return Double.compare(FastMath.hypot(re1, im1), FastMath.hypot(re2, im2));
+        }
+    },
+
+    /** Eigenvalues with largest real part (largest algebraic for symmetric operators). */
+    LARGEST_REAL {
+        /** {@inheritDoc} */
+        @Override
+        int compare(final double re1, final double im1, final double re2, final double im2) {
+            return Double.compare(re2, re1);
+        }
+    },
+
+    /** Eigenvalues with smallest real part (smallest algebraic for symmetric operators). */
+    SMALLEST_REAL {
+        /** {@inheritDoc} */
+        @Override
+        int compare(final double re1, final double im1, final double re2, final double im2) {
+            return Double.compare(re1, re2);
+        }
+    };
+
+    /** Compare two eigenvalues.
+     * @param re1 real part of first eigenvalue
+     * @param im1 imaginary part of first eigenvalue
+     * @param re2 real part of second eigenvalue
+     * @param im2 imaginary part of second eigenvalue
+     * @return negative if first eigenvalue is preferred, positive if second eigenvalue
+     * is preferred, zero if they are equally preferred
+     */
+    abstract int compare(double re1, double im1, double re2, double im2);
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.IterationManager;
+
+/**
+ * <p>
+ * This is an implementation of the restarted Generalized Minimal RESidual method
+ * GMRES(m) for non-symmetric {@link RealLinearOperator}. The linear system at
+ * hand is A &middot; x = b, and the residual is r = b - A &middot; x.
+ * </p>
+ * <p>
+ * The preconditioner M is applied on the right, i.e. GMRES minimizes the norm
+ * of the true residual of A &middot; M &middot; y = b with x = M &middot; y, so
+ * the preconditioner does not change the stopping criterion. As for all solvers
+ * in this package, M is the operator approximating A<sup>-1</sup>, for example an
+ * {@link IncompleteLUPreconditioner}.
+ * </p>
+ * <p><strong>Default stopping criterion</strong></p>
+ * <p>
+ * The iterations stop when || r || &le; &delta; || b ||, where b is the
+ * right-hand side vector, r the current estimate of the residual, and &delta; a
+ * user-specified tolerance. Within a cycle, || r || is the norm updated by
+ * the Givens rotations, it is replaced by the true residual norm at restart.
+ * </p>
+ * <p><strong>Iteration count</strong></p>
+ * <p>
+ * In the present context, an iteration should be understood as one evaluation
+ * of the matrix-vector product A &middot; x. The initialization phase and the
+ * computation of the true residual at each restart therefore count as one
+ * iteration each.
+ * </p>
+ * <p><strong>Events</strong></p>
+ * <p>
+ * Events fired within a cycle provide the solution at the beginning of the
+ * cycle, as the Krylov correction is only applied at restart, and no residual
+ * vector. Initialization and termination events provide the residual.
+ * </p>
+ * <p><strong>References</strong></p>
+ * <dl>
+ * <dt><a id="SAAD1986">Saad and Schultz (1986)</a></dt>
+ * <dd>Y. Saad and M. H. Schultz, <em>GMRES: A Generalized Minimal Residual
+ * Algorithm for Solving Nonsymmetric Linear Systems</em>, SIAM Journal on
+ * Scientific and Statistical Computing 7(3): 856-869, 1986</dd>
+ * </dl>
+ * @since 4.1
+ */
+public class GMRES extends PreconditionedIterativeLinearSolver {
+
+    /** Restart parameter m (dimension of the Krylov subspace). */
+    private final int restart;
+
+    /** The value of &delta;, for the default stopping criterion. */
+    private final double delta;
+
+    /**
+     * Creates a new instance of this class, with default stopping criterion.
+     *
+     * @param maxIterations the maximum number of iterations
+     * @param restart restart parameter m, i.e. number of iterations in each cycle
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws MathIllegalArgumentException if restart is not strictly positive
+     */
+    public GMRES(final int maxIterations, final int restart, final double delta)
+        throws MathIllegalArgumentException {
+        super(maxIterations);
+        this.restart = checkRestart(restart);
+        this.delta   = delta;
+    }
+
+    /**
+     * Creates a new instance of this class, with default stopping criterion
+     * and custom iteration manager.
+     *
+     * @param manager the custom iteration manager
+     * @param restart restart parameter m, i.e. number of iterations in each cycle
+     * @param delta the &delta; parameter for the default stopping criterion
+     * @throws NullArgumentException if {@code manager} is {@code null}
+     * @throws MathIllegalArgumentException if restart is not strictly positive
+     */
+    public GMRES(final IterationManager manager, final int restart, final double delta)
+        throws MathIllegalArgumentException, NullArgumentException {
+        super(manager);
+        this.restart = checkRestart(restart);
+        this.delta   = delta;
+    }
+
+    /** Check restart parameter.
+     * @param restart restart parameter
+     * @return restart parameter
+     * @throws MathIllegalArgumentException if restart is not strictly positive
+     */
+    private static int checkRestart(final int restart) throws MathIllegalArgumentException {
+        if (restart < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, restart, 1);
+        }
+        return restart;
+    }
+
+    /** Get the restart parameter.
+     * @return restart parameter m
+     */
+    public int getRestart() {
+        return restart;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector solveInPlace(final RealLinearOperator a,
+                                   final RealLinearOperator m,
+                                   final RealVector b,
+                                   final RealVector x0)
+        throws MathIllegalArgumentException, NullArgumentException,
+        MathIllegalStateException {
+        checkParameters(a, m, b, x0);
+        final IterationManager manager = getIterationManager();
+        // Initialization of default stopping criterion
+        manager.resetIterationCount();
+        final double rmax = delta * b.getNorm();
+        final RealVector bro = RealVector.unmodifiableRealVector(b);
+
+        // Initialization phase counts as one iteration.
+        manager.incrementIterationCount();
+        final RealVector x = x0;
+        final RealVector xro = RealVector.unmodifiableRealVector(x);
+        RealVector r = b.combine(1, -1, a.operate(x));
+        double rnorm = r.getNorm();
+        IterativeLinearSolverEvent evt;
+        evt = new DefaultIterativeLinearSolverEvent(this,
+            manager.getIterations(), xro, bro, RealVector.unmodifiableRealVector(r), rnorm);
+        manager.fireInitializationEvent(evt);
+        if (rnorm <= rmax) {
+            manager.fireTerminationEvent(evt);
+            return x;
+        }
+
+        final RealVector[] v  = new RealVector[restart + 1];
+        final double[][]   h  = new double[restart + 1][restart];
+        final double[]     c  = new double[restart];
+        final double[]     s  = new double[restart];
+        final double[]     g  = new double[restart + 1];
+        while (true) {
+
+            // start a new cycle from the current residual
+            v[0] = r.mapDivide(rnorm);
+            g[0] = rnorm;
+            int k = 0;
+            boolean converged = false;
+            while (k < restart && !converged) {
+
+                manager.incrementIterationCount();
+                evt = new DefaultIterativeLinearSolverEvent(this,
+                    manager.getIterations(), xro, bro, rnorm);
+                manager.fireIterationStartedEvent(evt);
+
+                // Arnoldi step with modified Gram-Schmidt orthogonalization
+                final RealVector w = a.operate(m == null ? v[k] : m.operate(v[k]));
+                for (int i = 0; i <= k; ++i) {
+                    h[i][k] = w.dotProduct(v[i]);
+                    w.combineToSelf(1, -h[i][k], v[i]);
+                }
+                h[k + 1][k] = w.getNorm();
+
+                // apply previous Givens rotations to the new column
+                for (int i = 0; i < k; ++i) {
+                    final double tmp = c[i] * h[i][k] + s[i] * h[i + 1][k];
+                    h[i + 1][k] = -s[i] * h[i][k] + c[i] * h[i + 1][k];
+                    h[i][k]     = tmp;
+                }
+
+                // compute and apply a new rotation eliminating h[k + 1][k]
+                final double hypot = FastMath.hypot(h[k][k], h[k + 1][k]);
+                if (hypot == 0) {
+                    throw new MathIllegalStateException(LocalizedCoreFormats.ITERATIVE_SOLVER_BREAKDOWN,
+                                                        manager.getIterations());
+                }
+                c[k]        = h[k][k] / hypot;
+                s[k]        = h[k + 1][k] / hypot;
+                final boolean invariant = h[k + 1][k] == 0;
+                if (!invariant) {
+                    v[k + 1] = w.mapDivideToSelf(h[k + 1][k]);
+                }
+                h[k][k]     = hypot;
+                h[k + 1][k] = 0;
+                g[k + 1]    = -s[k] * g[k];
+                g[k]        = c[k] * g[k];
+                rnorm       = FastMath.abs(g[k + 1]);
+                ++k;
+
+                evt = new DefaultIterativeLinearSolverEvent(this,
+                    manager.getIterations(), xro, bro, rnorm);
+                manager.fireIterationPerformedEvent(evt);
+                converged = invariant || rnorm <= rmax;
+
+            }
+
+            // solve the upper triangular least squares system and update solution
+            final double[] y = new double[k];
+            for (int i = k - 1; i >= 0; --i) {
+                double sum = g[i];
+                for (int j = i + 1; j < k; ++j) {
+                    sum -= h[i][j] * y[j];
+                }
+                y[i] = sum / h[i][i];
+            }
+            RealVector u = v[0].mapMultiply(y[0]);
+            for (int i = 1; i < k; ++i) {
+                u.combineToSelf(1, y[i], v[i]);
+            }
+            if (m != null) {
+                u = m.operate(u);
+            }
+            x.combineToSelf(1, 1, u);
+
+            // the true residual replaces the updated one at restart
+            manager.incrementIterationCount();
+            r = b.combine(1, -1, a.operate(x));
+            rnorm = r.getNorm();
+            if (rnorm <= rmax) {
+                evt = new DefaultIterativeLinearSolverEvent(this,
+                    manager.getIterations(), xro, bro, RealVector.unmodifiableRealVector(r), rnorm);
+                manager.fireTerminationEvent(evt);
+                return x;
+            }
+
+        }
+    }
+
+}
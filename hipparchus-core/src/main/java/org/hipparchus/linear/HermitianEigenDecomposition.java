@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Eigen decomposition of a Hermitian complex matrix.
+ * <p>
+ * A Hermitian matrix A (i.e. A = A<sup>H</sup>) can be written A = V&times;D&times;V<sup>H</sup>
+ * where D is a real diagonal matrix containing the eigenvalues and V is a unitary
+ * matrix whose columns are the eigenvectors.
+ * </p>
+ * <p>
+ * The matrix is first reduced to Hermitian tridiagonal form using complex
+ * Householder reflections working on interleaved primitive arrays. A diagonal
+ * unitary scaling then turns this tridiagonal matrix into a real symmetric one,
+ * which is diagonalized by {@link EigenDecompositionSymmetric}. The eigenvectors
+ * are finally mapped back by applying the scaling and the reflections.
+ * </p>
+ * <p>
+ * As in {@link EigenDecompositionSymmetric}, eigenvalues are sorted in decreasing order.
+ * </p>
+ * @see ComplexMatrix
+ * @since 4.1
+ */
+public class HermitianEigenDecomposition {
+
+    /** Default epsilon value to use for internal epsilon comparisons. */
+    public static final double DEFAULT_EPSILON = EigenDecompositionSymmetric.DEFAULT_EPSILON;
+
+    /** Eigenvalues, in decreasing order. */
+    private final double[] eigenvalues;
+
+    /** Eigenvectors, as the columns of a unitary matrix. */
+    private final ComplexMatrix v;
+
+    /**
+     * Calculates the eigen decomposition of the given Hermitian matrix.
+     * <p>This constructor uses the {@link #DEFAULT_EPSILON default epsilon}.</p>
+     * @param matrix Matrix to decompose. It <em>must</em> be Hermitian.
+     * @throws MathIllegalArgumentException if the matrix is not Hermitian.
+     * @throws MathIllegalStateException if the algorithm fails to converge.
+     */
+    public HermitianEigenDecomposition(final ComplexMatrix matrix) {
+        this(matrix, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Calculates the eigen decomposition of the given Hermitian matrix.
+     * @param matrix Matrix to decompose. It <em>must</em> be Hermitian.
+     * @param epsilon Epsilon used for Hermitian check and internal tests
+     * @throws MathIllegalArgumentException if the matrix is not Hermitian.
+     * @throws MathIllegalStateException if the algorithm fails to converge.
+     */
+    public HermitianEigenDecomposition(final ComplexMatrix matrix, final double epsilon) {
+
+        checkHermitian(matrix, epsilon);
+        final int      n    = matrix.getRowDimension();
+        final double[] data = matrix.getDataRef();
+
+        // working copy, one interleaved array per row
+        final double[][] a = new double[n][2 * n];
+        for (int i = 0; i < n; ++i) {
+            System.arraycopy(data, 2 * i * n, a[i], 0, 2 * n);
+        }
+
+        // reduction to Hermitian tridiagonal form T = Q^H A Q
+        final int        nbReflections = FastMath.max(0, n - 2);
+        final double[][] reflections   = new double[nbReflections][2 * n];
+        final double[]   tau           = new double[nbReflections];
+        final double[]   sub           = new double[2 * FastMath.max(0, n - 1)];
+        final double[]   p             = new double[2 * n];
+        for (int k = 0; k < nbReflections; ++k) {
+            tridiagonalizationStep(a, k, reflections[k], tau, sub, p);
+        }
+        if (n > 1) {
+            sub[2 * (n - 2)]     = a[n - 1][2 * (n - 2)];
+            sub[2 * (n - 2) + 1] = a[n - 1][2 * (n - 2) + 1];
+        }
+
+        // diagonal unitary scaling D such that D^H T D is real symmetric
+        final double[] main      = new double[n];
+        final double[] secondary = new double[FastMath.max(0, n - 1)];
+        final double[] phases    = new double[2 * n];
+        for (int i = 0; i < n; ++i) {
+            main[i] = a[i][2 * i];
+        }
+        if (n > 0) {
+            phases[0] = 1.0;
+        }
+        for (int k = 0; k < secondary.length; ++k) {
+            final double eRe = sub[2 * k];
+            final double eIm = sub[2 * k + 1];
+            final double mod = FastMath.hypot(eRe, eIm);
+            secondary[k] = mod;
+            if (mod == 0) {
+                phases[2 * k + 2] = phases[2 * k];
+                phases[2 * k + 3] = phases[2 * k + 1];
+            } else {
+                final double uRe = eRe / mod;
+                final double uIm = eIm / mod;
+                phases[2 * k + 2] = phases[2 * k] * uRe - phases[2 * k + 1] * uIm;
+                phases[2 * k + 3] = phases[2 * k] * uIm + phases[2 * k + 1] * uRe;
+            }
+        }
+
+        // real symmetric tridiagonal eigen problem
+        final EigenDecompositionSymmetric real =
+                        new EigenDecompositionSymmetric(main, secondary, epsilon, true);
+        eigenvalues = real.getEigenvalues();
+
+        // eigenvectors of A are Q D z
+        v = new ComplexMatrix(n, n);
+        final double[] vData  = v.getDataRef();
+        final double[] column = new double[2 * n];
+        for (int j = 0; j < n; ++j) {
+            final RealVector z = real.getEigenvector(j);
+            for (int i = 0; i < n; ++i) {
+                final double zi = z.getEntry(i);
+                column[2 * i]     = phases[2 * i]     * zi;
+                column[2 * i + 1] = phases[2 * i + 1] * zi;
+            }
+            for (int k = nbReflections - 1; k >= 0; --k) {
+                reflect(reflections[k], tau[k], k + 1, column);
+            }
+            for (int i = 0; i < n; ++i) {
+                vData[2 * (i * n + j)]     = column[2 * i];
+                vData[2 * (i * n + j) + 1] = column[2 * i + 1];
+            }
+        }
+
+    }
+
+    /**
+     * Gets the eigenvalues in decreasing order.
+     * @return a copy of the eigenvalues
+     */
+    public double[] getEigenvalues() {
+        return eigenvalues.clone();
+    }
+
+    /**
+     * Returns the i<sup>th</sup> eigenvalue.
+     * @param i index of the eigenvalue (counting from 0)
+     * @return i<sup>th</sup> eigenvalue
+     */
+    public double getEigenvalue(final int i) {
+        return eigenvalues[i];
+    }
+
+    /**
+     * Gets the i<sup>th</sup> eigenvector, normalized to unit Euclidean norm.
+     * @param i index of the eigenvector (counting from 0)
+     * @return a copy of the i<sup>th</sup> eigenvector
+     */
+    public ComplexVector getEigenvector(final int i) {
+        final int      n = eigenvalues.length;
+        final double[] d = v.getDataRef();
+        final double[] e = new double[2 * n];
+        for (int k = 0; k < n; ++k) {
+            e[2 * k]     = d[2 * (k * n + i)];
+            e[2 * k + 1] = d[2 * (k * n + i) + 1];
+        }
+        return new ComplexVector(e, false);
+    }
+
+    /**
+     * Gets the unitary matrix V of the decomposition.
+     * <p>The columns of V are the eigenvectors of the original matrix.</p>
+     * @return a copy of the V matrix
+     */
+    public ComplexMatrix getV() {
+        return v.copy();
+    }
+
+    /**
+     * Gets the conjugate transpose of the matrix V of the decomposition.
+     * @return the V<sup>H</sup> matrix
+     */
+    public ComplexMatrix getVH() {
+        return v.conjugateTranspose();
+    }
+
+    /**
+     * Gets the real diagonal matrix D of the decomposition.
+     * @return the D matrix
+     */
+    public DiagonalMatrix getD() {
+        return new DiagonalMatrix(eigenvalues);
+    }
+
+    /**
+     * Computes the determinant of the matrix.
+     * @return determinant of the matrix (always real for Hermitian matrices)
+     */
+    public double getDeterminant() {
+        double determinant = 1;
+        for (final double lambda : eigenvalues) {
+            determinant *= lambda;
+        }
+        return determinant;
+    }
+
+    /** Check a matrix is Hermitian.
+     * @param matrix matrix to check
+     * @param epsilon relative tolerance
+     * @throws MathIllegalArgumentException if the matrix is not square or not Hermitian
+     */
+    private static void checkHermitian(final ComplexMatrix matrix, final double epsilon)
+        throws MathIllegalArgumentException {
+        final int n = matrix.getRowDimension();
+        if (n != matrix.getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   n, matrix.getColumnDimension());
+        }
+        final double[] d = matrix.getDataRef();
+        for (int i = 0; i < n; ++i) {
+            for (int j = i; j < n; ++j) {
+                final int    ij  = 2 * (i * n + j);
+                final int    ji  = 2 * (j * n + i);
+                final double mod = FastMath.max(FastMath.hypot(d[ij], d[ij + 1]), FastMath.hypot(d[ji], d[ji + 1]));
+                if (FastMath.hypot(d[ij] - d[ji], d[ij + 1] + d[ji + 1]) > mod * epsilon) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_HERMITIAN_MATRIX,
+                                                           i, j, epsilon);
+                }
+            }
+        }
+    }
+
+    /** Perform one step of the reduction to tridiagonal form.
+     * <p>
+     * The reflection H = I - &tau; v v<sup>H</sup> zeroes column k below the
+     * sub-diagonal, it is applied on both sides of the trailing matrix as the
+     * Hermitian rank-2 update A &larr; A - v w<sup>H</sup> - w v<sup>H</sup>,
+     * with p = &tau; A v and w = p - (&tau; v<sup>H</sup>p / 2) v.
+     * </p>
+     * @param a working matrix, one interleaved array per row
+     * @param k index of the column to reduce
+     * @param reflection placeholder for the Householder vector
+     * @param tau placeholder for the scaling factors of the reflections
+     * @param sub placeholder for the sub-diagonal of the tridiagonal matrix
+     * @param p work array
+     */
+    private static void tridiagonalizationStep(final double[][] a, final int k,
+                                               final double[] reflection, final double[] tau,
+                                               final double[] sub, final double[] p) {
+
+        final int n     = a.length;
+        final int first = k + 1;
+
+        // Householder vector for column k, rows k+1 to n-1
+        double norm2 = 0;
+        for (int i = first; i < n; ++i) {
+            final double re = a[i][2 * k];
+            final double im = a[i][2 * k + 1];
+            reflection[2 * i]     = re;
+            reflection[2 * i + 1] = im;
+            norm2 += re * re + im * im;
+        }
+        final double xNorm = FastMath.sqrt(norm2);
+        if (xNorm == 0) {
+            // column is already reduced
+            tau[k] = 0;
+            return;
+        }
+        final double x0Re  = reflection[2 * first];
+        final double x0Im  = reflection[2 * first + 1];
+        final double x0Mod = FastMath.hypot(x0Re, x0Im);
+        final double phRe  = x0Mod == 0 ? 1.0 : x0Re / x0Mod;
+        final double phIm  = x0Mod == 0 ? 0.0 : x0Im / x0Mod;
+        sub[2 * k]                  = -phRe * xNorm;
+        sub[2 * k + 1]              = -phIm * xNorm;
+        reflection[2 * first]       = phRe * (x0Mod + xNorm);
+        reflection[2 * first + 1]   = phIm * (x0Mod + xNorm);
+        final double t = 1.0 / (xNorm * (xNorm + x0Mod));
+        tau[k] = t;
+
+        // p = tau A v, and v^H p
+        double vHp = 0;
+        for (int i = first; i < n; ++i) {
+            final double[] aI = a[i];
+            double re = 0;
+            double im = 0;
+            for (int j = 2 * first; j < 2 * n; j += 2) {
+                re += aI[j] * reflection[j]     - aI[j + 1] * reflection[j + 1];
+                im += aI[j] * reflection[j + 1] + aI[j + 1] * reflection[j];
+            }
+            p[2 * i]     = t * re;
+            p[2 * i + 1] = t * im;
+            vHp += reflection[2 * i] * p[2 * i] + reflection[2 * i + 1] * p[2 * i + 1];
+        }
+
+        // w = p - (tau v^H p / 2) v, stored in p
+        final double kappa = 0.5 * t * vHp;
+        for (int i = 2 * first; i < 2 * n; ++i) {
+            p[i] -= kappa * reflection[i];
+        }
+
+        // A = A - v w^H - w v^H
+        for (int i = first; i < n; ++i) {
+            final double[] aI  = a[i];
+            final double   vRe = reflection[2 * i];
+            final double   vIm = reflection[2 * i + 1];
+            final double   wRe = p[2 * i];
+            final double   wIm = p[2 * i + 1];
+            for (int j = 2 * first; j < 2 * n; j += 2) {
+                // v_i conj(w_j) + w_i conj(v_j)
+                aI[j]     -= vRe * p[j] + vIm * p[j + 1] + wRe * reflection[j] + wIm * reflection[j + 1];
+                aI[j + 1] -= vIm * p[j] - vRe * p[j + 1] + wIm * reflection[j] - wRe * reflection[j + 1];
+            }
+        }
+
+    }
+
+    /** Apply a Householder reflection to an interleaved vector, in place.
+     * @param reflection Householder vector
+     * @param t scaling factor of the reflection
+     * @param first index of the first non-zero entry of the Householder vector
+     * @param x vector to reflect
+     */
+    private static void reflect(final double[] reflection, final double t, final int first, final double[] x) {
+        if (t == 0) {
+            return;
+        }
+        double sRe = 0;
+        double sIm = 0;
+        for (int k = 2 * first; k < x.length; k += 2) {
+            sRe += reflection[k] * x[k]     + reflection[k + 1] * x[k + 1];
+            sIm += reflection[k] * x[k + 1] - reflection[k + 1] * x[k];
+        }
+        sRe *= t;
+        sIm *= t;
+        for (int k = 2 * first; k < x.length; k += 2) {
+            x[k]     -= sRe * reflection[k]     - sIm * reflection[k + 1];
+            x[k + 1] -= sRe * reflection[k + 1] + sIm * reflection[k];
+        }
+    }
+
+}
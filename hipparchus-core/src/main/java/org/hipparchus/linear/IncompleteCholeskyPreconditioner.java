@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Incomplete Cholesky factorization preconditioner IC(0).
+ * <p>
+ * The preconditioner computes a sparse approximate factorization
+ * A &asymp; U<sup>T</sup>U, where the upper triangular factor U has exactly the
+ * sparsity pattern of the upper triangular part of A, and its {@link
+ * #operate(RealVector) operate} method applies (U<sup>T</sup>U)<sup>-1</sup>
+ * by forward and backward substitutions. As this operator is symmetric positive
+ * definite, it is suited to {@link ConjugateGradient} and {@link SymmLQ}.
+ * </p>
+ * <p>
+ * Only the upper triangular part of the matrix is used, the matrix is assumed
+ * to be symmetric without any check. IC(0) may break down on symmetric positive
+ * definite matrices which are not M-matrices, an exception is thrown in this case.
+ * </p>
+ * @see IncompleteLUPreconditioner
+ * @since 4.1
+ */
+public class IncompleteCholeskyPreconditioner implements RealLinearOperator {
+
+    /** Row pointers of U. */
+    private final int[] pointers;
+
+    /** Column indices of U, diagonal first in each row. */
+    private final int[] indices;
+
+    /** Values of U. */
+    private final double[] values;
+
+    /**
+     * Build an IC(0) preconditioner.
+     * @param a symmetric matrix to factorize
+     * @throws MathIllegalArgumentException if the matrix is not square
+     * or a non-positive pivot is encountered
+     */
+    public IncompleteCholeskyPreconditioner(final RealMatrix a)
+        throws MathIllegalArgumentException {
+
+        // extract upper triangular part, the diagonal being the first entry of each row
+        final CompressedRowRealMatrix csr = IncompleteLUPreconditioner.toCompressedRow(a);
+        final int      n    = csr.getRowDimension();
+        final int[]    aPtr = csr.getRowPointersRef();
+        final int[]    aIdx = csr.getColumnIndicesRef();
+        final double[] aVal = csr.getValuesRef();
+        pointers = new int[n + 1];
+        for (int i = 0; i < n; ++i) {
+            int count = 0;
+            for (int p = aPtr[i]; p < aPtr[i + 1]; ++p) {
+                if (aIdx[p] >= i) {
+                    ++count;
+                }
+            }
+            if (count == 0 || aIdx[aPtr[i + 1] - count] != i) {
+                // missing diagonal entry
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+        indices = new int[pointers[n]];
+        values  = new double[pointers[n]];
+        for (int i = 0; i < n; ++i) {
+            final int count = pointers[i + 1] - pointers[i];
+            System.arraycopy(aIdx, aPtr[i + 1] - count, indices, pointers[i], count);
+            System.arraycopy(aVal, aPtr[i + 1] - count, values,  pointers[i], count);
+        }
+
+        // right-looking factorization restricted to the pattern
+        final int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; ++i) {
+
+            final int    diag = pointers[i];
+            final double pivot = values[diag];
+            if (!(pivot > 0)) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            final double uII = FastMath.sqrt(pivot);
+            values[diag] = uII;
+            for (int p = diag + 1; p < pointers[i + 1]; ++p) {
+                values[p] /= uII;
+            }
+
+            // update rows j > i with entries (j, k) such that (i, j) and (i, k) are in the pattern
+            for (int p = diag + 1; p < pointers[i + 1]; ++p) {
+                final int    j   = indices[p];
+                final double uIJ = values[p];
+                for (int q = pointers[j]; q < pointers[j + 1]; ++q) {
+                    position[indices[q]] = q;
+                }
+                for (int q = p; q < pointers[i + 1]; ++q) {
+                    final int target = position[indices[q]];
+                    if (target >= 0) {
+                        values[target] -= uIJ * values[q];
+                    }
+                }
+                for (int q = pointers[j]; q < pointers[j + 1]; ++q) {
+                    position[indices[q]] = -1;
+                }
+            }
+
+        }
+
+    }
+
+    /** Get the number of entries stored in the factor.
+     * @return number of entries stored in U
+     */
+    public int getStoredEntries() {
+        return pointers[pointers.length - 1];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return pointers.length - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return pointers.length - 1;
+    }
+
+    /**
+     * Apply the preconditioner, i.e. compute (U<sup>T</sup>U)<sup>-1</sup> x.
+     * @param x vector to operate on
+     * @return solution of U<sup>T</sup>U y = x
+     * @throws MathIllegalArgumentException if the vector dimension does not match
+     */
+    @Override
+    public RealVector operate(final RealVector x)
+        throws MathIllegalArgumentException {
+        final int n = pointers.length - 1;
+        if (x.getDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x.getDimension(), n);
+        }
+        final double[] y = x.toArray();
+
+        // solve U^T z = x, using rows of U as columns of U^T
+        for (int i = 0; i < n; ++i) {
+            final double zI = y[i] / values[pointers[i]];
+            y[i] = zI;
+            for (int p = pointers[i] + 1; p < pointers[i + 1]; ++p) {
+                y[indices[p]] -= values[p] * zI;
+            }
+        }
+
+        // solve U y = z
+        for (int i = n - 1; i >= 0; --i) {
+            double sum = y[i];
+            for (int p = pointers[i] + 1; p < pointers[i + 1]; ++p) {
+                sum -= values[p] * y[indices[p]];
+            }
+            y[i] = sum / values[pointers[i]];
+        }
+
+        return new ArrayRealVector(y, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isTransposable() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealVector operateTranspose(final RealVector x) {
+        // the operator is symmetric
+        return operate(x);
+    }
+
+}
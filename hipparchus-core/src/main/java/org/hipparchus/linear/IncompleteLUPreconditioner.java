@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Incomplete LU factorization preconditioner.
+ * <p>
+ * The preconditioner computes a sparse approximate factorization A &asymp; LU,
+ * L being unit lower triangular and U upper triangular, and its {@link
+ * #operate(RealVector) operate} method applies (LU)<sup>-1</sup> by forward and
+ * backward substitutions. It is intended to be used with non-symmetric solvers
+ * like {@link GMRES} or {@link BiCGSTAB}.
+ * </p>
+ * <p>
+ * Two variants are available:
+ * </p>
+ * <ul>
+ *   <li>ILU(0), where the factors have exactly the sparsity pattern of A,</li>
+ *   <li>ILUT(&tau;, p) (see <a href="#SAAD2003">Saad, 2003</a>, algorithm 10.6),
+ *   where entries smaller than &tau; times the norm of the current row are
+ *   dropped, and only the p largest entries are kept in each row of L and U.</li>
+ * </ul>
+ * <p><strong>References</strong></p>
+ * <dl>
+ * <dt><a id="SAAD2003">Saad (2003)</a></dt>
+ * <dd>Y. Saad, <em>Iterative Methods for Sparse Linear Systems</em>, second
+ * edition, SIAM, 2003</dd>
+ * </dl>
+ * @see IncompleteCholeskyPreconditioner
+ * @since 4.1
+ */
+public class IncompleteLUPreconditioner implements RealLinearOperator {
+
+    /** Row pointers of the factors. */
+    private final int[] pointers;
+
+    /** Column indices of the factors, sorted in each row. */
+    private final int[] indices;
+
+    /** Values of L (below diagonal, unit diagonal not stored) and U (diagonal and above). */
+    private final double[] values;
+
+    /** Position of the diagonal entry of each row. */
+    private final int[] diagonal;
+
+    /**
+     * Build an ILU(0) preconditioner.
+     * <p>
+     * The factors have the same sparsity pattern as the matrix, all fill-in is
+     * discarded.
+     * </p>
+     * @param a matrix to factorize
+     * @throws MathIllegalArgumentException if the matrix is not square
+     * or a zero pivot is encountered
+     */
+    public IncompleteLUPreconditioner(final RealMatrix a)
+        throws MathIllegalArgumentException {
+
+        final CompressedRowRealMatrix csr = toCompressedRow(a);
+        final int n = csr.getRowDimension();
+        pointers = csr.getRowPointersRef().clone();
+        indices  = Arrays.copyOf(csr.getColumnIndicesRef(), pointers[n]);
+        values   = Arrays.copyOf(csr.getValuesRef(), pointers[n]);
+        diagonal = new int[n];
+
+        final int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; ++i) {
+
+            diagonal[i] = -1;
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                position[indices[p]] = p;
+                if (indices[p] == i) {
+                    diagonal[i] = p;
+                }
+            }
+            if (diagonal[i] < 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            // eliminate row i using previous rows, restricted to the pattern of row i
+            for (int p = pointers[i]; p < diagonal[i]; ++p) {
+                final int    k   = indices[p];
+                final double lIK = values[p] / values[diagonal[k]];
+                values[p] = lIK;
+                for (int q = diagonal[k] + 1; q < pointers[k + 1]; ++q) {
+                    final int target = position[indices[q]];
+                    if (target >= 0) {
+                        values[target] -= lIK * values[q];
+                    }
+                }
+            }
+            if (values[diagonal[i]] == 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            for (int p = pointers[i]; p < pointers[i + 1]; ++p) {
+                position[indices[p]] = -1;
+            }
+
+        }
+
+    }
+
+    /**
+     * Build an ILUT(&tau;, p) preconditioner.
+     * @param a matrix to factorize
+     * @param dropTolerance relative drop tolerance &tau;, entries smaller than &tau;
+     * times the Euclidean norm of the matrix row are discarded
+     * @param maxFill maximum number p of entries kept in each row of L and
+     * in each row of U (excluding the diagonal)
+     * @throws MathIllegalArgumentException if the matrix is not square,
+     * maxFill is negative or a zero pivot is encountered
+     */
+    public IncompleteLUPreconditioner(final RealMatrix a, final double dropTolerance, final int maxFill)
+        throws MathIllegalArgumentException {
+
+        if (maxFill < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, maxFill, 0);
+        }
+
+        final CompressedRowRealMatrix csr = toCompressedRow(a);
+        final int      n     = csr.getRowDimension();
+        final int[]    aPtr  = csr.getRowPointersRef();
+        final int[]    aIdx  = csr.getColumnIndicesRef();
+        final double[] aVal  = csr.getValuesRef();
+
+        // factors storage, grown as needed
+        int[]    fIdx = new int[aPtr[n] + n];
+        double[] fVal = new double[fIdx.length];
+        pointers = new int[n + 1];
+        diagonal = new int[n];
+
+        // dense work row with its non-zero pattern
+        final double[]  w       = new double[n];
+        final boolean[] inRow   = new boolean[n];
+        final int[]     pattern = new int[n];
+        final int[]     lower   = new int[n];
+        final int[]     kept    = new int[2 * maxFill + 1];
+
+        for (int i = 0; i < n; ++i) {
+
+            // load row i
+            int    size   = 0;
+            int    nLower = 0;
+            double norm2  = 0;
+            for (int p = aPtr[i]; p < aPtr[i + 1]; ++p) {
+                final int j = aIdx[p];
+                w[j]            = aVal[p];
+                inRow[j]        = true;
+                pattern[size++] = j;
+                if (j < i) {
+                    lower[nLower++] = j;
+                }
+                norm2 += aVal[p] * aVal[p];
+            }
+            final double threshold = dropTolerance * FastMath.sqrt(norm2);
+
+            // eliminate lower entries in increasing column order
+            for (int processed = 0; processed < nLower; ++processed) {
+
+                // select smallest remaining lower column
+                int best = processed;
+                for (int q = processed + 1; q < nLower; ++q) {
+                    if (lower[q] < lower[best]) {
+                        best = q;
+                    }
+                }
+                final int k = lower[best];
+                lower[best]      = lower[processed];
+                lower[processed] = k;
+
+                final double lIK = w[k] / fVal[diagonal[k]];
+                if (FastMath.abs(lIK) < threshold) {
+                    w[k] = 0;
+                    continue;
+                }
+                w[k] = lIK;
+                for (int q = diagonal[k] + 1; q < pointers[k + 1]; ++q) {
+                    final int j = fIdx[q];
+                    if (!inRow[j]) {
+                        inRow[j]        = true;
+                        w[j]            = 0;
+                        pattern[size++] = j;
+                        if (j < i) {
+                            lower[nLower++] = j;
+                        }
+                    }
+                    w[j] -= lIK * fVal[q];
+                }
+
+            }
+
+            // apply dropping rules and keep the largest entries
+            int nL = 0;
+            int nU = 0;
+            for (int q = 0; q < size; ++q) {
+                final int j = pattern[q];
+                if (j < i && FastMath.abs(w[j]) >= threshold) {
+                    nL = keepLargest(w, kept, 0, nL, maxFill, j);
+                } else if (j > i && FastMath.abs(w[j]) >= threshold) {
+                    nU = keepLargest(w, kept, maxFill, nU, maxFill, j);
+                }
+            }
+            final double uII = inRow[i] ? w[i] : 0.0;
+            if (uII == 0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            // store row i sorted by column
+            final int start = pointers[i];
+            final int end   = start + nL + nU + 1;
+            if (end > fIdx.length) {
+                fIdx = Arrays.copyOf(fIdx, FastMath.max(end, 2 * fIdx.length));
+                fVal = Arrays.copyOf(fVal, fIdx.length);
+            }
+            System.arraycopy(kept, 0, fIdx, start, nL);
+            Arrays.sort(fIdx, start, start + nL);
+            diagonal[i] = start + nL;
+            fIdx[diagonal[i]] = i;
+            System.arraycopy(kept, maxFill, fIdx, diagonal[i] + 1, nU);
+            Arrays.sort(fIdx, diagonal[i] + 1, end);
+            for (int p = start; p < end; ++p) {
+                fVal[p] = w[fIdx[p]];
+            }
+            pointers[i + 1] = end;
+
+            // reset work row
+            for (int q = 0; q < size; ++q) {
+                w[pattern[q]]     = 0;
+                inRow[pattern[q]] = false;
+            }
+
+        }
+
+        indices = fIdx;
+        values  = fVal;
+
+    }
+
+    /** Insert an index in a bounded list keeping only the entries with largest magnitude.
+     * @param w work row containing the values
+     * @param kept list of kept indices
+     * @param offset offset of the list in the {@code kept} array
+     * @param count current number of kept indices
+     * @param max maximum number of kept indices
+     * @param j index to insert
+     * @return new number of kept indices
+     */
+    private static int keepLargest(final double[] w, final int[] kept, final int offset,
+                                   final int count, final int max, final int j) {
+        if (count < max) {
+            kept[offset + count] = j;
+            return count + 1;
+        } else if (max == 0) {
+            return 0;
+        }
+        // replace the smallest kept entry if the new one is larger
+        int smallest = 0;
+        for (int q = 1; q < count; ++q) {
+            if (FastMath.abs(w[kept[offset + q]]) < FastMath.abs(w[kept[offset + smallest]])) {
+                smallest = q;
+            }
+        }
+        if (FastMath.abs(w[j]) > FastMath.abs(w[kept[offset + smallest]])) {
+            kept[offset + smallest] = j;
+        }
+        return count;
+    }
+
+    /** Convert a matrix to compressed sparse row storage.
+     * @param a matrix to convert
+     * @return matrix in compressed sparse row storage
+     * @throws MathIllegalArgumentException if the matrix is not square
+     */
+    static CompressedRowRealMatrix toCompressedRow(final RealMatrix a)
+        throws MathIllegalArgumentException {
+        if (!a.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   a.getRowDimension(), a.getColumnDimension());
+        }
+        return (a instanceof CompressedRowRealMatrix) ?
+               (CompressedRowRealMatrix) a : new CompressedRowRealMatrix(a);
+    }
+
+    /** Get the number of entries stored in both factors.
+     * @return number of entries stored in L and U, excluding the unit diagonal of L
+     */
+    public int getStoredEntries() {
+        return pointers[diagonal.length];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return diagonal.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return diagonal.length;
+    }
+
+    /**
+     * Apply the preconditioner, i.e. compute (LU)<sup>-1</sup> x.
+     * @param x vector to operate on
+     * @return solution of LU y = x
+     * @throws MathIllegalArgumentException if the vector dimension does not match
+     */
+    @Override
+    public RealVector operate(final RealVector x)
+        throws MathIllegalArgumentException {
+        final int n = diagonal.length;
+        if (x.getDimension() != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   x.getDimension(), n);
+        }
+        final double[] y = x.toArray();
+
+        // solve L z = x
+        for (int i = 0; i < n; ++i) {
+            double sum = y[i];
+            for (int p = pointers[i]; p < diagonal[i]; ++p) {
+                sum -= values[p] * y[indices[p]];
+            }
+            y[i] = sum;
+        }
+
+        // solve U y = z
+        for (int i = n - 1; i >= 0; --i) {
+            double sum = y[i];
+            for (int p = diagonal[i] + 1; p < pointers[i + 1]; ++p) {
+                sum -= values[p] * y[indices[p]];
+            }
+            y[i] = sum / values[diagonal[i]];
+        }
+
+        return new ArrayRealVector(y, false);
+    }
+
+}
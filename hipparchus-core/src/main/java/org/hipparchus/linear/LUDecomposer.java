@@ -17,6 +17,8 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 /** Matrix decomposer using LU-decomposition.
  * @since 1.3
  */
@@ -25,19 +27,40 @@ public class LUDecomposer implements MatrixDecomposer {
     /** Threshold under which a matrix is considered singular. */
     private final double singularityThreshold;
 
+    /** Number of columns in each panel of the blocked algorithm. */
+    private final int blockSize;
+
+    /** Pool to use for parallel trailing updates. */
+    private final ForkJoinPool pool;
+
     /**
      * Creates a LU decomposer with specify threshold for several matrices.
      * @param singularityThreshold threshold (based on partial row norm)
      * under which a matrix is considered singular
      */
     public LUDecomposer(final double singularityThreshold) {
+        this(singularityThreshold, 1, null);
+    }
+
+    /**
+     * Creates a LU decomposer using the blocked algorithm for several matrices.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param blockSize number of columns in each panel (1 or less selects the unblocked algorithm)
+     * @param pool pool to use for parallel trailing updates (null for sequential computation)
+     * @see LUDecomposition#LUDecomposition(RealMatrix, double, int, ForkJoinPool)
+     * @since 4.1
+     */
+    public LUDecomposer(final double singularityThreshold, final int blockSize, final ForkJoinPool pool) {
         this.singularityThreshold = singularityThreshold;
+        this.blockSize            = blockSize;
+        this.pool                 = pool;
     }
 
     /** {@inheritDoc} */
     @Override
     public DecompositionSolver decompose(final RealMatrix a) {
-        return new LUDecomposition(a, singularityThreshold).getSolver();
+        return new LUDecomposition(a, singularityThreshold, blockSize, pool).getSolver();
     }
 
 }
@@ -22,6 +22,9 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.util.FastMath;
@@ -53,6 +56,8 @@ import org.hipparchus.util.FastMath;
 public class LUDecomposition {
     /** Default bound to determine effective singularity in LU decomposition. */
     private static final double DEFAULT_TOO_SMALL = 1e-11;
+    /** Number of rows and columns in the bands of the trailing matrix updates of the blocked algorithm. */
+    private static final int TRAILING_BAND = 4 * BlockRealMatrix.BLOCK_SIZE;
     /** Entries of LU decomposition. */
     private final double[][] lu;
     /** Pivot permutation associated with LU decomposition. */
@@ -88,6 +93,38 @@ public class LUDecomposition {
      * @throws MathIllegalArgumentException if matrix is not square
      */
     public LUDecomposition(RealMatrix matrix, double singularityThreshold) {
+        this(matrix, singularityThreshold, 1, null);
+    }
+
+    /**
+     * Calculates the LU-decomposition of the given matrix, using a blocked algorithm.
+     * <p>
+     * If {@code blockSize} is greater than 1, a right-looking blocked algorithm is
+     * used: for each panel of {@code blockSize} columns, the panel is factorized with
+     * partial pivoting, then the corresponding rows of U are computed by a triangular
+     * solve and the trailing matrix is updated by a matrix-matrix product. This trailing
+     * update concentrates almost all floating point operations for large matrices, it
+     * is performed band by band to keep data in cache, and the bands are
+     * distributed among the threads of {@code pool} if it is not null.
+     * </p>
+     * <p>
+     * Rows are swapped by exchanging references, pivoting is therefore cheap. Each
+     * entry of the decomposition undergoes the same floating point operations in the
+     * same order as in the unblocked algorithm, so both algorithms select the same
+     * pivots and produce the same results. Only the traversal order changes, which
+     * greatly improves memory locality for large matrices.
+     * </p>
+     * @param matrix The matrix to decompose.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param blockSize number of columns in each panel (1 or less selects the unblocked algorithm,
+     * {@link BlockRealMatrix#BLOCK_SIZE} is a sensible choice for large matrices)
+     * @param pool pool to use for parallel trailing updates (null for sequential computation)
+     * @throws MathIllegalArgumentException if matrix is not square
+     * @since 4.1
+     */
+    public LUDecomposition(final RealMatrix matrix, final double singularityThreshold,
+                           final int blockSize, final ForkJoinPool pool) {
         if (!matrix.isSquare()) {
             throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
                                                    matrix.getRowDimension(), matrix.getColumnDimension());
@@ -107,6 +144,22 @@ public class LUDecomposition {
         even     = true;
         singular = false;
 
+        if (blockSize > 1) {
+            blockedDecomposition(singularityThreshold, blockSize, pool);
+        } else {
+            unblockedDecomposition(singularityThreshold);
+        }
+
+    }
+
+    /** Perform the unblocked (Crout/Doolittle) decomposition.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     */
+    private void unblockedDecomposition(final double singularityThreshold) {
+
+        final int m = pivot.length;
+
         // Loop over columns
         for (int col = 0; col < m; col++) {
 
@@ -167,6 +220,163 @@ public class LUDecomposition {
         }
     }
 
+    /** Perform the right-looking blocked decomposition.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param blockSize number of columns in each panel
+     * @param pool pool to use for parallel trailing updates (null for sequential computation)
+     */
+    private void blockedDecomposition(final double singularityThreshold,
+                                      final int blockSize, final ForkJoinPool pool) {
+
+        final int m = pivot.length;
+
+        for (int k0 = 0; k0 < m; k0 += blockSize) {
+            final int k1 = FastMath.min(k0 + blockSize, m);
+
+            // factorize the panel (columns k0 to k1 - 1, rows k0 to m - 1)
+            for (int col = k0; col < k1; col++) {
+
+                // select pivot
+                int max = col; // permutation row
+                double largest = Double.NEGATIVE_INFINITY;
+                for (int row = col; row < m; row++) {
+                    final double abs = FastMath.abs(lu[row][col]);
+                    if (abs > largest) {
+                        largest = abs;
+                        max = row;
+                    }
+                }
+
+                // Singularity check
+                if (FastMath.abs(lu[max][col]) < singularityThreshold) {
+                    singular = true;
+                    return;
+                }
+
+                // Pivot if necessary (full rows are exchanged, by reference)
+                if (max != col) {
+                    final double[] tmp = lu[max];
+                    lu[max] = lu[col];
+                    lu[col] = tmp;
+                    int temp = pivot[max];
+                    pivot[max] = pivot[col];
+                    pivot[col] = temp;
+                    even = !even;
+                }
+
+                // compute multipliers and update the remaining panel columns
+                final double[] luCol  = lu[col];
+                final double   luDiag = luCol[col];
+                for (int row = col + 1; row < m; row++) {
+                    final double[] luRow = lu[row];
+                    final double   l     = luRow[col] / luDiag;
+                    luRow[col] = l;
+                    for (int j = col + 1; j < k1; j++) {
+                        luRow[j] -= l * luCol[j];
+                    }
+                }
+
+            }
+
+            if (k1 < m) {
+
+                // compute the panel rows of U, solving L11 U12 = A12
+                for (int row = k0 + 1; row < k1; row++) {
+                    final double[] luRow = lu[row];
+                    for (int p = k0; p < row; p++) {
+                        final double   l   = luRow[p];
+                        final double[] luP = lu[p];
+                        for (int j = k1; j < m; j++) {
+                            luRow[j] -= l * luP[j];
+                        }
+                    }
+                }
+
+                // update the trailing matrix, A22 -= L21 U12
+                final int nbBands = (m - k1 + TRAILING_BAND - 1) / TRAILING_BAND;
+                if (pool == null || nbBands < 2) {
+                    updateTrailing(k0, k1, k1, m);
+                } else {
+                    pool.invoke(new TrailingUpdateTask(k0, k1, 0, nbBands));
+                }
+
+            }
+
+        }
+
+    }
+
+    /** Update a band of the trailing matrix.
+     * @param k0 first column of the current panel
+     * @param k1 end of the current panel (excluded)
+     * @param start first row of the band to update
+     * @param end last row of the band to update (excluded)
+     */
+    private void updateTrailing(final int k0, final int k1, final int start, final int end) {
+        final int m = pivot.length;
+        for (int j0 = k1; j0 < m; j0 += TRAILING_BAND) {
+            // process columns by chunks, so the part of U12 used stays in cache
+            final int j1 = FastMath.min(j0 + TRAILING_BAND, m);
+            for (int row = start; row < end; row++) {
+                final double[] luRow = lu[row];
+                for (int p = k0; p < k1; p++) {
+                    final double   l   = luRow[p];
+                    final double[] luP = lu[p];
+                    for (int j = j0; j < j1; j++) {
+                        luRow[j] -= l * luP[j];
+                    }
+                }
+            }
+        }
+    }
+
+    /** Task updating bands of the trailing matrix by recursive splitting. */
+    private class TrailingUpdateTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** First column of the current panel. */
+        private final int k0;
+
+        /** End of the current panel (excluded). */
+        private final int k1;
+
+        /** Index of the first band to update (included). */
+        private final int startBand;
+
+        /** Index of the last band to update (excluded). */
+        private final int endBand;
+
+        /** Simple constructor.
+         * @param k0 first column of the current panel
+         * @param k1 end of the current panel (excluded)
+         * @param startBand index of the first band to update (included)
+         * @param endBand index of the last band to update (excluded)
+         */
+        TrailingUpdateTask(final int k0, final int k1, final int startBand, final int endBand) {
+            this.k0        = k0;
+            this.k1        = k1;
+            this.startBand = startBand;
+            this.endBand   = endBand;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (endBand - startBand == 1) {
+                final int start = k1 + startBand * TRAILING_BAND;
+                updateTrailing(k0, k1, start, FastMath.min(start + TRAILING_BAND, pivot.length));
+            } else {
+                final int middle = (startBand + endBand) >>> 1;
+                invokeAll(new TrailingUpdateTask(k0, k1, startBand, middle),
+                          new TrailingUpdateTask(k0, k1, middle, endBand));
+            }
+        }
+
+    }
+
     /**
      * Returns the matrix L of the decomposition.
      * <p>L is a lower-triangular matrix</p>
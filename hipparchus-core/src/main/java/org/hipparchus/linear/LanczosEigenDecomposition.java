@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * Calculates a few eigenpairs of a large symmetric linear operator.
+ * <p>
+ * This class uses the implicitly restarted Lanczos method, with full
+ * reorthogonalization, as in ARPACK symmetric driver. The operator is only
+ * accessed through {@link RealLinearOperator#operate(RealVector)}, and memory
+ * is O(n m) where m is the dimension of the Krylov subspace, typically
+ * a small multiple of the number of requested eigenpairs. The operator is
+ * assumed to be symmetric without any check.
+ * </p>
+ * <p>
+ * Eigenvalues close to a shift &sigma; (for example the smallest eigenvalues
+ * of a positive definite operator with &sigma; = 0) converge slowly when
+ * requested directly. The shift-invert mode iterates on (A - &sigma; I)<sup>-1</sup>
+ * instead, whose largest eigenvalues &theta; correspond to the eigenvalues
+ * &lambda; = &sigma; + 1 / &theta; of A closest to &sigma;. It needs a solver for
+ * A - &sigma; I, for example a {@link SparseCholeskyDecomposition}.
+ * </p>
+ * <p>
+ * Convergence is declared when the Ritz estimate of the residual norm
+ * ||Op x - &theta; x|| of all requested eigenpairs is below
+ * tolerance &times; max(&epsilon;<sup>2/3</sup>, |&theta;|), Op being the operator
+ * iterated upon (i.e. (A - &sigma; I)<sup>-1</sup> in shift-invert mode).
+ * </p>
+ * @see ArnoldiEigenDecomposition
+ * @see EigenDecompositionSymmetric
+ * @since 4.1
+ */
+public class LanczosEigenDecomposition {
+
+    /** Default relative tolerance. */
+    public static final double DEFAULT_TOLERANCE = 1.0e-10;
+
+    /** Default maximum number of restarts. */
+    public static final int DEFAULT_MAX_RESTARTS = 300;
+
+    /** Eigenvalues. */
+    private final double[] eigenvalues;
+
+    /** Eigenvectors. */
+    private final RealVector[] eigenvectors;
+
+    /** Residual estimates. */
+    private final double[] residuals;
+
+    /** Number of restarts performed. */
+    private final int restarts;
+
+    /** Number of operator applications. */
+    private final int operations;
+
+    /**
+     * Calculates eigenpairs of a symmetric operator, with default settings.
+     * <p>
+     * The Krylov subspace dimension is set to min(n, max(2 k + 1, 20)), the
+     * tolerance to {@link #DEFAULT_TOLERANCE} and the maximum number of
+     * restarts to {@link #DEFAULT_MAX_RESTARTS}.
+     * </p>
+     * @param operator symmetric operator to decompose
+     * @param nev number k of eigenpairs to compute
+     * @param selection part of the spectrum to compute
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the operator is not square
+     * or nev is not between 1 and n - 1
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public LanczosEigenDecomposition(final RealLinearOperator operator, final int nev,
+                                     final EigenvalueSelection selection, final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(operator, nev, selection, defaultSubspace(operator, nev),
+             DEFAULT_TOLERANCE, DEFAULT_MAX_RESTARTS, random);
+    }
+
+    /**
+     * Calculates eigenpairs of a symmetric operator.
+     * @param operator symmetric operator to decompose
+     * @param nev number k of eigenpairs to compute
+     * @param selection part of the spectrum to compute
+     * @param subspace dimension m of the Krylov subspace (between k + 1 and n)
+     * @param tolerance relative tolerance on residuals
+     * @param maxRestarts maximum number of restarts
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the operator is not square,
+     * nev is not between 1 and n - 1 or subspace is not between nev + 1 and n
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public LanczosEigenDecomposition(final RealLinearOperator operator, final int nev,
+                                     final EigenvalueSelection selection, final int subspace,
+                                     final double tolerance, final int maxRestarts,
+                                     final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(new ArnoldiProcess(operator, checkSubspace(operator, nev, subspace), true, random),
+             nev, selection, tolerance, maxRestarts, Double.NaN);
+    }
+
+    /**
+     * Calculates eigenpairs of a symmetric operator closest to a shift, with default settings.
+     * <p>
+     * The Krylov subspace dimension is set to min(n, max(2 k + 1, 20)), the
+     * tolerance to {@link #DEFAULT_TOLERANCE} and the maximum number of
+     * restarts to {@link #DEFAULT_MAX_RESTARTS}.
+     * </p>
+     * @param shiftedSolver solver for A - &sigma; I
+     * @param sigma shift &sigma;
+     * @param nev number k of eigenpairs to compute
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the solver is not square
+     * or nev is not between 1 and n - 1
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public LanczosEigenDecomposition(final DecompositionSolver shiftedSolver, final double sigma,
+                                     final int nev, final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(new SolverOperator(shiftedSolver), sigma, nev,
+             defaultSubspace(new SolverOperator(shiftedSolver), nev),
+             DEFAULT_TOLERANCE, DEFAULT_MAX_RESTARTS, random);
+    }
+
+    /**
+     * Calculates eigenpairs of a symmetric operator closest to a shift.
+     * @param shiftedInverse operator applying (A - &sigma; I)<sup>-1</sup>,
+     * typically backed by a direct or iterative solver
+     * @param sigma shift &sigma;
+     * @param nev number k of eigenpairs to compute
+     * @param subspace dimension m of the Krylov subspace (between k + 1 and n)
+     * @param tolerance relative tolerance on residuals
+     * @param maxRestarts maximum number of restarts
+     * @param random generator for the start vector
+     * @exception MathIllegalArgumentException if the operator is not square,
+     * nev is not between 1 and n - 1 or subspace is not between nev + 1 and n
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    public LanczosEigenDecomposition(final RealLinearOperator shiftedInverse, final double sigma,
+                                     final int nev, final int subspace,
+                                     final double tolerance, final int maxRestarts,
+                                     final RandomGenerator random)
+        throws MathIllegalArgumentException, MathIllegalStateException {
+        this(new ArnoldiProcess(shiftedInverse, checkSubspace(shiftedInverse, nev, subspace), true, random),
+             nev, EigenvalueSelection.LARGEST_MAGNITUDE, tolerance, maxRestarts, sigma);
+    }
+
+    /**
+     * Calculates eigenpairs.
+     * @param process Arnoldi process
+     * @param nev number k of eigenpairs to compute
+     * @param selection part of the spectrum to compute
+     * @param tolerance relative tolerance on residuals
+     * @param maxRestarts maximum number of restarts
+     * @param sigma shift (NaN if not in shift-invert mode)
+     * @exception MathIllegalStateException if convergence is not reached
+     */
+    private LanczosEigenDecomposition(final ArnoldiProcess process, final int nev,
+                                      final EigenvalueSelection selection,
+                                      final double tolerance, final int maxRestarts,
+                                      final double sigma)
+        throws MathIllegalStateException {
+
+        final int    m     = process.getHessenbergRef().length;
+        final double eps23 = FastMath.pow(Precision.EPSILON, 2.0 / 3.0);
+        process.extend(0);
+
+        int count = 0;
+        while (true) {
+
+            // Ritz values and vectors from the tridiagonal matrix
+            final double[][] t = process.getHessenbergRef();
+            final double[] main      = new double[m];
+            final double[] secondary = new double[m - 1];
+            for (int i = 0; i < m; ++i) {
+                main[i] = t[i][i];
+                if (i < m - 1) {
+                    secondary[i] = t[i + 1][i];
+                }
+            }
+            final EigenDecompositionSymmetric ed = new EigenDecompositionSymmetric(main, secondary);
+            final double[] theta = ed.getEigenvalues();
+            final Integer[] order = new Integer[m];
+            for (int i = 0; i < m; ++i) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (i, j) -> selection.compare(theta[i], 0, theta[j], 0));
+
+            // check convergence
+            final double beta = process.getResidualNorm();
+            final double[] estimates = new double[m];
+            int converged = 0;
+            for (int i = 0; i < m; ++i) {
+                estimates[i] = FastMath.abs(beta * ed.getEigenvector(i).getEntry(m - 1));
+            }
+            for (int i = 0; i < nev; ++i) {
+                if (estimates[order[i]] <= tolerance * FastMath.max(eps23, FastMath.abs(theta[order[i]]))) {
+                    ++converged;
+                }
+            }
+
+            if (converged == nev) {
+                eigenvalues  = new double[nev];
+                eigenvectors = new RealVector[nev];
+                residuals    = new double[nev];
+                for (int i = 0; i < nev; ++i) {
+                    final int index = order[i];
+                    eigenvalues[i]  = Double.isNaN(sigma) ? theta[index] : sigma + 1.0 / theta[index];
+                    eigenvectors[i] = new ArrayRealVector(process.combine(ed.getEigenvector(index).toArray()), false);
+                    residuals[i]    = estimates[index];
+                }
+                restarts   = count;
+                operations = process.getOperations();
+                return;
+            }
+
+            if (count++ >= maxRestarts) {
+                throw new MathIllegalStateException(LocalizedCoreFormats.MAX_COUNT_EXCEEDED, maxRestarts);
+            }
+
+            // keep some converged vectors in addition to the wanted ones to avoid stagnation
+            final int k = nev + FastMath.min(converged, (m - nev) / 2);
+
+            // apply unwanted Ritz values as exact shifts, then compress
+            final double[][] q = MatrixUtils.createRealIdentityMatrix(m).getData();
+            for (int i = k; i < m; ++i) {
+                process.applyShift(theta[order[i]], q);
+            }
+            process.compress(q, k);
+            process.extend(k);
+
+        }
+
+    }
+
+    /** Compute default Krylov subspace dimension.
+     * @param operator operator
+     * @param nev number of requested eigenpairs
+     * @return default Krylov subspace dimension
+     */
+    static int defaultSubspace(final RealLinearOperator operator, final int nev) {
+        return FastMath.min(operator.getColumnDimension(), FastMath.max(2 * nev + 1, 20));
+    }
+
+    /** Check Krylov subspace dimension.
+     * @param operator operator
+     * @param nev number of requested eigenpairs
+     * @param subspace Krylov subspace dimension
+     * @return subspace
+     * @exception MathIllegalArgumentException if nev is not between 1 and n - 1
+     * or subspace is not between nev + 1 and n
+     */
+    static int checkSubspace(final RealLinearOperator operator, final int nev, final int subspace)
+        throws MathIllegalArgumentException {
+        final int n = operator.getColumnDimension();
+        if (nev < 1 || nev >= n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, nev, 1, n - 1);
+        }
+        if (subspace <= nev || subspace > n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, subspace, nev + 1, n);
+        }
+        return subspace;
+    }
+
+    /** Get the eigenvalues.
+     * @return eigenvalues, in the order of the requested selection
+     */
+    public double[] getEigenvalues() {
+        return eigenvalues.clone();
+    }
+
+    /** Get an eigenvalue.
+     * @param i index of the eigenvalue (counting from 0)
+     * @return eigenvalue i
+     */
+    public double getEigenvalue(final int i) {
+        return eigenvalues[i];
+    }
+
+    /** Get an eigenvector.
+     * @param i index of the eigenvector (counting from 0)
+     * @return normalized eigenvector i
+     */
+    public RealVector getEigenvector(final int i) {
+        return eigenvectors[i].copy();
+    }
+
+    /** Get the residual estimate of an eigenpair.
+     * @param i index of the eigenpair (counting from 0)
+     * @return Ritz estimate of ||Op x - &theta; x|| for eigenpair i
+     */
+    public double getResidualEstimate(final int i) {
+        return residuals[i];
+    }
+
+    /** Get the number of restarts performed.
+     * @return number of restarts performed
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /** Get the number of operator applications.
+     * @return number of operator applications
+     */
+    public int getOperations() {
+        return operations;
+    }
+
+    /** Operator applying the solver of a shifted matrix. */
+    static class SolverOperator implements RealLinearOperator {
+
+        /** Solver for shifted matrix. */
+        private final DecompositionSolver solver;
+
+        /** Simple constructor.
+         * @param solver solver for shifted matrix
+         */
+        SolverOperator(final DecompositionSolver solver) {
+            this.solver = solver;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return solver.getRowDimension();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return solver.getColumnDimension();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector operate(final RealVector x) {
+            return solver.solve(x);
+        }
+
+    }
+
+}
@@ -0,0 +1,753 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Mutable 3&times;3 matrix with fully unrolled kernels.
+ * <p>
+ * This class is intended for the small fixed-size computations that are
+ * performed in tight loops, like frame transforms, Jacobians or covariance
+ * propagation. The nine entries are stored in fields, so there are no loop
+ * bounds, no dimension checks and no array indirections in the kernels.
+ * </p>
+ * <p>
+ * All operations exist in two flavors: one that allocates a new matrix
+ * for the result, and one that stores the result in a destination matrix
+ * supplied by the caller and allocates nothing. As all operands entries
+ * are read before the destination is written, the destination can be the
+ * same object as any of the operands, for example {@code a.multiply(b, a)}
+ * replaces {@code a} by the product a &times; b.
+ * </p>
+ * <p>
+ * This class does not implement {@link RealMatrix}, instances can be
+ * converted back and forth using {@link #Matrix3(RealMatrix)} and {@link
+ * #toRealMatrix()}. Instances that must not change can be shared as long as
+ * they are never used as destinations, {@link #copy()} can be used to
+ * get a private instance.
+ * </p>
+ * @see Matrix6
+ * @since 4.1
+ */
+public class Matrix3 implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Dimension of the matrix. */
+    private static final int DIMENSION = 3;
+
+    /** Entry at row 0, column 0. */
+    private double m00;
+
+    /** Entry at row 0, column 1. */
+    private double m01;
+
+    /** Entry at row 0, column 2. */
+    private double m02;
+
+    /** Entry at row 1, column 0. */
+    private double m10;
+
+    /** Entry at row 1, column 1. */
+    private double m11;
+
+    /** Entry at row 1, column 2. */
+    private double m12;
+
+    /** Entry at row 2, column 0. */
+    private double m20;
+
+    /** Entry at row 2, column 1. */
+    private double m21;
+
+    /** Entry at row 2, column 2. */
+    private double m22;
+
+    /** Build a matrix with all entries set to zero.
+     */
+    public Matrix3() {
+        // nothing to do, all entries are already zero
+    }
+
+    /** Build a matrix from its entries.
+     * @param m00 entry at row 0, column 0
+     * @param m01 entry at row 0, column 1
+     * @param m02 entry at row 0, column 2
+     * @param m10 entry at row 1, column 0
+     * @param m11 entry at row 1, column 1
+     * @param m12 entry at row 1, column 2
+     * @param m20 entry at row 2, column 0
+     * @param m21 entry at row 2, column 1
+     * @param m22 entry at row 2, column 2
+     */
+    public Matrix3(final double m00, final double m01, final double m02,
+                   final double m10, final double m11, final double m12,
+                   final double m20, final double m21, final double m22) {
+        set(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+    }
+
+    /** Build a matrix from a two dimensions array.
+     * @param d entries, as an array of rows
+     * @throws MathIllegalArgumentException if the array is not 3&times;3
+     */
+    public Matrix3(final double[][] d) throws MathIllegalArgumentException {
+        if (d.length != DIMENSION ||
+            d[0].length != DIMENSION || d[1].length != DIMENSION || d[2].length != DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2,
+                                                   d.length, d[0].length, DIMENSION, DIMENSION);
+        }
+        set(d[0][0], d[0][1], d[0][2],
+            d[1][0], d[1][1], d[1][2],
+            d[2][0], d[2][1], d[2][2]);
+    }
+
+    /** Build a matrix from a general matrix.
+     * @param m general matrix to convert
+     * @throws MathIllegalArgumentException if the matrix is not 3&times;3
+     */
+    public Matrix3(final RealMatrix m) throws MathIllegalArgumentException {
+        if (m.getRowDimension() != DIMENSION || m.getColumnDimension() != DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2,
+                                                   m.getRowDimension(), m.getColumnDimension(),
+                                                   DIMENSION, DIMENSION);
+        }
+        set(m.getEntry(0, 0), m.getEntry(0, 1), m.getEntry(0, 2),
+            m.getEntry(1, 0), m.getEntry(1, 1), m.getEntry(1, 2),
+            m.getEntry(2, 0), m.getEntry(2, 1), m.getEntry(2, 2));
+    }
+
+    /** Copy constructor.
+     * @param m matrix to copy
+     */
+    public Matrix3(final Matrix3 m) {
+        set(m);
+    }
+
+    /** Build an identity matrix.
+     * @return a new identity matrix
+     */
+    public static Matrix3 identity() {
+        return new Matrix3().setIdentity();
+    }
+
+    /** Get a copy of the instance.
+     * @return a copy of the instance
+     */
+    public Matrix3 copy() {
+        return new Matrix3(this);
+    }
+
+    /** Set all entries.
+     * @param e00 entry at row 0, column 0
+     * @param e01 entry at row 0, column 1
+     * @param e02 entry at row 0, column 2
+     * @param e10 entry at row 1, column 0
+     * @param e11 entry at row 1, column 1
+     * @param e12 entry at row 1, column 2
+     * @param e20 entry at row 2, column 0
+     * @param e21 entry at row 2, column 1
+     * @param e22 entry at row 2, column 2
+     * @return the instance
+     */
+    public Matrix3 set(final double e00, final double e01, final double e02,
+                       final double e10, final double e11, final double e12,
+                       final double e20, final double e21, final double e22) {
+        m00 = e00;
+        m01 = e01;
+        m02 = e02;
+        m10 = e10;
+        m11 = e11;
+        m12 = e12;
+        m20 = e20;
+        m21 = e21;
+        m22 = e22;
+        return this;
+    }
+
+    /** Set all entries from another matrix.
+     * @param m matrix to copy
+     * @return the instance
+     */
+    public Matrix3 set(final Matrix3 m) {
+        return set(m.m00, m.m01, m.m02, m.m10, m.m11, m.m12, m.m20, m.m21, m.m22);
+    }
+
+    /** Set the instance to identity.
+     * @return the instance
+     */
+    public Matrix3 setIdentity() {
+        return set(1, 0, 0, 0, 1, 0, 0, 0, 1);
+    }
+
+    /** Get an entry.
+     * @param row row index
+     * @param column column index
+     * @return entry at the specified position
+     * @throws MathIllegalArgumentException if an index is not between 0 and 2
+     */
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        checkIndices(row, column);
+        switch (DIMENSION * row + column) {
+            case 0 :
+                return m00;
+            case 1 :
+                return m01;
+            case 2 :
+                return m02;
+            case 3 :
+                return m10;
+            case 4 :
+                return m11;
+            case 5 :
+                return m12;
+            case 6 :
+                return m20;
+            case 7 :
+                return m21;
+            default :
+                return m22;
+        }
+    }
+
+    /** Get the entry at row 0, column 0.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 0, column 0
+     */
+    public double getM00() {
+        return m00;
+    }
+
+    /** Get the entry at row 0, column 1.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 0, column 1
+     */
+    public double getM01() {
+        return m01;
+    }
+
+    /** Get the entry at row 0, column 2.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 0, column 2
+     */
+    public double getM02() {
+        return m02;
+    }
+
+    /** Get the entry at row 1, column 0.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 1, column 0
+     */
+    public double getM10() {
+        return m10;
+    }
+
+    /** Get the entry at row 1, column 1.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 1, column 1
+     */
+    public double getM11() {
+        return m11;
+    }
+
+    /** Get the entry at row 1, column 2.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 1, column 2
+     */
+    public double getM12() {
+        return m12;
+    }
+
+    /** Get the entry at row 2, column 0.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 2, column 0
+     */
+    public double getM20() {
+        return m20;
+    }
+
+    /** Get the entry at row 2, column 1.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 2, column 1
+     */
+    public double getM21() {
+        return m21;
+    }
+
+    /** Get the entry at row 2, column 2.
+     * <p>Unlike {@link #getEntry(int, int)}, this method does not need any index check.</p>
+     * @return entry at row 2, column 2
+     */
+    public double getM22() {
+        return m22;
+    }
+
+    /** Set an entry.
+     * @param row row index
+     * @param column column index
+     * @param value new value for the entry
+     * @throws MathIllegalArgumentException if an index is not between 0 and 2
+     */
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        checkIndices(row, column);
+        switch (DIMENSION * row + column) {
+            case 0 :
+                m00 = value;
+                break;
+            case 1 :
+                m01 = value;
+                break;
+            case 2 :
+                m02 = value;
+                break;
+            case 3 :
+                m10 = value;
+                break;
+            case 4 :
+                m11 = value;
+                break;
+            case 5 :
+                m12 = value;
+                break;
+            case 6 :
+                m20 = value;
+                break;
+            case 7 :
+                m21 = value;
+                break;
+            default :
+                m22 = value;
+        }
+    }
+
+    /** Get the entries as a two dimensions array.
+     * @return a new array containing the rows of the matrix
+     */
+    public double[][] getData() {
+        return new double[][] {
+            { m00, m01, m02 },
+            { m10, m11, m12 },
+            { m20, m21, m22 }
+        };
+    }
+
+    /** Convert the instance to a general matrix.
+     * @return a new general matrix with the same entries
+     */
+    public RealMatrix toRealMatrix() {
+        return new Array2DRowRealMatrix(getData(), false);
+    }
+
+    /** Compute the sum of the instance and another matrix.
+     * @param m matrix to add
+     * @return a new matrix containing {@code this} + m
+     */
+    public Matrix3 add(final Matrix3 m) {
+        return add(m, new Matrix3());
+    }
+
+    /** Compute the sum of the instance and another matrix.
+     * @param m matrix to add
+     * @param out destination matrix, may be {@code this} or {@code m}
+     * @return {@code out}, containing {@code this} + m
+     */
+    public Matrix3 add(final Matrix3 m, final Matrix3 out) {
+        return out.set(m00 + m.m00, m01 + m.m01, m02 + m.m02,
+                       m10 + m.m10, m11 + m.m11, m12 + m.m12,
+                       m20 + m.m20, m21 + m.m21, m22 + m.m22);
+    }
+
+    /** Compute the difference of the instance and another matrix.
+     * @param m matrix to subtract
+     * @return a new matrix containing {@code this} - m
+     */
+    public Matrix3 subtract(final Matrix3 m) {
+        return subtract(m, new Matrix3());
+    }
+
+    /** Compute the difference of the instance and another matrix.
+     * @param m matrix to subtract
+     * @param out destination matrix, may be {@code this} or {@code m}
+     * @return {@code out}, containing {@code this} - m
+     */
+    public Matrix3 subtract(final Matrix3 m, final Matrix3 out) {
+        return out.set(m00 - m.m00, m01 - m.m01, m02 - m.m02,
+                       m10 - m.m10, m11 - m.m11, m12 - m.m12,
+                       m20 - m.m20, m21 - m.m21, m22 - m.m22);
+    }
+
+    /** Multiply the instance by a scalar.
+     * @param d scalar factor
+     * @return a new matrix containing d &times; {@code this}
+     */
+    public Matrix3 scalarMultiply(final double d) {
+        return scalarMultiply(d, new Matrix3());
+    }
+
+    /** Multiply the instance by a scalar.
+     * @param d scalar factor
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing d &times; {@code this}
+     */
+    public Matrix3 scalarMultiply(final double d, final Matrix3 out) {
+        return out.set(d * m00, d * m01, d * m02,
+                       d * m10, d * m11, d * m12,
+                       d * m20, d * m21, d * m22);
+    }
+
+    /** Compute the product of the instance by another matrix.
+     * @param m right operand
+     * @return a new matrix containing {@code this} &times; m
+     */
+    public Matrix3 multiply(final Matrix3 m) {
+        return multiply(m, new Matrix3());
+    }
+
+    /** Compute the product of the instance by another matrix.
+     * @param m right operand
+     * @param out destination matrix, may be {@code this} or {@code m}
+     * @return {@code out}, containing {@code this} &times; m
+     */
+    public Matrix3 multiply(final Matrix3 m, final Matrix3 out) {
+        return out.set(m00 * m.m00 + m01 * m.m10 + m02 * m.m20,
+                       m00 * m.m01 + m01 * m.m11 + m02 * m.m21,
+                       m00 * m.m02 + m01 * m.m12 + m02 * m.m22,
+                       m10 * m.m00 + m11 * m.m10 + m12 * m.m20,
+                       m10 * m.m01 + m11 * m.m11 + m12 * m.m21,
+                       m10 * m.m02 + m11 * m.m12 + m12 * m.m22,
+                       m20 * m.m00 + m21 * m.m10 + m22 * m.m20,
+                       m20 * m.m01 + m21 * m.m11 + m22 * m.m21,
+                       m20 * m.m02 + m21 * m.m12 + m22 * m.m22);
+    }
+
+    /** Compute the product of the transpose of the instance by another matrix.
+     * @param m right operand
+     * @return a new matrix containing {@code this}<sup>T</sup> &times; m
+     */
+    public Matrix3 transposeMultiply(final Matrix3 m) {
+        return transposeMultiply(m, new Matrix3());
+    }
+
+    /** Compute the product of the transpose of the instance by another matrix.
+     * @param m right operand
+     * @param out destination matrix, may be {@code this} or {@code m}
+     * @return {@code out}, containing {@code this}<sup>T</sup> &times; m
+     */
+    public Matrix3 transposeMultiply(final Matrix3 m, final Matrix3 out) {
+        return out.set(m00 * m.m00 + m10 * m.m10 + m20 * m.m20,
+                       m00 * m.m01 + m10 * m.m11 + m20 * m.m21,
+                       m00 * m.m02 + m10 * m.m12 + m20 * m.m22,
+                       m01 * m.m00 + m11 * m.m10 + m21 * m.m20,
+                       m01 * m.m01 + m11 * m.m11 + m21 * m.m21,
+                       m01 * m.m02 + m11 * m.m12 + m21 * m.m22,
+                       m02 * m.m00 + m12 * m.m10 + m22 * m.m20,
+                       m02 * m.m01 + m12 * m.m11 + m22 * m.m21,
+                       m02 * m.m02 + m12 * m.m12 + m22 * m.m22);
+    }
+
+    /** Compute the product of the instance by the transpose of another matrix.
+     * @param m right operand
+     * @return a new matrix containing {@code this} &times; m<sup>T</sup>
+     */
+    public Matrix3 multiplyTransposed(final Matrix3 m) {
+        return multiplyTransposed(m, new Matrix3());
+    }
+
+    /** Compute the product of the instance by the transpose of another matrix.
+     * @param m right operand
+     * @param out destination matrix, may be {@code this} or {@code m}
+     * @return {@code out}, containing {@code this} &times; m<sup>T</sup>
+     */
+    public Matrix3 multiplyTransposed(final Matrix3 m, final Matrix3 out) {
+        return out.set(m00 * m.m00 + m01 * m.m01 + m02 * m.m02,
+                       m00 * m.m10 + m01 * m.m11 + m02 * m.m12,
+                       m00 * m.m20 + m01 * m.m21 + m02 * m.m22,
+                       m10 * m.m00 + m11 * m.m01 + m12 * m.m02,
+                       m10 * m.m10 + m11 * m.m11 + m12 * m.m12,
+                       m10 * m.m20 + m11 * m.m21 + m12 * m.m22,
+                       m20 * m.m00 + m21 * m.m01 + m22 * m.m02,
+                       m20 * m.m10 + m21 * m.m11 + m22 * m.m12,
+                       m20 * m.m20 + m21 * m.m21 + m22 * m.m22);
+    }
+
+    /** Compute the transpose of the instance.
+     * @return a new matrix containing {@code this}<sup>T</sup>
+     */
+    public Matrix3 transpose() {
+        return transpose(new Matrix3());
+    }
+
+    /** Compute the transpose of the instance.
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing {@code this}<sup>T</sup>
+     */
+    public Matrix3 transpose(final Matrix3 out) {
+        return out.set(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+    }
+
+    /** Compute the product of the instance by a vector.
+     * @param v vector to multiply
+     * @return a new array containing {@code this} &times; v
+     * @throws MathIllegalArgumentException if the vector dimension is not 3
+     */
+    public double[] operate(final double[] v) throws MathIllegalArgumentException {
+        return operate(v, new double[DIMENSION]);
+    }
+
+    /** Compute the product of the instance by a vector.
+     * @param v vector to multiply
+     * @param out destination array, may be {@code v}
+     * @return {@code out}, containing {@code this} &times; v
+     * @throws MathIllegalArgumentException if an array dimension is not 3
+     */
+    public double[] operate(final double[] v, final double[] out) throws MathIllegalArgumentException {
+        checkVectorDimension(v);
+        return operate(v[0], v[1], v[2], out);
+    }
+
+    /** Compute the product of the instance by a vector given by its coordinates.
+     * @param x first coordinate of the vector
+     * @param y second coordinate of the vector
+     * @param z third coordinate of the vector
+     * @param out destination array
+     * @return {@code out}, containing {@code this} &times; (x, y, z)
+     * @throws MathIllegalArgumentException if the destination dimension is not 3
+     */
+    public double[] operate(final double x, final double y, final double z, final double[] out)
+        throws MathIllegalArgumentException {
+        checkVectorDimension(out);
+        out[0] = m00 * x + m01 * y + m02 * z;
+        out[1] = m10 * x + m11 * y + m12 * z;
+        out[2] = m20 * x + m21 * y + m22 * z;
+        return out;
+    }
+
+    /** Get the trace of the matrix.
+     * @return sum of the diagonal entries
+     */
+    public double getTrace() {
+        return m00 + m11 + m22;
+    }
+
+    /** Get the determinant of the matrix.
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        return m00 * (m11 * m22 - m12 * m21) -
+               m01 * (m10 * m22 - m12 * m20) +
+               m02 * (m10 * m21 - m11 * m20);
+    }
+
+    /** Compute the inverse of the instance.
+     * @return a new matrix containing {@code this}<sup>-1</sup>
+     * @throws MathIllegalArgumentException if the matrix is singular
+     */
+    public Matrix3 inverse() throws MathIllegalArgumentException {
+        return inverse(new Matrix3());
+    }
+
+    /** Compute the inverse of the instance.
+     * <p>
+     * The inverse is computed from the cofactors, which is accurate for
+     * well conditioned 3&times;3 matrices. Only matrices with an exactly
+     * zero determinant are rejected, {@link LUDecomposition} should be used
+     * if near singular matrices must be detected.
+     * </p>
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing {@code this}<sup>-1</sup>
+     * @throws MathIllegalArgumentException if the matrix is singular
+     */
+    public Matrix3 inverse(final Matrix3 out) throws MathIllegalArgumentException {
+
+        final double c00 = m11 * m22 - m12 * m21;
+        final double c01 = m12 * m20 - m10 * m22;
+        final double c02 = m10 * m21 - m11 * m20;
+        final double det = m00 * c00 + m01 * c01 + m02 * c02;
+        if (det == 0.0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+        }
+        final double inv = 1.0 / det;
+
+        return out.set(inv * c00, inv * (m02 * m21 - m01 * m22), inv * (m01 * m12 - m02 * m11),
+                       inv * c01, inv * (m00 * m22 - m02 * m20), inv * (m02 * m10 - m00 * m12),
+                       inv * c02, inv * (m01 * m20 - m00 * m21), inv * (m00 * m11 - m01 * m10));
+
+    }
+
+    /** Compute the Cholesky factor of the instance.
+     * @return a new lower triangular matrix L such that {@code this} = L &times; L<sup>T</sup>
+     * @throws MathIllegalArgumentException if the matrix is not positive definite
+     */
+    public Matrix3 cholesky() throws MathIllegalArgumentException {
+        return cholesky(new Matrix3());
+    }
+
+    /** Compute the Cholesky factor of the instance.
+     * <p>
+     * Only the lower triangular part of the instance is used, the matrix
+     * is assumed to be symmetric without any check.
+     * </p>
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing the lower triangular matrix L
+     * such that {@code this} = L &times; L<sup>T</sup>
+     * @throws MathIllegalArgumentException if the matrix is not positive definite
+     * @see CholeskyDecomposition
+     */
+    public Matrix3 cholesky(final Matrix3 out) throws MathIllegalArgumentException {
+
+        final double d0 = m00;
+        if (!(d0 > 0)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+        }
+        final double l00 = FastMath.sqrt(d0);
+        final double l10 = m10 / l00;
+        final double l20 = m20 / l00;
+
+        final double d1 = m11 - l10 * l10;
+        if (!(d1 > 0)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+        }
+        final double l11 = FastMath.sqrt(d1);
+        final double l21 = (m21 - l20 * l10) / l11;
+
+        final double d2 = m22 - l20 * l20 - l21 * l21;
+        if (!(d2 > 0)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+        }
+
+        return out.set(l00, 0,   0,
+                       l10, l11, 0,
+                       l20, l21, FastMath.sqrt(d2));
+
+    }
+
+    /** Compute the congruence transform of the instance by another matrix.
+     * @param a matrix to apply
+     * @return a new matrix containing a &times; {@code this} &times; a<sup>T</sup>
+     * @see #congruence(Matrix3, Matrix3)
+     */
+    public Matrix3 congruence(final Matrix3 a) {
+        return congruence(a, new Matrix3());
+    }
+
+    /** Compute the congruence transform of the instance by another matrix.
+     * <p>
+     * This is the transform used for covariance propagation. The instance is
+     * assumed to be symmetric, so only the upper triangular part of the result
+     * is computed and it is mirrored to the lower triangular part.
+     * </p>
+     * @param a matrix to apply
+     * @param out destination matrix, may be {@code this} or {@code a}
+     * @return {@code out}, containing a &times; {@code this} &times; a<sup>T</sup>
+     * @see SymmetricRealMatrix#congruence(RealMatrix)
+     */
+    public Matrix3 congruence(final Matrix3 a, final Matrix3 out) {
+
+        // b = a * this
+        final double b00 = a.m00 * m00 + a.m01 * m10 + a.m02 * m20;
+        final double b01 = a.m00 * m01 + a.m01 * m11 + a.m02 * m21;
+        final double b02 = a.m00 * m02 + a.m01 * m12 + a.m02 * m22;
+        final double b10 = a.m10 * m00 + a.m11 * m10 + a.m12 * m20;
+        final double b11 = a.m10 * m01 + a.m11 * m11 + a.m12 * m21;
+        final double b12 = a.m10 * m02 + a.m11 * m12 + a.m12 * m22;
+        final double b20 = a.m20 * m00 + a.m21 * m10 + a.m22 * m20;
+        final double b21 = a.m20 * m01 + a.m21 * m11 + a.m22 * m21;
+        final double b22 = a.m20 * m02 + a.m21 * m12 + a.m22 * m22;
+
+        // upper triangular part of b * a^T
+        final double c00 = b00 * a.m00 + b01 * a.m01 + b02 * a.m02;
+        final double c01 = b00 * a.m10 + b01 * a.m11 + b02 * a.m12;
+        final double c02 = b00 * a.m20 + b01 * a.m21 + b02 * a.m22;
+        final double c11 = b10 * a.m10 + b11 * a.m11 + b12 * a.m12;
+        final double c12 = b10 * a.m20 + b11 * a.m21 + b12 * a.m22;
+        final double c22 = b20 * a.m20 + b21 * a.m21 + b22 * a.m22;
+
+        return out.set(c00, c01, c02,
+                       c01, c11, c12,
+                       c02, c12, c22);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof Matrix3) {
+            final Matrix3 m = (Matrix3) other;
+            return Double.compare(m00, m.m00) == 0 &&
+                   Double.compare(m01, m.m01) == 0 &&
+                   Double.compare(m02, m.m02) == 0 &&
+                   Double.compare(m10, m.m10) == 0 &&
+                   Double.compare(m11, m.m11) == 0 &&
+                   Double.compare(m12, m.m12) == 0 &&
+                   Double.compare(m20, m.m20) == 0 &&
+                   Double.compare(m21, m.m21) == 0 &&
+                   Double.compare(m22, m.m22) == 0;
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        int hash = 0x1f3d5b79;
+        hash = 31 * hash + Double.hashCode(m00);
+        hash = 31 * hash + Double.hashCode(m01);
+        hash = 31 * hash + Double.hashCode(m02);
+        hash = 31 * hash + Double.hashCode(m10);
+        hash = 31 * hash + Double.hashCode(m11);
+        hash = 31 * hash + Double.hashCode(m12);
+        hash = 31 * hash + Double.hashCode(m20);
+        hash = 31 * hash + Double.hashCode(m21);
+        hash = 31 * hash + Double.hashCode(m22);
+        return hash;
+    }
+
+    /** Check entry indices.
+     * @param row row index
+     * @param column column index
+     * @throws MathIllegalArgumentException if an index is not between 0 and 2
+     */
+    private static void checkIndices(final int row, final int column) throws MathIllegalArgumentException {
+        if (row < 0 || row >= DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.ROW_INDEX, row, 0, DIMENSION - 1);
+        }
+        if (column < 0 || column >= DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.COLUMN_INDEX, column, 0, DIMENSION - 1);
+        }
+    }
+
+    /** Check a vector dimension.
+     * @param v vector to check
+     * @throws MathIllegalArgumentException if the vector dimension is not 3
+     */
+    private static void checkVectorDimension(final double[] v) throws MathIllegalArgumentException {
+        if (v.length != DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, v.length, DIMENSION);
+        }
+    }
+
+}
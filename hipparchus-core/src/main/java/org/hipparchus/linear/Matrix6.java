@@ -0,0 +1,759 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * Mutable 6&times;6 matrix with flat storage and unrolled kernels.
+ * <p>
+ * This class is intended for the small fixed-size computations that are
+ * performed in tight loops, like state transition matrices or position-velocity
+ * covariance propagation. The 36 entries are stored row by row in a single flat
+ * array, and the kernels use constant loop bounds with unrolled inner products,
+ * so there are no dimension checks and no {@code double[][]} indirections.
+ * </p>
+ * <p>
+ * All operations exist in two flavors: one that allocates a new matrix
+ * for the result, and one that stores the result in a destination matrix
+ * supplied by the caller and allocates nothing. Element-wise operations,
+ * {@link #transpose(Matrix6) transposition}, {@link #inverse(Matrix6) inversion}
+ * and {@link #cholesky(Matrix6) Cholesky factorization} can be performed in place.
+ * Products read operands entries after some destination entries have been written,
+ * so their destination must be a different object than their operands, and a
+ * {@link MathIllegalArgumentException} is thrown otherwise.
+ * </p>
+ * <p>
+ * This class does not implement {@link RealMatrix}, instances can be
+ * converted back and forth using {@link #Matrix6(RealMatrix)} and {@link
+ * #toRealMatrix()}. The four 3&times;3 blocks can be extracted or set using
+ * {@link Matrix3} instances.
+ * </p>
+ * @see Matrix3
+ * @since 4.1
+ */
+public class Matrix6 implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Dimension of the matrix. */
+    private static final int DIMENSION = 6;
+
+    /** Number of entries. */
+    private static final int SIZE = DIMENSION * DIMENSION;
+
+    /** Number of blocks per row or column. */
+    private static final int BLOCKS = 2;
+
+    /** Entries, row by row. */
+    private final double[] data;
+
+    /** Build a matrix with all entries set to zero.
+     */
+    public Matrix6() {
+        data = new double[SIZE];
+    }
+
+    /** Build a matrix from its entries.
+     * @param d entries, row by row (the array is copied)
+     * @throws MathIllegalArgumentException if the array does not have 36 entries
+     */
+    public Matrix6(final double[] d) throws MathIllegalArgumentException {
+        if (d.length != SIZE) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, d.length, SIZE);
+        }
+        data = d.clone();
+    }
+
+    /** Build a matrix from a two dimensions array.
+     * @param d entries, as an array of rows
+     * @throws MathIllegalArgumentException if the array is not 6&times;6
+     */
+    public Matrix6(final double[][] d) throws MathIllegalArgumentException {
+        data = new double[SIZE];
+        if (d.length != DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2,
+                                                   d.length, d[0].length, DIMENSION, DIMENSION);
+        }
+        for (int i = 0; i < DIMENSION; ++i) {
+            if (d[i].length != DIMENSION) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2,
+                                                       d.length, d[i].length, DIMENSION, DIMENSION);
+            }
+            System.arraycopy(d[i], 0, data, i * DIMENSION, DIMENSION);
+        }
+    }
+
+    /** Build a matrix from a general matrix.
+     * @param m general matrix to convert
+     * @throws MathIllegalArgumentException if the matrix is not 6&times;6
+     */
+    public Matrix6(final RealMatrix m) throws MathIllegalArgumentException {
+        if (m.getRowDimension() != DIMENSION || m.getColumnDimension() != DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2,
+                                                   m.getRowDimension(), m.getColumnDimension(),
+                                                   DIMENSION, DIMENSION);
+        }
+        data = new double[SIZE];
+        for (int i = 0; i < DIMENSION; ++i) {
+            for (int j = 0; j < DIMENSION; ++j) {
+                data[i * DIMENSION + j] = m.getEntry(i, j);
+            }
+        }
+    }
+
+    /** Build a matrix from its four 3&times;3 blocks.
+     * @param upperLeft upper left block
+     * @param upperRight upper right block
+     * @param lowerLeft lower left block
+     * @param lowerRight lower right block
+     */
+    public Matrix6(final Matrix3 upperLeft, final Matrix3 upperRight,
+                   final Matrix3 lowerLeft, final Matrix3 lowerRight) {
+        data = new double[SIZE];
+        setBlock(0, 0, upperLeft);
+        setBlock(0, 1, upperRight);
+        setBlock(1, 0, lowerLeft);
+        setBlock(1, 1, lowerRight);
+    }
+
+    /** Copy constructor.
+     * @param m matrix to copy
+     */
+    public Matrix6(final Matrix6 m) {
+        data = m.data.clone();
+    }
+
+    /** Build an identity matrix.
+     * @return a new identity matrix
+     */
+    public static Matrix6 identity() {
+        return new Matrix6().setIdentity();
+    }
+
+    /** Get a copy of the instance.
+     * @return a copy of the instance
+     */
+    public Matrix6 copy() {
+        return new Matrix6(this);
+    }
+
+    /** Set all entries from another matrix.
+     * @param m matrix to copy
+     * @return the instance
+     */
+    public Matrix6 set(final Matrix6 m) {
+        System.arraycopy(m.data, 0, data, 0, SIZE);
+        return this;
+    }
+
+    /** Set the instance to identity.
+     * @return the instance
+     */
+    public Matrix6 setIdentity() {
+        Arrays.fill(data, 0.0);
+        for (int k = 0; k < SIZE; k += DIMENSION + 1) {
+            data[k] = 1.0;
+        }
+        return this;
+    }
+
+    /** Get an entry.
+     * @param row row index
+     * @param column column index
+     * @return entry at the specified position
+     * @throws MathIllegalArgumentException if an index is not between 0 and 5
+     */
+    public double getEntry(final int row, final int column) throws MathIllegalArgumentException {
+        checkIndex(LocalizedCoreFormats.ROW_INDEX, row, DIMENSION);
+        checkIndex(LocalizedCoreFormats.COLUMN_INDEX, column, DIMENSION);
+        return data[row * DIMENSION + column];
+    }
+
+    /** Set an entry.
+     * @param row row index
+     * @param column column index
+     * @param value new value for the entry
+     * @throws MathIllegalArgumentException if an index is not between 0 and 5
+     */
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        checkIndex(LocalizedCoreFormats.ROW_INDEX, row, DIMENSION);
+        checkIndex(LocalizedCoreFormats.COLUMN_INDEX, column, DIMENSION);
+        data[row * DIMENSION + column] = value;
+    }
+
+    /** Get a 3&times;3 block.
+     * @param blockRow block row index (0 for rows 0 to 2, 1 for rows 3 to 5)
+     * @param blockColumn block column index (0 for columns 0 to 2, 1 for columns 3 to 5)
+     * @param out destination matrix
+     * @return {@code out}, containing the specified block
+     * @throws MathIllegalArgumentException if a block index is not 0 or 1
+     */
+    public Matrix3 getBlock(final int blockRow, final int blockColumn, final Matrix3 out)
+        throws MathIllegalArgumentException {
+        checkIndex(LocalizedCoreFormats.ROW_INDEX, blockRow, BLOCKS);
+        checkIndex(LocalizedCoreFormats.COLUMN_INDEX, blockColumn, BLOCKS);
+        final int k = 3 * (blockRow * DIMENSION + blockColumn);
+        return out.set(data[k],      data[k + 1],  data[k + 2],
+                       data[k + 6],  data[k + 7],  data[k + 8],
+                       data[k + 12], data[k + 13], data[k + 14]);
+    }
+
+    /** Set a 3&times;3 block.
+     * @param blockRow block row index (0 for rows 0 to 2, 1 for rows 3 to 5)
+     * @param blockColumn block column index (0 for columns 0 to 2, 1 for columns 3 to 5)
+     * @param block block entries
+     * @return the instance
+     * @throws MathIllegalArgumentException if a block index is not 0 or 1
+     */
+    public Matrix6 setBlock(final int blockRow, final int blockColumn, final Matrix3 block)
+        throws MathIllegalArgumentException {
+        checkIndex(LocalizedCoreFormats.ROW_INDEX, blockRow, BLOCKS);
+        checkIndex(LocalizedCoreFormats.COLUMN_INDEX, blockColumn, BLOCKS);
+        final int k = 3 * (blockRow * DIMENSION + blockColumn);
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                data[k + i * DIMENSION + j] = block.getEntry(i, j);
+            }
+        }
+        return this;
+    }
+
+    /** Get the entries as a two dimensions array.
+     * @return a new array containing the rows of the matrix
+     */
+    public double[][] getData() {
+        final double[][] d = new double[DIMENSION][];
+        for (int i = 0; i < DIMENSION; ++i) {
+            d[i] = Arrays.copyOfRange(data, i * DIMENSION, (i + 1) * DIMENSION);
+        }
+        return d;
+    }
+
+    /** Get a reference to the underlying flat storage.
+     * <p>
+     * The entries are stored row by row, entry (i, j) is at index 6i + j.
+     * </p>
+     * @return reference to the underlying storage
+     */
+    public double[] getDataRef() {
+        return data; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /** Convert the instance to a general matrix.
+     * @return a new general matrix with the same entries
+     */
+    public RealMatrix toRealMatrix() {
+        return new Array2DRowRealMatrix(getData(), false);
+    }
+
+    /** Compute the sum of the instance and another matrix.
+     * @param m matrix to add
+     * @return a new matrix containing {@code this} + m
+     */
+    public Matrix6 add(final Matrix6 m) {
+        return add(m, new Matrix6());
+    }
+
+    /** Compute the sum of the instance and another matrix.
+     * @param m matrix to add
+     * @param out destination matrix, may be {@code this} or {@code m}
+     * @return {@code out}, containing {@code this} + m
+     */
+    public Matrix6 add(final Matrix6 m, final Matrix6 out) {
+        final double[] o = out.data;
+        for (int k = 0; k < SIZE; ++k) {
+            o[k] = data[k] + m.data[k];
+        }
+        return out;
+    }
+
+    /** Compute the difference of the instance and another matrix.
+     * @param m matrix to subtract
+     * @return a new matrix containing {@code this} - m
+     */
+    public Matrix6 subtract(final Matrix6 m) {
+        return subtract(m, new Matrix6());
+    }
+
+    /** Compute the difference of the instance and another matrix.
+     * @param m matrix to subtract
+     * @param out destination matrix, may be {@code this} or {@code m}
+     * @return {@code out}, containing {@code this} - m
+     */
+    public Matrix6 subtract(final Matrix6 m, final Matrix6 out) {
+        final double[] o = out.data;
+        for (int k = 0; k < SIZE; ++k) {
+            o[k] = data[k] - m.data[k];
+        }
+        return out;
+    }
+
+    /** Multiply the instance by a scalar.
+     * @param d scalar factor
+     * @return a new matrix containing d &times; {@code this}
+     */
+    public Matrix6 scalarMultiply(final double d) {
+        return scalarMultiply(d, new Matrix6());
+    }
+
+    /** Multiply the instance by a scalar.
+     * @param d scalar factor
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing d &times; {@code this}
+     */
+    public Matrix6 scalarMultiply(final double d, final Matrix6 out) {
+        final double[] o = out.data;
+        for (int k = 0; k < SIZE; ++k) {
+            o[k] = d * data[k];
+        }
+        return out;
+    }
+
+    /** Compute the product of the instance by another matrix.
+     * @param m right operand
+     * @return a new matrix containing {@code this} &times; m
+     */
+    public Matrix6 multiply(final Matrix6 m) {
+        return multiply(m, new Matrix6());
+    }
+
+    /** Compute the product of the instance by another matrix.
+     * @param m right operand
+     * @param out destination matrix, must be different from both {@code this} and {@code m}
+     * @return {@code out}, containing {@code this} &times; m
+     * @throws MathIllegalArgumentException if {@code out} is one of the operands
+     */
+    public Matrix6 multiply(final Matrix6 m, final Matrix6 out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, m);
+        final double[] b = m.data;
+        final double[] o = out.data;
+        for (int i = 0; i < SIZE; i += DIMENSION) {
+            final double a0 = data[i];
+            final double a1 = data[i + 1];
+            final double a2 = data[i + 2];
+            final double a3 = data[i + 3];
+            final double a4 = data[i + 4];
+            final double a5 = data[i + 5];
+            for (int j = 0; j < DIMENSION; ++j) {
+                o[i + j] = a0 * b[j]      + a1 * b[j + 6]  + a2 * b[j + 12] +
+                           a3 * b[j + 18] + a4 * b[j + 24] + a5 * b[j + 30];
+            }
+        }
+        return out;
+    }
+
+    /** Compute the product of the transpose of the instance by another matrix.
+     * @param m right operand
+     * @return a new matrix containing {@code this}<sup>T</sup> &times; m
+     */
+    public Matrix6 transposeMultiply(final Matrix6 m) {
+        return transposeMultiply(m, new Matrix6());
+    }
+
+    /** Compute the product of the transpose of the instance by another matrix.
+     * @param m right operand
+     * @param out destination matrix, must be different from both {@code this} and {@code m}
+     * @return {@code out}, containing {@code this}<sup>T</sup> &times; m
+     * @throws MathIllegalArgumentException if {@code out} is one of the operands
+     */
+    public Matrix6 transposeMultiply(final Matrix6 m, final Matrix6 out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, m);
+        final double[] b = m.data;
+        final double[] o = out.data;
+        for (int i = 0; i < DIMENSION; ++i) {
+            final double a0 = data[i];
+            final double a1 = data[i + 6];
+            final double a2 = data[i + 12];
+            final double a3 = data[i + 18];
+            final double a4 = data[i + 24];
+            final double a5 = data[i + 30];
+            for (int j = 0; j < DIMENSION; ++j) {
+                o[i * DIMENSION + j] = a0 * b[j]      + a1 * b[j + 6]  + a2 * b[j + 12] +
+                                       a3 * b[j + 18] + a4 * b[j + 24] + a5 * b[j + 30];
+            }
+        }
+        return out;
+    }
+
+    /** Compute the product of the instance by the transpose of another matrix.
+     * @param m right operand
+     * @return a new matrix containing {@code this} &times; m<sup>T</sup>
+     */
+    public Matrix6 multiplyTransposed(final Matrix6 m) {
+        return multiplyTransposed(m, new Matrix6());
+    }
+
+    /** Compute the product of the instance by the transpose of another matrix.
+     * @param m right operand
+     * @param out destination matrix, must be different from both {@code this} and {@code m}
+     * @return {@code out}, containing {@code this} &times; m<sup>T</sup>
+     * @throws MathIllegalArgumentException if {@code out} is one of the operands
+     */
+    public Matrix6 multiplyTransposed(final Matrix6 m, final Matrix6 out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, m);
+        final double[] b = m.data;
+        final double[] o = out.data;
+        for (int i = 0; i < SIZE; i += DIMENSION) {
+            final double a0 = data[i];
+            final double a1 = data[i + 1];
+            final double a2 = data[i + 2];
+            final double a3 = data[i + 3];
+            final double a4 = data[i + 4];
+            final double a5 = data[i + 5];
+            for (int j = 0; j < SIZE; j += DIMENSION) {
+                o[i + j / DIMENSION] = a0 * b[j]     + a1 * b[j + 1] + a2 * b[j + 2] +
+                                       a3 * b[j + 3] + a4 * b[j + 4] + a5 * b[j + 5];
+            }
+        }
+        return out;
+    }
+
+    /** Compute the transpose of the instance.
+     * @return a new matrix containing {@code this}<sup>T</sup>
+     */
+    public Matrix6 transpose() {
+        return transpose(new Matrix6());
+    }
+
+    /** Compute the transpose of the instance.
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing {@code this}<sup>T</sup>
+     */
+    public Matrix6 transpose(final Matrix6 out) {
+        final double[] o = out.data;
+        for (int i = 0; i < DIMENSION; ++i) {
+            o[i * (DIMENSION + 1)] = data[i * (DIMENSION + 1)];
+            for (int j = i + 1; j < DIMENSION; ++j) {
+                final double upper = data[i * DIMENSION + j];
+                o[i * DIMENSION + j] = data[j * DIMENSION + i];
+                o[j * DIMENSION + i] = upper;
+            }
+        }
+        return out;
+    }
+
+    /** Compute the product of the instance by a vector.
+     * @param v vector to multiply
+     * @return a new array containing {@code this} &times; v
+     * @throws MathIllegalArgumentException if the vector dimension is not 6
+     */
+    public double[] operate(final double[] v) throws MathIllegalArgumentException {
+        return operate(v, new double[DIMENSION]);
+    }
+
+    /** Compute the product of the instance by a vector.
+     * @param v vector to multiply
+     * @param out destination array, may be {@code v}
+     * @return {@code out}, containing {@code this} &times; v
+     * @throws MathIllegalArgumentException if an array dimension is not 6
+     */
+    public double[] operate(final double[] v, final double[] out) throws MathIllegalArgumentException {
+        checkVectorDimension(v);
+        checkVectorDimension(out);
+        final double v0 = v[0];
+        final double v1 = v[1];
+        final double v2 = v[2];
+        final double v3 = v[3];
+        final double v4 = v[4];
+        final double v5 = v[5];
+        for (int i = 0; i < DIMENSION; ++i) {
+            final int k = i * DIMENSION;
+            out[i] = data[k]     * v0 + data[k + 1] * v1 + data[k + 2] * v2 +
+                     data[k + 3] * v3 + data[k + 4] * v4 + data[k + 5] * v5;
+        }
+        return out;
+    }
+
+    /** Get the trace of the matrix.
+     * @return sum of the diagonal entries
+     */
+    public double getTrace() {
+        return data[0] + data[7] + data[14] + data[21] + data[28] + data[35];
+    }
+
+    /** Compute the inverse of the instance.
+     * @return a new matrix containing {@code this}<sup>-1</sup>
+     * @throws MathIllegalArgumentException if the matrix is singular
+     */
+    public Matrix6 inverse() throws MathIllegalArgumentException {
+        return inverse(new Matrix6());
+    }
+
+    /** Compute the inverse of the instance.
+     * <p>
+     * The inverse is computed in place in the destination using Gauss-Jordan
+     * elimination with partial pivoting. Only matrices with an exactly zero
+     * pivot are rejected, {@link LUDecomposition} should be used if near
+     * singular matrices must be detected.
+     * </p>
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing {@code this}<sup>-1</sup>
+     * @throws MathIllegalArgumentException if the matrix is singular
+     */
+    public Matrix6 inverse(final Matrix6 out) throws MathIllegalArgumentException {
+
+        final double[] a = out.data;
+        if (out != this) {
+            System.arraycopy(data, 0, a, 0, SIZE);
+        }
+
+        // pivot rows are packed 3 bits per column, to avoid allocating an array
+        int pivots = 0;
+
+        for (int k = 0; k < DIMENSION; ++k) {
+
+            // find pivot
+            int    p    = k;
+            double best = FastMath.abs(a[k * DIMENSION + k]);
+            for (int i = k + 1; i < DIMENSION; ++i) {
+                final double candidate = FastMath.abs(a[i * DIMENSION + k]);
+                if (candidate > best) {
+                    best = candidate;
+                    p    = i;
+                }
+            }
+            if (best == 0.0) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+            pivots |= p << (3 * k);
+            if (p != k) {
+                swapRows(a, p, k);
+            }
+
+            // normalize pivot row
+            final int    rowK = k * DIMENSION;
+            final double inv  = 1.0 / a[rowK + k];
+            a[rowK + k] = 1.0;
+            for (int j = 0; j < DIMENSION; ++j) {
+                a[rowK + j] *= inv;
+            }
+
+            // eliminate column k from all other rows
+            for (int i = 0; i < DIMENSION; ++i) {
+                if (i != k) {
+                    final int    rowI = i * DIMENSION;
+                    final double f    = a[rowI + k];
+                    a[rowI + k] = 0.0;
+                    for (int j = 0; j < DIMENSION; ++j) {
+                        a[rowI + j] -= f * a[rowK + j];
+                    }
+                }
+            }
+
+        }
+
+        // undo the row interchanges by swapping columns in reverse order
+        for (int k = DIMENSION - 1; k >= 0; --k) {
+            final int p = (pivots >>> (3 * k)) & 0x7;
+            if (p != k) {
+                for (int i = 0; i < SIZE; i += DIMENSION) {
+                    final double tmp = a[i + p];
+                    a[i + p] = a[i + k];
+                    a[i + k] = tmp;
+                }
+            }
+        }
+
+        return out;
+
+    }
+
+    /** Compute the Cholesky factor of the instance.
+     * @return a new lower triangular matrix L such that {@code this} = L &times; L<sup>T</sup>
+     * @throws MathIllegalArgumentException if the matrix is not positive definite
+     */
+    public Matrix6 cholesky() throws MathIllegalArgumentException {
+        return cholesky(new Matrix6());
+    }
+
+    /** Compute the Cholesky factor of the instance.
+     * <p>
+     * Only the lower triangular part of the instance is used, the matrix
+     * is assumed to be symmetric without any check.
+     * </p>
+     * @param out destination matrix, may be {@code this}
+     * @return {@code out}, containing the lower triangular matrix L
+     * such that {@code this} = L &times; L<sup>T</sup>
+     * @throws MathIllegalArgumentException if the matrix is not positive definite
+     * @see CholeskyDecomposition
+     */
+    public Matrix6 cholesky(final Matrix6 out) throws MathIllegalArgumentException {
+
+        final double[] l = out.data;
+        if (out != this) {
+            System.arraycopy(data, 0, l, 0, SIZE);
+        }
+
+        // column by column, entries below the diagonal are read before being overwritten
+        for (int j = 0; j < DIMENSION; ++j) {
+            final int rowJ = j * DIMENSION;
+            double d = l[rowJ + j];
+            for (int k = 0; k < j; ++k) {
+                d -= l[rowJ + k] * l[rowJ + k];
+            }
+            if (!(d > 0)) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            final double ljj = FastMath.sqrt(d);
+            l[rowJ + j] = ljj;
+            final double inv = 1.0 / ljj;
+            for (int i = j + 1; i < DIMENSION; ++i) {
+                final int rowI = i * DIMENSION;
+                double s = l[rowI + j];
+                for (int k = 0; k < j; ++k) {
+                    s -= l[rowI + k] * l[rowJ + k];
+                }
+                l[rowI + j]  = s * inv;
+                l[rowJ + i]  = 0.0;
+            }
+        }
+
+        return out;
+
+    }
+
+    /** Compute the congruence transform of the instance by another matrix.
+     * @param a matrix to apply
+     * @return a new matrix containing a &times; {@code this} &times; a<sup>T</sup>
+     * @see #congruence(Matrix6, Matrix6)
+     */
+    public Matrix6 congruence(final Matrix6 a) {
+        return congruence(a, new Matrix6());
+    }
+
+    /** Compute the congruence transform of the instance by another matrix.
+     * <p>
+     * This is the transform used for covariance propagation with state
+     * transition matrices. The instance is assumed to be symmetric, so only
+     * the upper triangular part of the result is computed and it is mirrored
+     * to the lower triangular part. Each row of the intermediate product
+     * a &times; {@code this} is kept in local variables, so nothing is allocated.
+     * </p>
+     * @param a matrix to apply
+     * @param out destination matrix, must be different from both {@code this} and {@code a}
+     * @return {@code out}, containing a &times; {@code this} &times; a<sup>T</sup>
+     * @throws MathIllegalArgumentException if {@code out} is one of the operands
+     * @see SymmetricRealMatrix#congruence(RealMatrix)
+     */
+    public Matrix6 congruence(final Matrix6 a, final Matrix6 out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, a);
+        final double[] aData = a.data;
+        final double[] o     = out.data;
+        for (int r = 0; r < DIMENSION; ++r) {
+
+            // row r of b = a * this
+            final int    rowR = r * DIMENSION;
+            final double a0   = aData[rowR];
+            final double a1   = aData[rowR + 1];
+            final double a2   = aData[rowR + 2];
+            final double a3   = aData[rowR + 3];
+            final double a4   = aData[rowR + 4];
+            final double a5   = aData[rowR + 5];
+            final double b0   = a0 * data[0] + a1 * data[6]  + a2 * data[12] + a3 * data[18] + a4 * data[24] + a5 * data[30];
+            final double b1   = a0 * data[1] + a1 * data[7]  + a2 * data[13] + a3 * data[19] + a4 * data[25] + a5 * data[31];
+            final double b2   = a0 * data[2] + a1 * data[8]  + a2 * data[14] + a3 * data[20] + a4 * data[26] + a5 * data[32];
+            final double b3   = a0 * data[3] + a1 * data[9]  + a2 * data[15] + a3 * data[21] + a4 * data[27] + a5 * data[33];
+            final double b4   = a0 * data[4] + a1 * data[10] + a2 * data[16] + a3 * data[22] + a4 * data[28] + a5 * data[34];
+            final double b5   = a0 * data[5] + a1 * data[11] + a2 * data[17] + a3 * data[23] + a4 * data[29] + a5 * data[35];
+
+            // entries (r, s) and (s, r) of b * a^T, for s >= r
+            for (int s = r; s < DIMENSION; ++s) {
+                final int    rowS = s * DIMENSION;
+                final double c    = b0 * aData[rowS]     + b1 * aData[rowS + 1] + b2 * aData[rowS + 2] +
+                                    b3 * aData[rowS + 3] + b4 * aData[rowS + 4] + b5 * aData[rowS + 5];
+                o[rowR + s] = c;
+                o[rowS + r] = c;
+            }
+
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof Matrix6) {
+            return Arrays.equals(data, ((Matrix6) other).data);
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 0x2c6e9a17 ^ Arrays.hashCode(data);
+    }
+
+    /** Swap two rows.
+     * @param a flat storage
+     * @param i first row index
+     * @param j second row index
+     */
+    private static void swapRows(final double[] a, final int i, final int j) {
+        final int rowI = i * DIMENSION;
+        final int rowJ = j * DIMENSION;
+        for (int k = 0; k < DIMENSION; ++k) {
+            final double tmp = a[rowI + k];
+            a[rowI + k] = a[rowJ + k];
+            a[rowJ + k] = tmp;
+        }
+    }
+
+    /** Check an index.
+     * @param format format to use for the error message
+     * @param index index to check
+     * @param max maximum index (exclusive)
+     * @throws MathIllegalArgumentException if the index is out of range
+     */
+    private static void checkIndex(final LocalizedCoreFormats format, final int index, final int max)
+        throws MathIllegalArgumentException {
+        if (index < 0 || index >= max) {
+            throw new MathIllegalArgumentException(format, index, 0, max - 1);
+        }
+    }
+
+    /** Check a vector dimension.
+     * @param v vector to check
+     * @throws MathIllegalArgumentException if the vector dimension is not 6
+     */
+    private static void checkVectorDimension(final double[] v) throws MathIllegalArgumentException {
+        if (v.length != DIMENSION) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH, v.length, DIMENSION);
+        }
+    }
+
+}
@@ -720,6 +720,57 @@ public class MatrixUtils {
         }
     }
 
+    /**
+     * Check if a destination matrix has the expected dimensions.
+     *
+     * @param destination destination matrix
+     * @param rows expected number of rows
+     * @param columns expected number of columns
+     * @throws MathIllegalArgumentException if the destination does not have the expected dimensions
+     * @since 4.1
+     */
+    public static void checkDestinationDimensions(final AnyMatrix destination, final int rows, final int columns)
+        throws MathIllegalArgumentException {
+        if (destination.getRowDimension() != rows || destination.getColumnDimension() != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH_2x2,
+                                                   destination.getRowDimension(), destination.getColumnDimension(),
+                                                   rows, columns);
+        }
+    }
+
+    /**
+     * Check a destination is not one of the operands of an operation.
+     * <p>
+     * This check is needed for operations that read operands entries after
+     * some destination entries have been written, like products or transposition.
+     * </p>
+     * <p>
+     * {@link RealMatrixView views} are replaced by their {@link RealMatrixView#getParent()
+     * underlying matrix} before comparison, so a view of an operand, or an operand
+     * viewing the destination, is also rejected.
+     * </p>
+     *
+     * @param destination destination of the operation
+     * @param operand operand of the operation
+     * @throws MathIllegalArgumentException if destination and operand are the same object,
+     * or views of the same object
+     * @since 4.1
+     */
+    public static void checkNotAliased(final Object destination, final Object operand)
+        throws MathIllegalArgumentException {
+        if (unwrapView(destination) == unwrapView(operand)) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DESTINATION_ALIASES_OPERAND);
+        }
+    }
+
+    /** Get the underlying matrix of a view.
+     * @param object object to unwrap
+     * @return underlying matrix if object is a {@link RealMatrixView}, object itself otherwise
+     */
+    private static Object unwrapView(final Object object) {
+        return (object instanceof RealMatrixView) ? ((RealMatrixView) object).getParent() : object;
+    }
+
     /**
      * Convert a {@link FieldMatrix}/{@link Fraction} matrix to a {@link RealMatrix}.
      * @param m Matrix to convert.
@@ -917,10 +968,11 @@ public class MatrixUtils {
 
         final int splitIndex1 = splitIndex + 1;
 
-        final RealMatrix a = m.getSubMatrix(0, splitIndex, 0, splitIndex);
-        final RealMatrix b = m.getSubMatrix(0, splitIndex, splitIndex1, n - 1);
-        final RealMatrix c = m.getSubMatrix(splitIndex1, n - 1, 0, splitIndex);
-        final RealMatrix d = m.getSubMatrix(splitIndex1, n - 1, splitIndex1, n - 1);
+        // the blocks are only read, so views are sufficient
+        final RealMatrix a = m.getSubMatrixView(0, splitIndex, 0, splitIndex);
+        final RealMatrix b = m.getSubMatrixView(0, splitIndex, splitIndex1, n - 1);
+        final RealMatrix c = m.getSubMatrixView(splitIndex1, n - 1, 0, splitIndex);
+        final RealMatrix d = m.getSubMatrixView(splitIndex1, n - 1, splitIndex1, n - 1);
 
         final SingularValueDecomposition aDec = new SingularValueDecomposition(a);
         final DecompositionSolver aSolver = aDec.getSolver();
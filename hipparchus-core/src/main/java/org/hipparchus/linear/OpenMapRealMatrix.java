@@ -26,6 +26,7 @@ import java.io.Serializable;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
 import org.hipparchus.util.OpenIntToDoubleHashMap;
 
 /**
@@ -356,6 +357,26 @@ public class OpenMapRealMatrix extends AbstractRealMatrix
         }
     }
 
+    /**
+     * Convert the instance to compressed sparse storage.
+     * <p>
+     * Only the entries stored in the map are visited, so the cost is proportional
+     * to their number rather than to rows &times; columns.
+     * </p>
+     * @param rowMajor if true, the major dimension is rows, otherwise it is columns
+     * @return compressed sparse storage
+     */
+    CompressedSparseStorage toCompressedStorage(final boolean rowMajor) {
+        final SparseRealMatrixBuilder builder =
+                        new SparseRealMatrixBuilder(rows, columns, FastMath.max(1, entries.size()));
+        for (OpenIntToDoubleHashMap.Iterator iterator = entries.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            final int key = iterator.key();
+            builder.addEntry(key / columns, key % columns, iterator.value());
+        }
+        return builder.buildStorage(rowMajor);
+    }
+
     /**
      * Compute the key to access a matrix element
      * @param row row index of the matrix element
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import org.hipparchus.util.FastMath;
+
+/**
+ * Utility class for walking matrices in parallel.
+ * <p>
+ * The matrix is split into units (rows or blocks depending on the storage) that
+ * are distributed to the pool in ranges of consecutive units, by recursive splitting.
+ * </p>
+ * @since 4.1
+ */
+final class ParallelMatrixWalk {
+
+    /** Number of entries below which a range of units is not split anymore. */
+    private static final int ENTRIES_PER_TASK = 1 << 14;
+
+    /** Private constructor for a utility class. */
+    private ParallelMatrixWalk() {
+        // nothing to do
+    }
+
+    /** Walk all units with a changing visitor.
+     * @param pool pool to use for parallel computation
+     * @param units number of units
+     * @param entriesPerUnit (approximate) number of entries in each unit
+     * @param visitor visitor, which must support concurrent calls to its visit method
+     * @param walker walker for one unit
+     */
+    static void walk(final ForkJoinPool pool, final int units, final int entriesPerUnit,
+                     final RealMatrixChangingVisitor visitor,
+                     final UnitWalker<RealMatrixChangingVisitor> walker) {
+        pool.invoke(new ChangingTask(walker, visitor, unitsPerTask(entriesPerUnit), 0, units));
+    }
+
+    /** Walk all units with a splittable preserving visitor.
+     * @param <T> the type of the visitor
+     * @param pool pool to use for parallel computation
+     * @param units number of units
+     * @param entriesPerUnit (approximate) number of entries in each unit
+     * @param visitor visitor, which will be forked for each range of units
+     * @param walker walker for one unit
+     * @return fork of the visitor that has visited all units
+     */
+    static <T extends SplittableRealMatrixPreservingVisitor<T>>
+        T walk(final ForkJoinPool pool, final int units, final int entriesPerUnit,
+               final T visitor, final UnitWalker<T> walker) {
+        return pool.invoke(new PreservingTask<>(walker, visitor, unitsPerTask(entriesPerUnit), 0, units));
+    }
+
+    /** Compute the number of units below which a range is not split anymore.
+     * @param entriesPerUnit (approximate) number of entries in each unit
+     * @return number of units below which a range is not split anymore
+     */
+    private static int unitsPerTask(final int entriesPerUnit) {
+        return FastMath.max(1, ENTRIES_PER_TASK / FastMath.max(1, entriesPerUnit));
+    }
+
+    /** Walker for one unit.
+     * @param <V> the type of the visitor
+     */
+    @FunctionalInterface
+    interface UnitWalker<V> {
+        /** Walk one unit.
+         * @param unit index of the unit
+         * @param visitor visitor to use
+         */
+        void walk(int unit, V visitor);
+    }
+
+    /** Task walking a range of units with a changing visitor. */
+    private static class ChangingTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Walker for one unit. */
+        private final transient UnitWalker<RealMatrixChangingVisitor> walker;
+
+        /** Visitor. */
+        private final transient RealMatrixChangingVisitor visitor;
+
+        /** Number of units below which the range is not split anymore. */
+        private final int unitsPerTask;
+
+        /** Index of the first unit (included). */
+        private final int start;
+
+        /** Index of the last unit (excluded). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param walker walker for one unit
+         * @param visitor visitor
+         * @param unitsPerTask number of units below which the range is not split anymore
+         * @param start index of the first unit (included)
+         * @param end index of the last unit (excluded)
+         */
+        ChangingTask(final UnitWalker<RealMatrixChangingVisitor> walker,
+                     final RealMatrixChangingVisitor visitor,
+                     final int unitsPerTask, final int start, final int end) {
+            this.walker       = walker;
+            this.visitor      = visitor;
+            this.unitsPerTask = unitsPerTask;
+            this.start        = start;
+            this.end          = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= unitsPerTask) {
+                for (int unit = start; unit < end; ++unit) {
+                    walker.walk(unit, visitor);
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new ChangingTask(walker, visitor, unitsPerTask, start, middle),
+                          new ChangingTask(walker, visitor, unitsPerTask, middle, end));
+            }
+        }
+
+    }
+
+    /** Task walking a range of units with a splittable preserving visitor.
+     * @param <T> the type of the visitor
+     */
+    private static class PreservingTask<T extends SplittableRealMatrixPreservingVisitor<T>>
+        extends RecursiveTask<T> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Walker for one unit. */
+        private final transient UnitWalker<T> walker;
+
+        /** Visitor to fork. */
+        private final transient T visitor;
+
+        /** Number of units below which the range is not split anymore. */
+        private final int unitsPerTask;
+
+        /** Index of the first unit (included). */
+        private final int start;
+
+        /** Index of the last unit (excluded). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param walker walker for one unit
+         * @param visitor visitor to fork
+         * @param unitsPerTask number of units below which the range is not split anymore
+         * @param start index of the first unit (included)
+         * @param end index of the last unit (excluded)
+         */
+        PreservingTask(final UnitWalker<T> walker, final T visitor,
+                       final int unitsPerTask, final int start, final int end) {
+            this.walker       = walker;
+            this.visitor      = visitor;
+            this.unitsPerTask = unitsPerTask;
+            this.start        = start;
+            this.end          = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected T compute() {
+            if (end - start <= unitsPerTask) {
+                final T fork = visitor.fork();
+                for (int unit = start; unit < end; ++unit) {
+                    walker.walk(unit, fork);
+                }
+                return fork;
+            } else {
+                final int middle = (start + end) >>> 1;
+                final PreservingTask<T> left  = new PreservingTask<>(walker, visitor, unitsPerTask, start, middle);
+                final PreservingTask<T> right = new PreservingTask<>(walker, visitor, unitsPerTask, middle, end);
+                left.fork();
+                final T rightResult = right.compute();
+                final T leftResult  = left.join();
+                leftResult.merge(rightResult);
+                return leftResult;
+            }
+        }
+
+    }
+
+}
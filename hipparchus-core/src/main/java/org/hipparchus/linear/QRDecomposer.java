@@ -17,6 +17,8 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 /** Matrix decomposer using QR-decomposition.
  * @since 1.3
  */
@@ -25,19 +27,40 @@ public class QRDecomposer implements MatrixDecomposer {
     /** Threshold under which a matrix is considered singular. */
     private final double singularityThreshold;
 
+    /** Number of reflectors in each panel of the blocked algorithm. */
+    private final int blockSize;
+
+    /** Pool to use for parallel computation. */
+    private final ForkJoinPool pool;
+
     /**
      * Creates a QR decomposer with specify threshold for several matrices.
      * @param singularityThreshold threshold (based on partial row norm)
      * under which a matrix is considered singular
      */
     public QRDecomposer(final double singularityThreshold) {
+        this(singularityThreshold, 1, null);
+    }
+
+    /**
+     * Creates a QR decomposer using the blocked algorithm for several matrices.
+     * @param singularityThreshold threshold (based on partial row norm)
+     * under which a matrix is considered singular
+     * @param blockSize number of reflectors in each panel (1 or less selects the unblocked algorithm)
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @see QRDecomposition#QRDecomposition(RealMatrix, double, int, ForkJoinPool)
+     * @since 4.1
+     */
+    public QRDecomposer(final double singularityThreshold, final int blockSize, final ForkJoinPool pool) {
         this.singularityThreshold = singularityThreshold;
+        this.blockSize            = blockSize;
+        this.pool                 = pool;
     }
 
     /** {@inheritDoc} */
     @Override
     public DecompositionSolver decompose(final RealMatrix a) {
-        return new QRDecomposition(a, singularityThreshold).getSolver();
+        return new QRDecomposition(a, singularityThreshold, blockSize, pool).getSolver();
     }
 
 }
@@ -23,6 +23,8 @@
 package org.hipparchus.linear;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
@@ -53,6 +55,10 @@ import org.hipparchus.util.FastMath;
  *
  */
 public class QRDecomposition {
+    /** Number of rows processed at once when applying block reflectors. */
+    private static final int ROW_CHUNK = 8 * BlockRealMatrix.BLOCK_SIZE;
+    /** Number of columns processed at once when applying block reflectors. */
+    private static final int COLUMN_GROUP = 16;
     /**
      * A packed TRANSPOSED representation of the QR decomposition.
      * <p>The elements BELOW the diagonal are the elements of the UPPER triangular
@@ -72,6 +78,12 @@ public class QRDecomposition {
     private RealMatrix cachedH;
     /** Singularity threshold. */
     private final double threshold;
+    /** Number of reflectors in each panel of the blocked algorithm (1 or less for unblocked algorithm). */
+    private final int panelSize;
+    /** Pool to use for parallel computation (null for sequential computation). */
+    private final ForkJoinPool pool;
+    /** Triangular factors T of the compact WY form of each panel (null for unblocked algorithm). */
+    private double[][][] tFactors;
 
     /**
      * Calculates the QR-decomposition of the given matrix.
@@ -93,7 +105,44 @@ public class QRDecomposition {
      */
     public QRDecomposition(RealMatrix matrix,
                            double threshold) {
+        this(matrix, threshold, 1, null);
+    }
+
+    /**
+     * Calculates the QR-decomposition of the given matrix, using a blocked algorithm.
+     * <p>
+     * If {@code blockSize} is greater than 1, the Householder reflectors are
+     * computed by panels of {@code blockSize} columns. Within a panel, each column
+     * is updated only when it is reached (left-looking variant), so column pivoting
+     * as performed by {@link RRQRDecomposition} is still possible. The product
+     * H<sub>k</sub>&hellip;H<sub>k+b-1</sub> of the reflectors of a panel is then
+     * represented in compact WY form I - V T V<sup>T</sup> with T upper triangular,
+     * and applied to the trailing columns by matrix-matrix products, which
+     * concentrate almost all floating point operations for large matrices. Trailing
+     * columns are distributed among the threads of {@code pool} if it is not null.
+     * </p>
+     * <p>
+     * The T factors are kept, and the {@link DecompositionSolver#solve(RealMatrix)
+     * solve(RealMatrix)} method of the {@link #getSolver() solver} uses them to apply
+     * Q<sup>T</sup> to all right hand sides at once, without ever forming Q.
+     * </p>
+     * <p>
+     * The reflectors are the same as the ones of the unblocked algorithm, but floating
+     * point operations are performed in a different order, so results are only equal
+     * up to rounding errors.
+     * </p>
+     * @param matrix The matrix to decompose.
+     * @param threshold Singularity threshold.
+     * @param blockSize number of reflectors in each panel (1 or less selects the unblocked algorithm,
+     * {@link BlockRealMatrix#BLOCK_SIZE} is a sensible choice for large matrices)
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @since 4.1
+     */
+    public QRDecomposition(final RealMatrix matrix, final double threshold,
+                           final int blockSize, final ForkJoinPool pool) {
         this.threshold = threshold;
+        this.panelSize = blockSize;
+        this.pool      = pool;
 
         final int m = matrix.getRowDimension();
         final int n = matrix.getColumnDimension();
@@ -112,8 +161,266 @@ public class QRDecomposition {
      * @param matrix transposed matrix
      */
     protected void decompose(double[][] matrix) {
-        for (int minor = 0; minor < FastMath.min(matrix.length, matrix[0].length); minor++) {
-            performHouseholderReflection(minor, matrix);
+        if (panelSize > 1) {
+            blockedDecomposition(matrix);
+        } else {
+            for (int minor = 0; minor < FastMath.min(matrix.length, matrix[0].length); minor++) {
+                performHouseholderReflection(minor, matrix);
+            }
+        }
+    }
+
+    /** Select the column to reduce at step {@code minor} of the blocked algorithm.
+     * <p>
+     * This method is called before the Householder reflector for column {@code minor}
+     * is computed. The default implementation does nothing, decompositions with column
+     * pivoting override it to exchange rows of the transposed matrix. At this point,
+     * columns {@code minor} and above have not yet been updated by the reflectors of
+     * the current panel, and are therefore all in the same state.
+     * </p>
+     * @param minor minor index
+     * @param matrix transposed matrix
+     * @since 4.1
+     */
+    protected void selectColumn(final int minor, final double[][] matrix) {
+        // no pivoting by default
+    }
+
+    /** Perform the blocked decomposition.
+     * @param matrix transposed matrix
+     */
+    private void blockedDecomposition(final double[][] matrix) {
+
+        final int n        = matrix.length;
+        final int kMax     = FastMath.min(n, matrix[0].length);
+        final int nbPanels = (kMax + panelSize - 1) / panelSize;
+        tFactors = new double[nbPanels][][];
+
+        for (int panel = 0; panel < nbPanels; ++panel) {
+            final int k0 = panel * panelSize;
+            final int k1 = FastMath.min(k0 + panelSize, kMax);
+
+            // factorize the panel, updating each column only when it is reached
+            for (int minor = k0; minor < k1; ++minor) {
+                selectColumn(minor, matrix);
+                final double[] qrtMinor = matrix[minor];
+                for (int q = k0; q < minor; ++q) {
+                    final double[] qrtQ = matrix[q];
+                    if (rDiag[q] != 0.0) {
+                        double alpha = 0;
+                        for (int row = q; row < qrtMinor.length; row++) {
+                            alpha -= qrtMinor[row] * qrtQ[row];
+                        }
+                        alpha /= rDiag[q] * qrtQ[q];
+                        for (int row = q; row < qrtMinor.length; row++) {
+                            qrtMinor[row] -= alpha * qrtQ[row];
+                        }
+                    }
+                }
+                computeReflector(minor, matrix);
+            }
+
+            // build the compact WY form of the panel and apply it to the trailing columns
+            tFactors[panel] = buildTFactor(k0, k1);
+            if (k1 < n) {
+                final int p = panel;
+                applyToColumns(k1, n, (start, end) -> applyBlockReflector(p, matrix, start, end, true));
+            }
+
+        }
+
+    }
+
+    /** Build the triangular factor T of the compact WY form of a panel.
+     * <p>
+     * The product H<sub>k0</sub>&hellip;H<sub>k1-1</sub> of the reflectors
+     * H<sub>i</sub> = I - &tau;<sub>i</sub> v<sub>i</sub> v<sub>i</sub><sup>T</sup>
+     * is I - V T V<sup>T</sup>, with T upper triangular built column by column.
+     * </p>
+     * @param k0 first reflector of the panel
+     * @param k1 end of the panel (excluded)
+     * @return upper triangular factor T
+     */
+    private double[][] buildTFactor(final int k0, final int k1) {
+        final int nb = k1 - k0;
+        final double[][] t = new double[nb][nb];
+        for (int i = 0; i < nb; ++i) {
+            final int      p   = k0 + i;
+            final double[] vI  = qrt[p];
+            final double   tau = (rDiag[p] == 0.0) ? 0.0 : -1.0 / (rDiag[p] * vI[p]);
+            t[i][i] = tau;
+            if (tau != 0.0) {
+                // z = V(:, 0:i)^T v_i, v_i being zero above row p
+                for (int j = 0; j < i; ++j) {
+                    final double[] vJ = qrt[k0 + j];
+                    double z = 0;
+                    for (int row = p; row < vI.length; ++row) {
+                        z += vJ[row] * vI[row];
+                    }
+                    t[j][i] = z;
+                }
+                // T(0:i, i) = -tau T(0:i, 0:i) z
+                for (int j = 0; j < i; ++j) {
+                    final double[] tJ = t[j];
+                    double sum = 0;
+                    for (int l = j; l < i; ++l) {
+                        sum += tJ[l] * t[l][i];
+                    }
+                    tJ[i] = -tau * sum;
+                }
+            }
+        }
+        return t;
+    }
+
+    /** Apply the block reflector of one panel, or its transpose, to columns.
+     * <p>
+     * If {@code transposed} is true, the columns x are replaced by
+     * (I - V T<sup>T</sup> V<sup>T</sup>) x, which is equivalent to applying
+     * H<sub>k0</sub> to H<sub>k1-1</sub> in sequence. Otherwise they are replaced by
+     * (I - V T V<sup>T</sup>) x, which is equivalent to applying H<sub>k1-1</sub>
+     * to H<sub>k0</sub> in sequence.
+     * Columns are processed by groups and rows by chunks, so the part of V used stays in cache.
+     * </p>
+     * @param panel index of the panel
+     * @param x columns to update, each one stored as a row array of length m
+     * @param start index of the first column to update
+     * @param end index of the last column to update (excluded)
+     * @param transposed if true, apply the transpose of the block reflector
+     */
+    private void applyBlockReflector(final int panel, final double[][] x, final int start, final int end,
+                                     final boolean transposed) {
+
+        final int        m  = qrt[0].length;
+        final double[][] t  = tFactors[panel];
+        final int        nb = t.length;
+        final int        k0 = panel * panelSize;
+
+        for (int g0 = start; g0 < end; g0 += COLUMN_GROUP) {
+            final int g1 = FastMath.min(g0 + COLUMN_GROUP, end);
+            final double[][] w = new double[nb][g1 - g0];
+
+            // W = V^T X
+            for (int r0 = k0; r0 < m; r0 += ROW_CHUNK) {
+                final int r1 = FastMath.min(r0 + ROW_CHUNK, m);
+                for (int i = 0; i < nb && k0 + i < r1; ++i) {
+                    final double[] v  = qrt[k0 + i];
+                    final double[] wI = w[i];
+                    final int      rS = FastMath.max(r0, k0 + i);
+                    int c = g0;
+                    for (; c + 3 < g1; c += 4) {
+                        // four columns at once, for independent accumulators
+                        final double[] xC0 = x[c];
+                        final double[] xC1 = x[c + 1];
+                        final double[] xC2 = x[c + 2];
+                        final double[] xC3 = x[c + 3];
+                        double sum0 = 0;
+                        double sum1 = 0;
+                        double sum2 = 0;
+                        double sum3 = 0;
+                        for (int row = rS; row < r1; ++row) {
+                            final double vR = v[row];
+                            sum0 += vR * xC0[row];
+                            sum1 += vR * xC1[row];
+                            sum2 += vR * xC2[row];
+                            sum3 += vR * xC3[row];
+                        }
+                        wI[c     - g0] += sum0;
+                        wI[c + 1 - g0] += sum1;
+                        wI[c + 2 - g0] += sum2;
+                        wI[c + 3 - g0] += sum3;
+                    }
+                    for (; c < g1; ++c) {
+                        final double[] xC = x[c];
+                        double sum = 0;
+                        for (int row = rS; row < r1; ++row) {
+                            sum += v[row] * xC[row];
+                        }
+                        wI[c - g0] += sum;
+                    }
+                }
+            }
+
+            if (transposed) {
+                // W = T^T W, computed in place from the last row as T is upper triangular
+                for (int i = nb - 1; i >= 0; --i) {
+                    final double[] wI = w[i];
+                    for (int c = 0; c < wI.length; ++c) {
+                        double sum = 0;
+                        for (int j = 0; j <= i; ++j) {
+                            sum += t[j][i] * w[j][c];
+                        }
+                        wI[c] = sum;
+                    }
+                }
+            } else {
+                // W = T W, computed in place from the first row as T is upper triangular
+                for (int i = 0; i < nb; ++i) {
+                    final double[] wI = w[i];
+                    final double[] tI = t[i];
+                    for (int c = 0; c < wI.length; ++c) {
+                        double sum = 0;
+                        for (int j = i; j < nb; ++j) {
+                            sum += tI[j] * w[j][c];
+                        }
+                        wI[c] = sum;
+                    }
+                }
+            }
+
+            // X = X - V W
+            for (int r0 = k0; r0 < m; r0 += ROW_CHUNK) {
+                final int r1 = FastMath.min(r0 + ROW_CHUNK, m);
+                for (int c = g0; c < g1; ++c) {
+                    final double[] xC = x[c];
+                    int i = 0;
+                    for (; i + 3 < nb && k0 + i + 3 < r1; i += 4) {
+                        // four reflectors at once, to reduce memory traffic on x
+                        final int rS = FastMath.max(r0, k0 + i + 3);
+                        for (int j = 0; j < 3; ++j) {
+                            // leading rows, where not all four reflectors are non-zero
+                            final double[] v   = qrt[k0 + i + j];
+                            final double   wIC = w[i + j][c - g0];
+                            for (int row = FastMath.max(r0, k0 + i + j); row < rS; ++row) {
+                                xC[row] -= v[row] * wIC;
+                            }
+                        }
+                        final double[] v0 = qrt[k0 + i];
+                        final double[] v1 = qrt[k0 + i + 1];
+                        final double[] v2 = qrt[k0 + i + 2];
+                        final double[] v3 = qrt[k0 + i + 3];
+                        final double   w0 = w[i][c - g0];
+                        final double   w1 = w[i + 1][c - g0];
+                        final double   w2 = w[i + 2][c - g0];
+                        final double   w3 = w[i + 3][c - g0];
+                        for (int row = rS; row < r1; ++row) {
+                            xC[row] -= v0[row] * w0 + v1[row] * w1 + v2[row] * w2 + v3[row] * w3;
+                        }
+                    }
+                    for (; i < nb && k0 + i < r1; ++i) {
+                        final double[] v   = qrt[k0 + i];
+                        final double   wIC = w[i][c - g0];
+                        for (int row = FastMath.max(r0, k0 + i); row < r1; ++row) {
+                            xC[row] -= v[row] * wIC;
+                        }
+                    }
+                }
+            }
+
+        }
+
+    }
+
+    /** Apply a kernel to a range of columns, in parallel if a pool is available.
+     * @param start index of the first column
+     * @param end index of the last column (excluded)
+     * @param kernel kernel to apply
+     */
+    private void applyToColumns(final int start, final int end, final ColumnsKernel kernel) {
+        if (pool == null || end - start <= COLUMN_GROUP) {
+            kernel.apply(start, end);
+        } else {
+            pool.invoke(new ColumnsTask(kernel, start, end));
         }
     }
 
@@ -124,34 +431,10 @@ public class QRDecomposition {
     protected void performHouseholderReflection(int minor, double[][] matrix) {
 
         final double[] qrtMinor = matrix[minor];
-
-        /*
-         * Let x be the first column of the minor, and a^2 = |x|^2.
-         * x will be in the positions qr[minor][minor] through qr[m][minor].
-         * The first column of the transformed minor will be (a,0,0,..)'
-         * The sign of a is chosen to be opposite to the sign of the first
-         * component of x. Let's find a:
-         */
-        double xNormSqr = 0;
-        for (int row = minor; row < qrtMinor.length; row++) {
-            final double c = qrtMinor[row];
-            xNormSqr += c * c;
-        }
-        final double a = (qrtMinor[minor] > 0) ? -FastMath.sqrt(xNormSqr) : FastMath.sqrt(xNormSqr);
-        rDiag[minor] = a;
+        final double   a        = computeReflector(minor, matrix);
 
         if (a != 0.0) {
 
-            /*
-             * Calculate the normalized reflection vector v and transform
-             * the first column. We know the norm of v beforehand: v = x-ae
-             * so |v|^2 = <x-ae,x-ae> = <x,x>-2a<x,e>+a^2<e,e> =
-             * a^2+a^2-2a<x,e> = 2a*(a - <x,e>).
-             * Here <x, e> is now qr[minor][minor].
-             * v = x-ae is stored in the column at qr:
-             */
-            qrtMinor[minor] -= a; // now |v|^2 = -2a*(qr[minor][minor])
-
             /*
              * Transform the rest of the columns of the minor:
              * They will be transformed by the matrix H = I-2vv'/|v|^2.
@@ -180,6 +463,50 @@ public class QRDecomposition {
         }
     }
 
+    /** Compute the Householder reflector for a minor A(minor, minor) of A.
+     * <p>
+     * Only column {@code minor} is modified, the other columns are left untouched.
+     * </p>
+     * @param minor minor index
+     * @param matrix transposed matrix
+     * @return diagonal element of R, a
+     */
+    private double computeReflector(final int minor, final double[][] matrix) {
+
+        final double[] qrtMinor = matrix[minor];
+
+        /*
+         * Let x be the first column of the minor, and a^2 = |x|^2.
+         * x will be in the positions qr[minor][minor] through qr[m][minor].
+         * The first column of the transformed minor will be (a,0,0,..)'
+         * The sign of a is chosen to be opposite to the sign of the first
+         * component of x. Let's find a:
+         */
+        double xNormSqr = 0;
+        for (int row = minor; row < qrtMinor.length; row++) {
+            final double c = qrtMinor[row];
+            xNormSqr += c * c;
+        }
+        final double a = (qrtMinor[minor] > 0) ? -FastMath.sqrt(xNormSqr) : FastMath.sqrt(xNormSqr);
+        rDiag[minor] = a;
+
+        if (a != 0.0) {
+
+            /*
+             * Calculate the normalized reflection vector v and transform
+             * the first column. We know the norm of v beforehand: v = x-ae
+             * so |v|^2 = <x-ae,x-ae> = <x,x>-2a<x,e>+a^2<e,e> =
+             * a^2+a^2-2a<x,e> = 2a*(a - <x,e>).
+             * Here <x, e> is now qr[minor][minor].
+             * v = x-ae is stored in the column at qr:
+             */
+            qrtMinor[minor] -= a; // now |v|^2 = -2a*(qr[minor][minor])
+        }
+
+        return a;
+
+    }
+
 
     /**
      * Returns the matrix R of the decomposition.
@@ -266,6 +593,60 @@ public class QRDecomposition {
         return cachedQT;
     }
 
+    /**
+     * Returns the first columns of the matrix Q of the decomposition.
+     * <p>For a m &times; n matrix A, the first p = min(m, n) columns of Q are
+     * sufficient to write A = Q<sub>p</sub> &times; R<sub>p</sub>, where R<sub>p</sub>
+     * holds the first p rows of R. For tall matrices, building only these columns is
+     * much cheaper than building the complete m &times; m matrix Q. When the decomposition
+     * was computed by the blocked algorithm, the reflectors are applied panel by panel
+     * and the columns are distributed among the threads of the pool, if any.</p>
+     * @return the m &times; min(m, n) matrix made of the first columns of Q
+     * @since 4.1
+     */
+    public RealMatrix getThinQ() {
+
+        final int m = qrt[0].length;
+        final int p = rDiag.length;
+
+        // one row array per column of Q, starting from the first columns of identity
+        final double[][] qta = new double[p][m];
+        for (int c = 0; c < p; ++c) {
+            qta[c][c] = 1.0;
+        }
+
+        applyToColumns(0, p, (start, end) -> {
+            if (tFactors != null) {
+                // Q = B_0 B_1 ... with B_k the block reflector of panel k
+                for (int panel = tFactors.length - 1; panel >= 0; --panel) {
+                    applyBlockReflector(panel, qta, start, end, false);
+                }
+            } else {
+                // Q = H_0 H_1 ... H_(p-1)
+                for (int minor = p - 1; minor >= 0; --minor) {
+                    final double[] qrtMinor = qrt[minor];
+                    if (qrtMinor[minor] != 0.0) {
+                        final double factor = 1.0 / (rDiag[minor] * qrtMinor[minor]);
+                        for (int c = start; c < end; ++c) {
+                            final double[] qtaC = qta[c];
+                            double alpha = 0;
+                            for (int row = minor; row < m; ++row) {
+                                alpha += qtaC[row] * qrtMinor[row];
+                            }
+                            alpha *= factor;
+                            for (int row = minor; row < m; ++row) {
+                                qtaC[row] += alpha * qrtMinor[row];
+                            }
+                        }
+                    }
+                }
+            }
+        });
+
+        return MatrixUtils.createRealMatrix(qta).transpose();
+
+    }
+
     /**
      * Returns the Householder reflector vectors.
      * <p>H is a lower trapezoidal matrix whose columns represent
@@ -370,6 +751,10 @@ public class QRDecomposition {
             }
             checkSingular(rDiag, threshold, true);
 
+            if (tFactors != null) {
+                return solveBlocked(b);
+            }
+
             final int columns        = b.getColumnDimension();
             final int blockSize      = BlockRealMatrix.BLOCK_SIZE;
             final int cBlocks        = (columns + blockSize - 1) / blockSize;
@@ -438,6 +823,46 @@ public class QRDecomposition {
             return new BlockRealMatrix(n, columns, xBlocks, false);
         }
 
+        /** Solve A &times; X = B using the compact WY form of the reflectors.
+         * @param b right-hand side of the equation A &times; X = B
+         * @return a matrix X that minimizes the two norm of A &times; X - B
+         */
+        private RealMatrix solveBlocked(final RealMatrix b) {
+
+            final int n       = qrt.length;
+            final int columns = b.getColumnDimension();
+
+            // one row array per right hand side
+            final double[][] y = b.transpose().getData();
+            final double[][] x = new double[n][columns];
+
+            applyToColumns(0, columns, (start, end) -> {
+
+                // apply Q^T = H_(k-1)...H_1 H_0, one panel at a time
+                for (int panel = 0; panel < tFactors.length; ++panel) {
+                    applyBlockReflector(panel, y, start, end, true);
+                }
+
+                // solve triangular systems R.x = y
+                for (int k = start; k < end; ++k) {
+                    final double[] yK = y[k];
+                    for (int j = rDiag.length - 1; j >= 0; --j) {
+                        yK[j] /= rDiag[j];
+                        final double   yJ   = yK[j];
+                        final double[] qrtJ = qrt[j];
+                        x[j][k] = yJ;
+                        for (int i = 0; i < j; ++i) {
+                            yK[i] -= yJ * qrtJ[i];
+                        }
+                    }
+                }
+
+            });
+
+            return new BlockRealMatrix(x);
+
+        }
+
         /**
          * {@inheritDoc}
          * @throws MathIllegalArgumentException if the decomposed matrix is singular.
@@ -485,4 +910,56 @@ public class QRDecomposition {
         }
 
     }
+
+    /** Interface for kernels operating on a range of columns. */
+    @FunctionalInterface
+    private interface ColumnsKernel {
+        /** Apply the kernel.
+         * @param start index of the first column
+         * @param end index of the last column (excluded)
+         */
+        void apply(int start, int end);
+    }
+
+    /** Task applying a kernel to a range of columns by recursive splitting. */
+    private static class ColumnsTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Kernel to apply. */
+        private final transient ColumnsKernel kernel;
+
+        /** Index of the first column (included). */
+        private final int start;
+
+        /** Index of the last column (excluded). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param kernel kernel to apply
+         * @param start index of the first column (included)
+         * @param end index of the last column (excluded)
+         */
+        ColumnsTask(final ColumnsKernel kernel, final int start, final int end) {
+            this.kernel = kernel;
+            this.start  = start;
+            this.end    = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= COLUMN_GROUP) {
+                kernel.apply(start, end);
+            } else {
+                // split on a column group boundary
+                final int middle = start + COLUMN_GROUP * ((end - start + 2 * COLUMN_GROUP - 1) / (2 * COLUMN_GROUP));
+                invokeAll(new ColumnsTask(kernel, start, middle),
+                          new ColumnsTask(kernel, middle, end));
+            }
+        }
+
+    }
+
 }
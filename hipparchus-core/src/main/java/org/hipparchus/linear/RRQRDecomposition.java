@@ -22,6 +22,8 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.util.FastMath;
 
 
@@ -83,6 +85,26 @@ public class RRQRDecomposition extends QRDecomposition {
         super(matrix, threshold);
     }
 
+    /**
+     * Calculates the QR-decomposition of the given matrix, using a blocked algorithm.
+     * <p>
+     * Householder reflections preserve the Euclidean norm of the columns, so the
+     * pivot columns can be selected before the pending updates of the current
+     * panel are applied, and the blocked algorithm selects the same pivots as
+     * the unblocked one (up to rounding errors).
+     * </p>
+     * @param matrix The matrix to decompose.
+     * @param threshold Singularity threshold.
+     * @param blockSize number of reflectors in each panel (1 or less selects the unblocked algorithm)
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @see QRDecomposition#QRDecomposition(RealMatrix, double, int, ForkJoinPool)
+     * @since 4.1
+     */
+    public RRQRDecomposition(final RealMatrix matrix, final double threshold,
+                             final int blockSize, final ForkJoinPool pool) {
+        super(matrix, threshold, blockSize, pool);
+    }
+
     /** Decompose matrix.
      * @param qrt transposed matrix
      */
@@ -101,6 +123,17 @@ public class RRQRDecomposition extends QRDecomposition {
      */
     @Override
     protected void performHouseholderReflection(int minor, double[][] qrt) {
+        selectColumn(minor, qrt);
+        super.performHouseholderReflection(minor, qrt);
+    }
+
+    /** Select the unreduced column with the greatest L2-Norm.
+     * @param minor minor index
+     * @param qrt transposed matrix
+     * @since 4.1
+     */
+    @Override
+    protected void selectColumn(final int minor, final double[][] qrt) {
 
         double l2NormSquaredMax = 0;
         // Find the unreduced column with the greatest L2-Norm
@@ -125,8 +158,6 @@ public class RRQRDecomposition extends QRDecomposition {
             p[l2NormSquaredMaxIndex] = tmp2;
         }
 
-        super.performHouseholderReflection(minor, qrt);
-
     }
 
 
@@ -0,0 +1,481 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Calculates a truncated Singular Value Decomposition using randomized projections.
+ * <p>
+ * This class computes approximations of the {@code rank} largest singular values of
+ * a m &times; n matrix A, and of the associated singular vectors, so that
+ * A &asymp; U &times; &Sigma; &times; V<sup>T</sup> with U a m &times; rank matrix with
+ * orthonormal columns, &Sigma; a rank &times; rank diagonal matrix and V a n &times; rank
+ * matrix with orthonormal columns.
+ * </p>
+ * <p>
+ * The algorithm is the randomized range finder from Halko, Martinsson and Tropp,
+ * "Finding structure with randomness: probabilistic algorithms for constructing
+ * approximate matrix decompositions", SIAM Review 53(2), 2011. A is multiplied by a
+ * n &times; (rank + oversampling) Gaussian random matrix, and the product is
+ * orthonormalized by a {@link QRDecomposition blocked QR decomposition}, which
+ * gives a basis Q approximating the range of A. Each power iteration then multiplies
+ * the basis by A A<sup>T</sup> (with intermediate orthonormalizations), which improves
+ * accuracy when singular values decay slowly. Finally, the small matrix
+ * Q<sup>T</sup> A is decomposed by a classical {@link SingularValueDecomposition}.
+ * </p>
+ * <p>
+ * Only products of A and A<sup>T</sup> by blocks of rank + oversampling vectors are
+ * needed, and no temporary larger than max(m, n) &times; (rank + oversampling) is
+ * created. The decomposed matrix may therefore be very large, or even be known only
+ * through a {@link RealLinearOperator}. If a pool is provided, products are computed in
+ * parallel: by blocks when A is a {@link BlockRealMatrix}, or one vector per task when
+ * A is a linear operator (which must then be thread-safe), and the orthonormalizations
+ * are parallelized too.
+ * </p>
+ * <p>
+ * The result is random, it is exact if the rank of A is not larger than
+ * rank + oversampling, and otherwise its accuracy depends on the decay of the singular
+ * values of A. An oversampling of 5 to 10 and 1 or 2 power iterations are usually sufficient.
+ * </p>
+ * @see SingularValueDecomposition
+ * @since 4.1
+ */
+public class RandomizedSingularValueDecomposition {
+
+    /** Approximated singular values, in decreasing order. */
+    private final double[] singularValues;
+
+    /** Approximated left singular vectors. */
+    private final RealMatrix cachedU;
+
+    /** Approximated right singular vectors. */
+    private final RealMatrix cachedV;
+
+    /** Cached value of transposed U matrix. */
+    private RealMatrix cachedUt;
+
+    /** Cached value of S (diagonal) matrix. */
+    private RealMatrix cachedS;
+
+    /** Cached value of transposed V matrix. */
+    private RealMatrix cachedVt;
+
+    /**
+     * Calculates a truncated Singular Value Decomposition of the given matrix.
+     * <p>
+     * Products are parallel if the matrix is a {@link BlockRealMatrix} and {@code pool}
+     * is not null.
+     * </p>
+     * @param matrix Matrix to decompose.
+     * @param rank number of singular triplets to compute
+     * @param oversampling number of additional random vectors used to sample the range of the matrix
+     * @param powerIterations number of power iterations
+     * @param random generator for the random projection
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @exception MathIllegalArgumentException if rank is not between 1 and min(m, n),
+     * or if oversampling or powerIterations is negative
+     */
+    public RandomizedSingularValueDecomposition(final RealMatrix matrix, final int rank,
+                                                final int oversampling, final int powerIterations,
+                                                final RandomGenerator random, final ForkJoinPool pool) {
+        this(matrix.getRowDimension(), matrix.getColumnDimension(),
+             new MatrixProducts(matrix, pool), rank, oversampling, powerIterations, random, pool);
+    }
+
+    /**
+     * Calculates a truncated Singular Value Decomposition of the given operator.
+     * <p>
+     * If the operator is also a {@link RealMatrix}, it is decomposed as a matrix. Other
+     * operators are applied vector by vector, concurrently if {@code pool} is not null,
+     * so they must be thread-safe.
+     * </p>
+     * @param operator Operator to decompose, which must be {@link RealLinearOperator#isTransposable() transposable}.
+     * @param rank number of singular triplets to compute
+     * @param oversampling number of additional random vectors used to sample the range of the operator
+     * @param powerIterations number of power iterations
+     * @param random generator for the random projection
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @exception MathIllegalArgumentException if rank is not between 1 and min(m, n),
+     * if oversampling or powerIterations is negative, or if the operator is not transposable
+     */
+    public RandomizedSingularValueDecomposition(final RealLinearOperator operator, final int rank,
+                                                final int oversampling, final int powerIterations,
+                                                final RandomGenerator random, final ForkJoinPool pool) {
+        this(operator.getRowDimension(), operator.getColumnDimension(),
+             (operator instanceof RealMatrix) ?
+             new MatrixProducts((RealMatrix) operator, pool) :
+             new OperatorProducts(checkTransposable(operator), pool),
+             rank, oversampling, powerIterations, random, pool);
+    }
+
+    /**
+     * Calculates a truncated Singular Value Decomposition.
+     * @param m row dimension of the decomposed operator
+     * @param n column dimension of the decomposed operator
+     * @param products products of the decomposed operator with blocks of vectors
+     * @param rank number of singular triplets to compute
+     * @param oversampling number of additional random vectors used to sample the range of the operator
+     * @param powerIterations number of power iterations
+     * @param random generator for the random projection
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     */
+    private RandomizedSingularValueDecomposition(final int m, final int n, final BlockProducts products,
+                                                 final int rank, final int oversampling,
+                                                 final int powerIterations,
+                                                 final RandomGenerator random, final ForkJoinPool pool) {
+
+        MathUtils.checkRangeInclusive(rank, 1, FastMath.min(m, n));
+        if (oversampling < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, oversampling, 0);
+        }
+        if (powerIterations < 0) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, powerIterations, 0);
+        }
+
+        // random projection
+        final int l = FastMath.min(rank + oversampling, FastMath.min(m, n));
+        final double[][] omega = new double[n][l];
+        for (final double[] omegaRow : omega) {
+            for (int j = 0; j < l; ++j) {
+                omegaRow[j] = random.nextGaussian();
+            }
+        }
+
+        // orthonormal basis approximating the range of A
+        RealMatrix q = orthonormalize(products.multiply(MatrixUtils.createRealMatrix(omega)), pool);
+        for (int i = 0; i < powerIterations; ++i) {
+            final RealMatrix z = orthonormalize(products.transposeMultiply(q), pool);
+            q = orthonormalize(products.multiply(z), pool);
+        }
+
+        // A ~ Q B with B = Q^T A, and B^T = A^T Q = Ub S Vb^T, hence A ~ (Q Vb) S Ub^T
+        final SingularValueDecomposition svd = new SingularValueDecomposition(products.transposeMultiply(q));
+        singularValues = new double[rank];
+        System.arraycopy(svd.getSingularValues(), 0, singularValues, 0, rank);
+        cachedU = multiply(q, svd.getV().getSubMatrix(0, l - 1, 0, rank - 1), pool);
+        cachedV = svd.getU().getSubMatrix(0, n - 1, 0, rank - 1);
+
+    }
+
+    /**
+     * Check an operator is transposable.
+     * @param operator operator to check
+     * @return operator
+     * @exception MathIllegalArgumentException if the operator is not transposable
+     */
+    private static RealLinearOperator checkTransposable(final RealLinearOperator operator) {
+        if (!operator.isTransposable()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.UNSUPPORTED_OPERATION);
+        }
+        return operator;
+    }
+
+    /**
+     * Compute an orthonormal basis of the range of a tall matrix.
+     * @param y matrix whose columns span the range
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return matrix with orthonormal columns spanning the same range as y
+     */
+    private static RealMatrix orthonormalize(final RealMatrix y, final ForkJoinPool pool) {
+        return new QRDecomposition(y, 0.0, BlockRealMatrix.BLOCK_SIZE, pool).getThinQ();
+    }
+
+    /**
+     * Multiply two matrices, in parallel if possible.
+     * @param a left matrix
+     * @param b right matrix
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return a &times; b
+     */
+    private static RealMatrix multiply(final RealMatrix a, final RealMatrix b, final ForkJoinPool pool) {
+        if (pool != null && a instanceof BlockRealMatrix) {
+            return ((BlockRealMatrix) a).multiply(toBlock(b), pool);
+        } else {
+            return a.multiply(b);
+        }
+    }
+
+    /**
+     * Convert a matrix to block layout if needed.
+     * @param m matrix to convert
+     * @return matrix in block layout
+     */
+    private static BlockRealMatrix toBlock(final RealMatrix m) {
+        return (m instanceof BlockRealMatrix) ? (BlockRealMatrix) m : new BlockRealMatrix(m.getData());
+    }
+
+    /**
+     * Returns the approximated matrix U of the decomposition.
+     * <p>U is a m &times; rank matrix with orthonormal columns, which are the
+     * approximated left singular vectors.</p>
+     * @return the U matrix
+     * @see #getUT()
+     */
+    public RealMatrix getU() {
+        return cachedU;
+    }
+
+    /**
+     * Returns the transpose of the approximated matrix U of the decomposition.
+     * @return the U<sup>T</sup> matrix
+     * @see #getU()
+     */
+    public RealMatrix getUT() {
+        if (cachedUt == null) {
+            cachedUt = getU().transpose();
+        }
+        // return the cached matrix
+        return cachedUt;
+    }
+
+    /**
+     * Returns the diagonal matrix &Sigma; of the decomposition.
+     * <p>&Sigma; is a rank &times; rank diagonal matrix, holding the approximated
+     * singular values in decreasing order.</p>
+     * @return the &Sigma; matrix
+     */
+    public RealMatrix getS() {
+        if (cachedS == null) {
+            // cache the matrix for subsequent calls
+            cachedS = MatrixUtils.createRealDiagonalMatrix(singularValues);
+        }
+        return cachedS;
+    }
+
+    /**
+     * Returns the approximated singular values, in decreasing order.
+     * @return approximated singular values
+     */
+    public double[] getSingularValues() {
+        return singularValues.clone();
+    }
+
+    /**
+     * Returns the approximated matrix V of the decomposition.
+     * <p>V is a n &times; rank matrix with orthonormal columns, which are the
+     * approximated right singular vectors.</p>
+     * @return the V matrix
+     * @see #getVT()
+     */
+    public RealMatrix getV() {
+        return cachedV;
+    }
+
+    /**
+     * Returns the transpose of the approximated matrix V of the decomposition.
+     * @return the V<sup>T</sup> matrix
+     * @see #getV()
+     */
+    public RealMatrix getVT() {
+        if (cachedVt == null) {
+            cachedVt = getV().transpose();
+        }
+        // return the cached matrix
+        return cachedVt;
+    }
+
+    /**
+     * Returns the approximated L<sub>2</sub> norm of the matrix, i.e. its largest singular value.
+     * @return approximated norm
+     */
+    public double getNorm() {
+        return singularValues[0];
+    }
+
+    /** Products of the decomposed operator with blocks of vectors. */
+    private interface BlockProducts {
+
+        /** Compute A &times; X.
+         * @param x n &times; k matrix
+         * @return m &times; k product
+         */
+        RealMatrix multiply(RealMatrix x);
+
+        /** Compute A<sup>T</sup> &times; X.
+         * @param x m &times; k matrix
+         * @return n &times; k product
+         */
+        RealMatrix transposeMultiply(RealMatrix x);
+
+    }
+
+    /** Products for a matrix. */
+    private static class MatrixProducts implements BlockProducts {
+
+        /** Decomposed matrix. */
+        private final RealMatrix a;
+
+        /** Pool to use for parallel computation (null for sequential computation). */
+        private final ForkJoinPool pool;
+
+        /** Simple constructor.
+         * @param a decomposed matrix
+         * @param pool pool to use for parallel computation (null for sequential computation)
+         */
+        MatrixProducts(final RealMatrix a, final ForkJoinPool pool) {
+            this.a    = a;
+            this.pool = pool;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix multiply(final RealMatrix x) {
+            return RandomizedSingularValueDecomposition.multiply(a, x, pool);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix transposeMultiply(final RealMatrix x) {
+            if (pool != null && a instanceof BlockRealMatrix) {
+                return ((BlockRealMatrix) a).transposeMultiply(toBlock(x), pool);
+            } else {
+                return a.transposeMultiply(x);
+            }
+        }
+
+    }
+
+    /** Products for a linear operator. */
+    private static class OperatorProducts implements BlockProducts {
+
+        /** Decomposed operator. */
+        private final RealLinearOperator a;
+
+        /** Pool to use for parallel computation (null for sequential computation). */
+        private final ForkJoinPool pool;
+
+        /** Simple constructor.
+         * @param a decomposed operator
+         * @param pool pool to use for parallel computation (null for sequential computation)
+         */
+        OperatorProducts(final RealLinearOperator a, final ForkJoinPool pool) {
+            this.a    = a;
+            this.pool = pool;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix multiply(final RealMatrix x) {
+            return apply(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix transposeMultiply(final RealMatrix x) {
+            return apply(x, true);
+        }
+
+        /** Apply the operator or its transpose to all columns of a matrix.
+         * @param x matrix to which the operator should be applied
+         * @param transposed if true, the transpose of the operator is applied
+         * @return matrix whose columns are the images of the columns of x
+         */
+        private RealMatrix apply(final RealMatrix x, final boolean transposed) {
+            // one row array per column, both for the vectors and their images
+            final double[][] xT = x.transpose().getData();
+            final double[][] yT = new double[xT.length][];
+            if (pool == null) {
+                apply(xT, yT, transposed, 0, xT.length);
+            } else {
+                pool.invoke(new OperatorTask(this, xT, yT, transposed, 0, xT.length));
+            }
+            return MatrixUtils.createRealMatrix(yT).transpose();
+        }
+
+        /** Apply the operator or its transpose to a range of vectors.
+         * @param xT vectors to which the operator should be applied
+         * @param yT placeholder for the images of the vectors
+         * @param transposed if true, the transpose of the operator is applied
+         * @param start index of the first vector (inclusive)
+         * @param end index of the last vector (exclusive)
+         */
+        private void apply(final double[][] xT, final double[][] yT, final boolean transposed,
+                           final int start, final int end) {
+            for (int j = start; j < end; ++j) {
+                final RealVector xJ = new ArrayRealVector(xT[j], false);
+                yT[j] = (transposed ? a.operateTranspose(xJ) : a.operate(xJ)).toArray();
+            }
+        }
+
+    }
+
+    /** Task for applying an operator to a range of vectors. */
+    private static class OperatorTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Products for the operator. */
+        private final OperatorProducts products;
+
+        /** Vectors to which the operator should be applied. */
+        private final double[][] xT;
+
+        /** Placeholder for the images of the vectors. */
+        private final double[][] yT;
+
+        /** Indicator for applying the transpose of the operator. */
+        private final boolean transposed;
+
+        /** Index of the first vector (inclusive). */
+        private final int start;
+
+        /** Index of the last vector (exclusive). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param products products for the operator
+         * @param xT vectors to which the operator should be applied
+         * @param yT placeholder for the images of the vectors
+         * @param transposed if true, the transpose of the operator is applied
+         * @param start index of the first vector (inclusive)
+         * @param end index of the last vector (exclusive)
+         */
+        OperatorTask(final OperatorProducts products, final double[][] xT, final double[][] yT,
+                     final boolean transposed, final int start, final int end) {
+            this.products   = products;
+            this.xT         = xT;
+            this.yT         = yT;
+            this.transposed = transposed;
+            this.start      = start;
+            this.end        = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                products.apply(xT, yT, transposed, start, end);
+            } else {
+                final int middle = (start + end) / 2;
+                invokeAll(new OperatorTask(products, xT, yT, transposed, start, middle),
+                          new OperatorTask(products, xT, yT, transposed, middle, end));
+            }
+        }
+
+    }
+
+}
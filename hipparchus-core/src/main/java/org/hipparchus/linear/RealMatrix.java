@@ -22,8 +22,11 @@
 
 package org.hipparchus.linear;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.hipparchus.analysis.UnivariateFunction;
 import org.hipparchus.analysis.polynomials.SmoothStepFactory;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.util.Blendable;
@@ -70,6 +73,31 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
     RealMatrix add(RealMatrix m)
         throws MathIllegalArgumentException;
 
+    /**
+     * Computes the sum of {@code this} and {@code m} into a destination matrix.
+     * <p>
+     * No new matrix is allocated. The destination may be {@code this} or {@code m}.
+     * </p>
+     *
+     * @param m matrix to be added
+     * @param out destination matrix, with the same size as {@code this}
+     * @return {@code out}, which now contains {@code this + m}
+     * @throws MathIllegalArgumentException if {@code m} or {@code out} is not
+     * the same size as {@code this}.
+     * @since 4.1
+     */
+    default RealMatrix add(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, getRowDimension(), getColumnDimension());
+        for (int row = 0; row < getRowDimension(); ++row) {
+            for (int col = 0; col < getColumnDimension(); ++col) {
+                out.setEntry(row, col, getEntry(row, col) + m.getEntry(row, col));
+            }
+        }
+        return out;
+    }
+
     /**
      * Returns {@code this} minus {@code m}.
      *
@@ -81,6 +109,31 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
     RealMatrix subtract(RealMatrix m)
         throws MathIllegalArgumentException;
 
+    /**
+     * Computes {@code this} minus {@code m} into a destination matrix.
+     * <p>
+     * No new matrix is allocated. The destination may be {@code this} or {@code m}.
+     * </p>
+     *
+     * @param m matrix to be subtracted
+     * @param out destination matrix, with the same size as {@code this}
+     * @return {@code out}, which now contains {@code this - m}
+     * @throws MathIllegalArgumentException if {@code m} or {@code out} is not
+     * the same size as {@code this}.
+     * @since 4.1
+     */
+    default RealMatrix subtract(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, getRowDimension(), getColumnDimension());
+        for (int row = 0; row < getRowDimension(); ++row) {
+            for (int col = 0; col < getColumnDimension(); ++col) {
+                out.setEntry(row, col, getEntry(row, col) - m.getEntry(row, col));
+            }
+        }
+        return out;
+    }
+
     /**
      * Returns the result of adding {@code d} to each entry of {@code this}.
      *
@@ -109,6 +162,40 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
     RealMatrix multiply(RealMatrix m)
         throws MathIllegalArgumentException;
 
+    /**
+     * Computes the result of postmultiplying {@code this} by {@code m} into a destination matrix.
+     * <p>
+     * No new matrix is allocated. As entries of both operands are needed until the
+     * end of the computation, the destination can be neither {@code this} nor {@code m}.
+     * </p>
+     *
+     * @param m matrix to postmultiply by
+     * @param out destination matrix, with {@code rowDimension(this)} rows and
+     * {@code columnDimension(m)} columns
+     * @return {@code out}, which now contains {@code this * m}
+     * @throws MathIllegalArgumentException if
+     * {@code columnDimension(this) != rowDimension(m)}, if {@code out} does not
+     * have the expected size, or if {@code out} is one of the operands
+     * @since 4.1
+     */
+    default RealMatrix multiply(final RealMatrix m, final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+        MatrixUtils.checkDestinationDimensions(out, getRowDimension(), m.getColumnDimension());
+        MatrixUtils.checkNotAliased(out, this);
+        MatrixUtils.checkNotAliased(out, m);
+        for (int row = 0; row < getRowDimension(); ++row) {
+            for (int col = 0; col < m.getColumnDimension(); ++col) {
+                double sum = 0;
+                for (int i = 0; i < getColumnDimension(); ++i) {
+                    sum += getEntry(row, i) * m.getEntry(i, col);
+                }
+                out.setEntry(row, col, sum);
+            }
+        }
+        return out;
+    }
+
     /**
      * Returns the result of postmultiplying {@code this} by {@code m^T}.
      * <p>
@@ -300,6 +387,32 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
                             int endColumn)
         throws MathIllegalArgumentException;
 
+    /**
+     * Gets a view of a submatrix. Rows and columns are indicated
+     * counting from 0 to n-1.
+     * <p>
+     * Contrary to {@link #getSubMatrix(int, int, int, int)}, no entries are copied:
+     * the view shares the storage of {@code this}, so changes in the matrix are
+     * visible in the view and changes in the view write through to the matrix.
+     * </p>
+     *
+     * @param startRow Initial row index
+     * @param endRow Final row index (inclusive)
+     * @param startColumn Initial column index
+     * @param endColumn Final column index (inclusive)
+     * @return a view of the specified rows and columns
+     * @throws MathIllegalArgumentException if the indices are not valid.
+     * @throws MathIllegalArgumentException if {@code endRow < startRow} or
+     * {@code endColumn < startColumn}.
+     * @see RealMatrixView
+     * @since 4.1
+     */
+    default RealMatrix getSubMatrixView(final int startRow, final int endRow,
+                                        final int startColumn, final int endColumn)
+        throws MathIllegalArgumentException {
+        return new RealMatrixView(this, startRow, endRow, startColumn, endColumn);
+    }
+
     /**
      * Gets a submatrix. Rows and columns are indicated counting from 0 to n-1.
      *
@@ -399,6 +512,23 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
     */
    RealMatrix getRowMatrix(int row) throws MathIllegalArgumentException;
 
+    /**
+     * Get a view of the given row as a row matrix. Row indices start at 0.
+     * <p>
+     * No entries are copied, changes write through in both directions.
+     * </p>
+     *
+     * @param row Row to be viewed.
+     * @return row Matrix view.
+     * @throws MathIllegalArgumentException if the specified row index is invalid.
+     * @see #getSubMatrixView(int, int, int, int)
+     * @since 4.1
+     */
+    default RealMatrix getRowMatrixView(final int row)
+        throws MathIllegalArgumentException {
+        return getSubMatrixView(row, row, 0, getColumnDimension() - 1);
+    }
+
     /**
      * Sets the specified {@code row} of {@code this} matrix to the entries of
      * the specified row {@code matrix}. Row indices start at 0.
@@ -425,6 +555,23 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
     RealMatrix getColumnMatrix(int column)
         throws MathIllegalArgumentException;
 
+    /**
+     * Get a view of the given column as a column matrix. Column indices start at 0.
+     * <p>
+     * No entries are copied, changes write through in both directions.
+     * </p>
+     *
+     * @param column Column to be viewed.
+     * @return column Matrix view.
+     * @throws MathIllegalArgumentException if the specified column index is invalid.
+     * @see #getSubMatrixView(int, int, int, int)
+     * @since 4.1
+     */
+    default RealMatrix getColumnMatrixView(final int column)
+        throws MathIllegalArgumentException {
+        return getSubMatrixView(0, getRowDimension() - 1, column, column);
+    }
+
     /**
      * Sets the specified {@code column} of {@code this} matrix to the entries
      * of the specified column {@code matrix}. Column indices start at 0.
@@ -588,6 +735,47 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
      */
     RealMatrix transpose();
 
+    /**
+     * Returns a view of the transpose of this matrix.
+     * <p>
+     * Contrary to {@link #transpose()}, no entries are copied: entry (i, j) of the
+     * view is entry (j, i) of {@code this}, and changes write through in both
+     * directions.
+     * </p>
+     *
+     * @return transpose matrix view
+     * @see RealMatrixView
+     * @since 4.1
+     */
+    default RealMatrix getTransposedView() {
+        return new RealMatrixView(this, 0, getRowDimension() - 1, 0, getColumnDimension() - 1).getTransposedView();
+    }
+
+    /**
+     * Computes the transpose of this matrix into a destination matrix.
+     * <p>
+     * No new matrix is allocated. The destination cannot be {@code this}.
+     * </p>
+     *
+     * @param out destination matrix, with {@code columnDimension(this)} rows and
+     * {@code rowDimension(this)} columns
+     * @return {@code out}, which now contains the transpose of {@code this}
+     * @throws MathIllegalArgumentException if {@code out} does not have the
+     * expected size or if {@code out} is {@code this}
+     * @since 4.1
+     */
+    default RealMatrix transpose(final RealMatrix out)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkDestinationDimensions(out, getColumnDimension(), getRowDimension());
+        MatrixUtils.checkNotAliased(out, this);
+        for (int row = 0; row < getRowDimension(); ++row) {
+            for (int col = 0; col < getColumnDimension(); ++col) {
+                out.setEntry(col, row, getEntry(row, col));
+            }
+        }
+        return out;
+    }
+
     /**
      * Returns the <a href="http://mathworld.wolfram.com/MatrixTrace.html">
      * trace</a> of the matrix (the sum of the elements on the main diagonal).
@@ -617,6 +805,41 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
      */
     RealVector operate(RealVector v) throws MathIllegalArgumentException;
 
+    /**
+     * Computes the result of multiplying this by the vector {@code v} into a destination vector.
+     * <p>
+     * No new vector is allocated. The destination cannot be {@code v}.
+     * </p>
+     *
+     * @param v the vector to operate on
+     * @param out destination vector, with dimension {@code rowDimension(this)}
+     * @return {@code out}, which now contains {@code this * v}
+     * @throws MathIllegalArgumentException if the dimension of {@code v} does not
+     * match the column dimension of {@code this}, if the dimension of {@code out}
+     * does not match the row dimension of {@code this}, or if {@code out} is {@code v}
+     * @since 4.1
+     */
+    default RealVector operate(final RealVector v, final RealVector out)
+        throws MathIllegalArgumentException {
+        if (v.getDimension() != getColumnDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.getDimension(), getColumnDimension());
+        }
+        if (out.getDimension() != getRowDimension()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   out.getDimension(), getRowDimension());
+        }
+        MatrixUtils.checkNotAliased(out, v);
+        for (int row = 0; row < getRowDimension(); ++row) {
+            double sum = 0;
+            for (int i = 0; i < getColumnDimension(); ++i) {
+                sum += getEntry(row, i) * v.getEntry(i);
+            }
+            out.setEntry(row, sum);
+        }
+        return out;
+    }
+
     /**
      * Returns the (row) vector result of premultiplying this by the vector {@code v}.
      *
@@ -951,6 +1174,60 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
         int startRow, int endRow, int startColumn, int endColumn)
         throws MathIllegalArgumentException;
 
+    /**
+     * Visit (and possibly change) all matrix entries using the fastest possible order,
+     * possibly in parallel.
+     * <p>
+     * If {@code pool} is not null, separate parts of the matrix may be visited
+     * concurrently by the pool, so the {@link RealMatrixChangingVisitor#visit(int, int, double)
+     * visit} method must support concurrent calls. This is typically the case of
+     * element-wise transforms that do not depend on any mutable state.
+     * {@link RealMatrixChangingVisitor#start(int, int, int, int, int, int) start} and
+     * {@link RealMatrixChangingVisitor#end() end} are called once, before and after
+     * all entries have been visited.
+     * </p>
+     * <p>
+     * The default implementation ignores the pool and walks the matrix sequentially.
+     * Dense matrices override it.
+     * </p>
+     * @param visitor visitor used to process all matrix entries
+     * @param pool pool to use for parallel walk (null for sequential walk)
+     * @return the value returned by {@link RealMatrixChangingVisitor#end()} at the end
+     * of the walk
+     * @see #walkInOptimizedOrder(RealMatrixChangingVisitor)
+     * @since 4.1
+     */
+    default double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor, final ForkJoinPool pool) {
+        return walkInOptimizedOrder(visitor);
+    }
+
+    /**
+     * Visit (but don't change) all matrix entries using the fastest possible order,
+     * possibly in parallel.
+     * <p>
+     * If {@code pool} is not null, separate parts of the matrix may be visited
+     * concurrently by {@link SplittableRealMatrixPreservingVisitor#fork() forks} of the
+     * visitor, which are {@link SplittableRealMatrixPreservingVisitor#merge(SplittableRealMatrixPreservingVisitor)
+     * merged} back into {@code visitor} before its {@link RealMatrixPreservingVisitor#end() end}
+     * method is called.
+     * </p>
+     * <p>
+     * The default implementation ignores the pool and walks the matrix sequentially.
+     * Dense matrices override it.
+     * </p>
+     * @param <T> the type of the visitor
+     * @param visitor visitor used to process all matrix entries
+     * @param pool pool to use for parallel walk (null for sequential walk)
+     * @return the value returned by {@link RealMatrixPreservingVisitor#end()} at the end
+     * of the walk
+     * @see #walkInOptimizedOrder(RealMatrixPreservingVisitor)
+     * @since 4.1
+     */
+    default <T extends SplittableRealMatrixPreservingVisitor<T>> double walkInOptimizedOrder(final T visitor,
+                                                                                          final ForkJoinPool pool) {
+        return walkInOptimizedOrder(visitor);
+    }
+
     /**
      * Acts as if implemented as:
      * <pre>
@@ -974,6 +1251,23 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
      * @since 1.7
      */
     default RealMatrix mapToSelf(final UnivariateFunction function) {
+        return mapToSelf(function, null);
+    }
+
+    /**
+     * Replace each entry by the result of applying the function to it, possibly in parallel.
+     * <p>
+     * If {@code pool} is not null, the function may be called concurrently
+     * from several threads, so it must be thread-safe.
+     * </p>
+     *
+     * @param function Function to apply to each entry.
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return a reference to this matrix.
+     * @see #walkInOptimizedOrder(RealMatrixChangingVisitor, ForkJoinPool)
+     * @since 4.1
+     */
+    default RealMatrix mapToSelf(final UnivariateFunction function, final ForkJoinPool pool) {
         walkInOptimizedOrder(new RealMatrixChangingVisitor() {
 
             /** {@inheritDoc} */
@@ -995,7 +1289,7 @@ public interface RealMatrix extends AnyMatrix, Blendable<RealMatrix> {
                 return 0;
             }
 
-        });
+        }, pool);
 
         return this;
 
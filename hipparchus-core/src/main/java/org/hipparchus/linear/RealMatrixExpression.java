@@ -0,0 +1,971 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Lazy expression built from real matrices.
+ * <p>
+ * Chaining {@link RealMatrix} operations such as {@code
+ * a.multiply(p).multiply(a.transpose()).add(q)} creates one full temporary matrix
+ * per operation. An expression only records the operations, and computes the
+ * whole result in a single pass when {@link #evaluate() evaluated}:
+ * </p>
+ * <pre>
+ * RealMatrixExpression a = RealMatrixExpression.of(stm);
+ * RealMatrix covariance  = a.multiply(p).multiplyTransposed(a).add(q).evaluate();
+ * </pre>
+ * <p>
+ * The result is computed row by row. Sums, differences and scalings of rows are
+ * accumulated directly into the destination row and transposition only changes the
+ * way operands are indexed, so none of these operations create temporaries.
+ * Products are computed by multiplying a row of the left operand, itself evaluated
+ * lazily, by the right operand. The right operand of a product is read in place
+ * when it is a matrix or a transposed matrix (possibly scaled); otherwise it is
+ * evaluated once beforehand. Products are reassociated from left to right at
+ * construction, so chains like {@code a.multiply(b.multiply(c))} also avoid this
+ * temporary. In the example above, the only matrix allocated is the result.
+ * </p>
+ * <p>
+ * Expressions are immutable and only hold references to their operands, so an
+ * expression can be built once and evaluated many times after its operands have
+ * been updated. Operands stored as {@link Array2DRowRealMatrix} are read in place,
+ * other operands are copied as a row array at evaluation start (once per
+ * operand, even if it appears several times in the expression).
+ * </p>
+ * <p>
+ * Evaluation can be done in parallel by providing a {@link ForkJoinPool}, in which
+ * case ranges of rows are computed concurrently. As each row is computed exactly
+ * as in the sequential case, the result is identical bit for bit whatever the pool
+ * used.
+ * </p>
+ * @since 4.1
+ */
+public abstract class RealMatrixExpression implements AnyMatrix {
+
+    /** Number of rows below which a parallel task is not split anymore. */
+    private static final int ROWS_PER_TASK = 16;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Number of columns. */
+    private final int columns;
+
+    /** Simple constructor.
+     * @param rows number of rows
+     * @param columns number of columns
+     */
+    RealMatrixExpression(final int rows, final int columns) {
+        this.rows    = rows;
+        this.columns = columns;
+    }
+
+    /** Create an expression wrapping a matrix.
+     * <p>
+     * The matrix is referenced, not copied, so changes in the matrix
+     * will be seen by subsequent evaluations.
+     * </p>
+     * @param matrix matrix to wrap
+     * @return expression representing the matrix
+     */
+    public static RealMatrixExpression of(final RealMatrix matrix) {
+        return new Operand(matrix, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isSquare() {
+        return rows == columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** Add an expression to the instance.
+     * @param e expression to add
+     * @return lazy expression for {@code this} + e
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression add(final RealMatrixExpression e)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, e);
+        return combine(e, 1.0);
+    }
+
+    /** Add a matrix to the instance.
+     * @param m matrix to add
+     * @return lazy expression for {@code this} + m
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        return add(of(m));
+    }
+
+    /** Subtract an expression from the instance.
+     * @param e expression to subtract
+     * @return lazy expression for {@code this} - e
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression subtract(final RealMatrixExpression e)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, e);
+        return combine(e, -1.0);
+    }
+
+    /** Subtract a matrix from the instance.
+     * @param m matrix to subtract
+     * @return lazy expression for {@code this} - m
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        return subtract(of(m));
+    }
+
+    /** Multiply the instance by a scalar.
+     * @param d value to multiply all entries by
+     * @return lazy expression for d * {@code this}
+     */
+    public RealMatrixExpression scalarMultiply(final double d) {
+        final RealMatrixExpression[] terms        = getTerms();
+        final double[]               coefficients = getCoefficients().clone();
+        for (int k = 0; k < coefficients.length; ++k) {
+            coefficients[k] *= d;
+        }
+        return new Combination(terms, coefficients);
+    }
+
+    /** Postmultiply the instance by an expression.
+     * @param e expression to postmultiply by
+     * @return lazy expression for {@code this} * e
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression multiply(final RealMatrixExpression e)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, e);
+
+        // extract scaling factors, so products only hold unscaled operands
+        final double scale = getScale() * e.getScale();
+        final RealMatrixExpression product = product(getUnscaled(), e.getUnscaled());
+
+        return scale == 1.0 ?
+               product :
+               new Combination(new RealMatrixExpression[] { product }, new double[] { scale });
+
+    }
+
+    /** Postmultiply the instance by a matrix.
+     * @param m matrix to postmultiply by
+     * @return lazy expression for {@code this} * m
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiply(of(m));
+    }
+
+    /** Postmultiply the instance by the transpose of an expression.
+     * @param e expression whose transpose is used to postmultiply the instance
+     * @return lazy expression for {@code this} * e<sup>T</sup>
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression multiplyTransposed(final RealMatrixExpression e)
+        throws MathIllegalArgumentException {
+        return multiply(e.transpose());
+    }
+
+    /** Postmultiply the instance by the transpose of a matrix.
+     * @param m matrix whose transpose is used to postmultiply the instance
+     * @return lazy expression for {@code this} * m<sup>T</sup>
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression multiplyTransposed(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        return multiply(new Operand(m, true));
+    }
+
+    /** Postmultiply the transpose of the instance by an expression.
+     * @param e expression to postmultiply by
+     * @return lazy expression for {@code this}<sup>T</sup> * e
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression transposeMultiply(final RealMatrixExpression e)
+        throws MathIllegalArgumentException {
+        return transpose().multiply(e);
+    }
+
+    /** Postmultiply the transpose of the instance by a matrix.
+     * @param m matrix to postmultiply by
+     * @return lazy expression for {@code this}<sup>T</sup> * m
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public RealMatrixExpression transposeMultiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        return transposeMultiply(of(m));
+    }
+
+    /** Transpose the instance.
+     * <p>
+     * Transposition is propagated down to the matrices of the expression,
+     * which are then simply indexed differently.
+     * </p>
+     * @return lazy expression for {@code this}<sup>T</sup>
+     */
+    public abstract RealMatrixExpression transpose();
+
+    /** Evaluate the expression sequentially.
+     * @return new matrix containing the value of the expression
+     */
+    public RealMatrix evaluate() {
+        return evaluate((ForkJoinPool) null);
+    }
+
+    /** Evaluate the expression, possibly in parallel.
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return new matrix containing the value of the expression
+     */
+    public RealMatrix evaluate(final ForkJoinPool pool) {
+        final Array2DRowRealMatrix out = new Array2DRowRealMatrix(rows, columns);
+        compute(out, out.getDataRef(), pool);
+        return out;
+    }
+
+    /** Evaluate the expression sequentially into a destination matrix.
+     * @param out destination matrix
+     * @return {@code out}, which now contains the value of the expression
+     * @throws MathIllegalArgumentException if {@code out} does not have the
+     * expected size or if it is one of the matrices of the expression
+     */
+    public RealMatrix evaluate(final RealMatrix out)
+        throws MathIllegalArgumentException {
+        return evaluate(out, null);
+    }
+
+    /** Evaluate the expression into a destination matrix, possibly in parallel.
+     * <p>
+     * No matrix is allocated, except for the right operands of products that are
+     * neither matrices nor transposed matrices. As rows of the operands may be
+     * needed until the end of the computation, the destination cannot be one of
+     * the matrices of the expression. When a pool is used, the destination must
+     * support concurrent updates of different rows, which is the case of all
+     * dense matrices.
+     * </p>
+     * @param out destination matrix
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @return {@code out}, which now contains the value of the expression
+     * @throws MathIllegalArgumentException if {@code out} does not have the
+     * expected size or if it is one of the matrices of the expression
+     */
+    public RealMatrix evaluate(final RealMatrix out, final ForkJoinPool pool)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkDestinationDimensions(out, rows, columns);
+        checkNotAliased(out);
+        compute(out, (out instanceof Array2DRowRealMatrix) ? ((Array2DRowRealMatrix) out).getDataRef() : null, pool);
+        return out;
+    }
+
+    /** Compute the product of the expression with a vector.
+     * <p>
+     * This method never evaluates the expression as a matrix: products are
+     * applied to the vector one after the other, from right to left, so
+     * only vectors are allocated.
+     * </p>
+     * @param v vector to multiply by
+     * @return lazy expression value times v
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     */
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, columns);
+        }
+        return operateUnchecked(v);
+    }
+
+    /** Compute the product of the expression with a vector.
+     * @param v vector to multiply by
+     * @return lazy expression value times v
+     * @throws MathIllegalArgumentException if the dimensions do not match
+     * @see #operate(double[])
+     */
+    public RealVector operate(final RealVector v)
+        throws MathIllegalArgumentException {
+        return new ArrayRealVector(operate(v.toArray()), false);
+    }
+
+    /** Get the terms of the expression seen as a linear combination.
+     * @return terms of the expression
+     */
+    RealMatrixExpression[] getTerms() {
+        return new RealMatrixExpression[] { this };
+    }
+
+    /** Get the coefficients of the expression seen as a linear combination.
+     * @return coefficients of the expression
+     */
+    double[] getCoefficients() {
+        return new double[] { 1.0 };
+    }
+
+    /** Get the scaling factor of the expression.
+     * @return scaling factor of the expression (1 if the expression is not a scaled expression)
+     */
+    double getScale() {
+        return 1.0;
+    }
+
+    /** Get the expression without its scaling factor.
+     * @return expression without its scaling factor
+     */
+    RealMatrixExpression getUnscaled() {
+        return this;
+    }
+
+    /** Compute the product of the expression with a vector, without checking dimensions.
+     * @param v vector to multiply by
+     * @return lazy expression value times v
+     */
+    abstract double[] operateUnchecked(double[] v);
+
+    /** Check a destination matrix is not one of the matrices of the expression.
+     * @param out destination matrix
+     * @exception MathIllegalArgumentException if {@code out} is one of the matrices of the expression
+     */
+    abstract void checkNotAliased(RealMatrix out) throws MathIllegalArgumentException;
+
+    /** Compile the expression into a row kernel.
+     * @param compiler compiler managing operands and work arrays
+     * @return kernel computing the rows of the expression
+     */
+    abstract RowKernel compile(Compiler compiler);
+
+    /** Combine the instance with another expression.
+     * @param e other expression
+     * @param factor factor to apply to the other expression
+     * @return lazy expression for {@code this} + factor * e
+     */
+    private RealMatrixExpression combine(final RealMatrixExpression e, final double factor) {
+        final RealMatrixExpression[] t1 = getTerms();
+        final double[]               c1 = getCoefficients();
+        final RealMatrixExpression[] t2 = e.getTerms();
+        final double[]               c2 = e.getCoefficients();
+        final RealMatrixExpression[] terms        = Arrays.copyOf(t1, t1.length + t2.length);
+        final double[]               coefficients = Arrays.copyOf(c1, c1.length + c2.length);
+        for (int k = 0; k < t2.length; ++k) {
+            terms[t1.length + k]        = t2[k];
+            coefficients[t1.length + k] = factor * c2[k];
+        }
+        return new Combination(terms, coefficients);
+    }
+
+    /** Build a product of unscaled expressions, reassociating it from left to right.
+     * @param left left operand
+     * @param right right operand
+     * @return lazy expression for left * right
+     */
+    private static RealMatrixExpression product(final RealMatrixExpression left,
+                                                final RealMatrixExpression right) {
+        if (right instanceof Product) {
+            // left * (x * y) = (left * x) * y
+            final Product p = (Product) right;
+            return new Product(product(left, p.left), p.right);
+        } else {
+            return new Product(left, right);
+        }
+    }
+
+    /** Compute all rows of the expression.
+     * @param out destination matrix
+     * @param outData direct reference to the destination rows (null if not available)
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     */
+    private void compute(final RealMatrix out, final double[][] outData, final ForkJoinPool pool) {
+        final Compiler  compiler = new Compiler(pool);
+        final RowKernel kernel   = compile(compiler);
+        final RowsTask  task     = new RowsTask(kernel, compiler.getSlots(), out, outData, 0, rows);
+        if (pool == null || rows <= ROWS_PER_TASK) {
+            task.computeRows();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /** Matrix operand, possibly transposed. */
+    private static class Operand extends RealMatrixExpression {
+
+        /** Underlying matrix. */
+        private final RealMatrix matrix;
+
+        /** Indicator for transposed matrix. */
+        private final boolean transposed;
+
+        /** Simple constructor.
+         * @param matrix underlying matrix
+         * @param transposed if true, the expression represents the transpose of the matrix
+         */
+        Operand(final RealMatrix matrix, final boolean transposed) {
+            super(transposed ? matrix.getColumnDimension() : matrix.getRowDimension(),
+                  transposed ? matrix.getRowDimension()    : matrix.getColumnDimension());
+            this.matrix     = matrix;
+            this.transposed = transposed;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrixExpression transpose() {
+            return new Operand(matrix, !transposed);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double[] operateUnchecked(final double[] v) {
+            return transposed ? matrix.preMultiply(v) : matrix.operate(v);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void checkNotAliased(final RealMatrix out) {
+            // views share the storage of their underlying matrix
+            final RealMatrix target  = (out instanceof RealMatrixView) ?
+                                       ((RealMatrixView) out).getParent() : out;
+            final RealMatrix operand = (matrix instanceof RealMatrixView) ?
+                                       ((RealMatrixView) matrix).getParent() : matrix;
+            MatrixUtils.checkNotAliased(target, operand);
+            if (target instanceof Array2DRowRealMatrix && operand instanceof Array2DRowRealMatrix) {
+                MatrixUtils.checkNotAliased(((Array2DRowRealMatrix) target).getDataRef(),
+                                            ((Array2DRowRealMatrix) operand).getDataRef());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        RowKernel compile(final Compiler compiler) {
+            return new OperandKernel(compiler.getData(matrix), transposed);
+        }
+
+    }
+
+    /** Linear combination of expressions. */
+    private static class Combination extends RealMatrixExpression {
+
+        /** Terms of the combination. */
+        private final RealMatrixExpression[] terms;
+
+        /** Coefficients of the combination. */
+        private final double[] coefficients;
+
+        /** Simple constructor.
+         * @param terms terms of the combination (none of them being a combination)
+         * @param coefficients coefficients of the combination
+         */
+        Combination(final RealMatrixExpression[] terms, final double[] coefficients) {
+            super(terms[0].getRowDimension(), terms[0].getColumnDimension());
+            this.terms        = terms;
+            this.coefficients = coefficients;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrixExpression transpose() {
+            final RealMatrixExpression[] transposed = new RealMatrixExpression[terms.length];
+            for (int k = 0; k < terms.length; ++k) {
+                transposed[k] = terms[k].transpose();
+            }
+            return new Combination(transposed, coefficients);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        RealMatrixExpression[] getTerms() {
+            return terms;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double[] getCoefficients() {
+            return coefficients;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double getScale() {
+            return terms.length == 1 ? coefficients[0] : 1.0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        RealMatrixExpression getUnscaled() {
+            return terms.length == 1 ? terms[0] : this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double[] operateUnchecked(final double[] v) {
+            final double[] result = terms[0].operateUnchecked(v);
+            for (int i = 0; i < result.length; ++i) {
+                result[i] *= coefficients[0];
+            }
+            for (int k = 1; k < terms.length; ++k) {
+                final double[] t = terms[k].operateUnchecked(v);
+                final double   c = coefficients[k];
+                for (int i = 0; i < result.length; ++i) {
+                    result[i] += c * t[i];
+                }
+            }
+            return result;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void checkNotAliased(final RealMatrix out) {
+            for (final RealMatrixExpression term : terms) {
+                term.checkNotAliased(out);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        RowKernel compile(final Compiler compiler) {
+            final RowKernel[] kernels = new RowKernel[terms.length];
+            for (int k = 0; k < terms.length; ++k) {
+                kernels[k] = terms[k].compile(compiler);
+            }
+            return new CombinationKernel(kernels, coefficients, compiler.allocateSlot(getColumnDimension()));
+        }
+
+    }
+
+    /** Product of two unscaled expressions. */
+    private static class Product extends RealMatrixExpression {
+
+        /** Left operand. */
+        private final RealMatrixExpression left;
+
+        /** Right operand (never a product). */
+        private final RealMatrixExpression right;
+
+        /** Simple constructor.
+         * @param left left operand
+         * @param right right operand (never a product)
+         */
+        Product(final RealMatrixExpression left, final RealMatrixExpression right) {
+            super(left.getRowDimension(), right.getColumnDimension());
+            this.left  = left;
+            this.right = right;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrixExpression transpose() {
+            return product(right.transpose(), left.transpose());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double[] operateUnchecked(final double[] v) {
+            return left.operateUnchecked(right.operateUnchecked(v));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void checkNotAliased(final RealMatrix out) {
+            left.checkNotAliased(out);
+            right.checkNotAliased(out);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        RowKernel compile(final Compiler compiler) {
+            final RowKernel leftKernel = left.compile(compiler);
+            final OperandKernel rightKernel;
+            if (right instanceof Operand) {
+                rightKernel = (OperandKernel) right.compile(compiler);
+            } else {
+                // the right operand must be evaluated beforehand
+                final Array2DRowRealMatrix evaluated =
+                        (Array2DRowRealMatrix) right.evaluate(compiler.getPool());
+                rightKernel = new OperandKernel(evaluated.getDataRef(), false);
+            }
+            return new ProductKernel(leftKernel, rightKernel, compiler.allocateSlot(left.getColumnDimension()));
+        }
+
+    }
+
+    /** Compiler managing operands data and work arrays during one evaluation. */
+    private static class Compiler {
+
+        /** Pool to use for parallel computation (null for sequential computation). */
+        private final ForkJoinPool pool;
+
+        /** Rows of the operands. */
+        private final Map<RealMatrix, double[][]> data;
+
+        /** Sizes of work arrays. */
+        private final List<Integer> slots;
+
+        /** Simple constructor.
+         * @param pool pool to use for parallel computation (null for sequential computation)
+         */
+        Compiler(final ForkJoinPool pool) {
+            this.pool  = pool;
+            this.data  = new IdentityHashMap<>();
+            this.slots = new ArrayList<>();
+        }
+
+        /** Get the pool to use for parallel computation.
+         * @return pool to use for parallel computation (null for sequential computation)
+         */
+        ForkJoinPool getPool() {
+            return pool;
+        }
+
+        /** Get the rows of a matrix operand.
+         * @param matrix matrix operand
+         * @return rows of the matrix, referenced in place if possible, copied only once otherwise
+         */
+        double[][] getData(final RealMatrix matrix) {
+            return data.computeIfAbsent(matrix,
+                                        m -> (m instanceof Array2DRowRealMatrix) ?
+                                             ((Array2DRowRealMatrix) m).getDataRef() :
+                                             m.getData());
+        }
+
+        /** Allocate a work array slot.
+         * @param size size of the work array
+         * @return index of the slot
+         */
+        int allocateSlot(final int size) {
+            slots.add(size);
+            return slots.size() - 1;
+        }
+
+        /** Get the sizes of the work arrays.
+         * @return sizes of the work arrays
+         */
+        int[] getSlots() {
+            final int[] sizes = new int[slots.size()];
+            for (int k = 0; k < sizes.length; ++k) {
+                sizes[k] = slots.get(k);
+            }
+            return sizes;
+        }
+
+    }
+
+    /** Kernel computing rows of an expression. */
+    private abstract static class RowKernel {
+
+        /** Compute one row.
+         * @param i index of the row
+         * @param row array where to store the row
+         * @param work work arrays
+         */
+        abstract void row(int i, double[] row, double[][] work);
+
+        /** Get one row, either by reference or by computing it.
+         * @param i index of the row
+         * @param buffer array where to store the row if it cannot be referenced
+         * @param work work arrays
+         * @return array containing the row (must not be modified)
+         */
+        double[] rowRef(final int i, final double[] buffer, final double[][] work) {
+            row(i, buffer, work);
+            return buffer;
+        }
+
+        /** Add one scaled row.
+         * @param i index of the row
+         * @param c scaling factor
+         * @param row array to which the scaled row must be added
+         * @param buffer array available for storing the row before adding it
+         * @param work work arrays
+         */
+        void addRow(final int i, final double c, final double[] row,
+                    final double[] buffer, final double[][] work) {
+            row(i, buffer, work);
+            for (int j = 0; j < row.length; ++j) {
+                row[j] += c * buffer[j];
+            }
+        }
+
+    }
+
+    /** Kernel for matrix operands. */
+    private static class OperandKernel extends RowKernel {
+
+        /** Rows of the matrix. */
+        private final double[][] data;
+
+        /** Indicator for transposed matrix. */
+        private final boolean transposed;
+
+        /** Simple constructor.
+         * @param data rows of the matrix
+         * @param transposed if true, the kernel represents the transpose of the matrix
+         */
+        OperandKernel(final double[][] data, final boolean transposed) {
+            this.data       = data;
+            this.transposed = transposed;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void row(final int i, final double[] row, final double[][] work) {
+            if (transposed) {
+                for (int j = 0; j < row.length; ++j) {
+                    row[j] = data[j][i];
+                }
+            } else {
+                System.arraycopy(data[i], 0, row, 0, row.length);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        double[] rowRef(final int i, final double[] buffer, final double[][] work) {
+            if (transposed) {
+                row(i, buffer, work);
+                return buffer;
+            } else {
+                return data[i];
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void addRow(final int i, final double c, final double[] row,
+                    final double[] buffer, final double[][] work) {
+            if (transposed) {
+                for (int j = 0; j < row.length; ++j) {
+                    row[j] += c * data[j][i];
+                }
+            } else {
+                final double[] dataI = data[i];
+                for (int j = 0; j < row.length; ++j) {
+                    row[j] += c * dataI[j];
+                }
+            }
+        }
+
+        /** Multiply a row vector by the matrix and add it to a row.
+         * @param c scaling factor
+         * @param u row vector
+         * @param row array to which the scaled product must be added
+         */
+        void addPreMultiplied(final double c, final double[] u, final double[] row) {
+            if (transposed) {
+                // row[j] += c * sum(u[k] * data[j][k])
+                for (int j = 0; j < row.length; ++j) {
+                    final double[] dataJ = data[j];
+                    double sum = 0;
+                    for (int k = 0; k < u.length; ++k) {
+                        sum += u[k] * dataJ[k];
+                    }
+                    row[j] += c * sum;
+                }
+            } else {
+                // row += c * sum(u[k] * data[k])
+                for (int k = 0; k < u.length; ++k) {
+                    final double cu = c * u[k];
+                    if (cu != 0) {
+                        final double[] dataK = data[k];
+                        for (int j = 0; j < row.length; ++j) {
+                            row[j] += cu * dataK[j];
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    /** Kernel for linear combinations. */
+    private static class CombinationKernel extends RowKernel {
+
+        /** Kernels of the terms. */
+        private final RowKernel[] kernels;
+
+        /** Coefficients of the combination. */
+        private final double[] coefficients;
+
+        /** Index of the work array slot. */
+        private final int slot;
+
+        /** Simple constructor.
+         * @param kernels kernels of the terms
+         * @param coefficients coefficients of the combination
+         * @param slot index of the work array slot
+         */
+        CombinationKernel(final RowKernel[] kernels, final double[] coefficients, final int slot) {
+            this.kernels      = kernels;
+            this.coefficients = coefficients;
+            this.slot         = slot;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void row(final int i, final double[] row, final double[][] work) {
+            kernels[0].row(i, row, work);
+            if (coefficients[0] != 1.0) {
+                for (int j = 0; j < row.length; ++j) {
+                    row[j] *= coefficients[0];
+                }
+            }
+            for (int k = 1; k < kernels.length; ++k) {
+                kernels[k].addRow(i, coefficients[k], row, work[slot], work);
+            }
+        }
+
+    }
+
+    /** Kernel for products. */
+    private static class ProductKernel extends RowKernel {
+
+        /** Kernel of the left operand. */
+        private final RowKernel left;
+
+        /** Kernel of the right operand. */
+        private final OperandKernel right;
+
+        /** Index of the work array slot. */
+        private final int slot;
+
+        /** Simple constructor.
+         * @param left kernel of the left operand
+         * @param right kernel of the right operand
+         * @param slot index of the work array slot
+         */
+        ProductKernel(final RowKernel left, final OperandKernel right, final int slot) {
+            this.left  = left;
+            this.right = right;
+            this.slot  = slot;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void row(final int i, final double[] row, final double[][] work) {
+            Arrays.fill(row, 0.0);
+            addRow(i, 1.0, row, null, work);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        void addRow(final int i, final double c, final double[] row,
+                    final double[] buffer, final double[][] work) {
+            right.addPreMultiplied(c, left.rowRef(i, work[slot], work), row);
+        }
+
+    }
+
+    /** Task computing a range of rows by recursive splitting. */
+    private static class RowsTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Kernel computing rows. */
+        private final transient RowKernel kernel;
+
+        /** Sizes of work arrays. */
+        private final int[] slots;
+
+        /** Destination matrix. */
+        private final transient RealMatrix out;
+
+        /** Direct reference to the destination rows (null if not available). */
+        private final double[][] outData;
+
+        /** Index of the first row to compute (included). */
+        private final int start;
+
+        /** Index of the last row to compute (excluded). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param kernel kernel computing rows
+         * @param slots sizes of work arrays
+         * @param out destination matrix
+         * @param outData direct reference to the destination rows (null if not available)
+         * @param start index of the first row to compute (included)
+         * @param end index of the last row to compute (excluded)
+         */
+        RowsTask(final RowKernel kernel, final int[] slots,
+                 final RealMatrix out, final double[][] outData,
+                 final int start, final int end) {
+            this.kernel  = kernel;
+            this.slots   = slots;
+            this.out     = out;
+            this.outData = outData;
+            this.start   = start;
+            this.end     = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= ROWS_PER_TASK) {
+                computeRows();
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new RowsTask(kernel, slots, out, outData, start, middle),
+                          new RowsTask(kernel, slots, out, outData, middle, end));
+            }
+        }
+
+        /** Compute the rows of the range sequentially. */
+        void computeRows() {
+            final double[][] work = new double[slots.length][];
+            for (int k = 0; k < slots.length; ++k) {
+                work[k] = new double[slots[k]];
+            }
+            final double[] buffer = (outData == null) ? new double[out.getColumnDimension()] : null;
+            for (int i = start; i < end; ++i) {
+                if (outData == null) {
+                    kernel.row(i, buffer, work);
+                    out.setRow(i, buffer);
+                } else {
+                    kernel.row(i, outData[i], work);
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * View of a rectangular part of a matrix, possibly transposed.
+ * <p>
+ * A view does not hold any entries: it shares the storage of the underlying
+ * matrix, so changes in the matrix are visible in the view and changes in the
+ * view write through to the matrix. Views are created by {@link
+ * RealMatrix#getSubMatrixView(int, int, int, int)}, {@link
+ * RealMatrix#getRowMatrixView(int)}, {@link RealMatrix#getColumnMatrixView(int)}
+ * and {@link RealMatrix#getTransposedView()}. Views of views are flattened, so
+ * they always refer directly to the underlying matrix.
+ * </p>
+ * <p>
+ * When the underlying matrix is an {@link Array2DRowRealMatrix} or a {@link
+ * BlockRealMatrix}, rows and columns are read directly from its storage, and
+ * products and transposition work on whole rows rather than entry by entry.
+ * Methods that return new matrices, like {@link #copy()} or {@link #multiply(RealMatrix)},
+ * return independent matrices, not views.
+ * </p>
+ * @since 4.1
+ */
+public class RealMatrixView extends AbstractRealMatrix {
+
+    /** Underlying matrix. */
+    private final RealMatrix parent;
+
+    /** Index of the first row of the view in the underlying matrix. */
+    private final int rowOffset;
+
+    /** Index of the first column of the view in the underlying matrix. */
+    private final int columnOffset;
+
+    /** Number of rows of the view. */
+    private final int rows;
+
+    /** Number of columns of the view. */
+    private final int columns;
+
+    /** Indicator for transposed view. */
+    private final boolean transposed;
+
+    /**
+     * Create a view of a submatrix.
+     * <p>
+     * If {@code matrix} is itself a view, the new view refers directly
+     * to the underlying matrix.
+     * </p>
+     *
+     * @param matrix matrix to view
+     * @param startRow Initial row index
+     * @param endRow Final row index (inclusive)
+     * @param startColumn Initial column index
+     * @param endColumn Final column index (inclusive)
+     * @throws MathIllegalArgumentException if the indices are not valid.
+     * @throws MathIllegalArgumentException if {@code endRow < startRow} or
+     * {@code endColumn < startColumn}.
+     */
+    public RealMatrixView(final RealMatrix matrix,
+                          final int startRow, final int endRow,
+                          final int startColumn, final int endColumn)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubMatrixIndex(matrix, startRow, endRow, startColumn, endColumn);
+        if (matrix instanceof RealMatrixView) {
+            final RealMatrixView view = (RealMatrixView) matrix;
+            this.parent       = view.parent;
+            this.transposed   = view.transposed;
+            this.rowOffset    = view.rowOffset    + (view.transposed ? startColumn : startRow);
+            this.columnOffset = view.columnOffset + (view.transposed ? startRow    : startColumn);
+        } else {
+            this.parent       = matrix;
+            this.transposed   = false;
+            this.rowOffset    = startRow;
+            this.columnOffset = startColumn;
+        }
+        this.rows    = endRow    - startRow    + 1;
+        this.columns = endColumn - startColumn + 1;
+    }
+
+    /**
+     * Create the transposed view of another view.
+     * @param view view to transpose
+     */
+    private RealMatrixView(final RealMatrixView view) {
+        this.parent       = view.parent;
+        this.rowOffset    = view.rowOffset;
+        this.columnOffset = view.columnOffset;
+        this.rows         = view.columns;
+        this.columns      = view.rows;
+        this.transposed   = !view.transposed;
+    }
+
+    /** Get the underlying matrix.
+     * @return underlying matrix
+     */
+    public RealMatrix getParent() {
+        return parent;
+    }
+
+    /** Check if the view is transposed with respect to the underlying matrix.
+     * @return true if the view is transposed
+     */
+    public boolean isTransposed() {
+        return transposed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return parent.createMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The copy is an independent matrix of the same type as the underlying matrix.
+     * </p>
+     */
+    @Override
+    public RealMatrix copy() {
+        final RealMatrix copy = createMatrix(rows, columns);
+        final double[] buffer = new double[columns];
+        for (int i = 0; i < rows; ++i) {
+            copyRow(i, buffer);
+            copy.setRow(i, buffer);
+        }
+        return copy;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return transposed ?
+               parent.getEntry(rowOffset + column, columnOffset + row) :
+               parent.getEntry(rowOffset + row, columnOffset + column);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        if (transposed) {
+            parent.setEntry(rowOffset + column, columnOffset + row, value);
+        } else {
+            parent.setEntry(rowOffset + row, columnOffset + column, value);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        if (transposed) {
+            parent.addToEntry(rowOffset + column, columnOffset + row, increment);
+        } else {
+            parent.addToEntry(rowOffset + row, columnOffset + column, increment);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        if (transposed) {
+            parent.multiplyEntry(rowOffset + column, columnOffset + row, factor);
+        } else {
+            parent.multiplyEntry(rowOffset + row, columnOffset + column, factor);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[][] getData() {
+        final double[][] data = new double[rows][columns];
+        for (int i = 0; i < rows; ++i) {
+            copyRow(i, data[i]);
+        }
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getRow(final int row) throws MathIllegalArgumentException {
+        MatrixUtils.checkRowIndex(this, row);
+        final double[] out = new double[columns];
+        copyRow(row, out);
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] getColumn(final int column) throws MathIllegalArgumentException {
+        MatrixUtils.checkColumnIndex(this, column);
+        final double[] out = new double[rows];
+        copyColumn(column, out);
+        return out;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * The returned view refers directly to the underlying matrix.
+     * </p>
+     */
+    @Override
+    public RealMatrix getTransposedView() {
+        return new RealMatrixView(this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix transpose() {
+        final RealMatrix out = createMatrix(columns, rows);
+        final double[] buffer = new double[rows];
+        for (int j = 0; j < columns; ++j) {
+            copyColumn(j, buffer);
+            out.setRow(j, buffer);
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        if (parent instanceof BlockRealMatrix) {
+            // use the blocked (and possibly parallel) product of the underlying layout
+            final BlockRealMatrix blockM = (m instanceof BlockRealMatrix) ?
+                                           (BlockRealMatrix) m : new BlockRealMatrix(m.getData());
+            return new BlockRealMatrix(getData()).multiply(blockM);
+        }
+
+        final int        nCols = m.getColumnDimension();
+        final double[][] mData = (m instanceof Array2DRowRealMatrix) ?
+                                 ((Array2DRowRealMatrix) m).getDataRef() :
+                                 m.getData();
+        final double[][] out   = new double[rows][nCols];
+        final double[]   u     = new double[columns];
+        for (int i = 0; i < rows; ++i) {
+            copyRow(i, u);
+            final double[] outI = out[i];
+            for (int k = 0; k < columns; ++k) {
+                final double   uk = u[k];
+                final double[] mK = mData[k];
+                for (int j = 0; j < nCols; ++j) {
+                    outI[j] += uk * mK[j];
+                }
+            }
+        }
+
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, columns);
+        }
+        final double[] out = new double[rows];
+        final double[] u   = new double[columns];
+        for (int i = 0; i < rows; ++i) {
+            copyRow(i, u);
+            double sum = 0;
+            for (int j = 0; j < columns; ++j) {
+                sum += u[j] * v[j];
+            }
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != rows) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, rows);
+        }
+        final double[] out = new double[columns];
+        final double[] u   = new double[columns];
+        for (int i = 0; i < rows; ++i) {
+            copyRow(i, u);
+            final double vi = v[i];
+            for (int j = 0; j < columns; ++j) {
+                out[j] += vi * u[j];
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * Transposed views are walked in column order, so the underlying
+     * matrix is still walked row by row.
+     * </p>
+     */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor) {
+        return transposed ? walkInColumnOrder(visitor) : walkInRowOrder(visitor);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * Transposed views are walked in column order, so the underlying
+     * matrix is still walked row by row.
+     * </p>
+     */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixPreservingVisitor visitor) {
+        return transposed ? walkInColumnOrder(visitor) : walkInRowOrder(visitor);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * Transposed views are walked in column order, so the underlying
+     * matrix is still walked row by row.
+     * </p>
+     */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixChangingVisitor visitor,
+                                       final int startRow, final int endRow,
+                                       final int startColumn, final int endColumn)
+        throws MathIllegalArgumentException {
+        return transposed ?
+               walkInColumnOrder(visitor, startRow, endRow, startColumn, endColumn) :
+               walkInRowOrder(visitor, startRow, endRow, startColumn, endColumn);
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * Transposed views are walked in column order, so the underlying
+     * matrix is still walked row by row.
+     * </p>
+     */
+    @Override
+    public double walkInOptimizedOrder(final RealMatrixPreservingVisitor visitor,
+                                       final int startRow, final int endRow,
+                                       final int startColumn, final int endColumn)
+        throws MathIllegalArgumentException {
+        return transposed ?
+               walkInColumnOrder(visitor, startRow, endRow, startColumn, endColumn) :
+               walkInRowOrder(visitor, startRow, endRow, startColumn, endColumn);
+    }
+
+    /** Copy a row of the view into an array.
+     * @param row row index in the view
+     * @param dest destination array
+     */
+    private void copyRow(final int row, final double[] dest) {
+        if (transposed) {
+            copyParentColumn(columnOffset + row, rowOffset, dest, columns);
+        } else {
+            copyParentRow(rowOffset + row, columnOffset, dest, columns);
+        }
+    }
+
+    /** Copy a column of the view into an array.
+     * @param column column index in the view
+     * @param dest destination array
+     */
+    private void copyColumn(final int column, final double[] dest) {
+        if (transposed) {
+            copyParentRow(rowOffset + column, columnOffset, dest, rows);
+        } else {
+            copyParentColumn(columnOffset + column, rowOffset, dest, rows);
+        }
+    }
+
+    /** Copy a segment of a row of the underlying matrix into an array.
+     * @param row row index in the underlying matrix
+     * @param startColumn index of the first column of the segment in the underlying matrix
+     * @param dest destination array
+     * @param length number of entries to copy
+     */
+    private void copyParentRow(final int row, final int startColumn, final double[] dest, final int length) {
+        if (parent instanceof Array2DRowRealMatrix) {
+            System.arraycopy(((Array2DRowRealMatrix) parent).getDataRef()[row], startColumn, dest, 0, length);
+        } else if (parent instanceof BlockRealMatrix) {
+            ((BlockRealMatrix) parent).copyRowSegment(row, startColumn, dest, length);
+        } else {
+            for (int k = 0; k < length; ++k) {
+                dest[k] = parent.getEntry(row, startColumn + k);
+            }
+        }
+    }
+
+    /** Copy a segment of a column of the underlying matrix into an array.
+     * @param column column index in the underlying matrix
+     * @param startRow index of the first row of the segment in the underlying matrix
+     * @param dest destination array
+     * @param length number of entries to copy
+     */
+    private void copyParentColumn(final int column, final int startRow, final double[] dest, final int length) {
+        if (parent instanceof Array2DRowRealMatrix) {
+            final double[][] data = ((Array2DRowRealMatrix) parent).getDataRef();
+            for (int k = 0; k < length; ++k) {
+                dest[k] = data[startRow + k][column];
+            }
+        } else if (parent instanceof BlockRealMatrix) {
+            ((BlockRealMatrix) parent).copyColumnSegment(column, startRow, dest, length);
+        } else {
+            for (int k = 0; k < length; ++k) {
+                dest[k] = parent.getEntry(startRow + k, column);
+            }
+        }
+    }
+
+}
@@ -252,6 +252,26 @@ public abstract class RealVector {
         return result;
     }
 
+    /**
+     * Compute the sum of this vector and {@code v} into a destination vector.
+     * No new vector is allocated. The destination may be {@code this} or {@code v}.
+     *
+     * @param v Vector to be added.
+     * @param out Destination vector, with the same size as {@code this} vector.
+     * @return {@code out}, which now contains {@code this} + {@code v}.
+     * @throws MathIllegalArgumentException if {@code v} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 4.1
+     */
+    public RealVector add(RealVector v, RealVector out) throws MathIllegalArgumentException {
+        checkVectorDimensions(v);
+        checkVectorDimensions(out);
+        for (int i = 0; i < getDimension(); i++) {
+            out.setEntry(i, getEntry(i) + v.getEntry(i));
+        }
+        return out;
+    }
+
     /**
      * Subtract {@code v} from this vector.
      * Returns a new vector. Does not change instance data.
@@ -273,6 +293,26 @@ public abstract class RealVector {
         return result;
     }
 
+    /**
+     * Subtract {@code v} from this vector into a destination vector.
+     * No new vector is allocated. The destination may be {@code this} or {@code v}.
+     *
+     * @param v Vector to be subtracted.
+     * @param out Destination vector, with the same size as {@code this} vector.
+     * @return {@code out}, which now contains {@code this} - {@code v}.
+     * @throws MathIllegalArgumentException if {@code v} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 4.1
+     */
+    public RealVector subtract(RealVector v, RealVector out) throws MathIllegalArgumentException {
+        checkVectorDimensions(v);
+        checkVectorDimensions(out);
+        for (int i = 0; i < getDimension(); i++) {
+            out.setEntry(i, getEntry(i) - v.getEntry(i));
+        }
+        return out;
+    }
+
     /**
      * Add a value to each entry.
      * Returns a new vector. Does not change instance data.
@@ -578,6 +618,25 @@ public abstract class RealVector {
         return copy().mapMultiplyToSelf(d);
     }
 
+    /**
+     * Multiply each entry by the argument into a destination vector.
+     * No new vector is allocated. The destination may be {@code this}.
+     *
+     * @param d Multiplication factor.
+     * @param out Destination vector, with the same size as {@code this} vector.
+     * @return {@code out}, which now contains {@code this} * {@code d}.
+     * @throws MathIllegalArgumentException if {@code out} is not the same size as
+     * {@code this} vector.
+     * @since 4.1
+     */
+    public RealVector mapMultiply(double d, RealVector out) throws MathIllegalArgumentException {
+        checkVectorDimensions(out);
+        for (int i = 0; i < getDimension(); i++) {
+            out.setEntry(i, getEntry(i) * d);
+        }
+        return out;
+    }
+
     /**
      * Multiply each entry.
      * The instance is changed in-place.
@@ -852,6 +911,30 @@ public abstract class RealVector {
         return copy().combineToSelf(a, b, y);
     }
 
+    /**
+     * Computes the linear combination {@code a * this + b * y} into a destination vector.
+     * No new vector is allocated. The destination may be {@code this} or {@code y}.
+     *
+     * @param a Coefficient of {@code this}.
+     * @param b Coefficient of {@code y}.
+     * @param y Vector with which {@code this} is linearly combined.
+     * @param out Destination vector, with the same size as {@code this} vector.
+     * @return {@code out}, which now contains {@code a * this[i] + b * y[i]}
+     * for all {@code i}.
+     * @throws MathIllegalArgumentException if {@code y} or {@code out} is not
+     * the same size as {@code this} vector.
+     * @since 4.1
+     */
+    public RealVector combine(double a, double b, RealVector y, RealVector out)
+        throws MathIllegalArgumentException {
+        checkVectorDimensions(y);
+        checkVectorDimensions(out);
+        for (int i = 0; i < getDimension(); i++) {
+            out.setEntry(i, a * getEntry(i) + b * y.getEntry(i));
+        }
+        return out;
+    }
+
     /**
      * Updates {@code this} with the linear combination of {@code this} and
      * {@code y}.
@@ -1322,6 +1405,13 @@ public abstract class RealVector {
                 return v.add(w);
             }
 
+            /** {@inheritDoc} */
+            @Override
+            public RealVector add(RealVector w, RealVector out)
+                throws MathIllegalArgumentException {
+                return v.add(w, out);
+            }
+
             /** {@inheritDoc} */
             @Override
             public RealVector subtract(RealVector w)
@@ -1329,6 +1419,13 @@ public abstract class RealVector {
                 return v.subtract(w);
             }
 
+            /** {@inheritDoc} */
+            @Override
+            public RealVector subtract(RealVector w, RealVector out)
+                throws MathIllegalArgumentException {
+                return v.subtract(w, out);
+            }
+
             /** {@inheritDoc} */
             @Override
             public RealVector mapAdd(double d) {
@@ -1371,6 +1468,13 @@ public abstract class RealVector {
                 return v.mapMultiply(d);
             }
 
+            /** {@inheritDoc} */
+            @Override
+            public RealVector mapMultiply(double d, RealVector out)
+                throws MathIllegalArgumentException {
+                return v.mapMultiply(d, out);
+            }
+
             /**
              * {@inheritDoc}
              *
@@ -1595,6 +1699,13 @@ public abstract class RealVector {
                 return v.combine(a, b, y);
             }
 
+            /** {@inheritDoc} */
+            @Override
+            public RealVector combine(double a, double b, RealVector y, RealVector out)
+                throws MathIllegalArgumentException {
+                return v.combine(a, b, y, out);
+            }
+
             /**
              * {@inheritDoc}
              *
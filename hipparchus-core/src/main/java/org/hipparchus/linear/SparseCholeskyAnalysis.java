@@ -0,0 +1,473 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Symbolic analysis for the sparse Cholesky decomposition of symmetric matrices.
+ * <p>
+ * The analysis only depends on the sparsity pattern of the matrix. It computes a
+ * fill-reducing symmetric permutation P, the elimination tree of PAP<sup>T</sup>
+ * and the number of non-zero entries in each column of the factor. It can be
+ * {@link SparseCholeskyDecomposition#SparseCholeskyDecomposition(SparseCholeskyAnalysis,
+ * RealMatrix) reused} for all matrices sharing the same pattern, so that repeated
+ * factorizations only perform the numeric phase.
+ * </p>
+ * <p>
+ * Only the upper triangular part of the matrix is used, the matrix is assumed
+ * to be symmetric without any check.
+ * </p>
+ * @see SparseCholeskyDecomposition
+ * @since 4.1
+ */
+public class SparseCholeskyAnalysis {
+
+    /** Fill-reducing orderings. */
+    public enum Ordering {
+
+        /** Natural ordering (no permutation). */
+        NATURAL,
+
+        /** Minimum degree ordering.
+         * <p>
+         * At each step, the node with the fewest neighbors in the elimination
+         * graph is eliminated, and its neighbors are connected together. The
+         * elimination graph is updated explicitly, which costs about as much
+         * as a symbolic factorization.
+         * </p>
+         */
+        MINIMUM_DEGREE
+
+    }
+
+    /** Dimension of the matrix. */
+    private final int dimension;
+
+    /** Column pointers of the analyzed pattern. */
+    private final int[] patternPointers;
+
+    /** Row indices of the analyzed pattern. */
+    private final int[] patternIndices;
+
+    /** Permutation: row/column k of PAP<sup>T</sup> is row/column permutation[k] of A. */
+    private final int[] permutation;
+
+    /** Column pointers of the upper triangular part of PAP<sup>T</sup>. */
+    private final int[] cPointers;
+
+    /** Row indices of the upper triangular part of PAP<sup>T</sup>. */
+    private final int[] cIndices;
+
+    /** Position in PAP<sup>T</sup> storage of each stored entry of A (-1 for entries below diagonal). */
+    private final int[] map;
+
+    /** Parent of each column in the elimination tree (-1 for roots). */
+    private final int[] parent;
+
+    /** Column pointers of the factor L. */
+    private final int[] lPointers;
+
+    /**
+     * Analyze the sparsity pattern of a symmetric matrix using minimum degree ordering.
+     *
+     * @param matrix the matrix to analyze (only its sparsity pattern is used)
+     * @throws MathIllegalArgumentException if the matrix is not square
+     */
+    public SparseCholeskyAnalysis(final RealMatrix matrix)
+        throws MathIllegalArgumentException {
+        this(matrix, Ordering.MINIMUM_DEGREE);
+    }
+
+    /**
+     * Analyze the sparsity pattern of a symmetric matrix.
+     *
+     * @param matrix the matrix to analyze (only its sparsity pattern is used)
+     * @param ordering fill-reducing ordering to use
+     * @throws MathIllegalArgumentException if the matrix is not square
+     */
+    public SparseCholeskyAnalysis(final RealMatrix matrix, final Ordering ordering)
+        throws MathIllegalArgumentException {
+        this(toCompressedColumn(matrix), ordering, null);
+    }
+
+    /**
+     * Analyze the sparsity pattern of a symmetric matrix with a user-provided permutation.
+     *
+     * @param matrix the matrix to analyze (only its sparsity pattern is used)
+     * @param permutation permutation to use: row/column k of PAP<sup>T</sup>
+     * is row/column permutation[k] of A
+     * @throws MathIllegalArgumentException if the matrix is not square
+     * or permutation is not a permutation of the matrix indices
+     */
+    public SparseCholeskyAnalysis(final RealMatrix matrix, final int[] permutation)
+        throws MathIllegalArgumentException {
+        this(toCompressedColumn(matrix), null, permutation.clone());
+    }
+
+    /**
+     * Analyze the sparsity pattern of a symmetric matrix.
+     *
+     * @param a the matrix to analyze in compressed sparse column form
+     * @param ordering fill-reducing ordering to use (ignored if permutation is not null)
+     * @param permutation user-provided permutation (may be null)
+     * @throws MathIllegalArgumentException if permutation is not a
+     * permutation of the matrix indices
+     */
+    private SparseCholeskyAnalysis(final CompressedColumnRealMatrix a, final Ordering ordering,
+                                   final int[] permutation)
+        throws MathIllegalArgumentException {
+
+        dimension       = a.getColumnDimension();
+        patternPointers = a.getColumnPointersRef().clone();
+        patternIndices  = Arrays.copyOf(a.getRowIndicesRef(), a.getStoredEntries());
+
+        if (permutation == null) {
+            this.permutation = (ordering == Ordering.NATURAL) ? naturalOrdering() : minimumDegreeOrdering();
+        } else {
+            MathUtils.checkDimension(permutation.length, dimension);
+            final boolean[] seen = new boolean[dimension];
+            for (final int p : permutation) {
+                MathUtils.checkRangeInclusive(p, 0, dimension - 1);
+                if (seen[p]) {
+                    throw new MathIllegalArgumentException(LocalizedCoreFormats.DUPLICATED_PERMUTATION_INDEX, p);
+                }
+                seen[p] = true;
+            }
+            this.permutation = permutation;
+        }
+
+        // upper triangular part of the permuted matrix, C = P A P^T
+        final int[] inverse = new int[dimension];
+        for (int k = 0; k < dimension; ++k) {
+            inverse[this.permutation[k]] = k;
+        }
+        cPointers = new int[dimension + 1];
+        map       = new int[patternIndices.length];
+        for (int j = 0; j < dimension; ++j) {
+            for (int p = patternPointers[j]; p < patternPointers[j + 1]; ++p) {
+                final int i = patternIndices[p];
+                if (i <= j) {
+                    ++cPointers[Math.max(inverse[i], inverse[j]) + 1];
+                }
+            }
+        }
+        for (int k = 0; k < dimension; ++k) {
+            cPointers[k + 1] += cPointers[k];
+        }
+        cIndices = new int[cPointers[dimension]];
+        final int[] next = Arrays.copyOf(cPointers, dimension);
+        for (int j = 0; j < dimension; ++j) {
+            for (int p = patternPointers[j]; p < patternPointers[j + 1]; ++p) {
+                final int i = patternIndices[p];
+                if (i <= j) {
+                    final int c = Math.max(inverse[i], inverse[j]);
+                    map[p] = next[c]++;
+                    cIndices[map[p]] = Math.min(inverse[i], inverse[j]);
+                } else {
+                    map[p] = -1;
+                }
+            }
+        }
+
+        // elimination tree and column counts of L
+        parent    = new int[dimension];
+        lPointers = new int[dimension + 1];
+        final int[] flag = new int[dimension];
+        for (int k = 0; k < dimension; ++k) {
+            parent[k] = -1;
+            flag[k]   = k;
+            for (int p = cPointers[k]; p < cPointers[k + 1]; ++p) {
+                // follow path from i to the root of the elimination tree, stopping at flagged node
+                for (int i = cIndices[p]; flag[i] != k; i = parent[i]) {
+                    if (parent[i] == -1) {
+                        parent[i] = k;
+                    }
+                    ++lPointers[i + 1];
+                    flag[i] = k;
+                }
+            }
+        }
+        for (int k = 0; k < dimension; ++k) {
+            lPointers[k + 1] += lPointers[k];
+        }
+
+    }
+
+    /** Convert a matrix to compressed sparse column storage.
+     * @param matrix matrix to convert
+     * @return matrix in compressed sparse column storage
+     * @throws MathIllegalArgumentException if the matrix is not square
+     */
+    static CompressedColumnRealMatrix toCompressedColumn(final RealMatrix matrix)
+        throws MathIllegalArgumentException {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        return (matrix instanceof CompressedColumnRealMatrix) ?
+               (CompressedColumnRealMatrix) matrix : new CompressedColumnRealMatrix(matrix);
+    }
+
+    /** Build the natural ordering.
+     * @return identity permutation
+     */
+    private int[] naturalOrdering() {
+        final int[] natural = new int[dimension];
+        for (int k = 0; k < dimension; ++k) {
+            natural[k] = k;
+        }
+        return natural;
+    }
+
+    /** Build the minimum degree ordering.
+     * @return minimum degree permutation
+     */
+    private int[] minimumDegreeOrdering() {
+
+        // symmetric adjacency lists, without diagonal
+        final int[][] adjacency = new int[dimension][];
+        final int[]   degree    = new int[dimension];
+        for (int j = 0; j < dimension; ++j) {
+            for (int p = patternPointers[j]; p < patternPointers[j + 1]; ++p) {
+                final int i = patternIndices[p];
+                if (i != j) {
+                    ++degree[i];
+                    ++degree[j];
+                }
+            }
+        }
+        for (int i = 0; i < dimension; ++i) {
+            adjacency[i] = new int[degree[i]];
+            degree[i]    = 0;
+        }
+        final int[] marker = new int[dimension];
+        Arrays.fill(marker, -1);
+        for (int j = 0; j < dimension; ++j) {
+            for (int p = patternPointers[j]; p < patternPointers[j + 1]; ++p) {
+                final int i = patternIndices[p];
+                if (i != j) {
+                    adjacency[i][degree[i]++] = j;
+                    adjacency[j][degree[j]++] = i;
+                }
+            }
+        }
+        for (int i = 0; i < dimension; ++i) {
+            // remove duplicates arising when both (i, j) and (j, i) are stored
+            int size = 0;
+            for (int q = 0; q < degree[i]; ++q) {
+                final int j = adjacency[i][q];
+                if (marker[j] != i) {
+                    marker[j] = i;
+                    adjacency[i][size++] = j;
+                }
+            }
+            degree[i] = size;
+        }
+
+        // degree buckets as doubly linked lists
+        final int[] head = new int[dimension];
+        final int[] next = new int[dimension];
+        final int[] prev = new int[dimension];
+        Arrays.fill(head, -1);
+        for (int i = dimension - 1; i >= 0; --i) {
+            insert(head, next, prev, i, degree[i]);
+        }
+
+        // eliminate nodes one at a time
+        Arrays.fill(marker, -1);
+        final int[] order = new int[dimension];
+        int minDegree = 0;
+        for (int k = 0; k < dimension; ++k) {
+
+            while (head[minDegree] < 0) {
+                ++minDegree;
+            }
+            final int   pivot    = head[minDegree];
+            final int[] pivotAdj = adjacency[pivot];
+            final int   pivotDeg = degree[pivot];
+            remove(head, next, prev, pivot, pivotDeg);
+            order[k] = pivot;
+
+            // connect all neighbors of the pivot together
+            for (int q = 0; q < pivotDeg; ++q) {
+                final int u = pivotAdj[q];
+                remove(head, next, prev, u, degree[u]);
+
+                int[] uAdj  = adjacency[u];
+                int   uSize = 0;
+                for (int r = 0; r < degree[u]; ++r) {
+                    final int v = uAdj[r];
+                    if (v != pivot) {
+                        marker[v] = u;
+                        uAdj[uSize++] = v;
+                    }
+                }
+                marker[u] = u;
+                for (int r = 0; r < pivotDeg; ++r) {
+                    final int v = pivotAdj[r];
+                    if (marker[v] != u) {
+                        if (uSize == uAdj.length) {
+                            uAdj = Arrays.copyOf(uAdj, 2 * uSize + 1);
+                            adjacency[u] = uAdj;
+                        }
+                        marker[v] = u;
+                        uAdj[uSize++] = v;
+                    }
+                }
+                degree[u] = uSize;
+
+                insert(head, next, prev, u, uSize);
+                minDegree = Math.min(minDegree, uSize);
+
+            }
+            adjacency[pivot] = null;
+            marker[pivot]    = -1;
+
+        }
+
+        return order;
+
+    }
+
+    /** Insert a node in a degree bucket.
+     * @param head head of each bucket
+     * @param next next node in bucket
+     * @param prev previous node in bucket
+     * @param node node to insert
+     * @param bucket bucket index
+     */
+    private static void insert(final int[] head, final int[] next, final int[] prev,
+                               final int node, final int bucket) {
+        next[node] = head[bucket];
+        prev[node] = -1;
+        if (head[bucket] >= 0) {
+            prev[head[bucket]] = node;
+        }
+        head[bucket] = node;
+    }
+
+    /** Remove a node from a degree bucket.
+     * @param head head of each bucket
+     * @param next next node in bucket
+     * @param prev previous node in bucket
+     * @param node node to remove
+     * @param bucket bucket index
+     */
+    private static void remove(final int[] head, final int[] next, final int[] prev,
+                               final int node, final int bucket) {
+        if (prev[node] >= 0) {
+            next[prev[node]] = next[node];
+        } else {
+            head[bucket] = next[node];
+        }
+        if (next[node] >= 0) {
+            prev[next[node]] = prev[node];
+        }
+    }
+
+    /** Get the dimension of the analyzed matrix.
+     * @return dimension of the analyzed matrix
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /** Get the fill-reducing permutation.
+     * @return permutation: row/column k of PAP<sup>T</sup> is row/column permutation[k] of A
+     */
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+
+    /** Get the elimination tree.
+     * @return parent of each column of PAP<sup>T</sup> in the elimination tree (-1 for roots)
+     */
+    public int[] getEliminationTree() {
+        return parent.clone();
+    }
+
+    /** Get the number of entries strictly below the diagonal in the factor L.
+     * @return number of entries strictly below the diagonal in L
+     */
+    public int getFactorEntries() {
+        return lPointers[dimension];
+    }
+
+    /** Check a matrix has the analyzed sparsity pattern and gather its values.
+     * @param a matrix in compressed sparse column storage
+     * @return values of the upper triangular part of PAP<sup>T</sup>
+     * @throws MathIllegalArgumentException if the pattern does not match
+     */
+    double[] permutedValues(final CompressedColumnRealMatrix a)
+        throws MathIllegalArgumentException {
+        if (a.getColumnDimension() != dimension ||
+            !Arrays.equals(patternPointers, a.getColumnPointersRef()) ||
+            !Arrays.equals(patternIndices, Arrays.copyOf(a.getRowIndicesRef(), a.getStoredEntries()))) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.SPARSITY_PATTERN_MISMATCH);
+        }
+        final double[] aValues = a.getValuesRef();
+        final double[] cValues = new double[cIndices.length];
+        for (int p = 0; p < map.length; ++p) {
+            if (map[p] >= 0) {
+                cValues[map[p]] = aValues[p];
+            }
+        }
+        return cValues;
+    }
+
+    /** Get the column pointers of the upper triangular part of PAP<sup>T</sup>.
+     * @return column pointers (reference, not copy)
+     */
+    int[] getPermutedPointersRef() {
+        return cPointers;
+    }
+
+    /** Get the row indices of the upper triangular part of PAP<sup>T</sup>.
+     * @return row indices (reference, not copy)
+     */
+    int[] getPermutedIndicesRef() {
+        return cIndices;
+    }
+
+    /** Get the parents in the elimination tree.
+     * @return parents (reference, not copy)
+     */
+    int[] getParentRef() {
+        return parent;
+    }
+
+    /** Get the column pointers of the factor.
+     * @return column pointers (reference, not copy)
+     */
+    int[] getFactorPointersRef() {
+        return lPointers;
+    }
+
+    /** Get the permutation.
+     * @return permutation (reference, not copy)
+     */
+    int[] getPermutationRef() {
+        return permutation;
+    }
+
+}
@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Calculates the sparse LDL<sup>T</sup> Cholesky decomposition of a matrix.
+ * <p>The decomposition of a sparse real symmetric positive-definite matrix A
+ * consists of a permutation P, a unit lower triangular sparse matrix L and a
+ * diagonal matrix D such that PAP<sup>T</sup> = LDL<sup>T</sup>. The permutation
+ * is chosen by a {@link SparseCholeskyAnalysis symbolic analysis} in order to
+ * reduce fill-in, so L remains sparse. As no square roots are involved, the
+ * decomposition is also less sensitive to rounding than the LL<sup>T</sup> form.</p>
+ * <p>The symbolic analysis only depends on the sparsity pattern. When several
+ * matrices sharing the same pattern must be factorized (for example at each
+ * iteration of a Newton solver), the analysis should be computed once and
+ * passed to the {@link #SparseCholeskyDecomposition(SparseCholeskyAnalysis,
+ * RealMatrix) constructor}, so only the numeric phase is performed.</p>
+ * <p>Only the upper triangular part of the matrix is used, the matrix is
+ * assumed to be symmetric without any check.</p>
+ * @see CholeskyDecomposition
+ * @see SparseCholeskyAnalysis
+ * @since 4.1
+ */
+public class SparseCholeskyDecomposition {
+
+    /** Symbolic analysis. */
+    private final SparseCholeskyAnalysis analysis;
+
+    /** Row indices of the strictly lower part of L (column-wise). */
+    private final int[] lIndices;
+
+    /** Values of the strictly lower part of L (column-wise). */
+    private final double[] lValues;
+
+    /** Diagonal of D. */
+    private final double[] d;
+
+    /** Cached value of L. */
+    private CompressedColumnRealMatrix cachedL;
+
+    /**
+     * Calculates the sparse Cholesky decomposition of the given matrix.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #SparseCholeskyDecomposition(SparseCholeskyAnalysis, RealMatrix)} with
+     * a {@link SparseCholeskyAnalysis#SparseCholeskyAnalysis(RealMatrix) minimum
+     * degree analysis} of the matrix.
+     * </p>
+     * @param matrix the matrix to decompose
+     * @throws MathIllegalArgumentException if the matrix is not square
+     * or not positive definite
+     */
+    public SparseCholeskyDecomposition(final RealMatrix matrix)
+        throws MathIllegalArgumentException {
+        this(new SparseCholeskyAnalysis(matrix), matrix);
+    }
+
+    /**
+     * Calculates the sparse Cholesky decomposition of the given matrix.
+     * <p>
+     * Calling this constructor is equivalent to call {@link
+     * #SparseCholeskyDecomposition(SparseCholeskyAnalysis, RealMatrix, double)} with
+     * the threshold set to {@link CholeskyDecomposition#DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD}.
+     * </p>
+     * @param analysis symbolic analysis of the matrix sparsity pattern
+     * @param matrix the matrix to decompose
+     * @throws MathIllegalArgumentException if the matrix sparsity pattern
+     * does not match the analysis or the matrix is not positive definite
+     */
+    public SparseCholeskyDecomposition(final SparseCholeskyAnalysis analysis, final RealMatrix matrix)
+        throws MathIllegalArgumentException {
+        this(analysis, matrix, CholeskyDecomposition.DEFAULT_ABSOLUTE_POSITIVITY_THRESHOLD);
+    }
+
+    /**
+     * Calculates the sparse Cholesky decomposition of the given matrix.
+     * @param analysis symbolic analysis of the matrix sparsity pattern
+     * @param matrix the matrix to decompose
+     * @param absolutePositivityThreshold threshold below which diagonal
+     * elements of D are considered null
+     * @throws MathIllegalArgumentException if the matrix sparsity pattern
+     * does not match the analysis or the matrix is not positive definite
+     */
+    public SparseCholeskyDecomposition(final SparseCholeskyAnalysis analysis, final RealMatrix matrix,
+                                       final double absolutePositivityThreshold)
+        throws MathIllegalArgumentException {
+
+        this.analysis = analysis;
+
+        final double[] cValues   = analysis.permutedValues(SparseCholeskyAnalysis.toCompressedColumn(matrix));
+        final int[]    cPointers = analysis.getPermutedPointersRef();
+        final int[]    cIndices  = analysis.getPermutedIndicesRef();
+        final int[]    parent    = analysis.getParentRef();
+        final int[]    lPointers = analysis.getFactorPointersRef();
+        final int      n         = analysis.getDimension();
+
+        lIndices = new int[lPointers[n]];
+        lValues  = new double[lPointers[n]];
+        d        = new double[n];
+
+        // up-looking numeric factorization, row k of L is computed from the k-th column of C
+        final double[] y       = new double[n];
+        final int[]    pattern = new int[n];
+        final int[]    flag    = new int[n];
+        final int[]    lCount  = new int[n];
+        for (int k = 0; k < n; ++k) {
+
+            // nonzero pattern of row k of L, in topological order
+            int top = n;
+            flag[k] = k;
+            for (int p = cPointers[k]; p < cPointers[k + 1]; ++p) {
+                int i = cIndices[p];
+                y[i] += cValues[p];
+                int length = 0;
+                for (; flag[i] != k; i = parent[i]) {
+                    pattern[length++] = i;
+                    flag[i] = k;
+                }
+                while (length > 0) {
+                    pattern[--top] = pattern[--length];
+                }
+            }
+
+            // sparse triangular solve
+            double dK = y[k];
+            y[k] = 0;
+            for (; top < n; ++top) {
+                final int    i  = pattern[top];
+                final double yI = y[i];
+                y[i] = 0;
+                final int end = lPointers[i] + lCount[i];
+                for (int p = lPointers[i]; p < end; ++p) {
+                    y[lIndices[p]] -= lValues[p] * yI;
+                }
+                final double lKI = yI / d[i];
+                dK -= lKI * yI;
+                lIndices[end] = k;
+                lValues[end]  = lKI;
+                ++lCount[i];
+            }
+
+            if (dK <= absolutePositivityThreshold) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX);
+            }
+            d[k] = dK;
+
+        }
+
+    }
+
+    /** Get the symbolic analysis used.
+     * @return symbolic analysis used
+     */
+    public SparseCholeskyAnalysis getAnalysis() {
+        return analysis;
+    }
+
+    /** Get the fill-reducing permutation.
+     * @return permutation: row/column k of PAP<sup>T</sup> is row/column permutation[k] of A
+     */
+    public int[] getPermutation() {
+        return analysis.getPermutation();
+    }
+
+    /**
+     * Returns the unit lower triangular matrix L of the decomposition.
+     * <p>L is the factor of the permuted matrix PAP<sup>T</sup>.</p>
+     * @return the L matrix
+     */
+    public CompressedColumnRealMatrix getL() {
+        if (cachedL == null) {
+            final int   n         = d.length;
+            final int[] lPointers = analysis.getFactorPointersRef();
+            final int[]    colPtr = new int[n + 1];
+            final int[]    rowIdx = new int[lPointers[n] + n];
+            final double[] values = new double[rowIdx.length];
+            for (int j = 0; j < n; ++j) {
+                int q = lPointers[j] + j;
+                colPtr[j]   = q;
+                rowIdx[q]   = j;
+                values[q++] = 1.0;
+                final int length = lPointers[j + 1] - lPointers[j];
+                System.arraycopy(lIndices, lPointers[j], rowIdx, q, length);
+                System.arraycopy(lValues,  lPointers[j], values, q, length);
+            }
+            colPtr[n] = rowIdx.length;
+            cachedL = new CompressedColumnRealMatrix(n, n, colPtr, rowIdx, values, false);
+        }
+        return cachedL;
+    }
+
+    /**
+     * Returns the diagonal matrix D of the decomposition.
+     * @return the D matrix
+     */
+    public DiagonalMatrix getD() {
+        return new DiagonalMatrix(d);
+    }
+
+    /**
+     * Return the determinant of the matrix.
+     * @return determinant of the matrix
+     */
+    public double getDeterminant() {
+        double determinant = 1.0;
+        for (final double dI : d) {
+            determinant *= dI;
+        }
+        return determinant;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            // if we get this far, the matrix was positive definite, hence non-singular
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            final int m = d.length;
+            if (b.getDimension() != m) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getDimension(), m);
+            }
+            final double[] x = new double[m];
+            solve(b.toArray(), x);
+            return new ArrayRealVector(x, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            final int m = d.length;
+            if (b.getRowDimension() != m) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getRowDimension(), m);
+            }
+            final int nColB = b.getColumnDimension();
+            final RealMatrix x = new Array2DRowRealMatrix(m, nColB);
+            final double[] xJ = new double[m];
+            for (int j = 0; j < nColB; ++j) {
+                solve(b.getColumn(j), xJ);
+                x.setColumn(j, xJ);
+            }
+            return x;
+        }
+
+        /** Solve one system.
+         * @param b right hand side
+         * @param x placeholder for solution
+         */
+        private void solve(final double[] b, final double[] x) {
+
+            final int   m           = d.length;
+            final int[] permutation = analysis.getPermutationRef();
+            final int[] lPointers   = analysis.getFactorPointersRef();
+
+            // permute right hand side
+            final double[] y = new double[m];
+            for (int k = 0; k < m; ++k) {
+                y[k] = b[permutation[k]];
+            }
+
+            // Solve LZ = Pb
+            for (int j = 0; j < m; ++j) {
+                final double yJ = y[j];
+                for (int p = lPointers[j]; p < lPointers[j + 1]; ++p) {
+                    y[lIndices[p]] -= lValues[p] * yJ;
+                }
+            }
+
+            // Solve DW = Z
+            for (int j = 0; j < m; ++j) {
+                y[j] /= d[j];
+            }
+
+            // Solve LTY = W
+            for (int j = m - 1; j >= 0; --j) {
+                double yJ = y[j];
+                for (int p = lPointers[j]; p < lPointers[j + 1]; ++p) {
+                    yJ -= lValues[p] * y[lIndices[p]];
+                }
+                y[j] = yJ;
+            }
+
+            // unpermute solution
+            for (int k = 0; k < m; ++k) {
+                x[permutation[k]] = y[k];
+            }
+
+        }
+
+        /**
+         * Get the inverse of the decomposed matrix.
+         *
+         * @return the inverse matrix.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(d.length));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return d.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return d.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+
+/**
+ * Builder for compressed sparse matrices, using coordinates (COO) format.
+ * <p>
+ * Entries are accumulated as (row, column, value) triplets in primitive arrays,
+ * in any order. Triplets sharing the same row and column are summed when the
+ * matrix is built, which is convenient for finite elements assembly for example.
+ * Building the matrix is performed in O(nnz + rows + columns) using two passes
+ * of counting sort, without any comparison-based sorting.
+ * </p>
+ * <p>
+ * The builder can be reused after a matrix has been built, either to add more
+ * entries and build an updated matrix, or after calling {@link #clear()}.
+ * </p>
+ * @see CompressedRowRealMatrix
+ * @see CompressedColumnRealMatrix
+ * @since 4.1
+ */
+public class SparseRealMatrixBuilder {
+
+    /** Default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Number of rows of the matrix. */
+    private final int rows;
+
+    /** Number of columns of the matrix. */
+    private final int columns;
+
+    /** Row indices of triplets. */
+    private int[] rowIndices;
+
+    /** Column indices of triplets. */
+    private int[] columnIndices;
+
+    /** Values of triplets. */
+    private double[] values;
+
+    /** Number of triplets. */
+    private int size;
+
+    /**
+     * Create a builder for a matrix with the supplied row and column dimensions.
+     *
+     * @param rows number of rows of the matrix
+     * @param columns number of columns of the matrix
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public SparseRealMatrixBuilder(final int rows, final int columns)
+        throws MathIllegalArgumentException {
+        this(rows, columns, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a builder for a matrix with the supplied row and column dimensions.
+     *
+     * @param rows number of rows of the matrix
+     * @param columns number of columns of the matrix
+     * @param expectedEntries expected number of entries (used to size internal arrays)
+     * @throws MathIllegalArgumentException if row or column dimension is not
+     * positive.
+     */
+    public SparseRealMatrixBuilder(final int rows, final int columns, final int expectedEntries)
+        throws MathIllegalArgumentException {
+        if (rows < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.AT_LEAST_ONE_ROW);
+        }
+        if (columns < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.AT_LEAST_ONE_COLUMN);
+        }
+        if (expectedEntries < 1) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INITIAL_CAPACITY_NOT_POSITIVE,
+                                                   expectedEntries);
+        }
+        this.rows          = rows;
+        this.columns       = columns;
+        this.rowIndices    = new int[expectedEntries];
+        this.columnIndices = new int[expectedEntries];
+        this.values        = new double[expectedEntries];
+        this.size          = 0;
+    }
+
+    /** Get the number of rows of the matrix.
+     * @return number of rows of the matrix
+     */
+    public int getRowDimension() {
+        return rows;
+    }
+
+    /** Get the number of columns of the matrix.
+     * @return number of columns of the matrix
+     */
+    public int getColumnDimension() {
+        return columns;
+    }
+
+    /** Get the number of triplets added so far.
+     * <p>
+     * Duplicated triplets are counted separately, so this number may be
+     * larger than the number of stored entries in the built matrix.
+     * </p>
+     * @return number of triplets added so far
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** Add a triplet.
+     * <p>
+     * If a triplet with the same row and column has already been added,
+     * the values will be summed.
+     * </p>
+     * @param row row index
+     * @param column column index
+     * @param value value to add
+     * @return the instance, to allow chaining calls
+     * @throws MathIllegalArgumentException if {@code row} or {@code column}
+     * is not a valid index.
+     */
+    public SparseRealMatrixBuilder addEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        if (row < 0 || row >= rows) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.ROW_INDEX,
+                                                   row, 0, rows - 1);
+        }
+        if (column < 0 || column >= columns) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.COLUMN_INDEX,
+                                                   column, 0, columns - 1);
+        }
+        if (size == values.length) {
+            final int newLength = 2 * size;
+            rowIndices    = Arrays.copyOf(rowIndices, newLength);
+            columnIndices = Arrays.copyOf(columnIndices, newLength);
+            values        = Arrays.copyOf(values, newLength);
+        }
+        rowIndices[size]    = row;
+        columnIndices[size] = column;
+        values[size]        = value;
+        ++size;
+        return this;
+    }
+
+    /** Remove all triplets, keeping dimensions. */
+    public void clear() {
+        size = 0;
+    }
+
+    /** Build a compressed sparse row matrix from the triplets added so far.
+     * @return compressed sparse row matrix
+     */
+    public CompressedRowRealMatrix buildCompressedRow() {
+        return new CompressedRowRealMatrix(buildStorage(true));
+    }
+
+    /** Build a compressed sparse column matrix from the triplets added so far.
+     * @return compressed sparse column matrix
+     */
+    public CompressedColumnRealMatrix buildCompressedColumn() {
+        return new CompressedColumnRealMatrix(buildStorage(false));
+    }
+
+    /** Build compressed storage from the triplets added so far.
+     * @param rowMajor if true, the major dimension is rows, otherwise it is columns
+     * @return compressed storage, with duplicated triplets summed
+     */
+    CompressedSparseStorage buildStorage(final boolean rowMajor) {
+
+        final int   majorDimension = rowMajor ? rows : columns;
+        final int   minorDimension = rowMajor ? columns : rows;
+        final int[] major          = rowMajor ? rowIndices : columnIndices;
+        final int[] minor          = rowMajor ? columnIndices : rowIndices;
+
+        // first pass: sort triplets by minor index
+        final int[] byMinor    = new int[size];
+        final int[] minorStart = new int[minorDimension + 1];
+        for (int t = 0; t < size; ++t) {
+            ++minorStart[minor[t] + 1];
+        }
+        for (int j = 0; j < minorDimension; ++j) {
+            minorStart[j + 1] += minorStart[j];
+        }
+        for (int t = 0; t < size; ++t) {
+            byMinor[minorStart[minor[t]]++] = t;
+        }
+
+        // second (stable) pass: sort triplets by major index,
+        // so they end up sorted by major index, then by minor index
+        final int[] sorted   = new int[size];
+        final int[] pointers = new int[majorDimension + 1];
+        for (int t = 0; t < size; ++t) {
+            ++pointers[major[t] + 1];
+        }
+        for (int i = 0; i < majorDimension; ++i) {
+            pointers[i + 1] += pointers[i];
+        }
+        final int[] next = Arrays.copyOf(pointers, majorDimension);
+        for (final int t : byMinor) {
+            sorted[next[major[t]]++] = t;
+        }
+
+        // merge duplicated triplets
+        final int[]    outIndices = new int[size];
+        final double[] outValues  = new double[size];
+        int nnz = 0;
+        for (int i = 0; i < majorDimension; ++i) {
+            final int start = nnz;
+            for (int s = pointers[i]; s < pointers[i + 1]; ++s) {
+                final int t = sorted[s];
+                if (nnz > start && outIndices[nnz - 1] == minor[t]) {
+                    outValues[nnz - 1] += values[t];
+                } else {
+                    outIndices[nnz] = minor[t];
+                    outValues[nnz]  = values[t];
+                    ++nnz;
+                }
+            }
+            pointers[i] = start;
+        }
+        pointers[majorDimension] = nnz;
+
+        return new CompressedSparseStorage(majorDimension, minorDimension, pointers,
+                                           Arrays.copyOf(outIndices, nnz), Arrays.copyOf(outValues, nnz),
+                                           false);
+
+    }
+
+}
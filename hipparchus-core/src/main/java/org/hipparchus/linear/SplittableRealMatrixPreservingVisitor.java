@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+/**
+ * Interface defining a visitor for matrix entries that can walk parts of a matrix
+ * concurrently.
+ * <p>
+ * When a matrix is {@link RealMatrix#walkInOptimizedOrder(SplittableRealMatrixPreservingVisitor,
+ * java.util.concurrent.ForkJoinPool) walked in parallel}, {@link #start(int, int, int, int, int, int)
+ * start} is called once on the visitor provided by the caller. Each part of the matrix is
+ * then visited by a {@link #fork() fork} of this visitor, the forks are {@link #merge(SplittableRealMatrixPreservingVisitor)
+ * merged} back together in a deterministic order and finally {@link #end() end} is called
+ * once on the visitor provided by the caller, after all forks have been merged into it.
+ * </p>
+ * <p>
+ * This mirrors the way aggregatable statistics combine results computed over partitions:
+ * after merging, the visitor must be in the same state as if it had visited all the
+ * entries merged into it by itself.
+ * </p>
+ *
+ * @param <T> the type of the visitor
+ * @since 4.1
+ */
+public interface SplittableRealMatrixPreservingVisitor<T extends SplittableRealMatrixPreservingVisitor<T>>
+    extends RealMatrixPreservingVisitor {
+
+    /**
+     * Create a new visitor for walking a part of the matrix.
+     * <p>
+     * The new visitor has the same configuration as the instance (including
+     * what was set up by {@link #start(int, int, int, int, int, int) start}),
+     * but it has not visited any entry yet. Neither {@link #start(int, int, int, int, int, int)
+     * start} nor {@link #end() end} will be called on it.
+     * </p>
+     * @return new visitor
+     */
+    T fork();
+
+    /**
+     * Merge the results of another visitor into the instance.
+     * <p>
+     * The other visitor was created by {@link #fork()} and has visited entries
+     * that were not visited by the instance.
+     * </p>
+     * @param other visitor to merge into the instance
+     */
+    void merge(T other);
+
+}
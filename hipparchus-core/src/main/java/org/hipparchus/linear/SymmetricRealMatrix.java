@@ -0,0 +1,610 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.io.Serializable;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Implementation of a symmetric matrix with packed storage.
+ * <p>
+ * Only the upper triangular part of the matrix is stored, row by row, in a single
+ * array of n(n+1)/2 entries: row i holds entries (i, i) to (i, n-1). This halves
+ * memory compared to dense storage and guarantees the matrix stays exactly symmetric,
+ * which is the natural representation for covariance matrices.
+ * </p>
+ * <p>
+ * As entries (i, j) and (j, i) share the same storage, {@link #setEntry(int, int, double)
+ * setting}, {@link #addToEntry(int, int, double) incrementing} or {@link
+ * #multiplyEntry(int, int, double) scaling} one of them also changes the other one.
+ * For the same reason, walks with {@link RealMatrixChangingVisitor changing visitors}
+ * visit each stored entry at most once: an entry below the diagonal is visited
+ * (and updates its symmetric entry) only if its symmetric entry is outside of the
+ * walked range, so full walks only visit the entries on or above the diagonal.
+ * Walks with {@link RealMatrixPreservingVisitor preserving visitors} visit all entries.
+ * </p>
+ * <p>
+ * Products {@link #operate(double[]) with vectors}, {@link #multiply(RealMatrix) with
+ * matrices}, {@link #quadraticForm(double[]) quadratic forms} and {@link
+ * #congruence(RealMatrix) congruence transforms} read each stored entry only once,
+ * using it for both symmetric positions.
+ * </p>
+ * @since 4.1
+ */
+public class SymmetricRealMatrix extends AbstractRealMatrix
+    implements Serializable {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /** Dimension of the matrix. */
+    private final int dimension;
+
+    /** Packed upper triangular entries, row by row. */
+    private final double[] data;
+
+    /**
+     * Creates a matrix with the supplied dimension.
+     * <p>All entries are initialized to zero.</p>
+     *
+     * @param dimension Number of rows and columns in the new matrix.
+     * @throws MathIllegalArgumentException if the dimension is
+     * not positive.
+     */
+    public SymmetricRealMatrix(final int dimension)
+        throws MathIllegalArgumentException {
+        super(dimension, dimension);
+        this.dimension = dimension;
+        this.data      = new double[packedSize(dimension)];
+    }
+
+    /**
+     * Creates a matrix from the upper triangular part of a square matrix.
+     * <p>The matrix is assumed to be symmetric without any check, the part
+     * below the diagonal is not accessed at all.</p>
+     *
+     * @param matrix Square matrix whose upper triangular part should be copied.
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     */
+    public SymmetricRealMatrix(final RealMatrix matrix)
+        throws MathIllegalArgumentException {
+        this(checkSquare(matrix).getRowDimension());
+        int k = 0;
+        for (int i = 0; i < dimension; ++i) {
+            for (int j = i; j < dimension; ++j) {
+                data[k++] = matrix.getEntry(i, j);
+            }
+        }
+    }
+
+    /**
+     * Creates a matrix from the upper triangular part of a square array.
+     * <p>The array is assumed to be symmetric without any check, the part
+     * below the diagonal is not accessed at all.</p>
+     *
+     * @param d Square array whose upper triangular part should be copied.
+     * @throws MathIllegalArgumentException if the array is not square.
+     * @throws NullArgumentException if d is null
+     */
+    public SymmetricRealMatrix(final double[][] d)
+        throws MathIllegalArgumentException, NullArgumentException {
+        this(new Array2DRowRealMatrix(d, false));
+    }
+
+    /**
+     * Creates a matrix using the input array as the packed upper triangular entries.
+     * <br>
+     * If an array is created specially in order to be embedded in a
+     * this instance and not used directly, the {@code copyArray} may be
+     * set to {@code false}.
+     * This will prevent the copying and improve performance as no new
+     * array will be built and no data will be copied.
+     *
+     * @param dimension Number of rows and columns in the new matrix.
+     * @param packed upper triangular entries, row by row (entries (0, 0) to (0, n-1),
+     * then entries (1, 1) to (1, n-1) and so on)
+     * @param copyArray if {@code true}, the input array will be copied,
+     * otherwise it will be referenced.
+     * @throws MathIllegalArgumentException if the dimension is not positive
+     * or the array length does not match the dimension
+     * @throws NullArgumentException if packed is null
+     */
+    public SymmetricRealMatrix(final int dimension, final double[] packed, final boolean copyArray)
+        throws MathIllegalArgumentException, NullArgumentException {
+        super(dimension, dimension);
+        MathUtils.checkNotNull(packed);
+        MathUtils.checkDimension(packed.length, packedSize(dimension));
+        this.dimension = dimension;
+        this.data      = copyArray ? packed.clone() : packed;
+    }
+
+    /** Check a matrix is square.
+     * @param matrix matrix to check
+     * @return the matrix
+     * @throws MathIllegalArgumentException if the matrix is not square.
+     */
+    private static RealMatrix checkSquare(final RealMatrix matrix)
+        throws MathIllegalArgumentException {
+        if (!matrix.isSquare()) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.NON_SQUARE_MATRIX,
+                                                   matrix.getRowDimension(), matrix.getColumnDimension());
+        }
+        return matrix;
+    }
+
+    /** Get the number of stored entries for a given dimension.
+     * @param dimension dimension of the matrix
+     * @return number of entries on or above the diagonal
+     */
+    private static int packedSize(final int dimension) {
+        return dimension * (dimension + 1) / 2;
+    }
+
+    /** Get the index of an entry in the packed storage.
+     * @param row row index, must be less than or equal to column
+     * @param column column index
+     * @return index of entry (row, column) in the packed storage
+     */
+    private int index(final int row, final int column) {
+        return row * dimension - row * (row - 1) / 2 + column - row;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>As the matrices created by this method are used to hold arbitrary
+     * results, they are general dense matrices, not symmetric matrices.</p>
+     */
+    @Override
+    public RealMatrix createMatrix(final int rowDimension, final int columnDimension)
+        throws MathIllegalArgumentException {
+        return MatrixUtils.createRealMatrix(rowDimension, columnDimension);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SymmetricRealMatrix copy() {
+        return new SymmetricRealMatrix(dimension, data, true);
+    }
+
+    /**
+     * Gets a reference to the underlying packed data array.
+     * <p>The array holds the upper triangular entries, row by row.</p>
+     *
+     * @return 1-dimensional array of packed entries.
+     */
+    public double[] getDataRef() {
+        return data; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[][] getData() {
+        final double[][] out = new double[dimension][dimension];
+        int k = 0;
+        for (int i = 0; i < dimension; ++i) {
+            for (int j = i; j < dimension; ++j) {
+                out[i][j] = data[k];
+                out[j][i] = data[k];
+                ++k;
+            }
+        }
+        return out;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getRowDimension() {
+        return dimension;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getColumnDimension() {
+        return dimension;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getEntry(final int row, final int column)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        return row <= column ? data[index(row, column)] : data[index(column, row)];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The symmetric entry (column, row) is set too.</p>
+     */
+    @Override
+    public void setEntry(final int row, final int column, final double value)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        data[row <= column ? index(row, column) : index(column, row)] = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The symmetric entry (column, row) is incremented too, as it
+     * shares the same storage (i.e. the increment is applied only once).</p>
+     */
+    @Override
+    public void addToEntry(final int row, final int column, final double increment)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        data[row <= column ? index(row, column) : index(column, row)] += increment;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The symmetric entry (column, row) is multiplied too, as it
+     * shares the same storage (i.e. the factor is applied only once).</p>
+     */
+    @Override
+    public void multiplyEntry(final int row, final int column, final double factor)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMatrixIndex(this, row, column);
+        data[row <= column ? index(row, column) : index(column, row)] *= factor;
+    }
+
+    /**
+     * Compute the sum of {@code this} and {@code m}.
+     *
+     * @param m Matrix to be added.
+     * @return {@code this + m}.
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public SymmetricRealMatrix add(final SymmetricRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkAdditionCompatible(this, m);
+        final double[] outData = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            outData[k] = data[k] + m.data[k];
+        }
+        return new SymmetricRealMatrix(dimension, outData, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix add(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof SymmetricRealMatrix) {
+            return add((SymmetricRealMatrix) m);
+        } else {
+            return super.add(m);
+        }
+    }
+
+    /**
+     * Returns {@code this} minus {@code m}.
+     *
+     * @param m Matrix to be subtracted.
+     * @return {@code this - m}
+     * @throws MathIllegalArgumentException if {@code m} is not the same
+     * size as {@code this}.
+     */
+    public SymmetricRealMatrix subtract(final SymmetricRealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubtractionCompatible(this, m);
+        final double[] outData = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            outData[k] = data[k] - m.data[k];
+        }
+        return new SymmetricRealMatrix(dimension, outData, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix subtract(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        if (m instanceof SymmetricRealMatrix) {
+            return subtract((SymmetricRealMatrix) m);
+        } else {
+            return super.subtract(m);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SymmetricRealMatrix scalarAdd(final double d) {
+        final double[] outData = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            outData[k] = data[k] + d;
+        }
+        return new SymmetricRealMatrix(dimension, outData, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SymmetricRealMatrix scalarMultiply(final double d) {
+        final double[] outData = new double[data.length];
+        for (int k = 0; k < data.length; ++k) {
+            outData[k] = data[k] * d;
+        }
+        return new SymmetricRealMatrix(dimension, outData, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SymmetricRealMatrix transpose() {
+        // transposition is a copy for symmetric matrices
+        return copy();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix multiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(this, m);
+
+        final int nCols = m.getColumnDimension();
+        final double[][] mData = m.getData();
+        final double[][] out   = new double[dimension][nCols];
+
+        // each stored entry (i, j) contributes to both rows i and j of the product
+        int k = 0;
+        for (int i = 0; i < dimension; ++i) {
+            final double[] mI   = mData[i];
+            final double[] outI = out[i];
+            final double   aII  = data[k++];
+            for (int l = 0; l < nCols; ++l) {
+                outI[l] += aII * mI[l];
+            }
+            for (int j = i + 1; j < dimension; ++j) {
+                final double[] mJ   = mData[j];
+                final double[] outJ = out[j];
+                final double   aIJ  = data[k++];
+                for (int l = 0; l < nCols; ++l) {
+                    outI[l] += aIJ * mJ[l];
+                    outJ[l] += aIJ * mI[l];
+                }
+            }
+        }
+
+        return new Array2DRowRealMatrix(out, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RealMatrix transposeMultiply(final RealMatrix m)
+        throws MathIllegalArgumentException {
+        // transposition is no-op for symmetric matrices
+        return multiply(m);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] operate(final double[] v)
+        throws MathIllegalArgumentException {
+        if (v.length != dimension) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   v.length, dimension);
+        }
+        final double[] out = new double[dimension];
+        operate(v, out);
+        return out;
+    }
+
+    /** Accumulate the product of this matrix by a vector.
+     * @param v vector to multiply (must have the right dimension)
+     * @param out array where to add {@code this * v}
+     */
+    private void operate(final double[] v, final double[] out) {
+        // each stored entry (i, j) contributes to both components i and j of the product
+        int k = 0;
+        for (int i = 0; i < dimension; ++i) {
+            final double vI  = v[i];
+            double       sum = data[k++] * vI;
+            for (int j = i + 1; j < dimension; ++j) {
+                final double aIJ = data[k++];
+                sum    += aIJ * v[j];
+                out[j] += aIJ * vI;
+            }
+            out[i] += sum;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] preMultiply(final double[] v)
+        throws MathIllegalArgumentException {
+        return operate(v);
+    }
+
+    /**
+     * Compute the quadratic form x<sup>T</sup> &times; {@code this} &times; x.
+     *
+     * @param x vector
+     * @return x<sup>T</sup> &times; {@code this} &times; x
+     * @throws MathIllegalArgumentException if the dimension of {@code x}
+     * does not match the dimension of the matrix.
+     */
+    public double quadraticForm(final double[] x)
+        throws MathIllegalArgumentException {
+        MathUtils.checkDimension(x.length, dimension);
+        double diagonal    = 0;
+        double offDiagonal = 0;
+        int k = 0;
+        for (int i = 0; i < dimension; ++i) {
+            final double xI = x[i];
+            diagonal += data[k++] * xI * xI;
+            double sum = 0;
+            for (int j = i + 1; j < dimension; ++j) {
+                sum += data[k++] * x[j];
+            }
+            offDiagonal += xI * sum;
+        }
+        return diagonal + 2 * offDiagonal;
+    }
+
+    /**
+     * Compute the quadratic form x<sup>T</sup> &times; {@code this} &times; x.
+     *
+     * @param x vector
+     * @return x<sup>T</sup> &times; {@code this} &times; x
+     * @throws MathIllegalArgumentException if the dimension of {@code x}
+     * does not match the dimension of the matrix.
+     */
+    public double quadraticForm(final RealVector x)
+        throws MathIllegalArgumentException {
+        return quadraticForm(x instanceof ArrayRealVector ? ((ArrayRealVector) x).getDataRef() : x.toArray());
+    }
+
+    /**
+     * Compute the congruence transform a &times; {@code this} &times; a<sup>T</sup>.
+     * <p>
+     * This is the typical covariance propagation operation, for example
+     * in the prediction step of Kalman filters. The result is symmetric
+     * by construction, so only its upper triangular part is computed:
+     * for a k &times; n matrix a, the cost is about kn<sup>2</sup> +
+     * k<sup>2</sup>n/2 multiplications instead of kn<sup>2</sup> + k<sup>2</sup>n
+     * for the dense product, and each entry of {@code this} is read once
+     * for both symmetric positions.
+     * </p>
+     *
+     * @param a matrix to apply
+     * @return a &times; {@code this} &times; a<sup>T</sup>
+     * @throws MathIllegalArgumentException if the column dimension of {@code a}
+     * does not match the dimension of the matrix.
+     */
+    public SymmetricRealMatrix congruence(final RealMatrix a)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkMultiplicationCompatible(a, this);
+
+        // b = a * this, computed row by row as this * a[r] thanks to symmetry
+        final int nRows = a.getRowDimension();
+        final double[][] aData = a.getData();
+        final double[][] b     = new double[nRows][dimension];
+        for (int r = 0; r < nRows; ++r) {
+            operate(aData[r], b[r]);
+        }
+
+        // upper triangular part of b * a^T
+        final double[] outData = new double[packedSize(nRows)];
+        int k = 0;
+        for (int r = 0; r < nRows; ++r) {
+            final double[] bR = b[r];
+            for (int s = r; s < nRows; ++s) {
+                final double[] aS = aData[s];
+                double sum = 0;
+                for (int l = 0; l < dimension; ++l) {
+                    sum += bR[l] * aS[l];
+                }
+                outData[k++] = sum;
+            }
+        }
+
+        return new SymmetricRealMatrix(nRows, outData, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Only entries on or above the diagonal are visited.</p>
+     */
+    @Override
+    public double walkInRowOrder(final RealMatrixChangingVisitor visitor) {
+        visitor.start(dimension, dimension, 0, dimension - 1, 0, dimension - 1);
+        int k = 0;
+        for (int i = 0; i < dimension; ++i) {
+            for (int j = i; j < dimension; ++j) {
+                data[k] = visitor.visit(i, j, data[k]);
+                ++k;
+            }
+        }
+        return visitor.end();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Each stored entry is visited at most once: entries below the diagonal are
+     * visited only if their symmetric entry is outside of the range.</p>
+     */
+    @Override
+    public double walkInRowOrder(final RealMatrixChangingVisitor visitor,
+                                 final int startRow, final int endRow,
+                                 final int startColumn, final int endColumn)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubMatrixIndex(this, startRow, endRow, startColumn, endColumn);
+        visitor.start(dimension, dimension, startRow, endRow, startColumn, endColumn);
+        for (int i = startRow; i <= endRow; ++i) {
+            for (int j = startColumn; j <= endColumn; ++j) {
+                visitStored(visitor, i, j, startRow, endRow, startColumn, endColumn);
+            }
+        }
+        return visitor.end();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Only entries on or above the diagonal are visited.</p>
+     */
+    @Override
+    public double walkInColumnOrder(final RealMatrixChangingVisitor visitor) {
+        return walkInColumnOrder(visitor, 0, dimension - 1, 0, dimension - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Each stored entry is visited at most once: entries below the diagonal are
+     * visited only if their symmetric entry is outside of the range.</p>
+     */
+    @Override
+    public double walkInColumnOrder(final RealMatrixChangingVisitor visitor,
+                                    final int startRow, final int endRow,
+                                    final int startColumn, final int endColumn)
+        throws MathIllegalArgumentException {
+        MatrixUtils.checkSubMatrixIndex(this, startRow, endRow, startColumn, endColumn);
+        visitor.start(dimension, dimension, startRow, endRow, startColumn, endColumn);
+        for (int j = startColumn; j <= endColumn; ++j) {
+            for (int i = startRow; i <= endRow; ++i) {
+                visitStored(visitor, i, j, startRow, endRow, startColumn, endColumn);
+            }
+        }
+        return visitor.end();
+    }
+
+    /** Visit the stored entry corresponding to one position of a sub-range walk.
+     * <p>
+     * Positions below the diagonal whose symmetric position is also in the range
+     * are skipped, as their stored entry is visited from the symmetric position.
+     * </p>
+     * @param visitor visitor used to process the entry
+     * @param i row index of the position
+     * @param j column index of the position
+     * @param startRow Initial row index
+     * @param endRow Final row index (inclusive)
+     * @param startColumn Initial column index
+     * @param endColumn Final column index (inclusive)
+     */
+    private void visitStored(final RealMatrixChangingVisitor visitor, final int i, final int j,
+                             final int startRow, final int endRow,
+                             final int startColumn, final int endColumn) {
+        if (i <= j) {
+            final int k = index(i, j);
+            data[k] = visitor.visit(i, j, data[k]);
+        } else if (j < startRow || j > endRow || i < startColumn || i > endColumn) {
+            final int k = index(j, i);
+            data[k] = visitor.visit(i, j, data[k]);
+        }
+    }
+
+}
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * Eigensolver for a selected range of eigenpairs of symmetric tridiagonal matrices.
+ * <p>Eigenvalues are computed independently from each other by bisection, using
+ * Sturm sequences to count the eigenvalues below a trial value. Eigenvectors, if
+ * needed, are computed by inverse iteration, vectors associated with close
+ * eigenvalues being reorthogonalized against each other. The cost is therefore
+ * proportional to the number of selected eigenpairs, which is much cheaper than
+ * a complete diagonalization when only a few of them are needed.</p>
+ * <p>If a pool is provided, eigenvalues and groups of close eigenvalues are
+ * processed concurrently.</p>
+ * <p>This class is intended for internal use by the library and is not public.
+ * As a consequence of this explicitly limited scope, its methods directly return
+ * references to internal arrays, not copies.</p>
+ * @since 4.1
+ */
+class TriDiagonalBisection {
+
+    /** Number of inverse iterations for each eigenvector. */
+    private static final int INVERSE_ITERATIONS = 3;
+
+    /** Relative gap under which eigenvalues are considered to belong to the same cluster. */
+    private static final double CLUSTER_GAP = 1.0e-3;
+
+    /** Number of eigenvalues under which work is not split among threads. */
+    private static final int PARALLEL_SIZE = 16;
+
+    /** Main diagonal. */
+    private final double[] d;
+
+    /** Secondary diagonal. */
+    private final double[] e;
+
+    /** Squared secondary diagonal. */
+    private final double[] e2;
+
+    /** Minimum absolute pivot allowed in Sturm sequences. */
+    private final double pivMin;
+
+    /** Lower bound of the spectrum. */
+    private final double lower;
+
+    /** Upper bound of the spectrum. */
+    private final double upper;
+
+    /** Lower Gershgorin bound (eigenvalues cannot be below it). */
+    private final double gershgorinLower;
+
+    /** Upper Gershgorin bound (eigenvalues cannot be above it). */
+    private final double gershgorinUpper;
+
+    /** Norm of the matrix. */
+    private final double norm;
+
+    /** Selected eigenvalues, in increasing order. */
+    private final double[] eigenvalues;
+
+    /** Selected eigenvectors (null if not computed). */
+    private final double[][] eigenvectors;
+
+    /**
+     * Compute a range of eigenpairs of a symmetric tridiagonal matrix.
+     * @param main main diagonal of the tridiagonal matrix
+     * @param secondary secondary diagonal of the tridiagonal matrix
+     * (at least {@code main.length - 1} elements, extra elements are ignored)
+     * @param first index of the first eigenvalue to compute, in increasing order (counting from 0)
+     * @param last index of the last eigenvalue to compute, in increasing order (inclusive)
+     * @param eigenvectorsNeeded if true, eigenvectors are computed too
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     */
+    TriDiagonalBisection(final double[] main, final double[] secondary,
+                         final int first, final int last, final boolean eigenvectorsNeeded,
+                         final ForkJoinPool pool) {
+
+        final int n = main.length;
+        d  = main.clone();
+        e  = new double[n];
+        e2 = new double[n];
+        double maxE2 = 1;
+        for (int i = 0; i < n - 1; ++i) {
+            e[i]  = secondary[i];
+            e2[i] = e[i] * e[i];
+            maxE2 = FastMath.max(maxE2, e2[i]);
+        }
+        pivMin = Precision.SAFE_MIN * maxE2;
+
+        // Gershgorin bounds
+        double gl = Double.POSITIVE_INFINITY;
+        double gu = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; ++i) {
+            final double radius = FastMath.abs(e[i]) + (i > 0 ? FastMath.abs(e[i - 1]) : 0);
+            gl = FastMath.min(gl, d[i] - radius);
+            gu = FastMath.max(gu, d[i] + radius);
+        }
+        norm = FastMath.max(FastMath.abs(gl), FastMath.abs(gu));
+        final double margin = 2 * Precision.EPSILON * norm * n + 2 * pivMin;
+        lower           = gl - margin;
+        upper           = gu + margin;
+        gershgorinLower = gl;
+        gershgorinUpper = gu;
+
+        eigenvalues  = new double[last - first + 1];
+        eigenvectors = eigenvectorsNeeded ? new double[eigenvalues.length][] : null;
+        if (norm == 0) {
+            // zero matrix: all eigenvalues are exactly zero and canonical vectors are eigenvectors
+            if (eigenvectorsNeeded) {
+                for (int i = 0; i < eigenvectors.length; ++i) {
+                    eigenvectors[i] = new double[n];
+                    eigenvectors[i][first + i] = 1.0;
+                }
+            }
+        } else if (pool == null) {
+            computeEigenvalues(first, 0, eigenvalues.length);
+            if (eigenvectorsNeeded) {
+                computeEigenvectors(0, eigenvalues.length);
+            }
+        } else {
+            pool.invoke(new RangeTask(first, 0, eigenvalues.length, false));
+            if (eigenvectorsNeeded) {
+                pool.invoke(new RangeTask(first, 0, eigenvalues.length, true));
+            }
+        }
+
+    }
+
+    /**
+     * Get the selected eigenvalues, in increasing order.
+     * @return selected eigenvalues (reference to the internal array)
+     */
+    double[] getEigenvaluesRef() {
+        return eigenvalues; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /**
+     * Get the selected eigenvectors.
+     * @return selected eigenvectors, in the same order as the eigenvalues
+     * (reference to the internal array, null if eigenvectors were not computed)
+     */
+    double[][] getEigenvectorsRef() {
+        return eigenvectors; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /**
+     * Count the eigenvalues strictly smaller than a value, using a Sturm sequence.
+     * @param x value to check
+     * @return number of eigenvalues strictly smaller than x
+     */
+    private int countBelow(final double x) {
+        int count = 0;
+        double q = 1;
+        for (int i = 0; i < d.length; ++i) {
+            q = d[i] - x - (i > 0 ? e2[i - 1] / q : 0);
+            if (FastMath.abs(q) < pivMin) {
+                q = -pivMin;
+            }
+            if (q < 0) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compute eigenvalues by bisection.
+     * @param first index of the first selected eigenvalue in the complete spectrum
+     * @param start index of the first eigenvalue to compute in the selection (inclusive)
+     * @param end index of the last eigenvalue to compute in the selection (exclusive)
+     */
+    private void computeEigenvalues(final int first, final int start, final int end) {
+        for (int i = start; i < end; ++i) {
+            final int index = first + i;
+            double lo = lower;
+            double hi = upper;
+            while (hi - lo > 2 * Precision.EPSILON * FastMath.max(FastMath.abs(lo), FastMath.abs(hi)) + 2 * pivMin) {
+                final double mid = 0.5 * (lo + hi);
+                if (mid <= lo || mid >= hi) {
+                    // we cannot shrink the interval anymore
+                    break;
+                }
+                if (countBelow(mid) > index) {
+                    hi = mid;
+                } else {
+                    lo = mid;
+                }
+            }
+            final double mid = 0.5 * (lo + hi);
+            if (FastMath.abs(mid) <= 2 * pivMin) {
+                // Sturm sequences cannot resolve eigenvalues this close to zero,
+                // exactly zero eigenvalues should not be shifted by the pivMin margin
+                eigenvalues[i] = 0.0;
+            } else {
+                eigenvalues[i] = FastMath.min(FastMath.max(mid, gershgorinLower), gershgorinUpper);
+            }
+        }
+    }
+
+    /**
+     * Compute eigenvectors by inverse iteration.
+     * <p>
+     * The range must not split clusters of close eigenvalues.
+     * </p>
+     * @param start index of the first eigenvector to compute in the selection (inclusive)
+     * @param end index of the last eigenvector to compute in the selection (exclusive)
+     */
+    private void computeEigenvectors(final int start, final int end) {
+        int clusterStart = start;
+        for (int i = start; i < end; ++i) {
+            if (i > start && !sameCluster(i)) {
+                clusterStart = i;
+            }
+            eigenvectors[i] = inverseIteration(i, clusterStart);
+        }
+    }
+
+    /**
+     * Check if an eigenvalue belongs to the same cluster as the previous one.
+     * @param i index of the eigenvalue in the selection
+     * @return true if eigenvalue i is close to eigenvalue i - 1
+     */
+    private boolean sameCluster(final int i) {
+        return eigenvalues[i] - eigenvalues[i - 1] <= CLUSTER_GAP * norm;
+    }
+
+    /**
+     * Compute one eigenvector by inverse iteration.
+     * @param i index of the eigenvalue in the selection
+     * @param clusterStart index of the first eigenvalue of the cluster containing eigenvalue i
+     * @return eigenvector, with unit norm
+     */
+    private double[] inverseIteration(final int i, final int clusterStart) {
+
+        final int n = d.length;
+
+        // LU factorization of (T - lambda I) / norm with partial pivoting,
+        // U has three diagonals u0, u1, u2 and pivoting swaps rows k and k + 1;
+        // scaling by the (non-zero) norm keeps pivots and solutions in range for any matrix magnitude
+        final double lambda   = eigenvalues[i];
+        final double tiny     = Precision.EPSILON;
+        final double[] u0     = new double[n];
+        final double[] u1     = new double[n];
+        final double[] u2     = new double[n];
+        final double[] l      = new double[n];
+        final boolean[] swap  = new boolean[n];
+        double diag = (d[0] - lambda) / norm;
+        double sup  = e[0] / norm;
+        for (int k = 0; k < n - 1; ++k) {
+            final double sub     = e[k] / norm;
+            final double nextDia = (d[k + 1] - lambda) / norm;
+            final double nextSup = e[k + 1] / norm;
+            if (FastMath.abs(diag) >= FastMath.abs(sub)) {
+                if (FastMath.abs(diag) < tiny) {
+                    diag = FastMath.copySign(tiny, diag);
+                }
+                l[k]  = sub / diag;
+                u0[k] = diag;
+                u1[k] = sup;
+                diag  = nextDia - l[k] * sup;
+                sup   = nextSup;
+            } else {
+                swap[k] = true;
+                l[k]  = diag / sub;
+                u0[k] = sub;
+                u1[k] = nextDia;
+                u2[k] = nextSup;
+                diag  = sup - l[k] * nextDia;
+                sup   = -l[k] * nextSup;
+            }
+        }
+        u0[n - 1] = (FastMath.abs(diag) < tiny) ? FastMath.copySign(tiny, diag) : diag;
+
+        // deterministic start vector, different for each eigenvector
+        final double[] x = new double[n];
+        for (int k = 0; k < n; ++k) {
+            final double t = (k + 1) * 0.6180339887498949 + (i + 1) * 0.4142135623730951;
+            x[k] = t - FastMath.floor(t) - 0.5;
+        }
+
+        for (int iter = 0; iter < INVERSE_ITERATIONS; ++iter) {
+
+            // solve (T - lambda I) y = norm x, in place
+            for (int k = 0; k < n - 1; ++k) {
+                if (swap[k]) {
+                    final double tmp = x[k];
+                    x[k]     = x[k + 1];
+                    x[k + 1] = tmp;
+                }
+                x[k + 1] -= l[k] * x[k];
+            }
+            for (int k = n - 1; k >= 0; --k) {
+                double s = x[k];
+                if (k + 1 < n) {
+                    s -= u1[k] * x[k + 1];
+                }
+                if (k + 2 < n) {
+                    s -= u2[k] * x[k + 2];
+                }
+                x[k] = s / u0[k];
+            }
+
+            // orthogonalize with respect to the vectors of the same cluster
+            for (int j = clusterStart; j < i; ++j) {
+                final double[] v = eigenvectors[j];
+                double dot = 0;
+                for (int k = 0; k < n; ++k) {
+                    dot += v[k] * x[k];
+                }
+                for (int k = 0; k < n; ++k) {
+                    x[k] -= dot * v[k];
+                }
+            }
+
+            // normalize, scaling first by the largest component to avoid overflow
+            double max = 0;
+            for (final double xK : x) {
+                max = FastMath.max(max, FastMath.abs(xK));
+            }
+            double norm2 = 0;
+            for (int k = 0; k < n; ++k) {
+                x[k] /= max;
+                norm2 += x[k] * x[k];
+            }
+            final double inv = 1.0 / FastMath.sqrt(norm2);
+            for (int k = 0; k < n; ++k) {
+                x[k] *= inv;
+            }
+
+        }
+
+        return x;
+
+    }
+
+    /** Task for processing a range of eigenvalues. */
+    private class RangeTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Index of the first selected eigenvalue in the complete spectrum. */
+        private final int first;
+
+        /** Index of the first eigenvalue to process in the selection (inclusive). */
+        private final int start;
+
+        /** Index of the last eigenvalue to process in the selection (exclusive). */
+        private final int end;
+
+        /** Indicator for eigenvectors computation. */
+        private final boolean vectors;
+
+        /** Simple constructor.
+         * @param first index of the first selected eigenvalue in the complete spectrum
+         * @param start index of the first eigenvalue to process in the selection (inclusive)
+         * @param end index of the last eigenvalue to process in the selection (exclusive)
+         * @param vectors if true, eigenvectors are computed, otherwise eigenvalues are computed
+         */
+        RangeTask(final int first, final int start, final int end, final boolean vectors) {
+            this.first   = first;
+            this.start   = start;
+            this.end     = end;
+            this.vectors = vectors;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            int middle = (start + end) / 2;
+            if (vectors) {
+                // never split a cluster of close eigenvalues between tasks
+                while (middle < end && sameCluster(middle)) {
+                    ++middle;
+                }
+            }
+            if (end - start <= PARALLEL_SIZE || middle == end) {
+                if (vectors) {
+                    computeEigenvectors(start, end);
+                } else {
+                    computeEigenvalues(first, start, end);
+                }
+            } else {
+                invokeAll(new RangeTask(first, start, middle, vectors),
+                          new RangeTask(first, middle, end, vectors));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,669 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.Precision;
+
+/**
+ * Divide-and-conquer eigensolver for symmetric tridiagonal matrices.
+ * <p>This class implements Cuppen's method: the tridiagonal matrix is split
+ * in two halves coupled by a rank-one correction, the halves are diagonalized
+ * recursively, and the two solutions are merged by solving the secular
+ * equation of the rank-one modification of a diagonal matrix. Small
+ * sub-problems are solved by {@link EigenDecompositionSymmetric#implicitQL(double[],
+ * double[], double[][]) implicit QL iterations}.</p>
+ * <p>Numerical orthogonality of the eigenvectors is ensured by deflation of
+ * negligible components and close eigenvalues (Dongarra and Sorensen, 1987)
+ * and by recomputing the rank-one vector from the computed eigenvalues
+ * (Gu and Eisenstat, 1995).</p>
+ * <p>If a pool is provided, independent sub-problems are solved concurrently
+ * and the matrix products merging eigenvectors are split among the threads.</p>
+ * <p>This class is intended for internal use by the library and is not public.
+ * As a consequence of this explicitly limited scope, its methods directly return
+ * references to internal arrays, not copies.</p>
+ * @since 4.1
+ */
+class TriDiagonalDivideAndConquer {
+
+    /** Size under which sub-problems are solved directly by implicit QL iterations. */
+    private static final int LEAF_SIZE = 32;
+
+    /** Size under which sub-problems and products are not split among threads. */
+    private static final int PARALLEL_SIZE = 128;
+
+    /** Maximum number of iterations in the secular equation solver. */
+    private static final int MAX_ITER = 100;
+
+    /** Pool to use for parallel computation (null for sequential computation). */
+    private final ForkJoinPool pool;
+
+    /** Eigenvalues, in increasing order. */
+    private final double[] eigenvalues;
+
+    /** Eigenvectors, stored as the columns of a row-major array. */
+    private final double[][] eigenvectors;
+
+    /**
+     * Diagonalize a symmetric tridiagonal matrix.
+     * @param main main diagonal of the tridiagonal matrix
+     * @param secondary secondary diagonal of the tridiagonal matrix
+     * (at least {@code main.length - 1} elements, extra elements are ignored)
+     * @param pool pool to use for parallel computation (null for sequential computation)
+     * @exception MathIllegalStateException if the algorithm fails to converge
+     */
+    TriDiagonalDivideAndConquer(final double[] main, final double[] secondary,
+                                final ForkJoinPool pool) {
+        this.pool = pool;
+        final double[] d = main.clone();
+        final double[] e = Arrays.copyOf(secondary, FastMath.max(0, d.length - 1));
+        final Diagonalization result = (pool == null) ?
+                                       solve(d, e) :
+                                       pool.invoke(new SolveTask(d, e));
+        eigenvalues  = result.lambda;
+        eigenvectors = result.q;
+    }
+
+    /**
+     * Get the eigenvalues, in increasing order.
+     * @return eigenvalues (reference to the internal array)
+     */
+    double[] getEigenvaluesRef() {
+        return eigenvalues; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /**
+     * Get the eigenvectors.
+     * @return eigenvectors, stored as the columns of a row-major array, in the same
+     * order as the eigenvalues (reference to the internal array)
+     */
+    double[][] getEigenvectorsRef() {
+        return eigenvectors; // NOPMD - returning an internal array is intentional and documented here
+    }
+
+    /**
+     * Diagonalize a symmetric tridiagonal matrix recursively.
+     * @param d main diagonal (destroyed on return)
+     * @param e secondary diagonal (destroyed on return)
+     * @return diagonalization of the matrix
+     */
+    private Diagonalization solve(final double[] d, final double[] e) {
+
+        final int n = d.length;
+        if (n <= LEAF_SIZE) {
+            return solveLeaf(d, e);
+        }
+
+        // split the matrix as T = diag(T1, T2) + beta u uT, u = e_{n1-1} + e_{n1}
+        final int    n1   = n / 2;
+        final double beta = e[n1 - 1];
+        final double[] d1 = Arrays.copyOfRange(d, 0, n1);
+        final double[] e1 = Arrays.copyOfRange(e, 0, n1 - 1);
+        final double[] d2 = Arrays.copyOfRange(d, n1, n);
+        final double[] e2 = Arrays.copyOfRange(e, n1, n - 1);
+        d1[n1 - 1] -= beta;
+        d2[0]      -= beta;
+
+        final Diagonalization first;
+        final Diagonalization second;
+        if (pool != null && n >= PARALLEL_SIZE) {
+            final SolveTask task = new SolveTask(d1, e1);
+            task.fork();
+            second = solve(d2, e2);
+            first  = task.join();
+        } else {
+            first  = solve(d1, e1);
+            second = solve(d2, e2);
+        }
+
+        return merge(first, second, beta);
+
+    }
+
+    /**
+     * Diagonalize a small symmetric tridiagonal matrix.
+     * @param d main diagonal (destroyed on return)
+     * @param e secondary diagonal
+     * @return diagonalization of the matrix
+     */
+    private static Diagonalization solveLeaf(final double[] d, final double[] e) {
+        final int n = d.length;
+        final double[] ePadded = Arrays.copyOf(e, n);
+        final double[][] z = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            z[i][i] = 1.0;
+        }
+        EigenDecompositionSymmetric.implicitQL(d, ePadded, z);
+
+        // sort eigenpairs in increasing order
+        final int[] sorted = sortedIndices(d);
+        final double[] lambda = new double[n];
+        final double[][] q = new double[n][n];
+        for (int c = 0; c < n; ++c) {
+            lambda[c] = d[sorted[c]];
+            for (int r = 0; r < n; ++r) {
+                q[r][c] = z[r][sorted[c]];
+            }
+        }
+        return new Diagonalization(lambda, q);
+
+    }
+
+    /**
+     * Merge the diagonalizations of two halves of a tridiagonal matrix.
+     * @param first diagonalization of the upper left half
+     * @param second diagonalization of the lower right half
+     * @param beta coupling term between the two halves
+     * @return diagonalization of the complete matrix
+     */
+    private Diagonalization merge(final Diagonalization first, final Diagonalization second,
+                                  final double beta) {
+
+        final int n1 = first.lambda.length;
+        final int n  = n1 + second.lambda.length;
+
+        // eigenvectors of diag(T1, T2), which will be rotated during deflation
+        final double[][] q = new double[n][n];
+        for (int i = 0; i < n1; ++i) {
+            System.arraycopy(first.q[i], 0, q[i], 0, n1);
+        }
+        for (int i = n1; i < n; ++i) {
+            System.arraycopy(second.q[i - n1], 0, q[i], n1, n - n1);
+        }
+
+        // rank-one modification D + rho z zT of the diagonal matrix,
+        // with rho > 0 (negating the problem if needed) and |z| = 1
+        final boolean negated = beta < 0;
+        final double[] d = new double[n];
+        final double[] z = new double[n];
+        for (int j = 0; j < n; ++j) {
+            d[j] = j < n1 ? first.lambda[j] : second.lambda[j - n1];
+            z[j] = j < n1 ? first.q[n1 - 1][j] : second.q[0][j - n1];
+            if (negated) {
+                d[j] = -d[j];
+            }
+        }
+        double zNorm2 = 0;
+        for (final double zj : z) {
+            zNorm2 += zj * zj;
+        }
+        final double rho = FastMath.abs(beta) * zNorm2;
+        final double zNorm = FastMath.sqrt(zNorm2);
+        for (int j = 0; j < n; ++j) {
+            z[j] /= zNorm;
+        }
+
+        // sort the diagonal
+        final int[] order = sortedIndices(d);
+
+        // deflation
+        double dMax = 0;
+        for (final double dj : d) {
+            dMax = FastMath.max(dMax, FastMath.abs(dj));
+        }
+        final double tol = 8 * Precision.EPSILON * FastMath.max(dMax, rho);
+        final int[] kept     = new int[n];
+        final int[] deflated = new int[n];
+        int nbKept     = 0;
+        int nbDeflated = 0;
+        int previous   = -1;
+        for (final int j : order) {
+            if (rho * FastMath.abs(z[j]) <= tol) {
+                // negligible component, d[j] is an eigenvalue
+                deflated[nbDeflated++] = j;
+            } else if (previous < 0) {
+                previous = j;
+            } else {
+                // check if a Givens rotation can zero out the component of the previous index
+                final double tau = FastMath.hypot(z[previous], z[j]);
+                final double c   =  z[j] / tau;
+                final double s   = -z[previous] / tau;
+                if (FastMath.abs((d[j] - d[previous]) * c * s) <= tol) {
+                    // close eigenvalues, the previous index can be deflated
+                    z[j]        = tau;
+                    z[previous] = 0;
+                    for (final double[] qRow : q) {
+                        final double x = qRow[previous];
+                        final double y = qRow[j];
+                        qRow[previous] = c * x + s * y;
+                        qRow[j]        = c * y - s * x;
+                    }
+                    final double t = d[previous] * c * c + d[j] * s * s;
+                    d[j]           = d[previous] * s * s + d[j] * c * c;
+                    d[previous]    = t;
+                    deflated[nbDeflated++] = previous;
+                } else {
+                    kept[nbKept++] = previous;
+                }
+                previous = j;
+            }
+        }
+        if (previous >= 0) {
+            kept[nbKept++] = previous;
+        }
+
+        // solve the secular equation for the remaining part
+        final double[] dK = new double[nbKept];
+        final double[] zK = new double[nbKept];
+        for (int i = 0; i < nbKept; ++i) {
+            dK[i] = d[kept[i]];
+            zK[i] = z[kept[i]];
+        }
+        final int[]    origin = new int[nbKept];
+        final double[] mu     = new double[nbKept];
+        for (int i = 0; i < nbKept; ++i) {
+            solveSecular(dK, zK, rho, i, origin, mu);
+        }
+
+        // eigenvectors of the rank-one modification, u[j][i] = zHat[j] / (dK[j] - lambda[i])
+        final double[] zHat = recomputeZ(dK, zK, rho, origin, mu);
+        final double[][] u  = new double[nbKept][nbKept];
+        for (int i = 0; i < nbKept; ++i) {
+            double norm2 = 0;
+            for (int j = 0; j < nbKept; ++j) {
+                final double uJI = zHat[j] / ((dK[j] - dK[origin[i]]) - mu[i]);
+                u[j][i] = uJI;
+                norm2  += uJI * uJI;
+            }
+            final double inv = 1.0 / FastMath.sqrt(norm2);
+            for (int j = 0; j < nbKept; ++j) {
+                u[j][i] *= inv;
+            }
+        }
+
+        // eigenvectors of the complete matrix
+        final double[][] qKept = new double[n][nbKept];
+        for (int r = 0; r < n; ++r) {
+            final double[] qRow = q[r];
+            final double[] qKeptRow = qKept[r];
+            for (int j = 0; j < nbKept; ++j) {
+                qKeptRow[j] = qRow[kept[j]];
+            }
+        }
+        final double[][] product = new double[n][nbKept];
+        if (pool != null && n >= PARALLEL_SIZE) {
+            new ProductTask(qKept, u, product, 0, n).invoke();
+        } else {
+            multiply(qKept, u, product, 0, n);
+        }
+
+        // gather all eigenpairs, in increasing order
+        final double[] lambda  = new double[n];
+        final double[] unsorted = new double[n];
+        for (int i = 0; i < nbDeflated; ++i) {
+            unsorted[i] = d[deflated[i]];
+        }
+        for (int i = 0; i < nbKept; ++i) {
+            unsorted[nbDeflated + i] = dK[origin[i]] + mu[i];
+        }
+        if (negated) {
+            for (int i = 0; i < n; ++i) {
+                unsorted[i] = -unsorted[i];
+            }
+        }
+        final int[] sorted = sortedIndices(unsorted);
+        final double[][] v = new double[n][n];
+        for (int c = 0; c < n; ++c) {
+            final int k = sorted[c];
+            lambda[c] = unsorted[k];
+            if (k < nbDeflated) {
+                final int source = deflated[k];
+                for (int r = 0; r < n; ++r) {
+                    v[r][c] = q[r][source];
+                }
+            } else {
+                final int source = k - nbDeflated;
+                for (int r = 0; r < n; ++r) {
+                    v[r][c] = product[r][source];
+                }
+            }
+        }
+
+        return new Diagonalization(lambda, v);
+
+    }
+
+    /**
+     * Find one root of the secular equation 1 + rho &sum; z<sub>j</sub><sup>2</sup> / (d<sub>j</sub> - &lambda;) = 0.
+     * <p>
+     * The root is searched relative to the nearest pole d<sub>origin</sub>, so
+     * that the differences d<sub>j</sub> - &lambda; = (d<sub>j</sub> - d<sub>origin</sub>) - &mu;
+     * can be computed accurately. The iteration uses the rational approximation of
+     * the function by its two nearest poles (Bunch, Nielsen and Sorensen, 1978),
+     * safeguarded by bisection.
+     * </p>
+     * @param d poles, in strictly increasing order
+     * @param z weights
+     * @param rho rank-one coefficient (strictly positive)
+     * @param i index of the root, which lies between d[i] and d[i + 1]
+     * @param origin placeholder for the index of the pole the root is relative to
+     * @param mu placeholder for the offset of the root with respect to its origin
+     */
+    private static void solveSecular(final double[] d, final double[] z, final double rho,
+                                     final int i, final int[] origin, final double[] mu) {
+
+        final int k = d.length;
+        final boolean last = i == k - 1;
+
+        // select the origin and the initial bracket
+        final int o;
+        double lo;
+        double hi;
+        if (last) {
+            double z2 = 0;
+            for (final double zj : z) {
+                z2 += zj * zj;
+            }
+            o  = i;
+            lo = 0;
+            hi = rho * z2;
+        } else {
+            final double half = 0.5 * (d[i + 1] - d[i]);
+            double f = 1;
+            for (int j = 0; j < k; ++j) {
+                f += rho * z[j] * z[j] / ((d[j] - d[i]) - half);
+            }
+            if (f >= 0) {
+                o  = i;
+                lo = 0;
+                hi = half;
+            } else {
+                o  = i + 1;
+                lo = -half;
+                hi = 0;
+            }
+        }
+
+        final double[] delta = new double[k];
+        for (int j = 0; j < k; ++j) {
+            delta[j] = d[j] - d[o];
+        }
+
+        double x = 0.5 * (lo + hi);
+        for (int iter = 0; iter < MAX_ITER; ++iter) {
+
+            // evaluate the function and its derivative, separating poles below and above the root
+            double psi  = 0;
+            double dPsi = 0;
+            double phi  = 0;
+            double dPhi = 0;
+            for (int j = 0; j < k; ++j) {
+                final double t = z[j] / (delta[j] - x);
+                if (j <= i) {
+                    psi  += z[j] * t;
+                    dPsi += t * t;
+                } else {
+                    phi  += z[j] * t;
+                    dPhi += t * t;
+                }
+            }
+            final double f = 1 + rho * (psi + phi);
+
+            if (f == 0) {
+                break;
+            } else if (f < 0) {
+                lo = x;
+            } else {
+                hi = x;
+            }
+
+            final double erretm = 1 + rho * (phi - psi);
+            if (FastMath.abs(f) <= 8 * k * Precision.EPSILON * erretm ||
+                hi - lo <= 2 * Precision.EPSILON * FastMath.max(FastMath.abs(lo), FastMath.abs(hi))) {
+                break;
+            }
+
+            // rational approximation c + rho s / (a - eta) + rho S / (b - eta) of the function
+            final double a = delta[i] - x;
+            double eta;
+            if (last) {
+                final double s = a * a * dPsi;
+                final double c = f - rho * a * dPsi;
+                eta = a + rho * s / c;
+            } else {
+                final double b  = delta[i + 1] - x;
+                final double s  = a * a * dPsi;
+                final double bS = b * b * dPhi;
+                final double c  = f - rho * (a * dPsi + b * dPhi);
+                final double p  = c * (a + b) + rho * (s + bS);
+                final double r  = c * a * b + rho * (s * b + bS * a);
+                if (c == 0) {
+                    eta = r / p;
+                } else {
+                    final double disc = FastMath.sqrt(FastMath.max(0, p * p - 4 * c * r));
+                    final double h    = 0.5 * (p + FastMath.copySign(disc, p));
+                    final double eta1 = h / c;
+                    final double eta2 = r / h;
+                    eta = (x + eta1 > lo && x + eta1 < hi) ? eta1 : eta2;
+                }
+            }
+
+            final double next = x + eta;
+            x = (next > lo && next < hi) ? next : 0.5 * (lo + hi);
+
+        }
+
+        if (Double.isNaN(x)) {
+            throw new MathIllegalStateException(LocalizedCoreFormats.CONVERGENCE_FAILED);
+        }
+        origin[i] = o;
+        mu[i]     = x;
+
+    }
+
+    /**
+     * Recompute the rank-one vector consistent with computed roots (Gu and Eisenstat, 1995).
+     * <p>
+     * The computed roots are exact eigenvalues of a slightly perturbed rank-one
+     * modification, using the perturbed vector ensures the eigenvectors are
+     * numerically orthogonal even when roots are close to each other.
+     * </p>
+     * @param d poles, in strictly increasing order
+     * @param z weights
+     * @param rho rank-one coefficient (strictly positive)
+     * @param origin index of the pole each root is relative to
+     * @param mu offset of each root with respect to its origin
+     * @return recomputed vector
+     */
+    private static double[] recomputeZ(final double[] d, final double[] z, final double rho,
+                                       final int[] origin, final double[] mu) {
+        final int k = d.length;
+        final double[] zHat = new double[k];
+        for (int j = 0; j < k; ++j) {
+            // zHat_j^2 = prod_r (lambda_r - d_j) / (rho prod_{r != j} (d_r - d_j)),
+            // with factors grouped by pairs to avoid overflow and underflow
+            double p = -dJMinusLambda(d, origin, mu, j, k - 1) / rho;
+            for (int r = 0; r < j; ++r) {
+                p *= dJMinusLambda(d, origin, mu, j, r) / (d[j] - d[r]);
+            }
+            for (int r = j + 1; r < k; ++r) {
+                p *= dJMinusLambda(d, origin, mu, j, r - 1) / (d[j] - d[r]);
+            }
+            zHat[j] = FastMath.copySign(FastMath.sqrt(FastMath.abs(p)), z[j]);
+        }
+        return zHat;
+    }
+
+    /**
+     * Compute accurately the difference between a pole and a root.
+     * @param d poles, in strictly increasing order
+     * @param origin index of the pole each root is relative to
+     * @param mu offset of each root with respect to its origin
+     * @param j index of the pole
+     * @param r index of the root
+     * @return d<sub>j</sub> - &lambda;<sub>r</sub>
+     */
+    private static double dJMinusLambda(final double[] d, final int[] origin, final double[] mu,
+                                        final int j, final int r) {
+        return (d[j] - d[origin[r]]) - mu[r];
+    }
+
+    /**
+     * Get the indices that sort an array in increasing order.
+     * @param values values to sort
+     * @return indices of values in increasing order
+     */
+    private static int[] sortedIndices(final double[] values) {
+        final Integer[] boxed = new Integer[values.length];
+        for (int i = 0; i < boxed.length; ++i) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (i1, i2) -> Double.compare(values[i1], values[i2]));
+        final int[] indices = new int[boxed.length];
+        for (int i = 0; i < indices.length; ++i) {
+            indices[i] = boxed[i];
+        }
+        return indices;
+    }
+
+    /**
+     * Compute a band of rows of a matrix product.
+     * @param a left matrix
+     * @param b right matrix
+     * @param product placeholder for the product
+     * @param start first row of the band (inclusive)
+     * @param end last row of the band (exclusive)
+     */
+    private static void multiply(final double[][] a, final double[][] b, final double[][] product,
+                                 final int start, final int end) {
+        for (int r = start; r < end; ++r) {
+            final double[] aRow = a[r];
+            final double[] pRow = product[r];
+            for (int j = 0; j < aRow.length; ++j) {
+                final double aRJ = aRow[j];
+                if (aRJ != 0) {
+                    // eigenvectors of the halves that were not rotated during
+                    // deflation have zeros in the other half, hence half of the
+                    // matrix is generally zero and skipping it saves half the work
+                    final double[] bRow = b[j];
+                    for (int c = 0; c < pRow.length; ++c) {
+                        pRow[c] += aRJ * bRow[c];
+                    }
+                }
+            }
+        }
+    }
+
+    /** Diagonalization of a tridiagonal matrix. */
+    private static class Diagonalization {
+
+        /** Eigenvalues. */
+        private final double[] lambda;
+
+        /** Eigenvectors, stored as the columns of a row-major array. */
+        private final double[][] q;
+
+        /** Simple constructor.
+         * @param lambda eigenvalues
+         * @param q eigenvectors, stored as the columns of a row-major array
+         */
+        Diagonalization(final double[] lambda, final double[][] q) {
+            this.lambda = lambda;
+            this.q      = q;
+        }
+
+    }
+
+    /** Task for solving a sub-problem. */
+    private class SolveTask extends RecursiveTask<Diagonalization> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Main diagonal. */
+        private final double[] d;
+
+        /** Secondary diagonal. */
+        private final double[] e;
+
+        /** Simple constructor.
+         * @param d main diagonal
+         * @param e secondary diagonal
+         */
+        SolveTask(final double[] d, final double[] e) {
+            this.d = d;
+            this.e = e;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Diagonalization compute() {
+            return solve(d, e);
+        }
+
+    }
+
+    /** Task for computing a band of rows of a matrix product. */
+    private static class ProductTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20251017L;
+
+        /** Left matrix. */
+        private final double[][] a;
+
+        /** Right matrix. */
+        private final double[][] b;
+
+        /** Placeholder for the product. */
+        private final double[][] product;
+
+        /** First row of the band (inclusive). */
+        private final int start;
+
+        /** Last row of the band (exclusive). */
+        private final int end;
+
+        /** Simple constructor.
+         * @param a left matrix
+         * @param b right matrix
+         * @param product placeholder for the product
+         * @param start first row of the band (inclusive)
+         * @param end last row of the band (exclusive)
+         */
+        ProductTask(final double[][] a, final double[][] b, final double[][] product,
+                    final int start, final int end) {
+            this.a       = a;
+            this.b       = b;
+            this.product = product;
+            this.start   = start;
+            this.end     = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= PARALLEL_SIZE / 4) {
+                multiply(a, b, product, start, end);
+            } else {
+                final int middle = (start + end) / 2;
+                invokeAll(new ProductTask(a, b, product, start, middle),
+                          new ProductTask(a, b, product, middle, end));
+            }
+        }
+
+    }
+
+}
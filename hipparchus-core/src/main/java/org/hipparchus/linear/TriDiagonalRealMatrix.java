@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.NullArgumentException;
+import org.hipparchus.util.MathUtils;
+
+/**
+ * Implementation of a square tridiagonal matrix.
+ * <p>
+ * This is a {@link BandedRealMatrix banded matrix} with one sub-diagonal and
+ * one super-diagonal, as produced for example by finite differences or cubic
+ * splines. Linear systems involving such matrices are solved in O(n) time by
+ * {@link BandedLUDecomposition} or {@link BandedCholeskyDecomposition}.
+ * </p>
+ * @since 4.1
+ */
+public class TriDiagonalRealMatrix extends BandedRealMatrix {
+
+    /** Serializable version identifier. */
+    private static final long serialVersionUID = 20251017L;
+
+    /**
+     * Creates a matrix with the supplied dimension.
+     * <p>All entries are initialized to zero.</p>
+     *
+     * @param dimension Number of rows and columns in the new matrix.
+     * @throws MathIllegalArgumentException if the dimension is not positive.
+     */
+    public TriDiagonalRealMatrix(final int dimension)
+        throws MathIllegalArgumentException {
+        super(dimension, 1, 1);
+    }
+
+    /**
+     * Creates a matrix from its three diagonals.
+     * <p>The input arrays are copied, not referenced.</p>
+     *
+     * @param subDiagonal entries (i + 1, i) below the main diagonal (dimension n - 1)
+     * @param diagonal entries (i, i) of the main diagonal (dimension n)
+     * @param superDiagonal entries (i, i + 1) above the main diagonal (dimension n - 1)
+     * @throws MathIllegalArgumentException if the dimensions of the arrays are inconsistent
+     * @throws NullArgumentException if any array is null
+     */
+    public TriDiagonalRealMatrix(final double[] subDiagonal, final double[] diagonal,
+                                 final double[] superDiagonal)
+        throws MathIllegalArgumentException, NullArgumentException {
+        super(dimension(diagonal), 1, 1, toBand(subDiagonal, diagonal, superDiagonal), false);
+    }
+
+    /** Creates a matrix from its band storage.
+     * @param dimension Number of rows and columns in the new matrix.
+     * @param band entries of the band, row by row (referenced, not copied)
+     */
+    private TriDiagonalRealMatrix(final int dimension, final double[] band) {
+        super(dimension, 1, 1, band, false);
+    }
+
+    /** Get the dimension of the matrix from its main diagonal.
+     * @param diagonal entries of the main diagonal
+     * @return dimension of the matrix
+     * @throws NullArgumentException if diagonal is null
+     */
+    private static int dimension(final double[] diagonal)
+        throws NullArgumentException {
+        MathUtils.checkNotNull(diagonal);
+        return diagonal.length;
+    }
+
+    /** Build band storage from diagonals.
+     * @param subDiagonal entries below the main diagonal
+     * @param diagonal entries of the main diagonal
+     * @param superDiagonal entries above the main diagonal
+     * @return band storage
+     * @throws MathIllegalArgumentException if the dimensions of the arrays are inconsistent
+     * @throws NullArgumentException if any array is null
+     */
+    private static double[] toBand(final double[] subDiagonal, final double[] diagonal,
+                                   final double[] superDiagonal)
+        throws MathIllegalArgumentException, NullArgumentException {
+        MathUtils.checkNotNull(subDiagonal);
+        MathUtils.checkNotNull(superDiagonal);
+        final int n = diagonal.length;
+        MathUtils.checkDimension(subDiagonal.length, n - 1);
+        MathUtils.checkDimension(superDiagonal.length, n - 1);
+        final double[] band = new double[3 * n];
+        for (int i = 0; i < n; ++i) {
+            if (i > 0) {
+                band[3 * i] = subDiagonal[i - 1];
+            }
+            band[3 * i + 1] = diagonal[i];
+            if (i < n - 1) {
+                band[3 * i + 2] = superDiagonal[i];
+            }
+        }
+        return band;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TriDiagonalRealMatrix copy() {
+        return new TriDiagonalRealMatrix(getRowDimension(), getDataRef().clone());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TriDiagonalRealMatrix transpose() {
+        return new TriDiagonalRealMatrix(getSuperDiagonal(), getDiagonal(), getSubDiagonal());
+    }
+
+    /** Get the entries below the main diagonal.
+     * @return entries (i + 1, i) below the main diagonal (dimension n - 1)
+     */
+    public double[] getSubDiagonal() {
+        return extract(3, getRowDimension() - 1);
+    }
+
+    /** Get the entries of the main diagonal.
+     * @return entries (i, i) of the main diagonal (dimension n)
+     */
+    public double[] getDiagonal() {
+        return extract(1, getRowDimension());
+    }
+
+    /** Get the entries above the main diagonal.
+     * @return entries (i, i + 1) above the main diagonal (dimension n - 1)
+     */
+    public double[] getSuperDiagonal() {
+        return extract(2, getRowDimension() - 1);
+    }
+
+    /** Extract one diagonal from the band storage.
+     * @param start index of the first entry in the band storage
+     * @param length number of entries to extract
+     * @return extracted diagonal
+     */
+    private double[] extract(final int start, final int length) {
+        final double[] band     = getDataRef();
+        final double[] diagonal = new double[length];
+        for (int i = 0; i < length; ++i) {
+            diagonal[i] = band[start + 3 * i];
+        }
+        return diagonal;
+    }
+
+}
@@ -136,6 +136,39 @@ class TriDiagonalTransformer {
         return cachedQt;
     }
 
+    /**
+     * Multiply vectors by the matrix Q of the transform, in place.
+     * <p>The Householder reflections are applied directly to the vectors,
+     * so Q is never built. Each reflection is applied to all vectors before
+     * the next one is considered, so it stays in cache. This costs
+     * O(m<sup>2</sup>) operations per vector, which is worth when only a few
+     * vectors need to be transformed or when groups of vectors are transformed
+     * concurrently.</p>
+     * @param vectors vectors to multiply, replaced by Q &times; x on return
+     * @param start index of the first vector to multiply (inclusive)
+     * @param end index of the last vector to multiply (exclusive)
+     */
+    void applyQ(final double[][] vectors, final int start, final int end) {
+        final int m = householderVectors.length;
+        for (int k = m - 1; k >= 1; --k) {
+            final double[] hK = householderVectors[k - 1];
+            if (hK[k] != 0.0) {
+                final double inv = 1.0 / (secondary[k - 1] * hK[k]);
+                for (int v = start; v < end; ++v) {
+                    final double[] x = vectors[v];
+                    double beta = 0;
+                    for (int i = k; i < m; ++i) {
+                        beta += hK[i] * x[i];
+                    }
+                    beta *= inv;
+                    for (int i = k; i < m; ++i) {
+                        x[i] += beta * hK[i];
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Returns the tridiagonal matrix T of the transform.
      * @return the T matrix
@@ -0,0 +1,466 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import java.util.Arrays;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
+
+/**
+ * QR-decomposition of a real matrix that can be updated when rows are
+ * inserted in or deleted from the matrix.
+ * <p>
+ * {@link QRDecomposition} stores Q implicitly as a product of Householder
+ * reflectors, which cannot be modified once computed. This class stores Q
+ * explicitly, so that inserting or deleting a row of the m &times; n
+ * decomposed matrix only requires Givens rotations, with amortized O(m n)
+ * operations for an insertion and O(m<sup>2</sup> + n<sup>2</sup>) operations
+ * for a deletion, instead of the O(m n<sup>2</sup>) operations of a new decomposition.
+ * This is well suited to recursive estimation and sliding window least squares,
+ * where observations are added and removed one at a time.
+ * </p>
+ * <p>
+ * The decomposition is mutable: {@link #insertRow(int, double[]) insertions} and
+ * {@link #deleteRow(int) deletions} change it in place, and solvers already retrieved
+ * from {@link #getSolver()} use the updated decomposition.
+ * </p>
+ * <p>
+ * As Q is stored explicitly, memory grows as m<sup>2</sup>, which is the price to pay
+ * for cheap updates. Q and R are updated in place, in arrays with spare capacity
+ * that grow geometrically when rows are inserted and are never shrunk, so sliding
+ * window updates alternating insertions and deletions do not allocate memory.
+ * </p>
+ *
+ * @see QRDecomposition
+ * @see <a href="http://mathworld.wolfram.com/QRDecomposition.html">MathWorld</a>
+ * @see <a href="http://en.wikipedia.org/wiki/QR_decomposition">Wikipedia</a>
+ * @since 4.1
+ */
+public class UpdatableQRDecomposition {
+
+    /** Singularity threshold. */
+    private final double threshold;
+
+    /** Number of columns of the decomposed matrix. */
+    private final int n;
+
+    /** Number of rows of the decomposed matrix. */
+    private int m;
+
+    /** Rows of the orthogonal matrix Q (only the leading m &times; m part is used). */
+    private double[][] q;
+
+    /** Rows of the upper trapezoidal matrix R (only the first m rows are used). */
+    private double[][] r;
+
+    /** Cached value of Q. */
+    private RealMatrix cachedQ;
+
+    /** Cached value of QT. */
+    private RealMatrix cachedQT;
+
+    /** Cached value of R. */
+    private RealMatrix cachedR;
+
+    /**
+     * Calculates the QR-decomposition of the given matrix.
+     * The singularity threshold defaults to zero.
+     *
+     * @param matrix The matrix to decompose.
+     *
+     * @see #UpdatableQRDecomposition(RealMatrix, double)
+     */
+    public UpdatableQRDecomposition(final RealMatrix matrix) {
+        this(matrix, 0.0);
+    }
+
+    /**
+     * Calculates the QR-decomposition of the given matrix.
+     *
+     * @param matrix The matrix to decompose.
+     * @param threshold Singularity threshold.
+     */
+    public UpdatableQRDecomposition(final RealMatrix matrix, final double threshold) {
+        final QRDecomposition qr = new QRDecomposition(matrix, threshold);
+        this.threshold = threshold;
+        this.n         = matrix.getColumnDimension();
+        this.m         = matrix.getRowDimension();
+        this.q         = qr.getQ().getData();
+        this.r         = qr.getR().getData();
+    }
+
+    /**
+     * Update the decomposition after a row has been appended to the matrix.
+     * @param row new row, appended after the existing rows
+     * @throws MathIllegalArgumentException if the row does not have the right dimension
+     * @see #insertRow(int, double[])
+     */
+    public void appendRow(final double[] row) {
+        insertRow(m, row);
+    }
+
+    /**
+     * Update the decomposition after a row has been inserted in the matrix.
+     * <p>
+     * The new row is rotated into R using one Givens rotation per column,
+     * and the rotations are accumulated into Q. Q and R are updated in place,
+     * storage being reallocated only when its spare capacity is exhausted.
+     * </p>
+     * @param index index of the new row in the updated matrix (between 0 and the current
+     * row dimension, included)
+     * @param row new row
+     * @throws MathIllegalArgumentException if the index is out of range or the row does
+     * not have the right dimension
+     */
+    public void insertRow(final int index, final double[] row) {
+
+        if (index < 0 || index > m) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.ROW_INDEX, index, 0, m);
+        }
+        if (row.length != n) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                   row.length, n);
+        }
+
+        // extend the decomposition: [A; row] = [Q 0; 0 1] [R; row]
+        ensureCapacity(m + 1);
+        for (int i = 0; i < m; ++i) {
+            q[i][m] = 0.0;
+        }
+        final double[] qNew = q[m];
+        Arrays.fill(qNew, 0, m, 0.0);
+        qNew[m] = 1.0;
+        r[m]    = row.clone();
+
+        // eliminate the new row
+        final double[] w = r[m];
+        for (int j = 0; j < FastMath.min(m, n); ++j) {
+            if (w[j] != 0) {
+                final double[] rJ  = r[j];
+                final double   rho = FastMath.hypot(rJ[j], w[j]);
+                final double   c   = rJ[j] / rho;
+                final double   s   = w[j]  / rho;
+                rJ[j] = rho;
+                w[j]  = 0;
+                for (int k = j + 1; k < n; ++k) {
+                    final double t1 = rJ[k];
+                    final double t2 = w[k];
+                    rJ[k] =  c * t1 + s * t2;
+                    w[k]  = -s * t1 + c * t2;
+                }
+                rotateColumns(q, m + 1, j, m, c, s);
+            }
+        }
+
+        // move the row of Q corresponding to the new row at its place
+        System.arraycopy(q, index, q, index + 1, m - index);
+        q[index] = qNew;
+
+        ++m;
+        clearCache();
+
+    }
+
+    /**
+     * Update the decomposition after a row has been deleted from the matrix.
+     * <p>
+     * The row of Q corresponding to the deleted row is reduced to a unit vector
+     * using Givens rotations from bottom to top, which turn R into an upper
+     * Hessenberg matrix whose first row is then dropped. Q and R are updated
+     * in place, and the storage released is kept for future insertions.
+     * </p>
+     * @param index index of the row to delete
+     * @throws MathIllegalArgumentException if the index is out of range
+     * or if the matrix has only one row
+     */
+    public void deleteRow(final int index) {
+
+        if (index < 0 || index >= m) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.ROW_INDEX, index, 0, m - 1);
+        }
+        if (m < 2) {
+            throw new MathIllegalArgumentException(LocalizedCoreFormats.INSUFFICIENT_DIMENSION, m - 1, 1);
+        }
+
+        // reduce the row of Q to a multiple of the first canonical vector
+        final double[] qIndex = q[index];
+        for (int i = m - 2; i >= 0; --i) {
+            if (qIndex[i + 1] != 0) {
+                final double rho = FastMath.hypot(qIndex[i], qIndex[i + 1]);
+                final double c   = qIndex[i]     / rho;
+                final double s   = qIndex[i + 1] / rho;
+                if (i < n) {
+                    final double[] rI  = r[i];
+                    final double[] rI1 = r[i + 1];
+                    for (int k = i; k < n; ++k) {
+                        final double t1 = rI[k];
+                        final double t2 = rI1[k];
+                        rI[k]  =  c * t1 + s * t2;
+                        rI1[k] = -s * t1 + c * t2;
+                    }
+                }
+                rotateColumns(q, m, i, i + 1, c, s);
+            }
+        }
+
+        // now Q = P [±1 0; 0 Q1] and R = [v; R1], drop the first column of Q and first row of R
+        System.arraycopy(q, index + 1, q, index, m - 1 - index);
+        q[m - 1] = qIndex;
+        for (int i = 0; i < m - 1; ++i) {
+            System.arraycopy(q[i], 1, q[i], 0, m - 1);
+        }
+        System.arraycopy(r, 1, r, 0, m - 1);
+        r[m - 1] = null;
+
+        --m;
+        clearCache();
+
+    }
+
+    /**
+     * Returns the matrix R of the decomposition.
+     * <p>R is an upper-triangular matrix</p>
+     * @return the R matrix
+     */
+    public RealMatrix getR() {
+        if (cachedR == null) {
+            cachedR = MatrixUtils.createRealMatrix(Arrays.copyOf(r, m));
+        }
+        return cachedR;
+    }
+
+    /**
+     * Returns the matrix Q of the decomposition.
+     * <p>Q is an orthogonal matrix</p>
+     * @return the Q matrix
+     */
+    public RealMatrix getQ() {
+        if (cachedQ == null) {
+            final double[][] data = new double[m][];
+            for (int i = 0; i < m; ++i) {
+                data[i] = Arrays.copyOf(q[i], m);
+            }
+            cachedQ = MatrixUtils.createRealMatrix(data);
+        }
+        return cachedQ;
+    }
+
+    /**
+     * Returns the transpose of the matrix Q of the decomposition.
+     * <p>Q is an orthogonal matrix</p>
+     * @return the transpose of the Q matrix, Q<sup>T</sup>
+     */
+    public RealMatrix getQT() {
+        if (cachedQT == null) {
+            cachedQT = getQ().transpose();
+        }
+        return cachedQT;
+    }
+
+    /**
+     * Get a solver for finding the A &times; X = B solution in least square sense.
+     * <p>
+     * Least Square sense means a solver can be computed for an overdetermined system,
+     * (i.e. a system with more equations than unknowns, which corresponds to a tall A
+     * matrix with more rows than columns). In any case, if the matrix is singular
+     * within the tolerance set at {@link #UpdatableQRDecomposition(RealMatrix, double)
+     * construction}, an error will be triggered when the {@link DecompositionSolver#solve(RealVector)
+     * solve} method will be called.
+     * </p>
+     * <p>
+     * The solver is backed by the decomposition, so it remains valid after rows
+     * have been inserted or deleted, as long as right hand sides have the updated
+     * row dimension.
+     * </p>
+     * @return a solver
+     */
+    public DecompositionSolver getSolver() {
+        return new Solver();
+    }
+
+    /**
+     * Ensure the storage can hold a decomposition with the specified number of rows.
+     * <p>
+     * Capacity grows geometrically, so the cost of reallocations is amortized over
+     * successive insertions.
+     * </p>
+     * @param rows number of rows to hold
+     */
+    private void ensureCapacity(final int rows) {
+        final int capacity = q.length;
+        if (rows > capacity) {
+            final int newCapacity = FastMath.max(rows, capacity + (capacity >> 1));
+            final double[][] newQ = new double[newCapacity][newCapacity];
+            for (int i = 0; i < m; ++i) {
+                System.arraycopy(q[i], 0, newQ[i], 0, m);
+            }
+            q = newQ;
+            r = Arrays.copyOf(r, newCapacity);
+        }
+    }
+
+    /** Clear the cached matrices. */
+    private void clearCache() {
+        cachedQ  = null;
+        cachedQT = null;
+        cachedR  = null;
+    }
+
+    /**
+     * Apply a Givens rotation to two columns of a matrix.
+     * @param rows rows of the matrix
+     * @param nbRows number of rows to rotate
+     * @param j1 index of the first column
+     * @param j2 index of the second column
+     * @param c cosine of the rotation
+     * @param s sine of the rotation
+     */
+    private static void rotateColumns(final double[][] rows, final int nbRows, final int j1, final int j2,
+                                      final double c, final double s) {
+        for (int i = 0; i < nbRows; ++i) {
+            final double[] row = rows[i];
+            final double t1 = row[j1];
+            final double t2 = row[j2];
+            row[j1] =  c * t1 + s * t2;
+            row[j2] = -s * t1 + c * t2;
+        }
+    }
+
+    /** Specialized solver. */
+    private class Solver implements DecompositionSolver {
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isNonSingular() {
+            if (m < n) {
+                return false;
+            }
+            for (int j = 0; j < n; ++j) {
+                if (FastMath.abs(r[j][j]) <= threshold) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealVector solve(final RealVector b) {
+            if (b.getDimension() != m) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getDimension(), m);
+            }
+            if (!isNonSingular()) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            // compute the first n components of Q^T b
+            final double[] y = new double[n];
+            for (int p = 0; p < m; ++p) {
+                final double   bP = b.getEntry(p);
+                final double[] qP = q[p];
+                for (int j = 0; j < n; ++j) {
+                    y[j] += qP[j] * bP;
+                }
+            }
+
+            // solve triangular system R.x = y
+            for (int j = n - 1; j >= 0; --j) {
+                final double[] rJ = r[j];
+                double sum = y[j];
+                for (int k = j + 1; k < n; ++k) {
+                    sum -= rJ[k] * y[k];
+                }
+                y[j] = sum / rJ[j];
+            }
+
+            return new ArrayRealVector(y, false);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RealMatrix solve(final RealMatrix b) {
+            if (b.getRowDimension() != m) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                       b.getRowDimension(), m);
+            }
+            if (!isNonSingular()) {
+                throw new MathIllegalArgumentException(LocalizedCoreFormats.SINGULAR_MATRIX);
+            }
+
+            // compute the first n rows of Q^T B
+            final int columns = b.getColumnDimension();
+            final double[][] y = new double[n][columns];
+            for (int p = 0; p < m; ++p) {
+                final double[] bP = b.getRow(p);
+                final double[] qP = q[p];
+                for (int j = 0; j < n; ++j) {
+                    final double   qPJ = qP[j];
+                    final double[] yJ  = y[j];
+                    for (int k = 0; k < columns; ++k) {
+                        yJ[k] += qPJ * bP[k];
+                    }
+                }
+            }
+
+            // solve triangular system R.X = Y
+            for (int j = n - 1; j >= 0; --j) {
+                final double[] rJ = r[j];
+                final double[] yJ = y[j];
+                for (int i = j + 1; i < n; ++i) {
+                    final double   rJI = rJ[i];
+                    final double[] yI  = y[i];
+                    for (int k = 0; k < columns; ++k) {
+                        yJ[k] -= rJI * yI[k];
+                    }
+                }
+                final double inv = 1.0 / rJ[j];
+                for (int k = 0; k < columns; ++k) {
+                    yJ[k] *= inv;
+                }
+            }
+
+            return new Array2DRowRealMatrix(y, false);
+        }
+
+        /**
+         * {@inheritDoc}
+         * @throws MathIllegalArgumentException if the decomposed matrix is singular.
+         */
+        @Override
+        public RealMatrix getInverse() {
+            return solve(MatrixUtils.createRealIdentityMatrix(m));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getRowDimension() {
+            return m;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getColumnDimension() {
+            return n;
+        }
+
+    }
+
+}
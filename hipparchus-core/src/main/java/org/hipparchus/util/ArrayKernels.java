@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.util;
+
+/**
+ * Low level kernels for the hot loops of dense array operations.
+ * <p>
+ * This class gathers the innermost loops of {@link MathArrays#linearCombination(double[], double[])},
+ * {@link org.hipparchus.linear.ArrayRealVector#dotProduct(org.hipparchus.linear.RealVector)},
+ * {@link org.hipparchus.linear.BlockRealMatrix#multiply(org.hipparchus.linear.BlockRealMatrix)}
+ * and the sum statistics. The implementation shipped for Java 8 is the plain scalar code.
+ * The Hipparchus core jar is a multi-release jar which also contains a Java 17 version
+ * of this class. When the {@code jdk.incubator.vector} module is available at run time
+ * (i.e. when the JVM is started with {@code --add-modules jdk.incubator.vector}), this
+ * version uses SIMD instructions (and fused multiply-add for dot products), otherwise it
+ * falls back to the scalar code. {@link #getImplementation()} tells which implementation is in use.
+ * </p>
+ * <p>
+ * The vectorized {@link #dotProduct(double[], int, double[], int, int) dot product} and
+ * {@link #sum(double[], int, int) sum} may give results that differ from the scalar ones
+ * in the last bits, as the order of operations and the intermediate roundings are not the same.
+ * {@link #linearCombination(double[], double[])} and {@link #multiplyAdd(double[], double[],
+ * double[], int, int, int) multiplyAdd} perform exactly the same operations in each SIMD lane
+ * as the scalar code, so their results are identical in both cases.
+ * </p>
+ * <p>
+ * No argument checking is performed by these methods, the callers are responsible for
+ * providing consistent indices.
+ * </p>
+ * @since 4.1
+ */
+public final class ArrayKernels {
+
+    /** Private constructor for a utility class. */
+    private ArrayKernels() {
+        // nothing to do
+    }
+
+    /** Get the name of the implementation in use.
+     * @return name of the implementation in use, either "scalar" or "vector"
+     */
+    public static String getImplementation() {
+        return "scalar";
+    }
+
+    /** Compute the dot product of two arrays segments.
+     * @param a first array
+     * @param aOffset index of the first element to use in {@code a}
+     * @param b second array
+     * @param bOffset index of the first element to use in {@code b}
+     * @param length number of elements to use
+     * @return &sum; a[aOffset + i] &times; b[bOffset + i]
+     */
+    public static double dotProduct(final double[] a, final int aOffset,
+                                    final double[] b, final int bOffset,
+                                    final int length) {
+        return ScalarArrayKernels.dotProduct(a, aOffset, b, bOffset, length);
+    }
+
+    /** Compute the sum of an array segment.
+     * @param values array
+     * @param begin index of the first element to use
+     * @param length number of elements to use
+     * @return &sum; values[begin + i]
+     */
+    public static double sum(final double[] values, final int begin, final int length) {
+        return ScalarArrayKernels.sum(values, begin, length);
+    }
+
+    /** Compute a dot product accurately.
+     * <p>
+     * This is the compensated dot product algorithm {@code Dot2} from the 2005 paper
+     * Accurate Sum and Dot Product by Takeshi Ogita, Siegfried M. Rump, and Shin'ichi Oishi.
+     * </p>
+     * @param a first array
+     * @param b second array, with the same length as {@code a}, at least 2
+     * @return &sum; a[i] &times; b[i], computed as if with twice the working precision
+     */
+    public static double linearCombination(final double[] a, final double[] b) {
+        return ScalarArrayKernels.linearCombination(a, b);
+    }
+
+    /** Multiply two row-major matrices stored in flat arrays and add the product to a third one.
+     * <p>
+     * This method computes c &larr; c + a &times; b where a is a rows &times; inner matrix,
+     * b is an inner &times; columns matrix and c is a rows &times; columns matrix, all of them
+     * stored row by row as in the blocks of {@link org.hipparchus.linear.BlockRealMatrix}.
+     * </p>
+     * @param a left operand
+     * @param b right operand
+     * @param c matrix to which product is added
+     * @param rows number of rows of {@code a} and {@code c}
+     * @param inner number of columns of {@code a} and rows of {@code b}
+     * @param columns number of columns of {@code b} and {@code c}
+     */
+    public static void multiplyAdd(final double[] a, final double[] b, final double[] c,
+                                   final int rows, final int inner, final int columns) {
+        ScalarArrayKernels.multiplyAdd(a, b, c, rows, inner, columns);
+    }
+
+}
@@ -23,6 +23,7 @@ package org.hipparchus.util;
 
 import org.hipparchus.CalculusFieldElement;
 import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
 
 /**
@@ -360,6 +361,24 @@ public class FastMath {
     /** Constant: {@value}. */
     private static final double F_1_4 = 1d / 4d;
 
+    /** Largest magnitude of arguments handled by the array exponential kernel: {@value}. */
+    private static final double EXP_ARRAY_MAX = 708.0;
+
+    /** Number of table entries per power of two in the array exponential kernel: {@value}. */
+    private static final int EXP2_FRAC_LEN = 128;
+
+    /** 2^52 + 2^51, adding it rounds to nearest integer: {@value}. */
+    private static final double EXP_ARRAY_SHIFT = 6755399441055744.0;
+
+    /** 128 / ln(2): {@value}. */
+    private static final double EXP_ARRAY_INV_LN_2 = 184.6649652337873;
+
+    /** High order bits of ln(2) / 128, multiples up to 2^17 are exact: {@value}. */
+    private static final double EXP_ARRAY_LN_2_A = 0.0054152123482253955;
+
+    /** Low order bits of ln(2) / 128: {@value}. */
+    private static final double EXP_ARRAY_LN_2_B = -1.0082281460997769e-13;
+
     /**
      * Private Constructor
      */
@@ -1078,6 +1097,59 @@ public class FastMath {
         return exp(x, 0.0, null);
     }
 
+    /** Computes exp(x) for a range of array elements.
+     * <p>
+     * Arguments are reduced as x = (128 k + j) ln(2) / 128 + r with |r| &le; ln(2) / 256,
+     * and the result is 2<sup>k</sup> 2<sup>j/128</sup> exp(r), where 2<sup>j/128</sup>
+     * comes from a table, exp(r) from a fifth degree polynomial and 2<sup>k</sup>
+     * is applied directly to the exponent bits. The loop body is straight-line
+     * code without data-dependent branches for |x| &le; 708, other arguments
+     * (including overflow, underflow and NaN) fall back to {@link #exp(double)}.
+     * </p>
+     * <p>
+     * Accuracy: errors are below 0.51 ULP, as for {@link #exp(double)}, but
+     * results may differ from the scalar method by one ULP for some arguments.
+     * </p>
+     * @param in arguments
+     * @param out array where to store the results (may be {@code in} itself)
+     * @param from index of the first element to process, in both arrays
+     * @param len number of elements to process
+     * @exception MathIllegalArgumentException if the range does not fit in the arrays
+     * @since 4.1
+     */
+    public static void exp(final double[] in, final double[] out, final int from, final int len)
+        throws MathIllegalArgumentException {
+        checkArrayRange(in, out, from, len);
+        final long[]   scaleBits = Exp2FracTable.EXP2_FRAC_BITS;
+        final double[] tail      = Exp2FracTable.EXP2_FRAC_TAIL;
+        for (int i = from; i < from + len; ++i) {
+            final double x = in[i];
+            if (!(abs(x) <= EXP_ARRAY_MAX)) {
+                out[i] = exp(x, 0.0, null);
+                continue;
+            }
+
+            // x = n ln(2) / 128 + r, with n = 128 k + j rounded to nearest
+            final double nd = x * EXP_ARRAY_INV_LN_2 + EXP_ARRAY_SHIFT;
+            final long   n  = Double.doubleToRawLongBits(nd);
+            final double kd = nd - EXP_ARRAY_SHIFT;
+            final double r  = x - kd * EXP_ARRAY_LN_2_A - kd * EXP_ARRAY_LN_2_B;
+
+            // 2^k 2^(j/128), the shift drops the high bits of EXP_ARRAY_SHIFT and keeps k + j/128
+            final int    j     = (int) n & (EXP2_FRAC_LEN - 1);
+            final double scale = Double.longBitsToDouble(scaleBits[j] + (n << 45));
+
+            // exp(r) - 1, combined with the relative error of the table entry
+            final double r2 = r * r;
+            final double p  = tail[j] + r +
+                              r2 * (F_1_2 + r * (1.0 / 6.0)) +
+                              r2 * r2 * (1.0 / 24.0 + r * (1.0 / 120.0));
+
+            out[i] = scale + scale * p;
+
+        }
+    }
+
     /**
      * Internal helper method for exponential function.
      * @param x original argument of the exponential function
@@ -5562,6 +5634,28 @@ public class FastMath {
         }
     }
 
+    /** Enclose data table in nested static class so it's only loaded on first access. */
+    private static class Exp2FracTable {
+        /** Bits of 2^(x/128) rounded to double, minus x shifted to the exponent position
+         * (adding (128 k + x) &lt;&lt; 45 to these bits gives the bits of 2^(k + x/128)).
+         */
+        private static final long[] EXP2_FRAC_BITS;
+        /** Relative error of the rounded table entries,
+         * 2^(x/128) = longBitsToDouble(EXP2_FRAC_BITS[x] + (x &lt;&lt; 45)) * (1 + EXP2_FRAC_TAIL[x]).
+         */
+        private static final double[] EXP2_FRAC_TAIL;
+
+        static {
+            final double[][] exp2Frac = FastMathLiteralArrays.loadExp2Frac();
+            EXP2_FRAC_BITS = new long[EXP2_FRAC_LEN];
+            EXP2_FRAC_TAIL = new double[EXP2_FRAC_LEN];
+            for (int i = 0; i < EXP2_FRAC_LEN; ++i) {
+                EXP2_FRAC_BITS[i] = Double.doubleToRawLongBits(exp2Frac[i][0]) - (((long) i) << 45);
+                EXP2_FRAC_TAIL[i] = exp2Frac[i][1];
+            }
+        }
+    }
+
     /** Enclose large data table in nested static class so it's only loaded on first access. */
     private static class lnMant {
         /** Extended precision logarithm table over the range 1 - 2 in increments of 2^-10. */
@@ -5582,6 +5676,19 @@ public class FastMath {
         }
     }
 
+    /** Check a range fits in input and output arrays of bulk methods.
+     * @param in input array
+     * @param out output array
+     * @param from index of the first element of the range
+     * @param len number of elements of the range
+     * @exception MathIllegalArgumentException if the range does not fit in the arrays
+     */
+    private static void checkArrayRange(final double[] in, final double[] out, final int from, final int len)
+        throws MathIllegalArgumentException {
+        MathArrays.verifyValues(in, from, len, true);
+        MathArrays.verifyValues(out, from, len, true);
+    }
+
     /** Enclose the Cody/Waite reduction (used in "sin", "cos" and "tan"). */
     private static class CodyWaite {
         /** k */
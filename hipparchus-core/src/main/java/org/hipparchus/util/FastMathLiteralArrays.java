@@ -6131,6 +6131,140 @@ class FastMathLiteralArrays {
     };
 
 
+    /** Powers of two over the range 0 - 1 in increments of 2^-7,
+     * 2^(x/128) = exp2FracA[x] * (1 + exp2FracB[x]).
+     */
+    private static final double[][] EXP2_FRAC = {
+      {+1.0d,                  +0.0d,                  }, // 0
+      {+1.0054299011128027d,   +9.447885451727066E-17d,}, // 1
+      {+1.0108892860517005d,   -1.507066976926039E-17d,}, // 2
+      {+1.016378314910953d,    -5.679155082825012E-17d,}, // 3
+      {+1.0218971486541166d,   +4.9997448722726326E-17d,}, // 4
+      {+1.0274459491187637d,   -4.823683599994895E-17d,}, // 5
+      {+1.0330248790212284d,   +7.357846871247418E-18d,}, // 6
+      {+1.0386341019613787d,   +5.773230223741951E-17d,}, // 7
+      {+1.0442737824274138d,   +8.189317638195515E-17d,}, // 8
+      {+1.0499440858006872d,   +5.326891139980878E-17d,}, // 9
+      {+1.0556451783605572d,   +1.6665881442326747E-18d,}, // 10
+      {+1.061377227289262d,    -1.128113245461828E-17d,}, // 11
+      {+1.0671404006768237d,   -7.402825309426177E-17d,}, // 12
+      {+1.0729348675259756d,   -3.578659767309563E-18d,}, // 13
+      {+1.0787607977571199d,   -6.170654745608695E-17d,}, // 14
+      {+1.0846183622133092d,   +2.919139999949279E-17d,}, // 15
+      {+1.0905077326652577d,   -2.7939114859515733E-17d,}, // 16
+      {+1.0964290818163769d,   -5.399285355184285E-17d,}, // 17
+      {+1.102382583307841d,    +4.776959425256223E-17d,}, // 18
+      {+1.1083684117236787d,   -7.927701432338473E-17d,}, // 19
+      {+1.1143867425958924d,   +9.341710609905046E-17d,}, // 20
+      {+1.1204377524096067d,   -5.534520675707472E-17d,}, // 21
+      {+1.1265216186082418d,   +4.585670326662351E-17d,}, // 22
+      {+1.1326385195987192d,   +2.8582430411116143E-17d,}, // 23
+      {+1.1387886347566916d,   +7.826573258636076E-17d,}, // 24
+      {+1.1449721444318042d,   +4.053626906769216E-17d,}, // 25
+      {+1.1511892299529827d,   +2.823784425951061E-17d,}, // 26
+      {+1.1574400736337511d,   -7.882802262487991E-17d,}, // 27
+      {+1.1637248587775775d,   +3.2904726646008416E-17d,}, // 28
+      {+1.1700437696832502d,   -1.5792094703347882E-18d,}, // 29
+      {+1.1763969916502812d,   +4.721368121170128E-17d,}, // 30
+      {+1.182784710984341d,    +1.3045277096919659E-17d,}, // 31
+      {+1.189207115002721d,    +3.3484623336251524E-17d,}, // 32
+      {+1.1956643920398273d,   +3.8611199774925664E-17d,}, // 33
+      {+1.202156731452703d,    +5.527550048505249E-17d,}, // 34
+      {+1.2086843236265816d,   -3.927184172445234E-17d,}, // 35
+      {+1.215247359980469d,    -6.346552106729483E-17d,}, // 36
+      {+1.2218460329727576d,   -8.684417614865944E-17d,}, // 37
+      {+1.22848053610687d,     -1.5456342819397733E-17d,}, // 38
+      {+1.2351510639369334d,   -8.70763476495455E-17d, }, // 39
+      {+1.241857812073484d,    +3.750854201303127E-17d,}, // 40
+      {+1.2486009771892048d,   -6.616854503526488E-17d,}, // 41
+      {+1.255380757024691d,    -5.346099009198751E-18d,}, // 42
+      {+1.2621973503942507d,   -2.443726321015018E-17d,}, // 43
+      {+1.2690509571917332d,   +2.1023049675215714E-18d,}, // 44
+      {+1.275941778396392d,    +7.771067937501065E-17d,}, // 45
+      {+1.2828700160787783d,   +1.3357510088834541E-17d,}, // 46
+      {+1.2898358734066657d,   +6.938291696959204E-17d,}, // 47
+      {+1.2968395546510096d,   +1.9572585293112036E-17d,}, // 48
+      {+1.3038812651919358d,   +6.632256961675804E-17d,}, // 49
+      {+1.3109612115247644d,   -5.478069123926778E-17d,}, // 50
+      {+1.318079601266064d,    -4.140839310392624E-17d,}, // 51
+      {+1.3252366431597413d,   -2.1571477251208752E-17d,}, // 52
+      {+1.3324325470831615d,   -3.8287766552120535E-17d,}, // 53
+      {+1.339667524053303d,    +6.663804589232195E-17d,}, // 54
+      {+1.3469417862329458d,   +2.3936187400285282E-17d,}, // 55
+      {+1.3542555469368927d,   +5.68648095791174E-17d, }, // 56
+      {+1.3616090206382248d,   +1.1264523354521684E-18d,}, // 57
+      {+1.3690024229745905d,   +7.007875046906994E-17d,}, // 58
+      {+1.3764359707545302d,   -5.0119214278381254E-17d,}, // 59
+      {+1.383909881963832d,    -4.8923067513522756E-17d,}, // 60
+      {+1.3914243757719262d,   -3.5260089953269434E-17d,}, // 61
+      {+1.3989796725383112d,   -6.872303720902018E-17d,}, // 62
+      {+1.4065759938190154d,   +5.001446664133532E-18d,}, // 63
+      {+1.4142135623730951d,   -6.835808657661922E-17d,}, // 64
+      {+1.4218926021691656d,   -1.1307344092910212E-17d,}, // 65
+      {+1.42961333839197d,     -8.416011634717156E-18d,}, // 66
+      {+1.4373759974489824d,   -2.9247977035436566E-17d,}, // 67
+      {+1.4451808069770467d,   -2.092304381843353E-17d,}, // 68
+      {+1.4530279958490526d,   -3.9778645875427124E-17d,}, // 69
+      {+1.460917794180647d,    -3.833464968654295E-17d,}, // 70
+      {+1.4688504333369818d,   +5.763611164480894E-17d,}, // 71
+      {+1.4768261459394993d,   -2.3591094770850053E-17d,}, // 72
+      {+1.4848451658727524d,   +7.260074661098575E-17d,}, // 73
+      {+1.4929077282912648d,   +9.50689710108796E-18d, }, // 74
+      {+1.5010140696264256d,   -4.272956133839906E-17d,}, // 75
+      {+1.5091644275934228d,   -6.735219232374683E-17d,}, // 76
+      {+1.5173590411982147d,   -2.8396044410430936E-17d,}, // 77
+      {+1.5255981507445384d,   -7.226635472101257E-17d,}, // 78
+      {+1.533881997840956d,    +5.786121003395918E-17d,}, // 79
+      {+1.5422108254079407d,   +5.1548301170786783E-17d,}, // 80
+      {+1.550584877685d,       -9.416257568878152E-18d,}, // 81
+      {+1.559004400237837d,    +2.4253985766689806E-17d,}, // 82
+      {+1.567469639965553d,    -6.604314051707707E-17d,}, // 83
+      {+1.5759808451078865d,   -6.432131775424189E-18d,}, // 84
+      {+1.5845382652524937d,   -1.2204007601863921E-17d,}, // 85
+      {+1.593142151342267d,    -6.336161863401293E-17d,}, // 86
+      {+1.6017927556826934d,   -3.7800879246373815E-17d,}, // 87
+      {+1.6104903319492543d,   +1.5341410053603723E-17d,}, // 88
+      {+1.6192351351948637d,   +1.2932855580427452E-17d,}, // 89
+      {+1.6280274218573478d,   -4.123367330661149E-17d,}, // 90
+      {+1.6368674497669644d,   +4.703083974463456E-17d,}, // 91
+      {+1.645755478153965d,    -6.152602891550265E-17d,}, // 92
+      {+1.6546917676561943d,   +5.827849326195279E-17d,}, // 93
+      {+1.6636765803267364d,   +3.540948262646183E-17d,}, // 94
+      {+1.6727101796415966d,   -3.2741571320938764E-17d,}, // 95
+      {+1.681792830507429d,    +4.875160526227062E-17d,}, // 96
+      {+1.6909247992693053d,   -5.718569790077838E-17d,}, // 97
+      {+1.7001063537185235d,   -4.719539664590972E-18d,}, // 98
+      {+1.709337763100463d,    -5.773451958805706E-17d,}, // 99
+      {+1.718619298122478d,    -1.0772487078934056E-17d,}, // 100
+      {+1.7279512309618377d,   -6.221808618533911E-17d,}, // 101
+      {+1.7373338352737062d,   +1.821405440362259E-17d,}, // 102
+      {+1.746767386199169d,    -6.155536546227639E-17d,}, // 103
+      {+1.7562521603732995d,   +1.685487290628973E-17d,}, // 104
+      {+1.7657884359332727d,   +5.3581249177694816E-17d,}, // 105
+      {+1.7753764925265212d,   +3.621615935336894E-17d,}, // 106
+      {+1.785016611318935d,    +8.588379527574144E-18d,}, // 107
+      {+1.7947090750031072d,   +1.01562190116415E-17d, }, // 108
+      {+1.804454167806624d,    -2.869134889187244E-17d,}, // 109
+      {+1.8142521755003989d,   -5.495118966122005E-17d,}, // 110
+      {+1.8241033854070534d,   -5.56965572431627E-17d, }, // 111
+      {+1.8340080864093424d,   +1.790126907604513E-17d,}, // 112
+      {+1.843966568958626d,    -3.2211766346200164E-17d,}, // 113
+      {+1.8539791250833855d,   +5.265370768556274E-17d,}, // 114
+      {+1.864046048397789d,    +3.5089866402403033E-17d,}, // 115
+      {+1.8741676341103d,      -3.266924100901318E-17d,}, // 116
+      {+1.8843441790323345d,   -4.3657593008079375E-17d,}, // 117
+      {+1.8945759815869656d,   +1.7963932659833022E-17d,}, // 118
+      {+1.9048633418176741d,   +3.4300925275214166E-17d,}, // 119
+      {+1.9152065613971474d,   -5.545065618639427E-17d,}, // 120
+      {+1.925605943636125d,    -5.149009745457733E-17d,}, // 121
+      {+1.9360617934922943d,   +5.336805878514151E-17d,}, // 122
+      {+1.9465744175792332d,   +3.498978661192973E-17d,}, // 123
+      {+1.9571441241754002d,   +4.5784915277060095E-17d,}, // 124
+      {+1.9677712232331759d,   -5.241934575393899E-17d,}, // 125
+      {+1.978456026387951d,    +2.0414278897578303E-17d,}, // 126
+      {+1.9891988469672663d,   +4.124842848606488E-18d,}, // 127
+    };
+
     /**
      * Class contains only static methods.
      */
@@ -6176,4 +6310,12 @@ class FastMathLiteralArrays {
     static double[][] loadLnMant() {
         return LN_MANT.clone();
     }
+    /**
+     * Load "EXP2_FRAC".
+     *
+     * @return a clone of the data array.
+     */
+    static double[][] loadExp2Frac() {
+        return EXP2_FRAC.clone();
+    }
 }
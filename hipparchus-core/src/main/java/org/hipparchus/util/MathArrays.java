@@ -1044,54 +1044,7 @@ public class MathArrays {
             return a[0] * b[0];
         }
 
-        final double[] prodHigh = new double[len];
-        double prodLowSum = 0;
-
-        for (int i = 0; i < len; i++) {
-            final double ai    = a[i];
-            final double aHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(ai) & ((-1L) << 27));
-            final double aLow  = ai - aHigh;
-
-            final double bi    = b[i];
-            final double bHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(bi) & ((-1L) << 27));
-            final double bLow  = bi - bHigh;
-            prodHigh[i] = ai * bi;
-            final double prodLow = aLow * bLow - (((prodHigh[i] -
-                                                    aHigh * bHigh) -
-                                                   aLow * bHigh) -
-                                                  aHigh * bLow);
-            prodLowSum += prodLow;
-        }
-
-
-        final double prodHighCur = prodHigh[0];
-        double prodHighNext = prodHigh[1];
-        double sHighPrev = prodHighCur + prodHighNext;
-        double sPrime = sHighPrev - prodHighNext;
-        double sLowSum = (prodHighNext - (sHighPrev - sPrime)) + (prodHighCur - sPrime);
-
-        final int lenMinusOne = len - 1;
-        for (int i = 1; i < lenMinusOne; i++) {
-            prodHighNext = prodHigh[i + 1];
-            final double sHighCur = sHighPrev + prodHighNext;
-            sPrime = sHighCur - prodHighNext;
-            sLowSum += (prodHighNext - (sHighCur - sPrime)) + (sHighPrev - sPrime);
-            sHighPrev = sHighCur;
-        }
-
-        double result = sHighPrev + (prodLowSum + sLowSum);
-
-        if (Double.isNaN(result) || result == 0.0) {
-            // either we have split infinite numbers or some coefficients were NaNs or signed zeros,
-            // just rely on the naive implementation and let IEEE754 handle this
-            // we do this for zeros too as we want to preserve the sign of zero (see issue #76)
-            result = a[0] * b[0];
-            for (int i = 1; i < len; ++i) {
-                result += a[i] * b[i];
-            }
-        }
-
-        return result;
+        return ArrayKernels.linearCombination(a, b);
     }
 
     /**
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.util;
+
+/**
+ * Scalar implementation of the {@link ArrayKernels array kernels}.
+ * @since 4.1
+ */
+final class ScalarArrayKernels {
+
+    /** Private constructor for a utility class. */
+    private ScalarArrayKernels() {
+        // nothing to do
+    }
+
+    /** Compute the dot product of two arrays segments.
+     * @param a first array
+     * @param aOffset index of the first element to use in {@code a}
+     * @param b second array
+     * @param bOffset index of the first element to use in {@code b}
+     * @param length number of elements to use
+     * @return &sum; a[aOffset + i] &times; b[bOffset + i]
+     */
+    static double dotProduct(final double[] a, final int aOffset,
+                             final double[] b, final int bOffset,
+                             final int length) {
+        double dot = 0;
+        for (int i = 0; i < length; i++) {
+            dot += a[aOffset + i] * b[bOffset + i];
+        }
+        return dot;
+    }
+
+    /** Compute the sum of an array segment.
+     * @param values array
+     * @param begin index of the first element to use
+     * @param length number of elements to use
+     * @return &sum; values[begin + i]
+     */
+    static double sum(final double[] values, final int begin, final int length) {
+        double sum = 0.0;
+        for (int i = begin; i < begin + length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /** Compute a dot product accurately.
+     * <p>
+     * This is the compensated dot product algorithm {@code Dot2} from the 2005 paper
+     * Accurate Sum and Dot Product by Takeshi Ogita, Siegfried M. Rump, and Shin'ichi Oishi.
+     * </p>
+     * @param a first array
+     * @param b second array, with the same length as {@code a}, at least 2
+     * @return &sum; a[i] &times; b[i], computed as if with twice the working precision
+     */
+    static double linearCombination(final double[] a, final double[] b) {
+
+        final int len = a.length;
+        final double[] prodHigh = new double[len];
+        double prodLowSum = 0;
+
+        for (int i = 0; i < len; i++) {
+            final double ai    = a[i];
+            final double aHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(ai) & ((-1L) << 27));
+            final double aLow  = ai - aHigh;
+
+            final double bi    = b[i];
+            final double bHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(bi) & ((-1L) << 27));
+            final double bLow  = bi - bHigh;
+            prodHigh[i] = ai * bi;
+            final double prodLow = aLow * bLow - (((prodHigh[i] -
+                                                    aHigh * bHigh) -
+                                                   aLow * bHigh) -
+                                                  aHigh * bLow);
+            prodLowSum += prodLow;
+        }
+
+        return sumProducts(a, b, prodHigh, prodLowSum);
+
+    }
+
+    /** Compensated summation of the high parts of products.
+     * @param a first array
+     * @param b second array
+     * @param prodHigh high parts of the products a[i] &times; b[i]
+     * @param prodLowSum sum of the low parts of the products
+     * @return accurate sum of the products
+     */
+    static double sumProducts(final double[] a, final double[] b,
+                              final double[] prodHigh, final double prodLowSum) {
+
+        final int len = prodHigh.length;
+        final double prodHighCur = prodHigh[0];
+        double prodHighNext = prodHigh[1];
+        double sHighPrev = prodHighCur + prodHighNext;
+        double sPrime = sHighPrev - prodHighNext;
+        double sLowSum = (prodHighNext - (sHighPrev - sPrime)) + (prodHighCur - sPrime);
+
+        final int lenMinusOne = len - 1;
+        for (int i = 1; i < lenMinusOne; i++) {
+            prodHighNext = prodHigh[i + 1];
+            final double sHighCur = sHighPrev + prodHighNext;
+            sPrime = sHighCur - prodHighNext;
+            sLowSum += (prodHighNext - (sHighCur - sPrime)) + (sHighPrev - sPrime);
+            sHighPrev = sHighCur;
+        }
+
+        double result = sHighPrev + (prodLowSum + sLowSum);
+
+        if (Double.isNaN(result) || result == 0.0) {
+            // either we have split infinite numbers or some coefficients were NaNs or signed zeros,
+            // just rely on the naive implementation and let IEEE754 handle this
+            // we do this for zeros too as we want to preserve the sign of zero (see issue #76)
+            result = a[0] * b[0];
+            for (int i = 1; i < len; ++i) {
+                result += a[i] * b[i];
+            }
+        }
+
+        return result;
+
+    }
+
+    /** Multiply two row-major matrices stored in flat arrays and add the product to a third one.
+     * <p>
+     * This method computes c &larr; c + a &times; b where a is a rows &times; inner matrix,
+     * b is an inner &times; columns matrix and c is a rows &times; columns matrix, all of them
+     * stored row by row as in the blocks of {@link org.hipparchus.linear.BlockRealMatrix}.
+     * </p>
+     * @param a left operand
+     * @param b right operand
+     * @param c matrix to which product is added
+     * @param rows number of rows of {@code a} and {@code c}
+     * @param inner number of columns of {@code a} and rows of {@code b}
+     * @param columns number of columns of {@code b} and {@code c}
+     */
+    static void multiplyAdd(final double[] a, final double[] b, final double[] c,
+                            final int rows, final int inner, final int columns) {
+        final int columns2 = columns  + columns;
+        final int columns3 = columns2 + columns;
+        final int columns4 = columns3 + columns;
+        int k = 0;
+        for (int p = 0; p < rows; ++p) {
+            final int lStart = p * inner;
+            final int lEnd   = lStart + inner;
+            for (int nStart = 0; nStart < columns; ++nStart) {
+                double sum = 0;
+                int l = lStart;
+                int n = nStart;
+                while (l < lEnd - 3) {
+                    sum += a[l] * b[n] +
+                           a[l + 1] * b[n + columns] +
+                           a[l + 2] * b[n + columns2] +
+                           a[l + 3] * b[n + columns3];
+                    l += 4;
+                    n += columns4;
+                }
+                while (l < lEnd) {
+                    sum += a[l++] * b[n];
+                    n += columns;
+                }
+                c[k] += sum;
+                ++k;
+            }
+        }
+    }
+
+}
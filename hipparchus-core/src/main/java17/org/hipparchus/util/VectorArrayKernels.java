@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of the {@link ArrayKernels array kernels}, based on the vector API.
+ * <p>
+ * This class must be loaded only if the {@code jdk.incubator.vector} module is available.
+ * </p>
+ * @since 4.1
+ */
+final class VectorArrayKernels {
+
+    /** Preferred species for the platform. */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /** Mask for splitting doubles in high and low parts. */
+    private static final long SPLIT_MASK = (-1L) << 27;
+
+    /** Private constructor for a utility class. */
+    private VectorArrayKernels() {
+        // nothing to do
+    }
+
+    /** Get the number of lanes of the preferred species.
+     * @return number of lanes of the preferred species
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /** Compute the dot product of two arrays segments.
+     * @param a first array
+     * @param aOffset index of the first element to use in {@code a}
+     * @param b second array
+     * @param bOffset index of the first element to use in {@code b}
+     * @param length number of elements to use
+     * @return &sum; a[aOffset + i] &times; b[bOffset + i]
+     */
+    static double dotProduct(final double[] a, final int aOffset,
+                             final double[] b, final int bOffset,
+                             final int length) {
+        final int bound = SPECIES.loopBound(length);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final DoubleVector va = DoubleVector.fromArray(SPECIES, a, aOffset + i);
+            final DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+        double dot = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; ++i) {
+            dot = Math.fma(a[aOffset + i], b[bOffset + i], dot);
+        }
+        return dot;
+    }
+
+    /** Compute the sum of an array segment.
+     * @param values array
+     * @param begin index of the first element to use
+     * @param length number of elements to use
+     * @return &sum; values[begin + i]
+     */
+    static double sum(final double[] values, final int begin, final int length) {
+        final int bound = SPECIES.loopBound(length);
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, values, begin + i));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; ++i) {
+            sum += values[begin + i];
+        }
+        return sum;
+    }
+
+    /** Compute a dot product accurately.
+     * <p>
+     * The products and their rounding errors are computed with SIMD instructions, using
+     * the same Dekker splitting as the scalar implementation, and the errors are summed
+     * in the same order. The result is therefore identical to the scalar one, which keeps
+     * {@link MathArrays#linearCombination(double[], double[])} consistent with the fixed
+     * size linear combinations.
+     * </p>
+     * @param a first array
+     * @param b second array, with the same length as {@code a}, at least 2
+     * @return &sum; a[i] &times; b[i], computed as if with twice the working precision
+     */
+    static double linearCombination(final double[] a, final double[] b) {
+
+        final int len = a.length;
+        final double[] prodHigh = new double[len];
+        final double[] prodLow  = new double[len];
+
+        final int bound = SPECIES.loopBound(len);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final DoubleVector va    = DoubleVector.fromArray(SPECIES, a, i);
+            final DoubleVector aHigh = split(va);
+            final DoubleVector aLow  = va.sub(aHigh);
+
+            final DoubleVector vb    = DoubleVector.fromArray(SPECIES, b, i);
+            final DoubleVector bHigh = split(vb);
+            final DoubleVector bLow  = vb.sub(bHigh);
+
+            final DoubleVector high = va.mul(vb);
+            high.intoArray(prodHigh, i);
+            aLow.mul(bLow).sub(high.sub(aHigh.mul(bHigh)).sub(aLow.mul(bHigh)).sub(aHigh.mul(bLow))).
+            intoArray(prodLow, i);
+        }
+        for (; i < len; ++i) {
+            final double ai    = a[i];
+            final double aHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(ai) & SPLIT_MASK);
+            final double aLow  = ai - aHigh;
+
+            final double bi    = b[i];
+            final double bHigh = Double.longBitsToDouble(Double.doubleToRawLongBits(bi) & SPLIT_MASK);
+            final double bLow  = bi - bHigh;
+            prodHigh[i] = ai * bi;
+            prodLow[i]  = aLow * bLow - (((prodHigh[i] - aHigh * bHigh) - aLow * bHigh) - aHigh * bLow);
+        }
+
+        double prodLowSum = 0;
+        for (final double low : prodLow) {
+            prodLowSum += low;
+        }
+
+        return ScalarArrayKernels.sumProducts(a, b, prodHigh, prodLowSum);
+
+    }
+
+    /** Split the lanes of a vector, keeping only their high order bits.
+     * @param v vector to split
+     * @return high part of the lanes
+     */
+    private static DoubleVector split(final DoubleVector v) {
+        return v.reinterpretAsLongs().and(SPLIT_MASK).reinterpretAsDoubles();
+    }
+
+    /** Multiply two row-major matrices stored in flat arrays and add the product to a third one.
+     * <p>
+     * The SIMD lanes span the columns of the result, and each lane performs exactly the
+     * same operations as the scalar implementation, without fused multiply-add. The result
+     * is therefore identical to the scalar one, which keeps products of block matrices
+     * consistent with the other matrix products.
+     * </p>
+     * @param a left operand
+     * @param b right operand
+     * @param c matrix to which product is added
+     * @param rows number of rows of {@code a} and {@code c}
+     * @param inner number of columns of {@code a} and rows of {@code b}
+     * @param columns number of columns of {@code b} and {@code c}
+     */
+    static void multiplyAdd(final double[] a, final double[] b, final double[] c,
+                            final int rows, final int inner, final int columns) {
+        final int bound = SPECIES.loopBound(columns);
+        for (int p = 0; p < rows; ++p) {
+            final int lStart = p * inner;
+            final int lEnd   = lStart + inner;
+            final int cStart = p * columns;
+
+            // vectorized part of the row
+            int j = 0;
+            for (; j < bound; j += SPECIES.length()) {
+                DoubleVector sum = DoubleVector.zero(SPECIES);
+                int l = lStart;
+                int n = j;
+                while (l < lEnd - 3) {
+                    final DoubleVector group =
+                        DoubleVector.fromArray(SPECIES, b, n).mul(a[l]).
+                        add(DoubleVector.fromArray(SPECIES, b, n + columns).mul(a[l + 1])).
+                        add(DoubleVector.fromArray(SPECIES, b, n + 2 * columns).mul(a[l + 2])).
+                        add(DoubleVector.fromArray(SPECIES, b, n + 3 * columns).mul(a[l + 3]));
+                    sum = sum.add(group);
+                    l += 4;
+                    n += 4 * columns;
+                }
+                while (l < lEnd) {
+                    sum = sum.add(DoubleVector.fromArray(SPECIES, b, n).mul(a[l++]));
+                    n += columns;
+                }
+                DoubleVector.fromArray(SPECIES, c, cStart + j).add(sum).intoArray(c, cStart + j);
+            }
+
+            // remaining columns
+            for (; j < columns; ++j) {
+                double sum = 0;
+                int l = lStart;
+                int n = j;
+                while (l < lEnd - 3) {
+                    sum += a[l] * b[n] +
+                           a[l + 1] * b[n + columns] +
+                           a[l + 2] * b[n + 2 * columns] +
+                           a[l + 3] * b[n + 3 * columns];
+                    l += 4;
+                    n += 4 * columns;
+                }
+                while (l < lEnd) {
+                    sum += a[l++] * b[n];
+                    n += columns;
+                }
+                c[cStart + j] += sum;
+            }
+
+        }
+    }
+
+}
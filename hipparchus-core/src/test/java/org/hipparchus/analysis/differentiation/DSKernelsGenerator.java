@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.analysis.differentiation;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Generator for the source of {@link DSKernels}.
+ * <p>
+ * The unrolled kernels are built from the indirection arrays of {@link DSCompiler},
+ * keeping the order of the terms, so they compute exactly the same results. To
+ * regenerate the source, run this class with the path of the output file as argument.
+ * </p>
+ */
+public class DSKernelsGenerator {
+
+    /** Maximum number of parameters for unrolled kernels. */
+    private static final int MAX_PARAMETERS = 6;
+
+    /** Maximum derivation order for unrolled kernels. */
+    private static final int MAX_ORDER = 2;
+
+    /** Maximum number of terms per line. */
+    private static final int TERMS_PER_LINE = 6;
+
+    private final PrintStream out;
+
+    private DSKernelsGenerator(final PrintStream out) {
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException, ReflectiveOperationException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(Paths.get(args[0])),
+                                               false, StandardCharsets.UTF_8.name())) {
+            new DSKernelsGenerator(out).generate(args.length > 1 ? args[1] : "");
+        }
+    }
+
+    private void generate(final String header) throws IOException, ReflectiveOperationException {
+
+        if (!header.isEmpty()) {
+            out.print(new String(Files.readAllBytes(Paths.get(header)), StandardCharsets.UTF_8));
+        }
+        out.println("package org.hipparchus.analysis.differentiation;");
+        out.println();
+        out.println("/** Unrolled kernels for {@link DSCompiler}, for small numbers of parameters and orders.");
+        out.println(" * <p>");
+        out.println(" * This class is generated from the indirection arrays of {@link DSCompiler}, do not edit it.");
+        out.println(" * Each kernel performs exactly the same operations in the same order as the generic");
+        out.println(" * implementation, so results are identical. The leading {@code 0.0} in the sums");
+        out.println(" * reproduces the generic accumulation, which starts from +0.0.");
+        out.println(" * </p>");
+        out.println(" * @since 4.1");
+        out.println(" */");
+        out.println("final class DSKernels {");
+        out.println();
+        out.println("    /** Maximum number of parameters for unrolled kernels. */");
+        out.println("    static final int MAX_PARAMETERS = " + MAX_PARAMETERS + ";");
+        out.println();
+        out.println("    /** Maximum derivation order for unrolled kernels. */");
+        out.println("    static final int MAX_ORDER = " + MAX_ORDER + ";");
+        out.println();
+        out.println("    /** Private constructor for a utility class. */");
+        out.println("    private DSKernels() {");
+        out.println("        // nothing to do");
+        out.println("    }");
+        out.println();
+        out.println("    /** Interface for kernels dedicated to one number of parameters and one order. */");
+        out.println("    interface Kernel {");
+        out.println();
+        out.println("        /** Perform multiplication of two derivative structures.");
+        out.println("         * @param lhs array holding left hand side of multiplication");
+        out.println("         * @param lhsOffset offset of the left hand side in its array");
+        out.println("         * @param rhs array right hand side of multiplication");
+        out.println("         * @param rhsOffset offset of the right hand side in its array");
+        out.println("         * @param result array where result must be stored");
+        out.println("         * @param resultOffset offset of the result in its array");
+        out.println("         */");
+        out.println("        void multiply(double[] lhs, int lhsOffset, double[] rhs, int rhsOffset,");
+        out.println("                      double[] result, int resultOffset);");
+        out.println();
+        out.println("        /** Compute composition of a derivative structure by a function.");
+        out.println("         * @param operand array holding the operand");
+        out.println("         * @param operandOffset offset of the operand in its array");
+        out.println("         * @param f array of value and derivatives of the function at the current point");
+        out.println("         * @param result array where result must be stored");
+        out.println("         * @param resultOffset offset of the result in its array");
+        out.println("         */");
+        out.println("        void compose(double[] operand, int operandOffset, double[] f,");
+        out.println("                     double[] result, int resultOffset);");
+        out.println();
+        out.println("    }");
+        out.println();
+        out.println("    /** Get the kernel for a number of parameters and an order.");
+        out.println("     * @param parameters number of free parameters");
+        out.println("     * @param order derivation order");
+        out.println("     * @return dedicated kernel, or null if there are none for this shape");
+        out.println("     */");
+        out.println("    static Kernel getKernel(final int parameters, final int order) {");
+        out.println("        if (parameters < 1 || parameters > MAX_PARAMETERS || order < 1 || order > MAX_ORDER) {");
+        out.println("            return null;");
+        out.println("        }");
+        out.println("        switch ((parameters - 1) * MAX_ORDER + order - 1) {");
+        for (int p = 1; p <= MAX_PARAMETERS; ++p) {
+            for (int o = 1; o <= MAX_ORDER; ++o) {
+                out.println("            case " + ((p - 1) * MAX_ORDER + o - 1) + " :");
+                out.println("                return new " + className(p, o) + "();");
+            }
+        }
+        out.println("            default :");
+        out.println("                // this should never happen");
+        out.println("                return null;");
+        out.println("        }");
+        out.println("    }");
+
+        for (int p = 1; p <= MAX_PARAMETERS; ++p) {
+            for (int o = 1; o <= MAX_ORDER; ++o) {
+                generateKernel(DSCompiler.getCompiler(p, o), p, o);
+            }
+        }
+
+        out.println();
+        out.println("}");
+
+    }
+
+    private String className(final int p, final int o) {
+        return "Kernel" + p + "x" + o;
+    }
+
+    private void generateKernel(final DSCompiler compiler, final int p, final int o)
+        throws ReflectiveOperationException {
+
+        out.println();
+        out.println("    /** Kernel for " + p + (p == 1 ? " parameter" : " parameters") + " and order " + o + ". */");
+        out.println("    private static class " + className(p, o) + " implements Kernel {");
+        out.println();
+        out.println("        /** {@inheritDoc} */");
+        out.println("        @Override");
+        out.println("        public void multiply(final double[] lhs, final int lhsOffset,");
+        out.println("                             final double[] rhs, final int rhsOffset,");
+        out.println("                             final double[] result, final int resultOffset) {");
+        final Object[][] mult = (Object[][]) field(DSCompiler.class, "multIndirection").get(compiler);
+        final List<List<String>> multTerms = new ArrayList<>();
+        for (final Object[] row : mult) {
+            final List<String> terms = new ArrayList<>();
+            for (final Object mapping : row) {
+                final int lhs = field(mapping.getClass(), "lhsIndex").getInt(mapping);
+                final int rhs = field(mapping.getClass(), "rhsIndex").getInt(mapping);
+                terms.add(coeff(mapping) + "l" + lhs + " * r" + rhs);
+            }
+            multTerms.add(terms);
+        }
+        for (int i = 0; i < mult.length; ++i) {
+            out.println("            final double l" + i + " = lhs[" + offset("lhsOffset", i) + "];");
+        }
+        for (int i = 0; i < mult.length; ++i) {
+            out.println("            final double r" + i + " = rhs[" + offset("rhsOffset", i) + "];");
+        }
+        for (int i = 0; i < multTerms.size(); ++i) {
+            printSum(i, multTerms.get(i));
+        }
+        out.println("        }");
+        out.println();
+        out.println("        /** {@inheritDoc} */");
+        out.println("        @Override");
+        out.println("        public void compose(final double[] operand, final int operandOffset, final double[] f,");
+        out.println("                            final double[] result, final int resultOffset) {");
+        final Object[][] comp = (Object[][]) field(DSCompiler.class, "compIndirection").get(compiler);
+        final TreeSet<Integer> usedF  = new TreeSet<>();
+        final TreeSet<Integer> usedDS = new TreeSet<>();
+        final List<List<String>> compTerms = new ArrayList<>();
+        for (final Object[] row : comp) {
+            final List<String> terms = new ArrayList<>();
+            for (final Object mapping : row) {
+                final int fIndex = field(mapping.getClass(), "fIndex").getInt(mapping);
+                final int[] dsIndices = (int[]) field(mapping.getClass(), "dsIndices").get(mapping);
+                usedF.add(fIndex);
+                final StringBuilder term = new StringBuilder();
+                term.append(coeff(mapping)).append('f').append(fIndex);
+                for (final int ds : dsIndices) {
+                    usedDS.add(ds);
+                    term.append(" * o").append(ds);
+                }
+                terms.add(term.toString());
+            }
+            compTerms.add(terms);
+        }
+        for (final int i : usedF) {
+            out.println("            final double f" + i + " = f[" + i + "];");
+        }
+        for (final int i : usedDS) {
+            out.println("            final double o" + i + " = operand[" + offset("operandOffset", i) + "];");
+        }
+        for (int i = 0; i < compTerms.size(); ++i) {
+            printSum(i, compTerms.get(i));
+        }
+        out.println("        }");
+        out.println();
+        out.println("    }");
+
+    }
+
+    private void printSum(final int index, final List<String> terms) {
+        final String start = "            result[" + offset("resultOffset", index) + "] = 0.0";
+        final StringBuilder indent = new StringBuilder();
+        for (int k = 0; k < start.length() - 3; ++k) {
+            indent.append(' ');
+        }
+        final StringBuilder line = new StringBuilder(start);
+        for (int k = 0; k < terms.size(); ++k) {
+            if (k > 0 && k % TERMS_PER_LINE == 0) {
+                out.println(line);
+                line.setLength(0);
+                line.append(indent);
+            }
+            line.append(" + ").append(terms.get(k));
+        }
+        line.append(';');
+        out.println(line);
+    }
+
+    private String offset(final String name, final int i) {
+        return i == 0 ? name : (name + " + " + i);
+    }
+
+    private String coeff(final Object mapping) throws ReflectiveOperationException {
+        final Method getCoeff = mapping.getClass().getSuperclass().getDeclaredMethod("getCoeff");
+        getCoeff.setAccessible(true);
+        final int coeff = (Integer) getCoeff.invoke(mapping);
+        return coeff == 1 ? "" : (coeff + " * ");
+    }
+
+    private Field field(final Class<?> cls, final String name) throws NoSuchFieldException {
+        final Field field = cls.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.analysis.differentiation;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DSKernelsTest {
+
+    @Test
+    public void testAvailability() {
+        assertNull(DSKernels.getKernel(0, 1));
+        assertNull(DSKernels.getKernel(1, 0));
+        assertNull(DSKernels.getKernel(DSKernels.MAX_PARAMETERS + 1, 1));
+        assertNull(DSKernels.getKernel(1, DSKernels.MAX_ORDER + 1));
+        for (int p = 1; p <= DSKernels.MAX_PARAMETERS; ++p) {
+            for (int o = 1; o <= DSKernels.MAX_ORDER; ++o) {
+                assertNotNull(DSKernels.getKernel(p, o));
+            }
+        }
+    }
+
+    @Test
+    public void testMultiplyIdenticalToGeneric() {
+        final RandomGenerator random = new Well19937a(0x8e3f1a6c52b70d94L);
+        for (int p = 1; p <= DSKernels.MAX_PARAMETERS; ++p) {
+            for (int o = 1; o <= DSKernels.MAX_ORDER; ++o) {
+                final DSCompiler compiler = DSCompiler.getCompiler(p, o);
+                final int size = compiler.getSize();
+                for (int k = 0; k < 100; ++k) {
+                    final double[] lhs = random(random, size + 2);
+                    final double[] rhs = random(random, size + 1);
+                    final double[] unrolled = new double[size + 3];
+                    final double[] generic  = new double[size + 3];
+                    compiler.multiply(lhs, 2, rhs, 1, unrolled, 3);
+                    compiler.multiplyGeneric(lhs, 2, rhs, 1, generic, 3);
+                    checkIdentical(generic, unrolled);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testComposeIdenticalToGeneric() {
+        final RandomGenerator random = new Well19937a(0x1b75c09e4d3a82f6L);
+        for (int p = 1; p <= DSKernels.MAX_PARAMETERS; ++p) {
+            for (int o = 1; o <= DSKernels.MAX_ORDER; ++o) {
+                final DSCompiler compiler = DSCompiler.getCompiler(p, o);
+                final int size = compiler.getSize();
+                for (int k = 0; k < 100; ++k) {
+                    final double[] operand = random(random, size + 1);
+                    final double[] f       = random(random, o + 1);
+                    final double[] unrolled = new double[size + 2];
+                    final double[] generic  = new double[size + 2];
+                    compiler.compose(operand, 1, f, unrolled, 2);
+                    compiler.composeGeneric(operand, 1, f, generic, 2);
+                    checkIdentical(generic, unrolled);
+                }
+            }
+        }
+    }
+
+    private double[] random(final RandomGenerator random, final int length) {
+        final double[] array = new double[length];
+        for (int i = 0; i < length; ++i) {
+            switch (random.nextInt(10)) {
+                case 0 :
+                    array[i] = -0.0;
+                    break;
+                case 1 :
+                    array[i] = 0.0;
+                    break;
+                default :
+                    array[i] = 20 * random.nextDouble() - 10;
+            }
+        }
+        return array;
+    }
+
+    private void checkIdentical(final double[] expected, final double[] actual) {
+        for (int i = 0; i < expected.length; ++i) {
+            assertEquals(Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(actual[i]));
+        }
+    }
+
+}
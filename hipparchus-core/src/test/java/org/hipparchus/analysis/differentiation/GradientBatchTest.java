@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.analysis.differentiation;
+
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+import org.hipparchus.UnitTestUtils;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GradientBatchTest {
+
+    private static final int POINTS     = 37;
+    private static final int PARAMETERS = 3;
+
+    @Test
+    void testPackUnpack() {
+        final Gradient[] gradients = randomGradients(new Well19937a(0x3a1c5e2d77b04f1bL), 0.1, 0.9);
+        final GradientBatch batch = new GradientBatch(gradients);
+        assertEquals(POINTS, batch.getSize());
+        assertEquals(PARAMETERS, batch.getFreeParameters());
+        for (int k = 0; k < POINTS; ++k) {
+            assertEquals(gradients[k], batch.getGradient(k));
+            assertEquals(gradients[k].getValue(), batch.getValue(k), 0.0);
+            assertEquals(gradients[k].getValue(), batch.getValues()[k], 0.0);
+            for (int j = 0; j < PARAMETERS; ++j) {
+                assertEquals(gradients[k].getPartialDerivative(j), batch.getPartialDerivative(k, j), 0.0);
+                assertEquals(gradients[k].getPartialDerivative(j), batch.getPartialDerivatives(j)[k], 0.0);
+                assertEquals(gradients[k].getPartialDerivative(j), batch.getJacobian()[k][j], 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testConstantAndVariable() {
+        final double[] values = { 1.0, -2.0, 3.5 };
+        final GradientBatch c = GradientBatch.constant(PARAMETERS, values);
+        final GradientBatch v = GradientBatch.variable(PARAMETERS, 1, values);
+        values[0] = 100.0;
+        for (int k = 0; k < 3; ++k) {
+            assertEquals(Gradient.constant(PARAMETERS, c.getValue(k)), c.getGradient(k));
+            assertEquals(Gradient.variable(PARAMETERS, 1, v.getValue(k)), v.getGradient(k));
+        }
+        assertEquals(1.0, c.getValue(0), 0.0);
+    }
+
+    @Test
+    void testArrayConstructor() {
+        final GradientBatch batch = new GradientBatch(new double[] { 1.0, 2.0 },
+                                                      new double[] { 3.0, 4.0 },
+                                                      new double[] { 5.0, 6.0 });
+        assertEquals(new Gradient(2.0, 4.0, 6.0), batch.getGradient(1));
+        final MathIllegalArgumentException mismatch =
+                        assertThrows(MathIllegalArgumentException.class,
+                                     () -> new GradientBatch(new double[] { 1.0, 2.0 }, new double[] { 3.0 }));
+        assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, mismatch.getSpecifier());
+        final MathIllegalArgumentException empty =
+                        assertThrows(MathIllegalArgumentException.class, () -> new GradientBatch(new Gradient[0]));
+        assertEquals(LocalizedCoreFormats.NO_DATA, empty.getSpecifier());
+    }
+
+    @Test
+    void testIncompatible() {
+        final GradientBatch a = GradientBatch.constant(2, 1.0, 2.0);
+        assertThrows(MathIllegalArgumentException.class, () -> a.add(GradientBatch.constant(3, 1.0, 2.0)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(GradientBatch.constant(2, 1.0)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.compose(new double[1], new double[2]));
+    }
+
+    @Test
+    void testArithmetic() {
+        checkBinary(GradientBatch::add,      Gradient::add);
+        checkBinary(GradientBatch::subtract, Gradient::subtract);
+        checkBinary(GradientBatch::multiply, Gradient::multiply);
+        checkBinary(GradientBatch::divide,   Gradient::divide);
+        checkBinary(GradientBatch::atan2,    Gradient::atan2);
+        checkUnary(b -> b.add(1.25),      g -> g.add(1.25),      0.1, 0.9);
+        checkUnary(b -> b.subtract(1.25), g -> g.subtract(1.25), 0.1, 0.9);
+        checkUnary(b -> b.multiply(1.25), g -> g.multiply(1.25), 0.1, 0.9);
+        checkUnary(b -> b.divide(1.25),   g -> g.divide(1.25),   0.1, 0.9);
+        checkUnary(GradientBatch::negate,     Gradient::negate,     0.1, 0.9);
+        checkUnary(GradientBatch::square,     Gradient::square,     0.1, 0.9);
+        checkUnary(GradientBatch::reciprocal, Gradient::reciprocal, 0.1, 0.9);
+    }
+
+    @Test
+    void testFunctions() {
+        checkUnary(GradientBatch::sqrt, Gradient::sqrt, 0.1, 5.0);
+        checkUnary(b -> b.pow(2.7), g -> g.pow(2.7), 0.1, 5.0);
+        checkUnary(b -> b.pow(0.0), g -> g.pow(0.0), 0.1, 5.0);
+        checkUnary(GradientBatch::exp,  Gradient::exp,  -3.0, 3.0);
+        checkUnary(GradientBatch::log,  Gradient::log,  0.1, 5.0);
+        checkUnary(GradientBatch::sin,  Gradient::sin,  -3.0, 3.0);
+        checkUnary(GradientBatch::cos,  Gradient::cos,  -3.0, 3.0);
+        checkUnary(GradientBatch::tan,  Gradient::tan,  -1.5, 1.5);
+        checkUnary(GradientBatch::acos, Gradient::acos, -0.9, 0.9);
+        checkUnary(GradientBatch::asin, Gradient::asin, -0.9, 0.9);
+        checkUnary(GradientBatch::atan, Gradient::atan, -3.0, 3.0);
+        checkUnary(GradientBatch::cosh, Gradient::cosh, -3.0, 3.0);
+        checkUnary(GradientBatch::sinh, Gradient::sinh, -3.0, 3.0);
+        checkUnary(GradientBatch::tanh, Gradient::tanh, -3.0, 3.0);
+    }
+
+    @Test
+    void testCompose() {
+        final Gradient[] gradients = randomGradients(new Well19937a(0x6f2e9d41b38a05c7L), -1.0, 1.0);
+        final GradientBatch batch = new GradientBatch(gradients);
+        final double[] f0 = new double[POINTS];
+        final double[] f1 = new double[POINTS];
+        for (int k = 0; k < POINTS; ++k) {
+            f0[k] = FastMath.cbrt(gradients[k].getValue());
+            f1[k] = 1.0 / (3 * f0[k] * f0[k]);
+        }
+        final GradientBatch composed = batch.compose(f0, f1);
+        f0[0] = Double.NaN;
+        for (int k = 0; k < POINTS; ++k) {
+            assertEquals(gradients[k].cbrt(), composed.getGradient(k));
+        }
+    }
+
+    @Test
+    void testModel() {
+        // f(x, a, b) = a exp(-b x) sin(x), with a and b the free parameters
+        final double[] x = new double[POINTS];
+        for (int k = 0; k < POINTS; ++k) {
+            x[k] = 0.1 * k;
+        }
+        final double a0 = 2.5;
+        final double b0 = 0.3;
+        final GradientBatch xB = GradientBatch.constant(2, x);
+        final GradientBatch aB = GradientBatch.variable(2, 0, new double[POINTS]).add(a0);
+        final GradientBatch bB = GradientBatch.variable(2, 1, new double[POINTS]).add(b0);
+        final double[][] jacobian = aB.multiply(bB.multiply(xB).negate().exp()).multiply(xB.sin()).getJacobian();
+        for (int k = 0; k < POINTS; ++k) {
+            final double e = FastMath.exp(-b0 * x[k]) * FastMath.sin(x[k]);
+            UnitTestUtils.customAssertEquals(new double[] { e, -a0 * x[k] * e }, jacobian[k], 1.0e-15);
+        }
+    }
+
+    private void checkUnary(final UnaryOperator<GradientBatch> batchOperator,
+                            final UnaryOperator<Gradient> operator,
+                            final double min, final double max) {
+        final Gradient[] gradients = randomGradients(new Well19937a(0x1b7d3f09c4e862a5L), min, max);
+        final GradientBatch result = batchOperator.apply(new GradientBatch(gradients));
+        for (int k = 0; k < POINTS; ++k) {
+            assertEquals(operator.apply(gradients[k]), result.getGradient(k));
+        }
+    }
+
+    private void checkBinary(final BinaryOperator<GradientBatch> batchOperator,
+                             final BinaryOperator<Gradient> operator) {
+        final RandomGenerator random = new Well19937a(0x52c8a0e6f31d974bL);
+        final Gradient[] a = randomGradients(random, 0.1, 0.9);
+        final Gradient[] b = randomGradients(random, 0.1, 0.9);
+        final GradientBatch result = batchOperator.apply(new GradientBatch(a), new GradientBatch(b));
+        for (int k = 0; k < POINTS; ++k) {
+            assertEquals(operator.apply(a[k], b[k]), result.getGradient(k));
+        }
+    }
+
+    private Gradient[] randomGradients(final RandomGenerator random, final double min, final double max) {
+        final Gradient[] gradients = new Gradient[POINTS];
+        for (int k = 0; k < POINTS; ++k) {
+            final double[] g = new double[PARAMETERS];
+            for (int j = 0; j < PARAMETERS; ++j) {
+                g[j] = 2 * random.nextDouble() - 1;
+            }
+            gradients[k] = new Gradient(min + (max - min) * random.nextDouble(), g);
+        }
+        return gradients;
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.analysis.differentiation;
+
+import org.hipparchus.CalculusFieldElement;
+import org.hipparchus.CalculusFieldElementAbstractTest;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ReverseGradientTest extends CalculusFieldElementAbstractTest<ReverseGradient> {
+
+    private final ReverseGradientTape buildTape = new ReverseGradientTape();
+
+    @Override
+    protected ReverseGradient build(final double x) {
+        return buildTape.variable(x);
+    }
+
+    @Test
+    void testCompareWithForwardMode() {
+        final RandomGenerator random = new Well19937a(0x4c2a9e1f7d385b60L);
+        for (int k = 0; k < 50; ++k) {
+            final double[] point = new double[4];
+            for (int i = 0; i < point.length; ++i) {
+                point[i] = 0.5 + random.nextDouble();
+            }
+
+            final Gradient[] gx = new Gradient[point.length];
+            for (int i = 0; i < point.length; ++i) {
+                gx[i] = Gradient.variable(point.length, i, point[i]);
+            }
+            final Gradient forward = complicated(gx);
+
+            final ReverseGradientTape tape = new ReverseGradientTape(4);
+            final ReverseGradient[] rx = new ReverseGradient[point.length];
+            for (int i = 0; i < point.length; ++i) {
+                rx[i] = tape.variable(point[i]);
+            }
+            final ReverseGradient reverse = complicated(rx);
+
+            assertEquals(forward.getValue(), reverse.getValue(), 1.0e-15 * FastMath.abs(forward.getValue()));
+            final double[] gradient = reverse.getGradient();
+            for (int i = 0; i < point.length; ++i) {
+                assertEquals(forward.getPartialDerivative(i), gradient[i],
+                             1.0e-13 * FastMath.abs(forward.getPartialDerivative(i)));
+                assertEquals(gradient[i], reverse.getPartialDerivative(i), 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testManyVariables() {
+        final int n = 5000;
+        final ReverseGradientTape tape = new ReverseGradientTape();
+        final ReverseGradient[] x = new ReverseGradient[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = tape.variable(FastMath.sin(i));
+        }
+        final ReverseGradient y = rosenbrock(x, null);
+        final double[] gradient = tape.gradient(y);
+        checkRosenbrockGradient(x, gradient);
+    }
+
+    @Test
+    void testCollapse() {
+        final int n = 5000;
+        final ReverseGradientTape tape = new ReverseGradientTape();
+        final ReverseGradient[] x = new ReverseGradient[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = tape.variable(FastMath.sin(i));
+        }
+
+        final int checkpoint = tape.checkpoint();
+        final ReverseGradient expanded = rosenbrock(x, null);
+        final int expandedSize = tape.getSize() - checkpoint;
+        tape.rewind(checkpoint);
+        assertEquals(checkpoint, tape.getSize());
+
+        final ReverseGradient collapsed = rosenbrock(x, tape);
+        final int collapsedSize = tape.getSize() - checkpoint;
+        assertEquals(expanded.getValue(), collapsed.getValue(), 0.0);
+        assertTrue(collapsedSize < expandedSize / 3);
+        checkRosenbrockGradient(x, tape.gradient(collapsed));
+
+        // collapsing everything into one node
+        final ReverseGradient single = tape.collapse(checkpoint, collapsed);
+        assertEquals(checkpoint + 1, tape.getSize());
+        checkRosenbrockGradient(x, single.getGradient());
+    }
+
+    @Test
+    void testConstantsNotRecorded() {
+        final ReverseGradientTape tape = new ReverseGradientTape();
+        final ReverseGradient x = tape.variable(2.0);
+        final ReverseGradient c = tape.constant(3.0);
+        final ReverseGradient y = c.multiply(c).sin().add(c.exp()).linearCombination(1.0, c, 2.0, c);
+        assertTrue(y.isConstant());
+        assertEquals(1, tape.getSize());
+        assertEquals(0.0, y.getGradient()[0], 0.0);
+        final ReverseGradient z = y.multiply(x);
+        assertEquals(2, tape.getSize());
+        assertEquals(y.getValue(), z.getGradient()[0], 0.0);
+        assertSame(tape.getField(), z.getField());
+        assertTrue(tape.getField().getZero().isConstant());
+    }
+
+    @Test
+    void testReset() {
+        final ReverseGradientTape tape = new ReverseGradientTape(1);
+        for (int k = 0; k < 3; ++k) {
+            tape.reset();
+            final ReverseGradient x = tape.variable(k);
+            final ReverseGradient y = tape.variable(2.0);
+            final ReverseGradient z = x.multiply(y).multiply(x);
+            assertEquals(2, tape.getVariables());
+            assertEquals(4, tape.getSize());
+            assertEquals(4.0 * k, z.getPartialDerivative(1, 0), 1.0e-15);
+            assertEquals(k * k, z.getPartialDerivative(0, 1), 1.0e-15);
+        }
+    }
+
+    @Test
+    void testWrongCheckpoint() {
+        final ReverseGradientTape tape = new ReverseGradientTape();
+        tape.variable(1.0);
+        final int checkpoint = tape.checkpoint();
+        tape.variable(2.0);
+        try {
+            tape.rewind(checkpoint);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, miae.getSpecifier());
+        }
+        try {
+            tape.collapse(tape.getSize() + 1, tape.constant(0.0));
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testFunction() {
+        final int n = 100;
+        final ReverseGradientFunction g = new ReverseGradientFunction(x -> rosenbrock(x, null));
+        final double[] point = new double[n];
+        for (int i = 0; i < n; ++i) {
+            point[i] = FastMath.cos(i);
+        }
+        final double[] gradient = g.value(point);
+        final ReverseGradientTape tape = new ReverseGradientTape();
+        final ReverseGradient[] x = new ReverseGradient[n];
+        for (int i = 0; i < n; ++i) {
+            x[i] = tape.variable(point[i]);
+        }
+        checkRosenbrockGradient(x, gradient);
+        assertEquals(rosenbrock(x, null).getValue(), g.getObjectiveFunction().value(point), 0.0);
+    }
+
+    private <T extends CalculusFieldElement<T>> T complicated(final T[] x) {
+        final T a = x[0].multiply(x[1]).divide(x[2].add(1)).sin();
+        final T b = x[3].atan2(x[0]).add(x[1].hypot(x[2]));
+        final T c = x[0].pow(x[3]).subtract(x[2].sqrt().exp()).multiply(3);
+        final T d = x[1].linearCombination(x[0], x[1], x[2], x[3], x[3], x[3]);
+        final T e = x[2].remainder(x[0].multiply(0.25)).add(x[3].log1p().toDegrees().scalb(-3));
+        return a.linearCombination(2.0, a, -1.0, b, 0.5, c, 1.5, d).add(e.negate().abs()).cosh();
+    }
+
+    private ReverseGradient rosenbrock(final ReverseGradient[] x, final ReverseGradientTape tape) {
+        ReverseGradient sum = x[0].getField().getZero();
+        for (int i = 0; i < x.length - 1; ++i) {
+            final int checkpoint = tape == null ? 0 : tape.checkpoint();
+            final ReverseGradient d1 = x[i + 1].subtract(x[i].square());
+            final ReverseGradient d2 = x[i].negate().add(1);
+            ReverseGradient term = d1.square().multiply(100).add(d2.square());
+            if (tape != null) {
+                term = tape.collapse(checkpoint, term);
+            }
+            sum = sum.add(term);
+        }
+        return sum;
+    }
+
+    private void checkRosenbrockGradient(final ReverseGradient[] x, final double[] gradient) {
+        for (int i = 0; i < x.length; ++i) {
+            final double xi = x[i].getValue();
+            double expected = 0;
+            if (i > 0) {
+                final double xim1 = x[i - 1].getValue();
+                expected += 200 * (xi - xim1 * xim1);
+            }
+            if (i < x.length - 1) {
+                final double xip1 = x[i + 1].getValue();
+                expected += -400 * xi * (xip1 - xi * xi) - 2 * (1 - xi);
+            }
+            assertEquals(expected, gradient[i], 1.0e-12 * FastMath.max(1.0, FastMath.abs(expected)));
+        }
+    }
+
+}
@@ -147,6 +147,35 @@ class SparseGradientTest extends CalculusFieldElementAbstractTest<SparseGradient
         assertEquals(v1, sum.getDerivative(id2), 1.0e-15);
     }
 
+    @Test
+    void testInPlaceMerge() {
+        // accumulate interleaved, subset and self variables
+        final SparseGradient acc = SparseGradient.createVariable(4, 1.0);
+        acc.addInPlace(SparseGradient.createVariable(1, 2.0).multiply(SparseGradient.createVariable(7, 3.0)));
+        acc.addInPlace(SparseGradient.createVariable(4, 0.5).multiply(SparseGradient.createVariable(-2, 4.0)));
+        acc.addInPlace(SparseGradient.createVariable(7, 1.0).multiply(3.0));
+        assertEquals(4, acc.getFreeParameters());
+        assertEquals(12.0, acc.getValue(), 1.0e-15);
+        assertEquals(0.5, acc.getDerivative(-2), 1.0e-15);
+        assertEquals(3.0, acc.getDerivative(1), 1.0e-15);
+        assertEquals(5.0, acc.getDerivative(4), 1.0e-15);
+        assertEquals(5.0, acc.getDerivative(7), 1.0e-15);
+        assertEquals(0.0, acc.getDerivative(2), 1.0e-15);
+
+        final SparseGradient expected = acc.multiply(acc);
+        acc.multiplyInPlace(acc);
+        assertEquals(expected, acc);
+        assertEquals(expected.hashCode(), acc.hashCode());
+        acc.addInPlace(acc);
+        assertEquals(expected.multiply(2), acc);
+
+        final SparseGradient q = acc.divide(SparseGradient.createVariable(3, 2.0).add(acc));
+        assertEquals(5, q.getFreeParameters());
+        final double den = 2.0 + acc.getValue();
+        assertEquals(-acc.getValue() / (den * den), q.getDerivative(3), 1.0e-15);
+        assertEquals(2.0 * acc.getDerivative(7) / (den * den), q.getDerivative(7), 1.0e-15);
+    }
+
     @Test
     void testPrimitiveAdd() {
         checkF0F1(SparseGradient.createVariable(0, 1.0).add(5), 6.0, 1.0, 0.0, 0.0);
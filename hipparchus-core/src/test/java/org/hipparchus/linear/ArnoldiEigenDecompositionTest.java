@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArnoldiEigenDecompositionTest {
+
+    @Test
+    void testComplexPairs() {
+        // block diagonal matrix with eigenvalues k/10 +/- i k/20
+        final int n = 400;
+        final CompressedRowRealMatrix a = new CompressedRowRealMatrix(n, n);
+        for (int k = 0; k < n / 2; ++k) {
+            final double re = (k + 1) / 10.0;
+            final double im = (k + 1) / 20.0;
+            a.setEntry(2 * k,     2 * k,     re);
+            a.setEntry(2 * k,     2 * k + 1, im);
+            a.setEntry(2 * k + 1, 2 * k,     -im);
+            a.setEntry(2 * k + 1, 2 * k + 1, re);
+        }
+        final ArnoldiEigenDecomposition ed =
+            new ArnoldiEigenDecomposition(a, 4, EigenvalueSelection.LARGEST_MAGNITUDE, new Well19937a(0x41e7b3c905d2f86al));
+        assertEquals(20.0, ed.getEigenvalue(0).getReal(),               1.0e-10);
+        assertEquals(10.0, FastMath.abs(ed.getEigenvalue(0).getImaginary()), 1.0e-10);
+        assertEquals(0.0,  ed.getEigenvalue(0).add(ed.getEigenvalue(1)).getImaginary(), 1.0e-10);
+        assertEquals(19.9, ed.getEigenvalue(2).getReal(),               1.0e-10);
+        for (int i = 0; i < 4; ++i) {
+            checkEigenpair(a, ed.getEigenvalue(i), ed.getEigenvector(i), 1.0e-8);
+            assertTrue(ed.getResidualEstimate(i) < 1.0e-8);
+        }
+    }
+
+    @Test
+    void testAgainstDense() {
+        final Well19937a random = new Well19937a(0x9c05e2a7d1b4f368l);
+        final int n = 80;
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                a.setEntry(i, j, random.nextGaussian());
+            }
+        }
+        final Complex[] reference = new EigenDecompositionNonSymmetric(a).getEigenvalues();
+        double largestModulus = 0;
+        double largestReal    = Double.NEGATIVE_INFINITY;
+        for (final Complex lambda : reference) {
+            largestModulus = FastMath.max(largestModulus, lambda.norm());
+            largestReal    = FastMath.max(largestReal, lambda.getReal());
+        }
+
+        final ArnoldiEigenDecomposition edM =
+            new ArnoldiEigenDecomposition(a, 3, EigenvalueSelection.LARGEST_MAGNITUDE, 30, 1.0e-12, 500, random);
+        assertEquals(largestModulus, edM.getEigenvalue(0).norm(), 1.0e-9);
+        final ArnoldiEigenDecomposition edR =
+            new ArnoldiEigenDecomposition(a, 3, EigenvalueSelection.LARGEST_REAL, 30, 1.0e-12, 500, random);
+        assertEquals(largestReal, edR.getEigenvalue(0).getReal(), 1.0e-9);
+        for (int i = 0; i < 3; ++i) {
+            checkEigenpair(a, edM.getEigenvalue(i), edM.getEigenvector(i), 1.0e-8);
+            checkEigenpair(a, edR.getEigenvalue(i), edR.getEigenvector(i), 1.0e-8);
+        }
+    }
+
+    @Test
+    void testNearlyDeflatedRestarts() {
+        // these seeds lead to nearly deflated Hessenberg matrices after restarts,
+        // where dense eigenvectors of H were not accurate enough for Ritz estimates
+        checkRandomNonSymmetric(174, 5, 24);
+        checkRandomNonSymmetric(46, 3, 39);
+    }
+
+    @Test
+    void testShiftInvert() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(30, 30, 1.5);
+        final double sigma = 0.1;
+        final RealMatrix shifted = a.subtract(MatrixUtils.createRealIdentityMatrix(900).scalarMultiply(sigma));
+        final ArnoldiEigenDecomposition ed =
+            new ArnoldiEigenDecomposition(new LUDecomposition(shifted).getSolver(), sigma, 3,
+                                          new Well19937a(0xe58b20f4c71d3a96l));
+        for (int i = 0; i < 3; ++i) {
+            checkEigenpair(a, ed.getEigenvalue(i), ed.getEigenvector(i), 1.0e-8);
+        }
+        assertTrue(ed.getEigenvalue(0).subtract(sigma).norm() <= ed.getEigenvalue(1).subtract(sigma).norm());
+        assertTrue(ed.getEigenvalue(1).subtract(sigma).norm() <= ed.getEigenvalue(2).subtract(sigma).norm());
+    }
+
+    @Test
+    void testErrors() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(3, 3, 1.0);
+        final Well19937a random = new Well19937a(0x2f6d9a1c8e3b7045l);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new ArnoldiEigenDecomposition(a, 8, EigenvalueSelection.LARGEST_REAL, random));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new ArnoldiEigenDecomposition(a, 3, EigenvalueSelection.LARGEST_REAL, 4, 1.0e-10, 10, random));
+    }
+
+    /** Check eigenpairs of a random non-symmetric matrix against a dense decomposition.
+     * @param n dimension of the matrix
+     * @param nev number of eigenpairs to compute
+     * @param seed seed of the random generator
+     */
+    private static void checkRandomNonSymmetric(final int n, final int nev, final int seed) {
+        final Well19937a random = new Well19937a(seed);
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                a.setEntry(i, j, random.nextGaussian() / FastMath.sqrt(n) + (i == j ? 3 * FastMath.pow(0.97, i) : 0));
+            }
+        }
+        final Complex[] reference = new EigenDecompositionNonSymmetric(a).getEigenvalues();
+        final double[] moduli = new double[n];
+        for (int i = 0; i < n; ++i) {
+            moduli[i] = reference[i].norm();
+        }
+        Arrays.sort(moduli);
+
+        final ArnoldiEigenDecomposition ed =
+            new ArnoldiEigenDecomposition(a, nev, EigenvalueSelection.LARGEST_MAGNITUDE, random);
+        for (int i = 0; i < nev; ++i) {
+            final Complex lambda = ed.getEigenvalue(i);
+            assertEquals(moduli[n - 1 - i], lambda.norm(), 1.0e-9);
+            double distance = Double.POSITIVE_INFINITY;
+            for (final Complex mu : reference) {
+                distance = FastMath.min(distance, mu.subtract(lambda).norm());
+            }
+            assertEquals(0.0, distance, 1.0e-9);
+            checkEigenpair(a, lambda, ed.getEigenvector(i), 1.0e-8);
+            assertTrue(ed.getResidualEstimate(i) < 1.0e-8);
+        }
+    }
+
+    /** Check an eigenpair.
+     * @param a operator
+     * @param lambda eigenvalue
+     * @param x eigenvector
+     * @param tolerance tolerance on residual
+     */
+    private static void checkEigenpair(final RealLinearOperator a, final Complex lambda, final FieldVector<Complex> x,
+                                       final double tolerance) {
+        final int n = x.getDimension();
+        final RealVector xRe = new ArrayRealVector(n);
+        final RealVector xIm = new ArrayRealVector(n);
+        for (int i = 0; i < n; ++i) {
+            xRe.setEntry(i, x.getEntry(i).getReal());
+            xIm.setEntry(i, x.getEntry(i).getImaginary());
+        }
+        assertEquals(1.0, FastMath.hypot(xRe.getNorm(), xIm.getNorm()), 1.0e-12);
+        final RealVector rRe = a.operate(xRe).subtract(xRe.mapMultiply(lambda.getReal())).add(xIm.mapMultiply(lambda.getImaginary()));
+        final RealVector rIm = a.operate(xIm).subtract(xIm.mapMultiply(lambda.getReal())).subtract(xRe.mapMultiply(lambda.getImaginary()));
+        assertEquals(0.0, FastMath.hypot(rRe.getNorm(), rIm.getNorm()), tolerance);
+    }
+
+}
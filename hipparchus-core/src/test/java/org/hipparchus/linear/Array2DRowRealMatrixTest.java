@@ -32,12 +32,14 @@ import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Test;
 
 import java.text.DecimalFormat;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -1345,5 +1347,145 @@ final class Array2DRowRealMatrixTest {
             A_.unstackSquare();
         });
     }
-}
+    @Test
+    void testIntoDestination() {
+        final RandomGenerator random = new Well1024a(0x3d5f0a8e27c194b6l);
+        final RealMatrixChangingVisitor randomSetter = new DefaultRealMatrixChangingVisitor() {
+            public double visit(final int row, final int column, final double value) {
+                return random.nextDouble();
+            }
+        };
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(37, 23);
+        a.walkInOptimizedOrder(randomSetter);
+        final Array2DRowRealMatrix b = new Array2DRowRealMatrix(23, 41);
+        b.walkInOptimizedOrder(randomSetter);
+        final Array2DRowRealMatrix c = new Array2DRowRealMatrix(37, 23);
+        c.walkInOptimizedOrder(randomSetter);
+        final RealVector v = new ArrayRealVector(b.getColumn(0));
+        for (final boolean array : new boolean[] { true, false }) {
+            final RealMatrix sum     = array ? new Array2DRowRealMatrix(37, 23) : new BlockRealMatrix(37, 23);
+            final RealMatrix product = array ? new Array2DRowRealMatrix(37, 41) : new BlockRealMatrix(37, 41);
+            final RealMatrix tr      = array ? new Array2DRowRealMatrix(23, 37) : new BlockRealMatrix(23, 37);
+            assertSame(sum, a.add(c, sum));
+            assertEquals(0.0, sum.subtract(a.add(c)).getNorm1(), 0.0);
+            assertSame(sum, a.subtract(c, sum));
+            assertEquals(0.0, sum.subtract(a.subtract(c)).getNorm1(), 0.0);
+            assertSame(tr, a.transpose(tr));
+            assertEquals(0.0, tr.subtract(a.transpose()).getNorm1(), 0.0);
+            for (int k = 0; k < 2; ++k) {
+                assertSame(product, a.multiply(b, product));
+                assertEquals(0.0, product.subtract(a.multiply(b)).getNorm1(), 0.0);
+            }
+            final RealVector out = array ? new ArrayRealVector(37) : new OpenMapRealVector(37);
+            assertSame(out, a.operate(v, out));
+            assertEquals(0.0, out.subtract(a.operate(v)).getNorm(), 0.0);
+        }
+
+        // destination may be an operand for element-wise operations
+        final Array2DRowRealMatrix aCopy = (Array2DRowRealMatrix) a.copy();
+        assertSame(aCopy, aCopy.subtract(c, aCopy));
+        assertEquals(0.0, aCopy.subtract(a.subtract(c)).getNorm1(), 0.0);
 
+    }
+
+    @Test
+    void testIntoDestinationErrors() {
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(testData);
+        final Array2DRowRealMatrix b = new Array2DRowRealMatrix(testData2);
+        final RealVector v = new ArrayRealVector(3);
+        assertThrows(MathIllegalArgumentException.class, () -> a.add(a, new Array2DRowRealMatrix(3, 2)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(a, new Array2DRowRealMatrix(2, 3)));
+        assertThrows(MathIllegalArgumentException.class, () -> b.transpose(new Array2DRowRealMatrix(2, 3)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.operate(v, new ArrayRealVector(2)));
+
+        // aliasing, including destinations sharing the internal arrays of an operand
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(a, a));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> a.multiply(a, new Array2DRowRealMatrix(a.getDataRef(), false)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.transpose(a));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> a.transpose(new Array2DRowRealMatrix(a.getDataRef(), false)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.operate(v, v));
+        final ArrayRealVector w = new ArrayRealVector(3);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> a.operate(w, new ArrayRealVector(w.getDataRef(), false)));
+    }
+
+    @Test
+    void testParallelWalk() {
+        final RandomGenerator random = new Well1024a(0xe3b8054c7f1a692dl);
+        final Array2DRowRealMatrix m = new Array2DRowRealMatrix(611, 277);
+        for (int i = 0; i < 611; ++i) {
+            for (int j = 0; j < 277; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        final RealMatrix reference = m.copy();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final StatisticsVisitor sequential = new StatisticsVisitor();
+            final StatisticsVisitor parallel   = new StatisticsVisitor();
+            assertEquals(m.walkInOptimizedOrder(sequential), m.walkInOptimizedOrder(parallel, pool), 1.0e-10);
+            assertEquals(sequential.count, parallel.count);
+            assertEquals(sequential.max, parallel.max, 0.0);
+            assertEquals(611 * 277, parallel.count);
+
+            m.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(final int row, final int column, final double value) {
+                    return value * (row + 1) - column;
+                }
+            }, pool);
+            m.mapToSelf(FastMath::abs, pool);
+            for (int i = 0; i < 611; ++i) {
+                for (int j = 0; j < 277; ++j) {
+                    assertEquals(FastMath.abs(reference.getEntry(i, j) * (i + 1) - j), m.getEntry(i, j), 0.0);
+                }
+            }
+
+            // a null pool means sequential walk
+            final StatisticsVisitor noPool = new StatisticsVisitor();
+            assertEquals(m.walkInOptimizedOrder(new StatisticsVisitor()), m.walkInOptimizedOrder(noPool, null), 0.0);
+            assertEquals(611 * 277, noPool.count);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Splittable visitor computing sum, count and maximum of entries. */
+    private static class StatisticsVisitor implements SplittableRealMatrixPreservingVisitor<StatisticsVisitor> {
+        private double sum;
+        private double max = Double.NEGATIVE_INFINITY;
+        private int count;
+
+        @Override
+        public void start(int rows, int columns, int startRow, int endRow, int startColumn, int endColumn) {
+        }
+
+        @Override
+        public void visit(int row, int column, double value) {
+            sum += value;
+            max  = FastMath.max(max, value);
+            ++count;
+        }
+
+        @Override
+        public double end() {
+            return sum;
+        }
+
+        @Override
+        public StatisticsVisitor fork() {
+            return new StatisticsVisitor();
+        }
+
+        @Override
+        public void merge(final StatisticsVisitor other) {
+            sum  += other.sum;
+            max   = FastMath.max(max, other.max);
+            count += other.count;
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BandedCholeskyDecompositionTest {
+
+    @Test
+    void testAgainstDense() {
+        final RandomGenerator random = new Well1024a(0x2b9e6c4f0a7d1358l);
+        for (final int bw : new int[] { 0, 1, 3, 8, 40 }) {
+            final RealMatrix dense = createSPD(random, 30, bw);
+            final BandedCholeskyDecomposition banded =
+                new BandedCholeskyDecomposition(new BandedRealMatrix(dense, bw, bw));
+            final CholeskyDecomposition cholesky = new CholeskyDecomposition(dense);
+            BandedRealMatrixTest.checkEquals(cholesky.getL(), banded.getL(), 1.0e-12);
+            BandedRealMatrixTest.checkEquals(cholesky.getLT(), banded.getLT(), 1.0e-12);
+            BandedRealMatrixTest.checkEquals(dense, banded.getL().multiply(banded.getLT()), 1.0e-12);
+            assertEquals(cholesky.getDeterminant(), banded.getDeterminant(), 1.0e-12 * cholesky.getDeterminant());
+
+            final DecompositionSolver solver = banded.getSolver();
+            assertTrue(solver.isNonSingular());
+            final RealMatrix b = BandedRealMatrixTest.createBanded(random, 30, 29, 29).getSubMatrix(0, 29, 0, 3);
+            BandedRealMatrixTest.checkEquals(b, dense.multiply(solver.solve(b)), 1.0e-12);
+            final RealVector bv = b.getColumnVector(2);
+            assertEquals(0.0, dense.operate(solver.solve(bv)).subtract(bv).getNorm(), 1.0e-12);
+            BandedRealMatrixTest.checkEquals(MatrixUtils.createRealIdentityMatrix(30),
+                                             dense.multiply(solver.getInverse()), 1.0e-11);
+        }
+    }
+
+    @Test
+    void testNotSymmetric() {
+        final TriDiagonalRealMatrix m = new TriDiagonalRealMatrix(new double[] { 1.0, 1.0 },
+                                                                  new double[] { 4.0, 4.0, 4.0 },
+                                                                  new double[] { 1.0, 1.5 });
+        assertThrows(MathIllegalArgumentException.class, () -> new BandedCholeskyDecomposition(m));
+    }
+
+    @Test
+    void testNotPositiveDefinite() {
+        final TriDiagonalRealMatrix m = new TriDiagonalRealMatrix(new double[] { 3.0, 1.0 },
+                                                                  new double[] { 2.0, 2.0, 2.0 },
+                                                                  new double[] { 3.0, 1.0 });
+        assertThrows(MathIllegalArgumentException.class, () -> new BandedCholeskyDecomposition(m));
+    }
+
+    @Test
+    void testDimensions() {
+        final DecompositionSolver solver =
+            new BandedCholeskyDecomposition(new TriDiagonalRealMatrix(new double[] { 1.0 },
+                                                                      new double[] { 3.0, 3.0 },
+                                                                      new double[] { 1.0 })).getSolver();
+        assertEquals(2, solver.getRowDimension());
+        assertEquals(2, solver.getColumnDimension());
+        assertThrows(MathIllegalArgumentException.class, () -> solver.solve(new ArrayRealVector(3)));
+        assertThrows(MathIllegalArgumentException.class, () -> solver.solve(new Array2DRowRealMatrix(3, 2)));
+    }
+
+    private RealMatrix createSPD(final RandomGenerator random, final int n, final int bandwidth) {
+        // diagonally dominant symmetric matrix
+        final RealMatrix m = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            m.setEntry(i, i, 2.0 * bandwidth + 1.0 + random.nextDouble());
+            for (int j = i + 1; j <= Math.min(n - 1, i + bandwidth); ++j) {
+                final double x = 2 * random.nextDouble() - 1;
+                m.setEntry(i, j, x);
+                m.setEntry(j, i, x);
+            }
+        }
+        return m;
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BandedLUDecompositionTest {
+
+    @Test
+    void testAgainstDense() {
+        final RandomGenerator random = new Well1024a(0x6d2f8b4a1e7c0935l);
+        for (final int[] bw : new int[][] { { 0, 0 }, { 1, 1 }, { 2, 3 }, { 4, 0 }, { 0, 4 }, { 12, 12 }, { 30, 30 } }) {
+            final RealMatrix dense = BandedRealMatrixTest.createBanded(random, 25, bw[0], bw[1]);
+            for (int i = 0; i < 25; ++i) {
+                // avoid near-singular matrices
+                dense.addToEntry(i, i, 0.5 * FastMath.signum(dense.getEntry(i, i)));
+            }
+            final BandedLUDecomposition banded = new BandedLUDecomposition(new BandedRealMatrix(dense, bw[0], bw[1]));
+            final LUDecomposition       lu     = new LUDecomposition(dense);
+            assertEquals(lu.getDeterminant(), banded.getDeterminant(), 1.0e-12 * FastMath.abs(lu.getDeterminant()));
+            assertTrue(banded.getSolver().isNonSingular());
+            assertEquals(0, banded.getU().getLowerBandwidth());
+
+            final RealMatrix b = BandedRealMatrixTest.createBanded(random, 25, 24, 24).getSubMatrix(0, 24, 0, 2);
+            final RealMatrix x = banded.getSolver().solve(b);
+            BandedRealMatrixTest.checkEquals(b, dense.multiply(x), 1.0e-12);
+            final RealVector xv = banded.getSolver().solve(b.getColumnVector(1));
+            assertEquals(0.0, dense.operate(xv).subtract(b.getColumnVector(1)).getNorm(), 1.0e-12);
+            BandedRealMatrixTest.checkEquals(MatrixUtils.createRealIdentityMatrix(25),
+                                             dense.multiply(banded.getSolver().getInverse()), 1.0e-11);
+        }
+    }
+
+    @Test
+    void testPivoting() {
+        // zero on the diagonal requires pivoting
+        final TriDiagonalRealMatrix m = new TriDiagonalRealMatrix(new double[] { 1.0, 1.0, 1.0 },
+                                                                  new double[] { 0.0, 0.0, 0.0, 0.0 },
+                                                                  new double[] { 1.0, 1.0, 1.0 });
+        final BandedLUDecomposition lu = new BandedLUDecomposition(m);
+        assertEquals(1.0, lu.getDeterminant(), 1.0e-15);
+        assertEquals(2, lu.getU().getUpperBandwidth());
+        final RealVector x = lu.getSolver().solve(new ArrayRealVector(new double[] { 1.0, 2.0, 3.0, 4.0 }));
+        assertEquals(0.0, m.operate(x).subtract(new ArrayRealVector(new double[] { 1.0, 2.0, 3.0, 4.0 })).getNorm(), 1.0e-15);
+    }
+
+    @Test
+    void testLargeTriDiagonal() {
+        // finite differences for -u'' = 1 on [0, 1] with u(0) = u(1) = 0
+        final int n = 1000000;
+        final double h = 1.0 / (n + 1);
+        final double[] sub  = new double[n - 1];
+        final double[] diag = new double[n];
+        final double[] rhs  = new double[n];
+        Arrays.fill(sub, -1.0);
+        Arrays.fill(diag, 2.0);
+        Arrays.fill(rhs, h * h);
+        final TriDiagonalRealMatrix m = new TriDiagonalRealMatrix(sub, diag, sub);
+        final RealVector u = new BandedLUDecomposition(m).getSolver().solve(new ArrayRealVector(rhs, false));
+        for (int i = 0; i < n; i += 99991) {
+            final double t = (i + 1) * h;
+            assertEquals(0.5 * t * (1 - t), u.getEntry(i), 1.0e-7);
+        }
+    }
+
+    @Test
+    void testSingular() {
+        final BandedRealMatrix m = new BandedRealMatrix(4, 1, 1);
+        m.setEntry(0, 0, 1.0);
+        m.setEntry(1, 1, 1.0);
+        m.setEntry(3, 3, 1.0);
+        final BandedLUDecomposition lu = new BandedLUDecomposition(m);
+        assertFalse(lu.getSolver().isNonSingular());
+        assertEquals(0.0, lu.getDeterminant(), 0.0);
+        assertNull(lu.getU());
+        assertThrows(MathIllegalArgumentException.class, () -> lu.getSolver().solve(new ArrayRealVector(4)));
+        assertThrows(MathIllegalArgumentException.class, () -> lu.getSolver().solve(new Array2DRowRealMatrix(4, 2)));
+    }
+
+    @Test
+    void testDimensions() {
+        final BandedLUDecomposition lu = new BandedLUDecomposition(new TriDiagonalRealMatrix(new double[] { 1.0 },
+                                                                                             new double[] { 3.0, 3.0 },
+                                                                                             new double[] { 1.0 }));
+        assertEquals(2, lu.getSolver().getRowDimension());
+        assertEquals(2, lu.getSolver().getColumnDimension());
+        assertThrows(MathIllegalArgumentException.class, () -> lu.getSolver().solve(new ArrayRealVector(3)));
+        assertThrows(MathIllegalArgumentException.class, () -> lu.getSolver().solve(new Array2DRowRealMatrix(3, 2)));
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link BandedRealMatrix} and {@link TriDiagonalRealMatrix} classes.
+ */
+class BandedRealMatrixTest {
+
+    @Test
+    void testEntries() {
+        final BandedRealMatrix m = new BandedRealMatrix(6, 2, 1);
+        assertEquals(2, m.getLowerBandwidth());
+        assertEquals(1, m.getUpperBandwidth());
+        assertEquals(24, m.getDataRef().length);
+        m.setEntry(3, 1, 2.5);
+        m.addToEntry(3, 1, 1.0);
+        m.setEntry(2, 3, -1.0);
+        m.multiplyEntry(2, 3, 3.0);
+        m.setEntry(0, 5, 0.0);
+        m.multiplyEntry(0, 5, 3.0);
+        assertEquals(3.5, m.getEntry(3, 1), 0.0);
+        assertEquals(-3.0, m.getEntry(2, 3), 0.0);
+        assertEquals(0.0, m.getEntry(0, 5), 0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> m.setEntry(0, 2, 1.0));
+        assertThrows(MathIllegalArgumentException.class, () -> m.addToEntry(4, 1, 1.0));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(6, 0));
+        assertThrows(MathIllegalArgumentException.class, () -> new BandedRealMatrix(6, -1, 1));
+        assertThrows(MathIllegalArgumentException.class, () -> new BandedRealMatrix(6, 1, 1, new double[17], false));
+        assertTrue(m.createMatrix(3, 4) instanceof Array2DRowRealMatrix);
+    }
+
+    @Test
+    void testFromMatrix() {
+        final RandomGenerator random = new Well1024a(0x17b3d5f2a9c4e068l);
+        final RealMatrix dense = createBanded(random, 9, 3, 2);
+        final BandedRealMatrix m = new BandedRealMatrix(dense, 3, 2);
+        checkEquals(dense, m, 0.0);
+        checkEquals(dense, m.copy(), 0.0);
+        checkEquals(dense.transpose(), m.transpose(), 0.0);
+        assertEquals(2, m.transpose().getLowerBandwidth());
+        assertEquals(3, m.transpose().getUpperBandwidth());
+        checkEquals(dense, new BandedRealMatrix(9, 3, 2, m.getDataRef(), true), 0.0);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new BandedRealMatrix(new Array2DRowRealMatrix(3, 4), 1, 1));
+    }
+
+    @Test
+    void testArithmetic() {
+        final RandomGenerator random = new Well1024a(0x4e8c2a0f7d1b9356l);
+        final RealMatrix a = createBanded(random, 20, 3, 1);
+        final RealMatrix b = createBanded(random, 20, 0, 4);
+        final BandedRealMatrix ba = new BandedRealMatrix(a, 3, 1);
+        final BandedRealMatrix bb = new BandedRealMatrix(b, 0, 4);
+
+        final BandedRealMatrix sum = ba.add(bb);
+        assertEquals(3, sum.getLowerBandwidth());
+        assertEquals(4, sum.getUpperBandwidth());
+        checkEquals(a.add(b), sum, 1.0e-15);
+        checkEquals(a.subtract(b), ba.subtract(bb), 1.0e-15);
+        checkEquals(a.add(b), ba.add((RealMatrix) bb), 1.0e-15);
+        checkEquals(a.scalarMultiply(2.5), ba.scalarMultiply(2.5), 1.0e-15);
+
+        final BandedRealMatrix product = ba.multiply(bb);
+        assertEquals(3, product.getLowerBandwidth());
+        assertEquals(5, product.getUpperBandwidth());
+        checkEquals(a.multiply(b), product, 1.0e-14);
+        final RealMatrix dense = createBanded(random, 20, 19, 19).getSubMatrix(0, 19, 0, 6);
+        checkEquals(a.multiply(dense), ba.multiply(dense), 1.0e-14);
+
+        final double[] v = dense.getColumn(0);
+        assertArrayEquals(a.operate(v), ba.operate(v), 1.0e-15);
+        assertArrayEquals(a.preMultiply(v), ba.preMultiply(v), 1.0e-15);
+        assertThrows(MathIllegalArgumentException.class, () -> ba.operate(new double[19]));
+        assertThrows(MathIllegalArgumentException.class, () -> ba.preMultiply(new double[19]));
+    }
+
+    @Test
+    void testTriDiagonal() {
+        final double[] sub   = { 1.0, 2.0, 3.0 };
+        final double[] diag  = { 4.0, 5.0, 6.0, 7.0 };
+        final double[] sup   = { -1.0, -2.0, -3.0 };
+        final TriDiagonalRealMatrix m = new TriDiagonalRealMatrix(sub, diag, sup);
+        assertEquals(4, m.getRowDimension());
+        assertEquals(1, m.getLowerBandwidth());
+        assertEquals(1, m.getUpperBandwidth());
+        assertEquals(2.0, m.getEntry(2, 1), 0.0);
+        assertEquals(6.0, m.getEntry(2, 2), 0.0);
+        assertEquals(-3.0, m.getEntry(2, 3), 0.0);
+        assertEquals(0.0, m.getEntry(0, 2), 0.0);
+        assertArrayEquals(sub,  m.getSubDiagonal(), 0.0);
+        assertArrayEquals(diag, m.getDiagonal(), 0.0);
+        assertArrayEquals(sup,  m.getSuperDiagonal(), 0.0);
+        assertArrayEquals(sub,  m.transpose().getSuperDiagonal(), 0.0);
+        assertArrayEquals(sup,  m.copy().getSuperDiagonal(), 0.0);
+        assertEquals(1, new TriDiagonalRealMatrix(new double[0], new double[] { 2.0 }, new double[0]).getRowDimension());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new TriDiagonalRealMatrix(sub, diag, new double[2]));
+    }
+
+    static RealMatrix createBanded(final RandomGenerator random, final int n,
+                                   final int lowerBandwidth, final int upperBandwidth) {
+        final RealMatrix m = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = Math.max(0, i - lowerBandwidth); j <= Math.min(n - 1, i + upperBandwidth); ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+    static void checkEquals(final RealMatrix expected, final RealMatrix observed, final double tolerance) {
+        assertEquals(expected.getRowDimension(),    observed.getRowDimension());
+        assertEquals(expected.getColumnDimension(), observed.getColumnDimension());
+        assertEquals(0.0, expected.subtract(observed).getNorm1(), tolerance);
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.IterationEvent;
+import org.hipparchus.util.IterationListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BiCGSTABTest {
+
+    @Test
+    void testErrors() {
+        final BiCGSTAB solver = new BiCGSTAB(10, 1.0e-10);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> solver.solve(new Array2DRowRealMatrix(2, 3), new ArrayRealVector(2)));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> solver.solve(new Array2DRowRealMatrix(3, 3), new ArrayRealVector(2)));
+    }
+
+    @Test
+    void testUnpreconditionedAndPreconditioned() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(20, 20, 2.0);
+        final RealVector b = new ArrayRealVector(400, 1.0);
+        final int plain = GMRESTest.solve(new BiCGSTAB(1000, 1.0e-10), a, null, b);
+        final int ilu0  = GMRESTest.solve(new BiCGSTAB(1000, 1.0e-10), a, new IncompleteLUPreconditioner(a), b);
+        assertTrue(ilu0 < plain / 2);
+    }
+
+    @Test
+    void testUpdatedResidual() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(8, 8, 1.0);
+        final RealVector b = new ArrayRealVector(64, 1.0);
+        final BiCGSTAB solver = new BiCGSTAB(1000, 1.0e-10);
+        final int[] count = new int[1];
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+
+            public void initializationPerformed(final IterationEvent e) {
+                // Do nothing
+            }
+
+            public void iterationStarted(final IterationEvent e) {
+                // Do nothing
+            }
+
+            public void iterationPerformed(final IterationEvent e) {
+                ++count[0];
+                final IterativeLinearSolverEvent evt = (IterativeLinearSolverEvent) e;
+                final RealVector r = b.subtract(a.operate(evt.getSolution()));
+                assertEquals(0.0, r.subtract(evt.getResidual()).getNorm(), 1.0e-10);
+                assertEquals(evt.getResidual().getNorm(), evt.getNormOfResidual(), 1.0e-15);
+            }
+
+            public void terminationPerformed(final IterationEvent e) {
+                // Do nothing
+            }
+
+        });
+        solver.solve(a, new IncompleteLUPreconditioner(a), b, new ArrayRealVector(64));
+        assertEquals(solver.getIterationManager().getIterations() - 1, count[0]);
+    }
+
+    @Test
+    void testMaxIterations() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(20, 20, 2.0);
+        assertThrows(MathIllegalStateException.class,
+                     () -> new BiCGSTAB(3, 1.0e-12).solve(a, new ArrayRealVector(400, 1.0)));
+    }
+
+    @Test
+    void testBreakdown() {
+        // rotation matrix: r0 is orthogonal to A r0 and rho becomes zero
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(new double[][] {
+            { 0, -1 }, { 1, 0 }
+        });
+        assertThrows(MathIllegalStateException.class,
+                     () -> new BiCGSTAB(10, 1.0e-12).solve(a, new ArrayRealVector(new double[] { 1, 0 })));
+    }
+
+}
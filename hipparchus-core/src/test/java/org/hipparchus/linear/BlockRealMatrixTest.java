@@ -32,11 +32,15 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -435,6 +439,57 @@ final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    void testParallelProductsSameAsSequential() {
+        final Random r = new Random(0x7f5b2c3a19e4d861l);
+        final BlockRealMatrix a = createRandomMatrix(r, 171, 130);
+        final BlockRealMatrix b = createRandomMatrix(r, 130, 217);
+        final BlockRealMatrix c = createRandomMatrix(r, 171, 97);
+        final BlockRealMatrix d = createRandomMatrix(r, 64, 130);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(a.multiply(b), a.multiply(b, pool));
+            assertEquals(a.transposeMultiply(c), a.transposeMultiply(c, pool));
+            assertEquals(a.multiplyTransposed(d), a.multiplyTransposed(d, pool));
+            assertEquals(a.multiply(b), a.multiply(b, (ForkJoinPool) null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testDefaultPool() {
+        final Random r = new Random(0x3e1c9a7b52d4f086l);
+        final RealMatrix a = createRandomMatrix(r, 120, 75);
+        final RealMatrix b = createRandomMatrix(r, 75, 110);
+        final RealMatrix sequential = a.multiply(b);
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        assertNull(BlockRealMatrix.getDefaultPool());
+        try {
+            BlockRealMatrix.setDefaultPool(pool);
+            assertSame(pool, BlockRealMatrix.getDefaultPool());
+            assertEquals(sequential, a.multiply(b));
+            assertEquals(a.transpose().multiply(a), a.transposeMultiply(a));
+            assertEquals(b.multiply(b.transpose()), b.multiplyTransposed(b));
+        } finally {
+            BlockRealMatrix.setDefaultPool(null);
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelProductWrongDimensions() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            new BlockRealMatrix(2, 3).multiply(new BlockRealMatrix(2, 3), pool);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /** test trace */
     @Test
     void testTrace() {
@@ -1400,6 +1455,85 @@ final class BlockRealMatrixTest {
         }
     }
 
+    @Test
+    void testIntoDestination() {
+        final Random r = new Random(0x7b2e9c41d05a3f68l);
+        final BlockRealMatrix a = createRandomMatrix(r, 171, 130);
+        final BlockRealMatrix b = createRandomMatrix(r, 130, 217);
+        final BlockRealMatrix c = createRandomMatrix(r, 171, 130);
+        final RealVector       v = new ArrayRealVector(createRandomMatrix(r, 1, 130).getRow(0));
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (final boolean block : new boolean[] { true, false }) {
+                final RealMatrix sum     = block ? new BlockRealMatrix(171, 130) : new Array2DRowRealMatrix(171, 130);
+                final RealMatrix product = block ? new BlockRealMatrix(171, 217) : new Array2DRowRealMatrix(171, 217);
+                final RealMatrix tr      = block ? new BlockRealMatrix(130, 171) : new Array2DRowRealMatrix(130, 171);
+                assertSame(sum, a.add(c, sum));
+                assertEquals(0.0, sum.subtract(a.add(c)).getNorm1(), 0.0);
+                assertSame(sum, a.subtract(c, sum));
+                assertEquals(0.0, sum.subtract(a.subtract(c)).getNorm1(), 0.0);
+                assertSame(tr, a.transpose(tr));
+                assertEquals(0.0, tr.subtract(a.transpose()).getNorm1(), 0.0);
+
+                // reusing the destination must not accumulate previous results
+                for (int k = 0; k < 2; ++k) {
+                    assertSame(product, a.multiply(b, product));
+                    assertEquals(0.0, product.subtract(a.multiply(b)).getNorm1(), block ? 0.0 : 1.0e-8);
+                }
+
+                // mixed types
+                assertSame(sum, a.add(new Array2DRowRealMatrix(c.getData()), sum));
+                assertEquals(0.0, sum.subtract(a.add(c)).getNorm1(), 0.0);
+            }
+
+            // parallel product is identical bit for bit
+            final BlockRealMatrix product = new BlockRealMatrix(171, 217);
+            assertSame(product, a.multiply(b, product, pool));
+            assertEquals(0.0, product.subtract(a.multiply(b)).getNorm1(), 0.0);
+
+            // matrix-vector product
+            final RealVector out = new ArrayRealVector(171);
+            for (int k = 0; k < 2; ++k) {
+                assertSame(out, a.operate(v, out));
+                assertEquals(0.0, out.subtract(a.operate(v)).getNorm(), 0.0);
+            }
+
+            // destination may be an operand for element-wise operations
+            final BlockRealMatrix aCopy = a.copy();
+            assertSame(aCopy, aCopy.add(c, aCopy));
+            assertEquals(0.0, aCopy.subtract(a.add(c)).getNorm1(), 0.0);
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testIntoDestinationErrors() {
+        final Random r = new Random(0x1c84f7e23a69b05dl);
+        final BlockRealMatrix a = createRandomMatrix(r, 80, 80);
+        final RealVector v = new ArrayRealVector(80);
+        assertThrows(MathIllegalArgumentException.class, () -> a.add(a, new BlockRealMatrix(80, 79)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.subtract(a, new BlockRealMatrix(79, 80)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(a, new BlockRealMatrix(80, 81)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.transpose(new BlockRealMatrix(81, 80)));
+        assertThrows(MathIllegalArgumentException.class, () -> a.operate(v, new ArrayRealVector(81)));
+
+        // aliasing
+        final BlockRealMatrix b = createRandomMatrix(r, 80, 80);
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(b, a));
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(b, b));
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(b, (RealMatrix) a));
+        assertThrows(MathIllegalArgumentException.class, () -> a.transpose(a));
+        assertThrows(MathIllegalArgumentException.class, () -> a.operate(v, v));
+        try {
+            a.multiply(b, b, null);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DESTINATION_ALIASES_OPERAND, miae.getSpecifier());
+        }
+    }
+
     private BlockRealMatrix createRandomMatrix(Random r, int rows, int columns) {
         BlockRealMatrix m = new BlockRealMatrix(rows, columns);
         for (int i = 0; i < rows; ++i) {
@@ -1409,4 +1543,82 @@ final class BlockRealMatrixTest {
         }
         return m;
     }
+
+    @Test
+    void testParallelWalk() {
+        final RandomGenerator random = new Well1024a(0x6a2f19d0c83e5b47l);
+        final BlockRealMatrix m = new BlockRealMatrix(517, 389);
+        for (int i = 0; i < 517; ++i) {
+            for (int j = 0; j < 389; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        final RealMatrix reference = m.copy();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final StatisticsVisitor sequential = new StatisticsVisitor();
+            final StatisticsVisitor parallel   = new StatisticsVisitor();
+            assertEquals(m.walkInOptimizedOrder(sequential), m.walkInOptimizedOrder(parallel, pool), 1.0e-10);
+            assertEquals(sequential.count, parallel.count);
+            assertEquals(sequential.max, parallel.max, 0.0);
+            assertEquals(517 * 389, parallel.count);
+
+            m.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(final int row, final int column, final double value) {
+                    return value * (row + 1) - column;
+                }
+            }, pool);
+            m.mapToSelf(FastMath::abs, pool);
+            for (int i = 0; i < 517; ++i) {
+                for (int j = 0; j < 389; ++j) {
+                    assertEquals(FastMath.abs(reference.getEntry(i, j) * (i + 1) - j), m.getEntry(i, j), 0.0);
+                }
+            }
+
+            // a null pool means sequential walk
+            final StatisticsVisitor noPool = new StatisticsVisitor();
+            assertEquals(m.walkInOptimizedOrder(new StatisticsVisitor()), m.walkInOptimizedOrder(noPool, null), 0.0);
+            assertEquals(517 * 389, noPool.count);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Splittable visitor computing sum, count and maximum of entries. */
+    private static class StatisticsVisitor implements SplittableRealMatrixPreservingVisitor<StatisticsVisitor> {
+        private double sum;
+        private double max = Double.NEGATIVE_INFINITY;
+        private int count;
+
+        @Override
+        public void start(int rows, int columns, int startRow, int endRow, int startColumn, int endColumn) {
+        }
+
+        @Override
+        public void visit(int row, int column, double value) {
+            sum += value;
+            max  = FastMath.max(max, value);
+            ++count;
+        }
+
+        @Override
+        public double end() {
+            return sum;
+        }
+
+        @Override
+        public StatisticsVisitor fork() {
+            return new StatisticsVisitor();
+        }
+
+        @Override
+        public void merge(final StatisticsVisitor other) {
+            sum  += other.sum;
+            max   = FastMath.max(max, other.max);
+            count += other.count;
+        }
+
+    }
+
 }
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BufferRealMatrixTest {
+
+    @Test
+    void testEntries() {
+        final RandomGenerator random = new Well1024a(0x3a8e5c7f1d2b9064l);
+        final BlockRealMatrix  reference = createRandomMatrix(random, 117, 61);
+        final BufferRealMatrix m         = copyOf(reference, Integer.MAX_VALUE);
+        assertEquals(117, m.getRowDimension());
+        assertEquals(61,  m.getColumnDimension());
+        checkEquals(reference, m);
+        m.addToEntry(60, 55, 3.0);
+        reference.addToEntry(60, 55, 3.0);
+        m.multiplyEntry(116, 60, -2.0);
+        reference.multiplyEntry(116, 60, -2.0);
+        checkEquals(reference, m);
+        checkEquals(reference, m.copy());
+        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(117, 0));
+        assertThrows(MathIllegalArgumentException.class, () -> m.setEntry(0, -1, 1.0));
+    }
+
+    @Test
+    void testSegments() {
+        // at most two block rows per segment, so the matrix spans three segments
+        final RandomGenerator random = new Well1024a(0x6b1d4e9a07c3f852l);
+        final BlockRealMatrix  reference = createRandomMatrix(random, 250, 70);
+        final BufferRealMatrix m         = copyOf(reference, 2 * BlockRealMatrix.BLOCK_SIZE * 70 + 10);
+        checkEquals(reference, m);
+        final double[] v = new double[70];
+        for (int i = 0; i < v.length; ++i) {
+            v[i] = random.nextDouble();
+        }
+        assertArrayEquals(reference.operate(v), m.operate(v), 1.0e-12);
+        assertThrows(MathIllegalArgumentException.class, () -> new BufferRealMatrix(60, 70, 1000));
+    }
+
+    @Test
+    void testMultiply() {
+        final RandomGenerator random = new Well1024a(0x92c4f1e7a05b3d68l);
+        final BlockRealMatrix a = createRandomMatrix(random, 130, 111);
+        final BlockRealMatrix b = createRandomMatrix(random, 111, 57);
+        final BlockRealMatrix reference = a.multiply(b);
+        final BufferRealMatrix bufferA = copyOf(a, BlockRealMatrix.BLOCK_SIZE * 111);
+        final BufferRealMatrix bufferB = copyOf(b, Integer.MAX_VALUE);
+
+        // same kernel as BlockRealMatrix, hence bit for bit identical results
+        checkEquals(reference, bufferA.multiply((RealMatrix) bufferB));
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            checkEquals(reference, bufferA.multiply(bufferB, pool));
+        } finally {
+            pool.shutdown();
+        }
+
+        // generic fallback
+        final RealMatrix generic = bufferA.multiply(MatrixUtils.createRealMatrix(b.getData()));
+        assertEquals(0.0, generic.subtract(reference).getNorm1(), 1.0e-12);
+
+        assertThrows(MathIllegalArgumentException.class, () -> bufferA.multiply(bufferA, (ForkJoinPool) null));
+    }
+
+    @Test
+    void testMultiplyIntoDestination() throws IOException {
+        final RandomGenerator random = new Well1024a(0x5e07b2c94a1d3f86l);
+        final BlockRealMatrix a = createRandomMatrix(random, 83, 96);
+        final BlockRealMatrix b = createRandomMatrix(random, 96, 121);
+        final BlockRealMatrix reference = a.multiply(b);
+        final BufferRealMatrix bufferA = copyOf(a, Integer.MAX_VALUE);
+        final BufferRealMatrix bufferB = copyOf(b, BlockRealMatrix.BLOCK_SIZE * 121);
+
+        // off-heap destination, through the generic API
+        final BufferRealMatrix direct = new BufferRealMatrix(83, 121);
+        assertSame(direct, bufferA.multiply((RealMatrix) bufferB, (RealMatrix) direct));
+        checkEquals(reference, direct);
+
+        // memory-mapped destination, product streamed to the file
+        final File file = File.createTempFile("buffer-real-matrix-product", ".bin");
+        file.deleteOnExit();
+        try {
+            final ForkJoinPool pool = new ForkJoinPool(3);
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                                                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final BufferRealMatrix mapped = new BufferRealMatrix(channel, FileChannel.MapMode.READ_WRITE,
+                                                                     0L, 83, 121);
+                assertSame(mapped, bufferA.multiply(bufferB, mapped, pool));
+                mapped.force();
+                checkEquals(reference, mapped);
+            } finally {
+                pool.shutdown();
+            }
+            assertEquals(8 * 83 * 121, file.length());
+        } finally {
+            file.delete();
+        }
+
+        // generic fallback
+        final BufferRealMatrix fallback = new BufferRealMatrix(83, 121);
+        bufferA.multiply(MatrixUtils.createRealMatrix(b.getData()), fallback);
+        assertEquals(0.0, fallback.subtract(reference).getNorm1(), 1.0e-12);
+
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> bufferA.multiply(bufferB, new BufferRealMatrix(83, 120), null));
+        final BufferRealMatrix square = copyOf(createRandomMatrix(random, 40, 40), Integer.MAX_VALUE);
+        assertThrows(MathIllegalArgumentException.class, () -> square.multiply(square, square, null));
+    }
+
+    @Test
+    void testWalks() {
+        final RandomGenerator random = new Well1024a(0x0f7e2d9c4b6a1358l);
+        final BlockRealMatrix  reference = createRandomMatrix(random, 75, 108);
+        final BufferRealMatrix m         = copyOf(reference, Integer.MAX_VALUE);
+
+        final RealMatrixChangingVisitor scale = new DefaultRealMatrixChangingVisitor() {
+            @Override
+            public double visit(int row, int column, double value) {
+                return 2 * value + row - column;
+            }
+        };
+        m.walkInOptimizedOrder(scale);
+        reference.walkInOptimizedOrder(scale);
+        checkEquals(reference, m);
+        m.walkInRowOrder(scale);
+        reference.walkInRowOrder(scale);
+        checkEquals(reference, m);
+
+        final SumVisitor sumOptimized = new SumVisitor();
+        final SumVisitor sumRow       = new SumVisitor();
+        m.walkInOptimizedOrder(sumOptimized);
+        m.walkInRowOrder(sumRow);
+        assertEquals(75 * 108, sumOptimized.count);
+        assertEquals(75 * 108, sumRow.count);
+        assertEquals(sumRow.sum, sumOptimized.sum, 1.0e-9 * Math.abs(sumRow.sum));
+    }
+
+    @Test
+    void testMappedFile() throws IOException {
+        final RandomGenerator random = new Well1024a(0xd3a51f86c29e7b04l);
+        final BlockRealMatrix reference = createRandomMatrix(random, 60, 55);
+        final File file = File.createTempFile("buffer-real-matrix", ".bin");
+        file.deleteOnExit();
+        try {
+            // the file holds a header followed by the matrix, in blocks layout
+            final long header = 16;
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                                                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final BufferRealMatrix m = new BufferRealMatrix(channel, FileChannel.MapMode.READ_WRITE,
+                                                                header, 60, 55,
+                                                                BlockRealMatrix.BLOCK_SIZE * 55);
+                m.setSubMatrix(reference.getData(), 0, 0);
+                m.force();
+            }
+            assertEquals(header + 8 * 60 * 55, file.length());
+
+            // check raw file content
+            final ByteBuffer raw = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+            raw.position((int) header);
+            for (final double[] block : BlockRealMatrix.toBlocksLayout(reference.getData())) {
+                for (final double entry : block) {
+                    assertEquals(entry, raw.getDouble(), 0.0);
+                }
+            }
+
+            // map it again, read only
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final BufferRealMatrix m = new BufferRealMatrix(channel, FileChannel.MapMode.READ_ONLY,
+                                                                header, 60, 55);
+                checkEquals(reference, m);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private BlockRealMatrix createRandomMatrix(final RandomGenerator random, final int rows, final int columns) {
+        final BlockRealMatrix m = new BlockRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+    private BufferRealMatrix copyOf(final RealMatrix m, final int maxSegmentSize) {
+        final BufferRealMatrix copy = new BufferRealMatrix(m.getRowDimension(), m.getColumnDimension(),
+                                                           maxSegmentSize);
+        copy.setSubMatrix(m.getData(), 0, 0);
+        return copy;
+    }
+
+    private void checkEquals(final RealMatrix expected, final RealMatrix actual) {
+        assertEquals(expected.getRowDimension(),    actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            for (int j = 0; j < expected.getColumnDimension(); ++j) {
+                assertEquals(expected.getEntry(i, j), actual.getEntry(i, j), 0.0);
+            }
+        }
+    }
+
+    private static class SumVisitor extends DefaultRealMatrixPreservingVisitor {
+        double sum;
+        int    count;
+        @Override
+        public void visit(int row, int column, double value) {
+            sum += value;
+            ++count;
+        }
+    }
+
+}
@@ -172,4 +172,41 @@ class CholeskyDecompositionTest {
         assertTrue(l  == llt.getL());
         assertTrue(lt == llt.getLT());
     }
+
+    /** test rank-one update and downdate */
+    @Test
+    void testUpdateDowndate() {
+        final RealMatrix a = MatrixUtils.createRealMatrix(testData);
+        final CholeskyDecomposition llt = new CholeskyDecomposition(a);
+        final DecompositionSolver solver = llt.getSolver();
+        final RealMatrix lt = llt.getLT();
+
+        final double[] x = { 0.5, -1.0, 2.0, 0.25, -3.0 };
+        final RealMatrix xxT = MatrixUtils.createColumnRealMatrix(x).multiplyTransposed(MatrixUtils.createColumnRealMatrix(x));
+        llt.update(x);
+        assertTrue(lt != llt.getLT());
+        assertEquals(0, llt.getL().multiply(llt.getLT()).subtract(a.add(xxT)).getNorm1(), 1.0e-11);
+        assertEquals(new CholeskyDecomposition(a.add(xxT)).getDeterminant(), llt.getDeterminant(), 1.0e-6);
+        for (int i = 0; i < x.length; ++i) {
+            assertTrue(llt.getL().getEntry(i, i) > 0);
+        }
+
+        // the solver retrieved before the update uses the updated factor
+        final RealVector b = new ArrayRealVector(new double[] { 1, 2, 3, 4, 5 });
+        assertEquals(0, a.add(xxT).operate(solver.solve(b)).subtract(b).getNorm(), 1.0e-10);
+
+        llt.downdate(x);
+        assertEquals(0, llt.getL().subtract(new CholeskyDecomposition(a).getL()).getNorm1(), 1.0e-12);
+        for (int i = 0; i < x.length; ++i) {
+            assertTrue(llt.getL().getEntry(i, i) > 0);
+        }
+
+        // downdating to a non positive definite matrix fails and leaves the decomposition unchanged
+        final RealMatrix before = llt.getL();
+        final MathIllegalArgumentException miae =
+            assertThrows(MathIllegalArgumentException.class, () -> llt.downdate(new double[] { 2, 0, 0, 0, 0 }));
+        assertEquals(LocalizedCoreFormats.NOT_POSITIVE_DEFINITE_MATRIX, miae.getSpecifier());
+        assertEquals(0, llt.getL().subtract(before).getNorm1(), 0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> llt.update(new double[4]));
+    }
 }
@@ -57,6 +57,20 @@ class ComplexEigenDecompositionTest {
         assertEquals(new Complex(1, -2), ev2);
     }
 
+    @Test
+    void testComplexMatrices() {
+        final RealMatrix A = MatrixUtils.createRealMatrix(new double[][] { { 3, -2 }, { 4, -1 } });
+        ComplexEigenDecomposition eigenDecomp = new ComplexEigenDecomposition(A);
+        final ComplexMatrix v = eigenDecomp.getComplexV();
+        final ComplexMatrix d = eigenDecomp.getComplexD();
+        assertEquals(eigenDecomp.getV(), v);
+        assertEquals(eigenDecomp.getD(), d);
+        assertEquals(eigenDecomp.getVT(), eigenDecomp.getComplexVT());
+        final ComplexMatrix av = new ComplexMatrix(A).multiply(v);
+        final ComplexMatrix vd = v.multiply(d);
+        assertEquals(0.0, av.subtract(vd).getFrobeniusNorm(), 1.0e-10);
+    }
+
     @Test
     void testHasComplexEigenValues() {
         final RealMatrix A = MatrixUtils.createRealMatrix(new double[][] { { 3, -2 }, { 4, -1 } });
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComplexLUDecompositionTest {
+
+    @Test
+    void testPLU() {
+        final RandomGenerator random = new Well1024a(0x6d02b9e4a7f3158cl);
+        final ComplexMatrix a = ComplexMatrixTest.createRandom(random, 30, 30);
+        final ComplexLUDecomposition lu = new ComplexLUDecomposition(a);
+        final ComplexMatrix l = lu.getL();
+        final ComplexMatrix u = lu.getU();
+        for (int i = 0; i < 30; ++i) {
+            assertEquals(Complex.ONE, l.getEntry(i, i));
+            for (int j = i + 1; j < 30; ++j) {
+                assertEquals(Complex.ZERO, l.getEntry(i, j));
+                assertEquals(Complex.ZERO, u.getEntry(j, i));
+            }
+        }
+        ComplexMatrixTest.checkEquals(new ComplexMatrix(lu.getP()).multiply(a), l.multiply(u), 1.0e-13);
+
+        final Complex expected = new FieldLUDecomposition<>(new Array2DRowFieldMatrix<>(a.getData())).getDeterminant();
+        assertEquals(0.0, expected.subtract(lu.getDeterminant()).norm(), 1.0e-12 * expected.norm());
+    }
+
+    @Test
+    void testSolve() {
+        final RandomGenerator random = new Well1024a(0xa35c71e80f24bd96l);
+        final ComplexMatrix a = ComplexMatrixTest.createRandom(random, 25, 25);
+        final ComplexDecompositionSolver solver = new ComplexLUDecomposition(a).getSolver();
+        assertTrue(solver.isNonSingular());
+        assertEquals(25, solver.getRowDimension());
+        assertEquals(25, solver.getColumnDimension());
+
+        final ComplexMatrix b = ComplexMatrixTest.createRandom(random, 25, 4);
+        ComplexMatrixTest.checkEquals(b, a.multiply(solver.solve(b)), 1.0e-12);
+        final ComplexVector bv = new ComplexVector(b.getColumnVector(1));
+        assertEquals(0.0, a.operate(solver.solve(bv)).subtract(bv).getNorm(), 1.0e-12);
+        final FieldVector<Complex> fx = solver.solve(bv.toFieldVector());
+        assertEquals(0.0, a.operate(new ComplexVector(fx)).subtract(bv).getNorm(), 1.0e-12);
+        ComplexMatrixTest.checkEquals(ComplexMatrix.createIdentity(25), a.multiply(solver.getInverse()), 1.0e-12);
+
+        assertThrows(MathIllegalArgumentException.class, () -> solver.solve(new ComplexVector(24)));
+        assertThrows(MathIllegalArgumentException.class, () -> new ComplexLUDecomposition(new ComplexMatrix(2, 3)));
+    }
+
+    @Test
+    void testSingular() {
+        final ComplexMatrix a = new ComplexMatrix(new Complex[][] {
+            { new Complex(1, 1), new Complex(2, 0) },
+            { new Complex(0, 2), new Complex(2, 2) }
+        });
+        final ComplexLUDecomposition lu = new ComplexLUDecomposition(a);
+        assertFalse(lu.getSolver().isNonSingular());
+        assertNull(lu.getL());
+        assertEquals(Complex.ZERO, lu.getDeterminant());
+        assertThrows(MathIllegalArgumentException.class, () -> lu.getSolver().solve(new ComplexVector(2)));
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.complex.ComplexField;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComplexMatrixTest {
+
+    @Test
+    void testConversions() {
+        final RandomGenerator random = new Well1024a(0x3c81f6a29e5d07b4l);
+        final ComplexMatrix m = createRandom(random, 4, 3);
+        final FieldMatrix<Complex> field = new Array2DRowFieldMatrix<>(m.getData());
+        assertEquals(field, m);
+        assertEquals(m, new ComplexMatrix(field));
+        assertEquals(m, new ComplexMatrix(m.getRealPart(), m.getImaginaryPart()));
+        assertEquals(m, new ComplexMatrix(4, 3, m.getDataRef(), true));
+        assertEquals(new Complex(m.getReal(2, 1), m.getImaginary(2, 1)), m.getEntry(2, 1));
+        assertEquals(ComplexField.getInstance(), m.getField());
+
+        final ComplexMatrix copy = m.copy();
+        copy.setEntry(1, 2, 3.0, -4.0);
+        copy.addToEntry(1, 2, new Complex(1.0, 1.0));
+        copy.multiplyEntry(1, 2, Complex.I);
+        assertEquals(new Complex(3.0, 4.0), copy.getEntry(1, 2));
+        assertEquals(5.0, new ComplexMatrix(1, 1, new double[] { 3.0, 4.0 }, false).getFrobeniusNorm(), 1.0e-15);
+
+        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(4, 0));
+        assertThrows(MathIllegalArgumentException.class, () -> new ComplexMatrix(2, 2, new double[6], false));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new ComplexMatrix(new Array2DRowRealMatrix(2, 2), new Array2DRowRealMatrix(2, 3)));
+    }
+
+    @Test
+    void testAgainstFieldMatrix() {
+        final RandomGenerator random = new Well1024a(0x82e4d10f5b37c6a9l);
+        final ComplexMatrix a = createRandom(random, 5, 4);
+        final ComplexMatrix b = createRandom(random, 5, 4);
+        final ComplexMatrix c = createRandom(random, 4, 6);
+        final FieldMatrix<Complex> fa = new Array2DRowFieldMatrix<>(a.getData());
+        final FieldMatrix<Complex> fb = new Array2DRowFieldMatrix<>(b.getData());
+        final FieldMatrix<Complex> fc = new Array2DRowFieldMatrix<>(c.getData());
+        checkEquals(fa.add(fb), a.add(b), 1.0e-15);
+        checkEquals(fa.subtract(fb), a.subtract(b), 1.0e-15);
+        checkEquals(fa.multiply(fc), a.multiply(c), 1.0e-14);
+        checkEquals(fa.scalarMultiply(new Complex(0.5, -2.0)), a.scalarMultiply(new Complex(0.5, -2.0)), 1.0e-15);
+        checkEquals(fa.transpose(), a.transpose(), 0.0);
+        assertTrue(a.add((FieldMatrix<Complex>) b) instanceof ComplexMatrix);
+        assertTrue(a.multiply((FieldMatrix<Complex>) c) instanceof ComplexMatrix);
+
+        final ComplexMatrix h = a.conjugateTranspose();
+        for (int i = 0; i < 5; ++i) {
+            for (int j = 0; j < 4; ++j) {
+                assertEquals(a.getEntry(i, j).conjugate(), h.getEntry(j, i));
+            }
+        }
+
+        final ComplexVector v = new ComplexVector(new double[] { 1.0, 2.0, -1.0, 0.5, 0.0, 3.0, 2.0, -2.0 }, false);
+        final FieldVector<Complex> expected = fa.operate(v.toFieldVector());
+        final ComplexVector result = a.operate(v);
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(0.0, expected.getEntry(i).subtract(result.getEntry(i)).norm(), 1.0e-14);
+        }
+        assertThrows(MathIllegalArgumentException.class, () -> a.operate(new ComplexVector(5)));
+    }
+
+    @Test
+    void testBlockedMultiply() {
+        // dimensions span several blocks with partial last blocks
+        final RandomGenerator random = new Well1024a(0x1f9a64c3be07d582l);
+        final int p = ComplexMatrix.BLOCK_SIZE;
+        final ComplexMatrix a = createRandom(random, 2 * p + 3, p + 7);
+        final ComplexMatrix b = createRandom(random, p + 7, 3 * p - 5);
+        final FieldMatrix<Complex> expected =
+                        new Array2DRowFieldMatrix<>(a.getData()).multiply(new Array2DRowFieldMatrix<>(b.getData()));
+        checkEquals(expected, a.multiply(b), 1.0e-13);
+
+        final ComplexMatrix out = new ComplexMatrix(2 * p + 3, 3 * p - 5);
+        out.setEntry(0, 0, 100.0, 100.0);
+        assertSame(out, a.multiply(b, out));
+        checkEquals(expected, out, 1.0e-13);
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(b, new ComplexMatrix(3, 3)));
+        final ComplexMatrix square = createRandom(random, 3, 3);
+        assertThrows(MathIllegalArgumentException.class, () -> square.multiply(square, square));
+    }
+
+    @Test
+    void testVector() {
+        final ComplexVector u = new ComplexVector(new Complex[] { new Complex(1, 2), new Complex(-3, 0.5) });
+        final ComplexVector v = new ComplexVector(new double[] { 0.5, 4.0 }, new double[] { -1.0, 2.0 });
+        assertEquals(2, u.getDimension());
+        assertEquals(new Complex(1.0, 2.5), u.add(v).getEntry(1));
+        assertEquals(new Complex(0.5, 3.0), u.subtract(v).getEntry(0));
+        assertEquals(new Complex(-2.0, 1.0), u.mapMultiply(Complex.I).getEntry(0));
+        assertEquals(new Complex(1, -2), u.conjugate().getEntry(0));
+
+        // Hermitian product conjugates the instance
+        final Complex expected = new Complex(1, 2).conjugate().multiply(new Complex(0.5, -1.0)).
+                                 add(new Complex(-3, 0.5).conjugate().multiply(new Complex(4.0, 2.0)));
+        assertEquals(0.0, expected.subtract(u.dotProduct(v)).norm(), 1.0e-15);
+        assertEquals(u.getNorm() * u.getNorm(), u.dotProduct(u).getReal(), 1.0e-14);
+        assertEquals(0.0, u.dotProduct(u).getImaginary(), 0.0);
+
+        assertEquals(u, new ComplexVector(u.toFieldVector()));
+        assertEquals(u.hashCode(), u.copy().hashCode());
+        assertEquals(new ComplexVector(new double[] { 1, 0, 2, 0 }, false),
+                     new ComplexVector(new ArrayRealVector(new double[] { 1, 2 })));
+        assertThrows(MathIllegalArgumentException.class, () -> u.getEntry(2));
+        assertThrows(MathIllegalArgumentException.class, () -> u.add(new ComplexVector(3)));
+        assertThrows(MathIllegalArgumentException.class, () -> new ComplexVector(new double[3], false));
+    }
+
+    static ComplexMatrix createRandom(final RandomGenerator random, final int rows, final int columns) {
+        final double[] data = new double[2 * rows * columns];
+        for (int k = 0; k < data.length; ++k) {
+            data[k] = 2 * random.nextDouble() - 1;
+        }
+        return new ComplexMatrix(rows, columns, data, false);
+    }
+
+    static void checkEquals(final FieldMatrix<Complex> expected, final FieldMatrix<Complex> observed,
+                            final double tolerance) {
+        assertEquals(expected.getRowDimension(), observed.getRowDimension());
+        assertEquals(expected.getColumnDimension(), observed.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); ++i) {
+            for (int j = 0; j < expected.getColumnDimension(); ++j) {
+                assertEquals(0.0, expected.getEntry(i, j).subtract(observed.getEntry(i, j)).norm(), tolerance);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComplexQRDecompositionTest {
+
+    @Test
+    void testQR() {
+        final RandomGenerator random = new Well1024a(0x47b1ec093a6d52f8l);
+        for (final int[] dims : new int[][] { { 12, 12 }, { 15, 9 }, { 8, 13 } }) {
+            final ComplexMatrix a = ComplexMatrixTest.createRandom(random, dims[0], dims[1]);
+            final ComplexQRDecomposition qr = new ComplexQRDecomposition(a);
+            final ComplexMatrix q = qr.getQ();
+            final ComplexMatrix r = qr.getR();
+            ComplexMatrixTest.checkEquals(ComplexMatrix.createIdentity(dims[0]),
+                                          q.conjugateTranspose().multiply(q), 1.0e-14);
+            for (int i = 0; i < dims[0]; ++i) {
+                for (int j = 0; j < FastMath.min(i, dims[1]); ++j) {
+                    assertEquals(Complex.ZERO, r.getEntry(i, j));
+                }
+            }
+            ComplexMatrixTest.checkEquals(a, q.multiply(r), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testLeastSquares() {
+        final RandomGenerator random = new Well1024a(0xd8236f1ab4ce0597l);
+        final ComplexMatrix a = ComplexMatrixTest.createRandom(random, 20, 6);
+        final ComplexMatrix b = ComplexMatrixTest.createRandom(random, 20, 2);
+        final ComplexDecompositionSolver solver = new ComplexQRDecomposition(a).getSolver();
+        assertTrue(solver.isNonSingular());
+        final ComplexMatrix x = solver.solve(b);
+
+        // normal equations A^H (A x - b) = 0
+        final ComplexMatrix residual = a.multiply(x).subtract(b);
+        ComplexMatrixTest.checkEquals(new ComplexMatrix(6, 2), a.conjugateTranspose().multiply(residual), 1.0e-13);
+
+        // consistency with square solve
+        final ComplexMatrix square = ComplexMatrixTest.createRandom(random, 10, 10);
+        final ComplexVector rhs = new ComplexVector(ComplexMatrixTest.createRandom(random, 10, 1).getColumnVector(0));
+        final ComplexVector expected = new ComplexLUDecomposition(square).getSolver().solve(rhs);
+        assertEquals(0.0, new ComplexQRDecomposition(square).getSolver().solve(rhs).subtract(expected).getNorm(), 1.0e-12);
+    }
+
+    @Test
+    void testSingular() {
+        final ComplexMatrix a = new ComplexMatrix(3, 3);
+        a.setEntry(0, 0, 1.0, 2.0);
+        a.setEntry(1, 1, 3.0, 0.0);
+        final ComplexDecompositionSolver solver = new ComplexQRDecomposition(a).getSolver();
+        assertFalse(solver.isNonSingular());
+        assertThrows(MathIllegalArgumentException.class, () -> solver.solve(new ComplexVector(3)));
+        assertFalse(new ComplexQRDecomposition(new ComplexMatrix(2, 3)).getSolver().isNonSingular());
+    }
+
+}
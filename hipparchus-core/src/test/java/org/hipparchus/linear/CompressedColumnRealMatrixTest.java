@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+final class CompressedColumnRealMatrixTest {
+
+    @Test
+    void testArrays() {
+        // 1 0 2
+        // 0 0 3
+        // 4 5 0
+        final CompressedColumnRealMatrix m =
+                        new CompressedColumnRealMatrix(3, 3,
+                                                       new int[] { 0, 2, 3, 5 },
+                                                       new int[] { 0, 2, 2, 0, 1 },
+                                                       new double[] { 1, 4, 5, 2, 3 },
+                                                       true);
+        assertEquals(5, m.getStoredEntries());
+        assertEquals(1.0, m.getEntry(0, 0), 0.0);
+        assertEquals(0.0, m.getEntry(0, 1), 0.0);
+        assertEquals(2.0, m.getEntry(0, 2), 0.0);
+        assertEquals(0.0, m.getEntry(1, 1), 0.0);
+        assertEquals(3.0, m.getEntry(1, 2), 0.0);
+        assertEquals(4.0, m.getEntry(2, 0), 0.0);
+        assertEquals(5.0, m.getEntry(2, 1), 0.0);
+        assertArrayEquals(new int[] { 0, 2, 3, 5 }, m.getColumnPointersRef());
+        assertArrayEquals(new int[] { 0, 2, 2, 0, 1 }, m.getRowIndicesRef());
+        assertArrayEquals(new double[] { 1, 4, 5, 2, 3 }, m.getValuesRef(), 0.0);
+        assertEquals(m, m.toCompressedRow());
+    }
+
+    @Test
+    void testSetEntry() {
+        final RealMatrix dense = new Array2DRowRealMatrix(4, 5);
+        final CompressedColumnRealMatrix sparse = new CompressedColumnRealMatrix(4, 5);
+        final int[][] positions = { { 2, 3 }, { 0, 4 }, { 2, 0 }, { 3, 3 }, { 0, 0 }, { 2, 3 } };
+        for (int k = 0; k < positions.length; ++k) {
+            dense.setEntry(positions[k][0], positions[k][1], k + 1);
+            sparse.setEntry(positions[k][0], positions[k][1], k + 1);
+        }
+        sparse.setEntry(1, 1, 0.0);
+        assertEquals(5, sparse.getStoredEntries());
+        sparse.addToEntry(1, 2, 2.5);
+        dense.addToEntry(1, 2, 2.5);
+        sparse.multiplyEntry(0, 4, 3.0);
+        dense.multiplyEntry(0, 4, 3.0);
+        assertEquals(0.0, sparse.subtract(dense).getNorm1(), 0.0);
+        try {
+            sparse.getEntry(0, 5);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.COLUMN_INDEX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testArithmetic() {
+        final RandomGenerator random = new Well1024a(0x6e2b8d4f1a3c5e70l);
+        final RealMatrix a = CompressedRowRealMatrixTest.createRandomDense(random, 19, 31, 0.15);
+        final RealMatrix b = CompressedRowRealMatrixTest.createRandomDense(random, 19, 31, 0.15);
+        final CompressedColumnRealMatrix sa = new CompressedColumnRealMatrix(a);
+        final CompressedColumnRealMatrix sb = new CompressedColumnRealMatrix(b);
+        assertEquals(a, sa);
+        assertEquals(a.transpose(), sa.transpose());
+        assertTrue(sa.add(sb) instanceof CompressedColumnRealMatrix);
+        assertEquals(0.0, sa.add(sb).subtract(a.add(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.subtract(sb).subtract(a.subtract(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.add(b).subtract(a.add(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.subtract(new CompressedRowRealMatrix(b)).subtract(a.subtract(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.scalarMultiply(-1.5).subtract(a.scalarMultiply(-1.5)).getNorm1(), 1.0e-14);
+    }
+
+    @Test
+    void testMultiply() {
+        final RandomGenerator random = new Well1024a(0x0badcafe12345678l);
+        final RealMatrix a = CompressedRowRealMatrixTest.createRandomDense(random, 33, 21, 0.1);
+        final RealMatrix b = CompressedRowRealMatrixTest.createRandomDense(random, 21, 45, 0.1);
+        final RealMatrix reference = a.multiply(b);
+        final CompressedColumnRealMatrix sa = new CompressedColumnRealMatrix(a);
+        final CompressedColumnRealMatrix sb = new CompressedColumnRealMatrix(b);
+        assertEquals(0.0, sa.multiply(sb).subtract(reference).getNorm1(), 1.0e-13);
+        assertTrue(sa.multiply((RealMatrix) sb) instanceof CompressedColumnRealMatrix);
+        assertEquals(0.0, sa.multiply(new CompressedRowRealMatrix(b)).subtract(reference).getNorm1(), 1.0e-13);
+        assertEquals(0.0, sa.multiply(b).subtract(reference).getNorm1(), 1.0e-13);
+        assertEquals(0.0, sa.multiply(new BlockRealMatrix(b.getData())).subtract(reference).getNorm1(), 1.0e-13);
+    }
+
+    @Test
+    void testOperate() {
+        final RandomGenerator random = new Well1024a(0x2468ace013579bdfl);
+        final RealMatrix a = CompressedRowRealMatrixTest.createRandomDense(random, 29, 37, 0.2);
+        final CompressedColumnRealMatrix sa = new CompressedColumnRealMatrix(a);
+        final double[] x = new double[37];
+        final double[] y = new double[29];
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = random.nextDouble();
+        }
+        for (int i = 0; i < y.length; ++i) {
+            y[i] = random.nextDouble();
+        }
+        assertArrayEquals(a.operate(x), sa.operate(x), 1.0e-14);
+        assertArrayEquals(a.preMultiply(y), sa.preMultiply(y), 1.0e-14);
+        assertTrue(sa.isTransposable());
+        assertEquals(0.0,
+                     sa.operateTranspose(new ArrayRealVector(y)).getDistance(a.preMultiply(new ArrayRealVector(y))),
+                     1.0e-14);
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+final class CompressedRowRealMatrixTest {
+
+    @Test
+    void testArrays() {
+        // 1 0 2
+        // 0 0 3
+        // 4 5 0
+        final CompressedRowRealMatrix m =
+                        new CompressedRowRealMatrix(3, 3,
+                                                    new int[] { 0, 2, 3, 5 },
+                                                    new int[] { 0, 2, 2, 0, 1 },
+                                                    new double[] { 1, 2, 3, 4, 5 },
+                                                    true);
+        assertEquals(5, m.getStoredEntries());
+        assertEquals(1.0, m.getEntry(0, 0), 0.0);
+        assertEquals(0.0, m.getEntry(0, 1), 0.0);
+        assertEquals(2.0, m.getEntry(0, 2), 0.0);
+        assertEquals(0.0, m.getEntry(1, 1), 0.0);
+        assertEquals(3.0, m.getEntry(1, 2), 0.0);
+        assertEquals(4.0, m.getEntry(2, 0), 0.0);
+        assertEquals(5.0, m.getEntry(2, 1), 0.0);
+        assertArrayEquals(new int[] { 0, 2, 3, 5 }, m.getRowPointersRef());
+        assertArrayEquals(new int[] { 0, 2, 2, 0, 1 }, m.getColumnIndicesRef());
+        assertArrayEquals(new double[] { 1, 2, 3, 4, 5 }, m.getValuesRef(), 0.0);
+    }
+
+    @Test
+    void testInconsistentArrays() {
+        checkInconsistent(new int[] { 0, 2, 3 }, new int[] { 0, 2, 2 }, new double[] { 1, 2, 3 },
+                          LocalizedCoreFormats.DIMENSIONS_MISMATCH);
+        checkInconsistent(new int[] { 0, 2, 1, 3 }, new int[] { 0, 2, 2 }, new double[] { 1, 2, 3 },
+                          LocalizedCoreFormats.NOT_INCREASING_SEQUENCE);
+        checkInconsistent(new int[] { 0, 2, 2, 3 }, new int[] { 0, 3, 2 }, new double[] { 1, 2, 3 },
+                          LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE);
+        checkInconsistent(new int[] { 0, 2, 2, 3 }, new int[] { 2, 0, 2 }, new double[] { 1, 2, 3 },
+                          LocalizedCoreFormats.NOT_STRICTLY_INCREASING_SEQUENCE);
+        checkInconsistent(new int[] { 0, 2, 2, 3 }, new int[] { 0, 2, 2 }, new double[] { 1, 2 },
+                          LocalizedCoreFormats.DIMENSIONS_MISMATCH);
+    }
+
+    private void checkInconsistent(final int[] pointers, final int[] indices, final double[] values,
+                                   final LocalizedCoreFormats expected) {
+        try {
+            new CompressedRowRealMatrix(3, 3, pointers, indices, values, false);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(expected, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testSetEntry() {
+        final RealMatrix dense = new Array2DRowRealMatrix(4, 5);
+        final CompressedRowRealMatrix sparse = new CompressedRowRealMatrix(4, 5);
+        final int[][] positions = { { 2, 3 }, { 0, 4 }, { 2, 0 }, { 3, 3 }, { 0, 0 }, { 2, 3 } };
+        for (int k = 0; k < positions.length; ++k) {
+            dense.setEntry(positions[k][0], positions[k][1], k + 1);
+            sparse.setEntry(positions[k][0], positions[k][1], k + 1);
+        }
+        sparse.setEntry(1, 1, 0.0);
+        assertEquals(5, sparse.getStoredEntries());
+        sparse.addToEntry(1, 2, 2.5);
+        dense.addToEntry(1, 2, 2.5);
+        sparse.multiplyEntry(0, 4, 3.0);
+        dense.multiplyEntry(0, 4, 3.0);
+        sparse.multiplyEntry(0, 3, 3.0);
+        assertEquals(6, sparse.getStoredEntries());
+        assertEquals(0.0, sparse.subtract(dense).getNorm1(), 0.0);
+        try {
+            sparse.setEntry(4, 0, 1.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.ROW_INDEX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testConversions() {
+        final RandomGenerator random = new Well1024a(0x7c2a91e4d3b5f860l);
+        final RealMatrix dense = createRandomDense(random, 23, 17, 0.2);
+        final CompressedRowRealMatrix csr = new CompressedRowRealMatrix(dense);
+        assertEquals(dense, csr);
+        assertEquals(dense, csr.copy());
+        assertEquals(dense, csr.toCompressedColumn());
+        assertEquals(dense, new CompressedRowRealMatrix(csr.toCompressedColumn()));
+        assertEquals(dense.transpose(), csr.transpose());
+    }
+
+    @Test
+    @Timeout(value = 10L, unit = TimeUnit.SECONDS)
+    void testLargeOpenMapConversion() {
+        // 5-point stencil on a 200x200 grid: 40000 unknowns but only 199200 stored entries,
+        // conversion must not walk the 1.6 billion entries of the matrix
+        final int side = 200;
+        final int n    = side * side;
+        final OpenMapRealMatrix open = new OpenMapRealMatrix(n, n);
+        for (int i = 0; i < side; ++i) {
+            for (int j = 0; j < side; ++j) {
+                final int k = i * side + j;
+                open.setEntry(k, k, 4.0);
+                if (i > 0) {
+                    open.setEntry(k, k - side, -1.0);
+                }
+                if (i < side - 1) {
+                    open.setEntry(k, k + side, -1.0);
+                }
+                if (j > 0) {
+                    open.setEntry(k, k - 1, -1.0);
+                }
+                if (j < side - 1) {
+                    open.setEntry(k, k + 1, -1.0);
+                }
+            }
+        }
+
+        final CompressedRowRealMatrix    csr = new CompressedRowRealMatrix(open);
+        final CompressedColumnRealMatrix csc = new CompressedColumnRealMatrix(open);
+        assertEquals(5 * n - 4 * side, csr.getStoredEntries());
+        assertEquals(5 * n - 4 * side, csc.getStoredEntries());
+        final double[] x = new double[n];
+        for (int k = 0; k < n; ++k) {
+            x[k] = k % 7 - 3;
+        }
+        final double[] y = csr.operate(x);
+        assertArrayEquals(y, csc.operate(x), 0.0);
+        for (int i = 0; i < side; ++i) {
+            for (int j = 0; j < side; ++j) {
+                final int k = i * side + j;
+                double expected = 4 * x[k];
+                expected -= (i > 0)        ? x[k - side] : 0.0;
+                expected -= (i < side - 1) ? x[k + side] : 0.0;
+                expected -= (j > 0)        ? x[k - 1]    : 0.0;
+                expected -= (j < side - 1) ? x[k + 1]    : 0.0;
+                assertEquals(expected, y[k], 0.0);
+            }
+        }
+    }
+
+    @Test
+    void testArithmetic() {
+        final RandomGenerator random = new Well1024a(0x3f4a5b6c7d8e9f01l);
+        final RealMatrix a = createRandomDense(random, 31, 19, 0.15);
+        final RealMatrix b = createRandomDense(random, 31, 19, 0.15);
+        final CompressedRowRealMatrix sa = new CompressedRowRealMatrix(a);
+        final CompressedRowRealMatrix sb = new CompressedRowRealMatrix(b);
+        assertTrue(sa.add(sb) instanceof CompressedRowRealMatrix);
+        assertEquals(0.0, sa.add(sb).subtract(a.add(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.subtract(sb).subtract(a.subtract(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.add(b).subtract(a.add(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.subtract(b).subtract(a.subtract(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.add(new CompressedColumnRealMatrix(b)).subtract(a.add(b)).getNorm1(), 1.0e-14);
+        assertEquals(0.0, sa.scalarMultiply(2.5).subtract(a.scalarMultiply(2.5)).getNorm1(), 1.0e-14);
+    }
+
+    @Test
+    void testMultiply() {
+        final RandomGenerator random = new Well1024a(0x12c4e6a8bd0f2468l);
+        final RealMatrix a = createRandomDense(random, 41, 27, 0.1);
+        final RealMatrix b = createRandomDense(random, 27, 35, 0.1);
+        final RealMatrix reference = a.multiply(b);
+        final CompressedRowRealMatrix sa = new CompressedRowRealMatrix(a);
+        final CompressedRowRealMatrix sb = new CompressedRowRealMatrix(b);
+        assertEquals(0.0, sa.multiply(sb).subtract(reference).getNorm1(), 1.0e-13);
+        assertTrue(sa.multiply((RealMatrix) sb) instanceof CompressedRowRealMatrix);
+        assertEquals(0.0, sa.multiply(new CompressedColumnRealMatrix(b)).subtract(reference).getNorm1(), 1.0e-13);
+        assertEquals(0.0, sa.multiply(b).subtract(reference).getNorm1(), 1.0e-13);
+        assertEquals(0.0, sa.multiply(new BlockRealMatrix(b.getData())).subtract(reference).getNorm1(), 1.0e-13);
+        assertEquals(0.0, sa.transposeMultiply(a).subtract(a.transposeMultiply(a)).getNorm1(), 1.0e-13);
+        try {
+            sa.multiply(sa);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testOperate() {
+        final RandomGenerator random = new Well1024a(0x5a5a3c3c0f0f9696l);
+        final RealMatrix a = createRandomDense(random, 37, 29, 0.2);
+        final CompressedRowRealMatrix sa = new CompressedRowRealMatrix(a);
+        final RealVector x = new ArrayRealVector(29);
+        final RealVector y = new ArrayRealVector(37);
+        for (int i = 0; i < x.getDimension(); ++i) {
+            x.setEntry(i, random.nextDouble());
+        }
+        for (int i = 0; i < y.getDimension(); ++i) {
+            y.setEntry(i, random.nextDouble());
+        }
+        assertEquals(0.0, sa.operate(x).getDistance(a.operate(x)), 1.0e-14);
+        assertEquals(0.0, sa.operate(new OpenMapRealVector(x)).getDistance(a.operate(x)), 1.0e-14);
+        assertEquals(0.0, sa.preMultiply(y).getDistance(a.preMultiply(y)), 1.0e-14);
+        assertTrue(sa.isTransposable());
+        assertEquals(0.0, sa.operateTranspose(y).getDistance(a.preMultiply(y)), 1.0e-14);
+        try {
+            sa.operate(y);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testConjugateGradient() {
+        // 1D Laplacian, with a small shift to improve conditioning
+        final int n = 1000;
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n, 3 * n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 2.1);
+            if (i > 0) {
+                builder.addEntry(i, i - 1, -1.0);
+            }
+            if (i < n - 1) {
+                builder.addEntry(i, i + 1, -1.0);
+            }
+        }
+        final CompressedRowRealMatrix a = builder.buildCompressedRow();
+        final RealVector b = new ArrayRealVector(n, 1.0);
+        final RealVector x = new ConjugateGradient(1000, 1.0e-12, false).solve(a, b);
+        assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-10);
+        final RealVector y = new SymmLQ(1000, 1.0e-12, false).solve(a, b);
+        assertEquals(0.0, a.operate(y).subtract(b).getNorm(), 1.0e-8);
+    }
+
+    static RealMatrix createRandomDense(final RandomGenerator random,
+                                        final int rows, final int columns, final double density) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                if (random.nextDouble() < density) {
+                    m.setEntry(i, j, 2 * random.nextDouble() - 1);
+                }
+            }
+        }
+        return m;
+    }
+
+}
@@ -33,6 +33,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -601,6 +602,191 @@ public class EigenDecompositionSymmetricTest {
 
     }
 
+    @Test
+    void testDivideAndConquer() {
+        final Random r = new Random(0x7c1e35a90b24f6d8l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final int n : new int[] { 1, 2, 17, 70, 257 }) {
+                final double[] eigenValues = new double[n];
+                for (int i = 0; i < n; ++i) {
+                    // many repeated eigenvalues, to exercise deflation
+                    eigenValues[i] = (i % 3 == 0) ? 1.0 + i : 2.5;
+                }
+                final RealMatrix m = createTestMatrix(r, eigenValues);
+                Arrays.sort(eigenValues);
+                for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                    final EigenDecompositionSymmetric ed =
+                                    new EigenDecompositionSymmetric(m, 1.0e-10, false, p);
+                    for (int i = 0; i < n; ++i) {
+                        assertEquals(eigenValues[i], ed.getEigenvalue(i), 2.0e-12 * n);
+                    }
+                    final RealMatrix v = ed.getV();
+                    assertEquals(0, v.multiply(ed.getD()).multiply(ed.getVT()).subtract(m).getNorm1(), 2.0e-12 * n);
+                    assertEquals(0,
+                                 v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(n)).getNorm1(),
+                                 1.0e-13 * n);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testDivideAndConquerTridiagonal() {
+        // Wilkinson matrix, which has pairs of very close eigenvalues
+        final int n = 101;
+        final double[] main      = new double[n];
+        final double[] secondary = new double[n - 1];
+        for (int i = 0; i < n; ++i) {
+            main[i] = FastMath.abs(i - n / 2);
+        }
+        Arrays.fill(secondary, 1.0);
+        final EigenDecompositionSymmetric reference = new EigenDecompositionSymmetric(main, secondary);
+        final EigenDecompositionSymmetric ed =
+                        new EigenDecompositionSymmetric(main, secondary, EigenDecompositionSymmetric.DEFAULT_EPSILON,
+                                                        true, 0, n - 1, true, null);
+        for (int i = 0; i < n; ++i) {
+            assertEquals(reference.getEigenvalue(i), ed.getEigenvalue(i), 1.0e-13);
+        }
+        final RealMatrix v = ed.getV();
+        assertEquals(0, v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(n)).getNorm1(), 1.0e-13);
+    }
+
+    @Test
+    void testSelectedRange() {
+        final Random r = new Random(0x43b1d80e6fa952c7l);
+        final int n = 150;
+        final double[] eigenValues = new double[n];
+        for (int i = 0; i < n; ++i) {
+            eigenValues[i] = (i < 10) ? 1.0e-3 * i : FastMath.exp(0.05 * i);
+        }
+        final RealMatrix m = createTestMatrix(r, eigenValues);
+        Arrays.sort(eigenValues);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                for (final int[] range : new int[][] { { 0, 4 }, { 37, 80 }, { n - 12, n - 1 } }) {
+                    final EigenDecompositionSymmetric ed =
+                                    new EigenDecompositionSymmetric(m, 1.0e-10, true, range[0], range[1], true, p);
+                    final int k = range[1] - range[0] + 1;
+                    assertEquals(k, ed.getEigenvalues().length);
+                    assertEquals(k, ed.getD().getRowDimension());
+                    assertEquals(n, ed.getV().getRowDimension());
+                    assertEquals(k, ed.getV().getColumnDimension());
+                    for (int i = 0; i < k; ++i) {
+                        final double lambda = ed.getEigenvalue(i);
+                        assertEquals(eigenValues[n - 1 - range[0] - i], lambda, 1.0e-13 * FastMath.abs(lambda) + 1.0e-12);
+                        final RealVector vI = ed.getEigenvector(i);
+                        assertEquals(0, m.operate(vI).subtract(vI.mapMultiply(lambda)).getNorm(), 1.0e-11);
+                    }
+                    final RealMatrix v = ed.getV();
+                    assertEquals(0, v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(k)).getNorm1(), 1.0e-13);
+                    assertThrows(MathRuntimeException.class, () -> ed.getDeterminant());
+                    assertThrows(MathRuntimeException.class, () -> ed.getSolver());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testEigenvaluesOnly() {
+        final Random r = new Random(0x9f2a6c13d85e07b4l);
+        final double[] eigenValues = new double[] { 12.0, 7.5, 7.5, 3.0, 1.0e-4, -2.0, -9.0 };
+        final RealMatrix m = createTestMatrix(r, eigenValues);
+        final EigenDecompositionSymmetric ed =
+                        new EigenDecompositionSymmetric(m, 1.0e-10, true, 0, eigenValues.length - 1, false, null);
+        for (int i = 0; i < eigenValues.length; ++i) {
+            assertEquals(eigenValues[i], ed.getEigenvalue(i), 1.0e-13);
+        }
+        assertEquals(12.0 * 7.5 * 7.5 * 3.0 * 1.0e-4 * -2.0 * -9.0, ed.getDeterminant(), 1.0e-10);
+        assertThrows(MathRuntimeException.class, () -> ed.getV());
+        assertThrows(MathRuntimeException.class, () -> ed.getEigenvector(0));
+        assertThrows(MathRuntimeException.class, () -> ed.getSolver());
+    }
+
+    @Test
+    void testWrongRange() {
+        final RealMatrix m = MatrixUtils.createRealIdentityMatrix(4);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new EigenDecompositionSymmetric(m, EigenDecompositionSymmetric.DEFAULT_EPSILON,
+                                                           true, -1, 2, true, null));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new EigenDecompositionSymmetric(m, EigenDecompositionSymmetric.DEFAULT_EPSILON,
+                                                           true, 2, 1, true, null));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new EigenDecompositionSymmetric(m, EigenDecompositionSymmetric.DEFAULT_EPSILON,
+                                                           true, 0, 4, true, null));
+    }
+
+    @Test
+    void testSelectedRangeZeroMatrix() {
+        final int n = 3;
+        final RealMatrix m = new Array2DRowRealMatrix(n, n);
+        for (final boolean vectors : new boolean[] { false, true }) {
+            final EigenDecompositionSymmetric ed =
+                            new EigenDecompositionSymmetric(m, 1.0e-12, true, 0, 1, vectors, null);
+            for (int i = 0; i < 2; ++i) {
+                assertEquals(0.0, ed.getEigenvalue(i), 0.0);
+                if (vectors) {
+                    final RealVector vI = ed.getEigenvector(i);
+                    assertEquals(1.0, vI.getNorm(), 1.0e-15);
+                    assertEquals(0.0, m.operate(vI).getNorm(), 0.0);
+                }
+            }
+            if (vectors) {
+                final RealMatrix v = ed.getV();
+                assertEquals(0, v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(2)).getNorm1(), 1.0e-15);
+            }
+        }
+    }
+
+    @Test
+    void testSelectedRangeZeroBlock() {
+        final RealMatrix base = MatrixUtils.createRealMatrix(new double[][] {
+            { 2.0, 0.0, 1.0, 0.0, 0.0 },
+            { 0.0, 0.0, 0.0, 0.0, 0.0 },
+            { 1.0, 0.0, -1.0, 0.0, 1.0 },
+            { 0.0, 0.0, 0.0, 0.0, 0.0 },
+            { 0.0, 0.0, 1.0, 0.0, 3.0 }
+        });
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final double scale : new double[] { 1.0, 1.0e-150 }) {
+                final RealMatrix m = base.scalarMultiply(scale);
+                final double[] reference = new EigenDecompositionSymmetric(m).getEigenvalues();
+                for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                    for (final int[] range : new int[][] { { 1, 3 }, { 2, 3 }, { 2, 4 } }) {
+                        final EigenDecompositionSymmetric ed =
+                                        new EigenDecompositionSymmetric(m, 1.0e-12, true, range[0], range[1], true, p);
+                        final int k = range[1] - range[0] + 1;
+                        int zeros = 0;
+                        for (int i = 0; i < k; ++i) {
+                            final double lambda = ed.getEigenvalue(i);
+                            assertEquals(reference[range[0] + i], lambda, 1.0e-14 * scale);
+                            if (FastMath.abs(lambda) < 1.0e-10 * scale) {
+                                // null space eigenvalues must be exactly zero, not shifted by a safety margin
+                                assertEquals(0.0, lambda, 0.0);
+                                ++zeros;
+                            }
+                            final RealVector vI = ed.getEigenvector(i);
+                            assertEquals(1.0, vI.getNorm(), 1.0e-14);
+                            assertEquals(0, m.operate(vI).subtract(vI.mapMultiply(lambda)).getNorm(), 1.0e-14 * scale);
+                        }
+                        assertEquals(2, zeros);
+                        final RealMatrix v = ed.getV();
+                        assertEquals(0, v.transposeMultiply(v).subtract(MatrixUtils.createRealIdentityMatrix(k)).getNorm1(), 1.0e-14);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Verifies that the given EigenDecomposition has eigenvalues equivalent to
      * the targetValues, ignoring the order of the values and allowing
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.util.IterationEvent;
+import org.hipparchus.util.IterationListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GMRESTest {
+
+    @Test
+    void testErrors() {
+        assertThrows(MathIllegalArgumentException.class, () -> new GMRES(10, 0, 1.0e-10));
+        final GMRES solver = new GMRES(10, 5, 1.0e-10);
+        assertEquals(5, solver.getRestart());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> solver.solve(new Array2DRowRealMatrix(2, 3), new ArrayRealVector(2)));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> solver.solve(new Array2DRowRealMatrix(3, 3), new ArrayRealVector(2)));
+    }
+
+    @Test
+    void testFullGMRESConvergesInDimensionSteps() {
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(new double[][] {
+            { 4, 1, -2, 0 }, { 0, 3, 1, 1 }, { 2, -1, 5, 0 }, { 1, 0, 0, 2 }
+        });
+        final RealVector b = new ArrayRealVector(new double[] { 1, 2, 3, 4 });
+        final GMRES solver = new GMRES(20, 4, 1.0e-14);
+        final RealVector x = solver.solve(a, b);
+        assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-13);
+        // initialization, 4 Arnoldi steps and final residual
+        assertEquals(6, solver.getIterationManager().getIterations());
+    }
+
+    @Test
+    void testRestartedAndPreconditioned() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(20, 20, 2.0);
+        final RealVector b = new ArrayRealVector(400, 1.0);
+        final int plain = solve(new GMRES(1000, 20, 1.0e-10), a, null, b);
+        final int ilu0  = solve(new GMRES(1000, 20, 1.0e-10), a, new IncompleteLUPreconditioner(a), b);
+        final int ilut  = solve(new GMRES(1000, 20, 1.0e-10), a, new IncompleteLUPreconditioner(a, 1.0e-4, 10), b);
+        assertTrue(ilu0 < plain / 2);
+        assertTrue(ilut < ilu0);
+    }
+
+    @Test
+    void testEvents() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(10, 10, 1.0);
+        final RealVector b = new ArrayRealVector(100, 1.0);
+        final GMRES solver = new GMRES(1000, 8, 1.0e-10);
+        final int[] count = new int[4];
+        final double[] previous = new double[] { Double.POSITIVE_INFINITY };
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+
+            public void initializationPerformed(final IterationEvent e) {
+                ++count[0];
+                assertTrue(((IterativeLinearSolverEvent) e).providesResidual());
+            }
+
+            public void iterationStarted(final IterationEvent e) {
+                ++count[1];
+                assertFalse(((IterativeLinearSolverEvent) e).providesResidual());
+            }
+
+            public void iterationPerformed(final IterationEvent e) {
+                ++count[2];
+                final double rnorm = ((IterativeLinearSolverEvent) e).getNormOfResidual();
+                assertTrue(rnorm <= previous[0] * (1 + 1.0e-12) || (count[2] - 1) % 8 == 0);
+                previous[0] = rnorm;
+            }
+
+            public void terminationPerformed(final IterationEvent e) {
+                ++count[3];
+                final IterativeLinearSolverEvent evt = (IterativeLinearSolverEvent) e;
+                final RealVector r = b.subtract(a.operate(evt.getSolution()));
+                assertEquals(0.0, r.subtract(evt.getResidual()).getNorm(), 1.0e-15);
+                assertTrue(evt.getNormOfResidual() <= 1.0e-10 * b.getNorm());
+            }
+
+        });
+        solver.solve(a, b);
+        assertEquals(1, count[0]);
+        assertEquals(count[1], count[2]);
+        assertEquals(1, count[3]);
+        assertTrue(solver.getIterationManager().getIterations() > count[2]);
+    }
+
+    @Test
+    void testMaxIterations() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(20, 20, 2.0);
+        assertThrows(MathIllegalStateException.class,
+                     () -> new GMRES(10, 5, 1.0e-12).solve(a, new ArrayRealVector(400, 1.0)));
+    }
+
+    /** Solve a system and check the solution.
+     * @param solver solver to use
+     * @param a matrix
+     * @param m preconditioner (may be null)
+     * @param b right hand side
+     * @return number of iterations
+     */
+    static int solve(final PreconditionedIterativeLinearSolver solver,
+                     final AbstractRealMatrix a, final RealLinearOperator m, final RealVector b) {
+        final RealVector x = solver.solve(a, m, b, new ArrayRealVector(b.getDimension()));
+        assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+        return solver.getIterationManager().getIterations();
+    }
+
+}
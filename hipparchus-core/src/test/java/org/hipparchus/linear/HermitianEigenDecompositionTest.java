@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.complex.Complex;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HermitianEigenDecompositionTest {
+
+    @Test
+    void testDecomposition() {
+        final RandomGenerator random = new Well1024a(0x5f0e83b2c71d9a46l);
+        for (final int n : new int[] { 1, 2, 3, 17, 60 }) {
+            final ComplexMatrix a = createHermitian(random, n);
+            final HermitianEigenDecomposition ed = new HermitianEigenDecomposition(a);
+            final ComplexMatrix v = ed.getV();
+
+            // V is unitary and A V = V D
+            ComplexMatrixTest.checkEquals(ComplexMatrix.createIdentity(n), ed.getVH().multiply(v), 1.0e-13);
+            ComplexMatrixTest.checkEquals(a.multiply(v), v.multiply(new ComplexMatrix(ed.getD())), 1.0e-13);
+            for (int i = 0; i < n; ++i) {
+                final ComplexVector e = ed.getEigenvector(i);
+                assertEquals(1.0, e.getNorm(), 1.0e-14);
+                assertEquals(0.0, a.operate(e).subtract(e.mapMultiply(new Complex(ed.getEigenvalue(i)))).getNorm(), 1.0e-13);
+                if (i > 0) {
+                    assertTrue(ed.getEigenvalue(i) <= ed.getEigenvalue(i - 1));
+                }
+            }
+            final Complex det = new ComplexLUDecomposition(a).getDeterminant();
+            assertEquals(det.getReal(), ed.getDeterminant(), 1.0e-12 * FastMath.abs(det.getReal()));
+        }
+    }
+
+    @Test
+    void testRealSymmetric() {
+        // a real symmetric matrix is Hermitian, results must match the real decomposition
+        final RealMatrix s = MatrixUtils.createRealMatrix(new double[][] {
+            {  4.0, 1.0, -2.0, 0.5 },
+            {  1.0, 3.0,  0.0, 1.5 },
+            { -2.0, 0.0,  5.0, 1.0 },
+            {  0.5, 1.5,  1.0, 2.0 }
+        });
+        final HermitianEigenDecomposition ed = new HermitianEigenDecomposition(new ComplexMatrix(s));
+        assertArrayEquals(new EigenDecompositionSymmetric(s).getEigenvalues(), ed.getEigenvalues(), 1.0e-13);
+    }
+
+    @Test
+    void testPauliMatrix() {
+        // sigma_y = [[0, -i], [i, 0]] has eigenvalues +1 and -1
+        final ComplexMatrix sigmaY = new ComplexMatrix(2, 2, new double[] { 0, 0, 0, -1, 0, 1, 0, 0 }, false);
+        final HermitianEigenDecomposition ed = new HermitianEigenDecomposition(sigmaY);
+        assertArrayEquals(new double[] { 1.0, -1.0 }, ed.getEigenvalues(), 1.0e-15);
+        assertEquals(-1.0, ed.getDeterminant(), 1.0e-15);
+    }
+
+    @Test
+    void testNotHermitian() {
+        final ComplexMatrix a = new ComplexMatrix(2, 2, new double[] { 1, 0, 2, 1, 2, 1, 3, 0 }, false);
+        assertThrows(MathIllegalArgumentException.class, () -> new HermitianEigenDecomposition(a));
+        final ComplexMatrix b = new ComplexMatrix(2, 2, new double[] { 1, 0.5, 0, 0, 0, 0, 3, 0 }, false);
+        assertThrows(MathIllegalArgumentException.class, () -> new HermitianEigenDecomposition(b));
+        assertThrows(MathIllegalArgumentException.class, () -> new HermitianEigenDecomposition(new ComplexMatrix(2, 3)));
+    }
+
+    private ComplexMatrix createHermitian(final RandomGenerator random, final int n) {
+        final ComplexMatrix m = new ComplexMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            m.setEntry(i, i, 2 * random.nextDouble() - 1, 0.0);
+            for (int j = i + 1; j < n; ++j) {
+                final double re = 2 * random.nextDouble() - 1;
+                final double im = 2 * random.nextDouble() - 1;
+                m.setEntry(i, j, re, im);
+                m.setEntry(j, i, re, -im);
+            }
+        }
+        return m;
+    }
+
+}
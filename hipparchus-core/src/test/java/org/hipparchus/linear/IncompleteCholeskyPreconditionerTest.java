@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.IterationEvent;
+import org.hipparchus.util.IterationListener;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncompleteCholeskyPreconditionerTest {
+
+    @Test
+    void testExactOnTridiagonal() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(1, 15, 0.0);
+        final IncompleteCholeskyPreconditioner ic = new IncompleteCholeskyPreconditioner(a);
+        assertEquals(29, ic.getStoredEntries());
+        assertTrue(ic.isTransposable());
+        final RealVector b = new ArrayRealVector(15, 1.0);
+        final RealVector x = ic.operate(b);
+        assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-13);
+        assertEquals(0.0, ic.operateTranspose(b).subtract(x).getNorm(), 0.0);
+    }
+
+    @Test
+    void testSameAsILU0OnSymmetricMatrix() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(7, 8, 0.0);
+        final IncompleteCholeskyPreconditioner ic  = new IncompleteCholeskyPreconditioner(a);
+        final IncompleteLUPreconditioner       ilu = new IncompleteLUPreconditioner(a);
+        assertEquals(56 + (6 * 8 + 7 * 7), ic.getStoredEntries());
+        for (int j = 0; j < 56; j += 5) {
+            final RealVector e = MatrixUtils.createRealIdentityMatrix(56).getColumnVector(j);
+            assertEquals(0.0, ic.operate(e).subtract(ilu.operate(e)).getNorm(), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testConjugateGradient() {
+        final CompressedRowRealMatrix a = IncompleteLUPreconditionerTest.createConvectionDiffusion(30, 30, 0.0);
+        final RealVector b = new ArrayRealVector(900, 1.0);
+        final int plain = countIterations(a, null, b);
+        final int ic0   = countIterations(a, new IncompleteCholeskyPreconditioner(a), b);
+        assertTrue(ic0 < 0.6 * plain);
+    }
+
+    @Test
+    void testNotPositiveDefinite() {
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(new double[][] {
+            { 1, 2 }, { 2, 1 }
+        });
+        assertThrows(MathIllegalArgumentException.class, () -> new IncompleteCholeskyPreconditioner(a));
+        final RealMatrix missingDiagonal = new Array2DRowRealMatrix(new double[][] {
+            { 1, 0 }, { 0, 0 }
+        });
+        assertThrows(MathIllegalArgumentException.class, () -> new IncompleteCholeskyPreconditioner(missingDiagonal));
+    }
+
+    /** Count conjugate gradient iterations.
+     * @param a matrix
+     * @param m preconditioner (may be null)
+     * @param b right hand side
+     * @return number of iterations
+     */
+    private static int countIterations(final AbstractRealMatrix a, final RealLinearOperator m, final RealVector b) {
+        final ConjugateGradient solver = new ConjugateGradient(1000, 1.0e-10, true);
+        final int[] count = new int[1];
+        solver.getIterationManager().addIterationListener(new IterationListener() {
+
+            public void initializationPerformed(final IterationEvent e) {
+                // Do nothing
+            }
+
+            public void iterationStarted(final IterationEvent e) {
+                // Do nothing
+            }
+
+            public void iterationPerformed(final IterationEvent e) {
+                // Do nothing
+            }
+
+            public void terminationPerformed(final IterationEvent e) {
+                count[0] = e.getIterations();
+            }
+
+        });
+        final RealVector x = solver.solve(a, m, b, new ArrayRealVector(b.getDimension()));
+        assertEquals(0.0, a.operate(x).subtract(b).getNorm(), 1.0e-9 * b.getNorm());
+        return count[0];
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncompleteLUPreconditionerTest {
+
+    @Test
+    void testILU0ExactOnTridiagonal() {
+        // LU factors of a tridiagonal matrix have no fill-in, so ILU(0) is exact
+        final RealMatrix a = createConvectionDiffusion(1, 20, 0.7);
+        final IncompleteLUPreconditioner ilu = new IncompleteLUPreconditioner(a);
+        assertEquals(58, ilu.getStoredEntries());
+        checkInverse(a, ilu, 1.0e-13);
+    }
+
+    @Test
+    void testILU0Pattern() {
+        final CompressedRowRealMatrix a = createConvectionDiffusion(8, 9, 0.5);
+        final IncompleteLUPreconditioner ilu = new IncompleteLUPreconditioner(a);
+        assertEquals(a.getStoredEntries(), ilu.getStoredEntries());
+        assertEquals(72, ilu.getRowDimension());
+        assertEquals(72, ilu.getColumnDimension());
+
+        // residual of the preconditioned operator is smaller than the unpreconditioned one
+        final RealMatrix identity = MatrixUtils.createRealIdentityMatrix(72);
+        final RealMatrix product  = new Array2DRowRealMatrix(72, 72);
+        for (int j = 0; j < 72; ++j) {
+            product.setColumnVector(j, ilu.operate(a.getColumnVector(j)));
+        }
+        assertTrue(product.subtract(identity).getFrobeniusNorm() < 0.2 * a.subtract(identity).getFrobeniusNorm());
+    }
+
+    @Test
+    void testILUTWithoutDroppingIsExact() {
+        final RealMatrix a = createConvectionDiffusion(5, 6, 0.3);
+        final IncompleteLUPreconditioner ilut = new IncompleteLUPreconditioner(a, 0.0, 30);
+        checkInverse(a, ilut, 1.0e-12);
+        assertTrue(ilut.getStoredEntries() > a.getRowDimension() * 5);
+    }
+
+    @Test
+    void testILUTDropping() {
+        final RealMatrix a = createConvectionDiffusion(10, 10, 0.5);
+        for (final int p : new int[] { 0, 1, 3, 6 }) {
+            final IncompleteLUPreconditioner ilut = new IncompleteLUPreconditioner(a, 1.0e-3, p);
+            assertTrue(ilut.getStoredEntries() <= 100 * (2 * p + 1));
+        }
+        final IncompleteLUPreconditioner loose  = new IncompleteLUPreconditioner(a, 1.0e-1, 10);
+        final IncompleteLUPreconditioner strict = new IncompleteLUPreconditioner(a, 1.0e-4, 10);
+        assertTrue(loose.getStoredEntries() < strict.getStoredEntries());
+    }
+
+    @Test
+    void testErrors() {
+        final RealMatrix singular = new Array2DRowRealMatrix(new double[][] {
+            { 0, 1 }, { 1, 0 }
+        });
+        assertThrows(MathIllegalArgumentException.class, () -> new IncompleteLUPreconditioner(singular));
+        assertThrows(MathIllegalArgumentException.class, () -> new IncompleteLUPreconditioner(singular, 0.0, 2));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new IncompleteLUPreconditioner(new Array2DRowRealMatrix(2, 3)));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new IncompleteLUPreconditioner(createConvectionDiffusion(2, 2, 0.0), 0.0, -1));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new IncompleteLUPreconditioner(createConvectionDiffusion(2, 2, 0.0)).operate(new ArrayRealVector(3)));
+    }
+
+    /** Check a preconditioner is the exact inverse of a matrix.
+     * @param a matrix
+     * @param m preconditioner
+     * @param tolerance tolerance
+     */
+    private static void checkInverse(final RealMatrix a, final RealLinearOperator m, final double tolerance) {
+        for (int j = 0; j < a.getColumnDimension(); ++j) {
+            final RealVector x = m.operate(a.getColumnVector(j));
+            for (int i = 0; i < x.getDimension(); ++i) {
+                assertEquals(i == j ? 1.0 : 0.0, x.getEntry(i), tolerance);
+            }
+        }
+    }
+
+    /** Create an upwind discretization of a 2D convection-diffusion operator.
+     * @param nx number of grid points along x
+     * @param ny number of grid points along y
+     * @param peclet ratio of convection to diffusion (0 gives a symmetric Laplacian)
+     * @return non-symmetric diagonally dominant sparse matrix
+     */
+    static CompressedRowRealMatrix createConvectionDiffusion(final int nx, final int ny, final double peclet) {
+        final CompressedRowRealMatrix a = new CompressedRowRealMatrix(nx * ny, nx * ny);
+        for (int i = 0; i < nx; ++i) {
+            for (int j = 0; j < ny; ++j) {
+                final int k = i * ny + j;
+                a.setEntry(k, k, 4.0 + 2 * peclet);
+                if (i > 0) {
+                    a.setEntry(k, k - ny, -1.0 - peclet);
+                }
+                if (i < nx - 1) {
+                    a.setEntry(k, k + ny, -1.0);
+                }
+                if (j > 0) {
+                    a.setEntry(k, k - 1, -1.0 - peclet);
+                }
+                if (j < ny - 1) {
+                    a.setEntry(k, k + 1, -1.0);
+                }
+            }
+        }
+        return a;
+    }
+
+}
@@ -27,6 +27,10 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.fraction.Fraction;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -336,4 +340,77 @@ class LUDecompositionTest {
         }
     }
 
+    @Test
+    void testBlockedSameAsUnblocked() {
+        final Random random = new Random(0x1d4b7e9a2c6f3580l);
+        final int n = 317;
+        final RealMatrix m = new BlockRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        final LUDecomposition reference = new LUDecomposition(m);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                for (final int blockSize : new int[] { 2, 7, BlockRealMatrix.BLOCK_SIZE, 400 }) {
+                    final LUDecomposition blocked = new LUDecomposition(m, 1.0e-11, blockSize, p);
+                    assertArrayEquals(reference.getPivot(), blocked.getPivot());
+                    assertEquals(reference.getL(), blocked.getL());
+                    assertEquals(reference.getU(), blocked.getU());
+                    assertEquals(reference.getDeterminant(), blocked.getDeterminant(), 0.0);
+                    assertEquals(0.0,
+                                 blocked.getP().multiply(m).subtract(blocked.getL().multiply(blocked.getU())).getNorm1(),
+                                 1.0e-12);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockedNonFinite() {
+        // zero multipliers against an infinite entry of U must give NaN, as in the unblocked algorithm
+        final RealMatrix m = MatrixUtils.createRealMatrix(new double[][] {
+            { 1.0, 0.0, Double.POSITIVE_INFINITY, 0.0 },
+            { 0.0, 1.0, 0.0,                      0.0 },
+            { 0.0, 0.0, 1.0,                      0.0 },
+            { 0.0, 0.0, 0.0,                      1.0 }
+        });
+        final LUDecomposition reference = new LUDecomposition(m);
+        final LUDecomposition blocked   = new LUDecomposition(m, 1.0e-11, 2, null);
+        assertArrayEquals(reference.getPivot(), blocked.getPivot());
+        for (int i = 0; i < m.getRowDimension(); ++i) {
+            assertArrayEquals(reference.getL().getRow(i), blocked.getL().getRow(i), 0.0);
+            assertArrayEquals(reference.getU().getRow(i), blocked.getU().getRow(i), 0.0);
+        }
+        assertTrue(Double.isNaN(blocked.getU().getEntry(2, 2)));
+    }
+
+    @Test
+    void testBlockedSingular() {
+        final LUDecomposition lu = new LUDecomposition(MatrixUtils.createRealMatrix(bigSingular),
+                                                       1.0e-11, 2, null);
+        assertFalse(lu.getSolver().isNonSingular());
+        assertEquals(0.0, lu.getDeterminant(), 1.0e-15);
+        assertNull(lu.getL());
+    }
+
+    @Test
+    void testBlockedDecomposer() {
+        final RealMatrix m = MatrixUtils.createRealMatrix(testData);
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final DecompositionSolver solver = new LUDecomposer(1.0e-11, 2, pool).decompose(m);
+            final RealMatrix inverse = solver.getInverse();
+            assertEquals(0.0,
+                         m.multiply(inverse).subtract(MatrixUtils.createRealIdentityMatrix(3)).getNorm1(),
+                         1.0e-13);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.exception.MathIllegalStateException;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LanczosEigenDecompositionTest {
+
+    @Test
+    void testLargestOfLaplacian() {
+        final int n = 300;
+        final CompressedRowRealMatrix a = createLaplacian(n);
+        final LanczosEigenDecomposition ed =
+            new LanczosEigenDecomposition(a, 6, EigenvalueSelection.LARGEST_REAL, new Well19937a(0x6a3cd2e1f54b7098l));
+        for (int i = 0; i < 6; ++i) {
+            assertEquals(laplacianEigenvalue(n, n - i), ed.getEigenvalue(i), 1.0e-9);
+            checkEigenpair(a, ed.getEigenvalue(i), ed.getEigenvector(i), 1.0e-8);
+            assertTrue(ed.getResidualEstimate(i) <= 1.0e-9);
+        }
+        assertEquals(6, ed.getEigenvalues().length);
+        assertTrue(ed.getOperations() >= 20);
+    }
+
+    @Test
+    void testAgainstDense() {
+        final Well19937a random = new Well19937a(0x3d8e4b61c2f07a95l);
+        final int n = 60;
+        final RealMatrix r = MatrixUtils.createRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j <= i; ++j) {
+                final double x = random.nextGaussian();
+                r.setEntry(i, j, x);
+                r.setEntry(j, i, x);
+            }
+        }
+        final Array2DRowRealMatrix a = new Array2DRowRealMatrix(r.getData(), false);
+        final double[] reference = new EigenDecompositionSymmetric(a).getEigenvalues();
+        for (final EigenvalueSelection selection : EigenvalueSelection.values()) {
+            final LanczosEigenDecomposition ed = new LanczosEigenDecomposition(a, 4, selection, 20, 1.0e-12, 500, random);
+            for (int i = 0; i < 4; ++i) {
+                checkEigenpair(a, ed.getEigenvalue(i), ed.getEigenvector(i), 1.0e-9);
+            }
+            switch (selection) {
+                case LARGEST_REAL :
+                    assertEquals(reference[0], ed.getEigenvalue(0), 1.0e-10);
+                    assertEquals(reference[3], ed.getEigenvalue(3), 1.0e-10);
+                    break;
+                case SMALLEST_REAL :
+                    assertEquals(reference[n - 1], ed.getEigenvalue(0), 1.0e-10);
+                    assertEquals(reference[n - 4], ed.getEigenvalue(3), 1.0e-10);
+                    break;
+                case LARGEST_MAGNITUDE :
+                    assertEquals(FastMath.max(FastMath.abs(reference[0]), FastMath.abs(reference[n - 1])),
+                                 FastMath.abs(ed.getEigenvalue(0)), 1.0e-10);
+                    break;
+                default :
+                    for (final double lambda : reference) {
+                        assertTrue(FastMath.abs(lambda) >= FastMath.abs(ed.getEigenvalue(0)) - 1.0e-10);
+                    }
+            }
+        }
+    }
+
+    @Test
+    void testShiftInvert() {
+        final int n = 5000;
+        final CompressedRowRealMatrix a = createLaplacian(n);
+        final DecompositionSolver solver = new SparseCholeskyDecomposition(a).getSolver();
+        final LanczosEigenDecomposition ed = new LanczosEigenDecomposition(solver, 0.0, 5, new Well19937a(0x13f9a7c2d5e8b460l));
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(laplacianEigenvalue(n, i + 1), ed.getEigenvalue(i), 1.0e-14);
+            checkEigenpair(a, ed.getEigenvalue(i), ed.getEigenvector(i), 1.0e-10);
+        }
+        assertTrue(ed.getRestarts() < 5);
+    }
+
+    @Test
+    void testInvariantSubspace() {
+        // only 3 distinct eigenvalues: Krylov subspace becomes invariant early
+        final double[] d = new double[50];
+        for (int i = 0; i < d.length; ++i) {
+            d[i] = 1.0 + (i % 3);
+        }
+        final DiagonalMatrix a = new DiagonalMatrix(d);
+        final LanczosEigenDecomposition ed =
+            new LanczosEigenDecomposition(a, 2, EigenvalueSelection.LARGEST_REAL, new Well19937a(0x7b2e9d05c4a1f386l));
+        assertEquals(3.0, ed.getEigenvalue(0), 1.0e-12);
+        assertEquals(3.0, ed.getEigenvalue(1), 1.0e-12);
+        checkEigenpair(a, 3.0, ed.getEigenvector(1), 1.0e-12);
+        assertEquals(0.0, ed.getEigenvector(0).dotProduct(ed.getEigenvector(1)), 1.0e-12);
+    }
+
+    @Test
+    void testErrors() {
+        final CompressedRowRealMatrix a = createLaplacian(10);
+        final Well19937a random = new Well19937a(0x52c8e1b3d7f0a694l);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new LanczosEigenDecomposition(a, 0, EigenvalueSelection.LARGEST_REAL, random));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new LanczosEigenDecomposition(a, 10, EigenvalueSelection.LARGEST_REAL, random));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new LanczosEigenDecomposition(a, 3, EigenvalueSelection.LARGEST_REAL, 3, 1.0e-10, 10, random));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new LanczosEigenDecomposition(new Array2DRowRealMatrix(10, 11), 3,
+                                                         EigenvalueSelection.LARGEST_REAL, random));
+        assertThrows(MathIllegalStateException.class,
+                     () -> new LanczosEigenDecomposition(createLaplacian(1000), 5, EigenvalueSelection.SMALLEST_REAL,
+                                                         12, 1.0e-12, 2, random));
+    }
+
+    /** Check an eigenpair.
+     * @param a operator
+     * @param lambda eigenvalue
+     * @param x eigenvector
+     * @param tolerance tolerance on residual
+     */
+    private static void checkEigenpair(final RealLinearOperator a, final double lambda, final RealVector x,
+                                       final double tolerance) {
+        assertEquals(1.0, x.getNorm(), 1.0e-12);
+        assertEquals(0.0, a.operate(x).subtract(x.mapMultiply(lambda)).getNorm(), tolerance);
+    }
+
+    /** Eigenvalue of the 1D Laplacian.
+     * @param n dimension
+     * @param k index of eigenvalue (from 1 to n, increasing)
+     * @return eigenvalue k
+     */
+    static double laplacianEigenvalue(final int n, final int k) {
+        final double s = FastMath.sin(k * FastMath.PI / (2 * (n + 1)));
+        return 4 * s * s;
+    }
+
+    /** Create a 1D Laplacian.
+     * @param n dimension
+     * @return tridiagonal Laplacian
+     */
+    static CompressedRowRealMatrix createLaplacian(final int n) {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(n, n);
+        for (int i = 0; i < n; ++i) {
+            builder.addEntry(i, i, 2.0);
+            if (i > 0) {
+                builder.addEntry(i, i - 1, -1.0);
+                builder.addEntry(i - 1, i, -1.0);
+            }
+        }
+        return builder.buildCompressedRow();
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Matrix3Test {
+
+    @Test
+    void testConversions() {
+        final RandomGenerator random = new Well1024a(0x5d3b1f7e92c4a806l);
+        final RealMatrix general = createRandom(random);
+        final Matrix3 m = new Matrix3(general);
+        BandedRealMatrixTest.checkEquals(general, m.toRealMatrix(), 0.0);
+        assertEquals(m, new Matrix3(general.getData()));
+        assertEquals(m, m.copy());
+        assertEquals(m.hashCode(), m.copy().hashCode());
+        assertNotEquals(m, Matrix3.identity());
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                assertEquals(general.getEntry(i, j), m.getEntry(i, j), 0.0);
+                m.setEntry(i, j, 3 * i + j);
+            }
+        }
+        assertEquals(new Matrix3(0, 1, 2, 3, 4, 5, 6, 7, 8), m);
+        assertEquals(0.0, m.getM00(), 0.0);
+        assertEquals(1.0, m.getM01(), 0.0);
+        assertEquals(2.0, m.getM02(), 0.0);
+        assertEquals(3.0, m.getM10(), 0.0);
+        assertEquals(4.0, m.getM11(), 0.0);
+        assertEquals(5.0, m.getM12(), 0.0);
+        assertEquals(6.0, m.getM20(), 0.0);
+        assertEquals(7.0, m.getM21(), 0.0);
+        assertEquals(8.0, m.getM22(), 0.0);
+        assertEquals(12.0, m.getTrace(), 0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> new Matrix3(new Array2DRowRealMatrix(3, 4)));
+        assertThrows(MathIllegalArgumentException.class, () -> new Matrix3(new double[2][3]));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(3, 0));
+        assertThrows(MathIllegalArgumentException.class, () -> m.setEntry(0, -1, 1.0));
+        assertThrows(MathIllegalArgumentException.class, () -> m.operate(new double[4]));
+    }
+
+    @Test
+    void testAgainstGeneralMatrices() {
+        final RandomGenerator random = new Well1024a(0x1e8a4c6f03b27d95l);
+        for (int k = 0; k < 20; ++k) {
+            final RealMatrix a = createRandom(random);
+            final RealMatrix b = createRandom(random);
+            final Matrix3 ma = new Matrix3(a);
+            final Matrix3 mb = new Matrix3(b);
+            BandedRealMatrixTest.checkEquals(a.add(b), ma.add(mb).toRealMatrix(), 1.0e-15);
+            BandedRealMatrixTest.checkEquals(a.subtract(b), ma.subtract(mb).toRealMatrix(), 1.0e-15);
+            BandedRealMatrixTest.checkEquals(a.scalarMultiply(2.5), ma.scalarMultiply(2.5).toRealMatrix(), 1.0e-15);
+            BandedRealMatrixTest.checkEquals(a.multiply(b), ma.multiply(mb).toRealMatrix(), 1.0e-14);
+            BandedRealMatrixTest.checkEquals(a.transposeMultiply(b), ma.transposeMultiply(mb).toRealMatrix(), 1.0e-14);
+            BandedRealMatrixTest.checkEquals(a.multiplyTransposed(b), ma.multiplyTransposed(mb).toRealMatrix(), 1.0e-14);
+            BandedRealMatrixTest.checkEquals(a.transpose(), ma.transpose().toRealMatrix(), 0.0);
+            BandedRealMatrixTest.checkEquals(MatrixUtils.inverse(a), ma.inverse().toRealMatrix(), 1.0e-12);
+            assertEquals(new LUDecomposition(a).getDeterminant(), ma.getDeterminant(), 1.0e-14);
+            final double[] v = { random.nextDouble(), random.nextDouble(), random.nextDouble() };
+            assertArrayEquals(a.operate(v), ma.operate(v), 1.0e-15);
+        }
+    }
+
+    @Test
+    void testCholeskyAndCongruence() {
+        final RandomGenerator random = new Well1024a(0x73c90e5a1d4b68f2l);
+        for (int k = 0; k < 20; ++k) {
+            final RealMatrix g = createRandom(random);
+            final RealMatrix spd = g.multiplyTransposed(g).add(MatrixUtils.createRealIdentityMatrix(3));
+            final Matrix3 m = new Matrix3(spd);
+            BandedRealMatrixTest.checkEquals(new CholeskyDecomposition(spd).getL(), m.cholesky().toRealMatrix(), 1.0e-14);
+            final RealMatrix a = createRandom(random);
+            BandedRealMatrixTest.checkEquals(a.multiply(spd).multiplyTransposed(a),
+                                             m.congruence(new Matrix3(a)).toRealMatrix(), 1.0e-14);
+        }
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new Matrix3(1, 2, 0, 2, 1, 0, 0, 0, 1).cholesky());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new Matrix3(1, 2, 3, 2, 4, 6, 0, 0, 1).inverse());
+    }
+
+    @Test
+    void testDestinations() {
+        final RandomGenerator random = new Well1024a(0x0b4f2d8e61a39c57l);
+        final Matrix3 a = new Matrix3(createRandom(random));
+        final Matrix3 b = new Matrix3(createRandom(random));
+        final Matrix3 out = new Matrix3();
+
+        assertSame(out, a.multiply(b, out));
+        assertEquals(a.multiply(b), out);
+
+        // destination may be any of the operands
+        final Matrix3 product = a.multiply(b);
+        final Matrix3 left = a.copy();
+        assertEquals(product, left.multiply(b, left));
+        final Matrix3 right = b.copy();
+        assertEquals(product, a.multiply(right, right));
+        final Matrix3 square = a.copy();
+        assertEquals(a.multiply(a), square.multiply(square, square));
+        final Matrix3 t = a.copy();
+        assertEquals(a.transpose(), t.transpose(t));
+        final Matrix3 inv = a.copy();
+        assertEquals(a.inverse(), inv.inverse(inv));
+        final Matrix3 c = a.copy();
+        assertEquals(b.congruence(a), b.copy().congruence(c, c));
+        final double[] v = { 1.0, 2.0, 3.0 };
+        final double[] expected = a.operate(v);
+        assertSame(v, a.operate(v, v));
+        assertArrayEquals(expected, v, 0.0);
+    }
+
+    private RealMatrix createRandom(final RandomGenerator random) {
+        final RealMatrix m = new Array2DRowRealMatrix(3, 3);
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+            m.addToEntry(i, i, 2.0);
+        }
+        return m;
+    }
+
+}
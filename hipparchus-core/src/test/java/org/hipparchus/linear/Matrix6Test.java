@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Matrix6Test {
+
+    @Test
+    void testConversionsAndBlocks() {
+        final RandomGenerator random = new Well1024a(0x4a7e0c9b3f1d5268l);
+        final RealMatrix general = createRandom(random);
+        final Matrix6 m = new Matrix6(general);
+        BandedRealMatrixTest.checkEquals(general, m.toRealMatrix(), 0.0);
+        assertEquals(m, new Matrix6(general.getData()));
+        assertEquals(m, new Matrix6(m.getDataRef()));
+        assertEquals(m.hashCode(), m.copy().hashCode());
+        assertEquals(general.getTrace(), m.getTrace(), 1.0e-15);
+
+        final Matrix3 block = new Matrix3();
+        for (int bi = 0; bi < 2; ++bi) {
+            for (int bj = 0; bj < 2; ++bj) {
+                assertSame(block, m.getBlock(bi, bj, block));
+                BandedRealMatrixTest.checkEquals(general.getSubMatrix(3 * bi, 3 * bi + 2, 3 * bj, 3 * bj + 2),
+                                                 block.toRealMatrix(), 0.0);
+            }
+        }
+        assertEquals(m, new Matrix6(m.getBlock(0, 0, new Matrix3()), m.getBlock(0, 1, new Matrix3()),
+                                    m.getBlock(1, 0, new Matrix3()), m.getBlock(1, 1, new Matrix3())));
+        m.setBlock(1, 0, Matrix3.identity());
+        assertEquals(1.0, m.getEntry(4, 1), 0.0);
+        assertEquals(0.0, m.getEntry(4, 2), 0.0);
+
+        assertThrows(MathIllegalArgumentException.class, () -> new Matrix6(new Array2DRowRealMatrix(6, 5)));
+        assertThrows(MathIllegalArgumentException.class, () -> new Matrix6(new double[35]));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getEntry(0, 6));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getBlock(2, 0, block));
+        assertThrows(MathIllegalArgumentException.class, () -> m.operate(new double[3]));
+    }
+
+    @Test
+    void testAgainstGeneralMatrices() {
+        final RandomGenerator random = new Well1024a(0x92f15d07ae3c4b68l);
+        for (int k = 0; k < 20; ++k) {
+            final RealMatrix a = createRandom(random);
+            final RealMatrix b = createRandom(random);
+            final Matrix6 ma = new Matrix6(a);
+            final Matrix6 mb = new Matrix6(b);
+            BandedRealMatrixTest.checkEquals(a.add(b), ma.add(mb).toRealMatrix(), 1.0e-15);
+            BandedRealMatrixTest.checkEquals(a.subtract(b), ma.subtract(mb).toRealMatrix(), 1.0e-15);
+            BandedRealMatrixTest.checkEquals(a.scalarMultiply(2.5), ma.scalarMultiply(2.5).toRealMatrix(), 1.0e-15);
+            BandedRealMatrixTest.checkEquals(a.multiply(b), ma.multiply(mb).toRealMatrix(), 1.0e-14);
+            BandedRealMatrixTest.checkEquals(a.transposeMultiply(b), ma.transposeMultiply(mb).toRealMatrix(), 1.0e-14);
+            BandedRealMatrixTest.checkEquals(a.multiplyTransposed(b), ma.multiplyTransposed(mb).toRealMatrix(), 1.0e-14);
+            BandedRealMatrixTest.checkEquals(a.transpose(), ma.transpose().toRealMatrix(), 0.0);
+            BandedRealMatrixTest.checkEquals(MatrixUtils.inverse(a), ma.inverse().toRealMatrix(), 1.0e-12);
+            final double[] v = { 1.0, -2.0, 0.5, 3.0, -1.5, 0.25 };
+            assertArrayEquals(a.operate(v), ma.operate(v), 1.0e-14);
+        }
+    }
+
+    @Test
+    void testInverseNeedsPivoting() {
+        // leading 3x3 block is singular, so pivoting is mandatory
+        final Matrix6 m = new Matrix6(new double[] {
+            0, 1, 0, 0, 0, 2,
+            1, 0, 0, 3, 0, 0,
+            0, 0, 0, 0, 1, 0,
+            0, 0, 1, 0, 0, 0,
+            2, 0, 0, 1, 0, 0,
+            0, 4, 0, 0, 0, 1
+        });
+        final Matrix6 inv = m.inverse();
+        BandedRealMatrixTest.checkEquals(MatrixUtils.inverse(m.toRealMatrix()), inv.toRealMatrix(), 1.0e-15);
+        BandedRealMatrixTest.checkEquals(MatrixUtils.createRealIdentityMatrix(6),
+                                         m.multiply(inv).toRealMatrix(), 1.0e-15);
+        final Matrix6 singular = m.copy();
+        singular.setEntry(5, 1, 2.0);
+        singular.setEntry(5, 5, 4.0);
+        assertThrows(MathIllegalArgumentException.class, () -> singular.inverse());
+    }
+
+    @Test
+    void testCholeskyAndCongruence() {
+        final RandomGenerator random = new Well1024a(0x6b2d8f40c1e97a35l);
+        for (int k = 0; k < 20; ++k) {
+            final RealMatrix g = createRandom(random);
+            final RealMatrix spd = g.multiplyTransposed(g).add(MatrixUtils.createRealIdentityMatrix(6));
+            final Matrix6 m = new Matrix6(spd);
+            BandedRealMatrixTest.checkEquals(new CholeskyDecomposition(spd).getL(), m.cholesky().toRealMatrix(), 1.0e-13);
+            final RealMatrix a = createRandom(random);
+            BandedRealMatrixTest.checkEquals(new SymmetricRealMatrix(spd).congruence(a),
+                                             m.congruence(new Matrix6(a)).toRealMatrix(), 1.0e-12);
+        }
+        final Matrix6 indefinite = Matrix6.identity();
+        indefinite.setEntry(5, 5, -1.0);
+        assertThrows(MathIllegalArgumentException.class, () -> indefinite.cholesky());
+    }
+
+    @Test
+    void testDestinations() {
+        final RandomGenerator random = new Well1024a(0x38e1a6c05f9d2b74l);
+        final Matrix6 a = new Matrix6(createRandom(random));
+        final Matrix6 b = new Matrix6(createRandom(random));
+        final Matrix6 out = new Matrix6();
+
+        assertSame(out, a.multiply(b, out));
+        assertEquals(a.multiply(b), out);
+        assertSame(out, a.congruence(b, out));
+        assertEquals(a.congruence(b), out);
+
+        // in-place operations
+        final Matrix6 sum = a.copy();
+        assertEquals(a.add(b), sum.add(b, sum));
+        final Matrix6 t = a.copy();
+        assertEquals(a.transpose(), t.transpose(t));
+        final Matrix6 inv = a.copy();
+        assertEquals(a.inverse(), inv.inverse(inv));
+        final Matrix6 spd = a.multiplyTransposed(a);
+        final Matrix6 l = spd.copy();
+        assertEquals(spd.cholesky(), l.cholesky(l));
+        final double[] v = { 1.0, 2.0, 3.0, 4.0, 5.0, 6.0 };
+        final double[] expected = a.operate(v);
+        assertSame(v, a.operate(v, v));
+        assertArrayEquals(expected, v, 0.0);
+
+        // products cannot be computed in place
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(b, a));
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiply(b, b));
+        assertThrows(MathIllegalArgumentException.class, () -> a.transposeMultiply(b, a));
+        assertThrows(MathIllegalArgumentException.class, () -> a.multiplyTransposed(b, b));
+        assertThrows(MathIllegalArgumentException.class, () -> a.congruence(b, b));
+    }
+
+    private RealMatrix createRandom(final RandomGenerator random) {
+        final RealMatrix m = new Array2DRowRealMatrix(6, 6);
+        for (int i = 0; i < 6; ++i) {
+            for (int j = 0; j < 6; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+            m.addToEntry(i, i, 3.0);
+        }
+        return m;
+    }
+
+}
@@ -23,9 +23,11 @@
 package org.hipparchus.linear;
 
 import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.util.FastMath;
 import org.junit.jupiter.api.Test;
 
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -302,4 +304,76 @@ class QRDecompositionTest {
         });
     }
 
+    @Test
+    void testBlockedSameAsUnblocked() {
+        final Random r = new Random(0x5a3c8e1f47b2d690l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final int[] dims : new int[][] { { 7, 5 }, { 5, 7 }, { 130, 47 }, { 47, 130 }, { 211, 211 } }) {
+                final RealMatrix m = createTestMatrix(r, dims[0], dims[1]);
+                final QRDecomposition reference = new QRDecomposition(m);
+                for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                    for (final int blockSize : new int[] { 2, 3, BlockRealMatrix.BLOCK_SIZE, 300 }) {
+                        final QRDecomposition blocked = new QRDecomposition(m, 0.0, blockSize, p);
+                        assertEquals(0, reference.getR().subtract(blocked.getR()).getNorm1(), 1.0e-12);
+                        assertEquals(0, reference.getH().subtract(blocked.getH()).getNorm1(), 1.0e-12);
+                        assertEquals(0, blocked.getQ().multiply(blocked.getR()).subtract(m).getNorm1(), 1.0e-12);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockedSolverManyRightHandSides() {
+        final Random r = new Random(0x2e9f04c7b13a58d6l);
+        final RealMatrix m = createTestMatrix(r, 400, 150);
+        final RealMatrix b = createTestMatrix(r, 400, 75);
+        final RealMatrix reference = new QRDecomposition(m).getSolver().solve(b);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                final DecompositionSolver solver = new QRDecomposer(0.0, BlockRealMatrix.BLOCK_SIZE, p).decompose(m);
+                final RealMatrix x = solver.solve(b);
+                assertEquals(0, reference.subtract(x).getNorm1(), 1.0e-12);
+                for (int k = 0; k < b.getColumnDimension(); ++k) {
+                    final RealVector xK = solver.solve(b.getColumnVector(k));
+                    assertEquals(0, xK.subtract(x.getColumnVector(k)).getNorm(), 1.0e-13);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockedSingular() {
+        final QRDecomposition qr =
+            new QRDecomposition(MatrixUtils.createRealMatrix(testData3x3Singular), 1.0e-16, 2, null);
+        assertTrue(!qr.getSolver().isNonSingular());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> qr.getSolver().solve(MatrixUtils.createRealIdentityMatrix(3)));
+    }
+
+    @Test
+    void testThinQ() {
+        final Random r = new Random(0x73d1b09e6c24f5a8l);
+        for (final int[] dims : new int[][] { { 7, 5 }, { 5, 7 }, { 130, 47 }, { 211, 211 } }) {
+            final RealMatrix m = createTestMatrix(r, dims[0], dims[1]);
+            final int p = FastMath.min(dims[0], dims[1]);
+            final RealMatrix reference = new QRDecomposition(m).getQ().getSubMatrix(0, dims[0] - 1, 0, p - 1);
+            for (final int blockSize : new int[] { 0, 3, BlockRealMatrix.BLOCK_SIZE }) {
+                final QRDecomposition qr = blockSize == 0 ?
+                                           new QRDecomposition(m) :
+                                           new QRDecomposition(m, 0.0, blockSize, null);
+                final RealMatrix thinQ = qr.getThinQ();
+                assertEquals(dims[0], thinQ.getRowDimension());
+                assertEquals(p,       thinQ.getColumnDimension());
+                assertEquals(0, reference.subtract(thinQ).getNorm1(), 1.0e-12);
+            }
+        }
+    }
+
 }
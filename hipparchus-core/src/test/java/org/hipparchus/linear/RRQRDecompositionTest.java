@@ -26,6 +26,7 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.junit.jupiter.api.Test;
 
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -240,4 +241,28 @@ class RRQRDecompositionTest {
         assertEquals(2, qr.getRank(1.0e-16));
     }
 
+    @Test
+    void testBlockedSameAsUnblocked() {
+        final Random r = new Random(0x7c1e5b93a0d42f68l);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final int[] dims : new int[][] { { 7, 5 }, { 5, 7 }, { 130, 47 }, { 47, 130 } }) {
+                final RealMatrix m = createTestMatrix(r, dims[0], dims[1]);
+                final RRQRDecomposition reference = new RRQRDecomposition(m);
+                for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                    for (final int blockSize : new int[] { 2, 3, BlockRealMatrix.BLOCK_SIZE }) {
+                        final RRQRDecomposition blocked = new RRQRDecomposition(m, 0.0, blockSize, p);
+                        assertEquals(reference.getP(), blocked.getP());
+                        assertEquals(0, reference.getR().subtract(blocked.getR()).getNorm1(), 1.0e-12);
+                        assertEquals(0,
+                                     blocked.getQ().multiply(blocked.getR()).subtract(m.multiply(blocked.getP())).getNorm1(),
+                                     normTolerance);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
 }
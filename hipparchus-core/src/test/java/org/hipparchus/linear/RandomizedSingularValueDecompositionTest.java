@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomizedSingularValueDecompositionTest {
+
+    private final double[] singularValues = {
+        1000.0, 500.0, 250.0, 125.0, 62.5, 31.25, 15.625, 7.8125
+    };
+
+    @Test
+    void testExactLowRank() {
+        final RandomGenerator random = new Well19937a(0x4c1e9f3a2b7d8065l);
+        final RealMatrix a = createLowRankMatrix(random, 300, 120);
+        final RandomizedSingularValueDecomposition rsvd =
+            new RandomizedSingularValueDecomposition(a, 5, 5, 0, random, null);
+        checkDecomposition(a, rsvd, 5, 1.0e-10);
+    }
+
+    @Test
+    void testWideMatrix() {
+        final RandomGenerator random = new Well19937a(0x9d02e4b7c35a1f68l);
+        final RealMatrix a = createLowRankMatrix(random, 60, 250).transpose();
+        final RandomizedSingularValueDecomposition rsvd =
+            new RandomizedSingularValueDecomposition(a, 4, 6, 1, random, null);
+        checkDecomposition(a, rsvd, 4, 1.0e-10);
+    }
+
+    @Test
+    void testPowerIterations() {
+        // full rank matrix, with a noise floor below the dominant singular values
+        final RandomGenerator random = new Well19937a(0x1f5a2c8e7b9d3046l);
+        final RealMatrix noise = new BlockRealMatrix(200, 100);
+        for (int i = 0; i < noise.getRowDimension(); ++i) {
+            for (int j = 0; j < noise.getColumnDimension(); ++j) {
+                noise.setEntry(i, j, 0.05 * random.nextGaussian());
+            }
+        }
+        final RealMatrix a = createLowRankMatrix(random, 200, 100).add(noise);
+        final double[] reference = new SingularValueDecomposition(a).getSingularValues();
+        double previous = Double.POSITIVE_INFINITY;
+        for (int q = 0; q < 4; ++q) {
+            final RandomizedSingularValueDecomposition rsvd =
+                new RandomizedSingularValueDecomposition(a, 6, 2, q, new Well19937a(0x6c3d0e8f5a4b7912l), null);
+            double error = 0;
+            for (int i = 0; i < 6; ++i) {
+                error = FastMath.max(error, FastMath.abs(rsvd.getSingularValues()[i] - reference[i]));
+            }
+            assertTrue(error < previous);
+            previous = error;
+        }
+        assertEquals(0, previous, 1.0e-10);
+        final RandomizedSingularValueDecomposition rsvd =
+            new RandomizedSingularValueDecomposition(a, 6, 2, 3, new Well19937a(0x6c3d0e8f5a4b7912l), null);
+        assertEquals(reference[0], rsvd.getNorm(), 1.0e-10);
+    }
+
+    @Test
+    void testParallel() {
+        final RandomGenerator random = new Well19937a(0x3e8b71d9c04a2f56l);
+        final RealMatrix a = new BlockRealMatrix(createLowRankMatrix(random, 400, 150).getData());
+        final RandomizedSingularValueDecomposition sequential =
+            new RandomizedSingularValueDecomposition(a, 6, 4, 1, new Well19937a(0x27l), null);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final RandomizedSingularValueDecomposition parallel =
+                new RandomizedSingularValueDecomposition(a, 6, 4, 1, new Well19937a(0x27l), pool);
+            checkDecomposition(a, parallel, 6, 1.0e-10);
+            for (int i = 0; i < 6; ++i) {
+                assertEquals(sequential.getSingularValues()[i], parallel.getSingularValues()[i], 1.0e-10);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testOperator() {
+        final RandomGenerator random = new Well19937a(0x85f0c2a7d91b3e64l);
+        final RealMatrix a = createLowRankMatrix(random, 180, 90);
+        final RealLinearOperator operator = new RealLinearOperator() {
+            @Override
+            public int getRowDimension() {
+                return a.getRowDimension();
+            }
+            @Override
+            public int getColumnDimension() {
+                return a.getColumnDimension();
+            }
+            @Override
+            public RealVector operate(final RealVector x) {
+                return a.operate(x);
+            }
+            @Override
+            public RealVector operateTranspose(final RealVector x) {
+                return a.preMultiply(x);
+            }
+            @Override
+            public boolean isTransposable() {
+                return true;
+            }
+        };
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final ForkJoinPool p : new ForkJoinPool[] { null, pool }) {
+                checkDecomposition(a, new RandomizedSingularValueDecomposition(operator, 7, 3, 1, random, p), 7, 1.0e-10);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testWrongArguments() {
+        final RandomGenerator random = new Well19937a(0x12l);
+        final RealMatrix a = createLowRankMatrix(random, 30, 20);
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new RandomizedSingularValueDecomposition(a, 0, 5, 1, random, null));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new RandomizedSingularValueDecomposition(a, 21, 5, 1, random, null));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new RandomizedSingularValueDecomposition(a, 5, -1, 1, random, null));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new RandomizedSingularValueDecomposition(a, 5, 5, -1, random, null));
+        final RealLinearOperator notTransposable = new RealLinearOperator() {
+            @Override
+            public int getRowDimension() {
+                return a.getRowDimension();
+            }
+            @Override
+            public int getColumnDimension() {
+                return a.getColumnDimension();
+            }
+            @Override
+            public RealVector operate(final RealVector x) {
+                return a.operate(x);
+            }
+        };
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new RandomizedSingularValueDecomposition(notTransposable, 5, 5, 1, random, null));
+    }
+
+    private void checkDecomposition(final RealMatrix a, final RandomizedSingularValueDecomposition rsvd,
+                                    final int rank, final double tolerance) {
+
+        final RealMatrix u = rsvd.getU();
+        final RealMatrix v = rsvd.getV();
+        assertEquals(a.getRowDimension(),    u.getRowDimension());
+        assertEquals(rank,                   u.getColumnDimension());
+        assertEquals(a.getColumnDimension(), v.getRowDimension());
+        assertEquals(rank,                   v.getColumnDimension());
+        assertEquals(rank,                   rsvd.getS().getRowDimension());
+
+        // orthonormal singular vectors
+        final RealMatrix id = MatrixUtils.createRealIdentityMatrix(rank);
+        assertEquals(0, rsvd.getUT().multiply(u).subtract(id).getNorm1(), tolerance);
+        assertEquals(0, rsvd.getVT().multiply(v).subtract(id).getNorm1(), tolerance);
+
+        // singular values
+        final double[] expected = new SingularValueDecomposition(a).getSingularValues();
+        for (int i = 0; i < rank; ++i) {
+            assertEquals(expected[i], rsvd.getSingularValues()[i], tolerance * expected[0]);
+        }
+
+        // U^T A V = S
+        assertEquals(0,
+                     rsvd.getUT().multiply(a).multiply(v).subtract(rsvd.getS()).getNorm1(),
+                     tolerance * expected[0]);
+
+    }
+
+    private RealMatrix createLowRankMatrix(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix u = new QRDecomposition(gaussian(random, rows, singularValues.length)).getThinQ();
+        final RealMatrix v = new QRDecomposition(gaussian(random, columns, singularValues.length)).getThinQ();
+        return u.multiply(MatrixUtils.createRealDiagonalMatrix(singularValues)).multiplyTransposed(v);
+    }
+
+    private RealMatrix gaussian(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix g = MatrixUtils.createRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                g.setEntry(i, j, random.nextGaussian());
+            }
+        }
+        return g;
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RealMatrixExpressionTest {
+
+    @Test
+    void testCovariancePropagation() {
+        final RandomGenerator random = new Well1024a(0x5e17a3c90b2d84f6l);
+        final RealMatrix a = createRandom(random, 37, 37);
+        final RealMatrix p = createRandom(random, 37, 37);
+        final RealMatrix q = createRandom(random, 37, 37);
+        final RealMatrix reference = a.multiply(p).multiplyTransposed(a).add(q);
+
+        final RealMatrixExpression ea = RealMatrixExpression.of(a);
+        final RealMatrixExpression expression = ea.multiply(p).multiplyTransposed(ea).add(q);
+        assertEquals(37, expression.getRowDimension());
+        assertEquals(37, expression.getColumnDimension());
+        assertEquals(0.0, reference.subtract(expression.evaluate()).getNorm1(), 1.0e-12);
+
+        // expressions only reference their operands
+        q.setEntry(3, 4, q.getEntry(3, 4) + 1.0);
+        assertEquals(reference.getEntry(3, 4) + 1.0, expression.evaluate().getEntry(3, 4), 1.0e-12);
+    }
+
+    @Test
+    void testAgainstEagerOperations() {
+        final RandomGenerator random = new Well1024a(0x92b0e6d14f7a3c58l);
+        final RealMatrix a = createRandom(random, 5, 7);
+        final RealMatrix b = new BlockRealMatrix(createRandom(random, 7, 4).getData());
+        final RealMatrix c = createRandom(random, 5, 4);
+        final RealMatrix d = createRandom(random, 4, 4);
+        final RealMatrixExpression ea = RealMatrixExpression.of(a);
+        final RealMatrixExpression eb = RealMatrixExpression.of(b);
+        final RealMatrixExpression ec = RealMatrixExpression.of(c);
+
+        checkEquals(a.multiply(b).add(c.scalarMultiply(2.5)).transpose(),
+                    ea.multiply(eb).add(ec.scalarMultiply(2.5)).transpose());
+        checkEquals(c.subtract(a.multiply(b.multiply(d))).scalarMultiply(-3.0),
+                    ec.subtract(ea.multiply(eb.multiply(d))).scalarMultiply(-3.0));
+        checkEquals(a.multiply(b.add(b.scalarMultiply(0.5))).multiply(d.transpose()),
+                    ea.multiply(eb.add(eb.scalarMultiply(0.5))).multiplyTransposed(d));
+        checkEquals(b.transposeMultiply(a.transpose()).scalarMultiply(4.0).multiply(c.add(c)),
+                    eb.scalarMultiply(2.0).transposeMultiply(a.transpose()).scalarMultiply(2.0).multiply(ec.add(ec)));
+        checkEquals(a.transpose().multiply(c).multiply(d).transpose().subtract(c.transpose().multiply(a)),
+                    ea.transposeMultiply(ec).multiply(d).transpose().subtract(ec.transpose().multiply(a)));
+        checkEquals(a.multiply(b).multiply(d).add(c),
+                    ea.multiply(eb.multiply(RealMatrixExpression.of(d).add(d)).scalarMultiply(0.5)).add(c));
+    }
+
+    @Test
+    void testParallel() {
+        final RandomGenerator random = new Well1024a(0x1f6c3a85e09d72b4l);
+        final RealMatrix a = createRandom(random, 203, 151);
+        final RealMatrix b = createRandom(random, 151, 203);
+        final RealMatrix c = createRandom(random, 203, 203);
+        final RealMatrixExpression expression =
+                RealMatrixExpression.of(a).multiply(RealMatrixExpression.of(b).add(a.transpose())).subtract(c);
+        final RealMatrix sequential = expression.evaluate();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(sequential, expression.evaluate(pool));
+            final RealMatrix out = new BlockRealMatrix(203, 203);
+            assertSame(out, expression.evaluate(out, pool));
+            assertEquals(0.0, sequential.subtract(out).getNorm1(), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testOperate() {
+        final RandomGenerator random = new Well1024a(0x7d42b9e10c6f35a8l);
+        final RealMatrix a = createRandom(random, 6, 4);
+        final RealMatrix p = createRandom(random, 4, 4);
+        final RealMatrix q = createRandom(random, 6, 6);
+        final RealMatrixExpression expression =
+                RealMatrixExpression.of(a).multiply(p).multiplyTransposed(a).scalarMultiply(0.5).add(q);
+        final RealVector v = new ArrayRealVector(new double[] { 1.0, -2.0, 0.5, 3.0, 0.0, -1.5 });
+        final RealVector expected = expression.evaluate().operate(v);
+        assertEquals(0.0, expected.subtract(expression.operate(v)).getNorm(), 1.0e-13);
+        assertArrayEquals(expected.toArray(), expression.operate(v.toArray()), 1.0e-13);
+        assertThrows(MathIllegalArgumentException.class, () -> expression.operate(new double[5]));
+    }
+
+    @Test
+    void testErrors() {
+        final RealMatrix a = new Array2DRowRealMatrix(3, 4);
+        final RealMatrix b = new Array2DRowRealMatrix(3, 3);
+        final RealMatrixExpression ea = RealMatrixExpression.of(a);
+        assertThrows(MathIllegalArgumentException.class, () -> ea.add(b));
+        assertThrows(MathIllegalArgumentException.class, () -> ea.subtract(b));
+        assertThrows(MathIllegalArgumentException.class, () -> ea.multiply(b));
+        assertThrows(MathIllegalArgumentException.class, () -> ea.evaluate(new Array2DRowRealMatrix(4, 3)));
+        assertThrows(MathIllegalArgumentException.class, () -> RealMatrixExpression.of(b).multiply(b).evaluate(b));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> RealMatrixExpression.of(b).add(b).evaluate(new Array2DRowRealMatrix(((Array2DRowRealMatrix) b).getDataRef(), false)));
+    }
+
+    @Test
+    void testAliasedView() {
+        final RealMatrix a = new Array2DRowRealMatrix(new double[][] { { 1, 2 }, { 3, 4 } });
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> RealMatrixExpression.of(a).multiply(a).evaluate(a.getSubMatrixView(0, 1, 0, 1)));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> RealMatrixExpression.of(a.getTransposedView()).multiply(a).evaluate(a));
+        final RealMatrix c = new BlockRealMatrix(a.getData());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> RealMatrixExpression.of(c).multiply(a).evaluate(c.getTransposedView()));
+        assertEquals(4.0, a.getEntry(1, 1), 0.0);
+        // a view of an unrelated matrix is a valid destination
+        final RealMatrix d = new Array2DRowRealMatrix(3, 3);
+        RealMatrixExpression.of(a).multiply(a).evaluate(d.getSubMatrixView(1, 2, 1, 2));
+        assertEquals(22.0, d.getEntry(2, 2), 0.0);
+    }
+
+    private void checkEquals(final RealMatrix expected, final RealMatrixExpression expression) {
+        assertEquals(expected.getRowDimension(), expression.getRowDimension());
+        assertEquals(expected.getColumnDimension(), expression.getColumnDimension());
+        assertEquals(0.0, expected.subtract(expression.evaluate()).getNorm1(), 1.0e-12);
+        final RealMatrix out = new BlockRealMatrix(expected.getRowDimension(), expected.getColumnDimension());
+        assertSame(out, expression.evaluate(out));
+        assertEquals(0.0, expected.subtract(out).getNorm1(), 1.0e-12);
+    }
+
+    private static RealMatrix createRandom(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+}
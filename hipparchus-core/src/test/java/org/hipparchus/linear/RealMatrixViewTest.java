@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RealMatrixViewTest {
+
+    @Test
+    void testSubMatrixView() {
+        final RandomGenerator random = new Well1024a(0x4c2e9a7d61b3f058l);
+        for (final RealMatrix m : createMatrices(random, 61, 75)) {
+            final RealMatrix view = m.getSubMatrixView(7, 58, 3, 71);
+            assertEquals(m.getSubMatrix(7, 58, 3, 71), view);
+            assertEquals(m.getSubMatrix(7, 58, 3, 71).transpose(), view.transpose());
+            assertEquals(m.getRowMatrix(12), m.getRowMatrixView(12));
+            assertEquals(m.getColumnMatrix(50), m.getColumnMatrixView(50));
+            assertArrayEquals(m.getSubMatrix(7, 58, 3, 71).getColumn(5), view.getColumn(5), 0.0);
+
+            // views of views refer to the underlying matrix
+            final RealMatrixView nested = (RealMatrixView) view.getSubMatrixView(2, 40, 10, 60);
+            assertSame(m, nested.getParent());
+            assertFalse(nested.isTransposed());
+            assertEquals(m.getSubMatrix(9, 47, 13, 63), nested);
+
+            // write-through in both directions
+            view.setEntry(1, 2, 12.5);
+            assertEquals(12.5, m.getEntry(8, 5), 0.0);
+            view.addToEntry(1, 2, 1.0);
+            view.multiplyEntry(1, 2, 2.0);
+            assertEquals(27.0, m.getEntry(8, 5), 0.0);
+            m.setEntry(30, 40, -3.0);
+            assertEquals(-3.0, view.getEntry(23, 37), 0.0);
+            assertEquals(-3.0, nested.getEntry(21, 27), 0.0);
+
+            // copies are independent
+            final RealMatrix copy = view.copy();
+            assertEquals(m.getClass(), copy.getClass());
+            copy.setEntry(0, 0, 100.0);
+            assertEquals(m.getEntry(7, 3), view.getEntry(0, 0), 0.0);
+        }
+    }
+
+    @Test
+    void testTransposedView() {
+        final RandomGenerator random = new Well1024a(0x0d6b3f918a2c47e5l);
+        for (final RealMatrix m : createMatrices(random, 53, 67)) {
+            final RealMatrix t = m.getTransposedView();
+            assertEquals(67, t.getRowDimension());
+            assertEquals(53, t.getColumnDimension());
+            assertEquals(m.transpose(), t);
+            assertEquals(m, t.transpose());
+            assertEquals(m, t.getTransposedView());
+            assertTrue(((RealMatrixView) t).isTransposed());
+            assertFalse(((RealMatrixView) t.getTransposedView()).isTransposed());
+
+            final RealMatrix sub = t.getSubMatrixView(4, 60, 2, 50);
+            assertEquals(m.transpose().getSubMatrix(4, 60, 2, 50), sub);
+            assertEquals(m.getSubMatrix(2, 50, 4, 60), sub.getTransposedView());
+
+            t.setEntry(5, 9, 4.25);
+            assertEquals(4.25, m.getEntry(9, 5), 0.0);
+            assertEquals(4.25, sub.getEntry(1, 7), 0.0);
+
+            // walking in optimized order visits all entries
+            final double[] sum = new double[1];
+            t.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+                @Override
+                public void visit(final int row, final int column, final double value) {
+                    sum[0] += value * (row + 1);
+                }
+            });
+            double expected = 0;
+            for (int i = 0; i < 53; ++i) {
+                for (int j = 0; j < 67; ++j) {
+                    expected += m.getEntry(i, j) * (j + 1);
+                }
+            }
+            assertEquals(expected, sum[0], 1.0e-10);
+            t.walkInOptimizedOrder(new DefaultRealMatrixChangingVisitor() {
+                @Override
+                public double visit(final int row, final int column, final double value) {
+                    return row - column;
+                }
+            });
+            assertEquals(-4.0, m.getEntry(6, 2), 0.0);
+        }
+    }
+
+    @Test
+    void testProducts() {
+        final RandomGenerator random = new Well1024a(0x9f1b6e30d4a87c25l);
+        final RealMatrix b = createRandom(random, 29, 17);
+        for (final RealMatrix m : createMatrices(random, 41, 53)) {
+            final RealMatrix view = m.getSubMatrixView(3, 31, 10, 38).getTransposedView();
+            final RealMatrix copy = m.getSubMatrix(3, 31, 10, 38).transpose();
+            assertEquals(0.0, copy.multiply(b).subtract(view.multiply(b)).getNorm1(), 1.0e-13);
+            final RealMatrix block = new BlockRealMatrix(b.getData());
+            assertEquals(0.0, copy.multiply(block).subtract(view.multiply(block)).getNorm1(), 1.0e-13);
+            assertEquals(0.0, copy.transpose().multiply(copy).subtract(view.getTransposedView().multiply(view)).getNorm1(), 1.0e-13);
+
+            final double[] u = new double[29];
+            final double[] v = new double[29];
+            for (int i = 0; i < u.length; ++i) {
+                u[i] = random.nextDouble();
+                v[i] = random.nextDouble();
+            }
+            assertArrayEquals(copy.operate(u), view.operate(u), 1.0e-13);
+            assertArrayEquals(copy.preMultiply(v), view.preMultiply(v), 1.0e-13);
+            assertThrows(MathIllegalArgumentException.class, () -> view.operate(new double[3]));
+            assertThrows(MathIllegalArgumentException.class, () -> view.preMultiply(new double[3]));
+            assertThrows(MathIllegalArgumentException.class, () -> view.multiply(new Array2DRowRealMatrix(3, 3)));
+        }
+    }
+
+    @Test
+    void testAliasedDestination() {
+        for (final RealMatrix m : new RealMatrix[] {
+            new Array2DRowRealMatrix(new double[][] { { 1, 2 }, { 3, 4 } }),
+            new BlockRealMatrix(new double[][] { { 1, 2 }, { 3, 4 } })
+        }) {
+            assertThrows(MathIllegalArgumentException.class,
+                         () -> m.multiply(m, m.getSubMatrixView(0, 1, 0, 1)));
+            assertThrows(MathIllegalArgumentException.class,
+                         () -> m.getSubMatrixView(0, 1, 0, 1).multiply(m, m));
+            assertThrows(MathIllegalArgumentException.class,
+                         () -> m.multiply(m.getTransposedView(), m.getSubMatrixView(0, 1, 0, 1)));
+            // the operands are left untouched
+            assertEquals(4.0, m.getEntry(1, 1), 0.0);
+        }
+    }
+
+    @Test
+    void testProductNonFinite() {
+        final RealMatrix m = new Array2DRowRealMatrix(new double[][] { { 0, 1 }, { 1, 1 } });
+        final RealMatrix n = new Array2DRowRealMatrix(new double[][] { { Double.POSITIVE_INFINITY, 1 }, { 1, 1 } });
+        for (final RealMatrix parent : new RealMatrix[] { m, new BlockRealMatrix(m.getData()) }) {
+            final RealMatrix expected = parent.multiply(n);
+            final RealMatrix product  = parent.getSubMatrixView(0, 1, 0, 1).multiply(n);
+            assertTrue(Double.isNaN(expected.getEntry(0, 0)));
+            assertTrue(Double.isNaN(product.getEntry(0, 0)));
+            assertEquals(expected.getEntry(1, 1), product.getEntry(1, 1), 0.0);
+        }
+    }
+
+    @Test
+    void testBlockParentProduct() {
+        final RandomGenerator random = new Well1024a(0x6d1e83f0c52ab947l);
+        final BlockRealMatrix m = new BlockRealMatrix(createRandom(random, 120, 90).getData());
+        final RealMatrix b = createRandom(random, 70, 60);
+        final RealMatrix view = m.getSubMatrixView(5, 104, 10, 79);
+        final RealMatrix product = view.multiply(b);
+        assertTrue(product instanceof BlockRealMatrix);
+        assertEquals(0.0, m.getSubMatrix(5, 104, 10, 79).multiply(b).subtract(product).getNorm1(), 1.0e-12);
+    }
+
+    @Test
+    void testBlockInverse() {
+        final RandomGenerator random = new Well1024a(0x35a7c1e94d0b68f2l);
+        final RealMatrix m = createRandom(random, 12, 12);
+        final RealMatrix inverse = MatrixUtils.blockInverse(m, 5);
+        assertEquals(0.0, m.multiply(inverse).subtract(MatrixUtils.createRealIdentityMatrix(12)).getNorm1(), 1.0e-10);
+    }
+
+    @Test
+    void testErrors() {
+        final RealMatrix m = new Array2DRowRealMatrix(4, 5);
+        assertThrows(MathIllegalArgumentException.class, () -> m.getSubMatrixView(2, 1, 0, 3));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getSubMatrixView(0, 4, 0, 3));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getRowMatrixView(4));
+        assertThrows(MathIllegalArgumentException.class, () -> m.getColumnMatrixView(-1));
+        final RealMatrix view = m.getSubMatrixView(1, 2, 1, 3);
+        assertThrows(MathIllegalArgumentException.class, () -> view.getEntry(2, 0));
+        assertThrows(MathIllegalArgumentException.class, () -> view.setEntry(0, 3, 1.0));
+        assertThrows(MathIllegalArgumentException.class, () -> view.getTransposedView().getEntry(0, 2));
+    }
+
+    private static RealMatrix[] createMatrices(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix array  = createRandom(random, rows, columns);
+        final RealMatrix sparse = new OpenMapRealMatrix(rows, columns);
+        sparse.setSubMatrix(array.getData(), 0, 0);
+        return new RealMatrix[] {
+            array, new BlockRealMatrix(array.getData()), sparse
+        };
+    }
+
+    private static RealMatrix createRandom(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+}
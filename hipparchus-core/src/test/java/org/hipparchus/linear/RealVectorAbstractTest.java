@@ -1244,6 +1244,53 @@ public abstract class RealVectorAbstractTest {
         });
     }
 
+    @Test
+    public void testIntoDestination() {
+        final int n = values.length * values.length;
+        final double[] data1 = new double[n];
+        final double[] data2 = new double[n];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values.length; j++) {
+                final int index = values.length * i + j;
+                data1[index] = values[i];
+                data2[index] = values[j];
+            }
+        }
+        for (final boolean mixed : new boolean[] { false, true }) {
+            final RealVector v1  = create(data1);
+            final RealVector v2  = mixed ? createAlien(data2) : create(data2);
+            final RealVector out = mixed ? createAlien(new double[n]) : create(new double[n]);
+            assertSame(out, v1.add(v2, out));
+            UnitTestUtils.customAssertEquals("add", v1.add(v2).toArray(), out, 0.);
+            assertSame(out, v1.subtract(v2, out));
+            UnitTestUtils.customAssertEquals("subtract", v1.subtract(v2).toArray(), out, 0.);
+            assertSame(out, v1.mapMultiply(-1.5, out));
+            UnitTestUtils.customAssertEquals("mapMultiply", v1.mapMultiply(-1.5).toArray(), out, 0.);
+            assertSame(out, v1.combine(2.0, -3.0, v2, out));
+            UnitTestUtils.customAssertEquals("combine", v1.combine(2.0, -3.0, v2).toArray(), out, 0.);
+
+            // the destination may be one of the operands
+            final RealVector v1bis = v1.copy();
+            assertSame(v1bis, v1bis.add(v2, v1bis));
+            UnitTestUtils.customAssertEquals("add to self", v1.add(v2).toArray(), v1bis, 0.);
+            final RealVector v2bis = v2.copy();
+            assertSame(v2bis, v1.combine(0.5, 4.0, v2bis, v2bis));
+            UnitTestUtils.customAssertEquals("combine to operand", v1.combine(0.5, 4.0, v2).toArray(), v2bis, 0.);
+        }
+    }
+
+    @Test
+    public void testIntoDestinationDimensionMismatch() {
+        final RealVector v1 = create(new double[10]);
+        final RealVector v2 = create(new double[10]);
+        final RealVector out = create(new double[11]);
+        assertThrows(MathIllegalArgumentException.class, () -> v1.add(v2, out));
+        assertThrows(MathIllegalArgumentException.class, () -> v1.subtract(v2, out));
+        assertThrows(MathIllegalArgumentException.class, () -> v1.mapMultiply(2.0, out));
+        assertThrows(MathIllegalArgumentException.class, () -> v1.combine(1.0, 2.0, v2, out));
+        assertThrows(MathIllegalArgumentException.class, () -> v1.add(out, v2));
+    }
+
     @Test
     public void testCopy() {
         final RealVector v = create(values);
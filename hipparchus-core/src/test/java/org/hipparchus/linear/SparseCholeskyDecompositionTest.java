@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SparseCholeskyDecompositionTest {
+
+    @Test
+    void testAgainstDense() {
+        final RandomGenerator random = new Well1024a(0x5c31f2a98e0d4b67l);
+        for (final SparseCholeskyAnalysis.Ordering ordering : SparseCholeskyAnalysis.Ordering.values()) {
+            for (final RealMatrix a : new RealMatrix[] { createLaplacian(6, 7, 0.5), createArrow(25, random) }) {
+                final int n = a.getRowDimension();
+                final SparseCholeskyDecomposition sparse =
+                    new SparseCholeskyDecomposition(new SparseCholeskyAnalysis(a, ordering), a);
+                final CholeskyDecomposition cholesky = new CholeskyDecomposition(a);
+                assertEquals(cholesky.getDeterminant(), sparse.getDeterminant(), 1.0e-12 * cholesky.getDeterminant());
+
+                // P A P^T = L D L^T
+                final RealMatrix l  = sparse.getL();
+                final RealMatrix pa = permute(a, sparse.getPermutation());
+                BandedRealMatrixTest.checkEquals(pa, l.multiply(sparse.getD()).multiply(l.transpose()), 1.0e-12);
+
+                final DecompositionSolver solver = sparse.getSolver();
+                assertTrue(solver.isNonSingular());
+                final RealMatrix b = BandedRealMatrixTest.createBanded(random, n, n - 1, n - 1).getSubMatrix(0, n - 1, 0, 3);
+                BandedRealMatrixTest.checkEquals(b, a.multiply(solver.solve(b)), 1.0e-12);
+                final RealVector bv = b.getColumnVector(1);
+                assertEquals(0.0, a.operate(solver.solve(bv)).subtract(bv).getNorm(), 1.0e-12);
+                BandedRealMatrixTest.checkEquals(cholesky.getSolver().getInverse(), solver.getInverse(), 1.0e-12);
+            }
+        }
+    }
+
+    @Test
+    void testFillReduction() {
+        // arrow matrix with dense first row/column: natural ordering fills L completely
+        final RealMatrix a = createArrow(40, new Well1024a(0x1d4e7f20b3c6985al));
+        final SparseCholeskyAnalysis natural = new SparseCholeskyAnalysis(a, SparseCholeskyAnalysis.Ordering.NATURAL);
+        final SparseCholeskyAnalysis minimum = new SparseCholeskyAnalysis(a, SparseCholeskyAnalysis.Ordering.MINIMUM_DEGREE);
+        assertEquals(40 * 39 / 2, natural.getFactorEntries());
+        assertEquals(39, minimum.getFactorEntries());
+
+        // grid Laplacian
+        final RealMatrix grid = createLaplacian(15, 15, 0.0);
+        assertTrue(new SparseCholeskyAnalysis(grid).getFactorEntries() <
+                   new SparseCholeskyAnalysis(grid, SparseCholeskyAnalysis.Ordering.NATURAL).getFactorEntries());
+    }
+
+    @Test
+    void testAnalysisReuse() {
+        final RealMatrix a1 = createLaplacian(5, 4, 0.1);
+        final SparseCholeskyAnalysis analysis = new SparseCholeskyAnalysis(a1);
+        final CompressedColumnRealMatrix a2 = new CompressedColumnRealMatrix(a1);
+        a2.multiplyEntry(3, 3, 1.5);
+        final RealMatrix a3 = a2.scalarMultiply(2.0);
+        for (final RealMatrix a : new RealMatrix[] { a1, a2, a3 }) {
+            final SparseCholeskyDecomposition sparse = new SparseCholeskyDecomposition(analysis, a);
+            assertEquals(new CholeskyDecomposition(a).getDeterminant(), sparse.getDeterminant(),
+                         1.0e-12 * sparse.getDeterminant());
+        }
+    }
+
+    @Test
+    void testUserPermutation() {
+        final RealMatrix a = createLaplacian(3, 3, 1.0);
+        final int[] reversed = new int[] { 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+        final SparseCholeskyDecomposition sparse =
+            new SparseCholeskyDecomposition(new SparseCholeskyAnalysis(a, reversed), a);
+        assertEquals(8, sparse.getPermutation()[0]);
+        assertEquals(new CholeskyDecomposition(a).getDeterminant(), sparse.getDeterminant(),
+                     1.0e-12 * sparse.getDeterminant());
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new SparseCholeskyAnalysis(a, new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 7 }));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new SparseCholeskyAnalysis(a, new int[] { 0, 1, 2 }));
+    }
+
+    @Test
+    void testPatternMismatch() {
+        final RealMatrix a = createLaplacian(4, 4, 0.0);
+        final SparseCholeskyAnalysis analysis = new SparseCholeskyAnalysis(a);
+        final RealMatrix b = a.copy();
+        b.setEntry(0, 15, 0.25);
+        b.setEntry(15, 0, 0.25);
+        assertThrows(MathIllegalArgumentException.class, () -> new SparseCholeskyDecomposition(analysis, b));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new SparseCholeskyDecomposition(analysis, createLaplacian(3, 3, 0.0)));
+    }
+
+    @Test
+    void testNotPositiveDefinite() {
+        final RealMatrix a = createLaplacian(4, 4, -1.0);
+        assertThrows(MathIllegalArgumentException.class, () -> new SparseCholeskyDecomposition(a));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new SparseCholeskyDecomposition(new CompressedColumnRealMatrix(3, 4)));
+    }
+
+    /** Create a shifted 5 points Laplacian on a grid.
+     * @param nx number of grid points along x
+     * @param ny number of grid points along y
+     * @param shift diagonal shift
+     * @return Laplacian matrix
+     */
+    private static RealMatrix createLaplacian(final int nx, final int ny, final double shift) {
+        final CompressedColumnRealMatrix a = new CompressedColumnRealMatrix(nx * ny, nx * ny);
+        for (int i = 0; i < nx; ++i) {
+            for (int j = 0; j < ny; ++j) {
+                final int k = i * ny + j;
+                a.setEntry(k, k, 4.0 + shift);
+                if (i > 0) {
+                    a.setEntry(k, k - ny, -1.0);
+                    a.setEntry(k - ny, k, -1.0);
+                }
+                if (j > 0) {
+                    a.setEntry(k, k - 1, -1.0);
+                    a.setEntry(k - 1, k, -1.0);
+                }
+            }
+        }
+        return a;
+    }
+
+    /** Create a symmetric positive definite arrow matrix with dense first row and column.
+     * @param n dimension
+     * @param random random generator
+     * @return arrow matrix
+     */
+    private static RealMatrix createArrow(final int n, final RandomGenerator random) {
+        final CompressedColumnRealMatrix a = new CompressedColumnRealMatrix(n, n);
+        a.setEntry(0, 0, n);
+        for (int i = 1; i < n; ++i) {
+            final double x = random.nextDouble() - 0.5;
+            a.setEntry(0, i, x);
+            a.setEntry(i, 0, x);
+            a.setEntry(i, i, 2.0 + random.nextDouble());
+        }
+        return a;
+    }
+
+    /** Compute P A P<sup>T</sup>.
+     * @param a matrix
+     * @param permutation permutation
+     * @return permuted matrix
+     */
+    private static RealMatrix permute(final RealMatrix a, final int[] permutation) {
+        final RealMatrix pa = MatrixUtils.createRealMatrix(a.getRowDimension(), a.getColumnDimension());
+        for (int i = 0; i < permutation.length; ++i) {
+            for (int j = 0; j < permutation.length; ++j) {
+                pa.setEntry(i, j, a.getEntry(permutation[i], permutation[j]));
+            }
+        }
+        return pa;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Hipparchus project under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The Hipparchus project licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+final class SparseRealMatrixBuilderTest {
+
+    @Test
+    void testDuplicatesAreSummed() {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(3, 4, 1);
+        builder.addEntry(2, 1, 1.0).
+                addEntry(0, 3, 2.0).
+                addEntry(2, 1, 3.0).
+                addEntry(0, 0, 4.0).
+                addEntry(1, 2, 5.0).
+                addEntry(0, 3, -2.0);
+        assertEquals(6, builder.getSize());
+
+        final CompressedRowRealMatrix csr = builder.buildCompressedRow();
+        assertArrayEquals(new int[] { 0, 2, 3, 4 }, csr.getRowPointersRef());
+        assertArrayEquals(new int[] { 0, 3, 2, 1 }, csr.getColumnIndicesRef());
+        assertArrayEquals(new double[] { 4.0, 0.0, 5.0, 4.0 }, csr.getValuesRef(), 0.0);
+
+        final CompressedColumnRealMatrix csc = builder.buildCompressedColumn();
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4 }, csc.getColumnPointersRef());
+        assertArrayEquals(new int[] { 0, 2, 1, 0 }, csc.getRowIndicesRef());
+        assertArrayEquals(new double[] { 4.0, 4.0, 5.0, 0.0 }, csc.getValuesRef(), 0.0);
+
+        assertEquals(csr, csc);
+    }
+
+    @Test
+    void testReuse() {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(2, 2);
+        builder.addEntry(0, 0, 1.0);
+        assertEquals(1, builder.buildCompressedRow().getStoredEntries());
+        builder.addEntry(1, 1, 1.0);
+        assertEquals(2, builder.buildCompressedRow().getStoredEntries());
+        builder.clear();
+        assertEquals(0, builder.getSize());
+        assertEquals(0, builder.buildCompressedColumn().getStoredEntries());
+        assertEquals(2, builder.getRowDimension());
+        assertEquals(2, builder.getColumnDimension());
+    }
+
+    @Test
+    void testWrongIndices() {
+        final SparseRealMatrixBuilder builder = new SparseRealMatrixBuilder(2, 3);
+        try {
+            builder.addEntry(2, 0, 1.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.ROW_INDEX, miae.getSpecifier());
+        }
+        try {
+            builder.addEntry(0, -1, 1.0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.COLUMN_INDEX, miae.getSpecifier());
+        }
+    }
+
+    @Test
+    void testWrongDimensions() {
+        try {
+            new SparseRealMatrixBuilder(0, 3);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.AT_LEAST_ONE_ROW, miae.getSpecifier());
+        }
+        try {
+            new SparseRealMatrixBuilder(3, 0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.AT_LEAST_ONE_COLUMN, miae.getSpecifier());
+        }
+        try {
+            new SparseRealMatrixBuilder(3, 3, 0);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.INITIAL_CAPACITY_NOT_POSITIVE, miae.getSpecifier());
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link SymmetricRealMatrix} class.
+ */
+class SymmetricRealMatrixTest {
+
+    @Test
+    void testConstructors() {
+        final RealMatrix dense = createSymmetric(new Well1024a(0x5e1b8f2a7c3d9046l), 7);
+        final SymmetricRealMatrix s = new SymmetricRealMatrix(dense);
+        assertEquals(7, s.getRowDimension());
+        assertEquals(7, s.getColumnDimension());
+        assertEquals(28, s.getDataRef().length);
+        checkEquals(dense, s, 0.0);
+        checkEquals(dense, new SymmetricRealMatrix(dense.getData()), 0.0);
+        checkEquals(dense, new SymmetricRealMatrix(7, s.getDataRef(), true), 0.0);
+        checkEquals(dense, new Array2DRowRealMatrix(s.getData()), 0.0);
+        checkEquals(dense, s.copy(), 0.0);
+        checkEquals(dense, s.transpose(), 0.0);
+
+        // only upper part is used
+        final RealMatrix asymmetric = dense.copy();
+        asymmetric.setEntry(5, 2, 1.0e6);
+        checkEquals(dense, new SymmetricRealMatrix(asymmetric), 0.0);
+
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new SymmetricRealMatrix(new Array2DRowRealMatrix(3, 4)));
+        assertThrows(MathIllegalArgumentException.class,
+                     () -> new SymmetricRealMatrix(3, new double[5], false));
+        assertTrue(s.createMatrix(3, 4) instanceof Array2DRowRealMatrix);
+    }
+
+    @Test
+    void testEntries() {
+        final SymmetricRealMatrix s = new SymmetricRealMatrix(4);
+        s.setEntry(3, 1, 2.5);
+        assertEquals(2.5, s.getEntry(1, 3), 0.0);
+        s.addToEntry(1, 3, 1.0);
+        assertEquals(3.5, s.getEntry(3, 1), 0.0);
+        s.multiplyEntry(3, 1, 2.0);
+        assertEquals(7.0, s.getEntry(1, 3), 0.0);
+        assertEquals(7.0, s.getEntry(3, 1), 0.0);
+        assertThrows(MathIllegalArgumentException.class, () -> s.getEntry(4, 0));
+        assertThrows(MathIllegalArgumentException.class, () -> s.setEntry(0, -1, 1.0));
+    }
+
+    @Test
+    void testArithmetic() {
+        final RandomGenerator random = new Well1024a(0x2c7f4a1e9b05d683l);
+        final RealMatrix a = createSymmetric(random, 9);
+        final RealMatrix b = createSymmetric(random, 9);
+        final SymmetricRealMatrix sa = new SymmetricRealMatrix(a);
+        final SymmetricRealMatrix sb = new SymmetricRealMatrix(b);
+        checkEquals(a.add(b), sa.add(sb), 1.0e-15);
+        checkEquals(a.subtract(b), sa.subtract(sb), 1.0e-15);
+        assertTrue(sa.add((RealMatrix) sb) instanceof SymmetricRealMatrix);
+        checkEquals(a.add(b), sa.add(b), 1.0e-15);
+        checkEquals(a.scalarAdd(1.5), sa.scalarAdd(1.5), 1.0e-15);
+        checkEquals(a.scalarMultiply(1.5), sa.scalarMultiply(1.5), 1.0e-15);
+    }
+
+    @Test
+    void testProducts() {
+        final RandomGenerator random = new Well1024a(0x83d6e1f047a2b95cl);
+        final RealMatrix a = createSymmetric(random, 36);
+        final SymmetricRealMatrix s = new SymmetricRealMatrix(a);
+        final RealMatrix m = createRandom(random, 36, 11);
+        checkEquals(a.multiply(m), s.multiply(m), 1.0e-13);
+        checkEquals(a.transposeMultiply(m), s.transposeMultiply(m), 1.0e-13);
+        checkEquals(a.multiply(a), s.multiply(s), 1.0e-13);
+
+        final double[] v = createRandom(random, 36, 1).getColumn(0);
+        assertArrayEquals(a.operate(v), s.operate(v), 1.0e-13);
+        assertArrayEquals(a.preMultiply(v), s.preMultiply(v), 1.0e-13);
+        assertEquals(new ArrayRealVector(v).dotProduct(a.operate(new ArrayRealVector(v))),
+                     s.quadraticForm(v), 1.0e-12);
+        assertEquals(s.quadraticForm(v), s.quadraticForm(new ArrayRealVector(v)), 0.0);
+
+        assertThrows(MathIllegalArgumentException.class, () -> s.operate(new double[35]));
+        assertThrows(MathIllegalArgumentException.class, () -> s.quadraticForm(new double[35]));
+        assertThrows(MathIllegalArgumentException.class, () -> s.multiply(createRandom(random, 35, 3)));
+    }
+
+    @Test
+    void testCongruence() {
+        final RandomGenerator random = new Well1024a(0x46a0c2d9e8f1b357l);
+        final RealMatrix p = createSymmetric(random, 36);
+        final SymmetricRealMatrix s = new SymmetricRealMatrix(p);
+        for (final int rows : new int[] { 1, 6, 36, 50 }) {
+            final RealMatrix a = createRandom(random, rows, 36);
+            final SymmetricRealMatrix c = s.congruence(a);
+            assertEquals(rows, c.getRowDimension());
+            checkEquals(a.multiply(p).multiplyTransposed(a), c, 1.0e-12);
+            assertTrue(MatrixUtils.isSymmetric(c, 0.0));
+        }
+        assertThrows(MathIllegalArgumentException.class, () -> s.congruence(createRandom(random, 4, 35)));
+    }
+
+    @Test
+    void testWalks() {
+        final SymmetricRealMatrix s = new SymmetricRealMatrix(createSymmetric(new Well1024a(0x9f3b7c05e2a4d168l), 5));
+        final RealMatrix expected = new Array2DRowRealMatrix(s.getData()).scalarMultiply(2);
+
+        // changing visitors see each stored entry once
+        final CountingVisitor doubling = new CountingVisitor();
+        s.walkInOptimizedOrder(doubling);
+        assertEquals(15, doubling.count);
+        checkEquals(expected, s, 0.0);
+        // in sub-ranges, entries below the diagonal are visited if their symmetric entry is out of range
+        doubling.count = 0;
+        s.walkInColumnOrder(doubling, 1, 3, 0, 4);
+        assertEquals(12, doubling.count);
+        doubling.count = 0;
+        s.walkInRowOrder(doubling, 1, 3, 0, 4);
+        assertEquals(12, doubling.count);
+        assertEquals(4 * expected.getEntry(1, 2), s.getEntry(2, 1), 1.0e-15);
+        assertEquals(4 * expected.getEntry(0, 1), s.getEntry(1, 0), 1.0e-15);
+        assertEquals(expected.getEntry(0, 4), s.getEntry(4, 0), 1.0e-15);
+        doubling.count = 0;
+        s.walkInRowOrder(doubling, 1, 1, 0, 0);
+        assertEquals(1, doubling.count);
+        assertEquals(8 * expected.getEntry(0, 1), s.getEntry(0, 1), 1.0e-15);
+        doubling.count = 0;
+        s.walkInColumnOrder(doubling, 3, 4, 0, 1);
+        assertEquals(4, doubling.count);
+        assertEquals(2 * expected.getEntry(0, 4), s.getEntry(4, 0), 1.0e-15);
+
+        // preserving visitors see all entries
+        final double[] sum = new double[2];
+        s.walkInOptimizedOrder(new DefaultRealMatrixPreservingVisitor() {
+            @Override
+            public void visit(int row, int column, double value) {
+                sum[0] += value;
+                sum[1] += 1;
+            }
+        });
+        assertEquals(25, sum[1], 0.0);
+    }
+
+    private static class CountingVisitor extends DefaultRealMatrixChangingVisitor {
+        int count;
+        @Override
+        public double visit(int row, int column, double value) {
+            ++count;
+            return 2 * value;
+        }
+    }
+
+    private void checkEquals(final RealMatrix expected, final RealMatrix observed, final double tolerance) {
+        assertEquals(expected.getRowDimension(),    observed.getRowDimension());
+        assertEquals(expected.getColumnDimension(), observed.getColumnDimension());
+        assertEquals(0.0, expected.subtract(observed).getNorm1(), tolerance);
+    }
+
+    private RealMatrix createSymmetric(final RandomGenerator random, final int n) {
+        final RealMatrix m = new Array2DRowRealMatrix(n, n);
+        for (int i = 0; i < n; ++i) {
+            for (int j = i; j < n; ++j) {
+                final double x = 2 * random.nextDouble() - 1;
+                m.setEntry(i, j, x);
+                m.setEntry(j, i, x);
+            }
+        }
+        return m;
+    }
+
+    private RealMatrix createRandom(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+}
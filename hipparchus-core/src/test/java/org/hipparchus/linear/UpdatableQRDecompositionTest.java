@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.linear;
+
+import org.hipparchus.exception.MathIllegalArgumentException;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.hipparchus.util.FastMath;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpdatableQRDecompositionTest {
+
+    @Test
+    void testInsertDelete() {
+        final RandomGenerator random = new Well1024a(0x2b94e0c7a51d368fl);
+        RealMatrix a = createRandom(random, 9, 5);
+        final UpdatableQRDecomposition qr = new UpdatableQRDecomposition(a);
+        checkDecomposition(a, qr);
+
+        final double[] row = createRandom(random, 1, 5).getRow(0);
+        qr.insertRow(3, row);
+        a = insert(a, 3, row);
+        checkDecomposition(a, qr);
+
+        qr.appendRow(row);
+        a = insert(a, a.getRowDimension(), row);
+        checkDecomposition(a, qr);
+
+        qr.deleteRow(0);
+        a = delete(a, 0);
+        checkDecomposition(a, qr);
+
+        qr.deleteRow(6);
+        a = delete(a, 6);
+        checkDecomposition(a, qr);
+
+        qr.deleteRow(a.getRowDimension() - 1);
+        a = delete(a, a.getRowDimension() - 1);
+        checkDecomposition(a, qr);
+    }
+
+    @Test
+    void testSlidingWindow() {
+        final RandomGenerator random = new Well1024a(0x71d0a9c45e3f82b6l);
+        final double[] coefficients = { 1.5, -2.0, 0.25, 4.0 };
+        final int window = 12;
+        RealMatrix a = createRandom(random, window, coefficients.length);
+        double[] y = a.operate(coefficients);
+        final UpdatableQRDecomposition qr = new UpdatableQRDecomposition(a);
+        final DecompositionSolver solver = qr.getSolver();
+        for (int step = 0; step < 50; ++step) {
+            final double[] row = createRandom(random, 1, coefficients.length).getRow(0);
+            qr.appendRow(row);
+            qr.deleteRow(0);
+            a = delete(insert(a, window, row), 0);
+            final double[] newY = new double[window];
+            System.arraycopy(y, 1, newY, 0, window - 1);
+            newY[window - 1] = new ArrayRealVector(row).dotProduct(new ArrayRealVector(coefficients));
+            y = newY;
+
+            // the solver retrieved at construction follows the updates
+            final RealVector x = solver.solve(new ArrayRealVector(y));
+            for (int i = 0; i < coefficients.length; ++i) {
+                assertEquals(coefficients[i], x.getEntry(i), 1.0e-10);
+            }
+        }
+        checkDecomposition(a, qr);
+        assertEquals(0, solver.getInverse().multiply(a).subtract(MatrixUtils.createRealIdentityMatrix(4)).getNorm1(), 1.0e-10);
+    }
+
+    @Test
+    void testGrowAndShrink() {
+        // many insertions exhaust spare capacity several times, deletions then reuse it
+        final RandomGenerator random = new Well1024a(0x2c8f3e61b9a4d075l);
+        RealMatrix a = createRandom(random, 3, 5);
+        final UpdatableQRDecomposition qr = new UpdatableQRDecomposition(a);
+        for (int step = 0; step < 40; ++step) {
+            final int index = random.nextInt(a.getRowDimension() + 1);
+            final double[] row = createRandom(random, 1, 5).getRow(0);
+            qr.insertRow(index, row);
+            a = insert(a, index, row);
+            if (step % 5 == 4) {
+                checkDecomposition(a, qr);
+            }
+        }
+        for (int step = 0; step < 30; ++step) {
+            final int index = random.nextInt(a.getRowDimension());
+            qr.deleteRow(index);
+            a = delete(a, index);
+            final double[] row = createRandom(random, 1, 5).getRow(0);
+            qr.appendRow(row);
+            a = insert(a, a.getRowDimension(), row);
+            qr.deleteRow(0);
+            a = delete(a, 0);
+        }
+        assertEquals(13, a.getRowDimension());
+        checkDecomposition(a, qr);
+    }
+
+    @Test
+    void testUnderdetermined() {
+        final RandomGenerator random = new Well1024a(0x0e4c8b27d9f1a563l);
+        RealMatrix a = createRandom(random, 3, 5);
+        final UpdatableQRDecomposition qr = new UpdatableQRDecomposition(a);
+        assertFalse(qr.getSolver().isNonSingular());
+        for (int i = 0; i < 3; ++i) {
+            final double[] row = createRandom(random, 1, 5).getRow(0);
+            qr.insertRow(1, row);
+            a = insert(a, 1, row);
+            checkDecomposition(a, qr);
+        }
+        assertTrue(qr.getSolver().isNonSingular());
+        qr.deleteRow(2);
+        a = delete(a, 2);
+        checkDecomposition(a, qr);
+        assertTrue(qr.getSolver().isNonSingular());
+        qr.deleteRow(0);
+        a = delete(a, 0);
+        checkDecomposition(a, qr);
+        assertFalse(qr.getSolver().isNonSingular());
+        assertThrows(MathIllegalArgumentException.class, () -> qr.getSolver().solve(new ArrayRealVector(5)));
+    }
+
+    @Test
+    void testErrors() {
+        final UpdatableQRDecomposition qr = new UpdatableQRDecomposition(MatrixUtils.createRealMatrix(new double[][] { { 1, 2 } }));
+        assertThrows(MathIllegalArgumentException.class, () -> qr.insertRow(2, new double[2]));
+        assertThrows(MathIllegalArgumentException.class, () -> qr.insertRow(0, new double[3]));
+        assertThrows(MathIllegalArgumentException.class, () -> qr.deleteRow(1));
+        assertThrows(MathIllegalArgumentException.class, () -> qr.deleteRow(0));
+    }
+
+    private void checkDecomposition(final RealMatrix a, final UpdatableQRDecomposition qr) {
+        final RealMatrix q = qr.getQ();
+        final RealMatrix r = qr.getR();
+        final int m = a.getRowDimension();
+        assertEquals(m, q.getRowDimension());
+        assertEquals(m, q.getColumnDimension());
+        assertEquals(0, q.multiply(r).subtract(a).getNorm1(), 1.0e-12);
+        assertEquals(0, q.transposeMultiply(q).subtract(MatrixUtils.createRealIdentityMatrix(m)).getNorm1(), 1.0e-12);
+        assertEquals(0, qr.getQT().subtract(q.transpose()).getNorm1(), 0.0);
+        for (int i = 0; i < r.getRowDimension(); ++i) {
+            for (int j = 0; j < FastMath.min(i, r.getColumnDimension()); ++j) {
+                assertEquals(0.0, r.getEntry(i, j), 1.0e-15);
+            }
+        }
+    }
+
+    private static RealMatrix insert(final RealMatrix a, final int index, final double[] row) {
+        final RealMatrix result = new Array2DRowRealMatrix(a.getRowDimension() + 1, a.getColumnDimension());
+        for (int i = 0; i <= a.getRowDimension(); ++i) {
+            result.setRow(i, i < index ? a.getRow(i) : (i == index ? row : a.getRow(i - 1)));
+        }
+        return result;
+    }
+
+    private static RealMatrix delete(final RealMatrix a, final int index) {
+        final RealMatrix result = new Array2DRowRealMatrix(a.getRowDimension() - 1, a.getColumnDimension());
+        for (int i = 0; i < result.getRowDimension(); ++i) {
+            result.setRow(i, a.getRow(i < index ? i : i + 1));
+        }
+        return result;
+    }
+
+    private static RealMatrix createRandom(final RandomGenerator random, final int rows, final int columns) {
+        final RealMatrix m = new Array2DRowRealMatrix(rows, columns);
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < columns; ++j) {
+                m.setEntry(i, j, 2 * random.nextDouble() - 1);
+            }
+        }
+        return m;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hipparchus.util;
+
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well1024a;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@link ArrayKernels} class.
+ * <p>
+ * These tests hold whatever the implementation selected at run time. When the
+ * {@code hipparchus.kernels.expected} system property is set (as in the test execution
+ * of the {@code java17-kernels} Maven profile), the selected implementation is checked too.
+ * </p>
+ */
+public class ArrayKernelsTest {
+
+    @Test
+    public void testImplementation() {
+        final String expected = System.getProperty("hipparchus.kernels.expected");
+        if (expected == null) {
+            final String implementation = ArrayKernels.getImplementation();
+            assertTrue("scalar".equals(implementation) || "vector".equals(implementation), implementation);
+        } else {
+            assertEquals(expected, ArrayKernels.getImplementation());
+        }
+    }
+
+    @Test
+    public void testDotProduct() {
+        final RandomGenerator random = new Well1024a(0x5a1c7e4f2b93d801L);
+        for (int length = 0; length < 40; ++length) {
+            final double[] a = random(random, length + 3);
+            final double[] b = random(random, length + 5);
+            double expected = 0;
+            for (int i = 0; i < length; ++i) {
+                expected += a[3 + i] * b[5 + i];
+            }
+            assertEquals(expected, ArrayKernels.dotProduct(a, 3, b, 5, length), 1.0e-14 * (length + 1));
+        }
+    }
+
+    @Test
+    public void testSum() {
+        final RandomGenerator random = new Well1024a(0x2f06c91ad43e8b75L);
+        for (int length = 0; length < 40; ++length) {
+            final double[] values = random(random, length + 2);
+            double expected = 0;
+            for (int i = 0; i < length; ++i) {
+                expected += values[2 + i];
+            }
+            assertEquals(expected, ArrayKernels.sum(values, 2, length), 1.0e-14 * (length + 1));
+        }
+    }
+
+    @Test
+    public void testLinearCombinationCancellation() {
+        // the naive computation of this dot product gives 0 instead of 1
+        final double big = FastMath.scalb(1.0, 60);
+        final double[] a = { big, 1.0, -big, 1.0, 3.0, 0.5, 2.0, -7.0, 4.0 };
+        final double[] b = { 1.0, 1.0,  1.0, 0.0, 1.0, 2.0, 0.5, 1.0, 0.0 };
+        assertEquals(-1.0, ArrayKernels.linearCombination(a, b), 0.0);
+        assertEquals(MathArrays.linearCombination(a, b), ArrayKernels.linearCombination(a, b), 0.0);
+    }
+
+    @Test
+    public void testLinearCombinationSignedZero() {
+        final double[] a = { -0.0, 0.0, -0.0, 0.0, -0.0 };
+        final double[] b = {  1.0, -1.0, 1.0, -1.0, 1.0 };
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+                     Double.doubleToRawLongBits(ArrayKernels.linearCombination(a, b)));
+    }
+
+    @Test
+    public void testMultiplyAdd() {
+        final RandomGenerator random = new Well1024a(0x61d03b5e9a8c2f47L);
+        for (int rows = 1; rows < 7; ++rows) {
+            for (int inner = 1; inner < 11; ++inner) {
+                for (int columns = 1; columns < 13; ++columns) {
+                    final double[] a = random(random, rows * inner);
+                    final double[] b = random(random, inner * columns);
+                    final double[] c = random(random, rows * columns);
+                    final double[] expected = c.clone();
+                    for (int i = 0; i < rows; ++i) {
+                        for (int j = 0; j < columns; ++j) {
+                            for (int k = 0; k < inner; ++k) {
+                                expected[i * columns + j] += a[i * inner + k] * b[k * columns + j];
+                            }
+                        }
+                    }
+                    ArrayKernels.multiplyAdd(a, b, c, rows, inner, columns);
+                    for (int k = 0; k < c.length; ++k) {
+                        assertEquals(expected[k], c[k], 1.0e-14 * inner);
+                    }
+                }
+            }
+        }
+    }
+
+    private double[] random(final RandomGenerator random, final int length) {
+        final double[] array = new double[length];
+        for (int i = 0; i < length; ++i) {
+            array[i] = 2 * random.nextDouble() - 1;
+        }
+        return array;
+    }
+
+}
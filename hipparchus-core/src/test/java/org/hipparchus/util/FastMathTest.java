@@ -26,6 +26,7 @@ import org.hipparchus.dfp.Dfp;
 import org.hipparchus.dfp.DfpField;
 import org.hipparchus.dfp.DfpMath;
 import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.random.MersenneTwister;
 import org.hipparchus.random.RandomGenerator;
@@ -760,6 +761,78 @@ class FastMathTest {
         assertTrue(maxerrulp < MAX_ERROR_ULP, "exp() had errors in excess of " + MAX_ERROR_ULP + " ULP");
     }
 
+    @Test
+    void testExpArrayAccuracy() {
+        final double[] x = new double[NUMBER_OF_TRIALS];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = ((generator.nextDouble() * 1416.0) - 708.0) * generator.nextDouble();
+        }
+        final double[] tst = new double[x.length];
+        FastMath.exp(x, tst, 0, x.length);
+
+        double maxerrulp = 0.0;
+        for (int i = 0; i < x.length; i++) {
+            final Dfp    ref = DfpMath.exp(field.newDfp(x[i]));
+            final double ulp = Math.abs(ref.toDouble() -
+                                        Double.longBitsToDouble((Double.doubleToLongBits(ref.toDouble()) ^ 1)));
+            final double errulp = field.newDfp(tst[i]).subtract(ref).divide(field.newDfp(ulp)).toDouble();
+            maxerrulp = Math.max(maxerrulp, Math.abs(errulp));
+
+            // at most one ULP away from the scalar method
+            assertEquals(FastMath.exp(x[i]), tst[i], FastMath.ulp(tst[i]));
+        }
+
+        assertTrue(maxerrulp < MAX_ERROR_ULP, "array exp() had errors in excess of " + MAX_ERROR_ULP + " ULP");
+    }
+
+    @Test
+    void testExpArraySpecialCases() {
+        final double[] x = {
+            0.0, -0.0, Double.MIN_VALUE, -Double.MIN_VALUE, Precision.EPSILON, -Precision.EPSILON,
+            1.0, -1.0, 708.0, -708.0, FastMath.nextUp(708.0), FastMath.nextDown(-708.0),
+            709.0, 709.7, 710.0, -709.0, -745.0, -746.0, -750.0,
+            Double.MAX_VALUE, -Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN
+        };
+        final double[] tst = x.clone();
+        FastMath.exp(tst, tst, 0, tst.length);
+        for (int i = 0; i < x.length; i++) {
+            final double ref = FastMath.exp(x[i]);
+            if (FastMath.abs(x[i]) <= 708.0) {
+                assertEquals(ref, tst[i], FastMath.ulp(ref), "argument " + x[i]);
+            } else {
+                // outside of the kernel domain, the scalar method is used
+                assertEquals(Double.doubleToRawLongBits(ref), Double.doubleToRawLongBits(tst[i]), "argument " + x[i]);
+            }
+        }
+        assertEquals(1.0, tst[0], 0.0);
+        assertEquals(1.0, tst[1], 0.0);
+        assertEquals(FastMath.E, tst[6], 0.0);
+    }
+
+    @Test
+    void testExpArrayRange() {
+        final double[] in  = { 1.0, 2.0, 3.0, 4.0 };
+        final double[] out = { -1.0, -1.0, -1.0, -1.0 };
+        FastMath.exp(in, out, 1, 2);
+        assertEquals(-1.0, out[0], 0.0);
+        assertEquals(FastMath.exp(2.0), out[1], FastMath.ulp(out[1]));
+        assertEquals(FastMath.exp(3.0), out[2], FastMath.ulp(out[2]));
+        assertEquals(-1.0, out[3], 0.0);
+
+        try {
+            FastMath.exp(in, new double[2], 1, 2);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.SUBARRAY_ENDS_AFTER_ARRAY_END, miae.getSpecifier());
+        }
+        try {
+            FastMath.exp(in, out, -1, 2);
+            fail("an exception should have been thrown");
+        } catch (MathIllegalArgumentException miae) {
+            assertEquals(LocalizedCoreFormats.START_POSITION, miae.getSpecifier());
+        }
+    }
+
     @Test
     void testSinCosSpecialCases() {
         for (double x : new double[] {
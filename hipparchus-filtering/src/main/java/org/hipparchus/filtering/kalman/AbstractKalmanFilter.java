@@ -21,9 +21,17 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.linear.MatrixDecomposer;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.linear.RealVector;
+import org.hipparchus.linear.SymmetricRealMatrix;
 
 /**
  * Shared parts between linear and non-linear Kalman filters.
+ * <p>
+ * If the initial state covariance is a {@link SymmetricRealMatrix}, covariances are
+ * propagated using packed symmetric storage and {@link SymmetricRealMatrix#congruence(RealMatrix)
+ * congruence transforms}, which only compute the upper triangular part of the results.
+ * Process noise and measurement covariance matrices are then assumed to be symmetric,
+ * only their upper triangular part is used.
+ * </p>
  * @param <T> the type of the measurements
  * @since 1.3
  */
@@ -67,8 +75,13 @@ public abstract class AbstractKalmanFilter<T extends Measurement> implements Kal
      * @param noise process noise covariance matrix
      */
     protected void predict(final double time, final RealVector predictedState, final RealMatrix stm, final RealMatrix noise) {
-        final RealMatrix predictedCovariance =
-                        stm.multiply(corrected.getCovariance().multiplyTransposed(stm)).add(noise);
+        final RealMatrix covariance = corrected.getCovariance();
+        final RealMatrix predictedCovariance;
+        if (covariance instanceof SymmetricRealMatrix) {
+            predictedCovariance = ((SymmetricRealMatrix) covariance).congruence(stm).add(toSymmetric(noise));
+        } else {
+            predictedCovariance = stm.multiply(covariance.multiplyTransposed(stm)).add(noise);
+        }
         predicted = new ProcessEstimate(time, predictedState, predictedCovariance);
         stateTransitionMatrix = stm;
         priorCovariance = corrected.getCovariance();
@@ -86,7 +99,11 @@ public abstract class AbstractKalmanFilter<T extends Measurement> implements Kal
         if (h == null) {
             return null;
         }
-        final RealMatrix phT = predicted.getCovariance().multiplyTransposed(h);
+        final RealMatrix covariance = predicted.getCovariance();
+        if (covariance instanceof SymmetricRealMatrix) {
+            return ((SymmetricRealMatrix) covariance).congruence(h).add(toSymmetric(r));
+        }
+        final RealMatrix phT = covariance.multiplyTransposed(h);
         return h.multiply(phT).add(r);
     }
 
@@ -139,15 +156,30 @@ public abstract class AbstractKalmanFilter<T extends Measurement> implements Kal
             idMkh.addToEntry(i, i, 1.0);
         }
         final RealMatrix r = measurement.getCovariance();
-        final RealMatrix correctedCovariance =
-                        idMkh.multiply(predicted.getCovariance()).multiplyTransposed(idMkh).
-                        add(k.multiply(r).multiplyTransposed(k));
+        final RealMatrix covariance = predicted.getCovariance();
+        final RealMatrix correctedCovariance;
+        if (covariance instanceof SymmetricRealMatrix) {
+            correctedCovariance = ((SymmetricRealMatrix) covariance).congruence(idMkh).
+                                  add(toSymmetric(r).congruence(k));
+        } else {
+            correctedCovariance = idMkh.multiply(covariance).multiplyTransposed(idMkh).
+                                  add(k.multiply(r).multiplyTransposed(k));
+        }
 
         corrected = new ProcessEstimate(measurement.getTime(), correctedState, correctedCovariance,
                                         stm, h, s, k);
 
     }
 
+    /** Convert a covariance matrix to packed symmetric storage.
+     * @param covariance covariance matrix (only its upper triangular part is used)
+     * @return covariance matrix with packed symmetric storage
+     */
+    private static SymmetricRealMatrix toSymmetric(final RealMatrix covariance) {
+        return covariance instanceof SymmetricRealMatrix ?
+               (SymmetricRealMatrix) covariance : new SymmetricRealMatrix(covariance);
+    }
+
     /** Get the observer.
      * @return the observer
      */
@@ -24,6 +24,7 @@ import org.hipparchus.linear.CholeskyDecomposer;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.linear.RealVector;
+import org.hipparchus.linear.SymmetricRealMatrix;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well1024a;
 import org.hipparchus.util.FastMath;
@@ -187,7 +188,7 @@ class LinearKalmanFilterTest {
                             { 0.00, 0.00, 0.00, 0.00 },
                             { 0.00, 0.00, 0.00, 0.00 },
                          }, "cannonball-zero-process-noise.txt",
-                         9.0e-16, 6.0e-14);
+                         9.0e-16, 6.0e-14, false);
     }
 
     @Test
@@ -198,11 +199,23 @@ class LinearKalmanFilterTest {
                             { 0.00, 0.00, 0.01, 0.00 },
                             { 0.00, 0.00, 0.00, 0.10 },
                          }, "cannonball-non-zero-process-noise.txt",
-                         2.0e-13, 2.0e-13);
+                         2.0e-13, 2.0e-13, false);
+    }
+
+    @Test
+    void testCannonballPackedCovariance() {
+        doTestCannonball(new double[][] {
+                            { 0.01, 0.00, 0.00, 0.00 },
+                            { 0.00, 0.10, 0.00, 0.00 },
+                            { 0.00, 0.00, 0.01, 0.00 },
+                            { 0.00, 0.00, 0.00, 0.10 },
+                         }, "cannonball-non-zero-process-noise.txt",
+                         2.0e-13, 2.0e-13, true);
     }
 
     private void doTestCannonball(final double[][] qData, final String name,
-                                  final double tolState, final double tolCovariance) {
+                                  final double tolState, final double tolCovariance,
+                                  final boolean packed) {
 
         final double dt       = 0.1;
         final double g        = 9.81;
@@ -232,6 +245,10 @@ class LinearKalmanFilterTest {
                                                                  0.0, vIni * FastMath.cos(alphaIni),
                                                                  0.0, vIni * FastMath.sin(alphaIni)
                                                             }),
+                                                            packed ?
+                                                            new SymmetricRealMatrix(MatrixUtils.createRealDiagonalMatrix(new double[] {
+                                                                mNoise * mNoise, 1.0e-3, mNoise * mNoise, 1.0e-3
+                                                            })) :
                                                             MatrixUtils.createRealDiagonalMatrix(new double[] {
                                                                 mNoise * mNoise, 1.0e-3, mNoise * mNoise, 1.0e-3
                                                             }));
@@ -270,6 +287,7 @@ class LinearKalmanFilterTest {
         forEach(estimate -> {
             for (Reference r : referenceData) {
                 if (r.sameTime(estimate.getTime())) {
+                    assertEquals(packed, estimate.getCovariance() instanceof SymmetricRealMatrix);
                     r.checkState(estimate.getState(), tolState);
                     r.checkCovariance(estimate.getCovariance(), tolCovariance);
                     return;
@@ -27,6 +27,7 @@ import java.io.Serializable;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.geometry.LocalizedGeometryFormats;
+import org.hipparchus.linear.Matrix3;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
 import org.hipparchus.util.SinCos;
@@ -240,6 +241,23 @@ public class Rotation implements Serializable {
 
   }
 
+  /** Build a rotation from a 3X3 matrix.
+   * <p>This constructor behaves exactly as {@link #Rotation(double[][], double)}.</p>
+   * @param m rotation matrix
+   * @param threshold convergence threshold for the iterative
+   * orthogonality correction (convergence is reached when the
+   * difference between two steps of the Frobenius norm of the
+   * correction is below this threshold)
+   * @exception MathIllegalArgumentException if the matrix cannot be transformed
+   * into an orthogonal matrix with the given threshold, or if the determinant
+   * of the resulting orthogonal matrix is negative
+   * @since 4.1
+   */
+  public Rotation(Matrix3 m, double threshold)
+    throws MathIllegalArgumentException {
+    this(m.getData(), threshold);
+  }
+
   /** Build the rotation that transforms a pair of vectors into another pair.
 
    * <p>Except for possible scale factors, if the instance were applied to
@@ -589,6 +607,32 @@ public class Rotation implements Serializable {
 
   }
 
+  /** Get the 3X3 matrix corresponding to the instance, without allocating arrays.
+   * <p>The matrix is the same as the one returned by {@link #getMatrix()}.</p>
+   * @param out destination matrix
+   * @return {@code out}, containing the matrix corresponding to the instance
+   * @since 4.1
+   */
+  public Matrix3 getMatrix(final Matrix3 out) {
+
+    // products
+    final double q0q0  = q0 * q0;
+    final double q0q1  = q0 * q1;
+    final double q0q2  = q0 * q2;
+    final double q0q3  = q0 * q3;
+    final double q1q1  = q1 * q1;
+    final double q1q2  = q1 * q2;
+    final double q1q3  = q1 * q3;
+    final double q2q2  = q2 * q2;
+    final double q2q3  = q2 * q3;
+    final double q3q3  = q3 * q3;
+
+    return out.set(2.0 * (q0q0 + q1q1) - 1.0, 2.0 * (q1q2 + q0q3),       2.0 * (q1q3 - q0q2),
+                   2.0 * (q1q2 - q0q3),       2.0 * (q0q0 + q2q2) - 1.0, 2.0 * (q2q3 + q0q1),
+                   2.0 * (q1q3 + q0q2),       2.0 * (q2q3 - q0q1),       2.0 * (q0q0 + q3q3) - 1.0);
+
+  }
+
   /** Apply the rotation to a vector.
    * @param u vector to apply the rotation to
    * @return a new vector which is the image of u by the rotation
@@ -27,6 +27,7 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.geometry.Space;
 import org.hipparchus.geometry.Vector;
+import org.hipparchus.linear.Matrix3;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathArrays;
 import org.hipparchus.util.MathUtils;
@@ -146,6 +147,19 @@ public class Vector3D implements Serializable, Vector<Euclidean3D, Vector3D> {
         this.z = a * u.z;
     }
 
+    /** Matrix constructor
+     * Build a vector from another one and a 3&times;3 matrix.
+     * The vector built will be m &times; u
+     * @param m matrix to apply
+     * @param u base vector
+     * @since 4.1
+     */
+    public Vector3D(Matrix3 m, Vector3D u) {
+        this.x = m.getM00() * u.x + m.getM01() * u.y + m.getM02() * u.z;
+        this.y = m.getM10() * u.x + m.getM11() * u.y + m.getM12() * u.z;
+        this.z = m.getM20() * u.x + m.getM21() * u.y + m.getM22() * u.z;
+    }
+
     /** Linear constructor
      * Build a vector from two other ones and corresponding scale factors.
      * The vector built will be a1 * u1 + a2 * u2
@@ -26,6 +26,7 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathIllegalStateException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.geometry.LocalizedGeometryFormats;
+import org.hipparchus.linear.Matrix3;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.MathUtils;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -789,6 +791,19 @@ class RotationTest {
       assertEquals(good.getZ(), appliedIndividually.getZ(), 1e-12);
   }
 
+  @Test
+  void testMatrix3() {
+    Rotation r = new Rotation(new Vector3D(2, -3, 5), 1.7, RotationConvention.VECTOR_OPERATOR);
+    Matrix3 m = new Matrix3();
+    Matrix3 out = r.getMatrix(m);
+    assertSame(m, out);
+    assertEquals(new Matrix3(r.getMatrix()), m);
+    Vector3D u = new Vector3D(0.5, -1.25, 2.0);
+    checkVector(r.applyTo(u), new Vector3D(m, u));
+    Rotation back = new Rotation(m, 1.0e-12);
+    assertEquals(0.0, Rotation.distance(r, back), 1.0e-15);
+  }
+
   private void checkVector(Vector3D v1, Vector3D v2) {
     assertTrue(v1.subtract(v2).getNorm() < 1.0e-10);
   }
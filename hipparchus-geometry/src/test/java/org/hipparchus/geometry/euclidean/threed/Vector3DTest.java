@@ -26,6 +26,7 @@ import org.hipparchus.UnitTestUtils;
 import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.geometry.Space;
+import org.hipparchus.linear.Matrix3;
 import org.hipparchus.random.Well1024a;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.Precision;
@@ -63,6 +64,8 @@ class Vector3DTest {
                     2, 0, 3);
         checkVector(new Vector3D(new double[] { 2,  5,  -3 }),
                     2, 5, -3);
+        checkVector(new Vector3D(new Matrix3(0, -1, 0, 1, 0, 0, 0, 0, 2), new Vector3D(2, 5, -3)),
+                    -5, 2, -6);
     }
 
     @Test
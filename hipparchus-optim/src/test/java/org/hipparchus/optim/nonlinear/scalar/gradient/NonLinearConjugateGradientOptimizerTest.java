@@ -24,6 +24,8 @@ package org.hipparchus.optim.nonlinear.scalar.gradient;
 
 import org.hipparchus.analysis.MultivariateFunction;
 import org.hipparchus.analysis.MultivariateVectorFunction;
+import org.hipparchus.analysis.differentiation.ReverseGradient;
+import org.hipparchus.analysis.differentiation.ReverseGradientFunction;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.geometry.euclidean.twod.Vector2D;
 import org.hipparchus.linear.BlockRealMatrix;
@@ -444,6 +446,39 @@ class NonLinearConjugateGradientOptimizerTest {
         assertEquals(48.135167894, center.getY(), 1.0e-6);
     }
 
+    @Test
+    void testCircleFittingReverseMode() {
+        final double[][] points = {
+            { 30.0,  68.0 }, { 50.0,  -6.0 }, { 110.0, -20.0 }, { 35.0,  15.0 }, { 45.0,  97.0 }
+        };
+        final ReverseGradientFunction function = new ReverseGradientFunction(params -> {
+            final ReverseGradient[] distances = new ReverseGradient[points.length];
+            ReverseGradient radius = params[0].getField().getZero();
+            for (int i = 0; i < points.length; ++i) {
+                distances[i] = params[0].subtract(points[i][0]).hypot(params[1].subtract(points[i][1]));
+                radius       = radius.add(distances[i]);
+            }
+            radius = radius.divide(points.length);
+            ReverseGradient sum = params[0].getField().getZero();
+            for (final ReverseGradient di : distances) {
+                sum = sum.add(di.subtract(radius).square());
+            }
+            return sum;
+        });
+        NonLinearConjugateGradientOptimizer optimizer
+           = new NonLinearConjugateGradientOptimizer(NonLinearConjugateGradientOptimizer.Formula.POLAK_RIBIERE,
+                                                     new SimpleValueChecker(1e-30, 1e-30),
+                                                     1e-15, 1e-13, 1);
+        PointValuePair optimum
+            = optimizer.optimize(new MaxEval(100),
+                                 new ObjectiveFunction(function.getObjectiveFunction()),
+                                 new ObjectiveFunctionGradient(function),
+                                 GoalType.MINIMIZE,
+                                 new InitialGuess(new double[] { 98.680, 47.345 }));
+        assertEquals(96.075902096, optimum.getPointRef()[0], 1.0e-7);
+        assertEquals(48.135167894, optimum.getPointRef()[1], 1.0e-6);
+    }
+
     private static class LinearProblem {
         final RealMatrix factors;
         final double[] target;
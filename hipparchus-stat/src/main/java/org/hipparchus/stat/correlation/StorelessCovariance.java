@@ -26,6 +26,7 @@ import org.hipparchus.exception.MathIllegalArgumentException;
 import org.hipparchus.exception.MathRuntimeException;
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.SymmetricRealMatrix;
 import org.hipparchus.util.MathUtils;
 
 /**
@@ -186,12 +187,35 @@ public class StorelessCovariance extends Covariance {
      * {@inheritDoc}
      * @throws MathIllegalArgumentException if the number of observations
      * in a cell is &lt; 2
+     * @see #getSymmetricCovarianceMatrix()
      */
     @Override
     public RealMatrix getCovarianceMatrix() throws MathIllegalArgumentException {
         return MatrixUtils.createRealMatrix(getData());
     }
 
+    /**
+     * Returns the covariance matrix with packed storage of its upper triangular part.
+     * <p>
+     * As entries (i, j) and (j, i) of a {@link SymmetricRealMatrix} share the same
+     * storage, changing one of them also changes the other one.
+     * </p>
+     * @return covariance matrix
+     * @throws MathIllegalArgumentException if the number of observations
+     * in a cell is &lt; 2
+     * @since 4.1
+     */
+    public SymmetricRealMatrix getSymmetricCovarianceMatrix() throws MathIllegalArgumentException {
+        final double[] packed = new double[covMatrix.length];
+        int k = 0;
+        for (int i = 0; i < dimension; i++) {
+            for (int j = i; j < dimension; j++) {
+                packed[k++] = getElement(i, j).getResult();
+            }
+        }
+        return new SymmetricRealMatrix(dimension, packed, false);
+    }
+
     /**
      * Return the covariance matrix as two-dimensional array.
      *
@@ -202,8 +226,9 @@ public class StorelessCovariance extends Covariance {
     public double[][] getData() throws MathIllegalArgumentException {
         final double[][] data = new double[dimension][dimension];
         for (int i = 0; i < dimension; i++) {
-            for (int j = 0; j < dimension; j++) {
+            for (int j = i; j < dimension; j++) {
                 data[i][j] = getElement(i, j).getResult();
+                data[j][i] = data[i][j];
             }
         }
         return data;
@@ -28,6 +28,7 @@ import org.hipparchus.exception.NullArgumentException;
 import org.hipparchus.stat.descriptive.AbstractStorelessUnivariateStatistic;
 import org.hipparchus.stat.descriptive.AggregatableStatistic;
 import org.hipparchus.stat.descriptive.WeightedEvaluation;
+import org.hipparchus.util.ArrayKernels;
 import org.hipparchus.util.MathArrays;
 import org.hipparchus.util.MathUtils;
 
@@ -130,10 +131,7 @@ public class Sum extends AbstractStorelessUnivariateStatistic
 
         double sum = Double.NaN;
         if (MathArrays.verifyValues(values, begin, length, true)) {
-            sum = 0.0;
-            for (int i = begin; i < begin + length; i++) {
-                sum += values[i];
-            }
+            sum = ArrayKernels.sum(values, begin, length);
         }
         return sum;
     }
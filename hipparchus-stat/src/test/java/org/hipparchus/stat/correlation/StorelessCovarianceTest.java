@@ -24,10 +24,12 @@ package org.hipparchus.stat.correlation;
 import org.hipparchus.UnitTestUtils;
 import org.hipparchus.linear.Array2DRowRealMatrix;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.linear.SymmetricRealMatrix;
 import org.hipparchus.random.ISAACRandom;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class StorelessCovarianceTest {
 
@@ -176,9 +178,19 @@ class StorelessCovarianceTest {
         }
 
         RealMatrix covarianceMatrix = covMatrix.getCovarianceMatrix();
+        assertFalse(covarianceMatrix instanceof SymmetricRealMatrix);
 
         UnitTestUtils.customAssertEquals("covariance matrix", createRealMatrix(rData, 7, 7), covarianceMatrix, 10E-7);
 
+        SymmetricRealMatrix packed = covMatrix.getSymmetricCovarianceMatrix();
+        UnitTestUtils.customAssertEquals("packed covariance matrix", createRealMatrix(rData, 7, 7), packed, 10E-7);
+
+        // the dense matrix can be modified independently of symmetry
+        covarianceMatrix.setRow(0, new double[] { 5, 6, 0, 0, 0, 0, 0 });
+        covarianceMatrix.setRow(1, new double[] { 7, 8, 0, 0, 0, 0, 0 });
+        assertEquals(6.0, covarianceMatrix.getEntry(0, 1), 0.0);
+        assertEquals(7.0, covarianceMatrix.getEntry(1, 0), 0.0);
+
     }
 
     /**